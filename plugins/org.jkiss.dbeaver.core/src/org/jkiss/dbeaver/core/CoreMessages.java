@@ -300,6 +300,7 @@ public class CoreMessages extends NLS {
     public static String pref_page_database_general_checkbox_disable_extra_metadata_tip;
     public static String pref_page_database_general_checkbox_rollback_on_error;
     public static String pref_page_database_general_checkbox_show_row_count;
+    public static String pref_page_database_general_label_metadata_prefetch_parallelism;
     public static String pref_page_database_general_group_metadata;
     public static String pref_page_database_general_group_ordering;
 
@@ -345,6 +346,11 @@ public class CoreMessages extends NLS {
     public static String pref_page_query_manager_label_days_to_store_log;
     public static String pref_page_query_manager_label_entries_per_page;
     public static String pref_page_query_manager_log_file_hint;
+    public static String pref_page_query_manager_checkbox_async_log;
+    public static String pref_page_query_manager_checkbox_async_log_tip;
+    public static String pref_page_query_manager_label_max_log_file_size;
+    public static String pref_page_query_manager_label_max_log_file_size_tip;
+    public static String pref_page_query_manager_checkbox_compress_rotated_logs;
 
     public static String pref_page_ui_general_checkbox_automatic_updates;
     public static String pref_page_ui_general_group_browser;
@@ -449,6 +455,7 @@ public class CoreMessages extends NLS {
     public static String pref_page_database_general_separate_meta_connection_tip;
     public static String pref_page_database_general_checkbox_case_sensitive_names_tip;
     public static String pref_page_database_general_checkbox_show_row_count_tip;
+    public static String pref_page_database_general_label_metadata_prefetch_parallelism_tip;
     public static String pref_page_database_general_server_side_object_filters;
     public static String pref_page_database_general_server_side_object_filters_tip;
     public static String pref_page_database_general_group_query_metadata;
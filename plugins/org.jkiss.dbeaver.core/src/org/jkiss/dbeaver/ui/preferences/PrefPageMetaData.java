@@ -45,6 +45,7 @@ public class PrefPageMetaData extends TargetPrefPage
     private Button caseSensitiveNamesCheck;
     private Button serverSideFiltersCheck;
     private Button addExtraDDLInfo;
+    private Spinner prefetchParallelismSpinner;
 
     public PrefPageMetaData()
     {
@@ -60,7 +61,8 @@ public class PrefPageMetaData extends TargetPrefPage
             store.contains(ModelPreferences.META_SEPARATE_CONNECTION) ||
             store.contains(ModelPreferences.META_CASE_SENSITIVE) ||
             store.contains(ModelPreferences.META_DISABLE_EXTRA_READ) ||
-            store.contains(ModelPreferences.META_USE_SERVER_SIDE_FILTERS)
+            store.contains(ModelPreferences.META_USE_SERVER_SIDE_FILTERS) ||
+            store.contains(ModelPreferences.META_PREFETCH_PARALLELISM)
             ;
     }
 
@@ -145,6 +147,16 @@ public class PrefPageMetaData extends TargetPrefPage
                 CoreMessages.pref_page_database_general_checkbox_show_row_count_tip,
                 false,
                 1);
+            prefetchParallelismSpinner = UIUtils.createLabelSpinner(
+                UIUtils.createComposite(performanceGroup, 2),
+                CoreMessages.pref_page_database_general_label_metadata_prefetch_parallelism,
+                CoreMessages.pref_page_database_general_label_metadata_prefetch_parallelism_tip,
+                0,
+                0,
+                16);
+            if (this.getDataSourceContainer() != null && this.getDataSourceContainer().getDriver().isEmbedded()) {
+                prefetchParallelismSpinner.setEnabled(false);
+            }
         }
 
         return composite;
@@ -162,6 +174,7 @@ public class PrefPageMetaData extends TargetPrefPage
             disableExtraMetadataRead.setSelection(store.getBoolean(ModelPreferences.META_DISABLE_EXTRA_READ));
             addExtraDDLInfo.setSelection(store.getBoolean(ModelPreferences.META_EXTRA_DDL_INFO));
             serverSideFiltersCheck.setSelection(store.getBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS));
+            prefetchParallelismSpinner.setSelection(store.getInt(ModelPreferences.META_PREFETCH_PARALLELISM));
 
         } catch (Exception e) {
             log.warn(e);
@@ -181,6 +194,7 @@ public class PrefPageMetaData extends TargetPrefPage
             store.setValue(ModelPreferences.META_DISABLE_EXTRA_READ, disableExtraMetadataRead.getSelection());
             store.setValue(ModelPreferences.META_EXTRA_DDL_INFO, addExtraDDLInfo.getSelection());
             store.setValue(ModelPreferences.META_USE_SERVER_SIDE_FILTERS, serverSideFiltersCheck.getSelection());
+            store.setValue(ModelPreferences.META_PREFETCH_PARALLELISM, prefetchParallelismSpinner.getSelection());
 
         } catch (Exception e) {
             log.warn(e);
@@ -197,6 +211,7 @@ public class PrefPageMetaData extends TargetPrefPage
         store.setToDefault(ModelPreferences.META_DISABLE_EXTRA_READ);
         store.setToDefault(ModelPreferences.META_USE_SERVER_SIDE_FILTERS);
         store.setToDefault(ModelPreferences.META_EXTRA_DDL_INFO);
+        store.setToDefault(ModelPreferences.META_PREFETCH_PARALLELISM);
     }
 
     @Override
@@ -210,6 +225,7 @@ public class PrefPageMetaData extends TargetPrefPage
         disableExtraMetadataRead.setSelection(store.getDefaultBoolean(ModelPreferences.META_DISABLE_EXTRA_READ));
         addExtraDDLInfo.setSelection(store.getDefaultBoolean(ModelPreferences.META_EXTRA_DDL_INFO));
         serverSideFiltersCheck.setSelection(store.getDefaultBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS));
+        prefetchParallelismSpinner.setSelection(store.getDefaultInt(ModelPreferences.META_PREFETCH_PARALLELISM));
         super.performDefaults();
     }
 
@@ -62,6 +62,9 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
     private Text textEntriesPerPage;
     private Button checkStoreLog;
     private Text textOutputFolder;
+    private Button checkAsyncLog;
+    private Text textMaxLogFileSize;
+    private Button checkCompressRotatedLogs;
 
 
     @Override
@@ -117,8 +120,7 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
                 @Override
                 public void widgetSelected(SelectionEvent e)
                 {
-                    UIUtils.enableWithChildren(textOutputFolder.getParent(), checkStoreLog.getSelection());
-                    UIUtils.enableWithChildren(textHistoryDays, checkStoreLog.getSelection());
+                    enableLogFileControls();
                 }
             });
             textOutputFolder = DialogUtils.createOutputFolderChooser(storageSettings, CoreMessages.pref_page_query_manager_logs_folder, null, false, null);
@@ -130,6 +132,25 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
                 store.getString(QMConstants.PROP_HISTORY_DAYS),
                 SWT.BORDER,
                 new GridData(50, SWT.DEFAULT));
+            checkAsyncLog = UIUtils.createCheckbox(
+                storageSettings,
+                CoreMessages.pref_page_query_manager_checkbox_async_log,
+                CoreMessages.pref_page_query_manager_checkbox_async_log_tip,
+                store.getBoolean(QMConstants.PROP_LOG_ASYNC),
+                2);
+            textMaxLogFileSize = UIUtils.createLabelText(
+                storageSettings,
+                CoreMessages.pref_page_query_manager_label_max_log_file_size,
+                store.getString(QMConstants.PROP_LOG_MAX_FILE_SIZE),
+                SWT.BORDER,
+                new GridData(50, SWT.DEFAULT));
+            textMaxLogFileSize.setToolTipText(CoreMessages.pref_page_query_manager_label_max_log_file_size_tip);
+            checkCompressRotatedLogs = UIUtils.createCheckbox(
+                storageSettings,
+                CoreMessages.pref_page_query_manager_checkbox_compress_rotated_logs,
+                null,
+                store.getBoolean(QMConstants.PROP_LOG_COMPRESS_ROTATED),
+                2);
 
             Control infoLabel = UIUtils.createInfoLabel(storageSettings, CoreMessages.pref_page_query_manager_log_file_hint);
             infoLabel.setLayoutData(new GridData(GridData.FILL, GridData.BEGINNING, true, false, 2, 1));
@@ -145,8 +166,16 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
         Collection<String> queryTypes = CommonUtils.splitString(store.getString(QMConstants.PROP_QUERY_TYPES), ',');
         checkObjectTypes(objectTypes);
         checkQueryTypes(queryTypes);
-        UIUtils.enableWithChildren(textOutputFolder.getParent(), checkStoreLog.getSelection());
-        UIUtils.enableWithChildren(textHistoryDays, checkStoreLog.getSelection());
+        enableLogFileControls();
+    }
+
+    private void enableLogFileControls() {
+        boolean enabled = checkStoreLog.getSelection();
+        UIUtils.enableWithChildren(textOutputFolder.getParent(), enabled);
+        UIUtils.enableWithChildren(textHistoryDays, enabled);
+        checkAsyncLog.setEnabled(enabled);
+        textMaxLogFileSize.setEnabled(enabled);
+        checkCompressRotatedLogs.setEnabled(enabled);
     }
 
     private void checkObjectTypes(Collection<QMObjectType> objectTypes) {
@@ -181,8 +210,10 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
 
         checkStoreLog.setSelection(store.getDefaultBoolean(QMConstants.PROP_STORE_LOG_FILE));
         textOutputFolder.setText(store.getDefaultString(QMConstants.PROP_LOG_DIRECTORY));
-        UIUtils.enableWithChildren(textOutputFolder.getParent(), checkStoreLog.getSelection());
-        UIUtils.enableWithChildren(textHistoryDays, checkStoreLog.getSelection());
+        checkAsyncLog.setSelection(store.getDefaultBoolean(QMConstants.PROP_LOG_ASYNC));
+        textMaxLogFileSize.setText(store.getDefaultString(QMConstants.PROP_LOG_MAX_FILE_SIZE));
+        checkCompressRotatedLogs.setSelection(store.getDefaultBoolean(QMConstants.PROP_LOG_COMPRESS_ROTATED));
+        enableLogFileControls();
 
         super.performDefaults();
     }
@@ -205,6 +236,7 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
 
         Integer historyDays = UIUtils.getTextInteger(textHistoryDays);
         Integer entriesPerPage = UIUtils.getTextInteger(textEntriesPerPage);
+        Integer maxLogFileSize = UIUtils.getTextInteger(textMaxLogFileSize);
 
         DBPPreferenceStore store = DBWorkbench.getPlatform().getPreferenceStore();
         store.setValue(QMConstants.PROP_OBJECT_TYPES, QMObjectType.toString(objectTypes));
@@ -217,6 +249,11 @@ public class PrefPageQueryManager extends AbstractPrefPage implements IWorkbench
         }
         store.setValue(QMConstants.PROP_STORE_LOG_FILE, checkStoreLog.getSelection());
         store.setValue(QMConstants.PROP_LOG_DIRECTORY, textOutputFolder.getText());
+        store.setValue(QMConstants.PROP_LOG_ASYNC, checkAsyncLog.getSelection());
+        if (maxLogFileSize != null) {
+            store.setValue(QMConstants.PROP_LOG_MAX_FILE_SIZE, Math.max(0, maxLogFileSize));
+        }
+        store.setValue(QMConstants.PROP_LOG_COMPRESS_ROTATED, checkCompressRotatedLogs.getSelection());
         PrefUtils.savePreferenceStore(store);
 
         return super.performOk();
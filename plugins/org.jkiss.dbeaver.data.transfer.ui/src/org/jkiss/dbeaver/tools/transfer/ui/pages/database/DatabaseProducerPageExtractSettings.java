@@ -23,6 +23,7 @@ import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.*;
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.data.DBDCellValue;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
@@ -43,7 +44,9 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
 
     private static final int EXTRACT_TYPE_SINGLE_QUERY = 0;
     private static final int EXTRACT_TYPE_SEGMENTS = 1;
+    private static final int EXTRACT_TYPE_SEGMENTS_BY_KEY = 2;
 
+    private Label threadsNumLabel;
     private Text threadsNumText;
     private Combo rowsExtractType;
     private Label segmentSizeLabel;
@@ -53,6 +56,7 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
     private Button selectedColumnsOnlyCheckbox;
     private Button selectedRowsOnlyCheckbox;
     private Text fetchSizeText;
+    private Text partitionCountText;
 
     public DatabaseProducerPageExtractSettings() {
         super(DTUIMessages.database_producer_page_extract_settings_name_and_title);
@@ -72,7 +76,7 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
         {
             Group generalSettings = UIUtils.createControlGroup(composite, DTMessages.data_transfer_wizard_output_group_progress, 4, GridData.HORIZONTAL_ALIGN_BEGINNING, 0);
 
-            Label threadsNumLabel = UIUtils.createControlLabel(generalSettings, DTMessages.data_transfer_wizard_output_label_max_threads);
+            threadsNumLabel = UIUtils.createControlLabel(generalSettings, DTMessages.data_transfer_wizard_output_label_max_threads);
             threadsNumText = new Text(generalSettings, SWT.BORDER);
             threadsNumText.setToolTipText(DTUIMessages.database_producer_page_extract_settings_threads_num_text_tooltip);
             threadsNumText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.ENGLISH));
@@ -96,13 +100,15 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
                 rowsExtractType.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
                 rowsExtractType.setItems(
                     DTMessages.data_transfer_wizard_output_combo_extract_type_item_single_query,
-                    DTMessages.data_transfer_wizard_output_combo_extract_type_item_by_segments);
+                    DTMessages.data_transfer_wizard_output_combo_extract_type_item_by_segments,
+                    DTMessages.data_transfer_wizard_output_combo_extract_type_item_by_key_segments);
                 rowsExtractType.addSelectionListener(new SelectionAdapter() {
                     @Override
                     public void widgetSelected(SelectionEvent e) {
                         switch (rowsExtractType.getSelectionIndex()) {
                             case EXTRACT_TYPE_SEGMENTS: settings.setExtractType(DatabaseProducerSettings.ExtractType.SEGMENTS); break;
                             case EXTRACT_TYPE_SINGLE_QUERY: settings.setExtractType(DatabaseProducerSettings.ExtractType.SINGLE_QUERY); break;
+                            case EXTRACT_TYPE_SEGMENTS_BY_KEY: settings.setExtractType(DatabaseProducerSettings.ExtractType.SEGMENTS_BY_KEY); break;
                         }
                         updatePageCompletion();
                     }
@@ -147,6 +153,16 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
                 settings.setFetchSize(Integer.parseInt(fetchSizeText.getText()));
             });
 
+            partitionCountText = UIUtils.createLabelText(generalSettings, DTMessages.data_transfer_wizard_output_label_partition_count, "", SWT.BORDER);
+            partitionCountText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            ((GridData)partitionCountText.getLayoutData()).widthHint = UIUtils.getFontHeight(partitionCountText) * 10;
+            partitionCountText.setToolTipText(DTMessages.data_transfer_wizard_output_label_partition_count_tip);
+            partitionCountText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.ENGLISH));
+            partitionCountText.addModifyListener(e -> {
+                settings.setPartitionCount(CommonUtils.toInt(partitionCountText.getText(), 1));
+                updateThreadsEnablement(settings);
+            });
+
             IStructuredSelection curSelection = getWizard().getCurrentSelection();
             boolean hasSelection = curSelection != null && !curSelection.isEmpty() && curSelection.getFirstElement() instanceof DBDCellValue;
 
@@ -208,6 +224,13 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
 
     }
 
+    private void updateThreadsEnablement(@NotNull DatabaseProducerSettings settings) {
+        // Partitions of a single table are transferred by separate jobs
+        boolean enable = getWizard().getSettings().getDataPipes().size() > 1 || settings.getPartitionCount() > 1;
+        threadsNumLabel.setEnabled(enable);
+        threadsNumText.setEnabled(enable);
+    }
+
     private void enableNewConnectionCheckbox() {
         if (selectedColumnsOnlyCheckbox == null || selectedRowsOnlyCheckbox == null) {
             return;
@@ -235,9 +258,11 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
             switch (settings.getExtractType()) {
                 case SINGLE_QUERY: rowsExtractType.select(EXTRACT_TYPE_SINGLE_QUERY); break;
                 case SEGMENTS: rowsExtractType.select(EXTRACT_TYPE_SEGMENTS); break;
+                case SEGMENTS_BY_KEY: rowsExtractType.select(EXTRACT_TYPE_SEGMENTS_BY_KEY); break;
             }
         }
         fetchSizeText.setText(String.valueOf(settings.getFetchSize()));
+        partitionCountText.setText(String.valueOf(settings.getPartitionCount()));
         if (selectedColumnsOnlyCheckbox != null) {
             selectedColumnsOnlyCheckbox.setSelection(settings.isSelectedColumnsOnly());
         }
@@ -254,7 +279,7 @@ public class DatabaseProducerPageExtractSettings extends DataTransferPageNodeSet
     {
         if (rowsExtractType != null) {
             int selectionIndex = rowsExtractType.getSelectionIndex();
-            if (selectionIndex == EXTRACT_TYPE_SEGMENTS) {
+            if (selectionIndex == EXTRACT_TYPE_SEGMENTS || selectionIndex == EXTRACT_TYPE_SEGMENTS_BY_KEY) {
                 segmentSizeLabel.setEnabled(true);
                 segmentSizeText.setEnabled(true);
             } else {
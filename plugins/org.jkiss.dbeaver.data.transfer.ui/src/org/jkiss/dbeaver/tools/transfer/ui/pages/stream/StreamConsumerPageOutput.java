@@ -42,6 +42,7 @@ import org.jkiss.dbeaver.tools.transfer.registry.DataTransferProcessorDescriptor
 import org.jkiss.dbeaver.tools.transfer.registry.DataTransferRegistry;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.BlobFileConflictBehavior;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.CompressionFormat;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.DataFileConflictBehavior;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.LobExtractType;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferConsumer;
@@ -160,6 +161,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
 
     private static final Log log = Log.getLog(StreamConsumerPageOutput.class);
     private static final String HELP_DT_EXTERNAL_LINK = "Data-transfer-external-storage";
+    private static final int MAX_FORMATTER_THREADS = 64;
     
     private Combo encodingCombo;
     private Button encodingBOMCheckbox;
@@ -167,6 +169,8 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
     private Text directoryText;
     private Text fileNameText;
     private Button compressCheckbox;
+    private Combo compressionFormatCombo;
+    private Spinner formatterThreadsSpinner;
     private Button clipboardCheck;
     private Button singleFileCheck;
     private Button showFinalMessageCheckbox;
@@ -267,6 +271,31 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
                     updateControlsEnablement();
                 }
             });
+            compressionFormatCombo = UIUtils.createLabelCombo(
+                generalSettings,
+                DTMessages.data_transfer_wizard_output_label_compression_format,
+                DTMessages.data_transfer_wizard_output_label_compression_format_tip,
+                SWT.DROP_DOWN | SWT.READ_ONLY
+            );
+            for (CompressionFormat format : CompressionFormat.values()) {
+                compressionFormatCombo.add(format.title);
+            }
+            compressionFormatCombo.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setCompressionFormat(CompressionFormat.values()[compressionFormatCombo.getSelectionIndex()]);
+                }
+            });
+            formatterThreadsSpinner = UIUtils.createLabelSpinner(
+                generalSettings,
+                DTMessages.data_transfer_wizard_output_label_formatter_threads,
+                DTMessages.data_transfer_wizard_output_label_formatter_threads_tip,
+                0,
+                0,
+                MAX_FORMATTER_THREADS
+            );
+            formatterThreadsSpinner.addModifyListener(e ->
+                settings.setFormatterThreads(formatterThreadsSpinner.getSelection()));
 
             {
                 Composite outFilesSettings = UIUtils.createComposite(generalSettings, 3);
@@ -420,6 +449,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
         directoryText.setEnabled(!clipboard);
         fileNameText.setEnabled(!clipboard);
         compressCheckbox.setEnabled(!clipboard && !singleFileCheck.getSelection());
+        compressionFormatCombo.setEnabled(!clipboard && compressCheckbox.isEnabled() && compressCheckbox.getSelection());
         if (compressCheckbox.getSelection() && dataFileConflictBehaviorSelector.getValue().equals(DataFileConflictBehavior.APPEND)) {
             dataFileConflictBehaviorSelector.setValue(DataFileConflictBehavior.PATCHNAME);
         }
@@ -449,6 +479,8 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
         directoryText.setText(CommonUtils.toString(settings.getOutputFolder()));
         fileNameText.setText(CommonUtils.toString(settings.getOutputFilePattern()));
         compressCheckbox.setSelection(settings.isCompressResults());
+        compressionFormatCombo.select(settings.getCompressionFormat().ordinal());
+        formatterThreadsSpinner.setSelection(settings.getFormatterThreads());
         splitFilesCheckbox.setSelection(settings.isSplitOutFiles());
         maximumFileSizeText.setText(String.valueOf(settings.getMaxOutFileSize()));
         encodingCombo.setText(CommonUtils.toString(settings.getOutputEncoding()));
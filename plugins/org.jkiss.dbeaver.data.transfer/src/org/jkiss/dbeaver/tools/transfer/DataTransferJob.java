@@ -21,6 +21,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.exec.DBCStatistics;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
@@ -140,7 +141,11 @@ public class DataTransferJob extends AbstractJob {
             consumer.finishTransfer(monitor, false);
             return true;
         } catch (Exception e) {
-            consumer.finishTransfer(monitor, e, task, false);
+            try {
+                consumer.finishTransfer(monitor, e, task, false);
+            } catch (DBException e1) {
+                e.addSuppressed(e1);
+            }
             log.error("Error transferring data from " + inputName + " to " + outputName, e);
             throw e;
         } finally {
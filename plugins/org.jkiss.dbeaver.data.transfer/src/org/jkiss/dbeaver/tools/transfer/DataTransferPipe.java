@@ -28,6 +28,9 @@ public class DataTransferPipe {
 
     private IDataTransferProducer producer;
     private IDataTransferConsumer consumer;
+    // Key range partition of the source table. Zero partitions count means that pipe is not partitioned.
+    private int partitionNumber;
+    private int partitionCount;
 
     public DataTransferPipe(IDataTransferProducer producer, IDataTransferConsumer consumer)
     {
@@ -55,6 +58,19 @@ public class DataTransferPipe {
         this.consumer = consumer;
     }
 
+    public int getPartitionNumber() {
+        return partitionNumber;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public void setPartition(int partitionNumber, int partitionCount) {
+        this.partitionNumber = partitionNumber;
+        this.partitionCount = partitionCount;
+    }
+
     public void initPipe(DataTransferSettings settings, int pipeIndex, int totalPipes) throws DBException {
         if (consumer == null || producer == null) {
             throw new DBException("Empty pipe");
@@ -68,6 +84,8 @@ public class DataTransferPipe {
             processorDescriptor != null && processorDescriptor.isHTMLFormat());
         parameters.orderNumber = pipeIndex;
         parameters.totalConsumers = totalPipes;
+        parameters.partitionNumber = partitionNumber;
+        parameters.totalPartitions = partitionCount;
         parameters.startTimestamp = new Date();
         consumer.initTransfer(
             producer.getDatabaseObject(),
@@ -37,6 +37,8 @@ public interface IDataTransferConsumer<SETTINGS extends IDataTransferSettings, P
     class TransferParameters {
         public int orderNumber;
         public int totalConsumers;
+        public int partitionNumber;
+        public int totalPartitions;
         public boolean isBinary;
         public boolean isHTML;
         public Date startTimestamp;
@@ -64,8 +66,9 @@ public interface IDataTransferConsumer<SETTINGS extends IDataTransferSettings, P
      * Finishes this transfer
      * @param monitor monitor
      * @param last called in the very end of all transfers
+     * @throws DBException if transfer results can't be completed (e.g. output file can't be written)
      */
-    void finishTransfer(DBRProgressMonitor monitor, boolean last);
+    void finishTransfer(DBRProgressMonitor monitor, boolean last) throws DBException;
 
     /**
      * Finishes this transfer
@@ -74,7 +77,7 @@ public interface IDataTransferConsumer<SETTINGS extends IDataTransferSettings, P
      * @param exception an exception caught during transfer, or {@code null} if transfer was successful
      * @param last      called in the very end of all transfers
      */
-    default void finishTransfer(@NotNull DBRProgressMonitor monitor, @Nullable Exception exception, boolean last) {
+    default void finishTransfer(@NotNull DBRProgressMonitor monitor, @Nullable Exception exception, boolean last) throws DBException {
         finishTransfer(monitor, exception, null, last);
     }
 
@@ -86,7 +89,7 @@ public interface IDataTransferConsumer<SETTINGS extends IDataTransferSettings, P
      * @param task    a task the transfer was started from
      * @param last    called in the very end of all transfers
      */
-    default void finishTransfer(@NotNull DBRProgressMonitor monitor, @Nullable Throwable error, @Nullable DBTTask task, boolean last) {
+    default void finishTransfer(@NotNull DBRProgressMonitor monitor, @Nullable Throwable error, @Nullable DBTTask task, boolean last) throws DBException {
         finishTransfer(monitor, last);
     }
 
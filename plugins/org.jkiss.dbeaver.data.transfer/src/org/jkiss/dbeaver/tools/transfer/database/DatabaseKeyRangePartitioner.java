@@ -0,0 +1,220 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a single table producer into several producers, each reading its own range of the numeric unique key.
+ * Key boundaries are computed from MIN/MAX key values, so partitions are even for dense keys only.
+ */
+public class DatabaseKeyRangePartitioner {
+
+    private static final Log log = Log.getLog(DatabaseKeyRangePartitioner.class);
+
+    /**
+     * Returns producers for key ranges or {@code null} if source can't be partitioned.
+     */
+    @Nullable
+    public static List<DatabaseTransferProducer> makePartitions(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DatabaseTransferProducer producer,
+        int partitionCount
+    ) {
+        DBSDataContainer dataContainer = producer.getDatabaseObject();
+        if (partitionCount < 2 || !(dataContainer instanceof DBSEntity) || dataContainer.getDataSource() == null) {
+            return null;
+        }
+        DBDDataFilter sourceFilter = producer.getDataFilter();
+        if (sourceFilter != null && sourceFilter.isAnyConstraint() && sourceFilter.hasConditions()) {
+            return null;
+        }
+        DBSEntityAttribute keyAttribute = getPartitionKey(monitor, (DBSEntity) dataContainer);
+        if (keyAttribute == null) {
+            log.debug("Table '" + dataContainer.getName() + "' has no single-column numeric key. Partitioning is disabled.");
+            return null;
+        }
+
+        BigDecimal minValue, maxValue;
+        try (DBCSession session = DBUtils.openUtilSession(monitor, dataContainer, "Probe key range")) {
+            minValue = readBoundary(session, dataContainer, keyAttribute, sourceFilter, false);
+            maxValue = readBoundary(session, dataContainer, keyAttribute, sourceFilter, true);
+        } catch (DBException e) {
+            log.debug("Error probing key range of '" + dataContainer.getName() + "'", e);
+            return null;
+        }
+        if (minValue == null || maxValue == null || minValue.compareTo(maxValue) >= 0) {
+            return null;
+        }
+
+        List<BigDecimal> bounds = makeBounds(minValue, maxValue, partitionCount);
+        if (bounds.size() < 3) {
+            return null;
+        }
+        String keyName = DBUtils.getQuotedIdentifier(keyAttribute);
+        List<DatabaseTransferProducer> partitions = new ArrayList<>(bounds.size() - 1);
+        for (int i = 0; i < bounds.size() - 1; i++) {
+            StringBuilder condition = new StringBuilder();
+            if (i > 0) {
+                condition.append(keyName).append(" >= ").append(bounds.get(i).toPlainString());
+            }
+            if (i < bounds.size() - 2) {
+                if (!condition.isEmpty()) condition.append(" AND ");
+                condition.append(keyName).append(" < ").append(bounds.get(i + 1).toPlainString());
+            }
+            DBDDataFilter filter = sourceFilter == null ? new DBDDataFilter() : new DBDDataFilter(sourceFilter);
+            String where = filter.getWhere();
+            filter.setWhere(CommonUtils.isEmpty(where) ? condition.toString() : "(" + where + ") AND (" + condition + ")");
+
+            DatabaseTransferProducer partition = new DatabaseTransferProducer(dataContainer, filter);
+            partition.setDefaultCatalog(producer.getDefaultCatalog());
+            partition.setDefaultSchema(producer.getDefaultSchema());
+            partitions.add(partition);
+        }
+        log.debug("Table '" + dataContainer.getName() + "' split into " + partitions.size() +
+            " partitions by " + keyAttribute.getName() + " [" + minValue + " .. " + maxValue + "]");
+        return partitions;
+    }
+
+    /**
+     * Splits [min, max] into at most {@code count} ranges. Returns range bounds (count + 1 values).
+     * Integer keys produce integer bounds and never produce empty ranges.
+     */
+    @NotNull
+    static List<BigDecimal> makeBounds(@NotNull BigDecimal minValue, @NotNull BigDecimal maxValue, int count) {
+        boolean integral = minValue.stripTrailingZeros().scale() <= 0 && maxValue.stripTrailingZeros().scale() <= 0;
+        BigDecimal range = maxValue.subtract(minValue);
+        if (integral && range.compareTo(BigDecimal.valueOf(count)) < 0) {
+            count = range.intValue() + 1;
+        }
+        List<BigDecimal> bounds = new ArrayList<>(count + 1);
+        bounds.add(minValue);
+        for (int i = 1; i < count; i++) {
+            BigDecimal bound = minValue.add(range.multiply(BigDecimal.valueOf(i)).divide(BigDecimal.valueOf(count), 10, RoundingMode.DOWN));
+            if (integral) {
+                bound = new BigDecimal(bound.toBigInteger());
+            }
+            if (bound.compareTo(bounds.get(bounds.size() - 1)) > 0) {
+                bounds.add(bound);
+            }
+        }
+        bounds.add(maxValue);
+        return bounds;
+    }
+
+    @Nullable
+    private static DBSEntityAttribute getPartitionKey(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity) {
+        try {
+            List<? extends DBSEntityAttribute> identifier = DBUtils.getBestTableIdentifier(monitor, entity);
+            if (identifier.size() != 1) {
+                return null;
+            }
+            DBSEntityAttribute attribute = identifier.get(0);
+            return attribute.isRequired() && attribute.getDataKind() == DBPDataKind.NUMERIC ? attribute : null;
+        } catch (DBException e) {
+            log.debug("Error reading unique key of '" + entity.getName() + "'", e);
+            return null;
+        }
+    }
+
+    @Nullable
+    private static BigDecimal readBoundary(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSEntityAttribute keyAttribute,
+        @Nullable DBDDataFilter sourceFilter,
+        boolean max
+    ) throws DBCException {
+        DBDDataFilter filter = sourceFilter == null ? new DBDDataFilter() : new DBDDataFilter(sourceFilter);
+        filter.resetOrderBy();
+        filter.setOrder(DBUtils.getQuotedIdentifier(keyAttribute) + (max ? " DESC" : ""));
+        BoundaryReceiver receiver = new BoundaryReceiver(keyAttribute);
+        dataContainer.readData(
+            new AbstractExecutionSource(dataContainer, session.getExecutionContext(), receiver),
+            session, receiver, filter, 0, 1, DBSDataContainer.FLAG_NONE, 1);
+        return toDecimal(receiver.value);
+    }
+
+    @Nullable
+    private static BigDecimal toDecimal(@Nullable Object value) {
+        if (value instanceof BigDecimal bd) {
+            return bd;
+        } else if (value instanceof BigInteger bi) {
+            return new BigDecimal(bi);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            double dValue = number.doubleValue();
+            return Double.isFinite(dValue) ? BigDecimal.valueOf(dValue) : null;
+        }
+        return null;
+    }
+
+    private static class BoundaryReceiver implements DBDDataReceiver {
+        private final DBSEntityAttribute keyAttribute;
+        private Object value;
+
+        BoundaryReceiver(DBSEntityAttribute keyAttribute) {
+            this.keyAttribute = keyAttribute;
+        }
+
+        @Override
+        public void fetchStart(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, long offset, long maxRows) {
+        }
+
+        @Override
+        public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+            List<? extends DBCAttributeMetaData> attributes = resultSet.getMeta().getAttributes();
+            for (int i = 0; i < attributes.size(); i++) {
+                if (keyAttribute.getName().equalsIgnoreCase(attributes.get(i).getName())) {
+                    DBDValueHandler valueHandler = DBUtils.findValueHandler(session, keyAttribute);
+                    value = valueHandler.fetchValueObject(session, resultSet, keyAttribute, i);
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
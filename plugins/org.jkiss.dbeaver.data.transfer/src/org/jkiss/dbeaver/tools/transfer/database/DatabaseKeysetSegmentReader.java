@@ -0,0 +1,250 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads entity data by segments using keyset (seek) pagination.
+ * Each segment is selected as {@code WHERE key > :lastKey ORDER BY key} with a row limit,
+ * so the database never has to skip rows which were already read by previous segments.
+ */
+public class DatabaseKeysetSegmentReader {
+
+    private static final Log log = Log.getLog(DatabaseKeysetSegmentReader.class);
+
+    @NotNull
+    private final DBPDataSource dataSource;
+    @NotNull
+    private final List<DBSEntityAttribute> keyAttributes;
+    @Nullable
+    private final DBDDataFilter sourceFilter;
+    @Nullable
+    private Object[] lastKey;
+
+    private DatabaseKeysetSegmentReader(
+        @NotNull DBPDataSource dataSource,
+        @NotNull List<DBSEntityAttribute> keyAttributes,
+        @Nullable DBDDataFilter sourceFilter
+    ) {
+        this.dataSource = dataSource;
+        this.keyAttributes = keyAttributes;
+        this.sourceFilter = sourceFilter;
+    }
+
+    /**
+     * Creates keyset reader for the specified data container.
+     *
+     * @return reader or {@code null} if container has no usable unique key
+     * or the filter/read flags are not compatible with key-based segments
+     */
+    @Nullable
+    public static DatabaseKeysetSegmentReader create(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSDataContainer dataContainer,
+        @Nullable DBDDataFilter dataFilter,
+        long readFlags
+    ) {
+        if (!(dataContainer instanceof DBSEntity entity) || dataContainer.getDataSource() == null) {
+            return null;
+        }
+        if ((readFlags & (DBSDataContainer.FLAG_USE_SELECTED_COLUMNS | DBSDataContainer.FLAG_USE_SELECTED_ROWS)) != 0) {
+            return null;
+        }
+        if (dataFilter != null) {
+            if (dataFilter.hasOrdering() || dataFilter.hasHiddenAttributes()) {
+                // Custom order or projection breaks key sequence
+                return null;
+            }
+            if (dataFilter.isAnyConstraint() && dataFilter.hasConditions()) {
+                // Key condition would be joined with OR
+                return null;
+            }
+        }
+        try {
+            List<? extends DBSEntityAttribute> identifier = DBUtils.getBestTableIdentifier(monitor, entity);
+            if (identifier.isEmpty()) {
+                return null;
+            }
+            List<DBSEntityAttribute> keyAttributes = new ArrayList<>(identifier.size());
+            for (DBSEntityAttribute attribute : identifier) {
+                if (!attribute.isRequired() || !isSeekableType(attribute.getDataKind())) {
+                    return null;
+                }
+                keyAttributes.add(attribute);
+            }
+            return new DatabaseKeysetSegmentReader(dataContainer.getDataSource(), keyAttributes, dataFilter);
+        } catch (DBException e) {
+            log.debug("Error reading unique key of '" + entity.getName() + "'", e);
+            return null;
+        }
+    }
+
+    private static boolean isSeekableType(@NotNull DBPDataKind dataKind) {
+        return switch (dataKind) {
+            case NUMERIC, STRING, DATETIME -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Human-readable key description, used in transfer statistics
+     */
+    @NotNull
+    public String getKeyDescription() {
+        StringBuilder result = new StringBuilder();
+        for (DBSEntityAttribute attribute : keyAttributes) {
+            if (!result.isEmpty()) result.append(",");
+            result.append(attribute.getName());
+        }
+        return result.toString();
+    }
+
+    public boolean hasLastKey() {
+        return lastKey != null;
+    }
+
+    /**
+     * Makes filter for the next segment. Returns original filter extended with key order and key range condition.
+     */
+    @NotNull
+    public DBDDataFilter getSegmentFilter() {
+        DBDDataFilter filter = sourceFilter == null ? new DBDDataFilter() : new DBDDataFilter(sourceFilter);
+        StringBuilder order = new StringBuilder();
+        for (DBSEntityAttribute attribute : keyAttributes) {
+            if (!order.isEmpty()) order.append(",");
+            order.append(DBUtils.getQuotedIdentifier(attribute));
+        }
+        filter.setOrder(order.toString());
+        if (lastKey != null) {
+            String keyCondition = makeKeyCondition();
+            String where = filter.getWhere();
+            filter.setWhere(CommonUtils.isEmpty(where) ? keyCondition : "(" + where + ") AND (" + keyCondition + ")");
+        }
+        return filter;
+    }
+
+    /**
+     * Builds (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ... condition.
+     * Row value comparison is not supported by all databases, so it is expanded.
+     */
+    @NotNull
+    private String makeKeyCondition() {
+        StringBuilder condition = new StringBuilder();
+        for (int i = 0; i < keyAttributes.size(); i++) {
+            if (i > 0) condition.append(" OR ");
+            condition.append('(');
+            for (int k = 0; k <= i; k++) {
+                if (k > 0) condition.append(" AND ");
+                DBSEntityAttribute attribute = keyAttributes.get(k);
+                condition
+                    .append(DBUtils.getQuotedIdentifier(attribute))
+                    .append(k == i ? " > " : " = ")
+                    .append(SQLUtils.convertValueToSQL(dataSource, attribute, lastKey[k]));
+            }
+            condition.append(')');
+        }
+        return condition.toString();
+    }
+
+    /**
+     * Wraps target receiver. Wrapper remembers key values of the last fetched row.
+     */
+    @NotNull
+    public DBDDataReceiver wrapReceiver(@NotNull DBDDataReceiver receiver) {
+        return new KeyTrackingReceiver(receiver);
+    }
+
+    private class KeyTrackingReceiver implements DBDDataReceiver {
+
+        @NotNull
+        private final DBDDataReceiver target;
+        private int[] keyIndexes;
+        private DBDValueHandler[] keyHandlers;
+
+        KeyTrackingReceiver(@NotNull DBDDataReceiver target) {
+            this.target = target;
+        }
+
+        @Override
+        public void fetchStart(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+            List<? extends DBCAttributeMetaData> metaAttributes = resultSet.getMeta().getAttributes();
+            keyIndexes = new int[keyAttributes.size()];
+            keyHandlers = new DBDValueHandler[keyAttributes.size()];
+            for (int i = 0; i < keyAttributes.size(); i++) {
+                DBSEntityAttribute attribute = keyAttributes.get(i);
+                keyIndexes[i] = -1;
+                for (int k = 0; k < metaAttributes.size(); k++) {
+                    if (attribute.getName().equalsIgnoreCase(metaAttributes.get(k).getName())) {
+                        keyIndexes[i] = k;
+                        break;
+                    }
+                }
+                if (keyIndexes[i] < 0) {
+                    throw new DBCException("Key column '" + attribute.getName() + "' not found in result set");
+                }
+                keyHandlers[i] = DBUtils.findValueHandler(session, attribute);
+            }
+            target.fetchStart(session, resultSet, offset, maxRows);
+        }
+
+        @Override
+        public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+            Object[] rowKey = new Object[keyIndexes.length];
+            for (int i = 0; i < keyIndexes.length; i++) {
+                rowKey[i] = keyHandlers[i].fetchValueObject(session, resultSet, keyAttributes.get(i), keyIndexes[i]);
+            }
+            target.fetchRow(session, resultSet);
+            lastKey = rowKey;
+        }
+
+        @Override
+        public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+            target.fetchEnd(session, resultSet);
+        }
+
+        @Override
+        public void close() {
+            target.close();
+        }
+
+        @NotNull
+        @Override
+        public DBCStatistics getStatistics() {
+            return target.getStatistics();
+        }
+    }
+}
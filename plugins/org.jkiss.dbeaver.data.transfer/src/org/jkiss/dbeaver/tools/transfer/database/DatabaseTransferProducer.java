@@ -25,6 +25,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.DataSourceContextProvider;
@@ -66,6 +67,8 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
 
     private static final Log log = Log.getLog(DatabaseTransferProducer.class);
 
+    public static final String STAT_EXTRACT_STRATEGY = "Extract strategy";
+
     private final DBCStatistics producerStatistics = new DBCStatistics();
 
     private DBPDataSourceContainer dataSourceContainer;
@@ -96,6 +99,11 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
         this.dataContainer = dataContainer;
     }
 
+    @Nullable
+    public DBDDataFilter getDataFilter() {
+        return dataFilter;
+    }
+
     @Override
     public DBSDataContainer getDatabaseObject()
     {
@@ -277,18 +285,18 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
                                 // Just do it in single query
                                 producerStatistics.accumulate(dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, readFlags, settings.getFetchSize()));
                             } else {
-                                // Read all data by segments
-                                long offset = 0;
-                                int segmentSize = settings.getSegmentSize();
-                                for (; ; ) {
-                                    DBCStatistics statistics = dataContainer.readData(
-                                        transferSource, session, consumer, dataFilter, offset, segmentSize, readFlags, settings.getFetchSize());
-                                    if (statistics == null || statistics.getRowsFetched() < segmentSize) {
-                                        // Done
-                                        break;
+                                DatabaseKeysetSegmentReader keysetReader = null;
+                                if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SEGMENTS_BY_KEY) {
+                                    keysetReader = DatabaseKeysetSegmentReader.create(monitor, dataContainer, dataFilter, readFlags);
+                                    if (keysetReader == null) {
+                                        log.debug("No usable unique key in '" + dataContainer.getName() + "'. Read segments by offset.");
                                     }
-                                    producerStatistics.accumulate(statistics);
-                                    offset += statistics.getRowsFetched();
+                                }
+                                if (keysetReader != null) {
+                                    readSegmentsByKey(transferSource, session, consumer, keysetReader, readFlags, settings);
+                                } else {
+                                    producerStatistics.addInfo(STAT_EXTRACT_STRATEGY, "offset");
+                                    readSegmentsByOffset(transferSource, session, consumer, readFlags, settings);
                                 }
                             }
                         } finally {
@@ -321,6 +329,56 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
         });
     }
 
+    private void readSegmentsByOffset(
+        @NotNull DBCExecutionSource transferSource,
+        @NotNull DBCSession session,
+        @NotNull IDataTransferConsumer consumer,
+        long readFlags,
+        @NotNull DatabaseProducerSettings settings
+    ) throws DBCException {
+        // Read all data by segments
+        long offset = 0;
+        int segmentSize = settings.getSegmentSize();
+        for (; ; ) {
+            DBCStatistics statistics = dataContainer.readData(
+                transferSource, session, consumer, dataFilter, offset, segmentSize, readFlags, settings.getFetchSize());
+            if (statistics == null || statistics.getRowsFetched() < segmentSize) {
+                // Done
+                break;
+            }
+            producerStatistics.accumulate(statistics);
+            offset += statistics.getRowsFetched();
+        }
+    }
+
+    private void readSegmentsByKey(
+        @NotNull DBCExecutionSource transferSource,
+        @NotNull DBCSession session,
+        @NotNull IDataTransferConsumer consumer,
+        @NotNull DatabaseKeysetSegmentReader keysetReader,
+        long readFlags,
+        @NotNull DatabaseProducerSettings settings
+    ) throws DBCException {
+        producerStatistics.addInfo(STAT_EXTRACT_STRATEGY, "keyset (" + keysetReader.getKeyDescription() + ")");
+        log.debug("Read '" + dataContainer.getName() + "' segments by key " + keysetReader.getKeyDescription());
+
+        DBDDataReceiver keyReceiver = keysetReader.wrapReceiver(consumer);
+        int segmentSize = settings.getSegmentSize();
+        for (; ; ) {
+            // Offset is always zero: segment start is defined by the last read key
+            DBCStatistics statistics = dataContainer.readData(
+                transferSource, session, keyReceiver, keysetReader.getSegmentFilter(), 0, segmentSize, readFlags, settings.getFetchSize());
+            if (statistics == null) {
+                break;
+            }
+            producerStatistics.accumulate(statistics);
+            if (statistics.getRowsFetched() < segmentSize || !keysetReader.hasLastKey()) {
+                // Done
+                break;
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         return obj instanceof DatabaseTransferProducer &&
@@ -33,11 +33,16 @@ public class DTMessages extends NLS {
     public static String data_transfer_wizard_output_checkbox_compress;
     public static String data_transfer_wizard_output_checkbox_split_files;
     public static String data_transfer_wizard_output_checkbox_split_files_tip;
+    public static String data_transfer_wizard_output_label_formatter_threads;
+    public static String data_transfer_wizard_output_label_compression_format;
+    public static String data_transfer_wizard_output_label_compression_format_tip;
+    public static String data_transfer_wizard_output_label_formatter_threads_tip;
     public static String data_transfer_wizard_output_checkbox_new_connection;
     public static String data_transfer_wizard_output_checkbox_select_row_count;
     public static String data_transfer_wizard_output_checkbox_selected_columns_only;
     public static String data_transfer_wizard_output_checkbox_selected_rows_only;
     public static String data_transfer_wizard_output_combo_extract_type_item_by_segments;
+    public static String data_transfer_wizard_output_combo_extract_type_item_by_key_segments;
     public static String data_transfer_wizard_output_combo_extract_type_item_single_query;
     public static String data_transfer_wizard_output_description;
     public static String data_transfer_wizard_output_dialog_directory_message;
@@ -57,6 +62,8 @@ public class DTMessages extends NLS {
     public static String data_transfer_wizard_output_label_insert_bom_tooltip;
     public static String data_transfer_wizard_output_label_max_threads;
     public static String data_transfer_wizard_output_label_segment_size;
+    public static String data_transfer_wizard_output_label_partition_count;
+    public static String data_transfer_wizard_output_label_partition_count_tip;
     public static String data_transfer_wizard_output_label_add_to_end_of_file;
     public static String data_transfer_wizard_output_label_add_to_end_of_file_tip;
     public static String data_transfer_wizard_output_error_empty_output_directory;
@@ -0,0 +1,41 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Represents an exporter whose output for a row doesn't depend on other rows.
+ * <p>
+ * Rows of such exporters may be formatted by several threads in a pipelined export
+ * (see {@link StreamConsumerSettings#getFormatterThreads()}).
+ */
+public interface IParallelDataExporter extends IStreamDataExporter {
+
+    /**
+     * Creates an exporter which formats rows in a worker thread.
+     * <p>
+     * This method is called after the header was exported. The returned exporter is initialized
+     * with its own site which writes to a memory buffer and then only
+     * {@link #exportRow(org.jkiss.dbeaver.model.exec.DBCSession, org.jkiss.dbeaver.model.exec.DBCResultSet, Object[])}
+     * is called.
+     *
+     * @return new row formatter
+     */
+    @NotNull
+    IStreamDataExporter createRowFormatter();
+}
@@ -49,6 +49,11 @@ public interface IStreamDataExporterSite {
 
     PrintWriter getWriter();
 
+    /**
+     * Returns the same writer as {@link #getWriter()}. Its extra methods write values without intermediate strings.
+     */
+    StreamExportWriter getExportWriter();
+
     void flush() throws IOException;
 
     void writeBinaryData(@NotNull DBDContentStorage cs) throws IOException;
@@ -56,4 +61,11 @@ public interface IStreamDataExporterSite {
     @NotNull
     String getOutputEncoding();
 
+    /**
+     * Returns true if rows are formatted by several exporters at the same time (pipelined export)
+     */
+    default boolean isParallelFormatting() {
+        return false;
+    }
+
 }
\ No newline at end of file
@@ -111,6 +111,20 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         }
     }
 
+    public enum CompressionFormat {
+        ZIP("ZIP", "zip"),
+        GZIP("GZip", "gz"),
+        ZSTD("Zstandard", "zst");
+
+        public final String title;
+        public final String extension;
+
+        CompressionFormat(String title, String extension) {
+            this.title = title;
+            this.extension = extension;
+        }
+    }
+
     public static final String PROP_EXTRACT_IMAGES = "extractImages";
     public static final String PROP_FILE_EXTENSION = "extension";
 
@@ -135,8 +149,10 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
     private boolean outputClipboard = false;
     private boolean useSingleFile = false;
     private boolean compressResults = false;
+    private CompressionFormat compressionFormat = CompressionFormat.ZIP;
     private boolean splitOutFiles = false;
     private long maxOutFileSize = 10 * 1000 * 1000;
+    private int formatterThreads = 0;
     private final Map<DBSDataContainer, StreamMappingContainer> dataMappings = new LinkedHashMap<>();
     private final Map<String, Map<String, Object>> eventProcessors = new HashMap<>();
 
@@ -244,6 +260,15 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         this.compressResults = compressResults;
     }
 
+    @NotNull
+    public CompressionFormat getCompressionFormat() {
+        return compressionFormat;
+    }
+
+    public void setCompressionFormat(@NotNull CompressionFormat compressionFormat) {
+        this.compressionFormat = compressionFormat;
+    }
+
     public boolean isSplitOutFiles() {
         return splitOutFiles;
     }
@@ -260,6 +285,18 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         this.maxOutFileSize = maxOutFileSize;
     }
 
+    /**
+     * Number of rows formatting threads of pipelined export.
+     * Zero means that rows are fetched, formatted and written by the same thread.
+     */
+    public int getFormatterThreads() {
+        return formatterThreads;
+    }
+
+    public void setFormatterThreads(int formatterThreads) {
+        this.formatterThreads = formatterThreads;
+    }
+
     @NotNull
     public Map<DBSDataContainer, StreamMappingContainer> getDataMappings() {
         return dataMappings;
@@ -329,8 +366,10 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         );
 
         compressResults = CommonUtils.getBoolean(settings.get("compressResults"), compressResults);
+        compressionFormat = CommonUtils.valueOf(CompressionFormat.class, CommonUtils.toString(settings.get("compressionFormat")), compressionFormat);
         splitOutFiles = CommonUtils.getBoolean(settings.get("splitOutFiles"), splitOutFiles);
         maxOutFileSize = CommonUtils.toLong(settings.get("maxOutFileSize"), maxOutFileSize);
+        formatterThreads = CommonUtils.toInt(settings.get("formatterThreads"), formatterThreads);
 
         final boolean openFolderOnFinish = CommonUtils.getBoolean(settings.get("openFolderOnFinish"), false);
         final boolean deleteFileInCaseOfFail = CommonUtils.getBoolean(settings.get("deleteFileInCaseOfFail"), true);
@@ -416,8 +455,10 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         settings.put("useSingleFile", useSingleFile);
 
         settings.put("compressResults", compressResults);
+        settings.put("compressionFormat", compressionFormat.name());
         settings.put("splitOutFiles", splitOutFiles);
         settings.put("maxOutFileSize", maxOutFileSize);
+        settings.put("formatterThreads", formatterThreads);
 
         if (formatterProfile != null) {
             settings.put("formatterProfile", formatterProfile.getProfileName());
@@ -459,6 +500,12 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         }
 
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_compress, compressResults);
+        if (compressResults) {
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_compression_format, compressionFormat.title);
+        }
+        if (formatterThreads > 0) {
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_formatter_threads, formatterThreads);
+        }
 
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_binaries, lobExtractType);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_encoding, lobEncoding);
@@ -0,0 +1,308 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Text output of stream exporters.
+ * <p>
+ * Text is collected in a reusable char buffer which is encoded into the output stream in large chunks.
+ * Besides the regular {@link PrintWriter} methods exporters may write values directly into the buffer
+ * ({@link #writeNumber(long)}, {@link #writeText(String, int, int)}, etc) to avoid intermediate strings.
+ * <p>
+ * Writer without output stream keeps all text in memory (clipboard export, pipelined export formatters).
+ */
+public class StreamExportWriter extends PrintWriter {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int MEMORY_BUFFER_SIZE = 8 * 1024;
+    // Max length of a long value text
+    private static final int MAX_NUMBER_LENGTH = 20;
+
+    @NotNull
+    private final CharOutput output;
+
+    /**
+     * Creates writer which encodes text into the stream
+     */
+    public StreamExportWriter(@NotNull OutputStream stream, @NotNull Charset charset) {
+        this(new CharOutput(stream, charset, OUTPUT_BUFFER_SIZE));
+    }
+
+    /**
+     * Creates writer which keeps text in memory
+     */
+    public StreamExportWriter() {
+        this(new CharOutput(null, null, MEMORY_BUFFER_SIZE));
+    }
+
+    private StreamExportWriter(@NotNull CharOutput output) {
+        super(output, false);
+        this.output = output;
+    }
+
+    public void writeChar(char c) {
+        output.ensureCapacity(1);
+        output.chars[output.count++] = c;
+    }
+
+    public void writeText(@NotNull String text) {
+        output.write(text, 0, text.length());
+    }
+
+    /**
+     * Writes text from {@code start} (inclusive) to {@code end} (exclusive)
+     */
+    public void writeText(@NotNull String text, int start, int end) {
+        output.write(text, start, end - start);
+    }
+
+    public void writeText(@NotNull char[] text, int offset, int length) {
+        output.write(text, offset, length);
+    }
+
+    /**
+     * Writes decimal value, the same as {@code Long.toString(value)}
+     */
+    public void writeNumber(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeText(Long.toString(value));
+            return;
+        }
+        output.ensureCapacity(MAX_NUMBER_LENGTH);
+        char[] chars = output.chars;
+        int pos = output.count;
+        if (value < 0) {
+            chars[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        output.count = end;
+    }
+
+    /**
+     * Number of chars which were not encoded into the output stream yet
+     */
+    public int getBufferedLength() {
+        return output.count;
+    }
+
+    /**
+     * Returns text collected by the memory writer
+     */
+    @NotNull
+    public String getText() {
+        return new String(output.chars, 0, output.count);
+    }
+
+    /**
+     * Copies text collected by the memory writer
+     */
+    public void getText(int start, int end, @NotNull char[] target, int offset) {
+        System.arraycopy(output.chars, start, target, offset, end - start);
+    }
+
+    /**
+     * Discards text collected by the memory writer
+     */
+    public void reset() {
+        output.count = 0;
+    }
+
+    /**
+     * Encodes the remaining text and finishes the encoder, incomplete surrogate pair at the end of text
+     * is replaced with the charset replacement. Output stream stays open.
+     * Nothing can be written into the output stream after this call.
+     */
+    public void finish() throws IOException {
+        output.finish();
+    }
+
+    private static class CharOutput extends Writer {
+        @Nullable
+        private final OutputStream stream;
+        @Nullable
+        private final CharsetEncoder encoder;
+        @Nullable
+        private final ByteBuffer bytes;
+        private char[] chars;
+        private int count;
+        private boolean finished;
+
+        CharOutput(@Nullable OutputStream stream, @Nullable Charset charset, int bufferSize) {
+            this.stream = stream;
+            if (stream != null && charset != null) {
+                this.encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                this.bytes = ByteBuffer.allocate((int) (bufferSize * encoder.maxBytesPerChar()));
+            } else {
+                this.encoder = null;
+                this.bytes = null;
+            }
+            this.chars = new char[bufferSize];
+        }
+
+        void ensureCapacity(int length) {
+            if (count + length <= chars.length) {
+                return;
+            }
+            if (stream != null) {
+                try {
+                    encodeBuffer();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (count + length <= chars.length) {
+                    return;
+                }
+            }
+            char[] newChars = new char[Math.max(chars.length * 2, count + length)];
+            System.arraycopy(chars, 0, newChars, 0, count);
+            chars = newChars;
+        }
+
+        @Override
+        public void write(int c) {
+            ensureCapacity(1);
+            chars[count++] = (char) c;
+        }
+
+        @Override
+        public void write(@NotNull char[] buf, int offset, int length) {
+            while (length > 0) {
+                int chunk = reserve(length);
+                System.arraycopy(buf, offset, chars, count, chunk);
+                count += chunk;
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        @Override
+        public void write(@NotNull String str, int offset, int length) {
+            while (length > 0) {
+                int chunk = reserve(length);
+                str.getChars(offset, offset + chunk, chars, count);
+                count += chunk;
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        /**
+         * Makes room for the text. Long text is written in several chunks.
+         */
+        private int reserve(int length) {
+            if (stream == null) {
+                ensureCapacity(length);
+                return length;
+            }
+            if (count == chars.length) {
+                ensureCapacity(1);
+            }
+            return Math.min(length, chars.length - count);
+        }
+
+        private void encodeBuffer() throws IOException {
+            encodeBuffer(false);
+        }
+
+        private void encodeBuffer(boolean endOfInput) throws IOException {
+            if (stream == null || encoder == null || bytes == null || (count == 0 && !endOfInput)) {
+                return;
+            }
+            if (finished) {
+                throw new IOException("Text output is already finished");
+            }
+            CharBuffer in = CharBuffer.wrap(chars, 0, count);
+            for (;;) {
+                CoderResult result = encoder.encode(in, bytes, endOfInput);
+                if (result.isOverflow()) {
+                    writeBytes();
+                } else if (result.isUnderflow()) {
+                    break;
+                } else {
+                    result.throwException();
+                }
+            }
+            if (endOfInput) {
+                // Encoder may keep some state until the end of input
+                while (encoder.flush(bytes).isOverflow()) {
+                    writeBytes();
+                }
+                finished = true;
+            }
+            writeBytes();
+            // Incomplete surrogate pair stays in the buffer
+            int remaining = in.remaining();
+            System.arraycopy(chars, in.position(), chars, 0, remaining);
+            count = remaining;
+        }
+
+        private void writeBytes() throws IOException {
+            assert stream != null && bytes != null;
+            stream.write(bytes.array(), 0, bytes.position());
+            bytes.clear();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (stream != null) {
+                encodeBuffer();
+                stream.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (stream != null && !finished) {
+                encodeBuffer(true);
+                stream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (stream != null) {
+                finish();
+                stream.close();
+            }
+        }
+    }
+}
@@ -55,6 +55,9 @@ import org.jkiss.dbeaver.tools.transfer.serialize.SerializerContext;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.BlobFileConflictBehavior;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.ConsumerRuntimeParameters;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.DataFileConflictBehavior;
+import org.jkiss.dbeaver.tools.transfer.stream.compress.BgzfBlockCompressor;
+import org.jkiss.dbeaver.tools.transfer.stream.compress.ParallelCompressorOutputStream;
+import org.jkiss.dbeaver.tools.transfer.stream.compress.ZstdBlockCompressor;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
@@ -64,6 +67,7 @@ import org.jkiss.utils.IOUtils;
 import org.jkiss.utils.io.ByteOrderMark;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -132,7 +136,8 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     private OutputStream outputStream;
     private ZipOutputStream zipStream;
-    private PrintWriter writer;
+    private ParallelCompressorOutputStream compressorStream;
+    private StreamExportWriter writer;
     private int multiFileNumber;
     private long bytesWritten = 0;
 
@@ -143,13 +148,15 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     private Path outputFile;
     private StreamExportSite exportSite;
     private Map<String, Object> processorProperties;
-    private StringWriter outputBuffer;
+    private StreamExportWriter outputBuffer;
     private boolean initialized = false;
     private boolean firstRow = true;
     private TransferParameters parameters;
 
     private final List<Path> outputFiles = new ArrayList<>();
     private StatOutputStream statStream;
+    @Nullable
+    private StreamTransferPipeline pipeline;
     
     public StreamTransferConsumer() {
     }
@@ -192,21 +199,37 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
 
         initialized = true;
+
+        if (settings.getFormatterThreads() > 0) {
+            startPipeline(session, resultSet);
+        }
+    }
+
+    private void startPipeline(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        if (!StreamTransferPipeline.isSupported(columnBindings)) {
+            log.debug("Result set has LOB columns, pipelined export is disabled");
+            return;
+        }
+        try {
+            pipeline = new StreamTransferPipeline(
+                "Export " + getObjectName(),
+                session,
+                resultSet,
+                new PipelineRowWriter(session, resultSet, firstRow),
+                exportSite,
+                processor instanceof IParallelDataExporter parallelExporter ? parallelExporter : null,
+                settings.getFormatterThreads()
+            );
+        } catch (DBException e) {
+            throw new DBCException("Can't initialize pipelined export", e);
+        }
     }
 
     @Override
     public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
         try {
-            // Check for file split
-            if (settings.isSplitOutFiles() && !parameters.isBinary && !firstRow) {
-                writer.flush();
-                if (bytesWritten >= settings.getMaxOutFileSize()) {
-                    // First add footer for the previous file
-                    exportFooterInFile(session.getProgressMonitor());
-                    // Make new file with the header
-                    createNewOutFile(session.getProgressMonitor());
-                    exportHeaderInFile(session);
-                }
+            if (pipeline == null) {
+                checkOutFileSplit(session, firstRow);
             }
 
             // Get values
@@ -239,8 +262,14 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
                 targetRow[i] = value;
             }
             // Export row
-            processor.exportRow(session, resultSet, targetRow);
+            if (pipeline != null) {
+                pipeline.addRow(targetRow);
+            } else {
+                processor.exportRow(session, resultSet, targetRow);
+            }
             firstRow = false;
+        } catch (DBCException e) {
+            throw e;
         } catch (IOException e) {
             throw new DBCException("IO error", e);
         } catch (Throwable e) {
@@ -248,6 +277,19 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
     }
 
+    private void checkOutFileSplit(@NotNull DBCSession session, boolean firstRow) throws IOException, DBCException {
+        if (settings.isSplitOutFiles() && !parameters.isBinary && !firstRow) {
+            // Text which is not encoded yet is counted as one byte per char
+            if (bytesWritten + writer.getBufferedLength() >= settings.getMaxOutFileSize()) {
+                // First add footer for the previous file
+                exportFooterInFile(session.getProgressMonitor());
+                // Make new file with the header
+                createNewOutFile(session.getProgressMonitor());
+                exportHeaderInFile(session);
+            }
+        }
+    }
+
     private void exportHeaderInFile(@NotNull DBCSession session) throws DBCException {
         try {
             processor.exportHeader(session);
@@ -270,10 +312,22 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     @Override
     public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        if (pipeline != null) {
+            try {
+                pipeline.finish();
+            } finally {
+                pipeline = null;
+            }
+        }
     }
 
     @Override
     public void close() {
+        if (pipeline != null) {
+            // Fetch failed
+            pipeline.abort();
+            pipeline = null;
+        }
         columnBindings = null;
     }
     
@@ -376,13 +430,17 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
 
             if (outputClipboard) {
-                this.outputBuffer = new StringWriter(2048);
-                this.writer = new PrintWriter(this.outputBuffer, true);
+                this.outputBuffer = new StreamExportWriter();
+                this.writer = this.outputBuffer;
             } else {
                 openOutputStreams(session.getProgressMonitor());
             }
         } catch (IOException e) {
-            closeExporter();
+            try {
+                closeExporter();
+            } catch (IOException e1) {
+                e.addSuppressed(e1);
+            }
             throw new DBCException("Data transfer IO error", e);
         }
 
@@ -394,7 +452,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
     }
 
-    private void closeExporter() {
+    private void closeExporter() throws IOException {
         if (exportSite != null) {
             try {
                 exportSite.flush();
@@ -510,10 +568,24 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         this.outputStream = this.statStream = new StatOutputStream(outputStream);
 
         if (settings.isCompressResults()) {
-            log.debug("\tUse ZIP compression");
-            this.zipStream = new ZipOutputStream(this.outputStream);
-            this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
-            this.outputStream = zipStream;
+            switch (settings.getCompressionFormat()) {
+                case GZIP -> {
+                    log.debug("\tUse parallel GZip compression");
+                    this.compressorStream = new ParallelCompressorOutputStream(this.outputStream, new BgzfBlockCompressor());
+                    this.outputStream = compressorStream;
+                }
+                case ZSTD -> {
+                    log.debug("\tUse parallel Zstandard compression");
+                    this.compressorStream = new ParallelCompressorOutputStream(this.outputStream, new ZstdBlockCompressor());
+                    this.outputStream = compressorStream;
+                }
+                default -> {
+                    log.debug("\tUse ZIP compression");
+                    this.zipStream = new ZipOutputStream(this.outputStream);
+                    this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
+                    this.outputStream = zipStream;
+                }
+            }
         }
 
         // If we need to split files - use stream wrapper to calculate file size
@@ -534,14 +606,29 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
 
         if (!parameters.isBinary) {
-            this.writer = new PrintWriter(new OutputStreamWriter(this.outputStream, settings.getOutputEncoding()), true);
+            final Charset charset;
+            try {
+                charset = Charset.forName(settings.getOutputEncoding());
+            } catch (IllegalArgumentException e) {
+                throw new UnsupportedEncodingException(settings.getOutputEncoding());
+            }
+            this.writer = new StreamExportWriter(this.outputStream, charset);
         }
     }
 
-    private void closeOutputStreams() {
+    /**
+     * Closes output streams. If the remaining data can't be written then output file is incomplete:
+     * it is deleted and the error is rethrown.
+     */
+    private void closeOutputStreams() throws IOException {
         log.debug("\tClose output stream");
+        IOException error = null;
         if (this.writer != null) {
-            this.writer.flush();
+            try {
+                this.writer.finish();
+            } catch (IOException e) {
+                error = e;
+            }
         }
 
         // Finish zip stream
@@ -559,6 +646,20 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             zipStream = null;
         }
 
+        // Compress remaining blocks and write them
+        if (compressorStream != null) {
+            try {
+                compressorStream.finish();
+            } catch (IOException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+            compressorStream = null;
+        }
+
         if (outputStream != null) {
             try {
                 outputStream.flush();
@@ -568,6 +669,18 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             ContentUtils.close(outputStream);
             outputStream = null;
         }
+
+        if (error != null) {
+            if (outputFile != null) {
+                try {
+                    Files.deleteIfExists(outputFile);
+                } catch (IOException e) {
+                    log.debug("Can't delete incomplete output file " + outputFile, e);
+                }
+                outputFiles.remove(outputFile);
+            }
+            throw error;
+        }
     }
 
     private void createNewOutFile(DBRProgressMonitor monitor) throws IOException {
@@ -619,22 +732,31 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     }
 
     @Override
-    public void finishTransfer(DBRProgressMonitor monitor, boolean last) {
+    public void finishTransfer(DBRProgressMonitor monitor, boolean last) throws DBException {
         finishTransfer(monitor, null, last);
     }
 
     @Override
-    public void finishTransfer(@NotNull DBRProgressMonitor monitor, @Nullable Throwable error, @Nullable DBTTask task, boolean last) {
+    public void finishTransfer(
+        @NotNull DBRProgressMonitor monitor,
+        @Nullable Throwable error,
+        @Nullable DBTTask task,
+        boolean last
+    ) throws DBException {
         if (!last && error == null) {
             exportFooterInFile(monitor);
 
-            closeExporter();
+            try {
+                closeExporter();
+            } catch (IOException e) {
+                throw new DBException("Error writing output file, incomplete file was deleted", e);
+            }
             return;
         }
 
         if (!parameters.isBinary && settings.isOutputClipboard() && error == null) {
             if (outputBuffer != null) {
-                String strContents = outputBuffer.toString();
+                String strContents = outputBuffer.getText();
                 DBWorkbench.getPlatformUI().copyTextToClipboard(strContents, parameters.isHTML);
                 outputBuffer = null;
             }
@@ -736,6 +858,9 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         // if (parameters.orderNumber > 0 && !settings.isUseSingleFile()) {
         //    fileName += "_" + String.valueOf(parameters.orderNumber + 1);
         //}
+        if (parameters.totalPartitions > 1) {
+            fileName += "_part" + (parameters.partitionNumber + 1);
+        }
         if (CommonUtils.isNotEmpty(suffix)) {
             fileName += suffix;
         }
@@ -797,7 +922,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
         String fileName = getOutputFileName(suffix);
         if (settings.isCompressResults()) {
-            fileName += ".zip";
+            fileName += "." + settings.getCompressionFormat().extension;
         }
         return dir.resolve(fileName);
     }
@@ -1032,6 +1157,11 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             return writer;
         }
 
+        @Override
+        public StreamExportWriter getExportWriter() {
+            return writer;
+        }
+
         @Override
         public void flush() throws IOException {
             if (writer != null) {
@@ -1106,6 +1236,34 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
     }
 
+    private class PipelineRowWriter implements StreamTransferPipeline.RowWriter {
+        private final DBCSession session;
+        private final DBCResultSet resultSet;
+        private boolean firstRow;
+
+        PipelineRowWriter(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, boolean firstRow) {
+            this.session = session;
+            this.resultSet = resultSet;
+            this.firstRow = firstRow;
+        }
+
+        @Override
+        public void startRow() throws Exception {
+            checkOutFileSplit(session, firstRow);
+            firstRow = false;
+        }
+
+        @Override
+        public void exportRow(@NotNull Object[] row) throws Exception {
+            processor.exportRow(session, resultSet, row);
+        }
+
+        @Override
+        public void writeRow(@NotNull char[] text, int offset, int length) {
+            writer.writeText(text, offset, length);
+        }
+    }
+
     private class OutputStreamStatProxy extends OutputStream {
         private final OutputStream out;
         OutputStreamStatProxy(OutputStream outputStream) {
@@ -0,0 +1,398 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPNamedObject;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Pipelined rows export.
+ * <p>
+ * Rows are fetched by the caller thread and passed in batches to the formatter threads and then to the single writer thread.
+ * Stages are connected with bounded queues, so fetch waits if formatting or writing can't keep up.
+ * Batches are written in the order they were fetched.
+ * <p>
+ * If exporter can't format rows in parallel (see {@link IParallelDataExporter}) then rows are formatted
+ * by the main exporter in the writer thread.
+ */
+final class StreamTransferPipeline {
+
+    private static final Log log = Log.getLog(StreamTransferPipeline.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int QUEUE_BATCHES_PER_THREAD = 4;
+    private static final long QUEUE_POLL_TIMEOUT = 100;
+    private static final long WRITER_STOP_TIMEOUT = 10000;
+
+    // Marks the end of data in the write queue
+    private static final Future<Batch> END_OF_DATA = CompletableFuture.completedFuture(null);
+
+    /**
+     * Writer stage. All methods are invoked in the writer thread.
+     */
+    interface RowWriter {
+
+        /**
+         * Called before each row
+         */
+        void startRow() throws Exception;
+
+        /**
+         * Exports row with the main exporter
+         */
+        void exportRow(@NotNull Object[] row) throws Exception;
+
+        /**
+         * Writes row formatted by a formatter thread
+         */
+        void writeRow(@NotNull char[] text, int offset, int length) throws Exception;
+    }
+
+    private static class Batch {
+        final Object[][] rows = new Object[BATCH_SIZE][];
+        int rowCount;
+        // Formatted rows text and end offset of each row
+        char[] text;
+        int[] rowEnds;
+    }
+
+    @NotNull
+    private final DBCSession session;
+    @NotNull
+    private final DBCResultSet resultSet;
+    @NotNull
+    private final RowWriter rowWriter;
+    @Nullable
+    private final ExecutorService formatterPool;
+    @Nullable
+    private final BlockingQueue<RowFormatter> formatters;
+    @NotNull
+    private final BlockingQueue<Future<Batch>> writeQueue;
+    @NotNull
+    private final Thread writerThread;
+
+    private volatile Throwable error;
+    private volatile boolean aborted;
+    private Batch currentBatch;
+
+    StreamTransferPipeline(
+        @NotNull String name,
+        @NotNull DBCSession session,
+        @NotNull DBCResultSet resultSet,
+        @NotNull RowWriter rowWriter,
+        @NotNull IStreamDataExporterSite site,
+        @Nullable IParallelDataExporter exporter,
+        int formatterThreads
+    ) throws DBException {
+        this.session = session;
+        this.resultSet = resultSet;
+        this.rowWriter = rowWriter;
+        if (exporter != null) {
+            this.formatters = new ArrayBlockingQueue<>(formatterThreads);
+            for (int i = 0; i < formatterThreads; i++) {
+                formatters.add(new RowFormatter(exporter.createRowFormatter(), site));
+            }
+            this.formatterPool = Executors.newFixedThreadPool(formatterThreads, runnable -> {
+                Thread thread = new Thread(runnable, name + " formatter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.formatters = null;
+            this.formatterPool = null;
+        }
+        this.writeQueue = new ArrayBlockingQueue<>(formatterThreads * QUEUE_BATCHES_PER_THREAD);
+        this.writerThread = new Thread(this::writeBatches, name + " writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Checks whether rows of these attributes can be exported in pipeline.
+     * LOB contents are read from the result set while the row is exported, so such rows are exported sequentially.
+     */
+    static boolean isSupported(@NotNull DBDAttributeBinding[] attributes) {
+        for (DBDAttributeBinding attribute : attributes) {
+            if (attribute.getDataKind() == DBPDataKind.CONTENT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds fetched row. Row values must not depend on the result set state.
+     */
+    void addRow(@NotNull Object[] row) throws DBCException {
+        checkError();
+        if (currentBatch == null) {
+            currentBatch = new Batch();
+        }
+        currentBatch.rows[currentBatch.rowCount++] = row;
+        if (currentBatch.rowCount == BATCH_SIZE) {
+            submitBatch();
+        }
+    }
+
+    /**
+     * Writes all remaining rows and stops pipeline threads
+     */
+    void finish() throws DBCException {
+        try {
+            checkError();
+            if (currentBatch != null) {
+                submitBatch();
+            }
+            enqueue(END_OF_DATA);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DBCException("Export interrupted", e);
+        } finally {
+            abort();
+        }
+        checkError();
+    }
+
+    /**
+     * Stops pipeline threads. Rows which were not written yet are discarded.
+     */
+    void abort() {
+        aborted = true;
+        if (formatterPool != null) {
+            formatterPool.shutdownNow();
+        }
+        if (writerThread.isAlive()) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(WRITER_STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeQueue.clear();
+    }
+
+    private void submitBatch() throws DBCException {
+        final Batch batch = currentBatch;
+        currentBatch = null;
+        if (formatterPool != null) {
+            enqueue(formatterPool.submit(() -> formatBatch(batch)));
+        } else {
+            enqueue(CompletableFuture.completedFuture(batch));
+        }
+    }
+
+    private void enqueue(@NotNull Future<Batch> batch) throws DBCException {
+        try {
+            while (!writeQueue.offer(batch, QUEUE_POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                checkError();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DBCException("Export interrupted", e);
+        }
+    }
+
+    private void checkError() throws DBCException {
+        Throwable e = error;
+        if (e instanceof DBCException dbce) {
+            throw dbce;
+        } else if (e instanceof IOException) {
+            throw new DBCException("IO error", e);
+        } else if (e != null) {
+            throw new DBCException("Error while exporting table row", e);
+        }
+    }
+
+    @NotNull
+    private Batch formatBatch(@NotNull Batch batch) throws Exception {
+        assert formatters != null;
+        RowFormatter formatter = formatters.take();
+        try {
+            formatter.format(batch);
+        } finally {
+            formatters.add(formatter);
+        }
+        return batch;
+    }
+
+    private void writeBatches() {
+        while (!aborted) {
+            Future<Batch> future;
+            try {
+                future = writeQueue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (future == END_OF_DATA) {
+                return;
+            }
+            if (error != null) {
+                // Skip the rest of data, fetch thread will stop on the next row
+                future.cancel(false);
+                continue;
+            }
+            try {
+                writeBatch(future.get());
+            } catch (InterruptedException e) {
+                return;
+            } catch (ExecutionException e) {
+                setError(e.getCause());
+            } catch (Throwable e) {
+                setError(e);
+            }
+        }
+    }
+
+    private void writeBatch(@NotNull Batch batch) throws Exception {
+        for (int i = 0; i < batch.rowCount && !aborted; i++) {
+            rowWriter.startRow();
+            if (batch.text == null) {
+                rowWriter.exportRow(batch.rows[i]);
+            } else {
+                int offset = i == 0 ? 0 : batch.rowEnds[i - 1];
+                rowWriter.writeRow(batch.text, offset, batch.rowEnds[i] - offset);
+            }
+        }
+    }
+
+    private void setError(@NotNull Throwable e) {
+        if (error == null) {
+            log.debug("Pipelined export failed", e);
+            error = e;
+        }
+    }
+
+    /**
+     * Exporter of a formatter thread and its output buffer
+     */
+    private class RowFormatter {
+        private final IStreamDataExporter exporter;
+        private final StreamExportWriter writer = new StreamExportWriter();
+
+        RowFormatter(@NotNull IStreamDataExporter exporter, @NotNull IStreamDataExporterSite site) throws DBException {
+            this.exporter = exporter;
+            this.exporter.init(new FormatterSite(site, writer));
+        }
+
+        void format(@NotNull Batch batch) throws DBException, IOException {
+            writer.reset();
+            int[] rowEnds = new int[batch.rowCount];
+            for (int i = 0; i < batch.rowCount; i++) {
+                exporter.exportRow(session, resultSet, batch.rows[i]);
+                rowEnds[i] = writer.getBufferedLength();
+            }
+            char[] text = new char[writer.getBufferedLength()];
+            writer.getText(0, text.length, text, 0);
+            batch.text = text;
+            batch.rowEnds = rowEnds;
+        }
+    }
+
+    /**
+     * Site of a formatter thread exporter. Output goes to the memory buffer.
+     */
+    private static class FormatterSite implements IStreamDataExporterSite {
+        private final IStreamDataExporterSite site;
+        private final StreamExportWriter writer;
+
+        FormatterSite(@NotNull IStreamDataExporterSite site, @NotNull StreamExportWriter writer) {
+            this.site = site;
+            this.writer = writer;
+        }
+
+        @Override
+        public DBPNamedObject getSource() {
+            return site.getSource();
+        }
+
+        @Override
+        public DBDDisplayFormat getExportFormat() {
+            return site.getExportFormat();
+        }
+
+        @Override
+        public Map<String, Object> getProperties() {
+            return site.getProperties();
+        }
+
+        @Override
+        public DBDAttributeBinding[] getAttributes() {
+            return site.getAttributes();
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            throw new IllegalStateException("Output stream is not available for row formatters");
+        }
+
+        @Nullable
+        @Override
+        public Path getOutputFile() {
+            return site.getOutputFile();
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            return writer;
+        }
+
+        @Override
+        public StreamExportWriter getExportWriter() {
+            return writer;
+        }
+
+        @Override
+        public void flush() {
+            writer.flush();
+        }
+
+        @Override
+        public void writeBinaryData(@NotNull DBDContentStorage cs) {
+            throw new IllegalStateException("Binary data can't be formatted in parallel");
+        }
+
+        @NotNull
+        @Override
+        public String getOutputEncoding() {
+            return site.getOutputEncoding();
+        }
+
+        @Override
+        public boolean isParallelFormatting() {
+            return true;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package org.jkiss.dbeaver.tools.transfer.stream;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.data.DBDValueMeta;
@@ -88,37 +89,9 @@ public class StreamTransferResultSet implements DBCResultSet {
         StreamDataImporterColumnInfo attr = this.attributeMappings.get(index);
 
         Object value = streamRow[index];
-        if (value != null && dateTimeFormat != null && attr.getDataKind() == DBPDataKind.DATETIME && !(value instanceof Date)) {
-            // Convert string to timestamp
+        if (isDateTimeConversionRequired(attr, value)) {
             try {
-                String strValue = CommonUtils.toString(value);
-                if (CommonUtils.isEmptyTrimmed(strValue)) {
-                    return null;
-                }
-                TemporalAccessor ta = dateTimeFormat.parse(strValue);
-                try {
-                    ZonedDateTime zdt = ZonedDateTime.from(ta);
-                    value = java.util.Date.from(zdt.toInstant());
-                } catch (Exception e) {
-                    LocalDateTime localDT;
-                    if (ta.isSupported(ChronoField.NANO_OF_SECOND)) {
-                        localDT = LocalDateTime.from(ta);
-                    } else {
-                        localDT = LocalDate.from(ta).atStartOfDay();
-                        log.debug("No time present in datetime string, defaulting to the start of the day");
-                    }
-                    if (dateTimeZoneId != null) {
-                        // Shift LocalDateTime to specified zone
-                        // https://stackoverflow.com/questions/42280454/changing-localdatetime-based-on-time-difference-in-current-time-zone-vs-eastern
-                        localDT = localDT
-                            .atZone(ZoneId.systemDefault())
-                            .withZoneSameInstant(dateTimeZoneId)
-                            .toLocalDateTime();
-                    }
-                    // We use java.sql.Timestamp.valueOf because classic date/time conversion turns "pre-historic" Gregorian
-                    // dates into incorrect SQL timestamps (in Julian calendar). E.g. 0001-01-01->0001-01-03
-                    value = Timestamp.valueOf(localDT);
-                }
+                value = parseDateTime(CommonUtils.toString(value));
             } catch (Exception e) {
                 // Can't parse. Ignore format then
                 log.debug("Error parsing datetime string: " + e.getMessage());
@@ -128,6 +101,51 @@ public class StreamTransferResultSet implements DBCResultSet {
         return value;
     }
 
+    /**
+     * Checks whether the stream value must be converted to timestamp with the configured date/time format
+     */
+    public boolean isDateTimeConversionRequired(@NotNull StreamDataImporterColumnInfo attr, @Nullable Object value) {
+        return value != null && dateTimeFormat != null && attr.getDataKind() == DBPDataKind.DATETIME && !(value instanceof Date);
+    }
+
+    /**
+     * Converts string to timestamp with the configured date/time format.
+     * May be called from any thread, conversion doesn't change the result set state.
+     *
+     * @return timestamp or null for empty strings
+     * @throws RuntimeException if the string doesn't match the format
+     */
+    @Nullable
+    public Date parseDateTime(@NotNull String strValue) {
+        if (CommonUtils.isEmptyTrimmed(strValue)) {
+            return null;
+        }
+        TemporalAccessor ta = dateTimeFormat.parse(strValue);
+        try {
+            ZonedDateTime zdt = ZonedDateTime.from(ta);
+            return java.util.Date.from(zdt.toInstant());
+        } catch (Exception e) {
+            LocalDateTime localDT;
+            if (ta.isSupported(ChronoField.NANO_OF_SECOND)) {
+                localDT = LocalDateTime.from(ta);
+            } else {
+                localDT = LocalDate.from(ta).atStartOfDay();
+                log.debug("No time present in datetime string, defaulting to the start of the day");
+            }
+            if (dateTimeZoneId != null) {
+                // Shift LocalDateTime to specified zone
+                // https://stackoverflow.com/questions/42280454/changing-localdatetime-based-on-time-difference-in-current-time-zone-vs-eastern
+                localDT = localDT
+                    .atZone(ZoneId.systemDefault())
+                    .withZoneSameInstant(dateTimeZoneId)
+                    .toLocalDateTime();
+            }
+            // We use java.sql.Timestamp.valueOf because classic date/time conversion turns "pre-historic" Gregorian
+            // dates into incorrect SQL timestamps (in Julian calendar). E.g. 0001-01-01->0001-01-03
+            return Timestamp.valueOf(localDT);
+        }
+    }
+
     @Override
     public Object getAttributeValue(String name) throws DBCException {
         return null;
@@ -0,0 +1,563 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ArrowFileWriter.*;
+
+/**
+ * Apache Arrow IPC reader. Reads both file (Feather V2) and stream formats.
+ *
+ * Messages are read sequentially, so dictionary batches (including deltas) are applied in the order they were written.
+ * Nested types and compressed bodies are not supported.
+ */
+public class ArrowFileReader implements IColumnarFileReader {
+
+    private static final int FILE_TAIL_LENGTH = 4 + 6;
+    private static final TimeUnit[] TIME_UNITS = {
+        TimeUnit.SECONDS, TimeUnit.MILLISECONDS, TimeUnit.MICROSECONDS, TimeUnit.NANOSECONDS
+    };
+
+    private static class FieldInfo {
+        String name;
+        int typeId;
+        ColumnType columnType;
+        int bitWidth;
+        boolean signed;
+        int precision;
+        int scale;
+        TimeUnit timeUnit;
+        boolean utc;
+        long dictionaryId = -1;
+        int indexBitWidth = 32;
+        boolean indexSigned = true;
+    }
+
+    private static class Message {
+        int headerType;
+        FlatBufferTable header;
+        byte[] body;
+    }
+
+    @NotNull
+    private final SeekableByteChannel channel;
+    private final long endPosition;
+    private long position;
+    private boolean finished;
+    private final List<FieldInfo> fields = new ArrayList<>();
+    private final List<ColumnDescriptor> columns = new ArrayList<>();
+    private final Map<Long, FieldInfo> dictionaryFields = new HashMap<>();
+    private final Map<Long, List<Object>> dictionaries = new HashMap<>();
+
+    public ArrowFileReader(@NotNull SeekableByteChannel channel) throws IOException {
+        this.channel = channel;
+        long fileSize = channel.size();
+        if (fileSize >= MAGIC.length * 2 + 4 && Arrays.equals(MAGIC, read(0, MAGIC.length))) {
+            // File format: stream is followed by footer
+            byte[] tail = read(fileSize - FILE_TAIL_LENGTH, FILE_TAIL_LENGTH);
+            if (!Arrays.equals(MAGIC, Arrays.copyOfRange(tail, 4, FILE_TAIL_LENGTH))) {
+                throw new IOException("Arrow file is truncated");
+            }
+            int footerLength = getInt(tail, 0);
+            if (footerLength <= 0 || footerLength > fileSize - FILE_TAIL_LENGTH - 8) {
+                throw new IOException("Bad Arrow footer length: " + footerLength);
+            }
+            this.endPosition = fileSize - FILE_TAIL_LENGTH - footerLength;
+            this.position = 8;
+        } else {
+            this.endPosition = fileSize;
+            this.position = 0;
+        }
+        Message message = readMessage();
+        if (message == null || message.headerType != HEADER_SCHEMA) {
+            throw new IOException("Arrow schema is missing");
+        }
+        readSchema(message.header);
+    }
+
+    @NotNull
+    @Override
+    public List<ColumnDescriptor> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    @Nullable
+    @Override
+    public Object[][] readBatch() throws IOException {
+        for (Message message = readMessage(); message != null; message = readMessage()) {
+            switch (message.headerType) {
+                case HEADER_DICTIONARY_BATCH:
+                    readDictionaryBatch(message);
+                    break;
+                case HEADER_RECORD_BATCH: {
+                    Object[][] result = readRecordBatch(message);
+                    if (result.length > 0 && result[0].length > 0) {
+                        return result;
+                    }
+                    break;
+                }
+                default:
+                    throw new IOException("Unexpected Arrow message type " + message.headerType);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readSchema(@NotNull FlatBufferTable schema) throws IOException {
+        if (schema.getShort(0, 0) != 0) {
+            throw new IOException("Big endian Arrow files are not supported");
+        }
+        int fieldCount = schema.getVectorLength(1);
+        if (fieldCount == 0) {
+            throw new IOException("Arrow schema is empty");
+        }
+        for (int i = 0; i < fieldCount; i++) {
+            FieldInfo field = readField(schema.getVectorTable(1, i), i);
+            fields.add(field);
+            columns.add(new ColumnDescriptor(field.name, field.columnType, field.precision, field.scale));
+            if (field.dictionaryId >= 0) {
+                dictionaryFields.put(field.dictionaryId, field);
+            }
+        }
+    }
+
+    @NotNull
+    private static FieldInfo readField(@NotNull FlatBufferTable table, int index) throws IOException {
+        FieldInfo field = new FieldInfo();
+        field.name = table.getString(0);
+        if (field.name == null || field.name.isEmpty()) {
+            field.name = "column" + (index + 1);
+        }
+        if (table.getVectorLength(5) > 0) {
+            throw new IOException("Nested Arrow column '" + field.name + "' is not supported");
+        }
+        field.typeId = table.getByte(2, 0);
+        FlatBufferTable type = table.getTable(3);
+        if (type == null && field.typeId != TYPE_NULL) {
+            throw new IOException("Type of Arrow column '" + field.name + "' is missing");
+        }
+        switch (field.typeId) {
+            case TYPE_NULL:
+                field.columnType = ColumnType.STRING;
+                break;
+            case TYPE_INT:
+                field.columnType = ColumnType.INTEGER;
+                field.bitWidth = type.getInt(0, 0);
+                field.signed = type.getBoolean(1, false);
+                checkIntegerWidth(field, field.bitWidth);
+                break;
+            case TYPE_FLOATING_POINT:
+                field.columnType = ColumnType.DOUBLE;
+                // Half, single or double precision
+                field.bitWidth = 16 << type.getShort(0, 0);
+                if (field.bitWidth > 64) {
+                    throw new IOException("Unsupported floating point precision of Arrow column '" + field.name + "'");
+                }
+                break;
+            case TYPE_BINARY:
+            case TYPE_LARGE_BINARY:
+                field.columnType = ColumnType.BINARY;
+                break;
+            case TYPE_FIXED_SIZE_BINARY:
+                field.columnType = ColumnType.BINARY;
+                field.bitWidth = type.getInt(0, 0) * 8;
+                break;
+            case TYPE_UTF8:
+            case TYPE_LARGE_UTF8:
+                field.columnType = ColumnType.STRING;
+                break;
+            case TYPE_BOOL:
+                field.columnType = ColumnType.BOOLEAN;
+                break;
+            case TYPE_DECIMAL:
+                field.columnType = ColumnType.DECIMAL;
+                field.precision = type.getInt(0, 0);
+                field.scale = type.getInt(1, 0);
+                field.bitWidth = type.getInt(2, 128);
+                if (field.bitWidth != 128 && field.bitWidth != 256) {
+                    throw new IOException("Unsupported decimal width " + field.bitWidth + " of Arrow column '" + field.name + "'");
+                }
+                break;
+            case TYPE_DATE:
+                field.columnType = ColumnType.DATE;
+                // Days (32 bit) or milliseconds (64 bit)
+                field.bitWidth = type.getShort(0, 1) == DATE_UNIT_DAY ? 32 : 64;
+                break;
+            case TYPE_TIME:
+                field.columnType = ColumnType.TIME;
+                field.timeUnit = getTimeUnit(field, type.getShort(0, 1));
+                field.bitWidth = type.getInt(1, 32);
+                break;
+            case TYPE_TIMESTAMP: {
+                field.columnType = ColumnType.TIMESTAMP;
+                field.timeUnit = getTimeUnit(field, type.getShort(0, 0));
+                String timeZone = type.getString(1);
+                field.utc = timeZone != null && !timeZone.isEmpty();
+                field.bitWidth = 64;
+                break;
+            }
+            default:
+                throw new IOException("Unsupported Arrow type " + field.typeId + " of column '" + field.name + "'");
+        }
+        FlatBufferTable dictionary = table.getTable(4);
+        if (dictionary != null) {
+            field.dictionaryId = dictionary.getLong(0, 0);
+            FlatBufferTable indexType = dictionary.getTable(1);
+            if (indexType != null) {
+                field.indexBitWidth = indexType.getInt(0, 0);
+                field.indexSigned = indexType.getBoolean(1, false);
+                checkIntegerWidth(field, field.indexBitWidth);
+            }
+        }
+        return field;
+    }
+
+    private static void checkIntegerWidth(@NotNull FieldInfo field, int bitWidth) throws IOException {
+        if (bitWidth != 8 && bitWidth != 16 && bitWidth != 32 && bitWidth != 64) {
+            throw new IOException("Unsupported integer width " + bitWidth + " of Arrow column '" + field.name + "'");
+        }
+    }
+
+    @NotNull
+    private static TimeUnit getTimeUnit(@NotNull FieldInfo field, int unit) throws IOException {
+        if (unit < 0 || unit >= TIME_UNITS.length) {
+            throw new IOException("Unsupported time unit " + unit + " of Arrow column '" + field.name + "'");
+        }
+        return TIME_UNITS[unit];
+    }
+
+    private void readDictionaryBatch(@NotNull Message message) throws IOException {
+        long id = message.header.getLong(0, 0);
+        FieldInfo field = dictionaryFields.get(id);
+        if (field == null) {
+            throw new IOException("Unknown Arrow dictionary " + id);
+        }
+        FlatBufferTable data = message.header.getTable(1);
+        if (data == null) {
+            throw new IOException("Arrow dictionary batch " + id + " has no data");
+        }
+        BatchReader reader = new BatchReader(data, message.body);
+        Object[] values = reader.readValues(field, false);
+        List<Object> dictionary = dictionaries.get(id);
+        if (dictionary == null || !message.header.getBoolean(2, false)) {
+            // Initial dictionary or dictionary replacement
+            dictionary = new ArrayList<>(values.length);
+            dictionaries.put(id, dictionary);
+        }
+        Collections.addAll(dictionary, values);
+    }
+
+    @NotNull
+    private Object[][] readRecordBatch(@NotNull Message message) throws IOException {
+        BatchReader reader = new BatchReader(message.header, message.body);
+        Object[][] result = new Object[fields.size()][];
+        for (int i = 0; i < fields.size(); i++) {
+            result[i] = reader.readValues(fields.get(i), true);
+        }
+        return result;
+    }
+
+    /**
+     * Reads field nodes and buffers of a record batch in schema order
+     */
+    private class BatchReader {
+        @NotNull
+        private final FlatBufferTable batch;
+        @NotNull
+        private final ByteBuffer body;
+        private final long length;
+        private int nodeIndex;
+        private int bufferIndex;
+
+        BatchReader(@NotNull FlatBufferTable batch, @NotNull byte[] body) throws IOException {
+            if (batch.hasField(3)) {
+                throw new IOException("Compressed Arrow files are not supported");
+            }
+            this.batch = batch;
+            this.body = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+            this.length = batch.getLong(0, 0);
+            if (length < 0 || length > Integer.MAX_VALUE) {
+                throw new IOException("Bad Arrow batch length: " + length);
+            }
+        }
+
+        @NotNull
+        Object[] readValues(@NotNull FieldInfo field, boolean decodeDictionary) throws IOException {
+            if (nodeIndex >= batch.getVectorLength(1)) {
+                throw new IOException("Arrow batch has no data of column '" + field.name + "'");
+            }
+            int count = (int) batch.getVectorStructLong(1, nodeIndex, 16, 0);
+            long nullCount = batch.getVectorStructLong(1, nodeIndex, 16, 8);
+            nodeIndex++;
+            if (count < 0 || count > length) {
+                throw new IOException("Bad value count of Arrow column '" + field.name + "'");
+            }
+            Object[] values = new Object[count];
+            if (field.typeId == TYPE_NULL) {
+                // Null arrays have no buffers
+                return values;
+            }
+            int validityStart = nextBuffer(field, 0);
+            boolean hasNulls = nullCount != 0 && getBufferLength() > 0;
+            if (decodeDictionary && field.dictionaryId >= 0) {
+                List<Object> dictionary = dictionaries.get(field.dictionaryId);
+                if (dictionary == null) {
+                    throw new IOException("Dictionary of Arrow column '" + field.name + "' is missing");
+                }
+                int start = nextBuffer(field, (long) count * field.indexBitWidth / 8);
+                for (int i = 0; i < count; i++) {
+                    if (hasNulls && !getBit(validityStart, i)) {
+                        continue;
+                    }
+                    long id = getInteger(start, i, field.indexBitWidth, field.indexSigned);
+                    if (id < 0 || id >= dictionary.size()) {
+                        throw new IOException("Bad dictionary id " + id + " in Arrow column '" + field.name + "'");
+                    }
+                    values[i] = dictionary.get((int) id);
+                }
+                return values;
+            }
+            switch (field.typeId) {
+                case TYPE_UTF8:
+                case TYPE_BINARY:
+                case TYPE_LARGE_UTF8:
+                case TYPE_LARGE_BINARY: {
+                    boolean large = field.typeId == TYPE_LARGE_UTF8 || field.typeId == TYPE_LARGE_BINARY;
+                    int offsetWidth = large ? 8 : 4;
+                    int offsets = nextBuffer(field, count == 0 ? 0 : (long) (count + 1) * offsetWidth);
+                    int data = nextBuffer(field, 0);
+                    int dataLength = getBufferLength();
+                    for (int i = 0; i < count; i++) {
+                        if (hasNulls && !getBit(validityStart, i)) {
+                            continue;
+                        }
+                        long begin = large ? body.getLong(offsets + i * 8) : body.getInt(offsets + i * 4);
+                        long end = large ? body.getLong(offsets + i * 8 + 8) : body.getInt(offsets + i * 4 + 4);
+                        if (begin < 0 || end < begin || end > dataLength) {
+                            throw new IOException("Bad value offset in Arrow column '" + field.name + "'");
+                        }
+                        if (field.columnType == ColumnType.STRING) {
+                            values[i] = new String(body.array(), data + (int) begin, (int) (end - begin), StandardCharsets.UTF_8);
+                        } else {
+                            values[i] = Arrays.copyOfRange(body.array(), data + (int) begin, data + (int) end);
+                        }
+                    }
+                    return values;
+                }
+                case TYPE_BOOL: {
+                    int data = nextBuffer(field, (count + 7) / 8);
+                    for (int i = 0; i < count; i++) {
+                        if (!hasNulls || getBit(validityStart, i)) {
+                            values[i] = getBit(data, i);
+                        }
+                    }
+                    return values;
+                }
+                default: {
+                    int byteWidth = field.bitWidth / 8;
+                    int data = nextBuffer(field, (long) count * byteWidth);
+                    for (int i = 0; i < count; i++) {
+                        if (!hasNulls || getBit(validityStart, i)) {
+                            values[i] = readFixedWidthValue(field, data + i * byteWidth);
+                        }
+                    }
+                    return values;
+                }
+            }
+        }
+
+        @NotNull
+        private Object readFixedWidthValue(@NotNull FieldInfo field, int offset) {
+            switch (field.typeId) {
+                case TYPE_INT: {
+                    long value = getInteger(offset, 0, field.bitWidth, field.signed);
+                    if (field.bitWidth == 64 && !field.signed && value < 0) {
+                        return new BigInteger(Long.toUnsignedString(value));
+                    }
+                    return field.bitWidth < 32 || (field.bitWidth == 32 && field.signed) ? (Object) (int) value : (Object) value;
+                }
+                case TYPE_FLOATING_POINT:
+                    switch (field.bitWidth) {
+                        case 16:
+                            return (double) toFloat(body.getShort(offset));
+                        case 32:
+                            return (double) body.getFloat(offset);
+                        default:
+                            return body.getDouble(offset);
+                    }
+                case TYPE_DECIMAL: {
+                    int byteWidth = field.bitWidth / 8;
+                    byte[] unscaled = new byte[byteWidth];
+                    for (int i = 0; i < byteWidth; i++) {
+                        unscaled[i] = body.get(offset + byteWidth - 1 - i);
+                    }
+                    return ColumnarValues.fromUnscaledBytes(unscaled, 0, byteWidth, field.scale);
+                }
+                case TYPE_DATE:
+                    if (field.bitWidth == 32) {
+                        return ColumnarValues.fromEpochDay(body.getInt(offset));
+                    }
+                    return ColumnarValues.fromEpochDay(Math.floorDiv(body.getLong(offset), 86_400_000L));
+                case TYPE_TIME:
+                    return ColumnarValues.fromTimeOfDay(
+                        field.bitWidth == 32 ? body.getInt(offset) : body.getLong(offset), field.timeUnit);
+                case TYPE_TIMESTAMP:
+                    return ColumnarValues.fromEpoch(body.getLong(offset), field.timeUnit, field.utc);
+                default:
+                    // Fixed size binary
+                    byte[] value = new byte[field.bitWidth / 8];
+                    body.get(offset, value);
+                    return value;
+            }
+        }
+
+        private long getInteger(int start, int index, int bitWidth, boolean signed) {
+            switch (bitWidth) {
+                case 8: {
+                    byte value = body.get(start + index);
+                    return signed ? value : value & 0xFF;
+                }
+                case 16: {
+                    short value = body.getShort(start + index * 2);
+                    return signed ? value : value & 0xFFFF;
+                }
+                case 32: {
+                    int value = body.getInt(start + index * 4);
+                    return signed ? value : value & 0xFFFFFFFFL;
+                }
+                default:
+                    return body.getLong(start + index * 8);
+            }
+        }
+
+        private boolean getBit(int start, int index) {
+            return (body.get(start + (index >> 3)) & (1 << (index & 7))) != 0;
+        }
+
+        /**
+         * Returns start of the next buffer and checks its bounds
+         */
+        private int nextBuffer(@NotNull FieldInfo field, long minLength) throws IOException {
+            if (bufferIndex >= batch.getVectorLength(2)) {
+                throw new IOException("Arrow batch has no buffers of column '" + field.name + "'");
+            }
+            long offset = batch.getVectorStructLong(2, bufferIndex, 16, 0);
+            long bufferLength = batch.getVectorStructLong(2, bufferIndex, 16, 8);
+            bufferIndex++;
+            if (offset < 0 || bufferLength < minLength || offset + bufferLength > body.capacity()) {
+                throw new IOException("Bad buffer of Arrow column '" + field.name + "'");
+            }
+            return (int) offset;
+        }
+
+        private int getBufferLength() throws IOException {
+            return (int) batch.getVectorStructLong(2, bufferIndex - 1, 16, 8);
+        }
+    }
+
+    /**
+     * Converts IEEE 754 half precision value
+     */
+    private static float toFloat(short half) {
+        int exponent = (half >> 10) & 0x1F;
+        int mantissa = half & 0x3FF;
+        float sign = half < 0 ? -1 : 1;
+        if (exponent == 0) {
+            return sign * mantissa * 0x1p-24f;
+        }
+        if (exponent == 0x1F) {
+            return mantissa == 0 ? sign * Float.POSITIVE_INFINITY : Float.NaN;
+        }
+        return sign * (1 + mantissa / 1024f) * (float) Math.pow(2, exponent - 15);
+    }
+
+    /**
+     * Reads the next encapsulated message. Returns null at the end of stream.
+     */
+    @Nullable
+    private Message readMessage() throws IOException {
+        if (finished || position + 4 > endPosition) {
+            finished = true;
+            return null;
+        }
+        int metadataLength = getInt(read(position, 4), 0);
+        position += 4;
+        if (metadataLength == CONTINUATION) {
+            if (position + 4 > endPosition) {
+                throw new IOException("Unexpected end of Arrow stream");
+            }
+            metadataLength = getInt(read(position, 4), 0);
+            position += 4;
+        }
+        if (metadataLength == 0) {
+            finished = true;
+            return null;
+        }
+        if (metadataLength < 0 || position + metadataLength > endPosition) {
+            throw new IOException("Bad Arrow message length: " + metadataLength);
+        }
+        FlatBufferTable table = FlatBufferTable.getRoot(read(position, metadataLength));
+        position += metadataLength;
+
+        Message message = new Message();
+        message.headerType = table.getByte(1, 0);
+        message.header = table.getTable(2);
+        if (message.header == null) {
+            throw new IOException("Arrow message header is missing");
+        }
+        long bodyLength = table.getLong(3, 0);
+        if (bodyLength < 0 || bodyLength > Integer.MAX_VALUE - 8 || position + bodyLength > endPosition) {
+            throw new IOException("Bad Arrow message body length: " + bodyLength);
+        }
+        message.body = read(position, (int) bodyLength);
+        position += bodyLength;
+        return message;
+    }
+
+    @NotNull
+    private byte[] read(long offset, int length) throws IOException {
+        byte[] result = new byte[length];
+        ByteBuffer buffer = ByteBuffer.wrap(result);
+        channel.position(offset);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of Arrow file");
+            }
+        }
+        return result;
+    }
+
+    private static int getInt(@NotNull byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8 | (bytes[offset + 2] & 0xFF) << 16 | (bytes[offset + 3] & 0xFF) << 24;
+    }
+}
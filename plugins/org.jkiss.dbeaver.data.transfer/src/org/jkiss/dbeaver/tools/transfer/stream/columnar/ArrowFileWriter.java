@@ -0,0 +1,535 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Apache Arrow IPC file (Feather V2) writer.
+ *
+ * Each batch becomes a record batch. Metadata version is V5, body buffers are not compressed.
+ * String columns are dictionary encoded if the first batch has few distinct values. Dictionary is shared
+ * by all batches, new values are written in delta dictionary batches.
+ */
+public class ArrowFileWriter implements IColumnarFileWriter {
+
+    static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+    static final int CONTINUATION = 0xFFFFFFFF;
+
+    static final int METADATA_V5 = 4;
+
+    static final int HEADER_SCHEMA = 1;
+    static final int HEADER_DICTIONARY_BATCH = 2;
+    static final int HEADER_RECORD_BATCH = 3;
+
+    static final int TYPE_NULL = 1;
+    static final int TYPE_INT = 2;
+    static final int TYPE_FLOATING_POINT = 3;
+    static final int TYPE_BINARY = 4;
+    static final int TYPE_UTF8 = 5;
+    static final int TYPE_BOOL = 6;
+    static final int TYPE_DECIMAL = 7;
+    static final int TYPE_DATE = 8;
+    static final int TYPE_TIME = 9;
+    static final int TYPE_TIMESTAMP = 10;
+    static final int TYPE_FIXED_SIZE_BINARY = 15;
+    static final int TYPE_LARGE_BINARY = 19;
+    static final int TYPE_LARGE_UTF8 = 20;
+
+    static final int PRECISION_DOUBLE = 2;
+    static final int DATE_UNIT_DAY = 0;
+    static final int TIME_UNIT_MICROSECOND = 2;
+
+    private static final int DECIMAL_BIT_WIDTH = 128;
+    private static final int DECIMAL_BYTE_WIDTH = DECIMAL_BIT_WIDTH / 8;
+
+    private record Block(long offset, int metaDataLength, long bodyLength) {
+    }
+
+    @NotNull
+    private final OutputStream out;
+    @NotNull
+    private final List<ColumnDescriptor> columns;
+    private final boolean dictionaryEnabled;
+    private boolean started;
+    private long position;
+
+    // Dictionary of each column (null if column is not dictionary encoded)
+    private final List<Map<String, Integer>> dictionaries = new ArrayList<>();
+    private final List<Block> dictionaryBlocks = new ArrayList<>();
+    private final List<Block> recordBlocks = new ArrayList<>();
+
+    private final LittleEndianOutput body = new LittleEndianOutput(1024 * 1024);
+    private final LittleEndianOutput values = new LittleEndianOutput(1024 * 1024);
+    private final LittleEndianOutput prefix = new LittleEndianOutput(16);
+    private final List<long[]> nodes = new ArrayList<>();
+    private final List<long[]> buffers = new ArrayList<>();
+
+    public ArrowFileWriter(@NotNull OutputStream out, @NotNull List<ColumnDescriptor> columns, boolean dictionaryEnabled) {
+        this.out = out;
+        this.columns = columns;
+        this.dictionaryEnabled = dictionaryEnabled;
+    }
+
+    @Override
+    public void writeBatch(@NotNull ColumnBatch batch) throws IOException {
+        int rows = batch.getRowCount();
+        if (rows == 0) {
+            return;
+        }
+        if (!started) {
+            start(batch);
+        }
+        int[][] dictionaryIds = new int[columns.size()][];
+        for (int i = 0; i < columns.size(); i++) {
+            if (dictionaries.get(i) != null) {
+                dictionaryIds[i] = writeDictionary(i, batch.getVector(i), rows);
+            }
+        }
+        resetBody();
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnVector vector = batch.getVector(i);
+            nodes.add(new long[] {rows, vector.getNullCount()});
+            writeValidity(vector, rows);
+            if (dictionaryIds[i] != null) {
+                int start = body.size();
+                for (int row = 0; row < rows; row++) {
+                    body.writeInt(vector.isNull(row) ? 0 : dictionaryIds[i][row]);
+                }
+                endBuffer(start);
+            } else {
+                writeValues(vector, rows);
+            }
+        }
+        recordBlocks.add(writeBatchMessage(HEADER_RECORD_BATCH, rows, -1, false));
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (!started) {
+            start(null);
+        }
+        // End of stream marker
+        prefix.reset();
+        prefix.writeInt(CONTINUATION);
+        prefix.writeInt(0);
+        prefix.writeTo(out);
+
+        FlatBufferBuilder builder = new FlatBufferBuilder(1024);
+        int schema = buildSchema(builder);
+        int dictionaryVector = buildBlocks(builder, dictionaryBlocks);
+        int recordVector = buildBlocks(builder, recordBlocks);
+        builder.startTable(4);
+        builder.addShort(0, METADATA_V5);
+        builder.addOffset(1, schema);
+        builder.addOffset(2, dictionaryVector);
+        builder.addOffset(3, recordVector);
+        byte[] footer = builder.finish(builder.endTable());
+        out.write(footer);
+        prefix.reset();
+        prefix.writeInt(footer.length);
+        prefix.writeTo(out);
+        out.write(MAGIC);
+        position += 8 + footer.length + 4 + MAGIC.length;
+    }
+
+    private void start(@Nullable ColumnBatch firstBatch) throws IOException {
+        started = true;
+        for (int i = 0; i < columns.size(); i++) {
+            Map<String, Integer> dictionary = null;
+            if (dictionaryEnabled && firstBatch != null) {
+                ColumnVector vector = firstBatch.getVector(i);
+                if (vector.isDictionaryEncoded() && vector.getDictionary().size() <= firstBatch.getRowCount() / 2) {
+                    dictionary = new HashMap<>();
+                }
+            }
+            dictionaries.add(dictionary);
+        }
+        out.write(MAGIC);
+        // Padding to 8 bytes
+        out.write(new byte[2]);
+        position = MAGIC.length + 2;
+
+        FlatBufferBuilder builder = new FlatBufferBuilder(1024);
+        int schema = buildSchema(builder);
+        writeMessage(builder, HEADER_SCHEMA, schema, 0);
+    }
+
+    /**
+     * Writes new dictionary values of the column and returns dictionary ids of the batch values
+     */
+    @NotNull
+    private int[] writeDictionary(int columnIndex, @NotNull ColumnVector vector, int rows) throws IOException {
+        Map<String, Integer> dictionary = dictionaries.get(columnIndex);
+        // Initial dictionaries are written with the first batch, the next batches write deltas
+        boolean initial = recordBlocks.isEmpty();
+        List<String> newValues = new ArrayList<>();
+        int[] ids = new int[rows];
+        if (vector.isDictionaryEncoded()) {
+            // Map batch dictionary to the file dictionary, each distinct value is looked up once
+            List<String> batchDictionary = vector.getDictionary();
+            int[] mapping = new int[batchDictionary.size()];
+            for (int i = 0; i < mapping.length; i++) {
+                mapping[i] = getDictionaryId(dictionary, batchDictionary.get(i), newValues);
+            }
+            for (int row = 0; row < rows; row++) {
+                if (!vector.isNull(row)) {
+                    ids[row] = mapping[vector.getDictionaryId(row)];
+                }
+            }
+        } else {
+            for (int row = 0; row < rows; row++) {
+                if (!vector.isNull(row)) {
+                    ids[row] = getDictionaryId(dictionary, vector.getString(row), newValues);
+                }
+            }
+        }
+        if (initial || !newValues.isEmpty()) {
+            resetBody();
+            nodes.add(new long[] {newValues.size(), 0});
+            // No validity bitmap
+            buffers.add(new long[] {0, 0});
+            writeStrings(newValues, newValues.size());
+            dictionaryBlocks.add(writeBatchMessage(HEADER_DICTIONARY_BATCH, newValues.size(), columnIndex, !initial));
+        }
+        return ids;
+    }
+
+    private static int getDictionaryId(@NotNull Map<String, Integer> dictionary, @NotNull String value, @NotNull List<String> newValues) {
+        Integer id = dictionary.get(value);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.put(value, id);
+            newValues.add(value);
+        }
+        return id;
+    }
+
+    private void writeValidity(@NotNull ColumnVector vector, int rows) {
+        if (vector.getNullCount() == 0) {
+            // Validity bitmap may be omitted
+            buffers.add(new long[] {body.size(), 0});
+            return;
+        }
+        int start = body.size();
+        int bits = 0;
+        for (int row = 0; row < rows; row++) {
+            if (!vector.isNull(row)) {
+                bits |= 1 << (row & 7);
+            }
+            if ((row & 7) == 7) {
+                body.writeByte(bits);
+                bits = 0;
+            }
+        }
+        if ((rows & 7) != 0) {
+            body.writeByte(bits);
+        }
+        endBuffer(start);
+    }
+
+    private void writeValues(@NotNull ColumnVector vector, int rows) {
+        int start = body.size();
+        switch (vector.getColumn().getType()) {
+            case BOOLEAN: {
+                int bits = 0;
+                for (int row = 0; row < rows; row++) {
+                    if (!vector.isNull(row) && vector.getLong(row) != 0) {
+                        bits |= 1 << (row & 7);
+                    }
+                    if ((row & 7) == 7) {
+                        body.writeByte(bits);
+                        bits = 0;
+                    }
+                }
+                if ((rows & 7) != 0) {
+                    body.writeByte(bits);
+                }
+                break;
+            }
+            case INTEGER:
+            case TIME:
+            case TIMESTAMP:
+                for (int row = 0; row < rows; row++) {
+                    body.writeLong(vector.isNull(row) ? 0 : vector.getLong(row));
+                }
+                break;
+            case DATE:
+                for (int row = 0; row < rows; row++) {
+                    body.writeInt(vector.isNull(row) ? 0 : (int) vector.getLong(row));
+                }
+                break;
+            case DOUBLE:
+                for (int row = 0; row < rows; row++) {
+                    body.writeDouble(vector.isNull(row) ? 0 : vector.getDouble(row));
+                }
+                break;
+            case DECIMAL:
+                for (int row = 0; row < rows; row++) {
+                    writeDecimal(vector.isNull(row) ? null : vector.getDecimal(row));
+                }
+                break;
+            case STRING: {
+                List<String> strings = new ArrayList<>(rows);
+                for (int row = 0; row < rows; row++) {
+                    strings.add(vector.isNull(row) ? null : vector.getString(row));
+                }
+                writeStrings(strings, rows);
+                return;
+            }
+            case BINARY: {
+                values.reset();
+                for (int row = 0; row < rows; row++) {
+                    body.writeInt(values.size());
+                    if (!vector.isNull(row)) {
+                        values.writeBytes(vector.getBinary(row));
+                    }
+                }
+                body.writeInt(values.size());
+                endBuffer(start);
+                start = body.size();
+                body.writeBuffer(values);
+                break;
+            }
+        }
+        endBuffer(start);
+    }
+
+    /**
+     * Writes offsets and data buffers of strings
+     */
+    private void writeStrings(@NotNull List<String> strings, int count) {
+        values.reset();
+        int start = body.size();
+        for (int i = 0; i < count; i++) {
+            body.writeInt(values.size());
+            String value = strings.get(i);
+            if (value != null) {
+                values.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        body.writeInt(values.size());
+        endBuffer(start);
+        start = body.size();
+        body.writeBuffer(values);
+        endBuffer(start);
+    }
+
+    /**
+     * Writes 128-bit little-endian two's complement unscaled value
+     */
+    private void writeDecimal(@Nullable BigDecimal value) {
+        if (value == null) {
+            for (int i = 0; i < DECIMAL_BYTE_WIDTH; i++) {
+                body.writeByte(0);
+            }
+            return;
+        }
+        byte[] unscaled = ColumnarValues.getUnscaledBytes(value);
+        int sign = unscaled[0] < 0 ? 0xFF : 0;
+        for (int i = 0; i < DECIMAL_BYTE_WIDTH; i++) {
+            body.writeByte(i < unscaled.length ? unscaled[unscaled.length - 1 - i] : sign);
+        }
+    }
+
+    private void endBuffer(int start) {
+        buffers.add(new long[] {start, body.size() - start});
+        // Buffers must be aligned to 8 bytes
+        body.align(8);
+    }
+
+    private void resetBody() {
+        body.reset();
+        nodes.clear();
+        buffers.clear();
+    }
+
+    @NotNull
+    private Block writeBatchMessage(int headerType, long length, int dictionaryId, boolean delta) throws IOException {
+        FlatBufferBuilder builder = new FlatBufferBuilder(256 + (nodes.size() + buffers.size()) * 16);
+        builder.startVector(16, nodes.size(), 8);
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            builder.addLongPair(nodes.get(i)[0], nodes.get(i)[1]);
+        }
+        int nodeVector = builder.endVector();
+        builder.startVector(16, buffers.size(), 8);
+        for (int i = buffers.size() - 1; i >= 0; i--) {
+            builder.addLongPair(buffers.get(i)[0], buffers.get(i)[1]);
+        }
+        int bufferVector = builder.endVector();
+        builder.startTable(3);
+        builder.addLong(0, length);
+        builder.addOffset(1, nodeVector);
+        builder.addOffset(2, bufferVector);
+        int header = builder.endTable();
+        if (headerType == HEADER_DICTIONARY_BATCH) {
+            builder.startTable(3);
+            builder.addLong(0, dictionaryId);
+            builder.addOffset(1, header);
+            builder.addBoolean(2, delta);
+            header = builder.endTable();
+        }
+        return writeMessage(builder, headerType, header, body.size());
+    }
+
+    @NotNull
+    private Block writeMessage(@NotNull FlatBufferBuilder builder, int headerType, int header, int bodyLength) throws IOException {
+        builder.startTable(4);
+        builder.addShort(0, METADATA_V5);
+        builder.addByte(1, headerType);
+        builder.addOffset(2, header);
+        builder.addLong(3, bodyLength);
+        byte[] metadata = builder.finish(builder.endTable());
+        int paddedLength = (metadata.length + 7) & ~7;
+
+        Block block = new Block(position, 8 + paddedLength, bodyLength);
+        prefix.reset();
+        prefix.writeInt(CONTINUATION);
+        prefix.writeInt(paddedLength);
+        prefix.writeTo(out);
+        out.write(metadata);
+        out.write(new byte[paddedLength - metadata.length]);
+        if (bodyLength > 0) {
+            body.writeTo(out);
+        }
+        position += block.metaDataLength() + bodyLength;
+        return block;
+    }
+
+    private int buildSchema(@NotNull FlatBufferBuilder builder) {
+        int[] fields = new int[columns.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = buildField(builder, i);
+        }
+        int fieldVector = builder.createOffsetVector(fields);
+        builder.startTable(2);
+        // Little endian
+        builder.addShort(0, 0);
+        builder.addOffset(1, fieldVector);
+        return builder.endTable();
+    }
+
+    private int buildField(@NotNull FlatBufferBuilder builder, int index) {
+        ColumnDescriptor column = columns.get(index);
+        int name = builder.createString(column.getName());
+        int type = buildType(builder, column);
+        int dictionary = 0;
+        if (dictionaries.get(index) != null) {
+            builder.startTable(2);
+            builder.addInt(0, 32);
+            builder.addBoolean(1, true);
+            int indexType = builder.endTable();
+            builder.startTable(3);
+            builder.addLong(0, index);
+            builder.addOffset(1, indexType);
+            builder.addBoolean(2, false);
+            dictionary = builder.endTable();
+        }
+        int children = builder.createOffsetVector(new int[0]);
+        builder.startTable(6);
+        builder.addOffset(0, name);
+        builder.addBoolean(1, true);
+        builder.addByte(2, getTypeId(column.getType()));
+        builder.addOffset(3, type);
+        if (dictionary != 0) {
+            builder.addOffset(4, dictionary);
+        }
+        builder.addOffset(5, children);
+        return builder.endTable();
+    }
+
+    private static int buildType(@NotNull FlatBufferBuilder builder, @NotNull ColumnDescriptor column) {
+        switch (column.getType()) {
+            case INTEGER:
+                builder.startTable(2);
+                builder.addInt(0, 64);
+                builder.addBoolean(1, true);
+                break;
+            case DOUBLE:
+                builder.startTable(1);
+                builder.addShort(0, PRECISION_DOUBLE);
+                break;
+            case DECIMAL:
+                builder.startTable(3);
+                builder.addInt(0, column.getPrecision());
+                builder.addInt(1, column.getScale());
+                builder.addInt(2, DECIMAL_BIT_WIDTH);
+                break;
+            case DATE:
+                builder.startTable(1);
+                builder.addShort(0, DATE_UNIT_DAY);
+                break;
+            case TIME:
+                builder.startTable(2);
+                builder.addShort(0, TIME_UNIT_MICROSECOND);
+                builder.addInt(1, 64);
+                break;
+            case TIMESTAMP:
+                // No time zone, values are wall clock times
+                builder.startTable(1);
+                builder.addShort(0, TIME_UNIT_MICROSECOND);
+                break;
+            default:
+                // Bool, Utf8 and Binary types have no parameters
+                builder.startTable(0);
+                break;
+        }
+        return builder.endTable();
+    }
+
+    private static int getTypeId(@NotNull ColumnType type) {
+        switch (type) {
+            case BOOLEAN:
+                return TYPE_BOOL;
+            case INTEGER:
+                return TYPE_INT;
+            case DOUBLE:
+                return TYPE_FLOATING_POINT;
+            case DECIMAL:
+                return TYPE_DECIMAL;
+            case BINARY:
+                return TYPE_BINARY;
+            case DATE:
+                return TYPE_DATE;
+            case TIME:
+                return TYPE_TIME;
+            case TIMESTAMP:
+                return TYPE_TIMESTAMP;
+            default:
+                return TYPE_UTF8;
+        }
+    }
+
+    private static int buildBlocks(@NotNull FlatBufferBuilder builder, @NotNull List<Block> blocks) {
+        builder.startVector(24, blocks.size(), 8);
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            Block block = blocks.get(i);
+            builder.addBlock(block.offset(), block.metaDataLength(), block.bodyLength());
+        }
+        return builder.endVector();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+import java.util.List;
+
+/**
+ * Batch of rows stored by columns
+ */
+public final class ColumnBatch {
+
+    @NotNull
+    private final ColumnVector[] vectors;
+    private int rowCount;
+
+    public ColumnBatch(@NotNull List<ColumnDescriptor> columns, int capacity, boolean dictionaryEnabled) {
+        this.vectors = new ColumnVector[columns.size()];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = new ColumnVector(columns.get(i), capacity, dictionaryEnabled);
+        }
+    }
+
+    @NotNull
+    public ColumnVector getVector(int index) {
+        return vectors[index];
+    }
+
+    public int getColumnCount() {
+        return vectors.length;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Must be called after values of all columns were added
+     */
+    public void endRow() {
+        rowCount++;
+    }
+
+    public void reset() {
+        for (ColumnVector vector : vectors) {
+            vector.reset();
+        }
+        rowCount = 0;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+
+import java.sql.Types;
+
+/**
+ * Logical type of a column in columnar files.
+ */
+public enum ColumnType {
+    BOOLEAN(DBPDataKind.BOOLEAN, "BOOLEAN"),
+    INTEGER(DBPDataKind.NUMERIC, "BIGINT"),
+    DOUBLE(DBPDataKind.NUMERIC, "DOUBLE"),
+    DECIMAL(DBPDataKind.NUMERIC, "DECIMAL"),
+    STRING(DBPDataKind.STRING, "VARCHAR"),
+    BINARY(DBPDataKind.BINARY, "VARBINARY"),
+    DATE(DBPDataKind.DATETIME, "DATE"),
+    TIME(DBPDataKind.DATETIME, "TIME"),
+    TIMESTAMP(DBPDataKind.DATETIME, "TIMESTAMP");
+
+    // Maximal precision of 128-bit decimals
+    public static final int MAX_DECIMAL_PRECISION = 38;
+    // Maximal precision of decimals which fit into long
+    public static final int MAX_LONG_PRECISION = 18;
+
+    private final DBPDataKind dataKind;
+    private final String typeName;
+
+    ColumnType(@NotNull DBPDataKind dataKind, @NotNull String typeName) {
+        this.dataKind = dataKind;
+        this.typeName = typeName;
+    }
+
+    @NotNull
+    public DBPDataKind getDataKind() {
+        return dataKind;
+    }
+
+    @NotNull
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * Returns column type for the specified attribute.
+     * Values which have no columnar representation (structures, arrays, documents, etc) are stored as strings.
+     */
+    @NotNull
+    public static ColumnType getColumnType(@NotNull DBSTypedObject attribute) {
+        switch (attribute.getDataKind()) {
+            case BOOLEAN:
+                return BOOLEAN;
+            case NUMERIC:
+                return getNumericType(attribute);
+            case DATETIME:
+                switch (attribute.getTypeID()) {
+                    case Types.DATE:
+                        return DATE;
+                    case Types.TIME:
+                        return TIME;
+                    default:
+                        return TIMESTAMP;
+                }
+            case BINARY:
+            case CONTENT:
+                if (attribute.getTypeID() == Types.CLOB || attribute.getTypeID() == Types.NCLOB) {
+                    return STRING;
+                }
+                return BINARY;
+            default:
+                return STRING;
+        }
+    }
+
+    @NotNull
+    private static ColumnType getNumericType(@NotNull DBSTypedObject attribute) {
+        switch (attribute.getTypeID()) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return INTEGER;
+            case Types.FLOAT:
+            case Types.REAL:
+            case Types.DOUBLE:
+                return DOUBLE;
+            default:
+                int precision = getDecimalPrecision(attribute);
+                int scale = getDecimalScale(attribute);
+                if (precision <= 0 || precision > MAX_DECIMAL_PRECISION || scale < 0 || scale > precision) {
+                    // Unbounded numbers. Keep them as strings to not lose digits.
+                    return STRING;
+                }
+                return scale == 0 && precision <= MAX_LONG_PRECISION ? INTEGER : DECIMAL;
+        }
+    }
+
+    public static int getDecimalPrecision(@NotNull DBSTypedObject attribute) {
+        Integer precision = attribute.getPrecision();
+        return precision == null ? 0 : precision;
+    }
+
+    public static int getDecimalScale(@NotNull DBSTypedObject attribute) {
+        Integer scale = attribute.getScale();
+        return scale == null ? 0 : scale;
+    }
+}
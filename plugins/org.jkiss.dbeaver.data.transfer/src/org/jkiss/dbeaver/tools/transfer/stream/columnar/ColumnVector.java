@@ -0,0 +1,244 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Values of a single column of a row batch (Parquet row group or Arrow record batch).
+ *
+ * Values are kept in primitive arrays: booleans, integers, dates, times and timestamps in longs,
+ * floating point numbers in doubles, strings, binaries and decimals in objects.
+ * String values are dictionary encoded until the dictionary becomes too large.
+ */
+public final class ColumnVector {
+
+    // Dictionary is dropped when it becomes larger than this (the same default page size as in Parquet libraries)
+    private static final long MAX_DICTIONARY_LENGTH = 1024 * 1024;
+
+    @NotNull
+    private final ColumnDescriptor column;
+    private final boolean dictionaryEnabled;
+
+    private int size;
+    private int nullCount;
+    private boolean[] nulls;
+    private long[] longValues;
+    private double[] doubleValues;
+    private Object[] objectValues;
+
+    private Map<String, Integer> dictionary;
+    private List<String> dictionaryValues;
+    private int[] dictionaryIds;
+    private long dictionaryLength;
+
+    public ColumnVector(@NotNull ColumnDescriptor column, int capacity, boolean dictionaryEnabled) {
+        this.column = column;
+        this.dictionaryEnabled = dictionaryEnabled && column.getType() == ColumnType.STRING;
+        this.nulls = new boolean[capacity];
+        switch (column.getType()) {
+            case DOUBLE:
+                doubleValues = new double[capacity];
+                break;
+            case DECIMAL:
+            case BINARY:
+                objectValues = new Object[capacity];
+                break;
+            case STRING:
+                objectValues = new Object[capacity];
+                if (this.dictionaryEnabled) {
+                    dictionaryIds = new int[capacity];
+                }
+                break;
+            default:
+                longValues = new long[capacity];
+                break;
+        }
+        resetDictionary();
+    }
+
+    @NotNull
+    public ColumnDescriptor getColumn() {
+        return column;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getNullCount() {
+        return nullCount;
+    }
+
+    public boolean isNull(int index) {
+        return nulls[index];
+    }
+
+    /**
+     * Boolean (0 or 1), integer, date (epoch day), time (microseconds of day) or timestamp (epoch microseconds) value
+     */
+    public long getLong(int index) {
+        return longValues[index];
+    }
+
+    public double getDouble(int index) {
+        return doubleValues[index];
+    }
+
+    @NotNull
+    public String getString(int index) {
+        return (String) objectValues[index];
+    }
+
+    @NotNull
+    public byte[] getBinary(int index) {
+        return (byte[]) objectValues[index];
+    }
+
+    @NotNull
+    public BigDecimal getDecimal(int index) {
+        return (BigDecimal) objectValues[index];
+    }
+
+    public boolean isDictionaryEncoded() {
+        return dictionary != null;
+    }
+
+    /**
+     * Distinct values of dictionary encoded vector
+     */
+    @NotNull
+    public List<String> getDictionary() {
+        return dictionaryValues;
+    }
+
+    public int getDictionaryId(int index) {
+        return dictionaryIds[index];
+    }
+
+    /**
+     * Adds value converted to the column type
+     * @throws RuntimeException if value can't be converted
+     */
+    public void add(@Nullable Object value) {
+        if (size == nulls.length) {
+            grow();
+        }
+        if (value == null) {
+            nulls[size++] = true;
+            nullCount++;
+            return;
+        }
+        switch (column.getType()) {
+            case BOOLEAN:
+                longValues[size] = ColumnarValues.toBoolean(value) ? 1 : 0;
+                break;
+            case INTEGER:
+                longValues[size] = ColumnarValues.toLong(value);
+                break;
+            case DOUBLE:
+                doubleValues[size] = ColumnarValues.toDouble(value);
+                break;
+            case DECIMAL:
+                objectValues[size] = ColumnarValues.toDecimal(value, column.getPrecision(), column.getScale());
+                break;
+            case STRING:
+                addString(value.toString());
+                break;
+            case BINARY:
+                objectValues[size] = ColumnarValues.toBytes(value);
+                break;
+            case DATE:
+                longValues[size] = ColumnarValues.toEpochDay(value);
+                break;
+            case TIME:
+                longValues[size] = ColumnarValues.toMicrosOfDay(value);
+                break;
+            case TIMESTAMP:
+                longValues[size] = ColumnarValues.toEpochMicros(value);
+                break;
+        }
+        nulls[size++] = false;
+    }
+
+    private void addString(@NotNull String value) {
+        if (dictionary != null) {
+            Integer id = dictionary.get(value);
+            if (id == null) {
+                id = dictionaryValues.size();
+                dictionary.put(value, id);
+                dictionaryValues.add(value);
+                dictionaryLength += value.length();
+            } else {
+                // Keep single instance of each string
+                value = dictionaryValues.get(id);
+            }
+            dictionaryIds[size] = id;
+            if (dictionaryLength > MAX_DICTIONARY_LENGTH) {
+                // Too many distinct values, dictionary doesn't make sense
+                dictionary = null;
+                dictionaryValues = null;
+            }
+        }
+        objectValues[size] = value;
+    }
+
+    /**
+     * Clears values. Vector capacity stays the same.
+     */
+    public void reset() {
+        if (objectValues != null) {
+            Arrays.fill(objectValues, 0, size, null);
+        }
+        size = 0;
+        nullCount = 0;
+        resetDictionary();
+    }
+
+    private void resetDictionary() {
+        if (dictionaryEnabled) {
+            dictionary = new HashMap<>();
+            dictionaryValues = new ArrayList<>();
+            dictionaryLength = 0;
+        }
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, nulls.length * 2);
+        nulls = Arrays.copyOf(nulls, capacity);
+        if (longValues != null) {
+            longValues = Arrays.copyOf(longValues, capacity);
+        }
+        if (doubleValues != null) {
+            doubleValues = Arrays.copyOf(doubleValues, capacity);
+        }
+        if (objectValues != null) {
+            objectValues = Arrays.copyOf(objectValues, capacity);
+        }
+        if (dictionaryIds != null) {
+            dictionaryIds = Arrays.copyOf(dictionaryIds, capacity);
+        }
+    }
+}
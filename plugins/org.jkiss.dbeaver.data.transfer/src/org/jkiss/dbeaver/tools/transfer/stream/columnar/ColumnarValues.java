@@ -0,0 +1,221 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions between Java values and primitive values of columnar files.
+ *
+ * Dates are stored as days since epoch, times as microseconds of day and timestamps as microseconds since epoch.
+ * Timestamps without time zone are stored as wall clock time in UTC (the same way as Parquet and Arrow do).
+ */
+public final class ColumnarValues {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    private ColumnarValues() {
+    }
+
+    public static boolean toBoolean(@NotNull Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        } else if (value instanceof Number number) {
+            return number.intValue() != 0;
+        }
+        String str = value.toString();
+        return str.equalsIgnoreCase("true") || str.equals("1") || str.equalsIgnoreCase("yes");
+    }
+
+    public static long toLong(@NotNull Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof BigDecimal decimal) {
+            return decimal.setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } else if (value instanceof BigInteger integer) {
+            return integer.longValueExact();
+        } else if (value instanceof Number number) {
+            return Math.round(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            return bool ? 1 : 0;
+        }
+        return new BigDecimal(value.toString().trim()).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static double toDouble(@NotNull Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        } else if (value instanceof Boolean bool) {
+            return bool ? 1 : 0;
+        }
+        return Double.parseDouble(value.toString().trim());
+    }
+
+    /**
+     * Returns decimal value rescaled to the column scale.
+     */
+    @NotNull
+    public static BigDecimal toDecimal(@NotNull Object value, int precision, int scale) {
+        BigDecimal decimal;
+        if (value instanceof BigDecimal bd) {
+            decimal = bd;
+        } else if (value instanceof BigInteger integer) {
+            decimal = new BigDecimal(integer);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            decimal = BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            decimal = BigDecimal.valueOf(number.doubleValue());
+        } else {
+            decimal = new BigDecimal(value.toString().trim());
+        }
+        decimal = decimal.setScale(scale, RoundingMode.HALF_UP);
+        if (decimal.precision() > precision) {
+            throw new ArithmeticException("Value " + decimal + " does not fit into DECIMAL(" + precision + "," + scale + ")");
+        }
+        return decimal;
+    }
+
+    @NotNull
+    public static byte[] toBytes(@NotNull Object value) {
+        if (value instanceof byte[] bytes) {
+            return bytes;
+        }
+        return value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static int toEpochDay(@NotNull Object value) {
+        LocalDate date;
+        if (value instanceof java.sql.Date sqlDate) {
+            date = sqlDate.toLocalDate();
+        } else if (value instanceof LocalDate localDate) {
+            date = localDate;
+        } else if (value instanceof LocalDateTime dateTime) {
+            date = dateTime.toLocalDate();
+        } else if (value instanceof OffsetDateTime dateTime) {
+            date = dateTime.toLocalDate();
+        } else if (value instanceof ZonedDateTime dateTime) {
+            date = dateTime.toLocalDate();
+        } else if (value instanceof java.sql.Timestamp timestamp) {
+            date = timestamp.toLocalDateTime().toLocalDate();
+        } else if (value instanceof Date utilDate) {
+            date = LocalDate.ofInstant(utilDate.toInstant(), ZoneId.systemDefault());
+        } else {
+            date = LocalDate.parse(value.toString().trim());
+        }
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    public static long toMicrosOfDay(@NotNull Object value) {
+        LocalTime time;
+        if (value instanceof java.sql.Time sqlTime) {
+            time = sqlTime.toLocalTime().plus(Math.floorMod(sqlTime.getTime(), 1000L), ChronoUnit.MILLIS);
+        } else if (value instanceof LocalTime localTime) {
+            time = localTime;
+        } else if (value instanceof OffsetTime offsetTime) {
+            time = offsetTime.toLocalTime();
+        } else if (value instanceof LocalDateTime dateTime) {
+            time = dateTime.toLocalTime();
+        } else if (value instanceof java.sql.Timestamp timestamp) {
+            time = timestamp.toLocalDateTime().toLocalTime();
+        } else if (value instanceof Date utilDate) {
+            time = LocalTime.ofInstant(utilDate.toInstant(), ZoneId.systemDefault());
+        } else {
+            time = LocalTime.parse(value.toString().trim());
+        }
+        return time.toNanoOfDay() / NANOS_PER_MICRO;
+    }
+
+    public static long toEpochMicros(@NotNull Object value) {
+        LocalDateTime dateTime;
+        if (value instanceof java.sql.Timestamp timestamp) {
+            dateTime = timestamp.toLocalDateTime();
+        } else if (value instanceof LocalDateTime localDateTime) {
+            dateTime = localDateTime;
+        } else if (value instanceof LocalDate localDate) {
+            dateTime = localDate.atStartOfDay();
+        } else if (value instanceof OffsetDateTime offsetDateTime) {
+            dateTime = offsetDateTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } else if (value instanceof ZonedDateTime zonedDateTime) {
+            dateTime = zonedDateTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } else if (value instanceof Instant instant) {
+            dateTime = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        } else if (value instanceof java.sql.Date sqlDate) {
+            dateTime = sqlDate.toLocalDate().atStartOfDay();
+        } else if (value instanceof Date utilDate) {
+            dateTime = LocalDateTime.ofInstant(utilDate.toInstant(), ZoneId.systemDefault());
+        } else {
+            dateTime = LocalDateTime.parse(value.toString().trim().replace(' ', 'T'));
+        }
+        Instant instant = dateTime.toInstant(ZoneOffset.UTC);
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), MICROS_PER_SECOND), instant.getNano() / NANOS_PER_MICRO);
+    }
+
+    @NotNull
+    public static java.sql.Date fromEpochDay(long epochDay) {
+        return java.sql.Date.valueOf(LocalDate.ofEpochDay(epochDay));
+    }
+
+    @NotNull
+    public static java.sql.Time fromTimeOfDay(long value, @NotNull TimeUnit unit) {
+        LocalTime time = LocalTime.ofNanoOfDay(unit.toNanos(value));
+        java.sql.Time result = java.sql.Time.valueOf(time);
+        // Time.valueOf truncates fractional seconds
+        result.setTime(result.getTime() + time.getNano() / 1_000_000);
+        return result;
+    }
+
+    /**
+     * Converts timestamp to Java value.
+     * @param utc true if value is an instant, false if value is a wall clock time
+     */
+    @NotNull
+    public static java.sql.Timestamp fromEpoch(long value, @NotNull TimeUnit unit, boolean utc) {
+        long seconds = unit.toSeconds(value);
+        long nanos = unit.toNanos(value - unit.convert(seconds, TimeUnit.SECONDS));
+        if (nanos < 0) {
+            seconds--;
+            nanos += 1_000_000_000L;
+        }
+        if (utc) {
+            return java.sql.Timestamp.from(Instant.ofEpochSecond(seconds, nanos));
+        }
+        return java.sql.Timestamp.valueOf(LocalDateTime.ofEpochSecond(seconds, (int) nanos, ZoneOffset.UTC));
+    }
+
+    /**
+     * Returns big-endian two's complement representation of unscaled decimal value
+     */
+    @NotNull
+    public static byte[] getUnscaledBytes(@NotNull BigDecimal value) {
+        return value.unscaledValue().toByteArray();
+    }
+
+    @NotNull
+    public static BigDecimal fromUnscaledBytes(@NotNull byte[] bytes, int offset, int length, int scale) {
+        return new BigDecimal(new BigInteger(bytes, offset, length), scale);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal FlatBuffers builder. Arrow IPC metadata (schema, messages, footer) uses FlatBuffers.
+ *
+ * Buffer is built from the end to the beginning, so children must be created before their parents.
+ * Offsets returned by methods are distances from the end of buffer.
+ * All table fields are written explicitly, default values are not omitted.
+ */
+final class FlatBufferBuilder {
+
+    private byte[] buffer;
+    private int space;
+    private int minAlign = 1;
+
+    private int[] vtable;
+    private int objectStart;
+    private int vectorLength;
+
+    FlatBufferBuilder(int capacity) {
+        this.buffer = new byte[Math.max(capacity, 64)];
+        this.space = buffer.length;
+    }
+
+    int offset() {
+        return buffer.length - space;
+    }
+
+    int createString(@NotNull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // Strings are zero terminated
+        prep(4, bytes.length + 1);
+        buffer[--space] = 0;
+        space -= bytes.length;
+        System.arraycopy(bytes, 0, buffer, space, bytes.length);
+        putInt(bytes.length);
+        return offset();
+    }
+
+    void startVector(int elementSize, int length, int alignment) {
+        prep(4, elementSize * length);
+        prep(alignment, elementSize * length);
+        vectorLength = length;
+    }
+
+    int endVector() {
+        putInt(vectorLength);
+        return offset();
+    }
+
+    int createOffsetVector(@NotNull int[] offsets) {
+        startVector(4, offsets.length, 4);
+        for (int i = offsets.length - 1; i >= 0; i--) {
+            addOffset(offsets[i]);
+        }
+        return endVector();
+    }
+
+    /**
+     * Adds struct of two longs (Arrow FieldNode and Buffer) into vector
+     */
+    void addLongPair(long first, long second) {
+        prep(8, 16);
+        putLong(second);
+        putLong(first);
+    }
+
+    /**
+     * Adds Arrow file Block struct into vector
+     */
+    void addBlock(long offset, int metaDataLength, long bodyLength) {
+        prep(8, 24);
+        putLong(bodyLength);
+        // Struct padding
+        putInt(0);
+        putInt(metaDataLength);
+        putLong(offset);
+    }
+
+    void startTable(int fieldCount) {
+        vtable = new int[fieldCount];
+        objectStart = offset();
+    }
+
+    void addBoolean(int slot, boolean value) {
+        addByte(slot, value ? 1 : 0);
+    }
+
+    void addByte(int slot, int value) {
+        prep(1, 0);
+        buffer[--space] = (byte) value;
+        vtable[slot] = offset();
+    }
+
+    void addShort(int slot, int value) {
+        prep(2, 0);
+        putShort(value);
+        vtable[slot] = offset();
+    }
+
+    void addInt(int slot, int value) {
+        prep(4, 0);
+        putInt(value);
+        vtable[slot] = offset();
+    }
+
+    void addLong(int slot, long value) {
+        prep(8, 0);
+        putLong(value);
+        vtable[slot] = offset();
+    }
+
+    void addOffset(int slot, int value) {
+        addOffset(value);
+        vtable[slot] = offset();
+    }
+
+    int endTable() {
+        // Placeholder of the vtable offset
+        prep(4, 0);
+        putInt(0);
+        int objectOffset = offset();
+        int fieldCount = vtable.length;
+        while (fieldCount > 0 && vtable[fieldCount - 1] == 0) {
+            fieldCount--;
+        }
+        for (int i = fieldCount - 1; i >= 0; i--) {
+            prep(2, 0);
+            putShort(vtable[i] == 0 ? 0 : objectOffset - vtable[i]);
+        }
+        prep(2, 0);
+        putShort(objectOffset - objectStart);
+        putShort((fieldCount + 2) * 2);
+        int vtableOffset = offset();
+        // Vtable is located before the table, signed offset from table to vtable is positive
+        int tablePosition = buffer.length - objectOffset;
+        int relative = vtableOffset - objectOffset;
+        buffer[tablePosition] = (byte) relative;
+        buffer[tablePosition + 1] = (byte) (relative >> 8);
+        buffer[tablePosition + 2] = (byte) (relative >> 16);
+        buffer[tablePosition + 3] = (byte) (relative >> 24);
+        vtable = null;
+        return objectOffset;
+    }
+
+    @NotNull
+    byte[] finish(int rootTable) {
+        prep(minAlign, 4);
+        addOffset(rootTable);
+        return Arrays.copyOfRange(buffer, space, buffer.length);
+    }
+
+    private void addOffset(int value) {
+        prep(4, 0);
+        putInt(offset() - value + 4);
+    }
+
+    /**
+     * Aligns buffer so that after writing additionalBytes the position is aligned to size
+     */
+    private void prep(int size, int additionalBytes) {
+        if (size > minAlign) {
+            minAlign = size;
+        }
+        int alignSize = (-(buffer.length - space + additionalBytes)) & (size - 1);
+        while (space < alignSize + size + additionalBytes) {
+            int oldLength = buffer.length;
+            byte[] newBuffer = new byte[oldLength * 2];
+            System.arraycopy(buffer, 0, newBuffer, oldLength, oldLength);
+            buffer = newBuffer;
+            space += oldLength;
+        }
+        for (int i = 0; i < alignSize; i++) {
+            buffer[--space] = 0;
+        }
+    }
+
+    private void putShort(int value) {
+        space -= 2;
+        buffer[space] = (byte) value;
+        buffer[space + 1] = (byte) (value >> 8);
+    }
+
+    private void putInt(int value) {
+        space -= 4;
+        buffer[space] = (byte) value;
+        buffer[space + 1] = (byte) (value >> 8);
+        buffer[space + 2] = (byte) (value >> 16);
+        buffer[space + 3] = (byte) (value >> 24);
+    }
+
+    private void putLong(long value) {
+        space -= 8;
+        for (int i = 0; i < 8; i++) {
+            buffer[space + i] = (byte) (value >> (i * 8));
+        }
+    }
+}
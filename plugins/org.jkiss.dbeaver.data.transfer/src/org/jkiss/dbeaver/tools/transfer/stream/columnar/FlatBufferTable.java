@@ -0,0 +1,159 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read access to a FlatBuffers table
+ */
+final class FlatBufferTable {
+
+    @NotNull
+    private final ByteBuffer buffer;
+    private final int position;
+    private final int vtable;
+    private final int vtableSize;
+
+    private FlatBufferTable(@NotNull ByteBuffer buffer, int position) throws IOException {
+        this.buffer = buffer;
+        this.position = position;
+        checkPosition(position, 4);
+        this.vtable = position - buffer.getInt(position);
+        checkPosition(vtable, 4);
+        this.vtableSize = buffer.getShort(vtable) & 0xFFFF;
+        checkPosition(vtable, vtableSize);
+    }
+
+    @NotNull
+    static FlatBufferTable getRoot(@NotNull byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < 4) {
+            throw new IOException("FlatBuffer is too small");
+        }
+        return new FlatBufferTable(buffer, buffer.getInt(0));
+    }
+
+    boolean hasField(int slot) {
+        return getFieldOffset(slot) != 0;
+    }
+
+    int getByte(int slot, int defaultValue) {
+        int offset = getFieldOffset(slot);
+        return offset == 0 ? defaultValue : buffer.get(position + offset) & 0xFF;
+    }
+
+    boolean getBoolean(int slot, boolean defaultValue) {
+        int offset = getFieldOffset(slot);
+        return offset == 0 ? defaultValue : buffer.get(position + offset) != 0;
+    }
+
+    int getShort(int slot, int defaultValue) {
+        int offset = getFieldOffset(slot);
+        return offset == 0 ? defaultValue : buffer.getShort(position + offset);
+    }
+
+    int getInt(int slot, int defaultValue) {
+        int offset = getFieldOffset(slot);
+        return offset == 0 ? defaultValue : buffer.getInt(position + offset);
+    }
+
+    long getLong(int slot, long defaultValue) {
+        int offset = getFieldOffset(slot);
+        return offset == 0 ? defaultValue : buffer.getLong(position + offset);
+    }
+
+    @Nullable
+    FlatBufferTable getTable(int slot) throws IOException {
+        int offset = getFieldOffset(slot);
+        return offset == 0 ? null : new FlatBufferTable(buffer, getIndirect(position + offset));
+    }
+
+    @Nullable
+    String getString(int slot) throws IOException {
+        int offset = getFieldOffset(slot);
+        if (offset == 0) {
+            return null;
+        }
+        int start = getIndirect(position + offset);
+        checkPosition(start, 4);
+        int length = buffer.getInt(start);
+        checkPosition(start + 4, length);
+        return new String(buffer.array(), start + 4, length, StandardCharsets.UTF_8);
+    }
+
+    int getVectorLength(int slot) throws IOException {
+        int offset = getFieldOffset(slot);
+        if (offset == 0) {
+            return 0;
+        }
+        int start = getIndirect(position + offset);
+        checkPosition(start, 4);
+        return buffer.getInt(start);
+    }
+
+    @NotNull
+    FlatBufferTable getVectorTable(int slot, int index) throws IOException {
+        int element = getVectorElement(slot, index, 4);
+        return new FlatBufferTable(buffer, getIndirect(element));
+    }
+
+    /**
+     * Reads long field of a struct stored in vector
+     */
+    long getVectorStructLong(int slot, int index, int structSize, int fieldOffset) throws IOException {
+        return buffer.getLong(getVectorElement(slot, index, structSize) + fieldOffset);
+    }
+
+    private int getVectorElement(int slot, int index, int elementSize) throws IOException {
+        int offset = getFieldOffset(slot);
+        if (offset == 0) {
+            throw new IOException("FlatBuffer vector is missing");
+        }
+        int start = getIndirect(position + offset);
+        checkPosition(start, 4);
+        int length = buffer.getInt(start);
+        if (index < 0 || index >= length) {
+            throw new IOException("FlatBuffer vector index " + index + " is out of bounds");
+        }
+        int element = start + 4 + index * elementSize;
+        checkPosition(element, elementSize);
+        return element;
+    }
+
+    private int getFieldOffset(int slot) {
+        int entry = 4 + slot * 2;
+        return entry < vtableSize ? buffer.getShort(vtable + entry) & 0xFFFF : 0;
+    }
+
+    private int getIndirect(int offsetPosition) throws IOException {
+        checkPosition(offsetPosition, 4);
+        return offsetPosition + buffer.getInt(offsetPosition);
+    }
+
+    private void checkPosition(int start, int length) throws IOException {
+        if (start < 0 || length < 0 || start + length > buffer.limit() || start + length < 0) {
+            throw new IOException("Corrupted FlatBuffer");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with little-endian primitives.
+ * All binary columnar formats store numbers in little-endian order.
+ */
+public final class LittleEndianOutput {
+
+    private byte[] bytes;
+    private int count;
+
+    public LittleEndianOutput(int capacity) {
+        this.bytes = new byte[Math.max(capacity, 16)];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void reset() {
+        count = 0;
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        bytes[count++] = (byte) value;
+    }
+
+    public void writeShort(int value) {
+        ensureCapacity(2);
+        bytes[count++] = (byte) value;
+        bytes[count++] = (byte) (value >> 8);
+    }
+
+    public void writeInt(int value) {
+        ensureCapacity(4);
+        bytes[count++] = (byte) value;
+        bytes[count++] = (byte) (value >> 8);
+        bytes[count++] = (byte) (value >> 16);
+        bytes[count++] = (byte) (value >> 24);
+    }
+
+    public void writeLong(long value) {
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            bytes[count++] = (byte) (value >> (i * 8));
+        }
+    }
+
+    public void writeDouble(double value) {
+        writeLong(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Writes unsigned LEB128 variable length integer
+     */
+    public void writeVarInt(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[count++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[count++] = (byte) value;
+    }
+
+    public void writeBytes(@NotNull byte[] value) {
+        writeBytes(value, 0, value.length);
+    }
+
+    public void writeBytes(@NotNull byte[] value, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(value, offset, bytes, count, length);
+        count += length;
+    }
+
+    public void writeBuffer(@NotNull LittleEndianOutput buffer) {
+        writeBytes(buffer.bytes, 0, buffer.count);
+    }
+
+    /**
+     * Appends zero bytes up to the specified alignment
+     */
+    public void align(int alignment) {
+        while (count % alignment != 0) {
+            writeByte(0);
+        }
+    }
+
+    public void setByte(int position, int value) {
+        bytes[position] = (byte) value;
+    }
+
+    public void setInt(int position, int value) {
+        bytes[position] = (byte) value;
+        bytes[position + 1] = (byte) (value >> 8);
+        bytes[position + 2] = (byte) (value >> 16);
+        bytes[position + 3] = (byte) (value >> 24);
+    }
+
+    @NotNull
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, count);
+    }
+
+    public void writeTo(@NotNull OutputStream stream) throws IOException {
+        stream.write(bytes, 0, count);
+    }
+
+    private void ensureCapacity(int length) {
+        if (count + length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, count + length));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+/**
+ * Parquet format constants (see parquet.thrift)
+ */
+final class ParquetConstants {
+
+    static final byte[] MAGIC = {'P', 'A', 'R', '1'};
+
+    // Physical types
+    static final int TYPE_BOOLEAN = 0;
+    static final int TYPE_INT32 = 1;
+    static final int TYPE_INT64 = 2;
+    static final int TYPE_INT96 = 3;
+    static final int TYPE_FLOAT = 4;
+    static final int TYPE_DOUBLE = 5;
+    static final int TYPE_BYTE_ARRAY = 6;
+    static final int TYPE_FIXED_LEN_BYTE_ARRAY = 7;
+
+    // Converted types (legacy logical types)
+    static final int CONVERTED_UTF8 = 0;
+    static final int CONVERTED_ENUM = 4;
+    static final int CONVERTED_DECIMAL = 5;
+    static final int CONVERTED_DATE = 6;
+    static final int CONVERTED_TIME_MILLIS = 7;
+    static final int CONVERTED_TIME_MICROS = 8;
+    static final int CONVERTED_TIMESTAMP_MILLIS = 9;
+    static final int CONVERTED_TIMESTAMP_MICROS = 10;
+    static final int CONVERTED_UINT_8 = 11;
+    static final int CONVERTED_UINT_16 = 12;
+    static final int CONVERTED_UINT_32 = 13;
+    static final int CONVERTED_UINT_64 = 14;
+    static final int CONVERTED_JSON = 19;
+
+    // Logical type union fields
+    static final int LOGICAL_STRING = 1;
+    static final int LOGICAL_ENUM = 4;
+    static final int LOGICAL_DECIMAL = 5;
+    static final int LOGICAL_DATE = 6;
+    static final int LOGICAL_TIME = 7;
+    static final int LOGICAL_TIMESTAMP = 8;
+    static final int LOGICAL_INTEGER = 10;
+    static final int LOGICAL_JSON = 12;
+
+    // Time unit union fields
+    static final int TIME_UNIT_MILLIS = 1;
+    static final int TIME_UNIT_MICROS = 2;
+    static final int TIME_UNIT_NANOS = 3;
+
+    // Field repetition types
+    static final int REPETITION_REQUIRED = 0;
+    static final int REPETITION_OPTIONAL = 1;
+    static final int REPETITION_REPEATED = 2;
+
+    // Encodings
+    static final int ENCODING_PLAIN = 0;
+    static final int ENCODING_PLAIN_DICTIONARY = 2;
+    static final int ENCODING_RLE = 3;
+    static final int ENCODING_BIT_PACKED = 4;
+    static final int ENCODING_RLE_DICTIONARY = 8;
+
+    // Compression codecs
+    static final int CODEC_UNCOMPRESSED = 0;
+    static final int CODEC_SNAPPY = 1;
+    static final int CODEC_GZIP = 2;
+
+    // Page types
+    static final int PAGE_DATA = 0;
+    static final int PAGE_INDEX = 1;
+    static final int PAGE_DICTIONARY = 2;
+    static final int PAGE_DATA_V2 = 3;
+
+    private ParquetConstants() {
+    }
+}
@@ -0,0 +1,767 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ParquetConstants.*;
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ThriftCompactWriter.TYPE_STRUCT;
+
+/**
+ * Apache Parquet file reader.
+ *
+ * Supports flat schemas, V1 and V2 data pages, plain and dictionary encodings,
+ * uncompressed, Snappy and GZIP compressed pages. Reads one row group per batch.
+ */
+public class ParquetFileReader implements IColumnarFileReader {
+
+    // Days between Julian day 0 and 1970-01-01, used by legacy INT96 timestamps
+    private static final long JULIAN_EPOCH_DAY = 2_440_588;
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+
+    @NotNull
+    private final SeekableByteChannel channel;
+    private final List<ColumnSchema> schema = new ArrayList<>();
+    private final List<ColumnDescriptor> columns = new ArrayList<>();
+    private final List<RowGroupInfo> rowGroups = new ArrayList<>();
+    private int nextRowGroup;
+
+    private static class ColumnSchema {
+        String name;
+        int physicalType = -1;
+        int typeLength;
+        int repetition = REPETITION_REQUIRED;
+        int childCount;
+        int convertedType = -1;
+        int logicalType;
+        int scale;
+        int precision;
+        boolean utcAdjusted = true;
+        TimeUnit timeUnit;
+        boolean unsigned;
+        ColumnType columnType;
+    }
+
+    private static class ColumnChunkInfo {
+        int codec;
+        long dataPageOffset;
+        long dictionaryPageOffset = -1;
+        long compressedSize;
+        boolean external;
+    }
+
+    private static class RowGroupInfo {
+        long rowCount;
+        final List<ColumnChunkInfo> chunks = new ArrayList<>();
+    }
+
+    private static class PageHeader {
+        int type;
+        int uncompressedSize;
+        int compressedSize;
+        int valueCount;
+        int encoding;
+        int definitionLevelsLength;
+        int repetitionLevelsLength;
+        boolean compressed = true;
+    }
+
+    public ParquetFileReader(@NotNull SeekableByteChannel channel) throws IOException {
+        this.channel = channel;
+        long fileSize = channel.size();
+        if (fileSize < MAGIC.length * 2 + 4) {
+            throw new IOException("File is too small to be a Parquet file");
+        }
+        byte[] tail = read(fileSize - 8, 8);
+        if (!Arrays.equals(MAGIC, Arrays.copyOfRange(tail, 4, 8)) || !Arrays.equals(MAGIC, read(0, MAGIC.length))) {
+            throw new IOException("Not a Parquet file");
+        }
+        int footerLength = getInt(tail, 0);
+        if (footerLength <= 0 || footerLength > fileSize - 12) {
+            throw new IOException("Bad Parquet footer length: " + footerLength);
+        }
+        byte[] footer = read(fileSize - 8 - footerLength, footerLength);
+        readFileMetaData(new ThriftCompactReader(footer, 0, footer.length));
+    }
+
+    @NotNull
+    @Override
+    public List<ColumnDescriptor> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    @Nullable
+    @Override
+    public Object[][] readBatch() throws IOException {
+        while (nextRowGroup < rowGroups.size()) {
+            RowGroupInfo rowGroup = rowGroups.get(nextRowGroup++);
+            if (rowGroup.rowCount == 0) {
+                continue;
+            }
+            int rowCount = Math.toIntExact(rowGroup.rowCount);
+            Object[][] values = new Object[schema.size()][];
+            for (int i = 0; i < schema.size(); i++) {
+                values[i] = readColumnChunk(schema.get(i), rowGroup.chunks.get(i), rowCount);
+            }
+            return values;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    ///////////////////////////////////////////////////
+    // Metadata
+
+    private void readFileMetaData(@NotNull ThriftCompactReader reader) throws IOException {
+        List<ColumnSchema> elements = new ArrayList<>();
+        reader.readStructBegin();
+        for (int fieldId = reader.readFieldBegin(); fieldId != -1; fieldId = reader.readFieldBegin()) {
+            switch (fieldId) {
+                case 2: {
+                    int size = reader.readListBegin();
+                    for (int i = 0; i < size; i++) {
+                        elements.add(readSchemaElement(reader));
+                    }
+                    break;
+                }
+                case 4: {
+                    int size = reader.readListBegin();
+                    for (int i = 0; i < size; i++) {
+                        rowGroups.add(readRowGroup(reader));
+                    }
+                    break;
+                }
+                default:
+                    reader.skip(reader.getFieldType());
+                    break;
+            }
+        }
+        reader.readStructEnd();
+
+        if (elements.isEmpty()) {
+            throw new IOException("Parquet schema is empty");
+        }
+        ColumnSchema root = elements.get(0);
+        if (root.childCount != elements.size() - 1) {
+            throw new IOException("Nested Parquet columns are not supported");
+        }
+        for (int i = 1; i < elements.size(); i++) {
+            ColumnSchema column = elements.get(i);
+            if (column.childCount > 0 || column.physicalType < 0 || column.repetition == REPETITION_REPEATED) {
+                throw new IOException("Nested Parquet column '" + column.name + "' is not supported");
+            }
+            column.columnType = getColumnType(column);
+            schema.add(column);
+            columns.add(new ColumnDescriptor(column.name, column.columnType, column.precision, column.scale));
+        }
+        for (RowGroupInfo rowGroup : rowGroups) {
+            if (rowGroup.chunks.size() != schema.size()) {
+                throw new IOException("Parquet row group has " + rowGroup.chunks.size() + " columns while schema has " + schema.size());
+            }
+        }
+    }
+
+    @NotNull
+    private static ColumnSchema readSchemaElement(@NotNull ThriftCompactReader reader) throws IOException {
+        ColumnSchema column = new ColumnSchema();
+        reader.readStructBegin();
+        for (int fieldId = reader.readFieldBegin(); fieldId != -1; fieldId = reader.readFieldBegin()) {
+            switch (fieldId) {
+                case 1 -> column.physicalType = reader.readI32();
+                case 2 -> column.typeLength = reader.readI32();
+                case 3 -> column.repetition = reader.readI32();
+                case 4 -> column.name = reader.readString();
+                case 5 -> column.childCount = reader.readI32();
+                case 6 -> column.convertedType = reader.readI32();
+                case 7 -> column.scale = reader.readI32();
+                case 8 -> column.precision = reader.readI32();
+                case 10 -> readLogicalType(reader, column);
+                default -> reader.skip(reader.getFieldType());
+            }
+        }
+        reader.readStructEnd();
+        if (column.name == null) {
+            throw new IOException("Parquet schema element has no name");
+        }
+        return column;
+    }
+
+    private static void readLogicalType(@NotNull ThriftCompactReader reader, @NotNull ColumnSchema column) throws IOException {
+        reader.readStructBegin();
+        for (int fieldId = reader.readFieldBegin(); fieldId != -1; fieldId = reader.readFieldBegin()) {
+            column.logicalType = fieldId;
+            if (reader.getFieldType() != TYPE_STRUCT) {
+                reader.skip(reader.getFieldType());
+                continue;
+            }
+            reader.readStructBegin();
+            for (int typeFieldId = reader.readFieldBegin(); typeFieldId != -1; typeFieldId = reader.readFieldBegin()) {
+                switch (fieldId) {
+                    case LOGICAL_DECIMAL:
+                        if (typeFieldId == 1) {
+                            column.scale = reader.readI32();
+                        } else if (typeFieldId == 2) {
+                            column.precision = reader.readI32();
+                        } else {
+                            reader.skip(reader.getFieldType());
+                        }
+                        break;
+                    case LOGICAL_TIME:
+                    case LOGICAL_TIMESTAMP:
+                        if (typeFieldId == 1) {
+                            column.utcAdjusted = reader.readFieldBool();
+                        } else if (typeFieldId == 2) {
+                            column.timeUnit = readTimeUnit(reader);
+                        } else {
+                            reader.skip(reader.getFieldType());
+                        }
+                        break;
+                    case LOGICAL_INTEGER:
+                        if (typeFieldId == 2) {
+                            column.unsigned = !reader.readFieldBool();
+                        } else {
+                            reader.skip(reader.getFieldType());
+                        }
+                        break;
+                    default:
+                        reader.skip(reader.getFieldType());
+                        break;
+                }
+            }
+            reader.readStructEnd();
+        }
+        reader.readStructEnd();
+    }
+
+    @Nullable
+    private static TimeUnit readTimeUnit(@NotNull ThriftCompactReader reader) throws IOException {
+        TimeUnit unit = null;
+        reader.readStructBegin();
+        for (int fieldId = reader.readFieldBegin(); fieldId != -1; fieldId = reader.readFieldBegin()) {
+            switch (fieldId) {
+                case TIME_UNIT_MILLIS -> unit = TimeUnit.MILLISECONDS;
+                case TIME_UNIT_MICROS -> unit = TimeUnit.MICROSECONDS;
+                case TIME_UNIT_NANOS -> unit = TimeUnit.NANOSECONDS;
+            }
+            reader.skip(reader.getFieldType());
+        }
+        reader.readStructEnd();
+        return unit;
+    }
+
+    @NotNull
+    private static RowGroupInfo readRowGroup(@NotNull ThriftCompactReader reader) throws IOException {
+        RowGroupInfo rowGroup = new RowGroupInfo();
+        reader.readStructBegin();
+        for (int fieldId = reader.readFieldBegin(); fieldId != -1; fieldId = reader.readFieldBegin()) {
+            if (fieldId == 1) {
+                int size = reader.readListBegin();
+                for (int i = 0; i < size; i++) {
+                    rowGroup.chunks.add(readColumnChunkInfo(reader));
+                }
+            } else if (fieldId == 3) {
+                rowGroup.rowCount = reader.readI64();
+            } else {
+                reader.skip(reader.getFieldType());
+            }
+        }
+        reader.readStructEnd();
+        return rowGroup;
+    }
+
+    @NotNull
+    private static ColumnChunkInfo readColumnChunkInfo(@NotNull ThriftCompactReader reader) throws IOException {
+        ColumnChunkInfo chunk = new ColumnChunkInfo();
+        reader.readStructBegin();
+        for (int fieldId = reader.readFieldBegin(); fieldId != -1; fieldId = reader.readFieldBegin()) {
+            if (fieldId == 1) {
+                reader.readString();
+                chunk.external = true;
+            } else if (fieldId == 3) {
+                reader.readStructBegin();
+                for (int metaFieldId = reader.readFieldBegin(); metaFieldId != -1; metaFieldId = reader.readFieldBegin()) {
+                    switch (metaFieldId) {
+                        case 4 -> chunk.codec = reader.readI32();
+                        case 7 -> chunk.compressedSize = reader.readI64();
+                        case 9 -> chunk.dataPageOffset = reader.readI64();
+                        case 11 -> chunk.dictionaryPageOffset = reader.readI64();
+                        default -> reader.skip(reader.getFieldType());
+                    }
+                }
+                reader.readStructEnd();
+            } else {
+                reader.skip(reader.getFieldType());
+            }
+        }
+        reader.readStructEnd();
+        return chunk;
+    }
+
+    @NotNull
+    private static ColumnType getColumnType(@NotNull ColumnSchema column) throws IOException {
+        int physicalType = column.physicalType;
+        boolean binary = physicalType == TYPE_BYTE_ARRAY || physicalType == TYPE_FIXED_LEN_BYTE_ARRAY;
+        switch (column.logicalType) {
+            case LOGICAL_STRING:
+            case LOGICAL_ENUM:
+            case LOGICAL_JSON:
+                if (binary) {
+                    return ColumnType.STRING;
+                }
+                break;
+            case LOGICAL_DECIMAL:
+                return ColumnType.DECIMAL;
+            case LOGICAL_DATE:
+                return ColumnType.DATE;
+            case LOGICAL_TIME:
+                checkTimeUnit(column);
+                return ColumnType.TIME;
+            case LOGICAL_TIMESTAMP:
+                checkTimeUnit(column);
+                return ColumnType.TIMESTAMP;
+            case LOGICAL_INTEGER:
+                return ColumnType.INTEGER;
+            default:
+                break;
+        }
+        switch (column.convertedType) {
+            case CONVERTED_UTF8:
+            case CONVERTED_ENUM:
+            case CONVERTED_JSON:
+                if (binary) {
+                    return ColumnType.STRING;
+                }
+                break;
+            case CONVERTED_DECIMAL:
+                return ColumnType.DECIMAL;
+            case CONVERTED_DATE:
+                return ColumnType.DATE;
+            case CONVERTED_TIME_MILLIS:
+            case CONVERTED_TIME_MICROS:
+                column.timeUnit = column.convertedType == CONVERTED_TIME_MILLIS ? TimeUnit.MILLISECONDS : TimeUnit.MICROSECONDS;
+                return ColumnType.TIME;
+            case CONVERTED_TIMESTAMP_MILLIS:
+            case CONVERTED_TIMESTAMP_MICROS:
+                column.timeUnit = column.convertedType == CONVERTED_TIMESTAMP_MILLIS ? TimeUnit.MILLISECONDS : TimeUnit.MICROSECONDS;
+                return ColumnType.TIMESTAMP;
+            case CONVERTED_UINT_8:
+            case CONVERTED_UINT_16:
+            case CONVERTED_UINT_32:
+            case CONVERTED_UINT_64:
+                column.unsigned = true;
+                return ColumnType.INTEGER;
+            default:
+                break;
+        }
+        switch (physicalType) {
+            case TYPE_BOOLEAN:
+                return ColumnType.BOOLEAN;
+            case TYPE_INT32:
+            case TYPE_INT64:
+                return ColumnType.INTEGER;
+            case TYPE_INT96:
+                return ColumnType.TIMESTAMP;
+            case TYPE_FLOAT:
+            case TYPE_DOUBLE:
+                return ColumnType.DOUBLE;
+            case TYPE_BYTE_ARRAY:
+            case TYPE_FIXED_LEN_BYTE_ARRAY:
+                return ColumnType.BINARY;
+            default:
+                throw new IOException("Unsupported Parquet type " + physicalType + " of column '" + column.name + "'");
+        }
+    }
+
+    private static void checkTimeUnit(@NotNull ColumnSchema column) throws IOException {
+        if (column.timeUnit == null) {
+            throw new IOException("Time unit of column '" + column.name + "' is not specified");
+        }
+    }
+
+    ///////////////////////////////////////////////////
+    // Data
+
+    @NotNull
+    private Object[] readColumnChunk(@NotNull ColumnSchema column, @NotNull ColumnChunkInfo chunk, int rowCount) throws IOException {
+        if (chunk.external) {
+            throw new IOException("Column '" + column.name + "' is stored in external file");
+        }
+        long start = chunk.dataPageOffset;
+        if (chunk.dictionaryPageOffset > 0 && chunk.dictionaryPageOffset < start) {
+            start = chunk.dictionaryPageOffset;
+        }
+        byte[] data = read(start, Math.toIntExact(chunk.compressedSize));
+
+        Object[] values = new Object[rowCount];
+        Object[] dictionary = null;
+        int row = 0;
+        int position = 0;
+        while (row < rowCount && position < data.length) {
+            ThriftCompactReader headerReader = new ThriftCompactReader(data, position, data.length - position);
+            PageHeader header = readPageHeader(headerReader);
+            int pageOffset = headerReader.getPosition();
+            position = pageOffset + header.compressedSize;
+            if (header.compressedSize < 0 || position > data.length) {
+                throw new IOException("Page of column '" + column.name + "' is out of column chunk");
+            }
+            switch (header.type) {
+                case PAGE_DICTIONARY: {
+                    byte[] page = decompress(chunk.codec, data, pageOffset, header.compressedSize, header.uncompressedSize);
+                    dictionary = decodePlain(column, page, 0, page.length, header.valueCount);
+                    break;
+                }
+                case PAGE_DATA: {
+                    byte[] page = decompress(chunk.codec, data, pageOffset, header.compressedSize, header.uncompressedSize);
+                    int valuesOffset = 0;
+                    RleBitPackedDecoder levels = null;
+                    if (column.repetition == REPETITION_OPTIONAL) {
+                        int levelsLength = page.length < 4 ? -1 : getInt(page, 0);
+                        if (levelsLength < 0 || levelsLength > page.length - 4) {
+                            throw new IOException("Bad definition levels length in column '" + column.name + "'");
+                        }
+                        levels = new RleBitPackedDecoder(1, page, 4, levelsLength);
+                        valuesOffset = 4 + levelsLength;
+                    }
+                    row = readPageValues(column, header, levels, page, valuesOffset, page.length, dictionary, values, row);
+                    break;
+                }
+                case PAGE_DATA_V2: {
+                    int levelsLength = header.repetitionLevelsLength + header.definitionLevelsLength;
+                    if (header.repetitionLevelsLength < 0 || header.definitionLevelsLength < 0 || levelsLength > header.compressedSize) {
+                        throw new IOException("Bad levels length in column '" + column.name + "'");
+                    }
+                    RleBitPackedDecoder levels = null;
+                    if (column.repetition == REPETITION_OPTIONAL) {
+                        levels = new RleBitPackedDecoder(1, data, pageOffset + header.repetitionLevelsLength, header.definitionLevelsLength);
+                    }
+                    int valuesOffset = pageOffset + levelsLength;
+                    int valuesLength = header.compressedSize - levelsLength;
+                    byte[] page = header.compressed ?
+                        decompress(chunk.codec, data, valuesOffset, valuesLength, header.uncompressedSize - levelsLength) :
+                        Arrays.copyOfRange(data, valuesOffset, valuesOffset + valuesLength);
+                    row = readPageValues(column, header, levels, page, 0, page.length, dictionary, values, row);
+                    break;
+                }
+                default:
+                    // Index pages
+                    break;
+            }
+        }
+        if (row < rowCount) {
+            throw new IOException("Column '" + column.name + "' has " + row + " values while row group has " + rowCount + " rows");
+        }
+        return values;
+    }
+
+    private int readPageValues(
+        @NotNull ColumnSchema column,
+        @NotNull PageHeader header,
+        @Nullable RleBitPackedDecoder levels,
+        @NotNull byte[] page,
+        int offset,
+        int limit,
+        @Nullable Object[] dictionary,
+        @NotNull Object[] values,
+        int row
+    ) throws IOException {
+        int valueCount = header.valueCount;
+        if (valueCount < 0 || row + valueCount > values.length) {
+            throw new IOException("Page of column '" + column.name + "' has more values than row group");
+        }
+        boolean[] defined = null;
+        int definedCount = valueCount;
+        if (levels != null) {
+            defined = new boolean[valueCount];
+            definedCount = 0;
+            for (int i = 0; i < valueCount; i++) {
+                if (levels.read() != 0) {
+                    defined[i] = true;
+                    definedCount++;
+                }
+            }
+        }
+        Object[] pageValues = decodeValues(column, header.encoding, page, offset, limit, definedCount, dictionary);
+        for (int i = 0, k = 0; i < valueCount; i++) {
+            values[row + i] = defined == null || defined[i] ? pageValues[k++] : null;
+        }
+        return row + valueCount;
+    }
+
+    @NotNull
+    private static Object[] decodeValues(
+        @NotNull ColumnSchema column,
+        int encoding,
+        @NotNull byte[] page,
+        int offset,
+        int limit,
+        int count,
+        @Nullable Object[] dictionary
+    ) throws IOException {
+        switch (encoding) {
+            case ENCODING_PLAIN:
+                return decodePlain(column, page, offset, limit, count);
+            case ENCODING_PLAIN_DICTIONARY:
+            case ENCODING_RLE_DICTIONARY: {
+                if (count == 0) {
+                    return new Object[0];
+                }
+                if (dictionary == null) {
+                    throw new IOException("Dictionary page of column '" + column.name + "' is missing");
+                }
+                RleBitPackedDecoder ids = new RleBitPackedDecoder(page[offset], page, offset + 1, limit - offset - 1);
+                Object[] result = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    int id = ids.read();
+                    if (id < 0 || id >= dictionary.length) {
+                        throw new IOException("Bad dictionary id " + id + " in column '" + column.name + "'");
+                    }
+                    result[i] = dictionary[id];
+                }
+                return result;
+            }
+            case ENCODING_RLE: {
+                if (column.physicalType != TYPE_BOOLEAN || limit - offset < 4) {
+                    break;
+                }
+                RleBitPackedDecoder bits = new RleBitPackedDecoder(1, page, offset + 4, getInt(page, offset));
+                Object[] result = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    result[i] = bits.read() != 0;
+                }
+                return result;
+            }
+            default:
+                break;
+        }
+        throw new IOException("Unsupported Parquet encoding " + encoding + " of column '" + column.name + "'");
+    }
+
+    @NotNull
+    private static Object[] decodePlain(@NotNull ColumnSchema column, @NotNull byte[] page, int offset, int limit, int count) throws IOException {
+        Object[] result = new Object[count];
+        int position = offset;
+        for (int i = 0; i < count; i++) {
+            switch (column.physicalType) {
+                case TYPE_BOOLEAN:
+                    checkLimit(column, offset + i / 8, limit);
+                    result[i] = (page[offset + i / 8] >>> (i % 8) & 1) != 0;
+                    break;
+                case TYPE_INT32:
+                    checkLimit(column, position + 4, limit);
+                    result[i] = convertInteger(column, column.unsigned ? Integer.toUnsignedLong(getInt(page, position)) : getInt(page, position));
+                    position += 4;
+                    break;
+                case TYPE_INT64:
+                    checkLimit(column, position + 8, limit);
+                    result[i] = convertInteger(column, getLong(page, position));
+                    position += 8;
+                    break;
+                case TYPE_INT96: {
+                    checkLimit(column, position + 12, limit);
+                    long nanosOfDay = getLong(page, position);
+                    long epochDay = Integer.toUnsignedLong(getInt(page, position + 8)) - JULIAN_EPOCH_DAY;
+                    result[i] = ColumnarValues.fromEpoch(epochDay * NANOS_PER_DAY + nanosOfDay, TimeUnit.NANOSECONDS, true);
+                    position += 12;
+                    break;
+                }
+                case TYPE_FLOAT:
+                    checkLimit(column, position + 4, limit);
+                    result[i] = Float.intBitsToFloat(getInt(page, position));
+                    position += 4;
+                    break;
+                case TYPE_DOUBLE:
+                    checkLimit(column, position + 8, limit);
+                    result[i] = Double.longBitsToDouble(getLong(page, position));
+                    position += 8;
+                    break;
+                case TYPE_BYTE_ARRAY: {
+                    checkLimit(column, position + 4, limit);
+                    int length = getInt(page, position);
+                    position += 4;
+                    if (length < 0) {
+                        throw new IOException("Bad value length in column '" + column.name + "'");
+                    }
+                    checkLimit(column, position + length, limit);
+                    result[i] = convertBinary(column, page, position, length);
+                    position += length;
+                    break;
+                }
+                case TYPE_FIXED_LEN_BYTE_ARRAY:
+                    checkLimit(column, position + column.typeLength, limit);
+                    result[i] = convertBinary(column, page, position, column.typeLength);
+                    position += column.typeLength;
+                    break;
+                default:
+                    throw new IOException("Unsupported Parquet type " + column.physicalType);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static Object convertInteger(@NotNull ColumnSchema column, long value) {
+        switch (column.columnType) {
+            case DECIMAL:
+                return BigDecimal.valueOf(value, column.scale);
+            case DATE:
+                return ColumnarValues.fromEpochDay(value);
+            case TIME:
+                return ColumnarValues.fromTimeOfDay(value, column.timeUnit);
+            case TIMESTAMP:
+                return ColumnarValues.fromEpoch(value, column.timeUnit, column.utcAdjusted);
+            default:
+                if (column.physicalType == TYPE_INT32 && !column.unsigned) {
+                    return (int) value;
+                }
+                if (column.unsigned && value < 0) {
+                    return new BigInteger(Long.toUnsignedString(value));
+                }
+                return value;
+        }
+    }
+
+    @NotNull
+    private static Object convertBinary(@NotNull ColumnSchema column, @NotNull byte[] page, int offset, int length) {
+        switch (column.columnType) {
+            case STRING:
+                return new String(page, offset, length, StandardCharsets.UTF_8);
+            case DECIMAL:
+                if (length == 0) {
+                    return BigDecimal.ZERO.setScale(column.scale);
+                }
+                return ColumnarValues.fromUnscaledBytes(page, offset, length, column.scale);
+            default:
+                return Arrays.copyOfRange(page, offset, offset + length);
+        }
+    }
+
+    private static void checkLimit(@NotNull ColumnSchema column, int position, int limit) throws IOException {
+        if (position > limit) {
+            throw new IOException("Unexpected end of page in column '" + column.name + "'");
+        }
+    }
+
+    @NotNull
+    private static PageHeader readPageHeader(@NotNull ThriftCompactReader reader) throws IOException {
+        PageHeader header = new PageHeader();
+        reader.readStructBegin();
+        for (int fieldId = reader.readFieldBegin(); fieldId != -1; fieldId = reader.readFieldBegin()) {
+            switch (fieldId) {
+                case 1 -> header.type = reader.readI32();
+                case 2 -> header.uncompressedSize = reader.readI32();
+                case 3 -> header.compressedSize = reader.readI32();
+                case 5, 7, 8 -> readPageTypeHeader(reader, fieldId, header);
+                default -> reader.skip(reader.getFieldType());
+            }
+        }
+        reader.readStructEnd();
+        return header;
+    }
+
+    private static void readPageTypeHeader(@NotNull ThriftCompactReader reader, int pageFieldId, @NotNull PageHeader header) throws IOException {
+        reader.readStructBegin();
+        for (int fieldId = reader.readFieldBegin(); fieldId != -1; fieldId = reader.readFieldBegin()) {
+            if (fieldId == 1) {
+                header.valueCount = reader.readI32();
+            } else if (pageFieldId == 8) {
+                // Data page V2
+                switch (fieldId) {
+                    case 4 -> header.encoding = reader.readI32();
+                    case 5 -> header.definitionLevelsLength = reader.readI32();
+                    case 6 -> header.repetitionLevelsLength = reader.readI32();
+                    case 7 -> header.compressed = reader.readFieldBool();
+                    default -> reader.skip(reader.getFieldType());
+                }
+            } else if (fieldId == 2) {
+                header.encoding = reader.readI32();
+            } else {
+                reader.skip(reader.getFieldType());
+            }
+        }
+        reader.readStructEnd();
+    }
+
+    @NotNull
+    private static byte[] decompress(int codec, @NotNull byte[] data, int offset, int length, int uncompressedLength) throws IOException {
+        if (uncompressedLength < 0) {
+            throw new IOException("Bad page size: " + uncompressedLength);
+        }
+        switch (codec) {
+            case CODEC_UNCOMPRESSED:
+                return Arrays.copyOfRange(data, offset, offset + length);
+            case CODEC_SNAPPY:
+                return SnappyDecompressor.decompress(data, offset, length, uncompressedLength);
+            case CODEC_GZIP: {
+                byte[] result = new byte[uncompressedLength];
+                try (InputStream stream = new GZIPInputStream(new ByteArrayInputStream(data, offset, length))) {
+                    int position = 0;
+                    while (position < result.length) {
+                        int count = stream.read(result, position, result.length - position);
+                        if (count < 0) {
+                            throw new IOException("GZIP page is truncated");
+                        }
+                        position += count;
+                    }
+                }
+                return result;
+            }
+            default:
+                throw new IOException("Unsupported Parquet compression codec " + codec);
+        }
+    }
+
+    @NotNull
+    private byte[] read(long position, int length) throws IOException {
+        byte[] result = new byte[length];
+        ByteBuffer buffer = ByteBuffer.wrap(result);
+        channel.position(position);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of Parquet file");
+            }
+        }
+        return result;
+    }
+
+    private static int getInt(@NotNull byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8 | (bytes[offset + 2] & 0xFF) << 16 | (bytes[offset + 3] & 0xFF) << 24;
+    }
+
+    private static long getLong(@NotNull byte[] bytes, int offset) {
+        return (getInt(bytes, offset) & 0xFFFFFFFFL) | (long) getInt(bytes, offset + 4) << 32;
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ParquetConstants.*;
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ThriftCompactWriter.TYPE_BINARY;
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ThriftCompactWriter.TYPE_I32;
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ThriftCompactWriter.TYPE_STRUCT;
+
+/**
+ * Apache Parquet file writer.
+ *
+ * Each batch becomes a row group. All columns are optional (nullable) and flat.
+ * String columns use dictionary encoding while the dictionary of a row group stays small enough,
+ * other values are plain encoded. Data pages use format V1.
+ */
+public class ParquetFileWriter implements IColumnarFileWriter {
+
+    public enum Compression {
+        NONE(CODEC_UNCOMPRESSED),
+        GZIP(CODEC_GZIP);
+
+        private final int codec;
+
+        Compression(int codec) {
+            this.codec = codec;
+        }
+    }
+
+    private static final String CREATED_BY = "DBeaver";
+    // Approximate size of data page values
+    private static final int PAGE_SIZE = 1024 * 1024;
+
+    @NotNull
+    private final OutputStream out;
+    @NotNull
+    private final List<ColumnDescriptor> columns;
+    @NotNull
+    private final Compression compression;
+    private final List<RowGroupInfo> rowGroups = new ArrayList<>();
+    private long position;
+    private long rowCount;
+
+    private final LittleEndianOutput levels = new LittleEndianOutput(1024);
+    private final LittleEndianOutput values = new LittleEndianOutput(PAGE_SIZE + 1024);
+    private final LittleEndianOutput page = new LittleEndianOutput(PAGE_SIZE + 1024);
+    private final LittleEndianOutput pageHeader = new LittleEndianOutput(64);
+
+    private static class ColumnChunkInfo {
+        int type;
+        final List<Integer> encodings = new ArrayList<>();
+        long numValues;
+        long uncompressedSize;
+        long compressedSize;
+        long dataPageOffset;
+        long dictionaryPageOffset = -1;
+    }
+
+    private static class RowGroupInfo {
+        final long rowCount;
+        final long fileOffset;
+        final ColumnChunkInfo[] chunks;
+
+        RowGroupInfo(long rowCount, long fileOffset, int columnCount) {
+            this.rowCount = rowCount;
+            this.fileOffset = fileOffset;
+            this.chunks = new ColumnChunkInfo[columnCount];
+        }
+    }
+
+    public ParquetFileWriter(@NotNull OutputStream out, @NotNull List<ColumnDescriptor> columns, @NotNull Compression compression) {
+        this.out = out;
+        this.columns = columns;
+        this.compression = compression;
+    }
+
+    @Override
+    public void writeBatch(@NotNull ColumnBatch batch) throws IOException {
+        int rows = batch.getRowCount();
+        if (rows == 0) {
+            return;
+        }
+        writeMagic();
+        RowGroupInfo rowGroup = new RowGroupInfo(rows, position, columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            rowGroup.chunks[i] = writeColumnChunk(batch.getVector(i), rows);
+        }
+        rowGroups.add(rowGroup);
+        rowCount += rows;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writeMagic();
+        LittleEndianOutput footer = new LittleEndianOutput(4096);
+        writeFileMetaData(new ThriftCompactWriter(footer));
+        footer.writeTo(out);
+        out.write(new byte[] {
+            (byte) footer.size(), (byte) (footer.size() >> 8), (byte) (footer.size() >> 16), (byte) (footer.size() >> 24)
+        });
+        out.write(MAGIC);
+        position += footer.size() + 4 + MAGIC.length;
+    }
+
+    private void writeMagic() throws IOException {
+        if (position == 0) {
+            out.write(MAGIC);
+            position = MAGIC.length;
+        }
+    }
+
+    @NotNull
+    private ColumnChunkInfo writeColumnChunk(@NotNull ColumnVector vector, int rows) throws IOException {
+        ColumnChunkInfo chunk = new ColumnChunkInfo();
+        chunk.type = getPhysicalType(vector.getColumn().getType());
+        int bitWidth = -1;
+        if (vector.isDictionaryEncoded() && !vector.getDictionary().isEmpty()) {
+            List<String> dictionary = vector.getDictionary();
+            values.reset();
+            for (String value : dictionary) {
+                writeByteArray(value.getBytes(StandardCharsets.UTF_8));
+            }
+            chunk.dictionaryPageOffset = position;
+            writeDictionaryPage(chunk, dictionary.size(), values);
+            bitWidth = RleBitPackedEncoder.getBitWidth(dictionary.size() - 1);
+            chunk.encodings.add(ENCODING_PLAIN_DICTIONARY);
+        } else {
+            chunk.encodings.add(ENCODING_PLAIN);
+        }
+        chunk.encodings.add(ENCODING_RLE);
+        chunk.dataPageOffset = position;
+
+        for (int pageStart = 0; pageStart < rows; ) {
+            levels.reset();
+            values.reset();
+            RleBitPackedEncoder levelEncoder = new RleBitPackedEncoder(1, levels);
+            RleBitPackedEncoder idEncoder = null;
+            if (bitWidth >= 0) {
+                values.writeByte(bitWidth);
+                idEncoder = new RleBitPackedEncoder(bitWidth, values);
+            }
+            int booleanBits = 0, booleanCount = 0;
+            int pageEnd = pageStart;
+            while (pageEnd < rows && values.size() < PAGE_SIZE) {
+                int row = pageEnd++;
+                if (vector.isNull(row)) {
+                    levelEncoder.write(0);
+                    continue;
+                }
+                levelEncoder.write(1);
+                if (idEncoder != null) {
+                    idEncoder.write(vector.getDictionaryId(row));
+                } else if (chunk.type == TYPE_BOOLEAN) {
+                    booleanBits |= (int) vector.getLong(row) << booleanCount;
+                    if (++booleanCount == 8) {
+                        values.writeByte(booleanBits);
+                        booleanBits = 0;
+                        booleanCount = 0;
+                    }
+                } else {
+                    writePlainValue(vector, row);
+                }
+            }
+            levelEncoder.finish();
+            if (idEncoder != null) {
+                idEncoder.finish();
+            }
+            if (booleanCount > 0) {
+                values.writeByte(booleanBits);
+            }
+            page.reset();
+            page.writeInt(levels.size());
+            page.writeBuffer(levels);
+            page.writeBuffer(values);
+            writeDataPage(chunk, pageEnd - pageStart, idEncoder != null ? ENCODING_PLAIN_DICTIONARY : ENCODING_PLAIN, page);
+            pageStart = pageEnd;
+        }
+        return chunk;
+    }
+
+    private void writePlainValue(@NotNull ColumnVector vector, int row) {
+        switch (vector.getColumn().getType()) {
+            case INTEGER:
+            case TIME:
+            case TIMESTAMP:
+                values.writeLong(vector.getLong(row));
+                break;
+            case DATE:
+                values.writeInt((int) vector.getLong(row));
+                break;
+            case DOUBLE:
+                values.writeDouble(vector.getDouble(row));
+                break;
+            case DECIMAL:
+                writeByteArray(ColumnarValues.getUnscaledBytes(vector.getDecimal(row)));
+                break;
+            case STRING:
+                writeByteArray(vector.getString(row).getBytes(StandardCharsets.UTF_8));
+                break;
+            case BINARY:
+                writeByteArray(vector.getBinary(row));
+                break;
+            default:
+                throw new IllegalStateException("Unexpected plain type " + vector.getColumn().getType());
+        }
+    }
+
+    private void writeByteArray(@NotNull byte[] bytes) {
+        values.writeInt(bytes.length);
+        values.writeBytes(bytes);
+    }
+
+    private void writeDictionaryPage(@NotNull ColumnChunkInfo chunk, int valueCount, @NotNull LittleEndianOutput data) throws IOException {
+        byte[] compressed = compress(data);
+        pageHeader.reset();
+        ThriftCompactWriter header = new ThriftCompactWriter(pageHeader);
+        header.writeStructBegin();
+        header.writeFieldI32(1, PAGE_DICTIONARY);
+        header.writeFieldI32(2, data.size());
+        header.writeFieldI32(3, compressed == null ? data.size() : compressed.length);
+        header.writeFieldStructBegin(7);
+        header.writeFieldI32(1, valueCount);
+        header.writeFieldI32(2, ENCODING_PLAIN_DICTIONARY);
+        header.writeStructEnd();
+        header.writeStructEnd();
+        writePage(chunk, data, compressed);
+    }
+
+    private void writeDataPage(@NotNull ColumnChunkInfo chunk, int valueCount, int encoding, @NotNull LittleEndianOutput data) throws IOException {
+        byte[] compressed = compress(data);
+        pageHeader.reset();
+        ThriftCompactWriter header = new ThriftCompactWriter(pageHeader);
+        header.writeStructBegin();
+        header.writeFieldI32(1, PAGE_DATA);
+        header.writeFieldI32(2, data.size());
+        header.writeFieldI32(3, compressed == null ? data.size() : compressed.length);
+        header.writeFieldStructBegin(5);
+        header.writeFieldI32(1, valueCount);
+        header.writeFieldI32(2, encoding);
+        header.writeFieldI32(3, ENCODING_RLE);
+        header.writeFieldI32(4, ENCODING_RLE);
+        header.writeStructEnd();
+        header.writeStructEnd();
+        writePage(chunk, data, compressed);
+        chunk.numValues += valueCount;
+    }
+
+    private void writePage(@NotNull ColumnChunkInfo chunk, @NotNull LittleEndianOutput data, @Nullable byte[] compressed) throws IOException {
+        pageHeader.writeTo(out);
+        int compressedSize;
+        if (compressed == null) {
+            data.writeTo(out);
+            compressedSize = data.size();
+        } else {
+            out.write(compressed);
+            compressedSize = compressed.length;
+        }
+        position += pageHeader.size() + compressedSize;
+        chunk.uncompressedSize += pageHeader.size() + data.size();
+        chunk.compressedSize += pageHeader.size() + compressedSize;
+    }
+
+    @Nullable
+    private byte[] compress(@NotNull LittleEndianOutput data) throws IOException {
+        if (compression == Compression.NONE) {
+            return null;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.size() / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            data.writeTo(gzip);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void writeFileMetaData(@NotNull ThriftCompactWriter writer) {
+        writer.writeStructBegin();
+        writer.writeFieldI32(1, 1);
+        writer.writeFieldListBegin(2, TYPE_STRUCT, columns.size() + 1);
+        writer.writeStructBegin();
+        writer.writeFieldString(4, "schema");
+        writer.writeFieldI32(5, columns.size());
+        writer.writeStructEnd();
+        for (ColumnDescriptor column : columns) {
+            writeSchemaElement(writer, column);
+        }
+        writer.writeFieldI64(3, rowCount);
+        writer.writeFieldListBegin(4, TYPE_STRUCT, rowGroups.size());
+        for (RowGroupInfo rowGroup : rowGroups) {
+            writeRowGroup(writer, rowGroup);
+        }
+        writer.writeFieldString(6, CREATED_BY);
+        writer.writeStructEnd();
+    }
+
+    private void writeSchemaElement(@NotNull ThriftCompactWriter writer, @NotNull ColumnDescriptor column) {
+        writer.writeStructBegin();
+        writer.writeFieldI32(1, getPhysicalType(column.getType()));
+        writer.writeFieldI32(3, REPETITION_OPTIONAL);
+        writer.writeFieldString(4, column.getName());
+        switch (column.getType()) {
+            case STRING:
+                writer.writeFieldI32(6, CONVERTED_UTF8);
+                writer.writeFieldStructBegin(10);
+                writeEmptyStruct(writer, LOGICAL_STRING);
+                writer.writeStructEnd();
+                break;
+            case DECIMAL:
+                writer.writeFieldI32(6, CONVERTED_DECIMAL);
+                writer.writeFieldI32(7, column.getScale());
+                writer.writeFieldI32(8, column.getPrecision());
+                writer.writeFieldStructBegin(10);
+                writer.writeFieldStructBegin(LOGICAL_DECIMAL);
+                writer.writeFieldI32(1, column.getScale());
+                writer.writeFieldI32(2, column.getPrecision());
+                writer.writeStructEnd();
+                writer.writeStructEnd();
+                break;
+            case DATE:
+                writer.writeFieldI32(6, CONVERTED_DATE);
+                writer.writeFieldStructBegin(10);
+                writeEmptyStruct(writer, LOGICAL_DATE);
+                writer.writeStructEnd();
+                break;
+            case TIME:
+            case TIMESTAMP:
+                // Converted type is set for compatibility with old readers
+                writer.writeFieldI32(6, column.getType() == ColumnType.TIME ? CONVERTED_TIME_MICROS : CONVERTED_TIMESTAMP_MICROS);
+                writer.writeFieldStructBegin(10);
+                writer.writeFieldStructBegin(column.getType() == ColumnType.TIME ? LOGICAL_TIME : LOGICAL_TIMESTAMP);
+                writer.writeFieldBool(1, false);
+                writer.writeFieldStructBegin(2);
+                writeEmptyStruct(writer, TIME_UNIT_MICROS);
+                writer.writeStructEnd();
+                writer.writeStructEnd();
+                writer.writeStructEnd();
+                break;
+            default:
+                break;
+        }
+        writer.writeStructEnd();
+    }
+
+    private static void writeEmptyStruct(@NotNull ThriftCompactWriter writer, int fieldId) {
+        writer.writeFieldStructBegin(fieldId);
+        writer.writeStructEnd();
+    }
+
+    private void writeRowGroup(@NotNull ThriftCompactWriter writer, @NotNull RowGroupInfo rowGroup) {
+        long totalSize = 0, totalCompressedSize = 0;
+        writer.writeStructBegin();
+        writer.writeFieldListBegin(1, TYPE_STRUCT, rowGroup.chunks.length);
+        for (int i = 0; i < rowGroup.chunks.length; i++) {
+            ColumnChunkInfo chunk = rowGroup.chunks[i];
+            totalSize += chunk.uncompressedSize;
+            totalCompressedSize += chunk.compressedSize;
+            long chunkOffset = chunk.dictionaryPageOffset >= 0 ? chunk.dictionaryPageOffset : chunk.dataPageOffset;
+            writer.writeStructBegin();
+            writer.writeFieldI64(2, chunkOffset);
+            writer.writeFieldStructBegin(3);
+            writer.writeFieldI32(1, chunk.type);
+            writer.writeFieldListBegin(2, TYPE_I32, chunk.encodings.size());
+            for (int encoding : chunk.encodings) {
+                writer.writeI32(encoding);
+            }
+            writer.writeFieldListBegin(3, TYPE_BINARY, 1);
+            writer.writeString(columns.get(i).getName());
+            writer.writeFieldI32(4, compression.codec);
+            writer.writeFieldI64(5, chunk.numValues);
+            writer.writeFieldI64(6, chunk.uncompressedSize);
+            writer.writeFieldI64(7, chunk.compressedSize);
+            writer.writeFieldI64(9, chunk.dataPageOffset);
+            if (chunk.dictionaryPageOffset >= 0) {
+                writer.writeFieldI64(11, chunk.dictionaryPageOffset);
+            }
+            writer.writeStructEnd();
+            writer.writeStructEnd();
+        }
+        writer.writeFieldI64(2, totalSize);
+        writer.writeFieldI64(3, rowGroup.rowCount);
+        writer.writeFieldI64(5, rowGroup.fileOffset);
+        writer.writeFieldI64(6, totalCompressedSize);
+        writer.writeStructEnd();
+    }
+
+    static int getPhysicalType(@NotNull ColumnType type) {
+        switch (type) {
+            case BOOLEAN:
+                return TYPE_BOOLEAN;
+            case DATE:
+                return TYPE_INT32;
+            case INTEGER:
+            case TIME:
+            case TIMESTAMP:
+                return TYPE_INT64;
+            case DOUBLE:
+                return TYPE_DOUBLE;
+            default:
+                return TYPE_BYTE_ARRAY;
+        }
+    }
+}
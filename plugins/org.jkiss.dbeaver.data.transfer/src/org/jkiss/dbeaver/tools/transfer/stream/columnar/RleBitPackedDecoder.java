@@ -0,0 +1,104 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Decoder of the Parquet RLE/bit-packing hybrid encoding
+ */
+final class RleBitPackedDecoder {
+
+    private final int bitWidth;
+    @NotNull
+    private final byte[] bytes;
+    private int position;
+    private final int limit;
+
+    private int rleCount;
+    private int rleValue;
+    private int packedCount;
+    private long packedBitOffset;
+
+    RleBitPackedDecoder(int bitWidth, @NotNull byte[] bytes, int offset, int length) throws IOException {
+        if (bitWidth < 0 || bitWidth > 32) {
+            throw new IOException("Bad RLE bit width: " + bitWidth);
+        }
+        this.bitWidth = bitWidth;
+        this.bytes = bytes;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    int read() throws IOException {
+        if (rleCount == 0 && packedCount == 0) {
+            readRunHeader();
+        }
+        if (rleCount > 0) {
+            rleCount--;
+            return rleValue;
+        }
+        packedCount--;
+        int byteIndex = (int) (packedBitOffset >>> 3);
+        int shift = (int) (packedBitOffset & 7);
+        long word = 0;
+        for (int i = 0, count = (shift + bitWidth + 7) >>> 3; i < count && byteIndex + i < limit; i++) {
+            word |= (long) (bytes[byteIndex + i] & 0xFF) << (i * 8);
+        }
+        packedBitOffset += bitWidth;
+        return (int) ((word >>> shift) & ((1L << bitWidth) - 1));
+    }
+
+    private void readRunHeader() throws IOException {
+        long header = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (position >= limit || shift > 35) {
+                throw new IOException("Unexpected end of RLE data");
+            }
+            byte b = bytes[position++];
+            header |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if ((header & 1) == 0) {
+            rleCount = (int) (header >>> 1);
+            rleValue = 0;
+            int valueBytes = (bitWidth + 7) / 8;
+            if (position + valueBytes > limit) {
+                throw new IOException("Unexpected end of RLE data");
+            }
+            for (int i = 0; i < valueBytes; i++) {
+                rleValue |= (bytes[position++] & 0xFF) << (i * 8);
+            }
+            if (rleCount == 0) {
+                readRunHeader();
+            }
+        } else {
+            int groups = (int) (header >>> 1);
+            packedCount = groups * 8;
+            packedBitOffset = (long) position * 8;
+            // Last group may be truncated by writers, values past the end are not used
+            position = Math.min(limit, position + groups * bitWidth);
+            if (packedCount == 0) {
+                readRunHeader();
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Encoder of the Parquet RLE/bit-packing hybrid encoding.
+ * Used for definition levels, dictionary ids and booleans.
+ *
+ * Values are collected in groups of 8. Group of 8 equal values starts RLE run, other groups are bit-packed.
+ */
+final class RleBitPackedEncoder {
+
+    // Bit-packed run header is a single byte, it can hold up to 63 groups
+    private static final int MAX_BIT_PACKED_GROUPS = 63;
+
+    private final int bitWidth;
+    @NotNull
+    private final LittleEndianOutput out;
+    private final int[] bufferedValues = new int[8];
+    private int bufferedCount;
+    private int previousValue;
+    private int repeatCount;
+    private int bitPackedGroupCount;
+    private int bitPackedHeaderPosition = -1;
+
+    RleBitPackedEncoder(int bitWidth, @NotNull LittleEndianOutput out) {
+        this.bitWidth = bitWidth;
+        this.out = out;
+    }
+
+    static int getBitWidth(int maxValue) {
+        return 32 - Integer.numberOfLeadingZeros(maxValue);
+    }
+
+    void write(int value) {
+        if (value == previousValue) {
+            repeatCount++;
+            if (repeatCount >= 8) {
+                // Continue RLE run
+                return;
+            }
+        } else {
+            if (repeatCount >= 8) {
+                writeRleRun();
+            }
+            repeatCount = 1;
+            previousValue = value;
+        }
+        bufferedValues[bufferedCount++] = value;
+        if (bufferedCount == 8) {
+            writeBitPackedGroup();
+        }
+    }
+
+    /**
+     * Writes buffered values. Encoder must not be used after this.
+     */
+    void finish() {
+        if (repeatCount >= 8) {
+            writeRleRun();
+        } else if (bufferedCount > 0) {
+            for (int i = bufferedCount; i < 8; i++) {
+                bufferedValues[i] = 0;
+            }
+            writeBitPackedGroup();
+            endBitPackedRun();
+        } else {
+            endBitPackedRun();
+        }
+    }
+
+    private void writeBitPackedGroup() {
+        if (bitPackedGroupCount >= MAX_BIT_PACKED_GROUPS) {
+            endBitPackedRun();
+        }
+        if (bitPackedHeaderPosition == -1) {
+            bitPackedHeaderPosition = out.size();
+            out.writeByte(0);
+        }
+        // 8 values take exactly bitWidth bytes
+        long bits = 0;
+        int bitCount = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (long) bufferedValues[i] << bitCount;
+            bitCount += bitWidth;
+            while (bitCount >= 8) {
+                out.writeByte((int) bits);
+                bits >>>= 8;
+                bitCount -= 8;
+            }
+        }
+        bufferedCount = 0;
+        repeatCount = 0;
+        bitPackedGroupCount++;
+    }
+
+    private void endBitPackedRun() {
+        if (bitPackedHeaderPosition == -1) {
+            return;
+        }
+        out.setByte(bitPackedHeaderPosition, bitPackedGroupCount << 1 | 1);
+        bitPackedHeaderPosition = -1;
+        bitPackedGroupCount = 0;
+    }
+
+    private void writeRleRun() {
+        endBitPackedRun();
+        out.writeVarInt((long) repeatCount << 1);
+        for (int i = 0; i < bitWidth; i += 8) {
+            out.writeByte(previousValue >>> i);
+        }
+        repeatCount = 0;
+        bufferedCount = 0;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Decompressor of raw (not framed) Snappy blocks. Parquet files use it by default.
+ */
+final class SnappyDecompressor {
+
+    private SnappyDecompressor() {
+    }
+
+    @NotNull
+    static byte[] decompress(@NotNull byte[] input, int offset, int length, int uncompressedLength) throws IOException {
+        int position = offset;
+        int limit = offset + length;
+        // Uncompressed length prefix
+        long expectedLength = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (position >= limit || shift > 28) {
+                throw new IOException("Bad Snappy block header");
+            }
+            int b = input[position++] & 0xFF;
+            expectedLength |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (expectedLength != uncompressedLength) {
+            throw new IOException("Snappy block length " + expectedLength + " doesn't match page length " + uncompressedLength);
+        }
+        byte[] output = new byte[uncompressedLength];
+        int outPosition = 0;
+        while (position < limit) {
+            int tag = input[position++] & 0xFF;
+            int tagType = tag & 3;
+            if (tagType == 0) {
+                // Literal
+                int literalLength = tag >>> 2;
+                if (literalLength >= 60) {
+                    int lengthBytes = literalLength - 59;
+                    literalLength = 0;
+                    for (int i = 0; i < lengthBytes; i++) {
+                        literalLength |= (input[position++] & 0xFF) << (i * 8);
+                    }
+                }
+                literalLength++;
+                if (literalLength <= 0 || position + literalLength > limit || outPosition + literalLength > output.length) {
+                    throw new IOException("Bad Snappy literal");
+                }
+                System.arraycopy(input, position, output, outPosition, literalLength);
+                position += literalLength;
+                outPosition += literalLength;
+            } else {
+                int copyLength;
+                int copyOffset;
+                if (tagType == 1) {
+                    copyLength = ((tag >>> 2) & 7) + 4;
+                    copyOffset = ((tag >>> 5) << 8) | (input[position++] & 0xFF);
+                } else if (tagType == 2) {
+                    copyLength = (tag >>> 2) + 1;
+                    copyOffset = (input[position] & 0xFF) | (input[position + 1] & 0xFF) << 8;
+                    position += 2;
+                } else {
+                    copyLength = (tag >>> 2) + 1;
+                    copyOffset = (input[position] & 0xFF) | (input[position + 1] & 0xFF) << 8 |
+                        (input[position + 2] & 0xFF) << 16 | (input[position + 3] & 0xFF) << 24;
+                    position += 4;
+                }
+                if (copyOffset <= 0 || copyOffset > outPosition || outPosition + copyLength > output.length) {
+                    throw new IOException("Bad Snappy copy");
+                }
+                // Source and target may overlap
+                for (int i = 0; i < copyLength; i++) {
+                    output[outPosition] = output[outPosition - copyOffset];
+                    outPosition++;
+                }
+            }
+        }
+        if (outPosition != output.length) {
+            throw new IOException("Snappy block is truncated");
+        }
+        return output;
+    }
+}
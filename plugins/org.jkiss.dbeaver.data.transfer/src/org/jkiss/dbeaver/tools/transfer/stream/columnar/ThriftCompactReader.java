@@ -0,0 +1,227 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ThriftCompactWriter.*;
+
+/**
+ * Thrift compact protocol reader
+ */
+final class ThriftCompactReader {
+
+    private static final int MAX_NESTING = 32;
+
+    @NotNull
+    private final byte[] bytes;
+    private int position;
+    private final int limit;
+    private final int[] lastFieldIds = new int[MAX_NESTING];
+    private int depth;
+    private int lastFieldId;
+    private int fieldType;
+
+    ThriftCompactReader(@NotNull byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    void readStructBegin() throws IOException {
+        if (depth == MAX_NESTING) {
+            throw new IOException("Thrift structure is too deep");
+        }
+        lastFieldIds[depth++] = lastFieldId;
+        lastFieldId = 0;
+    }
+
+    void readStructEnd() {
+        lastFieldId = lastFieldIds[--depth];
+    }
+
+    /**
+     * Reads field header. Returns field id or -1 at the end of structure.
+     */
+    int readFieldBegin() throws IOException {
+        int header = readByte() & 0xFF;
+        if (header == 0) {
+            return -1;
+        }
+        fieldType = header & 0x0F;
+        int delta = header >>> 4;
+        lastFieldId = delta == 0 ? (short) readI32() : lastFieldId + delta;
+        return lastFieldId;
+    }
+
+    int getFieldType() {
+        return fieldType;
+    }
+
+    boolean readFieldBool() {
+        return fieldType == TYPE_BOOLEAN_TRUE;
+    }
+
+    byte readI8() throws IOException {
+        return readByte();
+    }
+
+    int readI32() throws IOException {
+        long value = readVarInt();
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+
+    long readI64() throws IOException {
+        long value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @NotNull
+    String readString() throws IOException {
+        int length = readLength();
+        String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    @NotNull
+    byte[] readBinary() throws IOException {
+        int length = readLength();
+        byte[] value = new byte[length];
+        System.arraycopy(bytes, position, value, 0, length);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Reads list header and returns list size. Element type is available with {@link #getFieldType()}
+     */
+    int readListBegin() throws IOException {
+        int header = readByte() & 0xFF;
+        fieldType = header & 0x0F;
+        int size = header >>> 4;
+        if (size == 15) {
+            size = (int) readVarInt();
+        }
+        if (size < 0 || size > limit - position) {
+            throw new IOException("Bad Thrift list size: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Skips value of the specified type
+     */
+    void skip(int type) throws IOException {
+        switch (type) {
+            case TYPE_BOOLEAN_TRUE:
+            case TYPE_BOOLEAN_FALSE:
+                break;
+            case TYPE_BYTE:
+                readByte();
+                break;
+            case TYPE_I16:
+            case TYPE_I32:
+            case TYPE_I64:
+                readVarInt();
+                break;
+            case TYPE_DOUBLE:
+                position += 8;
+                break;
+            case TYPE_BINARY: {
+                int length = readLength();
+                position += length;
+                break;
+            }
+            case TYPE_LIST:
+            case TYPE_SET: {
+                int size = readListBegin();
+                int elementType = fieldType;
+                for (int i = 0; i < size; i++) {
+                    skipElement(elementType);
+                }
+                break;
+            }
+            case TYPE_MAP: {
+                int size = (int) readVarInt();
+                if (size > 0) {
+                    int types = readByte() & 0xFF;
+                    for (int i = 0; i < size; i++) {
+                        skipElement(types >>> 4);
+                        skipElement(types & 0x0F);
+                    }
+                }
+                break;
+            }
+            case TYPE_STRUCT:
+                readStructBegin();
+                for (int fieldId = readFieldBegin(); fieldId != -1; fieldId = readFieldBegin()) {
+                    skip(fieldType);
+                }
+                readStructEnd();
+                break;
+            default:
+                throw new IOException("Unknown Thrift type: " + type);
+        }
+        if (position > limit) {
+            throw new IOException("Unexpected end of Thrift data");
+        }
+    }
+
+    private void skipElement(int type) throws IOException {
+        if (type == TYPE_BOOLEAN_TRUE || type == TYPE_BOOLEAN_FALSE) {
+            // Booleans in collections take one byte
+            readByte();
+        } else {
+            skip(type);
+        }
+    }
+
+    private int readLength() throws IOException {
+        long length = readVarInt();
+        if (length < 0 || length > limit - position) {
+            throw new IOException("Bad Thrift binary length: " + length);
+        }
+        return (int) length;
+    }
+
+    private byte readByte() throws IOException {
+        if (position >= limit) {
+            throw new IOException("Unexpected end of Thrift data");
+        }
+        return bytes[position++];
+    }
+
+    private long readVarInt() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Bad Thrift variable length integer");
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.code.NotNull;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Thrift compact protocol writer. Parquet metadata and page headers use it.
+ */
+final class ThriftCompactWriter {
+
+    static final int TYPE_BOOLEAN_TRUE = 1;
+    static final int TYPE_BOOLEAN_FALSE = 2;
+    static final int TYPE_BYTE = 3;
+    static final int TYPE_I16 = 4;
+    static final int TYPE_I32 = 5;
+    static final int TYPE_I64 = 6;
+    static final int TYPE_DOUBLE = 7;
+    static final int TYPE_BINARY = 8;
+    static final int TYPE_LIST = 9;
+    static final int TYPE_SET = 10;
+    static final int TYPE_MAP = 11;
+    static final int TYPE_STRUCT = 12;
+
+    private static final int MAX_NESTING = 32;
+
+    @NotNull
+    private final LittleEndianOutput out;
+    private final int[] lastFieldIds = new int[MAX_NESTING];
+    private int depth;
+    private int lastFieldId;
+
+    ThriftCompactWriter(@NotNull LittleEndianOutput out) {
+        this.out = out;
+    }
+
+    void writeStructBegin() {
+        lastFieldIds[depth++] = lastFieldId;
+        lastFieldId = 0;
+    }
+
+    void writeStructEnd() {
+        out.writeByte(0);
+        lastFieldId = lastFieldIds[--depth];
+    }
+
+    void writeFieldStructBegin(int fieldId) {
+        writeFieldHeader(fieldId, TYPE_STRUCT);
+        writeStructBegin();
+    }
+
+    void writeFieldI32(int fieldId, int value) {
+        writeFieldHeader(fieldId, TYPE_I32);
+        writeI32(value);
+    }
+
+    void writeFieldI64(int fieldId, long value) {
+        writeFieldHeader(fieldId, TYPE_I64);
+        writeI64(value);
+    }
+
+    void writeFieldBool(int fieldId, boolean value) {
+        writeFieldHeader(fieldId, value ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE);
+    }
+
+    void writeFieldString(int fieldId, @NotNull String value) {
+        writeFieldHeader(fieldId, TYPE_BINARY);
+        writeString(value);
+    }
+
+    void writeFieldListBegin(int fieldId, int elementType, int size) {
+        writeFieldHeader(fieldId, TYPE_LIST);
+        if (size < 15) {
+            out.writeByte(size << 4 | elementType);
+        } else {
+            out.writeByte(0xF0 | elementType);
+            out.writeVarInt(size);
+        }
+    }
+
+    void writeI32(int value) {
+        out.writeVarInt(Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+    }
+
+    void writeI64(long value) {
+        out.writeVarInt((value << 1) ^ (value >> 63));
+    }
+
+    void writeString(@NotNull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeVarInt(bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private void writeFieldHeader(int fieldId, int type) {
+        int delta = fieldId - lastFieldId;
+        if (delta > 0 && delta <= 15) {
+            out.writeByte(delta << 4 | type);
+        } else {
+            out.writeByte(type);
+            writeI32(fieldId);
+        }
+        lastFieldId = fieldId;
+    }
+}
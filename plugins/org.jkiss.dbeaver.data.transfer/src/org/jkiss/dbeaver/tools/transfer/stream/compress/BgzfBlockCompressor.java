@@ -0,0 +1,155 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * BGZF compressor.
+ * <p>
+ * Output is a series of gzip members, each of them holds up to 64Kb of data and its compressed size
+ * in the extra field. Any gzip reader reads it as an ordinary gzip file.
+ * Blocks are grouped into chunks to reduce the overhead of parallel compression.
+ */
+public class BgzfBlockCompressor implements BlockCompressor {
+
+    // Maximal uncompressed size of BGZF block. Incompressible data must still fit into 64Kb.
+    private static final int MAX_BLOCK_DATA_SIZE = 0xff00;
+    private static final int BLOCKS_PER_CHUNK = 16;
+
+    private static final int HEADER_SIZE = 18;
+    private static final int TRAILER_SIZE = 8;
+    private static final int MAX_BLOCK_SIZE = 0x10000;
+
+    private static final byte[] EOF_BLOCK = {
+        0x1f, (byte) 0x8b, 0x08, 0x04, 0x00, 0x00, 0x00, 0x00, 0x00, (byte) 0xff, 0x06, 0x00, 0x42, 0x43, 0x02, 0x00,
+        0x1b, 0x00, 0x03, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00
+    };
+
+    private final int level;
+
+    public BgzfBlockCompressor() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public BgzfBlockCompressor(int level) {
+        this.level = level;
+    }
+
+    @Override
+    public int getBlockSize() {
+        return MAX_BLOCK_DATA_SIZE * BLOCKS_PER_CHUNK;
+    }
+
+    @NotNull
+    @Override
+    public byte[] compressBlock(@NotNull byte[] data, int length) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + HEADER_SIZE);
+        byte[] buffer = new byte[MAX_BLOCK_SIZE];
+        Deflater deflater = new Deflater(level, true);
+        try {
+            for (int offset = 0; offset < length; offset += MAX_BLOCK_DATA_SIZE) {
+                int blockLength = Math.min(MAX_BLOCK_DATA_SIZE, length - offset);
+                int compressedLength = deflate(deflater, data, offset, blockLength, buffer);
+                if (compressedLength < 0) {
+                    // Incompressible data. Stored deflate blocks fit into BGZF block for sure.
+                    deflater.end();
+                    deflater = new Deflater(Deflater.NO_COMPRESSION, true);
+                    compressedLength = deflate(deflater, data, offset, blockLength, buffer);
+                    deflater.end();
+                    deflater = new Deflater(level, true);
+                }
+                writeBlock(out, data, offset, blockLength, buffer, compressedLength);
+            }
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    @Nullable
+    @Override
+    public byte[] getTrailer() {
+        return EOF_BLOCK;
+    }
+
+    /**
+     * Returns compressed length or -1 if compressed block doesn't fit into the buffer
+     */
+    private static int deflate(@NotNull Deflater deflater, @NotNull byte[] data, int offset, int length, @NotNull byte[] buffer) {
+        int maxLength = MAX_BLOCK_SIZE - HEADER_SIZE - TRAILER_SIZE;
+        deflater.reset();
+        deflater.setInput(data, offset, length);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == maxLength) {
+                return -1;
+            }
+            compressedLength += deflater.deflate(buffer, compressedLength, maxLength - compressedLength);
+        }
+        return compressedLength;
+    }
+
+    private static void writeBlock(
+        @NotNull ByteArrayOutputStream out,
+        @NotNull byte[] data,
+        int offset,
+        int length,
+        @NotNull byte[] compressed,
+        int compressedLength
+    ) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        int blockSize = HEADER_SIZE + compressedLength + TRAILER_SIZE;
+
+        // ID1, ID2, CM (deflate), FLG (extra field present)
+        out.write(0x1f);
+        out.write(0x8b);
+        out.write(0x08);
+        out.write(0x04);
+        // MTIME, XFL, OS (unknown)
+        writeInt(out, 0);
+        out.write(0);
+        out.write(0xff);
+        // XLEN and BC subfield with the total block size minus 1
+        writeShort(out, 6);
+        out.write('B');
+        out.write('C');
+        writeShort(out, 2);
+        writeShort(out, blockSize - 1);
+
+        out.write(compressed, 0, compressedLength);
+        writeInt(out, (int) crc.getValue());
+        writeInt(out, length);
+    }
+
+    private static void writeShort(@NotNull ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+    }
+
+    private static void writeInt(@NotNull ByteArrayOutputStream out, int value) {
+        writeShort(out, value);
+        writeShort(out, value >>> 16);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Compresses blocks of data independently of each other, so blocks may be compressed in parallel.
+ * Compressed blocks written one after another make a valid compressed file.
+ * <p>
+ * Implementations must be thread safe.
+ */
+public interface BlockCompressor {
+
+    /**
+     * Size of uncompressed block
+     */
+    int getBlockSize();
+
+    /**
+     * Compresses block. Data length is less than or equal to the block size.
+     */
+    @NotNull
+    byte[] compressBlock(@NotNull byte[] data, int length) throws IOException;
+
+    /**
+     * Data which is written after the last block
+     */
+    @Nullable
+    byte[] getTrailer();
+}
@@ -0,0 +1,119 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.code.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Compressed streams utilities
+ */
+public final class CompressionUtils {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final int ZIP_MAGIC = 0x04034b50;
+    private static final int MAGIC_LENGTH = 4;
+
+    private CompressionUtils() {
+    }
+
+    /**
+     * Returns stream which decompresses gzip (including BGZF), Zstandard or ZIP (the first file entry) data.
+     * Format is detected by the magic number, uncompressed data is returned as is.
+     */
+    @NotNull
+    public static InputStream openDecompressingStream(@NotNull InputStream stream) throws IOException {
+        if (!stream.markSupported()) {
+            stream = new BufferedInputStream(stream);
+        }
+        stream.mark(MAGIC_LENGTH);
+        byte[] magic = stream.readNBytes(MAGIC_LENGTH);
+        stream.reset();
+        if (magic.length < MAGIC_LENGTH) {
+            return stream;
+        }
+        int value = getMagic(magic);
+        if (isGzipMagic(value)) {
+            return new GZIPInputStream(new MemberBoundaryInputStream(stream), GZIP_BUFFER_SIZE);
+        } else if (isZstdMagic(value)) {
+            return new ZstdInputStream(stream);
+        } else if (value == ZIP_MAGIC) {
+            ZipInputStream zipStream = new ZipInputStream(stream);
+            for (ZipEntry entry = zipStream.getNextEntry(); entry != null; entry = zipStream.getNextEntry()) {
+                if (!entry.isDirectory()) {
+                    return zipStream;
+                }
+            }
+            return zipStream;
+        }
+        return stream;
+    }
+
+    /**
+     * Checks whether data which starts with the specified bytes is compressed in one of
+     * the formats supported by {@link #openDecompressingStream(InputStream)}
+     */
+    public static boolean isCompressed(@NotNull byte[] header) {
+        if (header.length < MAGIC_LENGTH) {
+            return false;
+        }
+        int value = getMagic(header);
+        return isGzipMagic(value) || isZstdMagic(value) || value == ZIP_MAGIC;
+    }
+
+    private static int getMagic(@NotNull byte[] header) {
+        return (header[0] & 0xFF) | (header[1] & 0xFF) << 8 | (header[2] & 0xFF) << 16 | (header[3] & 0xFF) << 24;
+    }
+
+    private static boolean isGzipMagic(int value) {
+        return (value & 0xFFFF) == GZIPInputStream.GZIP_MAGIC;
+    }
+
+    private static boolean isZstdMagic(int value) {
+        return value == Zstd.MAGIC || (value & Zstd.SKIPPABLE_MAGIC_MASK) == Zstd.SKIPPABLE_MAGIC;
+    }
+
+    /**
+     * GZIPInputStream reads the next member only if the source stream reports available data,
+     * so concatenated members would be lost on streams which don't know how much data is left.
+     */
+    private static class MemberBoundaryInputStream extends FilterInputStream {
+
+        MemberBoundaryInputStream(@NotNull InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int available() throws IOException {
+            int available = in.available();
+            if (available > 0) {
+                return available;
+            }
+            in.mark(1);
+            int next = in.read();
+            in.reset();
+            return next < 0 ? 0 : 1;
+        }
+    }
+}
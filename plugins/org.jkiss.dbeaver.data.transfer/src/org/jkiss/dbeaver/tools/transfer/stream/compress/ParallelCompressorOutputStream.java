@@ -0,0 +1,180 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Output stream which compresses blocks of data on a pool of worker threads.
+ * <p>
+ * Data is split into blocks of {@link BlockCompressor#getBlockSize()} bytes. Compressed blocks are written
+ * in the same order they were submitted. Number of blocks being compressed is bounded, so writer waits
+ * if compression can't keep up.
+ * <p>
+ * {@link #flush()} writes only blocks which are already compressed, the last incomplete block is compressed on {@link #finish()}.
+ */
+public class ParallelCompressorOutputStream extends OutputStream {
+
+    private static final int PENDING_BLOCKS_PER_THREAD = 2;
+
+    @NotNull
+    private final OutputStream out;
+    @NotNull
+    private final BlockCompressor compressor;
+    @NotNull
+    private final ExecutorService compressorPool;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+    private byte[] buffer;
+    private int bufferLength;
+    private boolean blockSubmitted;
+    private boolean finished;
+
+    public ParallelCompressorOutputStream(@NotNull OutputStream out, @NotNull BlockCompressor compressor) {
+        this(out, compressor, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelCompressorOutputStream(@NotNull OutputStream out, @NotNull BlockCompressor compressor, int threads) {
+        this.out = out;
+        this.compressor = compressor;
+        threads = Math.max(1, threads);
+        this.maxPendingBlocks = threads * PENDING_BLOCKS_PER_THREAD;
+        this.compressorPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Block compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.buffer = new byte[compressor.getBlockSize()];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        checkNotFinished();
+        buffer[bufferLength++] = (byte) b;
+        if (bufferLength == buffer.length) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(@NotNull byte[] b, int off, int len) throws IOException {
+        checkNotFinished();
+        while (len > 0) {
+            int count = Math.min(len, buffer.length - bufferLength);
+            System.arraycopy(b, off, buffer, bufferLength, count);
+            bufferLength += count;
+            off += count;
+            len -= count;
+            if (bufferLength == buffer.length) {
+                submitBlock();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        while (!pendingBlocks.isEmpty() && pendingBlocks.peekFirst().isDone()) {
+            writeBlock(pendingBlocks.removeFirst());
+        }
+        out.flush();
+    }
+
+    /**
+     * Compresses remaining data and writes all blocks and the trailer. Doesn't close the underlying stream.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        try {
+            if (bufferLength > 0 || !blockSubmitted) {
+                submitBlock();
+            }
+            while (!pendingBlocks.isEmpty()) {
+                writeBlock(pendingBlocks.removeFirst());
+            }
+            byte[] trailer = compressor.getTrailer();
+            if (trailer != null) {
+                out.write(trailer);
+            }
+            out.flush();
+        } finally {
+            finished = true;
+            buffer = null;
+            pendingBlocks.clear();
+            compressorPool.shutdownNow();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        final byte[] data = buffer;
+        final int length = bufferLength;
+        pendingBlocks.addLast(compressorPool.submit(() -> compressor.compressBlock(data, length)));
+        blockSubmitted = true;
+        buffer = new byte[buffer.length];
+        bufferLength = 0;
+
+        while (pendingBlocks.size() > maxPendingBlocks) {
+            writeBlock(pendingBlocks.removeFirst());
+        }
+        while (!pendingBlocks.isEmpty() && pendingBlocks.peekFirst().isDone()) {
+            writeBlock(pendingBlocks.removeFirst());
+        }
+    }
+
+    private void writeBlock(@NotNull Future<byte[]> block) throws IOException {
+        byte[] compressed;
+        try {
+            compressed = block.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Compression interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException("Block compression failed", e.getCause());
+        }
+        out.write(compressed);
+    }
+
+    private void checkNotFinished() throws IOException {
+        if (finished) {
+            throw new IOException("Compressed stream is already finished");
+        }
+    }
+}
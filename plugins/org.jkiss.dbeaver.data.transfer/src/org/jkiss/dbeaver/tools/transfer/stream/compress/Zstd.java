@@ -0,0 +1,429 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Zstandard format constants and primitives shared by the compressor and decompressor (see RFC 8878).
+ */
+final class Zstd {
+
+    static final int MAGIC = 0xFD2FB528;
+    static final int SKIPPABLE_MAGIC = 0x184D2A50;
+    static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+
+    static final int MAX_BLOCK_SIZE = 128 * 1024;
+
+    static final int BLOCK_RAW = 0;
+    static final int BLOCK_RLE = 1;
+    static final int BLOCK_COMPRESSED = 2;
+
+    static final int LITERALS_RAW = 0;
+    static final int LITERALS_RLE = 1;
+    static final int LITERALS_COMPRESSED = 2;
+    static final int LITERALS_TREELESS = 3;
+
+    static final int MODE_PREDEFINED = 0;
+    static final int MODE_RLE = 1;
+    static final int MODE_COMPRESSED = 2;
+    static final int MODE_REPEAT = 3;
+
+    static final int MAX_HUFFMAN_BITS = 11;
+    static final int MAX_HUFFMAN_WEIGHTS_LOG = 6;
+
+    static final int MAX_LITERALS_LENGTH_CODE = 35;
+    static final int MAX_MATCH_LENGTH_CODE = 52;
+    static final int MAX_OFFSET_CODE = 31;
+    static final int MAX_LITERALS_LENGTH_LOG = 9;
+    static final int MAX_MATCH_LENGTH_LOG = 9;
+    static final int MAX_OFFSET_LOG = 8;
+
+    static final int MIN_MATCH_LENGTH = 3;
+
+    static final int[] LITERALS_LENGTH_BASE = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+        16, 18, 20, 22, 24, 28, 32, 40, 48, 64, 128, 256, 512, 1024, 2048, 4096,
+        8192, 16384, 32768, 65536
+    };
+    static final int[] LITERALS_LENGTH_BITS = {
+        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+        1, 1, 1, 1, 2, 2, 3, 3, 4, 6, 7, 8, 9, 10, 11, 12,
+        13, 14, 15, 16
+    };
+    static final int[] MATCH_LENGTH_BASE = {
+        3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18,
+        19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34,
+        35, 37, 39, 41, 43, 47, 51, 59, 67, 83, 99, 131, 259, 515, 1027, 2051,
+        4099, 8195, 16387, 32771, 65539
+    };
+    static final int[] MATCH_LENGTH_BITS = {
+        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+        1, 1, 1, 1, 2, 2, 3, 3, 4, 4, 5, 7, 8, 9, 10, 11,
+        12, 13, 14, 15, 16
+    };
+
+    // Predefined distributions
+    static final int LITERALS_LENGTH_DEFAULT_LOG = 6;
+    static final short[] LITERALS_LENGTH_DEFAULT_NORM = {
+        4, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1,
+        2, 2, 2, 2, 2, 2, 2, 2, 2, 3, 2, 1, 1, 1, 1, 1,
+        -1, -1, -1, -1
+    };
+    static final int MATCH_LENGTH_DEFAULT_LOG = 6;
+    static final short[] MATCH_LENGTH_DEFAULT_NORM = {
+        1, 4, 3, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1,
+        1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+        1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, -1, -1,
+        -1, -1, -1, -1, -1
+    };
+    static final int OFFSET_DEFAULT_LOG = 5;
+    static final short[] OFFSET_DEFAULT_NORM = {
+        1, 1, 1, 1, 1, 1, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1,
+        1, 1, 1, 1, 1, 1, 1, 1, -1, -1, -1, -1, -1
+    };
+
+    private static final VarHandle INT_HANDLE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_HANDLE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final byte[] LITERALS_LENGTH_CODES = new byte[64];
+    private static final byte[] MATCH_LENGTH_CODES = new byte[128];
+
+    static {
+        for (int code = 0, value = 0; value < LITERALS_LENGTH_CODES.length; value++) {
+            if (code + 1 < LITERALS_LENGTH_BASE.length && LITERALS_LENGTH_BASE[code + 1] <= value) {
+                code++;
+            }
+            LITERALS_LENGTH_CODES[value] = (byte) code;
+        }
+        for (int code = 0, value = 0; value < MATCH_LENGTH_CODES.length; value++) {
+            if (code + 1 < MATCH_LENGTH_BASE.length && MATCH_LENGTH_BASE[code + 1] - MIN_MATCH_LENGTH <= value) {
+                code++;
+            }
+            MATCH_LENGTH_CODES[value] = (byte) code;
+        }
+    }
+
+    private Zstd() {
+    }
+
+    static int getLiteralsLengthCode(int literalsLength) {
+        return literalsLength < LITERALS_LENGTH_CODES.length ? LITERALS_LENGTH_CODES[literalsLength] : highBit(literalsLength) + 19;
+    }
+
+    static int getMatchLengthCode(int matchLength) {
+        int value = matchLength - MIN_MATCH_LENGTH;
+        return value < MATCH_LENGTH_CODES.length ? MATCH_LENGTH_CODES[value] : highBit(value) + 36;
+    }
+
+    static int highBit(int value) {
+        return 31 - Integer.numberOfLeadingZeros(value);
+    }
+
+    static int readInt(@NotNull byte[] data, int offset) {
+        return (int) INT_HANDLE.get(data, offset);
+    }
+
+    static long readLong(@NotNull byte[] data, int offset) {
+        return (long) LONG_HANDLE.get(data, offset);
+    }
+
+    /**
+     * Reads up to 8 bytes in little-endian order. Bytes beyond the end are zeros.
+     */
+    static long readLongPadded(@NotNull byte[] data, int offset, int end) {
+        if (offset + 8 <= end) {
+            return readLong(data, offset);
+        }
+        long value = 0;
+        for (int i = end - 1; i >= offset; i--) {
+            value = (value << 8) | (data[i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Spreads symbols over FSE table states. Both encoder and decoder must use the same order.
+     */
+    @NotNull
+    static int[] spreadSymbols(@NotNull short[] norm, int symbolCount, int tableLog) throws IOException {
+        int tableSize = 1 << tableLog;
+        int[] tableSymbols = new int[tableSize];
+        int highThreshold = tableSize - 1;
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            if (norm[symbol] == -1) {
+                tableSymbols[highThreshold--] = symbol;
+            }
+        }
+        int mask = tableSize - 1;
+        int step = (tableSize >>> 1) + (tableSize >>> 3) + 3;
+        int position = 0;
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            for (int i = 0; i < norm[symbol]; i++) {
+                tableSymbols[position] = symbol;
+                do {
+                    position = (position + step) & mask;
+                } while (position > highThreshold);
+            }
+        }
+        if (position != 0) {
+            throw new IOException("Corrupted FSE distribution");
+        }
+        return tableSymbols;
+    }
+
+    /**
+     * FSE decoding table
+     */
+    static final class FseDecodingTable {
+        final int tableLog;
+        final int[] symbols;
+        final int[] bits;
+        final int[] baselines;
+
+        private FseDecodingTable(int tableLog) {
+            int tableSize = 1 << tableLog;
+            this.tableLog = tableLog;
+            this.symbols = new int[tableSize];
+            this.bits = new int[tableSize];
+            this.baselines = new int[tableSize];
+        }
+
+        @NotNull
+        static FseDecodingTable create(@NotNull short[] norm, int symbolCount, int tableLog) throws IOException {
+            FseDecodingTable table = new FseDecodingTable(tableLog);
+            int tableSize = 1 << tableLog;
+            int[] tableSymbols = spreadSymbols(norm, symbolCount, tableLog);
+            int[] nextStates = new int[symbolCount];
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                nextStates[symbol] = norm[symbol] == -1 ? 1 : norm[symbol];
+            }
+            for (int state = 0; state < tableSize; state++) {
+                int symbol = tableSymbols[state];
+                int nextState = nextStates[symbol]++;
+                int bits = tableLog - highBit(nextState);
+                table.symbols[state] = symbol;
+                table.bits[state] = bits;
+                table.baselines[state] = (nextState << bits) - tableSize;
+            }
+            return table;
+        }
+
+        /**
+         * Table which always returns the same symbol and reads no bits
+         */
+        @NotNull
+        static FseDecodingTable createRle(int symbol) {
+            FseDecodingTable table = new FseDecodingTable(0);
+            table.symbols[0] = symbol;
+            return table;
+        }
+    }
+
+    /**
+     * FSE encoding table
+     */
+    static final class FseEncodingTable {
+        final int tableLog;
+        private final int[] stateTable;
+        private final int[] deltaBits;
+        private final int[] deltaFindState;
+
+        FseEncodingTable(@NotNull short[] norm, int symbolCount, int tableLog) throws IOException {
+            int tableSize = 1 << tableLog;
+            this.tableLog = tableLog;
+            this.stateTable = new int[tableSize];
+            this.deltaBits = new int[symbolCount];
+            this.deltaFindState = new int[symbolCount];
+
+            int[] tableSymbols = spreadSymbols(norm, symbolCount, tableLog);
+            int[] cumulative = new int[symbolCount + 1];
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                cumulative[symbol + 1] = cumulative[symbol] + (norm[symbol] == -1 ? 1 : norm[symbol]);
+            }
+            for (int state = 0; state < tableSize; state++) {
+                stateTable[cumulative[tableSymbols[state]]++] = tableSize + state;
+            }
+
+            int total = 0;
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int count = norm[symbol];
+                if (count == 0) {
+                    deltaBits[symbol] = ((tableLog + 1) << 16) - tableSize;
+                } else if (count == -1 || count == 1) {
+                    deltaBits[symbol] = (tableLog << 16) - tableSize;
+                    deltaFindState[symbol] = total - 1;
+                    total++;
+                } else {
+                    int maxBitsOut = tableLog - highBit(count - 1);
+                    deltaBits[symbol] = (maxBitsOut << 16) - (count << maxBitsOut);
+                    deltaFindState[symbol] = total - count;
+                    total += count;
+                }
+            }
+        }
+
+        int initState(int symbol) {
+            int bits = (deltaBits[symbol] + (1 << 15)) >>> 16;
+            int value = (bits << 16) - deltaBits[symbol];
+            return stateTable[(value >>> bits) + deltaFindState[symbol]];
+        }
+
+        int encode(@NotNull BitWriter writer, int state, int symbol) {
+            int bits = (state + deltaBits[symbol]) >>> 16;
+            writer.addBits(state, bits);
+            return stateTable[(state >>> bits) + deltaFindState[symbol]];
+        }
+
+        void flush(@NotNull BitWriter writer, int state) {
+            writer.addBits(state, tableLog);
+        }
+    }
+
+    /**
+     * Writes bits starting from the least significant bit of each byte.
+     */
+    static final class BitWriter {
+        private byte[] buffer;
+        private int length;
+        private long container;
+        private int bitCount;
+
+        BitWriter(int capacity) {
+            buffer = new byte[Math.max(capacity, 16)];
+        }
+
+        /**
+         * Adds up to 32 low bits of value
+         */
+        void addBits(long value, int bits) {
+            container |= (value & ((1L << bits) - 1)) << bitCount;
+            bitCount += bits;
+            if (bitCount >= 32) {
+                ensureCapacity(4);
+                INT_HANDLE.set(buffer, length, (int) container);
+                length += 4;
+                container >>>= 32;
+                bitCount -= 32;
+            }
+        }
+
+        /**
+         * Adds the end mark. Decoder finds the end of data by the highest set bit of the last byte.
+         */
+        void close() {
+            addBits(1, 1);
+            ensureCapacity(8);
+            while (bitCount > 0) {
+                buffer[length++] = (byte) container;
+                container >>>= 8;
+                bitCount -= 8;
+            }
+            bitCount = 0;
+        }
+
+        int length() {
+            return length;
+        }
+
+        @NotNull
+        byte[] buffer() {
+            return buffer;
+        }
+
+        private void ensureCapacity(int count) {
+            if (length + count > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + count));
+            }
+        }
+    }
+
+    /**
+     * Reads bits backward, from the end mark to the beginning of data.
+     * Reading beyond the beginning returns zeros (decoders rely on this to detect the end of stream).
+     */
+    static final class BackwardBitReader {
+        private final byte[] data;
+        private final int offset;
+        private final int end;
+        // Number of unread bits
+        private int position;
+
+        BackwardBitReader(@NotNull byte[] data, int offset, int length) throws IOException {
+            if (length <= 0) {
+                throw new IOException("Empty bit stream");
+            }
+            int lastByte = data[offset + length - 1] & 0xFF;
+            if (lastByte == 0) {
+                throw new IOException("Bit stream end mark is missing");
+            }
+            this.data = data;
+            this.offset = offset;
+            this.end = offset + length;
+            this.position = (length - 1) * 8 + highBit(lastByte);
+        }
+
+        /**
+         * Reads up to 32 bits
+         */
+        int readBits(int bits) {
+            if (bits == 0) {
+                return 0;
+            }
+            position -= bits;
+            return getBits(position, bits);
+        }
+
+        /**
+         * Returns next bits without reading them
+         */
+        int peekBits(int bits) {
+            return getBits(position - bits, bits);
+        }
+
+        void skipBits(int bits) {
+            position -= bits;
+        }
+
+        /**
+         * Returns true if more bits were read than the stream contains
+         */
+        boolean isOverflow() {
+            return position < 0;
+        }
+
+        boolean isFinished() {
+            return position == 0;
+        }
+
+        private int getBits(int from, int bits) {
+            if (from < 0) {
+                int available = bits + from;
+                return available <= 0 ? 0 : getBits(0, available) << -from;
+            }
+            long value = readLongPadded(data, offset + (from >>> 3), end) >>> (from & 7);
+            return (int) (value & ((1L << bits) - 1));
+        }
+    }
+}
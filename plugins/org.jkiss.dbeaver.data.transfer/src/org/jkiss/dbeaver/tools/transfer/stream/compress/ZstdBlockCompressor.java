@@ -0,0 +1,777 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.tools.transfer.stream.compress.Zstd.BitWriter;
+import org.jkiss.dbeaver.tools.transfer.stream.compress.Zstd.FseEncodingTable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Zstandard compressor.
+ * <p>
+ * Each block is written as a separate frame, so frames can be compressed in parallel.
+ * Any Zstandard reader reads concatenated frames as a single stream.
+ * <p>
+ * Compression is fast rather than strong: greedy hash matching, Huffman-coded literals
+ * and predefined FSE tables for sequences.
+ */
+public class ZstdBlockCompressor implements BlockCompressor {
+
+    private static final int FRAME_SIZE = 1024 * 1024;
+
+    private static final int HASH_LOG = 17;
+    // Shorter matches don't pay off unless they repeat the previous offset
+    private static final int MIN_MATCH = 6;
+    private static final int MIN_REPEATED_MATCH = 4;
+    private static final long HASH_PRIME = 227718039650203L;
+    // Matching speeds up over incompressible data
+    private static final int SKIP_STEP_LOG = 6;
+
+    private static final int MIN_HUFFMAN_LITERALS = 64;
+    private static final int MAX_LITERAL_SYMBOLS = 256;
+
+    private static final int FRAME_HEADER_SIZE = 9;
+    private static final int BLOCK_HEADER_SIZE = 3;
+    private static final int CHECKSUM_SIZE = 4;
+
+    // Frame header descriptor: 4 bytes content size, single segment, content checksum
+    private static final int FRAME_HEADER_DESCRIPTOR = 0x80 | 0x20 | 0x04;
+
+    private static final FseEncodingTable LITERALS_LENGTH_TABLE;
+    private static final FseEncodingTable MATCH_LENGTH_TABLE;
+    private static final FseEncodingTable OFFSET_TABLE;
+
+    static {
+        try {
+            LITERALS_LENGTH_TABLE = new FseEncodingTable(
+                Zstd.LITERALS_LENGTH_DEFAULT_NORM, Zstd.LITERALS_LENGTH_DEFAULT_NORM.length, Zstd.LITERALS_LENGTH_DEFAULT_LOG);
+            MATCH_LENGTH_TABLE = new FseEncodingTable(
+                Zstd.MATCH_LENGTH_DEFAULT_NORM, Zstd.MATCH_LENGTH_DEFAULT_NORM.length, Zstd.MATCH_LENGTH_DEFAULT_LOG);
+            OFFSET_TABLE = new FseEncodingTable(
+                Zstd.OFFSET_DEFAULT_NORM, Zstd.OFFSET_DEFAULT_NORM.length, Zstd.OFFSET_DEFAULT_LOG);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int getBlockSize() {
+        return FRAME_SIZE;
+    }
+
+    @NotNull
+    @Override
+    public byte[] compressBlock(@NotNull byte[] data, int length) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + FRAME_HEADER_SIZE + BLOCK_HEADER_SIZE + CHECKSUM_SIZE);
+        writeInt(out, Zstd.MAGIC);
+        out.write(FRAME_HEADER_DESCRIPTOR);
+        writeInt(out, length);
+
+        FrameEncoder encoder = new FrameEncoder(data, length);
+        int blockStart = 0;
+        do {
+            int blockEnd = Math.min(length, blockStart + Zstd.MAX_BLOCK_SIZE);
+            encoder.encodeBlock(out, blockStart, blockEnd, blockEnd == length);
+            blockStart = blockEnd;
+        } while (blockStart < length);
+
+        writeInt(out, (int) XXHash64.hash(data, 0, length));
+        return out.toByteArray();
+    }
+
+    @Nullable
+    @Override
+    public byte[] getTrailer() {
+        return null;
+    }
+
+    private static void writeInt(@NotNull ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    private static void writeBlockHeader(@NotNull ByteArrayOutputStream out, boolean last, int type, int size) {
+        int header = (last ? 1 : 0) | (type << 1) | (size << 3);
+        out.write(header);
+        out.write(header >>> 8);
+        out.write(header >>> 16);
+    }
+
+    /**
+     * Writes FSE table description
+     */
+    @NotNull
+    private static byte[] writeNormalizedCounts(@NotNull short[] norm, int tableLog) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int tableSize = 1 << tableLog;
+        int remaining = tableSize + 1;
+        int threshold = tableSize;
+        int bits = tableLog + 1;
+        boolean previousZero = false;
+        long bitStream = tableLog - 5;
+        int bitCount = 4;
+        int symbol = 0;
+        while (remaining > 1 && symbol < norm.length) {
+            if (previousZero) {
+                int start = symbol;
+                while (norm[symbol] == 0) {
+                    symbol++;
+                }
+                while (symbol >= start + 3) {
+                    start += 3;
+                    bitStream |= 3L << bitCount;
+                    bitCount += 2;
+                }
+                bitStream |= (long) (symbol - start) << bitCount;
+                bitCount += 2;
+            }
+            int count = norm[symbol++];
+            int max = (2 * threshold - 1) - remaining;
+            remaining -= Math.abs(count);
+            count++;
+            if (count >= threshold) {
+                count += max;
+            }
+            bitStream |= (long) count << bitCount;
+            bitCount += bits;
+            if (count < max) {
+                // Small values are written with one bit less
+                bitCount--;
+            }
+            previousZero = count == 1;
+            while (remaining < threshold) {
+                bits--;
+                threshold >>>= 1;
+            }
+            while (bitCount >= 8) {
+                out.write((int) bitStream);
+                bitStream >>>= 8;
+                bitCount -= 8;
+            }
+        }
+        if (bitCount > 0) {
+            out.write((int) bitStream);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Scales symbol counts to the FSE table size. Each present symbol gets at least one state.
+     */
+    @NotNull
+    private static short[] normalizeCounts(@NotNull int[] counts, int symbolCount, int total, int tableLog) {
+        int tableSize = 1 << tableLog;
+        short[] norm = new short[symbolCount];
+        int normTotal = 0;
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            if (counts[symbol] > 0) {
+                norm[symbol] = (short) Math.max(1, Math.round((double) counts[symbol] * tableSize / total));
+                normTotal += norm[symbol];
+            }
+        }
+        // Fix rounding errors, change the most probable symbols as their cost changes least
+        while (normTotal != tableSize) {
+            int largest = -1;
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                if ((normTotal < tableSize || norm[symbol] > 1) && (largest < 0 || norm[symbol] > norm[largest])) {
+                    largest = symbol;
+                }
+            }
+            int delta = normTotal < tableSize ? 1 : -1;
+            norm[largest] += (short) delta;
+            normTotal += delta;
+        }
+        return norm;
+    }
+
+    /**
+     * Encoding of one kind of sequence codes: predefined table, single symbol or table of the block
+     */
+    private static class SymbolEncoding {
+        private static final byte[] NO_DESCRIPTION = new byte[0];
+        private static final int MIN_TABLE_LOG = 5;
+
+        final int mode;
+        @NotNull
+        final FseEncodingTable table;
+        @NotNull
+        final byte[] description;
+
+        private SymbolEncoding(int mode, @NotNull FseEncodingTable table, @NotNull byte[] description) {
+            this.mode = mode;
+            this.table = table;
+            this.description = description;
+        }
+
+        /**
+         * Chooses the cheapest encoding of codes with the specified counts
+         */
+        @NotNull
+        static SymbolEncoding select(
+            @NotNull int[] counts,
+            int total,
+            int maxLog,
+            @NotNull FseEncodingTable defaultTable,
+            @NotNull short[] defaultNorm
+        ) {
+            int maxSymbol = counts.length - 1;
+            while (counts[maxSymbol] == 0) {
+                maxSymbol--;
+            }
+            try {
+                if (counts[maxSymbol] == total) {
+                    short[] norm = new short[maxSymbol + 1];
+                    norm[maxSymbol] = 1;
+                    return new SymbolEncoding(Zstd.MODE_RLE, new FseEncodingTable(norm, norm.length, 0), new byte[]{(byte) maxSymbol});
+                }
+
+                // The same estimation as in the reference implementation
+                int tableLog = Math.min(maxLog, Zstd.highBit(total - 1) - 2);
+                tableLog = Math.max(tableLog, Math.min(Zstd.highBit(total) + 1, Zstd.highBit(maxSymbol) + 2));
+                tableLog = Math.max(tableLog, MIN_TABLE_LOG);
+                short[] norm = normalizeCounts(counts, maxSymbol + 1, total, tableLog);
+                byte[] description = writeNormalizedCounts(norm, tableLog);
+                double cost = description.length * 8 + getCost(counts, maxSymbol, norm, tableLog);
+                if (cost < getCost(counts, maxSymbol, defaultNorm, defaultTable.tableLog)) {
+                    return new SymbolEncoding(Zstd.MODE_COMPRESSED, new FseEncodingTable(norm, norm.length, tableLog), description);
+                }
+            } catch (IOException e) {
+                // Can't happen with normalized counts. Use predefined table.
+            }
+            return new SymbolEncoding(Zstd.MODE_PREDEFINED, defaultTable, NO_DESCRIPTION);
+        }
+
+        /**
+         * Estimated number of bits of the encoded codes
+         */
+        private static double getCost(@NotNull int[] counts, int maxSymbol, @NotNull short[] norm, int tableLog) {
+            double cost = 0;
+            for (int symbol = 0; symbol <= maxSymbol; symbol++) {
+                if (counts[symbol] == 0) {
+                    continue;
+                }
+                if (symbol >= norm.length || norm[symbol] == 0) {
+                    return Double.MAX_VALUE;
+                }
+                int probability = Math.max(norm[symbol], 1);
+                cost += counts[symbol] * (tableLog - Math.log(probability) / Math.log(2));
+            }
+            return cost;
+        }
+    }
+
+    /**
+     * Encoder state of one frame
+     */
+    private static class FrameEncoder {
+        private final byte[] data;
+        private final int length;
+        private final int[] hashTable = new int[1 << HASH_LOG];
+        // Repeated offsets history
+        private final int[] repeatedOffsets = {1, 4, 8};
+
+        // Sequences of the current block
+        private final byte[] literals = new byte[Zstd.MAX_BLOCK_SIZE];
+        private int literalsLength;
+        private int[] sequenceLiterals = new int[1024];
+        private int[] sequenceMatches = new int[1024];
+        private int[] sequenceOffsets = new int[1024];
+        private int sequenceCount;
+
+        FrameEncoder(@NotNull byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+            Arrays.fill(hashTable, -1);
+        }
+
+        void encodeBlock(@NotNull ByteArrayOutputStream out, int blockStart, int blockEnd, boolean last) {
+            int blockSize = blockEnd - blockStart;
+            int[] savedOffsets = repeatedOffsets.clone();
+            byte[] compressed = null;
+            if (blockSize > 0) {
+                findSequences(blockStart, blockEnd);
+                compressed = compressSequences();
+            }
+            if (compressed != null && compressed.length < blockSize) {
+                writeBlockHeader(out, last, Zstd.BLOCK_COMPRESSED, compressed.length);
+                out.write(compressed, 0, compressed.length);
+            } else {
+                // Raw block doesn't update repeated offsets in decoder
+                System.arraycopy(savedOffsets, 0, repeatedOffsets, 0, savedOffsets.length);
+                writeBlockHeader(out, last, Zstd.BLOCK_RAW, blockSize);
+                out.write(data, blockStart, blockSize);
+            }
+        }
+
+        private void findSequences(int blockStart, int blockEnd) {
+            literalsLength = 0;
+            sequenceCount = 0;
+            int anchor = blockStart;
+            int position = blockStart;
+            // Hash reads 8 bytes, the tail of block is always written as literals
+            while (position + 8 <= blockEnd) {
+                long value = Zstd.readLong(data, position);
+                int reference;
+                int matchLength;
+                int repeatedOffset = repeatedOffsets[0];
+                boolean repeated = false;
+                if (position > anchor && position >= repeatedOffset && (int) value == Zstd.readInt(data, position - repeatedOffset)) {
+                    reference = position - repeatedOffset;
+                    matchLength = MIN_REPEATED_MATCH + countEqual(position + MIN_REPEATED_MATCH, reference + MIN_REPEATED_MATCH, blockEnd);
+                    repeated = true;
+                } else {
+                    int hash = hash(value);
+                    reference = hashTable[hash];
+                    hashTable[hash] = position;
+                    if (reference < 0 || (matchLength = countEqual(position, reference, blockEnd)) < MIN_MATCH) {
+                        position += 1 + ((position - anchor) >>> SKIP_STEP_LOG);
+                        continue;
+                    }
+                    while (position > anchor && reference > 0 && data[position - 1] == data[reference - 1]) {
+                        position--;
+                        reference--;
+                        matchLength++;
+                    }
+                }
+                addSequence(anchor, position, matchLength, repeated ? 1 : position - reference + 3);
+                if (!repeated) {
+                    repeatedOffsets[2] = repeatedOffsets[1];
+                    repeatedOffsets[1] = repeatedOffsets[0];
+                    repeatedOffsets[0] = position - reference;
+                }
+                position += matchLength;
+                anchor = position;
+                if (position + 8 <= blockEnd) {
+                    hashTable[hash(Zstd.readLong(data, position - 2))] = position - 2;
+                }
+            }
+            addLiterals(anchor, blockEnd);
+        }
+
+        private int countEqual(int position, int reference, int end) {
+            int start = position;
+            while (position + 8 <= end) {
+                long diff = Zstd.readLong(data, position) ^ Zstd.readLong(data, reference);
+                if (diff != 0) {
+                    return position - start + (Long.numberOfTrailingZeros(diff) >>> 3);
+                }
+                position += 8;
+                reference += 8;
+            }
+            while (position < end && data[position] == data[reference]) {
+                position++;
+                reference++;
+            }
+            return position - start;
+        }
+
+        private void addSequence(int literalsStart, int matchStart, int matchLength, int offsetValue) {
+            if (sequenceCount == sequenceLiterals.length) {
+                int capacity = sequenceCount * 2;
+                sequenceLiterals = Arrays.copyOf(sequenceLiterals, capacity);
+                sequenceMatches = Arrays.copyOf(sequenceMatches, capacity);
+                sequenceOffsets = Arrays.copyOf(sequenceOffsets, capacity);
+            }
+            addLiterals(literalsStart, matchStart);
+            sequenceLiterals[sequenceCount] = matchStart - literalsStart;
+            sequenceMatches[sequenceCount] = matchLength;
+            sequenceOffsets[sequenceCount] = offsetValue;
+            sequenceCount++;
+        }
+
+        private void addLiterals(int start, int end) {
+            System.arraycopy(data, start, literals, literalsLength, end - start);
+            literalsLength += end - start;
+        }
+
+        /**
+         * Returns compressed block content or null if block can't be compressed
+         */
+        @Nullable
+        private byte[] compressSequences() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(literalsLength + sequenceCount * 4 + 16);
+            if (!writeCompressedLiterals(out)) {
+                writeRawLiterals(out);
+            }
+            writeSequences(out);
+            return out.toByteArray();
+        }
+
+        private void writeRawLiterals(@NotNull ByteArrayOutputStream out) {
+            writeLiteralsHeader(out, Zstd.LITERALS_RAW, literalsLength);
+            out.write(literals, 0, literalsLength);
+        }
+
+        private static void writeLiteralsHeader(@NotNull ByteArrayOutputStream out, int type, int size) {
+            if (size < 32) {
+                out.write(type | (size << 3));
+            } else if (size < 4096) {
+                out.write(type | (1 << 2) | (size << 4));
+                out.write(size >>> 4);
+            } else {
+                out.write(type | (3 << 2) | (size << 4));
+                out.write(size >>> 4);
+                out.write(size >>> 12);
+            }
+        }
+
+        private boolean writeCompressedLiterals(@NotNull ByteArrayOutputStream out) {
+            if (literalsLength < MIN_HUFFMAN_LITERALS) {
+                return false;
+            }
+            int[] counts = new int[MAX_LITERAL_SYMBOLS];
+            for (int i = 0; i < literalsLength; i++) {
+                counts[literals[i] & 0xFF]++;
+            }
+            int maxSymbol = MAX_LITERAL_SYMBOLS - 1;
+            while (counts[maxSymbol] == 0) {
+                maxSymbol--;
+            }
+            if (counts[maxSymbol] == literalsLength) {
+                writeLiteralsHeader(out, Zstd.LITERALS_RLE, literalsLength);
+                out.write(maxSymbol);
+                return true;
+            }
+
+            HuffmanEncoder huffman = HuffmanEncoder.create(counts, maxSymbol);
+            byte[] table = huffman.writeTable(maxSymbol);
+            if (table == null) {
+                return false;
+            }
+            boolean singleStream = literalsLength < 256;
+            BitWriter[] streams;
+            int compressedSize = table.length;
+            if (singleStream) {
+                streams = new BitWriter[]{huffman.encode(literals, 0, literalsLength)};
+            } else {
+                int segmentSize = (literalsLength + 3) / 4;
+                streams = new BitWriter[4];
+                for (int i = 0; i < 4; i++) {
+                    int start = segmentSize * i;
+                    streams[i] = huffman.encode(literals, start, Math.min(literalsLength, start + segmentSize));
+                }
+                // Jump table
+                compressedSize += 6;
+            }
+            for (BitWriter stream : streams) {
+                compressedSize += stream.length();
+            }
+
+            int sizeBits;
+            int headerSize;
+            int sizeFormat;
+            int maxSize = Math.max(literalsLength, compressedSize);
+            if (singleStream) {
+                if (maxSize >= 1024) {
+                    return false;
+                }
+                sizeFormat = 0;
+                sizeBits = 10;
+                headerSize = 3;
+            } else if (maxSize < 1024) {
+                sizeFormat = 1;
+                sizeBits = 10;
+                headerSize = 3;
+            } else if (maxSize < 16384) {
+                sizeFormat = 2;
+                sizeBits = 14;
+                headerSize = 4;
+            } else {
+                sizeFormat = 3;
+                sizeBits = 18;
+                headerSize = 5;
+            }
+            // Not worth it
+            if (compressedSize + headerSize >= literalsLength) {
+                return false;
+            }
+
+            long header = Zstd.LITERALS_COMPRESSED | (sizeFormat << 2) | ((long) literalsLength << 4) | ((long) compressedSize << (4 + sizeBits));
+            for (int i = 0; i < headerSize; i++) {
+                out.write((int) (header >>> (i * 8)));
+            }
+            out.write(table, 0, table.length);
+            if (!singleStream) {
+                for (int i = 0; i < 3; i++) {
+                    out.write(streams[i].length());
+                    out.write(streams[i].length() >>> 8);
+                }
+            }
+            for (BitWriter stream : streams) {
+                out.write(stream.buffer(), 0, stream.length());
+            }
+            return true;
+        }
+
+        private void writeSequences(@NotNull ByteArrayOutputStream out) {
+            int count = sequenceCount;
+            if (count < 128) {
+                out.write(count);
+            } else if (count < 0x7F00) {
+                out.write((count >>> 8) + 128);
+                out.write(count);
+            } else {
+                out.write(255);
+                out.write(count - 0x7F00);
+                out.write((count - 0x7F00) >>> 8);
+            }
+            if (count == 0) {
+                return;
+            }
+
+            byte[] literalsLengthCodes = new byte[count];
+            byte[] matchLengthCodes = new byte[count];
+            byte[] offsetCodes = new byte[count];
+            int[] literalsLengthCounts = new int[Zstd.MAX_LITERALS_LENGTH_CODE + 1];
+            int[] matchLengthCounts = new int[Zstd.MAX_MATCH_LENGTH_CODE + 1];
+            int[] offsetCounts = new int[Zstd.MAX_OFFSET_CODE + 1];
+            for (int i = 0; i < count; i++) {
+                literalsLengthCodes[i] = (byte) Zstd.getLiteralsLengthCode(sequenceLiterals[i]);
+                matchLengthCodes[i] = (byte) Zstd.getMatchLengthCode(sequenceMatches[i]);
+                offsetCodes[i] = (byte) Zstd.highBit(sequenceOffsets[i]);
+                literalsLengthCounts[literalsLengthCodes[i]]++;
+                matchLengthCounts[matchLengthCodes[i]]++;
+                offsetCounts[offsetCodes[i]]++;
+            }
+            SymbolEncoding literalsLengthEncoding = SymbolEncoding.select(
+                literalsLengthCounts, count, Zstd.MAX_LITERALS_LENGTH_LOG, LITERALS_LENGTH_TABLE, Zstd.LITERALS_LENGTH_DEFAULT_NORM);
+            SymbolEncoding offsetEncoding = SymbolEncoding.select(
+                offsetCounts, count, Zstd.MAX_OFFSET_LOG, OFFSET_TABLE, Zstd.OFFSET_DEFAULT_NORM);
+            SymbolEncoding matchLengthEncoding = SymbolEncoding.select(
+                matchLengthCounts, count, Zstd.MAX_MATCH_LENGTH_LOG, MATCH_LENGTH_TABLE, Zstd.MATCH_LENGTH_DEFAULT_NORM);
+            out.write(literalsLengthEncoding.mode << 6 | offsetEncoding.mode << 4 | matchLengthEncoding.mode << 2);
+            out.write(literalsLengthEncoding.description, 0, literalsLengthEncoding.description.length);
+            out.write(offsetEncoding.description, 0, offsetEncoding.description.length);
+            out.write(matchLengthEncoding.description, 0, matchLengthEncoding.description.length);
+
+            // Sequences are written in reverse order, decoder reads the bit stream backward
+            FseEncodingTable literalsLengthTable = literalsLengthEncoding.table;
+            FseEncodingTable offsetTable = offsetEncoding.table;
+            FseEncodingTable matchLengthTable = matchLengthEncoding.table;
+            BitWriter writer = new BitWriter(count * 4);
+            int last = count - 1;
+            int matchLengthState = matchLengthTable.initState(matchLengthCodes[last]);
+            int offsetState = offsetTable.initState(offsetCodes[last]);
+            int literalsLengthState = literalsLengthTable.initState(literalsLengthCodes[last]);
+            writeSequenceBits(writer, last, literalsLengthCodes[last], matchLengthCodes[last], offsetCodes[last]);
+            for (int i = last - 1; i >= 0; i--) {
+                offsetState = offsetTable.encode(writer, offsetState, offsetCodes[i]);
+                matchLengthState = matchLengthTable.encode(writer, matchLengthState, matchLengthCodes[i]);
+                literalsLengthState = literalsLengthTable.encode(writer, literalsLengthState, literalsLengthCodes[i]);
+                writeSequenceBits(writer, i, literalsLengthCodes[i], matchLengthCodes[i], offsetCodes[i]);
+            }
+            matchLengthTable.flush(writer, matchLengthState);
+            offsetTable.flush(writer, offsetState);
+            literalsLengthTable.flush(writer, literalsLengthState);
+            writer.close();
+            out.write(writer.buffer(), 0, writer.length());
+        }
+
+        private void writeSequenceBits(@NotNull BitWriter writer, int index, int literalsLengthCode, int matchLengthCode, int offsetCode) {
+            writer.addBits(sequenceLiterals[index], Zstd.LITERALS_LENGTH_BITS[literalsLengthCode]);
+            writer.addBits(sequenceMatches[index] - Zstd.MIN_MATCH_LENGTH, Zstd.MATCH_LENGTH_BITS[matchLengthCode]);
+            writer.addBits(sequenceOffsets[index], offsetCode);
+        }
+
+        private static int hash(long value) {
+            return (int) (((value << (64 - MIN_MATCH * 8)) * HASH_PRIME) >>> (64 - HASH_LOG));
+        }
+    }
+
+    /**
+     * Huffman code of literals
+     */
+    private static class HuffmanEncoder {
+        private final int[] codes;
+        private final int[] codeLengths;
+        private final int maxBits;
+
+        private HuffmanEncoder(@NotNull int[] codeLengths, int maxBits) {
+            this.codeLengths = codeLengths;
+            this.maxBits = maxBits;
+            this.codes = new int[codeLengths.length];
+            // Canonical codes: shorter codes have larger values, symbols of the same length are ordered by value
+            int position = 0;
+            for (int weight = 1; weight <= maxBits; weight++) {
+                int length = maxBits + 1 - weight;
+                for (int symbol = 0; symbol < codeLengths.length; symbol++) {
+                    if (codeLengths[symbol] == length) {
+                        codes[symbol] = position >>> (weight - 1);
+                        position += 1 << (weight - 1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Builds code limited to the maximal Huffman code length
+         */
+        @NotNull
+        static HuffmanEncoder create(@NotNull int[] counts, int maxSymbol) {
+            int[] frequencies = Arrays.copyOf(counts, maxSymbol + 1);
+            while (true) {
+                int[] codeLengths = buildCodeLengths(frequencies);
+                int maxBits = 0;
+                for (int length : codeLengths) {
+                    maxBits = Math.max(maxBits, length);
+                }
+                if (maxBits <= Zstd.MAX_HUFFMAN_BITS) {
+                    return new HuffmanEncoder(codeLengths, maxBits);
+                }
+                // Flatten distribution and try again
+                for (int i = 0; i < frequencies.length; i++) {
+                    if (frequencies[i] > 0) {
+                        frequencies[i] = (frequencies[i] + 1) >>> 1;
+                    }
+                }
+            }
+        }
+
+        @NotNull
+        private static int[] buildCodeLengths(@NotNull int[] frequencies) {
+            int symbolCount = frequencies.length;
+            int[] parents = new int[symbolCount * 2];
+            PriorityQueue<long[]> queue = new PriorityQueue<>((o1, o2) -> o1[0] != o2[0] ? Long.compare(o1[0], o2[0]) : Long.compare(o1[1], o2[1]));
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                if (frequencies[symbol] > 0) {
+                    queue.add(new long[]{frequencies[symbol], symbol});
+                }
+            }
+            int nextNode = symbolCount;
+            while (queue.size() > 1) {
+                long[] first = queue.poll();
+                long[] second = queue.poll();
+                parents[(int) first[1]] = nextNode;
+                parents[(int) second[1]] = nextNode;
+                queue.add(new long[]{first[0] + second[0], nextNode});
+                nextNode++;
+            }
+            int root = nextNode - 1;
+            int[] depths = new int[nextNode];
+            for (int node = root - 1; node >= 0; node--) {
+                if (node >= symbolCount || frequencies[node] > 0) {
+                    depths[node] = depths[parents[node]] + 1;
+                }
+            }
+            return Arrays.copyOf(depths, symbolCount);
+        }
+
+        /**
+         * Writes Huffman tree description (weights of all symbols except the last one).
+         * Returns null if weights can't be written.
+         */
+        @Nullable
+        byte[] writeTable(int maxSymbol) {
+            int weightCount = maxSymbol;
+            int[] weights = new int[weightCount];
+            for (int symbol = 0; symbol < weightCount; symbol++) {
+                weights[symbol] = codeLengths[symbol] == 0 ? 0 : maxBits + 1 - codeLengths[symbol];
+            }
+            if (weightCount <= 128) {
+                byte[] table = new byte[1 + (weightCount + 1) / 2];
+                table[0] = (byte) (127 + weightCount);
+                for (int i = 0; i < weightCount; i += 2) {
+                    int second = i + 1 < weightCount ? weights[i + 1] : 0;
+                    table[1 + i / 2] = (byte) ((weights[i] << 4) | second);
+                }
+                return table;
+            }
+            return compressWeights(weights);
+        }
+
+        /**
+         * Weights compressed with FSE, two interleaved states
+         */
+        @Nullable
+        private static byte[] compressWeights(@NotNull int[] weights) {
+            int tableLog = Zstd.MAX_HUFFMAN_WEIGHTS_LOG;
+            int tableSize = 1 << tableLog;
+            int[] counts = new int[Zstd.MAX_HUFFMAN_BITS + 1];
+            for (int weight : weights) {
+                counts[weight]++;
+            }
+            int maxWeight = counts.length - 1;
+            while (counts[maxWeight] == 0) {
+                maxWeight--;
+            }
+            if (counts[maxWeight] == weights.length) {
+                // Single symbol distribution can't be decoded
+                return null;
+            }
+            short[] norm = normalizeCounts(counts, maxWeight + 1, weights.length, tableLog);
+
+            FseEncodingTable table;
+            try {
+                table = new FseEncodingTable(norm, norm.length, tableLog);
+            } catch (IOException e) {
+                return null;
+            }
+            BitWriter writer = new BitWriter(weights.length);
+            int index = weights.length;
+            int state1;
+            int state2;
+            if ((index & 1) != 0) {
+                state1 = table.initState(weights[--index]);
+                state2 = table.initState(weights[--index]);
+                state1 = table.encode(writer, state1, weights[--index]);
+            } else {
+                state2 = table.initState(weights[--index]);
+                state1 = table.initState(weights[--index]);
+            }
+            while (index > 0) {
+                state2 = table.encode(writer, state2, weights[--index]);
+                state1 = table.encode(writer, state1, weights[--index]);
+            }
+            table.flush(writer, state2);
+            table.flush(writer, state1);
+            writer.close();
+
+            byte[] header = writeNormalizedCounts(norm, tableLog);
+            int compressedSize = header.length + writer.length();
+            if (compressedSize >= 128) {
+                return null;
+            }
+            byte[] result = new byte[1 + compressedSize];
+            result[0] = (byte) compressedSize;
+            System.arraycopy(header, 0, result, 1, header.length);
+            System.arraycopy(writer.buffer(), 0, result, 1 + header.length, writer.length());
+            return result;
+        }
+
+        /**
+         * Encodes literals in reverse order, decoder reads the bit stream backward
+         */
+        @NotNull
+        BitWriter encode(@NotNull byte[] data, int start, int end) {
+            BitWriter writer = new BitWriter((end - start) * maxBits / 8 + 8);
+            for (int i = end - 1; i >= start; i--) {
+                int symbol = data[i] & 0xFF;
+                writer.addBits(codes[symbol], codeLengths[symbol]);
+            }
+            writer.close();
+            return writer;
+        }
+    }
+}
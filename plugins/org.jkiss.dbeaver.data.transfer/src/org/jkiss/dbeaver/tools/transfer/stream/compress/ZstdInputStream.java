@@ -0,0 +1,821 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.tools.transfer.stream.compress.Zstd.BackwardBitReader;
+import org.jkiss.dbeaver.tools.transfer.stream.compress.Zstd.FseDecodingTable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Zstandard decompressing input stream (see RFC 8878).
+ * <p>
+ * Reads concatenated frames and skips skippable frames. Dictionaries are not supported.
+ */
+public class ZstdInputStream extends InputStream {
+
+    // Maximal window size (the same limit as the reference decoder has by default)
+    private static final int MAX_WINDOW_SIZE = 1 << 27;
+    private static final int MIN_WINDOW_LOG = 10;
+
+    private static final FseDecodingTable LITERALS_LENGTH_DEFAULT_TABLE;
+    private static final FseDecodingTable MATCH_LENGTH_DEFAULT_TABLE;
+    private static final FseDecodingTable OFFSET_DEFAULT_TABLE;
+
+    static {
+        try {
+            LITERALS_LENGTH_DEFAULT_TABLE = FseDecodingTable.create(
+                Zstd.LITERALS_LENGTH_DEFAULT_NORM, Zstd.LITERALS_LENGTH_DEFAULT_NORM.length, Zstd.LITERALS_LENGTH_DEFAULT_LOG);
+            MATCH_LENGTH_DEFAULT_TABLE = FseDecodingTable.create(
+                Zstd.MATCH_LENGTH_DEFAULT_NORM, Zstd.MATCH_LENGTH_DEFAULT_NORM.length, Zstd.MATCH_LENGTH_DEFAULT_LOG);
+            OFFSET_DEFAULT_TABLE = FseDecodingTable.create(
+                Zstd.OFFSET_DEFAULT_NORM, Zstd.OFFSET_DEFAULT_NORM.length, Zstd.OFFSET_DEFAULT_LOG);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @NotNull
+    private final InputStream in;
+    private final byte[] header = new byte[8];
+    private final XXHash64 checksum = new XXHash64();
+    private boolean closed;
+
+    // Frame state
+    private boolean frameStarted;
+    private boolean checksumPresent;
+    private long frameContentSize;
+    private long frameDecodedSize;
+    private int windowSize;
+    private int blockMaximumSize;
+    private final int[] repeatedOffsets = new int[3];
+    private HuffmanTable huffmanTable;
+    private FseDecodingTable literalsLengthTable;
+    private FseDecodingTable matchLengthTable;
+    private FseDecodingTable offsetTable;
+
+    // Decoded data: window of previous data followed by data which is not read yet
+    private byte[] output = new byte[0];
+    private int outputPosition;
+    private int outputEnd;
+
+    // Current compressed block
+    private byte[] block = new byte[0];
+    private int blockPosition;
+    private int blockEnd;
+    private final byte[] literals = new byte[Zstd.MAX_BLOCK_SIZE];
+    private int literalsLength;
+
+    public ZstdInputStream(@NotNull InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (outputPosition == outputEnd && !decodeNext()) {
+            return -1;
+        }
+        return output[outputPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(@NotNull byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (outputPosition == outputEnd && !decodeNext()) {
+            return -1;
+        }
+        int count = Math.min(len, outputEnd - outputPosition);
+        System.arraycopy(output, outputPosition, b, off, count);
+        outputPosition += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return outputEnd - outputPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            in.close();
+        }
+    }
+
+    /**
+     * Decodes blocks until some data is produced.
+     * Returns false on the end of stream.
+     */
+    private boolean decodeNext() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+        while (true) {
+            if (!frameStarted && !readFrameHeader()) {
+                return false;
+            }
+            readFully(header, 3);
+            int blockHeader = (header[0] & 0xFF) | (header[1] & 0xFF) << 8 | (header[2] & 0xFF) << 16;
+            boolean lastBlock = (blockHeader & 1) != 0;
+            int blockType = (blockHeader >>> 1) & 3;
+            int blockSize = blockHeader >>> 3;
+
+            prepareOutput();
+            int start = outputEnd;
+            switch (blockType) {
+                case Zstd.BLOCK_RAW -> {
+                    checkBlockSize(blockSize);
+                    readFully(output, outputEnd, blockSize);
+                    outputEnd += blockSize;
+                }
+                case Zstd.BLOCK_RLE -> {
+                    checkBlockSize(blockSize);
+                    readFully(header, 1);
+                    Arrays.fill(output, outputEnd, outputEnd + blockSize, header[0]);
+                    outputEnd += blockSize;
+                }
+                case Zstd.BLOCK_COMPRESSED -> {
+                    checkBlockSize(blockSize);
+                    if (block.length < blockSize) {
+                        block = new byte[Zstd.MAX_BLOCK_SIZE];
+                    }
+                    readFully(block, 0, blockSize);
+                    blockPosition = 0;
+                    blockEnd = blockSize;
+                    decodeCompressedBlock();
+                }
+                default -> throw new IOException("Reserved Zstandard block type");
+            }
+            int decoded = outputEnd - start;
+            frameDecodedSize += decoded;
+            if (checksumPresent) {
+                checksum.update(output, start, decoded);
+            }
+            if (lastBlock) {
+                finishFrame();
+            }
+            if (decoded > 0) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns false if there are no more frames
+     */
+    private boolean readFrameHeader() throws IOException {
+        while (true) {
+            int count = in.readNBytes(header, 0, 4);
+            if (count == 0) {
+                return false;
+            } else if (count < 4) {
+                throw new EOFException("Unexpected end of Zstandard stream");
+            }
+            int magic = readInt(header, 0);
+            if ((magic & Zstd.SKIPPABLE_MAGIC_MASK) == Zstd.SKIPPABLE_MAGIC) {
+                readFully(header, 4);
+                skipFully(readInt(header, 0) & 0xFFFFFFFFL);
+                continue;
+            }
+            if (magic != Zstd.MAGIC) {
+                throw new IOException("Invalid Zstandard frame magic number");
+            }
+            break;
+        }
+
+        readFully(header, 1);
+        int descriptor = header[0] & 0xFF;
+        int contentSizeFlag = descriptor >>> 6;
+        boolean singleSegment = (descriptor & 0x20) != 0;
+        if ((descriptor & 0x08) != 0) {
+            throw new IOException("Reserved bit is set in Zstandard frame header");
+        }
+        checksumPresent = (descriptor & 0x04) != 0;
+        int dictionaryIdSize = switch (descriptor & 3) {
+            case 0 -> 0;
+            case 1 -> 1;
+            case 2 -> 2;
+            default -> 4;
+        };
+        int contentSizeBytes = switch (contentSizeFlag) {
+            case 0 -> singleSegment ? 1 : 0;
+            case 1 -> 2;
+            case 2 -> 4;
+            default -> 8;
+        };
+
+        long window = 0;
+        if (!singleSegment) {
+            readFully(header, 1);
+            int exponent = (header[0] & 0xFF) >>> 3;
+            int mantissa = header[0] & 7;
+            long windowBase = 1L << (MIN_WINDOW_LOG + exponent);
+            window = windowBase + (windowBase / 8) * mantissa;
+        }
+        if (dictionaryIdSize > 0) {
+            readFully(header, dictionaryIdSize);
+            if (readLittleEndian(header, dictionaryIdSize) != 0) {
+                throw new IOException("Zstandard dictionaries are not supported");
+            }
+        }
+        frameContentSize = -1;
+        if (contentSizeBytes > 0) {
+            readFully(header, contentSizeBytes);
+            frameContentSize = readLittleEndian(header, contentSizeBytes);
+            if (contentSizeBytes == 2) {
+                frameContentSize += 256;
+            }
+            if (singleSegment) {
+                window = frameContentSize;
+            }
+        }
+        if (window < 0 || window > MAX_WINDOW_SIZE) {
+            throw new IOException("Zstandard window size is too large: " + window);
+        }
+
+        windowSize = (int) window;
+        blockMaximumSize = Math.min(windowSize, Zstd.MAX_BLOCK_SIZE);
+        int capacity = windowSize + Math.max(blockMaximumSize, Zstd.MAX_BLOCK_SIZE);
+        if (output.length < capacity) {
+            output = new byte[capacity];
+        }
+        outputPosition = 0;
+        outputEnd = 0;
+        frameDecodedSize = 0;
+        frameStarted = true;
+        checksum.reset();
+        repeatedOffsets[0] = 1;
+        repeatedOffsets[1] = 4;
+        repeatedOffsets[2] = 8;
+        huffmanTable = null;
+        literalsLengthTable = null;
+        matchLengthTable = null;
+        offsetTable = null;
+        return true;
+    }
+
+    private void finishFrame() throws IOException {
+        frameStarted = false;
+        if (frameContentSize >= 0 && frameContentSize != frameDecodedSize) {
+            throw new IOException("Zstandard frame content size mismatch");
+        }
+        if (checksumPresent) {
+            readFully(header, 4);
+            if (readInt(header, 0) != (int) checksum.digest()) {
+                throw new IOException("Zstandard frame checksum mismatch");
+            }
+        }
+    }
+
+    /**
+     * Makes room for the next block keeping the window of previous data
+     */
+    private void prepareOutput() {
+        if (outputEnd + Zstd.MAX_BLOCK_SIZE > output.length) {
+            int keep = Math.min(windowSize, outputEnd);
+            System.arraycopy(output, outputEnd - keep, output, 0, keep);
+            outputEnd = keep;
+            outputPosition = keep;
+        }
+    }
+
+    private void checkBlockSize(int size) throws IOException {
+        if (size > blockMaximumSize) {
+            throw new IOException("Zstandard block is too large");
+        }
+    }
+
+    private void decodeCompressedBlock() throws IOException {
+        decodeLiterals();
+
+        if (blockPosition >= blockEnd) {
+            throw corrupted();
+        }
+        int sequenceCount = block[blockPosition++] & 0xFF;
+        if (sequenceCount >= 128) {
+            if (sequenceCount == 255) {
+                checkAvailable(2);
+                sequenceCount = (block[blockPosition] & 0xFF) + ((block[blockPosition + 1] & 0xFF) << 8) + 0x7F00;
+                blockPosition += 2;
+            } else {
+                checkAvailable(1);
+                sequenceCount = ((sequenceCount - 128) << 8) + (block[blockPosition++] & 0xFF);
+            }
+        }
+
+        int literalsPosition = 0;
+        if (sequenceCount > 0) {
+            checkAvailable(1);
+            int modes = block[blockPosition++] & 0xFF;
+            if ((modes & 3) != 0) {
+                throw corrupted();
+            }
+            literalsLengthTable = readSequenceTable(modes >>> 6, literalsLengthTable, LITERALS_LENGTH_DEFAULT_TABLE,
+                Zstd.MAX_LITERALS_LENGTH_CODE, Zstd.MAX_LITERALS_LENGTH_LOG);
+            offsetTable = readSequenceTable((modes >>> 4) & 3, offsetTable, OFFSET_DEFAULT_TABLE,
+                Zstd.MAX_OFFSET_CODE, Zstd.MAX_OFFSET_LOG);
+            matchLengthTable = readSequenceTable((modes >>> 2) & 3, matchLengthTable, MATCH_LENGTH_DEFAULT_TABLE,
+                Zstd.MAX_MATCH_LENGTH_CODE, Zstd.MAX_MATCH_LENGTH_LOG);
+            literalsPosition = executeSequences(sequenceCount);
+        } else if (blockPosition != blockEnd) {
+            throw corrupted();
+        }
+
+        // Last literals
+        int remaining = literalsLength - literalsPosition;
+        checkOutput(remaining);
+        System.arraycopy(literals, literalsPosition, output, outputEnd, remaining);
+        outputEnd += remaining;
+    }
+
+    /**
+     * Decodes sequences and writes literals and matches to the output.
+     * Returns position of the first literal which is not used by sequences.
+     */
+    private int executeSequences(int sequenceCount) throws IOException {
+        BackwardBitReader reader = new BackwardBitReader(block, blockPosition, blockEnd - blockPosition);
+        blockPosition = blockEnd;
+
+        FseDecodingTable llTable = literalsLengthTable;
+        FseDecodingTable ofTable = offsetTable;
+        FseDecodingTable mlTable = matchLengthTable;
+        int llState = reader.readBits(llTable.tableLog);
+        int ofState = reader.readBits(ofTable.tableLog);
+        int mlState = reader.readBits(mlTable.tableLog);
+
+        int literalsPosition = 0;
+        int blockStart = outputEnd;
+        for (int i = 0; i < sequenceCount; i++) {
+            int offsetCode = ofTable.symbols[ofState];
+            int matchLengthCode = mlTable.symbols[mlState];
+            int literalsLengthCode = llTable.symbols[llState];
+
+            long offsetValue = (1L << offsetCode) + reader.readBits(offsetCode);
+            int matchLength = Zstd.MATCH_LENGTH_BASE[matchLengthCode] + reader.readBits(Zstd.MATCH_LENGTH_BITS[matchLengthCode]);
+            int literalsLengthValue = Zstd.LITERALS_LENGTH_BASE[literalsLengthCode] + reader.readBits(Zstd.LITERALS_LENGTH_BITS[literalsLengthCode]);
+            int offset = resolveOffset(offsetValue, literalsLengthValue);
+
+            if (i < sequenceCount - 1) {
+                llState = llTable.baselines[llState] + reader.readBits(llTable.bits[llState]);
+                mlState = mlTable.baselines[mlState] + reader.readBits(mlTable.bits[mlState]);
+                ofState = ofTable.baselines[ofState] + reader.readBits(ofTable.bits[ofState]);
+            }
+
+            // Literals
+            if (literalsLengthValue > literalsLength - literalsPosition) {
+                throw corrupted();
+            }
+            checkOutput(literalsLengthValue + matchLength);
+            System.arraycopy(literals, literalsPosition, output, outputEnd, literalsLengthValue);
+            literalsPosition += literalsLengthValue;
+            outputEnd += literalsLengthValue;
+
+            // Match
+            if (offset > outputEnd || offset > frameDecodedSize + (outputEnd - blockStart)) {
+                throw new IOException("Zstandard match offset is out of window");
+            }
+            int source = outputEnd - offset;
+            if (offset >= matchLength) {
+                System.arraycopy(output, source, output, outputEnd, matchLength);
+                outputEnd += matchLength;
+            } else {
+                for (int j = 0; j < matchLength; j++) {
+                    output[outputEnd++] = output[source++];
+                }
+            }
+        }
+        if (!reader.isFinished()) {
+            throw corrupted();
+        }
+        return literalsPosition;
+    }
+
+    private int resolveOffset(long offsetValue, int literalsLength) throws IOException {
+        int[] offsets = repeatedOffsets;
+        if (offsetValue > 3) {
+            long offset = offsetValue - 3;
+            if (offset > MAX_WINDOW_SIZE) {
+                throw new IOException("Zstandard match offset is out of window");
+            }
+            offsets[2] = offsets[1];
+            offsets[1] = offsets[0];
+            offsets[0] = (int) offset;
+            return offsets[0];
+        }
+        int index = (int) offsetValue - 1 + (literalsLength == 0 ? 1 : 0);
+        if (index == 0) {
+            return offsets[0];
+        }
+        int offset = index == 3 ? offsets[0] - 1 : offsets[index];
+        if (offset <= 0) {
+            throw corrupted();
+        }
+        if (index != 1) {
+            offsets[2] = offsets[1];
+        }
+        offsets[1] = offsets[0];
+        offsets[0] = offset;
+        return offset;
+    }
+
+    @NotNull
+    private FseDecodingTable readSequenceTable(
+        int mode,
+        @Nullable FseDecodingTable previousTable,
+        @NotNull FseDecodingTable defaultTable,
+        int maxSymbol,
+        int maxLog
+    ) throws IOException {
+        switch (mode) {
+            case Zstd.MODE_PREDEFINED:
+                return defaultTable;
+            case Zstd.MODE_RLE: {
+                checkAvailable(1);
+                int symbol = block[blockPosition++] & 0xFF;
+                if (symbol > maxSymbol) {
+                    throw corrupted();
+                }
+                return FseDecodingTable.createRle(symbol);
+            }
+            case Zstd.MODE_COMPRESSED:
+                return readFseTable(maxSymbol, maxLog);
+            default:
+                if (previousTable == null) {
+                    throw corrupted();
+                }
+                return previousTable;
+        }
+    }
+
+    /**
+     * Reads FSE table description (normalized symbol counts)
+     */
+    @NotNull
+    private FseDecodingTable readFseTable(int maxSymbol, int maxLog) throws IOException {
+        int start = blockPosition;
+        int bitPosition = 0;
+        int tableLog = readForwardBits(start, bitPosition, 4) + 5;
+        bitPosition += 4;
+        if (tableLog > maxLog) {
+            throw corrupted();
+        }
+        short[] norm = new short[maxSymbol + 1];
+        int remaining = (1 << tableLog) + 1;
+        int threshold = 1 << tableLog;
+        int bits = tableLog + 1;
+        int symbol = 0;
+        boolean previousZero = false;
+        while (remaining > 1 && symbol <= maxSymbol) {
+            if (previousZero) {
+                while (true) {
+                    int repeat = readForwardBits(start, bitPosition, 2);
+                    bitPosition += 2;
+                    symbol += repeat;
+                    if (repeat != 3) {
+                        break;
+                    }
+                }
+                if (symbol > maxSymbol) {
+                    break;
+                }
+            }
+            int max = (2 * threshold - 1) - remaining;
+            int value = readForwardBits(start, bitPosition, bits);
+            int count;
+            if ((value & (threshold - 1)) < max) {
+                count = value & (threshold - 1);
+                bitPosition += bits - 1;
+            } else {
+                count = value & (2 * threshold - 1);
+                if (count >= threshold) {
+                    count -= max;
+                }
+                bitPosition += bits;
+            }
+            count--;
+            remaining -= Math.abs(count);
+            norm[symbol++] = (short) count;
+            previousZero = count == 0;
+            while (remaining < threshold) {
+                bits--;
+                threshold >>>= 1;
+            }
+        }
+        if (remaining != 1) {
+            throw corrupted();
+        }
+        blockPosition = start + (bitPosition + 7) / 8;
+        if (blockPosition > blockEnd) {
+            throw corrupted();
+        }
+        return FseDecodingTable.create(norm, symbol, tableLog);
+    }
+
+    private int readForwardBits(int start, int bitPosition, int bits) {
+        long value = Zstd.readLongPadded(block, start + (bitPosition >>> 3), blockEnd) >>> (bitPosition & 7);
+        return (int) (value & ((1L << bits) - 1));
+    }
+
+    private void decodeLiterals() throws IOException {
+        checkAvailable(1);
+        int first = block[blockPosition] & 0xFF;
+        int type = first & 3;
+        int sizeFormat = (first >>> 2) & 3;
+        switch (type) {
+            case Zstd.LITERALS_RAW, Zstd.LITERALS_RLE -> {
+                int size;
+                switch (sizeFormat) {
+                    case 0, 2 -> {
+                        size = first >>> 3;
+                        blockPosition += 1;
+                    }
+                    case 1 -> {
+                        checkAvailable(2);
+                        size = (first >>> 4) + ((block[blockPosition + 1] & 0xFF) << 4);
+                        blockPosition += 2;
+                    }
+                    default -> {
+                        checkAvailable(3);
+                        size = (first >>> 4) + ((block[blockPosition + 1] & 0xFF) << 4) + ((block[blockPosition + 2] & 0xFF) << 12);
+                        blockPosition += 3;
+                    }
+                }
+                if (size > Zstd.MAX_BLOCK_SIZE) {
+                    throw corrupted();
+                }
+                if (type == Zstd.LITERALS_RAW) {
+                    checkAvailable(size);
+                    System.arraycopy(block, blockPosition, literals, 0, size);
+                    blockPosition += size;
+                } else {
+                    checkAvailable(1);
+                    Arrays.fill(literals, 0, size, block[blockPosition++]);
+                }
+                literalsLength = size;
+            }
+            default -> {
+                int streamCount = sizeFormat == 0 ? 1 : 4;
+                int headerSize = sizeFormat < 2 ? 3 : sizeFormat + 2;
+                int sizeBits = sizeFormat < 2 ? 10 : sizeFormat == 2 ? 14 : 18;
+                checkAvailable(headerSize);
+                long header = 0;
+                for (int i = headerSize - 1; i >= 0; i--) {
+                    header = (header << 8) | (block[blockPosition + i] & 0xFF);
+                }
+                blockPosition += headerSize;
+                int regeneratedSize = (int) ((header >>> 4) & ((1 << sizeBits) - 1));
+                int compressedSize = (int) ((header >>> (4 + sizeBits)) & ((1 << sizeBits) - 1));
+                if (regeneratedSize > Zstd.MAX_BLOCK_SIZE) {
+                    throw corrupted();
+                }
+                checkAvailable(compressedSize);
+                int end = blockPosition + compressedSize;
+                if (type == Zstd.LITERALS_COMPRESSED) {
+                    huffmanTable = readHuffmanTable(end);
+                } else if (huffmanTable == null) {
+                    throw corrupted();
+                }
+                if (streamCount == 1) {
+                    huffmanTable.decode(block, blockPosition, end - blockPosition, literals, 0, regeneratedSize);
+                } else {
+                    if (end - blockPosition < 6) {
+                        throw corrupted();
+                    }
+                    int[] streamSizes = new int[4];
+                    int streamsSize = end - blockPosition - 6;
+                    for (int i = 0; i < 3; i++) {
+                        streamSizes[i] = (block[blockPosition + i * 2] & 0xFF) | (block[blockPosition + i * 2 + 1] & 0xFF) << 8;
+                        streamsSize -= streamSizes[i];
+                    }
+                    streamSizes[3] = streamsSize;
+                    int segmentSize = (regeneratedSize + 3) / 4;
+                    if (streamSizes[3] <= 0 || regeneratedSize - segmentSize * 3 < 0) {
+                        throw corrupted();
+                    }
+                    int streamStart = blockPosition + 6;
+                    for (int i = 0; i < 4; i++) {
+                        int outputStart = segmentSize * i;
+                        int outputSize = i < 3 ? segmentSize : regeneratedSize - segmentSize * 3;
+                        huffmanTable.decode(block, streamStart, streamSizes[i], literals, outputStart, outputSize);
+                        streamStart += streamSizes[i];
+                    }
+                }
+                blockPosition = end;
+                literalsLength = regeneratedSize;
+            }
+        }
+    }
+
+    @NotNull
+    private HuffmanTable readHuffmanTable(int end) throws IOException {
+        if (blockPosition >= end) {
+            throw corrupted();
+        }
+        int headerByte = block[blockPosition++] & 0xFF;
+        int[] weights = new int[256];
+        int weightCount;
+        if (headerByte >= 128) {
+            weightCount = headerByte - 127;
+            int size = (weightCount + 1) / 2;
+            if (blockPosition + size > end) {
+                throw corrupted();
+            }
+            for (int i = 0; i < weightCount; i++) {
+                int value = block[blockPosition + i / 2] & 0xFF;
+                weights[i] = (i & 1) == 0 ? value >>> 4 : value & 0xF;
+            }
+            blockPosition += size;
+        } else {
+            if (blockPosition + headerByte > end) {
+                throw corrupted();
+            }
+            int weightsEnd = blockPosition + headerByte;
+            weightCount = decodeWeights(weightsEnd, weights);
+            blockPosition = weightsEnd;
+        }
+        return HuffmanTable.create(weights, weightCount);
+    }
+
+    /**
+     * Decodes FSE compressed Huffman weights. Returns number of weights.
+     */
+    private int decodeWeights(int end, @NotNull int[] weights) throws IOException {
+        int savedEnd = blockEnd;
+        FseDecodingTable table;
+        blockEnd = end;
+        try {
+            table = readFseTable(Zstd.MAX_HUFFMAN_BITS, Zstd.MAX_HUFFMAN_WEIGHTS_LOG);
+        } finally {
+            blockEnd = savedEnd;
+        }
+        BackwardBitReader reader = new BackwardBitReader(block, blockPosition, end - blockPosition);
+        int state1 = reader.readBits(table.tableLog);
+        int state2 = reader.readBits(table.tableLog);
+        int count = 0;
+        // Decode symbols until the bit stream is exhausted, then emit the last symbol of the other state
+        while (true) {
+            if (count > weights.length - 2) {
+                throw corrupted();
+            }
+            weights[count++] = table.symbols[state1];
+            state1 = table.baselines[state1] + reader.readBits(table.bits[state1]);
+            if (reader.isOverflow()) {
+                weights[count++] = table.symbols[state2];
+                break;
+            }
+            if (count > weights.length - 2) {
+                throw corrupted();
+            }
+            weights[count++] = table.symbols[state2];
+            state2 = table.baselines[state2] + reader.readBits(table.bits[state2]);
+            if (reader.isOverflow()) {
+                weights[count++] = table.symbols[state1];
+                break;
+            }
+        }
+        return count;
+    }
+
+    private void checkAvailable(int count) throws IOException {
+        if (blockPosition + count > blockEnd) {
+            throw corrupted();
+        }
+    }
+
+    private void checkOutput(int count) throws IOException {
+        if (count < 0 || outputEnd + count > output.length) {
+            throw corrupted();
+        }
+    }
+
+    private void readFully(@NotNull byte[] buffer, int length) throws IOException {
+        readFully(buffer, 0, length);
+    }
+
+    private void readFully(@NotNull byte[] buffer, int offset, int length) throws IOException {
+        if (in.readNBytes(buffer, offset, length) < length) {
+            throw new EOFException("Unexpected end of Zstandard stream");
+        }
+    }
+
+    private void skipFully(long count) throws IOException {
+        try {
+            in.skipNBytes(count);
+        } catch (EOFException e) {
+            throw new EOFException("Unexpected end of Zstandard stream");
+        }
+    }
+
+    private static int readInt(@NotNull byte[] data, int offset) {
+        return (int) readLittleEndian(data, offset, 4);
+    }
+
+    private static long readLittleEndian(@NotNull byte[] data, int length) {
+        return readLittleEndian(data, 0, length);
+    }
+
+    private static long readLittleEndian(@NotNull byte[] data, int offset, int length) {
+        long value = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            value = (value << 8) | (data[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    @NotNull
+    private static IOException corrupted() {
+        return new IOException("Corrupted Zstandard block");
+    }
+
+    /**
+     * Huffman decoding table
+     */
+    private static class HuffmanTable {
+        private final int maxBits;
+        private final byte[] symbols;
+        private final byte[] bits;
+
+        private HuffmanTable(int maxBits) {
+            this.maxBits = maxBits;
+            this.symbols = new byte[1 << maxBits];
+            this.bits = new byte[1 << maxBits];
+        }
+
+        /**
+         * Creates table from weights of all symbols except the last one
+         */
+        @NotNull
+        static HuffmanTable create(@NotNull int[] weights, int weightCount) throws IOException {
+            if (weightCount == 0 || weightCount > 255) {
+                throw corrupted();
+            }
+            int weightSum = 0;
+            for (int i = 0; i < weightCount; i++) {
+                if (weights[i] > Zstd.MAX_HUFFMAN_BITS) {
+                    throw corrupted();
+                }
+                if (weights[i] > 0) {
+                    weightSum += 1 << (weights[i] - 1);
+                }
+            }
+            if (weightSum == 0) {
+                throw corrupted();
+            }
+            int maxBits = Zstd.highBit(weightSum) + 1;
+            int rest = (1 << maxBits) - weightSum;
+            if (maxBits > Zstd.MAX_HUFFMAN_BITS || Integer.bitCount(rest) != 1) {
+                throw corrupted();
+            }
+            int symbolCount = weightCount + 1;
+            weights[weightCount] = Zstd.highBit(rest) + 1;
+
+            HuffmanTable table = new HuffmanTable(maxBits);
+            int position = 0;
+            for (int weight = 1; weight <= maxBits; weight++) {
+                int length = 1 << (weight - 1);
+                for (int symbol = 0; symbol < symbolCount; symbol++) {
+                    if (weights[symbol] == weight) {
+                        Arrays.fill(table.symbols, position, position + length, (byte) symbol);
+                        Arrays.fill(table.bits, position, position + length, (byte) (maxBits + 1 - weight));
+                        position += length;
+                    }
+                }
+            }
+            return table;
+        }
+
+        void decode(@NotNull byte[] data, int offset, int length, @NotNull byte[] out, int outOffset, int count) throws IOException {
+            BackwardBitReader reader = new BackwardBitReader(data, offset, length);
+            for (int i = 0; i < count; i++) {
+                int value = reader.peekBits(maxBits);
+                out[outOffset + i] = symbols[value];
+                reader.skipBits(bits[value]);
+            }
+            if (!reader.isFinished()) {
+                throw corrupted();
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.exporter;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.DTUtils;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.*;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Abstract columnar file exporter.
+ * Rows are collected into column batches, each full batch is passed to the file writer.
+ */
+public abstract class ColumnarExporterAbstract extends StreamExporterAbstract {
+
+    private static final String PROP_DICTIONARY_ENCODING = "dictionaryEncoding";
+    // Initial capacity of column vectors, they grow up to the batch size
+    private static final int INITIAL_BATCH_CAPACITY = 1024;
+
+    private DBDAttributeBinding[] columns;
+    private ColumnBatch batch;
+    private IColumnarFileWriter writer;
+    private int batchSize;
+    private boolean dictionaryEnabled;
+
+    @Override
+    public void init(IStreamDataExporterSite site) throws DBException {
+        super.init(site);
+        Map<String, Object> properties = site.getProperties();
+        this.batchSize = Math.max(getBatchSize(properties), 1);
+        this.dictionaryEnabled = CommonUtils.getBoolean(properties.get(PROP_DICTIONARY_ENCODING), true);
+    }
+
+    /**
+     * Returns number of rows in a batch
+     */
+    protected abstract int getBatchSize(@NotNull Map<String, Object> properties);
+
+    @NotNull
+    protected abstract IColumnarFileWriter createWriter(
+        @NotNull OutputStream outputStream,
+        @NotNull List<ColumnDescriptor> columns,
+        @NotNull Map<String, Object> properties);
+
+    protected boolean isDictionaryEnabled() {
+        return dictionaryEnabled;
+    }
+
+    @Override
+    public void exportHeader(DBCSession session) throws DBException, IOException {
+        columns = getSite().getAttributes();
+        List<ColumnDescriptor> descriptors = new ArrayList<>(columns.length);
+        Set<String> names = new HashSet<>();
+        for (DBDAttributeBinding column : columns) {
+            String name = CommonUtils.isEmpty(column.getLabel()) ? column.getName() : column.getLabel();
+            // Column names must be unique
+            String uniqueName = name;
+            for (int i = 2; !names.add(uniqueName); i++) {
+                uniqueName = name + "_" + i;
+            }
+            descriptors.add(new ColumnDescriptor(
+                uniqueName,
+                ColumnType.getColumnType(column),
+                ColumnType.getDecimalPrecision(column),
+                ColumnType.getDecimalScale(column)));
+        }
+        batch = new ColumnBatch(descriptors, Math.min(batchSize, INITIAL_BATCH_CAPACITY), dictionaryEnabled);
+        writer = createWriter(getOutputStream(), descriptors, getSite().getProperties());
+    }
+
+    @Override
+    public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException {
+        for (int i = 0; i < columns.length; i++) {
+            ColumnVector vector = batch.getVector(i);
+            ColumnDescriptor descriptor = vector.getColumn();
+            Object value = getColumnValue(session, resultSet, columns[i], descriptor.getType(), row[i]);
+            try {
+                vector.add(value);
+            } catch (RuntimeException e) {
+                throw new DBException("Can't convert value of column '" + descriptor.getName() + "' to " + descriptor.getType().getTypeName(), e);
+            }
+        }
+        batch.endRow();
+        if (batch.getRowCount() >= batchSize) {
+            flushBatch();
+        }
+    }
+
+    @Override
+    public void exportFooter(DBRProgressMonitor monitor) throws DBException, IOException {
+        if (writer == null) {
+            return;
+        }
+        flushBatch();
+        writer.finish();
+    }
+
+    @Nullable
+    private Object getColumnValue(
+        @NotNull DBCSession session,
+        @NotNull DBCResultSet resultSet,
+        @NotNull DBDAttributeBinding column,
+        @NotNull ColumnType type,
+        @Nullable Object value
+    ) throws DBException {
+        if (value instanceof DBDContent content) {
+            try {
+                value = type == ColumnType.BINARY ?
+                    ContentUtils.getContentBinaryValue(session.getProgressMonitor(), content) :
+                    ContentUtils.getContentStringValue(session.getProgressMonitor(), content);
+            } finally {
+                DTUtils.closeContents(resultSet, content);
+            }
+        }
+        if (value == null || type != ColumnType.STRING || value instanceof String) {
+            return value;
+        }
+        if (value instanceof BigDecimal decimal) {
+            // Display format may round or group digits
+            return decimal.toPlainString();
+        }
+        return getValueDisplayString(column, value);
+    }
+
+    private void flushBatch() throws IOException {
+        if (batch.getRowCount() > 0) {
+            writer.writeBatch(batch);
+            batch.reset();
+        }
+    }
+
+}
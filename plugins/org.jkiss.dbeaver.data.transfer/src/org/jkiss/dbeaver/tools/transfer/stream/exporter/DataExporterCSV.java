@@ -30,14 +30,16 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.tools.transfer.DTUtils;
 import org.jkiss.dbeaver.tools.transfer.stream.IAppendableDataExporter;
+import org.jkiss.dbeaver.tools.transfer.stream.IParallelDataExporter;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporter;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamExportWriter;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferUtils;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -49,7 +51,7 @@ import java.util.regex.Pattern;
 /**
  * CSV Exporter
  */
-public class DataExporterCSV extends StreamExporterAbstract implements IAppendableDataExporter {
+public class DataExporterCSV extends StreamExporterAbstract implements IAppendableDataExporter, IParallelDataExporter {
 
     private static final String PROP_DELIMITER = "delimiter";
     private static final String PROP_ROW_DELIMITER = "rowDelimiter";
@@ -95,8 +97,8 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
     private String lineFeedEscapeString;
     private DBDAttributeBinding[] columns;
     private DataExporterArrayFormat dataExporterArrayFormat;
-
-    private final StringBuilder buffer = new StringBuilder();
+    // Integer values can be written without conversion to string
+    private boolean writeNumbersDirectly;
 
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
@@ -138,6 +140,26 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
             default -> DBPIdentifierCase.UPPER;
         };
         dataExporterArrayFormat = DataExporterArrayFormat.getArrayFormat(CommonUtils.toString(properties.get(PROP_FORMAT_ARRAY)));
+        writeNumbersDirectly = !formatNumbers &&
+            (quoteStrategy == QuoteStrategy.DISABLED || quoteStrategy == QuoteStrategy.STRINGS || quoteStrategy == QuoteStrategy.ALL_BUT_NUMBERS) &&
+            !isNumberChar(quoteChar) && !hasNumberChars(delimiter) && !hasNumberChars(rowDelimiter);
+    }
+
+    private static boolean isNumberChar(char c) {
+        return c == '-' || Character.isDigit(c);
+    }
+
+    private static boolean hasNumberChars(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (isNumberChar(str.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIntegerValue(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
     }
 
     @Override
@@ -167,6 +189,15 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
         }
     }
 
+    @NotNull
+    @Override
+    public IStreamDataExporter createRowFormatter() {
+        DataExporterCSV formatter = new DataExporterCSV();
+        formatter.headerPosition = HeaderPosition.none;
+        formatter.columns = columns;
+        return formatter;
+    }
+
     private void printHeader()
     {
         for (int i = 0, columnsSize = columns.length; i < columnsSize; i++) {
@@ -224,6 +255,9 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
                 finally {
                     DTUtils.closeContents(resultSet, content);
                 }
+            } else if (writeNumbersDirectly && column.getDataKind() == DBPDataKind.NUMERIC && isIntegerValue(row[i])) {
+                // Native format of integers is never quoted
+                getExportWriter().writeNumber(((Number) row[i]).longValue());
             } else {
                 String stringValue = super.getValueDisplayString(column, row[i]);
                 boolean quote = false;
@@ -345,29 +379,28 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
             }
         }
 
+        StreamExportWriter out = getExportWriter();
+        if (quote && useQuotes) out.writeChar(quoteChar);
         if (quote && hasQuotes) {
             // escape quotes with double quotes
-            buffer.setLength(0);
-            for (int i = 0; i < value.length(); i++) {
-                char c = value.charAt(i);
-                if (c == quoteChar) {
-                    buffer.append(quoteChar);
-                }
-                buffer.append(c);
+            int start = 0;
+            for (int pos = value.indexOf(quoteChar); pos != -1; pos = value.indexOf(quoteChar, start)) {
+                out.writeText(value, start, pos + 1);
+                out.writeChar(quoteChar);
+                start = pos + 1;
             }
-            value = buffer.toString();
+            out.writeText(value, start, value.length());
+        } else {
+            out.writeText(value);
         }
-        PrintWriter out = getWriter();
-        if (quote && useQuotes) out.write(quoteChar);
-        out.write(value);
-        if (quote && useQuotes) out.write(quoteChar);
+        if (quote && useQuotes) out.writeChar(quoteChar);
     }
 
     private void writeCellValue(Reader reader) throws IOException
     {
         try {
-            PrintWriter out = getWriter();
-            if (useQuotes) out.write(quoteChar);
+            StreamExportWriter out = getExportWriter();
+            if (useQuotes) out.writeChar(quoteChar);
             // Copy reader
             char[] buffer = new char[2000];
             for (;;) {
@@ -377,12 +410,12 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
                 }
                 for (int i = 0; i < count; i++) {
                     if (useQuotes && buffer[i] == quoteChar) {
-                        out.write(quoteChar);
+                        out.writeChar(quoteChar);
                     }
-                    out.write(buffer[i]);
+                    out.writeChar(buffer[i]);
                 }
             }
-            if (useQuotes) out.write(quoteChar);
+            if (useQuotes) out.writeChar(quoteChar);
         } finally {
             ContentUtils.close(reader);
         }
@@ -390,12 +423,12 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
 
     private void writeDelimiter()
     {
-        getWriter().write(delimiter);
+        getExportWriter().writeText(delimiter);
     }
 
     private void writeRowLimit()
     {
-        getWriter().write(rowDelimiter);
+        getExportWriter().writeText(rowDelimiter);
     }
 
 }
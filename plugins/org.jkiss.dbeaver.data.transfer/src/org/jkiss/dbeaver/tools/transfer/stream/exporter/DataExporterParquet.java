@@ -0,0 +1,59 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.exporter;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnDescriptor;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.IColumnarFileWriter;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ParquetFileWriter;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Apache Parquet exporter
+ */
+public class DataExporterParquet extends ColumnarExporterAbstract {
+
+    private static final String PROP_ROW_GROUP_SIZE = "rowGroupSize";
+    private static final String PROP_COMPRESSION = "compression";
+
+    private static final int DEFAULT_ROW_GROUP_SIZE = 100000;
+
+    @Override
+    protected int getBatchSize(@NotNull Map<String, Object> properties) {
+        return CommonUtils.toInt(properties.get(PROP_ROW_GROUP_SIZE), DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    @NotNull
+    @Override
+    protected IColumnarFileWriter createWriter(
+        @NotNull OutputStream outputStream,
+        @NotNull List<ColumnDescriptor> columns,
+        @NotNull Map<String, Object> properties
+    ) {
+        ParquetFileWriter.Compression compression = CommonUtils.valueOf(
+            ParquetFileWriter.Compression.class,
+            CommonUtils.toString(properties.get(PROP_COMPRESSION)).toUpperCase(Locale.ENGLISH),
+            ParquetFileWriter.Compression.GZIP);
+        return new ParquetFileWriter(outputStream, columns, compression);
+    }
+
+}
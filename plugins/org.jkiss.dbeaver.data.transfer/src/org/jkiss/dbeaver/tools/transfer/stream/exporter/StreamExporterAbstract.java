@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporter;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamExportWriter;
 
 import java.io.OutputStream;
 import java.io.PrintWriter;
@@ -43,6 +44,10 @@ public abstract class StreamExporterAbstract implements IStreamDataExporter {
         return site.getWriter();
     }
 
+    protected StreamExportWriter getExportWriter() {
+        return site.getExportWriter();
+    }
+
     protected OutputStream getOutputStream() {
         return site.getOutputStream();
     }
@@ -64,6 +69,12 @@ public abstract class StreamExporterAbstract implements IStreamDataExporter {
         Object value)
     {
         final DBDValueHandler valueHandler = column.getValueHandler();
+        if (site.isParallelFormatting()) {
+            // Value handlers cache formatters which are not thread-safe
+            synchronized (valueHandler) {
+                return valueHandler.getValueDisplayString(column, value, getValueExportFormat(column));
+            }
+        }
         return valueHandler.getValueDisplayString(column, value, getValueExportFormat(column));
     }
 
@@ -0,0 +1,166 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Splits CSV file into chunks of complete records.
+ * <p>
+ * Chunks end after a line feed which is not inside a quoted value. Splitter scans all bytes to track
+ * quotes, but it doesn't decode or parse values, so it is much faster than parsing.
+ * Scanning works on bytes and requires charset in which delimiters, quotes and line feeds
+ * are never a part of multibyte characters (UTF-8 and single byte charsets).
+ * <p>
+ * Quotes are recognized the same way as by CSV parser for well-formed files: at the beginning of a value
+ * (leading whitespaces are ignored), doubled or escaped quotes inside quoted values don't close them.
+ * Escaped quote at the beginning of a value is a part of unquoted value.
+ */
+public class CSVChunkSplitter {
+
+    private static final int MAPPING_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    // Scanner states
+    private static final int VALUE_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int UNQUOTED_ESCAPE = 2;
+    private static final int QUOTED = 3;
+    private static final int QUOTED_ESCAPE = 4;
+    private static final int QUOTED_QUOTE = 5;
+
+    @NotNull
+    private final FileChannel channel;
+    private final long size;
+    private final int delimiter;
+    private final int quoteChar;
+    private final int escapeChar;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+
+    private long position;
+    private int state = VALUE_START;
+
+    /**
+     * @param quoteChar quote character or -1 if values are not quoted
+     * @param escapeChar escape character or -1 if there is no escape character
+     */
+    public CSVChunkSplitter(@NotNull FileChannel channel, long start, long size, int delimiter, int quoteChar, int escapeChar) {
+        this.channel = channel;
+        this.position = start;
+        this.size = size;
+        this.delimiter = delimiter;
+        this.quoteChar = quoteChar;
+        // Quote used as escape character is handled as a doubled quote
+        this.escapeChar = escapeChar == quoteChar ? -1 : escapeChar;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public boolean hasMoreData() {
+        return position < size;
+    }
+
+    /**
+     * Scans the next chunk
+     * @return end position of the chunk. Chunk is at least minChunkSize bytes long unless it is the last chunk.
+     */
+    public long nextChunkEnd(long minChunkSize) throws IOException {
+        final long minEnd = position + minChunkSize;
+        while (position < size) {
+            if (position >= windowEnd) {
+                mapWindow();
+            }
+            final MappedByteBuffer buffer = window;
+            final long bufferStart = windowStart;
+            final int bufferLength = (int) (windowEnd - windowStart);
+            int offset = (int) (position - bufferStart);
+            int st = state;
+            for (; offset < bufferLength; offset++) {
+                int b = buffer.get(offset) & 0xFF;
+                switch (st) {
+                    case QUOTED:
+                        if (b == escapeChar) {
+                            st = QUOTED_ESCAPE;
+                        } else if (b == quoteChar) {
+                            st = QUOTED_QUOTE;
+                        }
+                        continue;
+                    case QUOTED_ESCAPE:
+                        // Escaped quote or escape character, any other character is just a part of value
+                        st = QUOTED;
+                        continue;
+                    case QUOTED_QUOTE:
+                        if (b == quoteChar) {
+                            // Doubled quote
+                            st = QUOTED;
+                            continue;
+                        }
+                        // Closing quote, process current character as unquoted
+                        st = UNQUOTED;
+                        break;
+                    case UNQUOTED_ESCAPE:
+                        st = UNQUOTED;
+                        if (b == quoteChar || b == escapeChar) {
+                            continue;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                if (b == '\n') {
+                    st = VALUE_START;
+                    if (bufferStart + offset >= minEnd) {
+                        position = bufferStart + offset + 1;
+                        state = st;
+                        return position;
+                    }
+                } else if (b == '\r' || b == delimiter) {
+                    st = VALUE_START;
+                } else if (st == VALUE_START) {
+                    if (b == quoteChar) {
+                        st = QUOTED;
+                    } else if (b == escapeChar) {
+                        // Escaped character starts unquoted value, escaped quote doesn't open quoted one
+                        st = UNQUOTED_ESCAPE;
+                    } else if (b != ' ' && b != '\t') {
+                        st = UNQUOTED;
+                    }
+                } else if (b == escapeChar) {
+                    st = UNQUOTED_ESCAPE;
+                }
+            }
+            position = bufferStart + offset;
+            state = st;
+        }
+        return position;
+    }
+
+    private void mapWindow() throws IOException {
+        windowStart = position;
+        windowEnd = Math.min(size, position + MAPPING_WINDOW_SIZE);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+    }
+
+}
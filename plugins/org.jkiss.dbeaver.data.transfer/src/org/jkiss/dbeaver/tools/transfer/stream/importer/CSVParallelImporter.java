@@ -0,0 +1,417 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferResultSet;
+import org.jkiss.dbeaver.tools.transfer.stream.compress.CompressionUtils;
+import org.jkiss.utils.csv.CSVParser;
+import org.jkiss.utils.csv.CSVReader;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel CSV import.
+ * <p>
+ * Input file is memory mapped and split into chunks at record boundaries (see {@link CSVChunkSplitter}).
+ * Chunks are decoded, parsed and converted on a pool of worker threads with the same CSV reader settings
+ * as in sequential import. Rows are passed to the consumer on the caller thread, either in file order or
+ * in chunk completion order. Number of chunks being parsed is bounded, so parsing waits if the consumer
+ * can't keep up.
+ */
+class CSVParallelImporter {
+
+    private static final Log log = Log.getLog(CSVParallelImporter.class);
+
+    static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int PENDING_CHUNKS_PER_THREAD = 2;
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    @NotNull
+    private final Path inputFile;
+    @NotNull
+    private final Charset charset;
+    private final char delimiter;
+    private final char quoteChar;
+    private final char escapeChar;
+    @NotNull
+    private final Function<Reader, CSVReader> readerFactory;
+    @NotNull
+    private final UnaryOperator<String[]> rowNormalizer;
+    private final boolean skipHeader;
+    private final int threads;
+    private final boolean preserveOrder;
+    private final int chunkSize;
+
+    private long startTime;
+    private long rowCount;
+    private long totalBytes;
+    private long totalParseTime;
+    private long totalMalformedRows;
+    private long totalInvalidValues;
+
+    CSVParallelImporter(
+        @NotNull Path inputFile,
+        @NotNull Charset charset,
+        char delimiter,
+        char quoteChar,
+        char escapeChar,
+        @NotNull Function<Reader, CSVReader> readerFactory,
+        @NotNull UnaryOperator<String[]> rowNormalizer,
+        boolean skipHeader,
+        int threads,
+        boolean preserveOrder,
+        int chunkSize
+    ) {
+        this.inputFile = inputFile;
+        this.charset = charset;
+        this.delimiter = delimiter;
+        this.quoteChar = quoteChar;
+        this.escapeChar = escapeChar;
+        this.readerFactory = readerFactory;
+        this.rowNormalizer = rowNormalizer;
+        this.skipHeader = skipHeader;
+        this.threads = Math.max(1, threads);
+        this.preserveOrder = preserveOrder;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Checks whether the file can be imported in parallel.
+     * File must be a local uncompressed file in UTF-8 or a single byte ASCII compatible charset.
+     */
+    static boolean isSupported(@NotNull Path inputFile, @NotNull Charset charset, char delimiter, char quoteChar, char escapeChar) throws IOException {
+        if (inputFile.getFileSystem() != FileSystems.getDefault() || !Files.isRegularFile(inputFile)) {
+            return false;
+        }
+        if (!isAsciiChar(delimiter) || !isAsciiChar(quoteChar) || !isAsciiChar(escapeChar)) {
+            return false;
+        }
+        if (!charset.equals(StandardCharsets.UTF_8)) {
+            if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1) {
+                return false;
+            }
+            String specialChars = "\r\n\t " + delimiter + quoteChar + escapeChar;
+            if (!Arrays.equals(specialChars.getBytes(charset), specialChars.getBytes(StandardCharsets.US_ASCII))) {
+                return false;
+            }
+        }
+        byte[] header;
+        try (InputStream stream = Files.newInputStream(inputFile)) {
+            header = stream.readNBytes(4);
+        }
+        return !CompressionUtils.isCompressed(header);
+    }
+
+    private static boolean isAsciiChar(char c) {
+        return c < 0x80;
+    }
+
+    void runImport(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCSession session,
+        @NotNull StreamTransferResultSet resultSet,
+        @NotNull IDataTransferConsumer consumer,
+        long maxRows
+    ) throws IOException, DBCException {
+        final int[] dateTimeColumns = getDateTimeColumns(resultSet);
+        final int columnCount = resultSet.getAttributeMappings().size();
+        startTime = System.currentTimeMillis();
+
+        ExecutorService parserPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "CSV chunk parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel channel = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            CSVChunkSplitter splitter = new CSVChunkSplitter(
+                channel,
+                getDataStart(channel),
+                size,
+                delimiter,
+                toByteChar(quoteChar),
+                toByteChar(escapeChar));
+            CompletionService<Chunk> completionService = new ExecutorCompletionService<>(parserPool);
+            Deque<Future<Chunk>> pendingChunks = new ArrayDeque<>();
+            int pendingCount = 0;
+            int chunkIndex = 0;
+            final int maxPendingChunks = threads * PENDING_CHUNKS_PER_THREAD;
+
+            while (!monitor.isCanceled()) {
+                while (pendingCount < maxPendingChunks && splitter.hasMoreData()) {
+                    long start = splitter.getPosition();
+                    long end = splitter.nextChunkEnd(chunkSize);
+                    Chunk chunk = new Chunk(chunkIndex++, start, end);
+                    Callable<Chunk> task = () -> parseChunk(channel, chunk, columnCount, dateTimeColumns, resultSet);
+                    if (preserveOrder) {
+                        pendingChunks.add(parserPool.submit(task));
+                    } else {
+                        completionService.submit(task);
+                    }
+                    pendingCount++;
+                }
+                if (pendingCount == 0) {
+                    break;
+                }
+                Chunk chunk = getResult(preserveOrder ? pendingChunks.removeFirst() : completionService.take());
+                pendingCount--;
+                if (!consumeChunk(monitor, session, resultSet, consumer, chunk, maxRows)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("CSV import was interrupted");
+        } finally {
+            parserPool.shutdownNow();
+        }
+
+        long elapsedTime = System.currentTimeMillis() - startTime;
+        log.debug("Parallel CSV import finished: " + rowCount + " rows, " + formatSize(totalBytes) + " in " + elapsedTime + "ms (" +
+            formatThroughput(totalBytes, TimeUnit.MILLISECONDS.toNanos(elapsedTime)) + " total, " +
+            formatThroughput(totalBytes, totalParseTime / threads) + " parsing), " +
+            totalMalformedRows + " malformed rows, " + totalInvalidValues + " invalid values");
+    }
+
+    /**
+     * Passes chunk rows to the consumer
+     * @return false if import must be stopped
+     */
+    private boolean consumeChunk(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCSession session,
+        @NotNull StreamTransferResultSet resultSet,
+        @NotNull IDataTransferConsumer consumer,
+        @NotNull Chunk chunk,
+        long maxRows
+    ) throws DBCException {
+        for (Object[] row : chunk.rows) {
+            if (monitor.isCanceled() || (maxRows > 0 && rowCount >= maxRows)) {
+                return false;
+            }
+            resultSet.setStreamRow(row);
+            consumer.fetchRow(session, resultSet);
+            rowCount++;
+
+            if (DBFetchProgress.monitorFetchProgress(rowCount)) {
+                updateProgress(monitor);
+            }
+        }
+
+        long chunkBytes = chunk.end - chunk.start;
+        totalBytes += chunkBytes;
+        totalParseTime += chunk.parseTime;
+        totalMalformedRows += chunk.malformedRows;
+        totalInvalidValues += chunk.invalidValues;
+        if (chunk.malformedRows > 0 || chunk.invalidValues > 0) {
+            log.debug("CSV chunk " + chunk.index + " at offset " + chunk.start + " has " +
+                chunk.malformedRows + " malformed rows and " + chunk.invalidValues + " invalid values");
+        }
+        log.debug("CSV chunk " + chunk.index + ": " + chunk.rows.size() + " rows, " + formatSize(chunkBytes) +
+            " parsed in " + TimeUnit.NANOSECONDS.toMillis(chunk.parseTime) + "ms (" + formatThroughput(chunkBytes, chunk.parseTime) + ")");
+        updateProgress(monitor);
+        return true;
+    }
+
+    /**
+     * Shows processed rows, throughput and errors of the consumed chunks in the progress monitor
+     */
+    private void updateProgress(@NotNull DBRProgressMonitor monitor) {
+        StringBuilder message = new StringBuilder();
+        message.append(Long.toUnsignedString(rowCount)).append(" rows processed");
+        if (totalBytes > 0) {
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            message.append(", ").append(formatSize(totalBytes)).append(" read (")
+                .append(formatThroughput(totalBytes, TimeUnit.MILLISECONDS.toNanos(elapsedTime))).append(")");
+        }
+        if (totalMalformedRows > 0) {
+            message.append(", ").append(totalMalformedRows).append(" malformed rows");
+        }
+        if (totalInvalidValues > 0) {
+            message.append(", ").append(totalInvalidValues).append(" invalid values");
+        }
+        monitor.subTask(message.toString());
+    }
+
+    @NotNull
+    private Chunk parseChunk(
+        @NotNull FileChannel channel,
+        @NotNull Chunk chunk,
+        int columnCount,
+        @NotNull int[] dateTimeColumns,
+        @NotNull StreamTransferResultSet resultSet
+    ) throws IOException {
+        final long startTime = System.nanoTime();
+        ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start, chunk.end - chunk.start);
+        CharBuffer chars = charset.decode(bytes);
+        List<Object[]> rows = new ArrayList<>();
+        boolean headerRead = !(skipHeader && chunk.index == 0);
+        try (CSVReader csvReader = readerFactory.apply(
+            new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()))
+        ) {
+            while (true) {
+                String[] line = csvReader.readNext();
+                if (line == null) {
+                    if (csvReader.getParser().isPending()) {
+                        throw new IOException("Un-terminated quote sequence was detected in the chunk at offset " + chunk.start);
+                    }
+                    break;
+                }
+                if (line.length == 0) {
+                    continue;
+                }
+                if (!headerRead) {
+                    // First line is a header
+                    headerRead = true;
+                    continue;
+                }
+                if (line.length != columnCount) {
+                    chunk.malformedRows++;
+                }
+                line = rowNormalizer.apply(line);
+                rows.add(dateTimeColumns.length == 0 ? line : convertDateTimeValues(line, dateTimeColumns, resultSet, chunk));
+            }
+        }
+        chunk.rows = rows;
+        chunk.parseTime = System.nanoTime() - startTime;
+        return chunk;
+    }
+
+    /**
+     * Parses date/time strings in the worker thread, so the result set doesn't have to do it in the consumer thread.
+     * Values which can't be parsed are kept as is.
+     */
+    @NotNull
+    private static Object[] convertDateTimeValues(
+        @NotNull String[] line,
+        @NotNull int[] dateTimeColumns,
+        @NotNull StreamTransferResultSet resultSet,
+        @NotNull Chunk chunk
+    ) {
+        Object[] row = Arrays.copyOf(line, line.length, Object[].class);
+        List<StreamDataImporterColumnInfo> attributes = resultSet.getAttributeMappings();
+        for (int index : dateTimeColumns) {
+            if (index >= row.length || !resultSet.isDateTimeConversionRequired(attributes.get(index), row[index])) {
+                continue;
+            }
+            try {
+                row[index] = resultSet.parseDateTime((String) row[index]);
+            } catch (Exception e) {
+                chunk.invalidValues++;
+            }
+        }
+        return row;
+    }
+
+    @NotNull
+    private static int[] getDateTimeColumns(@NotNull StreamTransferResultSet resultSet) {
+        if (resultSet.getDateTimeFormat() == null) {
+            return new int[0];
+        }
+        List<StreamDataImporterColumnInfo> attributes = resultSet.getAttributeMappings();
+        return IntStream.range(0, attributes.size())
+            .filter(i -> attributes.get(i).getDataKind() == DBPDataKind.DATETIME)
+            .toArray();
+    }
+
+    private long getDataStart(@NotNull FileChannel channel) throws IOException {
+        if (!charset.equals(StandardCharsets.UTF_8)) {
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(UTF8_BOM.length);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Read the whole BOM
+        }
+        return Arrays.equals(header.array(), UTF8_BOM) ? UTF8_BOM.length : 0;
+    }
+
+    private static int toByteChar(char c) {
+        // Null character means that quotes or escapes are disabled
+        return c == CSVParser.NULL_CHARACTER ? -1 : c;
+    }
+
+    @NotNull
+    private static Chunk getResult(@NotNull Future<Chunk> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException("Error parsing CSV chunk", cause);
+        }
+    }
+
+    @NotNull
+    private static String formatSize(long bytes) {
+        return (bytes / 1024) + "KB";
+    }
+
+    @NotNull
+    private static String formatThroughput(long bytes, long nanos) {
+        if (nanos <= 0) {
+            return "n/a";
+        }
+        return String.format("%.1f MB/s", bytes * 1_000_000_000.0 / nanos / (1024 * 1024));
+    }
+
+    private static class Chunk {
+        final int index;
+        final long start;
+        final long end;
+        @Nullable
+        List<Object[]> rows;
+        long parseTime;
+        int malformedRows;
+        int invalidValues;
+
+        Chunk(int index, long start, long end) {
+            this.index = index;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferResultSet;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnDescriptor;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnType;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.IColumnarFileReader;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Abstract columnar file importer.
+ * Column types are read from the file schema, values are passed to the consumer as is.
+ * Columnar files need random access, so the importer reads the input file instead of the input stream.
+ */
+public abstract class ColumnarImporterAbstract extends StreamImporterAbstract {
+
+    @NotNull
+    protected abstract IColumnarFileReader openReader(@NotNull Path file) throws IOException;
+
+    /**
+     * Format name for error messages
+     */
+    @NotNull
+    protected abstract String getFormatName();
+
+    @NotNull
+    @Override
+    public List<StreamDataImporterColumnInfo> readColumnsInfo(StreamEntityMapping entityMapping, @NotNull InputStream inputStream) throws DBException {
+        List<StreamDataImporterColumnInfo> columnsInfo = new ArrayList<>();
+        Map<String, Object> processorProperties = getSite().getProcessorProperties();
+        final int columnSamplesCount = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_SAMPLES), 100), 0);
+        final int columnMinimalLength = Math.max(CommonUtils.toInt(processorProperties.get(PROP_COLUMN_TYPE_LENGTH), 1), 1);
+        final boolean columnIsByteLength = CommonUtils.getBoolean(processorProperties.get(PROP_COLUMN_IS_BYTE_LENGTH), false);
+
+        try (IColumnarFileReader reader = openReader(entityMapping.getInputFile())) {
+            List<ColumnDescriptor> columns = reader.getColumns();
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnDescriptor column = columns.get(i);
+                ColumnType type = column.getType();
+                StreamDataImporterColumnInfo columnInfo = new StreamDataImporterColumnInfo(
+                    entityMapping,
+                    i,
+                    column.getName(),
+                    type.getTypeName(),
+                    columnMinimalLength,
+                    type.getDataKind());
+                if (type == ColumnType.DECIMAL) {
+                    columnInfo.setPrecision(column.getPrecision());
+                    columnInfo.setScale(column.getScale());
+                }
+                columnInfo.setMappingMetadataPresent(true);
+                columnsInfo.add(columnInfo);
+            }
+
+            // Types are known, sample values only for string lengths
+            Object[][] batch = columnSamplesCount > 0 ? reader.readBatch() : null;
+            if (batch != null) {
+                for (int i = 0; i < columnsInfo.size(); i++) {
+                    ColumnType type = columns.get(i).getType();
+                    if (type != ColumnType.STRING && type != ColumnType.BINARY) {
+                        continue;
+                    }
+                    Object[] values = batch[i];
+                    for (int sample = 0; sample < Math.min(values.length, columnSamplesCount); sample++) {
+                        Object value = values[sample];
+                        long length;
+                        if (value instanceof byte[] bytes) {
+                            length = bytes.length;
+                        } else if (value instanceof String string) {
+                            length = columnIsByteLength ? string.getBytes(StandardCharsets.UTF_8).length : string.length();
+                        } else {
+                            continue;
+                        }
+                        columnsInfo.get(i).updateMaxLength(entityMapping.getDataSource(), length);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new DBException("IO error reading " + getFormatName(), e);
+        }
+
+        return columnsInfo;
+    }
+
+    @Override
+    public void runImport(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource streamDataSource, @NotNull InputStream inputStream, @NotNull IDataTransferConsumer consumer) throws DBException {
+        IStreamDataImporterSite site = getSite();
+        StreamEntityMapping entityMapping = site.getSourceObject();
+        Map<String, Object> properties = site.getProcessorProperties();
+
+        DBCExecutionContext context = streamDataSource.getDefaultInstance().getDefaultContext(monitor, false);
+        try (DBCSession producerSession = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
+            LocalStatement localStatement = new LocalStatement(producerSession, "SELECT * FROM Stream");
+            StreamTransferResultSet resultSet = new StreamTransferResultSet(producerSession, localStatement, entityMapping);
+
+            consumer.fetchStart(producerSession, resultSet, -1, -1);
+
+            applyTransformHints(resultSet, consumer, properties, null, null);
+
+            try (IColumnarFileReader reader = openReader(entityMapping.getInputFile())) {
+                int maxRows = site.getSettings().getMaxRows();
+                int targetAttrSize = entityMapping.getStreamColumns().size();
+                long rowNum = 0;
+                read:
+                for (Object[][] batch = reader.readBatch(); batch != null; batch = reader.readBatch()) {
+                    int columnCount = Math.min(batch.length, targetAttrSize);
+                    int rowCount = batch.length == 0 ? 0 : batch[0].length;
+                    for (int row = 0; row < rowCount; row++) {
+                        if (monitor.isCanceled() || (maxRows > 0 && rowNum >= maxRows)) {
+                            break read;
+                        }
+                        Object[] values = new Object[targetAttrSize];
+                        for (int i = 0; i < columnCount; i++) {
+                            values[i] = batch[i][row];
+                        }
+
+                        resultSet.setStreamRow(values);
+                        consumer.fetchRow(producerSession, resultSet);
+                        rowNum++;
+
+                        if (DBFetchProgress.monitorFetchProgress(rowNum)) {
+                            monitor.subTask(Long.toUnsignedString(rowNum) + " rows processed");
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new DBException("IO error reading " + getFormatName(), e);
+            } finally {
+                try {
+                    consumer.fetchEnd(producerSession, resultSet);
+                } finally {
+                    consumer.close();
+                }
+            }
+        }
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.tools.transfer.stream.importer;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBFetchProgress;
@@ -29,8 +30,10 @@ import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.impl.local.LocalStatement;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.database.DatabaseTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.database.DatabaseTransferUtils;
 import org.jkiss.dbeaver.tools.transfer.stream.*;
+import org.jkiss.dbeaver.tools.transfer.stream.compress.CompressionUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.Pair;
@@ -40,9 +43,11 @@ import org.jkiss.utils.io.BOMInputStream;
 
 import java.io.*;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
 /**
  * CSV importer
@@ -58,6 +63,10 @@ public class DataImporterCSV extends StreamImporterAbstract {
     private static final String PROP_EMPTY_STRING_NULL = "emptyStringNull";
     private static final String PROP_ESCAPE_CHAR = "escapeChar";
     private static final String PROP_TRIM_WHITESPACES = "trimWhitespaces";
+    private static final String PROP_IMPORT_THREADS = "importThreads";
+    private static final String PROP_PRESERVE_ROW_ORDER = "preserveRowOrder";
+    // Minimal size of parallel import chunk in bytes. Not shown in UI, small chunks are used in tests.
+    private static final String PROP_IMPORT_CHUNK_SIZE = "importChunkSize";
     public static final int READ_BUFFER_SIZE = 255 * 1024;
 
     public enum HeaderPosition {
@@ -165,24 +174,31 @@ public class DataImporterCSV extends StreamImporterAbstract {
     }
 
     private CSVReader openCSVReader(Reader reader, Map<String, Object> processorProperties) {
-        String delimiter = StreamTransferUtils.getDelimiterString(processorProperties, PROP_DELIMITER);
+        return new CSVReader(reader, getDelimiter(processorProperties), getQuoteChar(processorProperties), getEscapeChar(processorProperties));
+    }
+
+    private char getDelimiter(Map<String, Object> processorProperties) {
+        return StreamTransferUtils.getDelimiterString(processorProperties, PROP_DELIMITER).charAt(0);
+    }
+
+    private char getQuoteChar(Map<String, Object> processorProperties) {
         String quoteChar = CommonUtils.toString(processorProperties.get(PROP_QUOTE_CHAR));
-        if (CommonUtils.isEmpty(quoteChar)) {
-            quoteChar = String.valueOf(CSVParser.NULL_CHARACTER);
-        }
+        return CommonUtils.isEmpty(quoteChar) ? CSVParser.NULL_CHARACTER : quoteChar.charAt(0);
+    }
+
+    private char getEscapeChar(Map<String, Object> processorProperties) {
         String escapeChar = CommonUtils.toString(processorProperties.get(PROP_ESCAPE_CHAR));
-        if (CommonUtils.isEmpty(escapeChar)) {
-            escapeChar = String.valueOf(CSVParser.NULL_CHARACTER);
-        }
-        return new CSVReader(reader, delimiter.charAt(0), quoteChar.charAt(0), escapeChar.charAt(0));
+        return CommonUtils.isEmpty(escapeChar) ? CSVParser.NULL_CHARACTER : escapeChar.charAt(0);
     }
 
-    private Reader openStreamReader(InputStream inputStream, Map<String, Object> processorProperties, boolean useBufferedStream) throws UnsupportedEncodingException {
+    private Reader openStreamReader(InputStream inputStream, Map<String, Object> processorProperties, boolean useBufferedStream) throws IOException {
         final String encoding = CommonUtils.toString(processorProperties.get(PROP_ENCODING), GeneralUtils.UTF8_ENCODING);
         final Charset charset = Charset.forName(encoding);
         if (useBufferedStream) {
             inputStream = new BufferedInputStream(inputStream, READ_BUFFER_SIZE);
         }
+        // Compressed exports (gzip, zstd or zip) are read transparently
+        inputStream = CompressionUtils.openDecompressingStream(inputStream);
         try {
             inputStream = new BOMInputStream(inputStream, charset);
         } catch (IllegalArgumentException ignored) {
@@ -223,70 +239,48 @@ public class DataImporterCSV extends StreamImporterAbstract {
 
             applyTransformHints(resultSet, consumer, properties, PROP_TIMESTAMP_FORMAT, PROP_TIMESTAMP_ZONE);
 
-            try (Reader reader = openStreamReader(inputStream, properties, true)) {
-                try (CSVReader csvReader = openCSVReader(reader, properties)) {
-
-                    int maxRows = site.getSettings().getMaxRows();
-                    int targetAttrSize = entityMapping.getStreamColumns().size();
-                    boolean headerRead = false;
-                    for (long lineNum = 0; ; ) {
-                        if (monitor.isCanceled()) {
-                            break;
-                        }
-                        String[] line = csvReader.readNext();
-                        if (line == null) {
-                            if (csvReader.getParser().isPending()) {
-                                throw new IOException("Un-terminated quote sequence was detected");
-                            }
-                            break;
-                        }
-                        if (line.length == 0) {
-                            continue;
-                        }
-                        if (headerPosition != HeaderPosition.none && !headerRead) {
-                            // First line is a header
-                            headerRead = true;
-                            continue;
-                        }
-                        if (maxRows > 0 && lineNum >= maxRows) {
-                            break;
-                        }
-
-                        if (line.length < targetAttrSize) {
-                            // Stream row may be shorter than header
-                            String[] newLine = new String[targetAttrSize];
-                            System.arraycopy(line, 0, newLine, 0, line.length);
-                            for (int i = line.length; i < targetAttrSize; i++) {
-                                newLine[i] = null;
-                            }
-                            line = newLine;
-                        }
-                        if (trimWhitespaces) {
-                            for (int i = 0; i < line.length; i++) {
-                                line[i] = line[i].trim();
-                            }
-                        }
-                        if (emptyStringNull) {
-                            for (int i = 0; i < line.length; i++) {
-                                if ("".equals(line[i])) {
-                                    line[i] = null;
+            int maxRows = site.getSettings().getMaxRows();
+            int targetAttrSize = entityMapping.getStreamColumns().size();
+            UnaryOperator<String[]> rowNormalizer = line -> normalizeRow(line, targetAttrSize, trimWhitespaces, emptyStringNull, nullValueMark);
+            try {
+                CSVParallelImporter parallelImporter = createParallelImporter(entityMapping, properties, consumer, rowNormalizer);
+                if (parallelImporter != null) {
+                    parallelImporter.runImport(monitor, producerSession, resultSet, consumer, maxRows);
+                } else {
+                    try (Reader reader = openStreamReader(inputStream, properties, true)) {
+                        try (CSVReader csvReader = openCSVReader(reader, properties)) {
+                            boolean headerRead = false;
+                            for (long lineNum = 0; ; ) {
+                                if (monitor.isCanceled()) {
+                                    break;
                                 }
-                            }
-                        }
-                        if (!CommonUtils.isEmpty(nullValueMark)) {
-                            for (int i = 0; i < line.length; i++) {
-                                if (nullValueMark.equals(line[i])) {
-                                    line[i] = null;
+                                String[] line = csvReader.readNext();
+                                if (line == null) {
+                                    if (csvReader.getParser().isPending()) {
+                                        throw new IOException("Un-terminated quote sequence was detected");
+                                    }
+                                    break;
+                                }
+                                if (line.length == 0) {
+                                    continue;
+                                }
+                                if (headerPosition != HeaderPosition.none && !headerRead) {
+                                    // First line is a header
+                                    headerRead = true;
+                                    continue;
+                                }
+                                if (maxRows > 0 && lineNum >= maxRows) {
+                                    break;
                                 }
-                            }
-                        }
 
-                        resultSet.setStreamRow(line);
-                        consumer.fetchRow(producerSession, resultSet);
-                        lineNum++;
+                                resultSet.setStreamRow(rowNormalizer.apply(line));
+                                consumer.fetchRow(producerSession, resultSet);
+                                lineNum++;
 
-                        if (DBFetchProgress.monitorFetchProgress(lineNum)) {
-                            monitor.subTask(Long.toUnsignedString(lineNum) + " rows processed");
+                                if (DBFetchProgress.monitorFetchProgress(lineNum)) {
+                                    monitor.subTask(Long.toUnsignedString(lineNum) + " rows processed");
+                                }
+                            }
                         }
                     }
                 }
@@ -303,4 +297,89 @@ public class DataImporterCSV extends StreamImporterAbstract {
 
     }
 
+    /**
+     * Pads short rows and applies null and whitespace settings
+     */
+    private static String[] normalizeRow(
+        String[] line,
+        int targetAttrSize,
+        boolean trimWhitespaces,
+        boolean emptyStringNull,
+        String nullValueMark
+    ) {
+        if (line.length < targetAttrSize) {
+            // Stream row may be shorter than header
+            String[] newLine = new String[targetAttrSize];
+            System.arraycopy(line, 0, newLine, 0, line.length);
+            for (int i = line.length; i < targetAttrSize; i++) {
+                newLine[i] = null;
+            }
+            line = newLine;
+        }
+        if (trimWhitespaces) {
+            for (int i = 0; i < line.length; i++) {
+                if (line[i] != null) {
+                    line[i] = line[i].trim();
+                }
+            }
+        }
+        if (emptyStringNull) {
+            for (int i = 0; i < line.length; i++) {
+                if ("".equals(line[i])) {
+                    line[i] = null;
+                }
+            }
+        }
+        if (!CommonUtils.isEmpty(nullValueMark)) {
+            for (int i = 0; i < line.length; i++) {
+                if (nullValueMark.equals(line[i])) {
+                    line[i] = null;
+                }
+            }
+        }
+        return line;
+    }
+
+    /**
+     * Returns parallel importer if it is enabled and the input file supports it.
+     * Rows may be passed out of order only to database consumers and only if the row count is not limited.
+     */
+    @Nullable
+    private CSVParallelImporter createParallelImporter(
+        StreamEntityMapping entityMapping,
+        Map<String, Object> properties,
+        IDataTransferConsumer consumer,
+        UnaryOperator<String[]> rowNormalizer
+    ) throws IOException {
+        int importThreads = CommonUtils.toInt(properties.get(PROP_IMPORT_THREADS), 0);
+        if (importThreads <= 0) {
+            return null;
+        }
+        Path inputFile = entityMapping.getInputFile();
+        Charset charset = Charset.forName(CommonUtils.toString(properties.get(PROP_ENCODING), GeneralUtils.UTF8_ENCODING));
+        char delimiter = getDelimiter(properties);
+        char quoteChar = getQuoteChar(properties);
+        char escapeChar = getEscapeChar(properties);
+        if (!CSVParallelImporter.isSupported(inputFile, charset, delimiter, quoteChar, escapeChar)) {
+            log.debug("File '" + inputFile + "' can't be imported in parallel, using sequential import");
+            return null;
+        }
+        boolean preserveOrder = CommonUtils.getBoolean(properties.get(PROP_PRESERVE_ROW_ORDER), true) ||
+            getSite().getSettings().getMaxRows() > 0 ||
+            !(consumer instanceof DatabaseTransferConsumer);
+        log.debug("Import '" + inputFile + "' in " + importThreads + " threads" + (preserveOrder ? "" : ", rows are not ordered"));
+        return new CSVParallelImporter(
+            inputFile,
+            charset,
+            delimiter,
+            quoteChar,
+            escapeChar,
+            reader -> openCSVReader(reader, properties),
+            rowNormalizer,
+            getHeaderPosition(properties) != HeaderPosition.none,
+            importThreads,
+            preserveOrder,
+            CommonUtils.toInt(properties.get(PROP_IMPORT_CHUNK_SIZE), CSVParallelImporter.CHUNK_SIZE));
+    }
+
 }
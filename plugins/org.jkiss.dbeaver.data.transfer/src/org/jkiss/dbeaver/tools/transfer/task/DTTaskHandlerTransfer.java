@@ -30,12 +30,14 @@ import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
 import org.jkiss.dbeaver.model.task.*;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.tools.transfer.*;
-import org.jkiss.dbeaver.tools.transfer.database.DatabaseConsumerSettings;
-import org.jkiss.dbeaver.tools.transfer.database.DatabaseTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.database.*;
 import org.jkiss.dbeaver.tools.transfer.internal.DTMessages;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferConsumer;
 
 import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -122,6 +124,12 @@ public class DTTaskHandlerTransfer implements DBTTaskHandler, DBTTaskInfoCollect
         List<DataTransferPipe> dataPipes = settings.getDataPipes();
 
         runnableContext.run(true, false, monitor -> {
+            try {
+                partitionPipes(monitor, settings);
+            } catch (DBException e) {
+                dbException[0] = e;
+                return;
+            }
             monitor.beginTask("Initialize pipes", dataPipes.size());
             try {
                 Object consumerRuntimeParameters = settings.getNodeSettings(settings.getConsumer()).prepareRuntimeParameters();
@@ -154,6 +162,59 @@ public class DTTaskHandlerTransfer implements DBTTaskHandler, DBTTaskInfoCollect
         return indexOfLastPipeWithDisabledReferentialIntegrity[0];
     }
 
+    /**
+     * Splits pipes of big tables into key range partitions. Each partition is exported into a separate file
+     * by its own pipe, so partitions of a single table run in parallel jobs.
+     */
+    private static void partitionPipes(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DataTransferSettings settings
+    ) throws DBException {
+        if (settings.getProducer() == null || settings.getConsumer() == null ||
+            !(settings.getNodeSettings(settings.getProducer()) instanceof DatabaseProducerSettings producerSettings) ||
+            producerSettings.getPartitionCount() < 2
+        ) {
+            return;
+        }
+        if (!(settings.getNodeSettings(settings.getConsumer()) instanceof StreamConsumerSettings consumerSettings) ||
+            consumerSettings.isUseSingleFile() || consumerSettings.isOutputClipboard()
+        ) {
+            log.debug("Table partitioning is supported for export into separate files only");
+            return;
+        }
+        List<DataTransferPipe> dataPipes = settings.getDataPipes();
+        List<DataTransferPipe> partitionedPipes = new ArrayList<>(dataPipes.size());
+        monitor.beginTask("Split tables into partitions", dataPipes.size());
+        try {
+            for (DataTransferPipe pipe : dataPipes) {
+                List<DatabaseTransferProducer> partitions = null;
+                if (pipe.getProducer() instanceof DatabaseTransferProducer producer && pipe.getConsumer() instanceof StreamTransferConsumer) {
+                    monitor.subTask("Probe key range of " + producer.getObjectName());
+                    partitions = DatabaseKeyRangePartitioner.makePartitions(monitor, producer, producerSettings.getPartitionCount());
+                }
+                if (partitions == null) {
+                    partitionedPipes.add(pipe);
+                } else {
+                    for (int i = 0; i < partitions.size(); i++) {
+                        IDataTransferConsumer<?, ?> consumer = i == 0 ?
+                            pipe.getConsumer() : (IDataTransferConsumer<?, ?>) settings.getConsumer().createNode();
+                        DataTransferPipe partitionPipe = new DataTransferPipe(partitions.get(i), consumer);
+                        partitionPipe.setPartition(i, partitions.size());
+                        partitionedPipes.add(partitionPipe);
+                    }
+                }
+                monitor.worked(1);
+            }
+        } finally {
+            monitor.done();
+        }
+        if (partitionedPipes.size() != dataPipes.size()) {
+            log.debug("Data transfer pipes split into " + partitionedPipes.size() + " partitions");
+            dataPipes.clear();
+            dataPipes.addAll(partitionedPipes);
+        }
+    }
+
     @Nullable
     private Throwable runDataTransferJobs(
         @NotNull DBRRunnableContext runnableContext,
@@ -221,6 +282,8 @@ public class DTTaskHandlerTransfer implements DBTTaskHandler, DBTTaskInfoCollect
                 try {
                     // End of transfer - signal last pipe about it
                     dataPipes.get(dataPipes.size() - 1).getConsumer().finishTransfer(monitor, error[0], task, true);
+                } catch (DBException e) {
+                    throw new InvocationTargetException(e);
                 } finally {
                     monitor.done();
                 }
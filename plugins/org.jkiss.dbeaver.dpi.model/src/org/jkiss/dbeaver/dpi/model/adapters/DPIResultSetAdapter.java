@@ -22,14 +22,15 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import org.jkiss.dbeaver.dpi.model.DPIContext;
+import org.jkiss.dbeaver.dpi.model.client.DPIClientResultSetPager;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBCStatement;
 import org.jkiss.dbeaver.model.impl.dpi.DPIResultSet;
 import org.jkiss.dbeaver.model.impl.dpi.DPIResultSetColumn;
-import org.jkiss.dbeaver.model.impl.dpi.DPIServerSmartProxyDataReceiver;
 
 import java.io.IOException;
+import java.util.Base64;
 import java.util.List;
 
 public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
@@ -37,6 +38,7 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
     private static final String SESSION = "session";
     private static final String STATEMENT = "statement";
     private static final String ROWS = "rows";
+    private static final String CURSOR = "cursor";
     private final Gson gson;
 
     public DPIResultSetAdapter(DPIContext context, Gson gson) {
@@ -46,32 +48,24 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
 
     @Override
     public void write(JsonWriter jsonWriter, DBCResultSet resultSet) throws IOException {
-        DPIResultSet dpiResultSet;
-        if (resultSet instanceof DPIResultSet) {
-            dpiResultSet = (DPIResultSet) resultSet;
-        } else {
-            try (var dataReceiver = new DPIServerSmartProxyDataReceiver()) {
-                DBCSession session = resultSet.getSession();
-                dataReceiver.fetchStart(session, resultSet, 0, 0);
-                while (resultSet.nextRow()) {
-                    dataReceiver.fetchRow(session, resultSet);
-                }
-                dataReceiver.fetchEnd(session, resultSet);
-                dpiResultSet = dataReceiver.getDpiResultSet();
-            } catch (Exception e) {
-                throw new IOException("Failed to fetch data from result set: " + e.getMessage(), e);
-            }
-        }
+        // Only the first page is sent, the rest is read by the client on demand
+        DPIResultSetCursor cursor = new DPIResultSetCursor(context, gson, resultSet);
+        byte[] firstPage = cursor.readBatch(DPIResultSetCursor.DEFAULT_PAGE_SIZE);
+
         jsonWriter.beginObject();
 
         jsonWriter.name(META);
-        jsonWriter.value(gson.toJson(dpiResultSet.getMetaColumns()));
+        jsonWriter.value(gson.toJson(cursor.getColumns()));
         jsonWriter.name(SESSION);
-        jsonWriter.value(gson.toJson(dpiResultSet.getSession()));
+        jsonWriter.value(gson.toJson(resultSet.getSession()));
         jsonWriter.name(STATEMENT);
-        jsonWriter.value(gson.toJson(dpiResultSet.getSourceStatement()));
+        jsonWriter.value(gson.toJson(resultSet.getSourceStatement()));
         jsonWriter.name(ROWS);
-        jsonWriter.value(gson.toJson(dpiResultSet.getAllRows()));
+        jsonWriter.value(Base64.getEncoder().encodeToString(firstPage));
+        if (!cursor.isFinished()) {
+            jsonWriter.name(CURSOR);
+            jsonWriter.value(cursor.register());
+        }
 
         jsonWriter.endObject();
     }
@@ -81,7 +75,8 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
         DBCSession session = null;
         DBCStatement statement = null;
         List<DPIResultSetColumn> meta = null;
-        List<Object[]> rows = null;
+        DPIRowBatch rows = null;
+        String cursorId = null;
         jsonReader.beginObject();
         while (jsonReader.peek() == JsonToken.NAME) {
             String attrName = jsonReader.nextName();
@@ -100,16 +95,19 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
                     statement = gson.fromJson(jsonReader.nextString(), DBCStatement.class);
                     break;
                 case ROWS:
-                    rows = gson.fromJson(
-                        jsonReader.nextString(),
-                        new TypeToken<List<Object[]>>() {
-                        }.getType()
-                    );
+                    rows = DPIRowBatch.decode(gson, context.getClassLoader(), Base64.getDecoder().decode(jsonReader.nextString()));
+                    break;
+                case CURSOR:
+                    cursorId = jsonReader.nextString();
                     break;
             }
         }
         jsonReader.endObject();
 
-        return new DPIResultSet(session, statement, meta, rows);
+        DPIResultSet resultSet = new DPIResultSet(session, statement, meta, rows == null ? List.of() : rows.getRows());
+        if (cursorId != null) {
+            resultSet.setPager(new DPIClientResultSetPager(context, gson, cursorId));
+        }
+        return resultSet;
     }
 }
@@ -0,0 +1,188 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.adapters;
+
+import com.google.gson.Gson;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.dpi.model.DPIContext;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.dpi.DPIResultSet;
+import org.jkiss.dbeaver.model.impl.dpi.DPIResultSetColumn;
+import org.jkiss.dbeaver.model.impl.dpi.DPIServerSmartProxyDataReceiver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Server side cursor of a result set which is read by the client page by page.
+ * Rows are fetched from the result set only when the client requests the next page,
+ * so at most one page is kept in memory.
+ */
+public class DPIResultSetCursor {
+
+    private static final Log log = Log.getLog(DPIResultSetCursor.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    // Page is finished earlier if its approximate size exceeds this limit
+    private static final int MAX_PAGE_BYTES = 4 * 1024 * 1024;
+
+    @NotNull
+    private final DPIContext context;
+    @NotNull
+    private final Gson gson;
+    @NotNull
+    private final DBCResultSet resultSet;
+    @Nullable
+    private final DPIServerSmartProxyDataReceiver dataReceiver;
+    @NotNull
+    private final List<DPIResultSetColumn> columns;
+    @Nullable
+    private String cursorId;
+    private boolean finished;
+
+    public DPIResultSetCursor(@NotNull DPIContext context, @NotNull Gson gson, @NotNull DBCResultSet resultSet) throws IOException {
+        this.context = context;
+        this.gson = gson;
+        this.resultSet = resultSet;
+        if (resultSet instanceof DPIResultSet dpiResultSet) {
+            this.dataReceiver = null;
+            this.columns = dpiResultSet.getMetaColumns();
+        } else {
+            this.dataReceiver = new DPIServerSmartProxyDataReceiver();
+            try {
+                dataReceiver.fetchStart(resultSet.getSession(), resultSet, 0, 0);
+            } catch (Exception e) {
+                throw new IOException("Failed to fetch data from result set: " + e.getMessage(), e);
+            }
+            this.columns = dataReceiver.getDpiResultSet().getMetaColumns();
+        }
+    }
+
+    @NotNull
+    public List<DPIResultSetColumn> getColumns() {
+        return columns;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Registers cursor in the context, so the client can read next pages
+     */
+    @NotNull
+    public String register() {
+        if (cursorId == null) {
+            cursorId = context.getOrCreateObjectId(this);
+        }
+        return cursorId;
+    }
+
+    /**
+     * Reads next page. Called by the client.
+     *
+     * @return Base64 encoded row batch
+     */
+    @NotNull
+    public String readPage(int maxRows) throws DBException {
+        try {
+            return Base64.getEncoder().encodeToString(readBatch(maxRows));
+        } catch (IOException e) {
+            close();
+            throw new DBException("Error reading result set page", e);
+        }
+    }
+
+    /**
+     * Fetches up to maxRows rows and encodes them into a binary batch
+     */
+    @NotNull
+    public byte[] readBatch(int maxRows) throws IOException {
+        List<Object[]> rows = new ArrayList<>(Math.min(maxRows, DEFAULT_PAGE_SIZE));
+        if (!finished) {
+            try {
+                long pageBytes = 0;
+                while (rows.size() < maxRows && pageBytes < MAX_PAGE_BYTES) {
+                    Object[] row = fetchRow();
+                    if (row == null) {
+                        finish();
+                        break;
+                    }
+                    for (Object value : row) {
+                        pageBytes += DPIRowBatch.estimateSize(value);
+                    }
+                    rows.add(row);
+                }
+            } catch (DBCException e) {
+                throw new IOException("Failed to fetch data from result set: " + e.getMessage(), e);
+            }
+        }
+        return DPIRowBatch.encode(gson, rows, columns.size(), finished);
+    }
+
+    /**
+     * Releases the cursor. Called by the client if it doesn't need more rows.
+     */
+    public void close() {
+        if (!finished) {
+            finish();
+        }
+    }
+
+    @Nullable
+    private Object[] fetchRow() throws DBCException {
+        if (!resultSet.nextRow()) {
+            return null;
+        }
+        if (dataReceiver == null) {
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = resultSet.getAttributeValue(i);
+            }
+            return row;
+        }
+        DBCSession session = resultSet.getSession();
+        dataReceiver.fetchRow(session, resultSet);
+        // Receiver collects rows, take it away
+        List<Object[]> fetchedRows = dataReceiver.getDpiResultSet().getAllRows();
+        Object[] row = fetchedRows.get(0);
+        fetchedRows.clear();
+        return row;
+    }
+
+    private void finish() {
+        finished = true;
+        if (dataReceiver != null) {
+            try {
+                dataReceiver.fetchEnd(resultSet.getSession(), resultSet);
+            } catch (DBCException e) {
+                log.debug("Error finishing result set fetch", e);
+            }
+            dataReceiver.close();
+        }
+        if (cursorId != null) {
+            context.pruneObject(cursorId);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.adapters;
+
+import com.google.gson.Gson;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.impl.data.DBDValueError;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary columnar batch of result set rows.
+ *
+ * Batch is prefixed with its length. Each column is written as a type tag, a null bitmap and non-null values.
+ * If column values have different types then each value is prefixed with its own type tag.
+ * Values of other types are written as JSON with their class name.
+ */
+public final class DPIRowBatch {
+
+    private static final int VERSION = 1;
+    private static final int FLAG_LAST = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_MIXED = 1;
+    private static final byte TYPE_BOOLEAN = 2;
+    private static final byte TYPE_SHORT = 3;
+    private static final byte TYPE_INT = 4;
+    private static final byte TYPE_LONG = 5;
+    private static final byte TYPE_FLOAT = 6;
+    private static final byte TYPE_DOUBLE = 7;
+    private static final byte TYPE_BIG_DECIMAL = 8;
+    private static final byte TYPE_BIG_INTEGER = 9;
+    private static final byte TYPE_STRING = 10;
+    private static final byte TYPE_BYTES = 11;
+    private static final byte TYPE_DATE = 12;
+    private static final byte TYPE_SQL_DATE = 13;
+    private static final byte TYPE_SQL_TIME = 14;
+    private static final byte TYPE_TIMESTAMP = 15;
+    private static final byte TYPE_LOCAL_DATE = 16;
+    private static final byte TYPE_LOCAL_TIME = 17;
+    private static final byte TYPE_LOCAL_DATE_TIME = 18;
+    private static final byte TYPE_ERROR = 19;
+    private static final byte TYPE_JSON = 20;
+    private static final byte TYPE_BYTE = 21;
+
+    @NotNull
+    private final List<Object[]> rows;
+    private final boolean last;
+
+    private DPIRowBatch(@NotNull List<Object[]> rows, boolean last) {
+        this.rows = rows;
+        this.last = last;
+    }
+
+    @NotNull
+    public List<Object[]> getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns true if there are no more rows after this batch
+     */
+    public boolean isLast() {
+        return last;
+    }
+
+    /**
+     * Returns approximate size of the encoded value
+     */
+    public static int estimateSize(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof CharSequence str) {
+            return str.length() + 4;
+        } else if (value instanceof byte[] bytes) {
+            return bytes.length + 4;
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof java.util.Date) {
+            return 12;
+        }
+        return 64;
+    }
+
+    @NotNull
+    public static byte[] encode(@NotNull Gson gson, @NotNull List<Object[]> rows, int columnCount, boolean last) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        // Length placeholder
+        out.writeInt(0);
+        out.writeByte(VERSION);
+        out.writeByte(last ? FLAG_LAST : 0);
+        out.writeInt(rows.size());
+        out.writeInt(columnCount);
+        byte[] nulls = new byte[(rows.size() + 7) / 8];
+        for (int column = 0; column < columnCount; column++) {
+            byte columnType = TYPE_NULL;
+            Arrays.fill(nulls, (byte) 0);
+            for (int i = 0; i < rows.size(); i++) {
+                Object value = getValue(rows.get(i), column);
+                if (value == null) {
+                    nulls[i / 8] |= (byte) (1 << (i % 8));
+                    continue;
+                }
+                byte valueType = getValueType(value);
+                if (columnType == TYPE_NULL) {
+                    columnType = valueType;
+                } else if (columnType != valueType) {
+                    columnType = TYPE_MIXED;
+                }
+            }
+            out.writeByte(columnType);
+            if (columnType == TYPE_NULL) {
+                continue;
+            }
+            out.write(nulls);
+            for (Object[] row : rows) {
+                Object value = getValue(row, column);
+                if (value == null) {
+                    continue;
+                }
+                if (columnType == TYPE_MIXED) {
+                    byte valueType = getValueType(value);
+                    out.writeByte(valueType);
+                    writeValue(gson, out, valueType, value);
+                } else {
+                    writeValue(gson, out, columnType, value);
+                }
+            }
+        }
+        out.flush();
+        byte[] data = buffer.toByteArray();
+        int length = data.length - Integer.BYTES;
+        data[0] = (byte) (length >>> 24);
+        data[1] = (byte) (length >>> 16);
+        data[2] = (byte) (length >>> 8);
+        data[3] = (byte) length;
+        return data;
+    }
+
+    @NotNull
+    public static DPIRowBatch decode(@NotNull Gson gson, @NotNull ClassLoader classLoader, @NotNull byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        int length = in.readInt();
+        if (length != data.length - Integer.BYTES) {
+            throw new IOException("Bad row batch length: " + length + " (" + (data.length - Integer.BYTES) + " expected)");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported row batch version: " + version);
+        }
+        boolean last = (in.readUnsignedByte() & FLAG_LAST) != 0;
+        int rowCount = in.readInt();
+        int columnCount = in.readInt();
+        List<Object[]> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new Object[columnCount]);
+        }
+        byte[] nulls = new byte[(rowCount + 7) / 8];
+        for (int column = 0; column < columnCount; column++) {
+            byte columnType = in.readByte();
+            if (columnType == TYPE_NULL) {
+                continue;
+            }
+            in.readFully(nulls);
+            for (int i = 0; i < rowCount; i++) {
+                if ((nulls[i / 8] & (1 << (i % 8))) != 0) {
+                    continue;
+                }
+                byte valueType = columnType == TYPE_MIXED ? in.readByte() : columnType;
+                rows.get(i)[column] = readValue(gson, classLoader, in, valueType);
+            }
+        }
+        return new DPIRowBatch(rows, last);
+    }
+
+    @Nullable
+    private static Object getValue(@NotNull Object[] row, int column) {
+        return column < row.length ? row[column] : null;
+    }
+
+    private static byte getValueType(@NotNull Object value) {
+        if (value instanceof Boolean) {
+            return TYPE_BOOLEAN;
+        } else if (value instanceof Byte) {
+            return TYPE_BYTE;
+        } else if (value instanceof Short) {
+            return TYPE_SHORT;
+        } else if (value instanceof Integer) {
+            return TYPE_INT;
+        } else if (value instanceof Long) {
+            return TYPE_LONG;
+        } else if (value instanceof Float) {
+            return TYPE_FLOAT;
+        } else if (value instanceof Double) {
+            return TYPE_DOUBLE;
+        } else if (value instanceof BigDecimal) {
+            return TYPE_BIG_DECIMAL;
+        } else if (value instanceof BigInteger) {
+            return TYPE_BIG_INTEGER;
+        } else if (value instanceof String) {
+            return TYPE_STRING;
+        } else if (value instanceof byte[]) {
+            return TYPE_BYTES;
+        } else if (value instanceof java.sql.Timestamp) {
+            return TYPE_TIMESTAMP;
+        } else if (value instanceof java.sql.Date) {
+            return TYPE_SQL_DATE;
+        } else if (value instanceof java.sql.Time) {
+            return TYPE_SQL_TIME;
+        } else if (value.getClass() == java.util.Date.class) {
+            return TYPE_DATE;
+        } else if (value instanceof LocalDate) {
+            return TYPE_LOCAL_DATE;
+        } else if (value instanceof LocalTime) {
+            return TYPE_LOCAL_TIME;
+        } else if (value instanceof LocalDateTime) {
+            return TYPE_LOCAL_DATE_TIME;
+        } else if (value instanceof DBDValueError) {
+            return TYPE_ERROR;
+        }
+        return TYPE_JSON;
+    }
+
+    private static void writeValue(@NotNull Gson gson, @NotNull DataOutputStream out, byte type, @NotNull Object value) throws IOException {
+        switch (type) {
+            case TYPE_BOOLEAN -> out.writeBoolean((Boolean) value);
+            case TYPE_BYTE -> out.writeByte((Byte) value);
+            case TYPE_SHORT -> out.writeShort((Short) value);
+            case TYPE_INT -> out.writeInt((Integer) value);
+            case TYPE_LONG -> out.writeLong((Long) value);
+            case TYPE_FLOAT -> out.writeFloat((Float) value);
+            case TYPE_DOUBLE -> out.writeDouble((Double) value);
+            case TYPE_BIG_DECIMAL -> {
+                BigDecimal decimal = (BigDecimal) value;
+                out.writeInt(decimal.scale());
+                writeBytes(out, decimal.unscaledValue().toByteArray());
+            }
+            case TYPE_BIG_INTEGER -> writeBytes(out, ((BigInteger) value).toByteArray());
+            case TYPE_STRING -> writeString(out, (String) value);
+            case TYPE_BYTES -> writeBytes(out, (byte[]) value);
+            case TYPE_DATE, TYPE_SQL_DATE, TYPE_SQL_TIME -> out.writeLong(((java.util.Date) value).getTime());
+            case TYPE_TIMESTAMP -> {
+                java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+                out.writeLong(timestamp.getTime());
+                out.writeInt(timestamp.getNanos());
+            }
+            case TYPE_LOCAL_DATE -> out.writeLong(((LocalDate) value).toEpochDay());
+            case TYPE_LOCAL_TIME -> out.writeLong(((LocalTime) value).toNanoOfDay());
+            case TYPE_LOCAL_DATE_TIME -> {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(dateTime.getNano());
+            }
+            case TYPE_ERROR -> writeString(out, ((DBDValueError) value).getErrorTitle());
+            default -> {
+                writeString(out, value.getClass().getName());
+                writeString(out, gson.toJson(value));
+            }
+        }
+    }
+
+    @Nullable
+    private static Object readValue(
+        @NotNull Gson gson,
+        @NotNull ClassLoader classLoader,
+        @NotNull DataInputStream in,
+        byte type
+    ) throws IOException {
+        return switch (type) {
+            case TYPE_BOOLEAN -> in.readBoolean();
+            case TYPE_BYTE -> in.readByte();
+            case TYPE_SHORT -> in.readShort();
+            case TYPE_INT -> in.readInt();
+            case TYPE_LONG -> in.readLong();
+            case TYPE_FLOAT -> in.readFloat();
+            case TYPE_DOUBLE -> in.readDouble();
+            case TYPE_BIG_DECIMAL -> {
+                int scale = in.readInt();
+                yield new BigDecimal(new BigInteger(readBytes(in)), scale);
+            }
+            case TYPE_BIG_INTEGER -> new BigInteger(readBytes(in));
+            case TYPE_STRING -> readString(in);
+            case TYPE_BYTES -> readBytes(in);
+            case TYPE_DATE -> new java.util.Date(in.readLong());
+            case TYPE_SQL_DATE -> new java.sql.Date(in.readLong());
+            case TYPE_SQL_TIME -> new java.sql.Time(in.readLong());
+            case TYPE_TIMESTAMP -> {
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                yield timestamp;
+            }
+            case TYPE_LOCAL_DATE -> LocalDate.ofEpochDay(in.readLong());
+            case TYPE_LOCAL_TIME -> LocalTime.ofNanoOfDay(in.readLong());
+            case TYPE_LOCAL_DATE_TIME -> LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            case TYPE_ERROR -> new DBDValueError(new DBException(readString(in)));
+            case TYPE_JSON -> {
+                String className = readString(in);
+                String json = readString(in);
+                try {
+                    yield gson.fromJson(json, classLoader.loadClass(className));
+                } catch (Exception e) {
+                    // Class is not available on this side
+                    yield json;
+                }
+            }
+            default -> throw new IOException("Unsupported row batch value type: " + type);
+        };
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @NotNull
+    private static String readString(@NotNull DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(@NotNull DataOutputStream out, @NotNull byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    @NotNull
+    private static byte[] readBytes(@NotNull DataInputStream in) throws IOException {
+        byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        return value;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.client;
+
+import com.google.gson.Gson;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.dpi.model.DPIContext;
+import org.jkiss.dbeaver.dpi.model.adapters.DPIResultSetCursor;
+import org.jkiss.dbeaver.dpi.model.adapters.DPIRowBatch;
+import org.jkiss.dbeaver.model.dpi.DPIController;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.impl.dpi.DPIResultSetPager;
+import org.jkiss.utils.rest.RestProxy;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Reads pages of the server side result set cursor.
+ * Next page is requested only when the previous one was consumed.
+ */
+public class DPIClientResultSetPager implements DPIResultSetPager {
+
+    private static final Log log = Log.getLog(DPIClientResultSetPager.class);
+
+    @NotNull
+    private final DPIContext context;
+    @NotNull
+    private final Gson gson;
+    @NotNull
+    private final String cursorId;
+    private boolean finished;
+
+    public DPIClientResultSetPager(@NotNull DPIContext context, @NotNull Gson gson, @NotNull String cursorId) {
+        this.context = context;
+        this.gson = gson;
+        this.cursorId = cursorId;
+    }
+
+    @Nullable
+    @Override
+    public List<Object[]> nextPage() throws DBCException {
+        if (finished) {
+            return null;
+        }
+        try {
+            DPIController controller = getController();
+            if (controller instanceof RestProxy restProxy) {
+                restProxy.setNextCallResultType(String.class);
+            }
+            Object page = controller.callMethod(cursorId, "readPage", new Object[]{DPIResultSetCursor.DEFAULT_PAGE_SIZE});
+            DPIRowBatch batch = DPIRowBatch.decode(gson, context.getClassLoader(), Base64.getDecoder().decode((String) page));
+            finished = batch.isLast();
+            return batch.getRows();
+        } catch (DBException | IOException e) {
+            finished = true;
+            throw new DBCException("Error reading result set page", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            getController().callMethod(cursorId, "close", null);
+        } catch (DBException e) {
+            log.debug("Error closing result set cursor", e);
+        }
+    }
+
+    @NotNull
+    private DPIController getController() throws DBException {
+        DPIController controller = context.getDpiController();
+        if (controller == null) {
+            throw new DBException("No DPI controller in client context");
+        }
+        return controller;
+    }
+}
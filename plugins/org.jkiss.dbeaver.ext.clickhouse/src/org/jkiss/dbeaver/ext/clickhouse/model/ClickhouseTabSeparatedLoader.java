@@ -0,0 +1,113 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.clickhouse.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCTextBulkLoader;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk loader which sends rows to ClickHouse in TabSeparated format.
+ * Whole chunk is passed as a single insert stream, server parses it without per-row statement overhead.
+ * Stream is passed with driver-specific API:
+ * request API of the official driver (ClickHouseRequest.write) or ClickHouseStatement.sendStreamSQL of the legacy driver.
+ */
+public class ClickhouseTabSeparatedLoader extends JDBCTextBulkLoader {
+
+    private static final String REQUEST_CLASS = "com.clickhouse.client.ClickHouseRequest";
+    private static final String LEGACY_SEND_STREAM_METHOD = "sendStreamSQL";
+
+    @Override
+    protected void loadRows(@NotNull JDBCSession session, @NotNull InputStream data, int rowCount) throws SQLException, DBCException {
+        String query = "INSERT INTO " + getTableName() + " (" + getColumnList() + ") FORMAT TabSeparated";
+        // Use original connection: stream insert is a driver-specific API
+        Connection connection = session.getOriginal();
+        try {
+            Class<?> requestClass = findRequestClass(connection);
+            if (requestClass != null) {
+                insertWithRequest(connection, requestClass, query, data);
+            } else {
+                insertWithLegacyStatement(connection, query, data);
+            }
+        } catch (InvocationTargetException e) {
+            if (e.getTargetException() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new DBCException("Error inserting TabSeparated stream", e.getTargetException());
+        } catch (ReflectiveOperationException e) {
+            throw new DBCException("Driver " + connection.getClass().getName() + " doesn't support insert from stream", e);
+        }
+    }
+
+    @Nullable
+    private static Class<?> findRequestClass(@NotNull Connection connection) throws SQLException {
+        Class<?> requestClass;
+        try {
+            requestClass = Class.forName(REQUEST_CLASS, true, connection.getClass().getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        return connection.isWrapperFor(requestClass) ? requestClass : null;
+    }
+
+    /**
+     * Official driver: connection.unwrap(ClickHouseRequest.class).write().query(sql).data(stream).executeAndWait()
+     */
+    private static void insertWithRequest(
+        @NotNull Connection connection,
+        @NotNull Class<?> requestClass,
+        @NotNull String query,
+        @NotNull InputStream data
+    ) throws SQLException, ReflectiveOperationException {
+        Object request = connection.unwrap(requestClass);
+        Object mutation = requestClass.getMethod("write").invoke(request);
+        Class<?> mutationClass = mutation.getClass();
+        mutationClass.getMethod("query", String.class).invoke(mutation, query);
+        mutationClass.getMethod("data", InputStream.class).invoke(mutation, data);
+        Object response = mutationClass.getMethod("executeAndWait").invoke(mutation);
+        if (response instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new SQLException("Error closing insert response", e);
+            }
+        }
+    }
+
+    /**
+     * Legacy driver: ClickHouseStatement.sendStreamSQL(stream, sql)
+     */
+    private static void insertWithLegacyStatement(
+        @NotNull Connection connection,
+        @NotNull String query,
+        @NotNull InputStream data
+    ) throws SQLException, ReflectiveOperationException {
+        try (Statement statement = connection.createStatement()) {
+            Method method = statement.getClass().getMethod(LEGACY_SEND_STREAM_METHOD, InputStream.class, String.class);
+            method.invoke(statement, data, query);
+        }
+    }
+}
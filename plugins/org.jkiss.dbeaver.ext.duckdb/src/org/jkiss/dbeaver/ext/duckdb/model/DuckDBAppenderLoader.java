@@ -0,0 +1,237 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.duckdb.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.generic.model.GenericTableBase;
+import org.jkiss.dbeaver.ext.generic.model.GenericTableColumn;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.utils.CommonUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk loader based on DuckDB appender (DuckDBConnection.createAppender).
+ * Appender writes rows directly into table storage, bypassing SQL parsing and planning.
+ * Appender always fills all table columns, so if some of them are not mapped then bulk load is not created
+ * and data is inserted with regular INSERTs.
+ */
+public class DuckDBAppenderLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(DuckDBAppenderLoader.class);
+
+    private static final Map<Class<?>, Class<?>> APPEND_TYPES = Map.of(
+        Boolean.class, Boolean.TYPE,
+        Byte.class, Byte.TYPE,
+        Short.class, Short.TYPE,
+        Integer.class, Integer.TYPE,
+        Long.class, Long.TYPE,
+        Float.class, Float.TYPE,
+        Double.class, Double.TYPE,
+        BigDecimal.class, BigDecimal.class,
+        String.class, String.class
+    );
+
+    private Object appender;
+    private Method beginRowMethod;
+    private Method endRowMethod;
+    private Method flushMethod;
+    private Method appendNullMethod;
+    private Method appendStringMethod;
+    private final Map<Class<?>, Method> appendMethods = new HashMap<>();
+
+    // Source value position for each table column
+    private int[] sourcePositions;
+    private GenericTableColumn[] tableColumns;
+    private DBDValueHandler[] valueHandlers;
+    private long rowCount;
+
+    @Nullable
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        if (!(dataContainer instanceof GenericTableBase table)) {
+            throw new DBCException("Appender can be used for tables only");
+        }
+        try {
+            List<? extends GenericTableColumn> columns = CommonUtils.safeList(table.getAttributes(session.getProgressMonitor()));
+            tableColumns = columns.toArray(new GenericTableColumn[0]);
+            sourcePositions = new int[tableColumns.length];
+            valueHandlers = new DBDValueHandler[tableColumns.length];
+            for (int i = 0; i < tableColumns.length; i++) {
+                sourcePositions[i] = findAttribute(attributes, tableColumns[i]);
+                if (sourcePositions[i] < 0) {
+                    // E.g. identity column which is skipped by default
+                    log.debug("Column '" + tableColumns[i].getName() + "' is not mapped, appender can't be used. Use regular inserts.");
+                    return null;
+                }
+                valueHandlers[i] = DBUtils.findValueHandler(session, tableColumns[i]);
+            }
+        } catch (DBException e) {
+            throw new DBCException("Error reading table columns", e);
+        }
+
+        try {
+            Connection connection = ((JDBCSession) session).getOriginal();
+            appender = createAppender(connection, table);
+            Class<?> appenderClass = appender.getClass();
+            beginRowMethod = appenderClass.getMethod("beginRow");
+            endRowMethod = appenderClass.getMethod("endRow");
+            flushMethod = appenderClass.getMethod("flush");
+            appendStringMethod = appenderClass.getMethod("append", String.class);
+            try {
+                appendNullMethod = appenderClass.getMethod("appendNull");
+            } catch (NoSuchMethodException e) {
+                // Old drivers append null as null string
+            }
+            for (Map.Entry<Class<?>, Class<?>> type : APPEND_TYPES.entrySet()) {
+                try {
+                    appendMethods.put(type.getKey(), appenderClass.getMethod("append", type.getValue()));
+                } catch (NoSuchMethodException e) {
+                    // Value will be appended as string
+                }
+            }
+        } catch (Exception e) {
+            if (e instanceof InvocationTargetException ite) {
+                throw new DBCException("Can't create DuckDB appender", ite.getTargetException());
+            }
+            throw new DBCException("Can't create DuckDB appender", e);
+        }
+        return this;
+    }
+
+    private static int findAttribute(@NotNull DBSAttributeBase[] attributes, @NotNull GenericTableColumn column) {
+        for (int i = 0; i < attributes.length; i++) {
+            if (attributes[i] == column || attributes[i].getName().equals(column.getName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @NotNull
+    private static Object createAppender(@NotNull Connection connection, @NotNull GenericTableBase table) throws Exception {
+        String schemaName = table.getSchema() == null ? null : table.getSchema().getName();
+        String catalogName = table.getCatalog() == null ? null : table.getCatalog().getName();
+        if (catalogName != null) {
+            try {
+                Method method = connection.getClass().getMethod("createAppender", String.class, String.class, String.class);
+                return method.invoke(connection, catalogName, schemaName, table.getName());
+            } catch (NoSuchMethodException e) {
+                // Catalog-aware appender is not available in old drivers
+            }
+        }
+        Method method = connection.getClass().getMethod("createAppender", String.class, String.class);
+        return method.invoke(connection, schemaName, table.getName());
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        try {
+            beginRowMethod.invoke(appender);
+            for (int i = 0; i < tableColumns.length; i++) {
+                appendValue(i, attributeValues[sourcePositions[i]]);
+            }
+            endRowMethod.invoke(appender);
+            rowCount++;
+        } catch (InvocationTargetException e) {
+            throw new DBCException("Error appending row", e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new DBCException("Error appending row", e);
+        }
+    }
+
+    private void appendValue(int index, @Nullable Object value) throws InvocationTargetException, IllegalAccessException {
+        if (DBUtils.isNullValue(value)) {
+            if (appendNullMethod != null) {
+                appendNullMethod.invoke(appender);
+            } else {
+                appendStringMethod.invoke(appender, (String) null);
+            }
+            return;
+        }
+        Method appendMethod = appendMethods.get(value.getClass());
+        if (appendMethod != null) {
+            appendMethod.invoke(appender, value);
+        } else {
+            // Appender casts strings to the column type
+            appendStringMethod.invoke(
+                appender,
+                valueHandlers[index].getValueDisplayString(tableColumns[index], value, DBDDisplayFormat.NATIVE));
+        }
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        try {
+            flushMethod.invoke(appender);
+        } catch (InvocationTargetException e) {
+            throw new DBCException("Error flushing appender", e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new DBCException("Error flushing appender", e);
+        }
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        flushRows(session);
+
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            session.getProgressMonitor().subTask("Commit appended rows");
+            txnManager.commit(session);
+        }
+        log.debug("Appender finished (" + rowCount + " rows)");
+    }
+
+    @Override
+    public void close() {
+        if (appender instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.debug("Error closing DuckDB appender", e);
+            }
+        }
+        appender = null;
+    }
+}
@@ -27,6 +27,7 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetadataPrefetcher;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCTableIndex;
 import org.jkiss.dbeaver.model.meta.Association;
@@ -237,10 +238,13 @@ public abstract class GenericObjectContainer implements GenericStructContainer,
     @Override
     public void cacheStructure(@NotNull DBRProgressMonitor monitor, int scope)
         throws DBException {
+        // Keys and indexes are read in parallel if meta model allows it
+        int parallelism = dataSource.getMetaModel().supportsParallelMetadataRead() ? dataSource.getMetadataPrefetchParallelism() : 0;
+        JDBCMetadataPrefetcher prefetcher = new JDBCMetadataPrefetcher(dataSource.getDefaultInstance(), parallelism);
+
         // Cache tables
         if ((scope & STRUCT_ENTITIES) != 0) {
-            monitor.subTask("Cache tables");
-            tableCache.getAllObjects(monitor, this);
+            prefetcher.addStage("Cache tables", m -> tableCache.getAllObjects(m, this));
         }
 
         // Cache attributes
@@ -248,50 +252,53 @@ public abstract class GenericObjectContainer implements GenericStructContainer,
             // Try to cache columns
             // Cannot be sure that all jdbc drivers support reading of all catalog columns
             // So error here is not fatal
-            try {
-                monitor.subTask("Cache tables' columns");
-                tableCache.loadChildren(monitor, this, null);
-            } catch (Exception e) {
-                log.debug(e);
-            }
+            prefetcher.addStage("Cache tables' columns", m -> {
+                try {
+                    tableCache.loadChildren(m, this, null);
+                } catch (Exception e) {
+                    log.debug(e);
+                }
+            });
         }
         // Cache associations
         if ((scope & STRUCT_ASSOCIATIONS) != 0 && dataSource.supportsStructCache()) {
+            List<JDBCMetadataPrefetcher.PrefetchTask> keyTasks = new ArrayList<>();
             // Try to read all PKs
-            // Try to read all FKs
-            try {
-                monitor.subTask("Cache primary keys");
-                Collection<GenericUniqueKey> objects = constraintKeysCache.getObjects(monitor, this, null);
-                if (CommonUtils.isEmpty(objects)) {
-                    // Nothing was read, Maybe driver doesn't support mass keys reading
-                    constraintKeysCache.clearCache();
+            keyTasks.add(m -> {
+                try {
+                    Collection<GenericUniqueKey> objects = constraintKeysCache.getObjects(m, this, null);
+                    if (CommonUtils.isEmpty(objects)) {
+                        // Nothing was read, Maybe driver doesn't support mass keys reading
+                        constraintKeysCache.clearCache();
+                    }
+                } catch (Exception e) {
+                    // Failed - seems to be unsupported feature
+                    log.debug(e);
                 }
-            } catch (Exception e) {
-                // Failed - seems to be unsupported feature
-                log.debug(e);
-            }
-
+            });
             if (dataSource.getInfo().supportsIndexes()) {
                 // Try to read all indexes
-                monitor.subTask("Cache indexes");
-                cacheIndexes(monitor, false);
+                keyTasks.add(m -> cacheIndexes(m, false));
             }
+            prefetcher.addStage("Cache primary keys and indexes", keyTasks.toArray(new JDBCMetadataPrefetcher.PrefetchTask[0]));
 
             if (dataSource.getInfo().supportsReferentialIntegrity()) {
                 // Try to read all FKs
-                try {
-                    monitor.subTask("Cache foreign keys");
-                    Collection<GenericTableForeignKey> foreignKeys = foreignKeysCache.getObjects(monitor, this, null);
-                    if (CommonUtils.isEmpty(foreignKeys)) {
-                        // Nothing was read, Maybe driver doesn't support mass keys reading
-                        foreignKeysCache.clearCache();
+                prefetcher.addStage("Cache foreign keys", m -> {
+                    try {
+                        Collection<GenericTableForeignKey> foreignKeys = foreignKeysCache.getObjects(m, this, null);
+                        if (CommonUtils.isEmpty(foreignKeys)) {
+                            // Nothing was read, Maybe driver doesn't support mass keys reading
+                            foreignKeysCache.clearCache();
+                        }
+                    } catch (Exception e) {
+                        // Failed - seems to be unsupported feature
+                        log.debug(e);
                     }
-                } catch (Exception e) {
-                    // Failed - seems to be unsupported feature
-                    log.debug(e);
-                }
+                });
             }
         }
+        prefetcher.run(monitor);
     }
 
     @Override
@@ -56,6 +56,12 @@ public class TableCache extends JDBCStructLookupCache<GenericStructContainer, Ge
         return dataSource;
     }
 
+    @Override
+    protected boolean isSnapshotSupported() {
+        // Used only by data sources which provide metadata change marker
+        return true;
+    }
+
     @NotNull
     @Override
     public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull GenericStructContainer owner, @Nullable GenericTableBase object, @Nullable String objectName) throws SQLException {
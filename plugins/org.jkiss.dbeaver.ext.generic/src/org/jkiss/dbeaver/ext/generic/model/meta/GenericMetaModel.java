@@ -707,6 +707,14 @@ public class GenericMetaModel {
         return true;
     }
 
+    /**
+     * Whether tables, keys and indexes may be read concurrently using several metadata connections.
+     * Disabled by default as many JDBC drivers do not support parallel catalog queries.
+     */
+    public boolean supportsParallelMetadataRead() {
+        return false;
+    }
+
     public boolean isSystemTable(GenericTableBase table) {
         final String tableType = table.getTableType().toUpperCase(Locale.ENGLISH);
         return tableType.contains("SYSTEM");
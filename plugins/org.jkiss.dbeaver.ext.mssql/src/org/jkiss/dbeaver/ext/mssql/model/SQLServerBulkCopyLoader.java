@@ -0,0 +1,285 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mssql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.utils.CommonUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Types;
+import java.time.temporal.Temporal;
+import java.util.*;
+
+/**
+ * Bulk loader based on SQLServerBulkCopy (TDS bulk insert protocol).
+ * Rows are buffered in memory and sent with writeToServer on each flush.
+ *
+ * //        SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(connection);
+ * //        bulkCopy.setDestinationTableName("dbo.table1");
+ * //        bulkCopy.writeToServer(bulkRecord);
+ */
+public class SQLServerBulkCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(SQLServerBulkCopyLoader.class);
+
+    private static final String BULK_COPY_CLASS = "com.microsoft.sqlserver.jdbc.SQLServerBulkCopy";
+    private static final String BULK_DATA_CLASS = "com.microsoft.sqlserver.jdbc.ISQLServerBulkData";
+    // Older drivers (before 7.4) only have bulk record interface
+    private static final String BULK_RECORD_CLASS = "com.microsoft.sqlserver.jdbc.ISQLServerBulkRecord";
+
+    private static final int MAX_BUFFERED_ROWS = 100_000;
+
+    private DBSDataContainer dataContainer;
+    private DBSAttributeBase[] attributes;
+    private DBDValueHandler[] valueHandlers;
+    private Class<?> bulkDataClass;
+    private BulkCopyMethods bulkCopyMethods;
+    private final List<Object[]> rows = new ArrayList<>();
+    private long loadedRows;
+
+    @NotNull
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        this.dataContainer = dataContainer;
+        this.attributes = attributes;
+        this.valueHandlers = new DBDValueHandler[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            valueHandlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+        }
+        try {
+            Connection connection = ((JDBCSession) session).getOriginal();
+            ClassLoader driverClassLoader = connection.getClass().getClassLoader();
+            Class<?> bulkCopyClass = Class.forName(BULK_COPY_CLASS, true, driverClassLoader);
+            try {
+                bulkDataClass = Class.forName(BULK_DATA_CLASS, true, driverClassLoader);
+            } catch (ClassNotFoundException e) {
+                bulkDataClass = Class.forName(BULK_RECORD_CLASS, true, driverClassLoader);
+            }
+            bulkCopyMethods = new BulkCopyMethods(
+                bulkCopyClass.getConstructor(Connection.class),
+                bulkCopyClass.getMethod("setDestinationTableName", String.class),
+                bulkCopyClass.getMethod("addColumnMapping", Integer.TYPE, String.class),
+                bulkCopyClass.getMethod("writeToServer", bulkDataClass),
+                bulkCopyClass.getMethod("close"));
+        } catch (Exception e) {
+            throw new DBCException("Can't instantiate SQLServerBulkCopy", e);
+        }
+        return this;
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        Object[] row = new Object[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            row[i] = toBulkValue(i, attributeValues[i]);
+        }
+        rows.add(row);
+        if (rows.size() >= MAX_BUFFERED_ROWS) {
+            writeRows((JDBCSession) session);
+        }
+    }
+
+    private Object toBulkValue(int index, Object value) {
+        if (DBUtils.isNullValue(value)) {
+            return null;
+        }
+        if (value instanceof Number || value instanceof String || value instanceof Boolean ||
+            value instanceof Date || value instanceof byte[] || value instanceof Temporal)
+        {
+            return value;
+        }
+        // Complex values are passed as strings, server converts them to the column type
+        return valueHandlers[index].getValueDisplayString(attributes[index], value, DBDDisplayFormat.NATIVE);
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        writeRows((JDBCSession) session);
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        writeRows((JDBCSession) session);
+
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            session.getProgressMonitor().subTask("Commit bulk copy");
+            txnManager.commit(session);
+        }
+        log.debug("Bulk copy finished (" + loadedRows + " rows)");
+    }
+
+    private void writeRows(@NotNull JDBCSession session) throws DBCException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String tableName = DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML);
+        session.getProgressMonitor().subTask("Bulk copy " + rows.size() + " rows into " + tableName);
+        Object bulkCopy = null;
+        try {
+            bulkCopy = bulkCopyMethods.create.newInstance(session.getOriginal());
+            bulkCopyMethods.setDestinationTableName.invoke(bulkCopy, tableName);
+            for (int i = 0; i < attributes.length; i++) {
+                bulkCopyMethods.addColumnMapping.invoke(bulkCopy, i + 1, attributes[i].getName());
+            }
+            Object bulkData = Proxy.newProxyInstance(
+                bulkDataClass.getClassLoader(),
+                new Class[]{bulkDataClass},
+                new RowsInvocationHandler(rows.iterator()));
+            bulkCopyMethods.writeToServer.invoke(bulkCopy, bulkData);
+            loadedRows += rows.size();
+        } catch (Throwable e) {
+            if (e instanceof InvocationTargetException) {
+                e = ((InvocationTargetException) e).getTargetException();
+            }
+            throw new DBCException("Error copying rows to remote server", e);
+        } finally {
+            rows.clear();
+            if (bulkCopy != null) {
+                try {
+                    bulkCopyMethods.close.invoke(bulkCopy);
+                } catch (Exception e) {
+                    log.debug("Error closing bulk copy", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        rows.clear();
+    }
+
+    private record BulkCopyMethods(
+        Constructor<?> create,
+        Method setDestinationTableName,
+        Method addColumnMapping,
+        Method writeToServer,
+        Method close
+    ) {
+    }
+
+    /**
+     * Implements ISQLServerBulkData over buffered rows. Column ordinals are 1-based.
+     */
+    private class RowsInvocationHandler implements InvocationHandler {
+        private final Iterator<Object[]> iterator;
+        private Object[] currentRow;
+
+        RowsInvocationHandler(Iterator<Object[]> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "next":
+                    if (iterator.hasNext()) {
+                        currentRow = iterator.next();
+                        return true;
+                    }
+                    currentRow = null;
+                    return false;
+                case "getRowData":
+                    return currentRow;
+                case "getColumnOrdinals": {
+                    Set<Integer> ordinals = new LinkedHashSet<>();
+                    for (int i = 1; i <= attributes.length; i++) {
+                        ordinals.add(i);
+                    }
+                    return ordinals;
+                }
+                case "getColumnName":
+                    return getAttribute(args).getName();
+                case "getColumnType":
+                    return getColumnType(getAttribute(args));
+                case "getPrecision":
+                    return getPrecision(getAttribute(args));
+                case "getScale":
+                    return CommonUtils.toInt(getAttribute(args).getScale());
+                case "isAutoIncrement":
+                    return false;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Bulk data of " + dataContainer.getName();
+                default:
+                    // Metadata setters of ISQLServerBulkRecord are not used
+                    return method.getReturnType() == Void.TYPE ? null : getDefaultValue(method.getReturnType());
+            }
+        }
+
+        private DBSAttributeBase getAttribute(Object[] args) {
+            return attributes[(Integer) args[0] - 1];
+        }
+    }
+
+    private int getColumnType(@NotNull DBSAttributeBase attribute) {
+        if (attribute.getDataKind() == DBPDataKind.STRING || attribute.getDataKind() == DBPDataKind.OBJECT) {
+            return Types.NVARCHAR;
+        }
+        return attribute.getTypeID();
+    }
+
+    private static int getPrecision(@NotNull DBSAttributeBase attribute) {
+        Integer precision = attribute.getPrecision();
+        if (precision != null && precision > 0) {
+            return precision;
+        }
+        long maxLength = attribute.getMaxLength();
+        return maxLength > 0 && maxLength < Integer.MAX_VALUE ? (int) maxLength : 0;
+    }
+
+    private static Object getDefaultValue(Class<?> type) {
+        if (type == Boolean.TYPE) {
+            return false;
+        } else if (type == Integer.TYPE) {
+            return 0;
+        } else if (type == Long.TYPE) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -472,6 +472,12 @@ public class SQLServerDataSource extends JDBCDataSource implements DBSInstanceCo
             return adapter.cast(new SQLServerSessionManager(this));
         } else if (adapter == DBAUserPasswordManager.class) {
             return adapter.cast(new SQLServerLoginPasswordManager(this));
+        } else if (adapter == DBSDataBulkLoader.class) {
+            // Bulk copy API is provided by Microsoft driver only
+            if (SQLServerUtils.isDriverSqlServer(getContainer().getDriver()) && !SQLServerUtils.isDriverBabelfish(getContainer().getDriver())) {
+                return adapter.cast(new SQLServerBulkCopyLoader());
+            }
+            return null;
         }
         return super.getAdapter(adapter);
     }
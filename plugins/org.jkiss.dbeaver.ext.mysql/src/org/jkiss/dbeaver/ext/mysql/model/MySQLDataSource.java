@@ -54,6 +54,7 @@ import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.sql.SQLHelpProvider;
 import org.jkiss.dbeaver.model.sql.SQLState;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
 import org.jkiss.dbeaver.model.struct.DBSDataType;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
@@ -763,10 +764,31 @@ public class MySQLDataSource extends JDBCDataSource implements DBPObjectStatisti
             });
         } else if (adapter == DBCQueryPlanner.class) {
             return adapter.cast(new MySQLPlanAnalyser(this));
+        } else if (adapter == DBSDataBulkLoader.class) {
+            if (isLocalInfileEnabled()) {
+                return adapter.cast(new MySQLLoadDataLoader());
+            }
+            return null;
         }
         return super.getAdapter(adapter);
     }
 
+    /**
+     * LOAD DATA LOCAL is disabled by driver defaults and is prohibited in multi-user environments.
+     * It can be used only if user explicitly enabled it in driver properties.
+     */
+    private boolean isLocalInfileEnabled() {
+        if (DBWorkbench.getPlatform().getApplication().isMultiuser()) {
+            return false;
+        }
+        String propName = isMariaDB() ? "allowLocalInfile" : "allowLoadLocalInfile";
+        Object value = getContainer().getActualConnectionConfiguration().getProperty(propName);
+        if (value == null) {
+            value = getContainer().getDriver().getConnectionProperties().get(propName);
+        }
+        return CommonUtils.toBoolean(value);
+    }
+
     @Override
     public Collection<? extends DBSDataType> getLocalDataTypes() {
         return dataTypeCache.getCachedObjects();
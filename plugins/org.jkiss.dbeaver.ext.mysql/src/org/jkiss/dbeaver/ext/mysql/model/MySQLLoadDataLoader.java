@@ -0,0 +1,64 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mysql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCTextBulkLoader;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk loader based on LOAD DATA LOCAL INFILE.
+ * Data is passed to the driver as an input stream (Statement.setLocalInfileInputStream),
+ * so no files are read from the client file system.
+ * Requires allowLoadLocalInfile (MySQL) or allowLocalInfile (MariaDB) driver property.
+ */
+public class MySQLLoadDataLoader extends JDBCTextBulkLoader {
+
+    private static final String SET_STREAM_METHOD = "setLocalInfileInputStream";
+
+    @Override
+    protected void loadRows(@NotNull JDBCSession session, @NotNull InputStream data, int rowCount) throws SQLException, DBCException {
+        String query = "LOAD DATA LOCAL INFILE 'stream' INTO TABLE " + getTableName() +
+            " CHARACTER SET utf8mb4" +
+            " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\'" +
+            " LINES TERMINATED BY '\\n'" +
+            " (" + getColumnList() + ")";
+        // Use original statement: stream setter is a driver-specific API
+        try (Statement statement = session.getOriginal().createStatement()) {
+            setInputStream(statement, data);
+            statement.execute(query);
+        }
+    }
+
+    private static void setInputStream(@NotNull Statement statement, @NotNull InputStream data) throws DBCException {
+        try {
+            Method method = statement.getClass().getMethod(SET_STREAM_METHOD, InputStream.class);
+            method.invoke(statement, data);
+        } catch (InvocationTargetException e) {
+            throw new DBCException("Error setting LOAD DATA input stream", e.getTargetException());
+        } catch (Exception e) {
+            throw new DBCException("Driver " + statement.getClass().getName() + " doesn't support LOAD DATA from stream", e);
+        }
+    }
+}
@@ -403,6 +403,23 @@ public class OracleDataSource extends JDBCDataSource implements DBPObjectStatist
         return new OracleDataSourceInfo(this, metaData);
     }
 
+    @Nullable
+    @Override
+    protected String readMetadataChangeMarker(@NotNull JDBCSession session, @NotNull DBSObject owner) throws SQLException {
+        if (!(owner instanceof OracleSchema)) {
+            return null;
+        }
+        // DDL time changes on any object DDL, count changes on drop
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT COUNT(*) || ':' || TO_CHAR(MAX(LAST_DDL_TIME), 'YYYYMMDDHH24MISS') FROM " +
+                OracleUtils.getAdminAllViewPrefix(session.getProgressMonitor(), this, "OBJECTS") + " WHERE OWNER=?")) {
+            dbStat.setString(1, owner.getName());
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                return dbResult.next() ? dbResult.getString(1) : null;
+            }
+        }
+    }
+
     @Override
     public ErrorType discoverErrorType(@NotNull Throwable error) {
         Throwable rootCause = CommonUtils.getRootCause(error);
@@ -28,6 +28,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetadataPrefetcher;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructLookupCache;
@@ -417,20 +418,28 @@ public class OracleSchema extends OracleGlobalObject implements
     public synchronized void cacheStructure(@NotNull DBRProgressMonitor monitor, int scope)
         throws DBException
     {
-        monitor.subTask("Cache tables");
-        tableCache.getAllObjects(monitor, this);
+        // Columns and triggers depend on tables only, indexes and constraints need columns,
+        // foreign keys need constraints. Queries of the same stage are executed in parallel.
+        JDBCMetadataPrefetcher prefetcher = getDataSource().createMetadataPrefetcher(getDataSource().getDefaultInstance());
+        prefetcher.addStage("Cache tables", m -> tableCache.getAllObjects(m, this));
+        List<JDBCMetadataPrefetcher.PrefetchTask> tableDependents = new ArrayList<>();
         if ((scope & STRUCT_ATTRIBUTES) != 0) {
-            monitor.subTask("Cache table columns");
-            tableCache.loadChildren(monitor, this, null);
+            tableDependents.add(m -> tableCache.loadChildren(m, this, null));
         }
         if ((scope & STRUCT_ASSOCIATIONS) != 0) {
-            monitor.subTask("Cache table indexes");
-            indexCache.getObjects(monitor, this, null);
-            monitor.subTask("Cache table constraints");
-            constraintCache.getObjects(monitor, this, null);
-            foreignKeyCache.getObjects(monitor, this, null);
-            tableTriggerCache.getAllObjects(monitor, this);
+            tableDependents.add(m -> tableTriggerCache.getAllObjects(m, this));
         }
+        if (!tableDependents.isEmpty()) {
+            prefetcher.addStage("Cache table columns", tableDependents.toArray(new JDBCMetadataPrefetcher.PrefetchTask[0]));
+        }
+        if ((scope & STRUCT_ASSOCIATIONS) != 0) {
+            prefetcher.addStage(
+                "Cache table indexes and constraints",
+                m -> indexCache.getObjects(m, this, null),
+                m -> constraintCache.getObjects(m, this, null));
+            prefetcher.addStage("Cache table foreign keys", m -> foreignKeyCache.getObjects(m, this, null));
+        }
+        prefetcher.run(monitor);
     }
 
     @Override
@@ -1286,6 +1295,11 @@ public class OracleSchema extends OracleGlobalObject implements
         {
             return new OracleDataType(owner, resultSet);
         }
+
+        @Override
+        protected boolean isSnapshotSupported() {
+            return true;
+        }
     }
 
     /**
@@ -510,6 +510,35 @@ public class PostgreDataSource extends JDBCDataSource implements DBSInstanceCont
         databaseCache.getAllObjects(monitor, this);
     }
 
+    @Nullable
+    @Override
+    protected String readMetadataChangeMarker(@NotNull JDBCSession session, @NotNull DBSObject owner) throws SQLException {
+        if (!(owner instanceof PostgreSchema schema)) {
+            return null;
+        }
+        // Any DDL creates new versions of catalog rows, so max xmin changes. Count changes on drop.
+        // Column defaults and constraints may change without changing their tables, so they are checked separately.
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT (SELECT count(*) || ':' || coalesce(max(c.xmin::text::bigint), 0) FROM pg_catalog.pg_class c WHERE c.relnamespace=?)" +
+                " || '/' || (SELECT count(*) || ':' || coalesce(max(a.xmin::text::bigint), 0) FROM pg_catalog.pg_attribute a" +
+                " JOIN pg_catalog.pg_class c ON c.oid=a.attrelid WHERE c.relnamespace=?)" +
+                " || '/' || (SELECT count(*) || ':' || coalesce(max(ad.xmin::text::bigint), 0) FROM pg_catalog.pg_attrdef ad" +
+                " JOIN pg_catalog.pg_class c ON c.oid=ad.adrelid WHERE c.relnamespace=?)" +
+                " || '/' || (SELECT count(*) || ':' || coalesce(max(co.xmin::text::bigint), 0) FROM pg_catalog.pg_constraint co" +
+                " WHERE co.connamespace=?)" +
+                " || '/' || (SELECT count(*) || ':' || coalesce(max(t.xmin::text::bigint), 0) FROM pg_catalog.pg_type t WHERE t.typnamespace=?)" +
+                " || '/' || (SELECT count(*) || ':' || coalesce(max(d.xmin::text::bigint), 0) FROM pg_catalog.pg_description d" +
+                " WHERE d.objoid IN (SELECT c.oid FROM pg_catalog.pg_class c WHERE c.relnamespace=?" +
+                " UNION ALL SELECT t.oid FROM pg_catalog.pg_type t WHERE t.typnamespace=?))")) {
+            for (int i = 1; i <= 7; i++) {
+                dbStat.setLong(i, schema.getObjectId());
+            }
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                return dbResult.next() ? dbResult.getString(1) : null;
+            }
+        }
+    }
+
     ////////////////////////////////////////////
     // Connections
 
@@ -56,6 +56,11 @@ public class PostgreDataTypeCache extends JDBCObjectCache<PostgreSchema, Postgre
         return "Data type cache";
     }
 
+    @Override
+    protected boolean isSnapshotSupported() {
+        return true;
+    }
+
     @Override
     protected synchronized void loadObjects(DBRProgressMonitor monitor, PostgreSchema schema) throws DBException {
         super.loadObjects(monitor, schema);
@@ -34,6 +34,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetadataPrefetcher;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructLookupCache;
@@ -419,19 +420,25 @@ public class PostgreSchema implements
     @Override
     public synchronized void cacheStructure(@NotNull DBRProgressMonitor monitor, int scope)
         throws DBException {
-        monitor.subTask("Cache tables");
-        getTableCache().getAllObjects(monitor, this);
+        // Constraints and indexes are read in parallel (if enabled in the data source)
+        JDBCMetadataPrefetcher prefetcher = getDataSource().createMetadataPrefetcher(getDatabase());
+        prefetcher.addStage("Cache tables", m -> getTableCache().getAllObjects(m, this));
         if ((scope & STRUCT_ATTRIBUTES) != 0) {
-            monitor.subTask("Cache table columns");
-            getTableCache().loadChildren(monitor, this, null);
+            prefetcher.addStage("Cache table columns", m -> getTableCache().loadChildren(m, this, null));
         }
         if ((scope & STRUCT_ASSOCIATIONS) != 0) {
-            monitor.subTask("Cache constraints");
-            constraintCache.getAllObjects(monitor, this);
-            monitor.subTask("Cache indexes");
             if (indexCache != null) {
-                indexCache.getAllObjects(monitor, this);
+                prefetcher.addStage(
+                    "Cache constraints and indexes",
+                    m -> constraintCache.getAllObjects(m, this),
+                    m -> indexCache.getAllObjects(m, this));
+            } else {
+                prefetcher.addStage("Cache constraints", m -> constraintCache.getAllObjects(m, this));
             }
+        }
+        prefetcher.run(monitor);
+
+        if ((scope & STRUCT_ASSOCIATIONS) != 0) {
             if (getDataSource().getServerType().supportsInheritance()) {
                 monitor.subTask("Cache inheritance");
                 try {
@@ -845,6 +852,11 @@ public class PostgreSchema implements
             setListOrderComparator(DBUtils.nameComparator());
         }
 
+        @Override
+        protected boolean isSnapshotSupported() {
+            return true;
+        }
+
         @NotNull
         @Override
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull PostgreTableContainer container, @Nullable PostgreTableBase object, @Nullable String objectName) throws SQLException {
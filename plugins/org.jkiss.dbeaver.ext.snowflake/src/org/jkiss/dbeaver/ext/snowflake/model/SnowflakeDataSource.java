@@ -28,11 +28,16 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
 import org.jkiss.dbeaver.model.connection.DBPDriver;
 import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCRemoteInstance;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -96,6 +101,23 @@ public class SnowflakeDataSource extends GenericDataSource {
         return props;
     }
 
+    @Nullable
+    @Override
+    protected String readMetadataChangeMarker(@NotNull JDBCSession session, @NotNull DBSObject owner) throws SQLException {
+        if (!(owner instanceof GenericSchema schema) || schema.getCatalog() == null) {
+            return null;
+        }
+        // LAST_ALTERED changes on DDL (and DML), count changes on drop
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT COUNT(*) || ':' || COALESCE(TO_VARCHAR(MAX(LAST_ALTERED), 'YYYYMMDDHH24MISSFF3'), '') FROM " +
+                DBUtils.getQuotedIdentifier(schema.getCatalog()) + ".INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA=?")) {
+            dbStat.setString(1, schema.getName());
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                return dbResult.next() ? dbResult.getString(1) : null;
+            }
+        }
+    }
+
     @NotNull
     @Override
     protected JDBCExecutionContext createExecutionContext(JDBCRemoteInstance instance, String type) {
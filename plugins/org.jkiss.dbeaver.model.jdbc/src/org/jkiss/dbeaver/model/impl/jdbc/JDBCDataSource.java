@@ -37,6 +37,8 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCFactory;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.AbstractDataSource;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetadataPrefetcher;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetadataSnapshotStore;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCConnectionImpl;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCFactoryDefault;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
@@ -79,6 +81,7 @@ public abstract class JDBCDataSource extends AbstractDataSource
     private static final Log log = Log.getLog(JDBCDataSource.class);
 
     private static final boolean REFRESH_CREDENTIALS_ON_CONNECT = false;
+    private static final String METADATA_SNAPSHOT_FOLDER = "metadata-snapshots"; //$NON-NLS-1$
 
     @NotNull
     protected volatile DBPDataSourceInfo dataSourceInfo;
@@ -92,6 +95,7 @@ public abstract class JDBCDataSource extends AbstractDataSource
 
     private final transient List<Connection> closingConnections = new ArrayList<>();
     protected List<Path> tempFiles;
+    private JDBCMetadataSnapshotStore metadataSnapshotStore;
 
 
     protected JDBCDataSource(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSourceContainer container, @NotNull SQLDialect dialect)
@@ -494,8 +498,59 @@ public abstract class JDBCDataSource extends AbstractDataSource
             Collections.singletonList(defaultInstance);
     }
 
+    /**
+     * Returns number of extra metadata connections used to prefetch schema metadata in parallel.
+     * Values less than 2 mean that metadata is read sequentially.
+     */
+    public int getMetadataPrefetchParallelism() {
+        DBPDataSourceContainer container = getContainer();
+        if (container.getDriver().isEmbedded() || container.isForceUseSingleConnection()) {
+            return 0;
+        }
+        return container.getPreferenceStore().getInt(ModelPreferences.META_PREFETCH_PARALLELISM);
+    }
+
+    /**
+     * Creates metadata prefetcher. Schemas may use it to load their caches in parallel.
+     */
+    @NotNull
+    public JDBCMetadataPrefetcher createMetadataPrefetcher(@NotNull JDBCRemoteInstance instance) {
+        return new JDBCMetadataPrefetcher(instance, getMetadataPrefetchParallelism());
+    }
+
+    /**
+     * Returns persistent metadata snapshot store. Returns null if snapshots are disabled.
+     */
+    @Nullable
+    public synchronized JDBCMetadataSnapshotStore getMetadataSnapshotStore() {
+        if (metadataSnapshotStore == null) {
+            if (!getContainer().getPreferenceStore().getBoolean(ModelPreferences.META_SNAPSHOT_CACHE)) {
+                return null;
+            }
+            metadataSnapshotStore = new JDBCMetadataSnapshotStore(
+                GeneralUtils.getMetadataFolder().resolve(METADATA_SNAPSHOT_FOLDER).resolve(getContainer().getId()),
+                this::readMetadataChangeMarker);
+        }
+        return metadataSnapshotStore;
+    }
+
+    /**
+     * Reads metadata change marker of the specified cache owner (e.g. the last DDL time of a schema).
+     * Metadata snapshots are used only for owners with markers. Returns null by default.
+     */
+    @Nullable
+    protected String readMetadataChangeMarker(@NotNull JDBCSession session, @NotNull DBSObject owner) throws SQLException {
+        return null;
+    }
+
     @Override
     public void shutdown(@NotNull DBRProgressMonitor monitor) {
+        synchronized (this) {
+            if (metadataSnapshotStore != null) {
+                metadataSnapshotStore.dispose();
+                metadataSnapshotStore = null;
+            }
+        }
         for (JDBCRemoteInstance instance : getAvailableInstances()) {
             Object exclusiveLock = instance.getExclusiveLock().acquireExclusiveLock();
             try {
@@ -28,6 +28,7 @@ import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.impl.SimpleExclusiveLock;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetadataPrefetcher;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSObject;
@@ -53,6 +54,8 @@ public class JDBCRemoteInstance implements DBSInstance {
     @NotNull
     private final List<JDBCExecutionContext> allContexts = new ArrayList<>();
     private final DBPExclusiveResource exclusiveLock = new SimpleExclusiveLock();
+    @Nullable
+    private JDBCMetadataPrefetcher.WorkerPool prefetchWorkers;
 
     protected JDBCRemoteInstance(@NotNull DBRProgressMonitor monitor, @NotNull JDBCDataSource dataSource, boolean initContext)
         throws DBException {
@@ -198,6 +201,13 @@ public class JDBCRemoteInstance implements DBSInstance {
         if (sharedInstance != null) {
             return sharedInstance.getDefaultContext(meta);
         }
+        if (meta) {
+            // Metadata prefetch workers read metadata using their own connections
+            JDBCExecutionContext prefetchContext = JDBCMetadataPrefetcher.getPrefetchContext(this);
+            if (prefetchContext != null) {
+                return prefetchContext;
+            }
+        }
         if (metaContext != null && (meta || executionContext == null)) {
             return this.metaContext;
         }
@@ -208,6 +218,22 @@ public class JDBCRemoteInstance implements DBSInstance {
         return executionContext;
     }
 
+    /**
+     * Returns connections and threads used by metadata prefetch of this instance
+     */
+    @NotNull
+    public JDBCMetadataPrefetcher.WorkerPool getMetadataPrefetchWorkers() {
+        if (sharedInstance != null) {
+            return sharedInstance.getMetadataPrefetchWorkers();
+        }
+        synchronized (allContexts) {
+            if (prefetchWorkers == null) {
+                prefetchWorkers = new JDBCMetadataPrefetcher.WorkerPool(this);
+            }
+            return prefetchWorkers;
+        }
+    }
+
     @Override
     public void shutdown(DBRProgressMonitor monitor) {
         if (sharedInstance != null) {
@@ -229,6 +255,14 @@ public class JDBCRemoteInstance implements DBSInstance {
      * @param keepMeta do not close meta context
      */
     public void shutdown(DBRProgressMonitor monitor, boolean keepMeta) {
+        JDBCMetadataPrefetcher.WorkerPool workers;
+        synchronized (allContexts) {
+            workers = prefetchWorkers;
+            prefetchWorkers = null;
+        }
+        if (workers != null) {
+            workers.close();
+        }
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         List<JDBCExecutionContext> ctxCopy;
@@ -65,7 +65,9 @@ public abstract class JDBCCompositeCache<
     private final Object parentColumnName;
     private final Object objectColumnName;
 
-    private final Map<PARENT, List<OBJECT>> objectCache = new LinkedHashMap<>();
+    // Objects by parent. Map and lists are copied on write, so readers don't need a lock
+    private volatile Map<PARENT, List<OBJECT>> objectCache = new LinkedHashMap<>();
+    private final Object objectCacheSync = new Object();
 
     protected JDBCCompositeCache(
         JDBCStructCache<OWNER,?,?> parentCache,
@@ -144,22 +146,19 @@ public abstract class JDBCCompositeCache<
     @Override
     public List<OBJECT> getCachedObjects(@Nullable PARENT forParent)
     {
+        Map<PARENT, List<OBJECT>> parentObjects = objectCache;
         if (forParent == null) {
-            synchronized (objectCache) {
-                if (!objectCache.isEmpty()) {
-                    // Collect objects from object cache
-                    List<OBJECT> allChildren = new ArrayList<>();
-                    for (List<OBJECT> children : objectCache.values()) {
-                        allChildren.addAll(children);
-                    }
-                    return allChildren;
+            if (!parentObjects.isEmpty()) {
+                // Collect objects from object cache
+                List<OBJECT> allChildren = new ArrayList<>();
+                for (List<OBJECT> children : parentObjects.values()) {
+                    allChildren.addAll(children);
                 }
+                return allChildren;
             }
             return getCachedObjects();
         } else {
-            synchronized (objectCache) {
-                return objectCache.get(forParent);
-            }
+            return parentObjects.get(forParent);
         }
     }
 
@@ -179,9 +178,7 @@ public abstract class JDBCCompositeCache<
         if (forParent == null) {
             return getCachedObject(objectName);
         } else {
-            synchronized (objectCache) {
-                return DBUtils.findObject(objectCache.get(forParent), objectName);
-            }
+            return DBUtils.findObject(objectCache.get(forParent), objectName);
         }
     }
 
@@ -189,14 +186,14 @@ public abstract class JDBCCompositeCache<
     public void cacheObject(@NotNull OBJECT object)
     {
         super.cacheObject(object);
-        synchronized (objectCache) {
+        synchronized (objectCacheSync) {
             PARENT parent = getParent(object);
-            List<OBJECT> objects = objectCache.get(parent);
-            if (objects == null) {
-                objects = new ArrayList<>();
-                objectCache.put(parent, objects);
-            }
+            Map<PARENT, List<OBJECT>> newCache = new LinkedHashMap<>(objectCache);
+            List<OBJECT> objects = newCache.get(parent);
+            objects = objects == null ? new ArrayList<>() : new ArrayList<>(objects);
             objects.add(object);
+            newCache.put(parent, objects);
+            objectCache = newCache;
         }
     }
 
@@ -204,15 +201,19 @@ public abstract class JDBCCompositeCache<
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache)
     {
         super.removeObject(object, resetFullCache);
-        synchronized (objectCache) {
+        synchronized (objectCacheSync) {
             PARENT parent = getParent(object);
-            if (resetFullCache) {
-                objectCache.remove(parent);
-            } else {
-                List<OBJECT> subCache = objectCache.get(parent);
-                if (subCache != null) {
+            List<OBJECT> subCache = objectCache.get(parent);
+            if (resetFullCache || subCache != null) {
+                Map<PARENT, List<OBJECT>> newCache = new LinkedHashMap<>(objectCache);
+                if (resetFullCache) {
+                    newCache.remove(parent);
+                } else {
+                    subCache = new ArrayList<>(subCache);
                     subCache.remove(object);
+                    newCache.put(parent, subCache);
                 }
+                objectCache = newCache;
             }
         }
     }
@@ -222,9 +223,19 @@ public abstract class JDBCCompositeCache<
     {
         if (forParent == null) {
             super.clearCache();
-            objectCache.clear();
+            synchronized (objectCacheSync) {
+                objectCache = new LinkedHashMap<>();
+            }
         } else {
-            List<OBJECT> removedObjects = objectCache.remove(forParent);
+            List<OBJECT> removedObjects;
+            synchronized (objectCacheSync) {
+                removedObjects = objectCache.get(forParent);
+                if (removedObjects != null) {
+                    Map<PARENT, List<OBJECT>> newCache = new LinkedHashMap<>(objectCache);
+                    newCache.remove(forParent);
+                    objectCache = newCache;
+                }
+            }
             if (removedObjects != null) {
                 for (OBJECT obj : removedObjects) {
                     super.removeObject(obj, false);
@@ -240,8 +251,8 @@ public abstract class JDBCCompositeCache<
     @Override
     public void clearCache()
     {
-        synchronized (objectCache) {
-            this.objectCache.clear();
+        synchronized (objectCacheSync) {
+            this.objectCache = new LinkedHashMap<>();
         }
         super.clearCache();
     }
@@ -249,17 +260,12 @@ public abstract class JDBCCompositeCache<
     @Override
     public void setCache(@NotNull List<OBJECT> objects) {
         super.setCache(objects);
-        synchronized (objectCache) {
-            objectCache.clear();
-            for (OBJECT object : objects) {
-                PARENT parent = getParent(object);
-                List<OBJECT> parentObjects = objectCache.get(parent);
-                if (parentObjects == null) {
-                    parentObjects = new ArrayList<>();
-                    objectCache.put(parent, parentObjects);
-                }
-                parentObjects.add(object);
-            }
+        Map<PARENT, List<OBJECT>> newCache = new LinkedHashMap<>();
+        for (OBJECT object : objects) {
+            newCache.computeIfAbsent(getParent(object), parent -> new ArrayList<>()).add(object);
+        }
+        synchronized (objectCacheSync) {
+            objectCache = newCache;
         }
     }
 
@@ -282,13 +288,11 @@ public abstract class JDBCCompositeCache<
             log.debug("[TEST] Skip composite cache read in test mode");
             return;
         }
-        synchronized (objectCache) {
-            if (monitor.isForceCacheUsage() ||
-                (forParent == null && isFullyCached()) ||
-                (forParent != null && (!forParent.isPersisted() || objectCache.containsKey(forParent))))
-            {
-                return;
-            }
+        if (monitor.isForceCacheUsage() ||
+            (forParent == null && isFullyCached()) ||
+            (forParent != null && (!forParent.isPersisted() || objectCache.containsKey(forParent))))
+        {
+            return;
         }
 
         // Load tables and columns first
@@ -343,11 +347,9 @@ public abstract class JDBCCompositeCache<
                                 continue;
                             }
                         }
-                        synchronized (objectCache) {
-                            if (objectCache.containsKey(parent)) {
-                                // Already cached
-                                continue;
-                            }
+                        if (objectCache.containsKey(parent)) {
+                            // Already cached
+                            continue;
                         }
                         // Add to map
                         Map<String, ObjectInfo> objectMap = parentObjectMap.get(parent);
@@ -409,7 +411,7 @@ public abstract class JDBCCompositeCache<
 
         // Fill global cache
         synchronized (this) {
-            synchronized (objectCache) {
+            synchronized (objectCacheSync) {
                 if (forParent != null || !parentObjectMap.isEmpty()) {
                     if (forParent == null) {
                         // Cache global object list
@@ -436,9 +438,11 @@ public abstract class JDBCCompositeCache<
                 // Cache data in individual objects only if we have read something or have certain parent object
                 // Otherwise we assume that this function is not supported for mass data reading
 
-                // All objects are read. Now assign them to parents
+                // All objects are read. Now assign them to parents.
+                // Modify a copy and publish it at once
+                Map<PARENT, List<OBJECT>> newCache = new LinkedHashMap<>(objectCache);
                 for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
-                    if (colEntry.getValue() == null || objectCache.containsKey(colEntry.getKey())) {
+                    if (colEntry.getValue() == null || newCache.containsKey(colEntry.getKey())) {
                         // Do not overwrite this object's cache
                         continue;
                     }
@@ -448,18 +452,19 @@ public abstract class JDBCCompositeCache<
                         objectInfo.needsCaching = true;
                         objects.add(objectInfo.object);
                     }
-                    objectCache.put(colEntry.getKey(), objects);
+                    newCache.put(colEntry.getKey(), objects);
                 }
                 // Now set empty object list for other parents
                 if (forParent == null) {
                     for (PARENT tmpParent : parentCache.getTypedObjects(monitor, owner, parentType)) {
-                        if (!parentObjectMap.containsKey(tmpParent) && !objectCache.containsKey(tmpParent)) {
-                            objectCache.put(tmpParent, new ArrayList<>());
+                        if (!parentObjectMap.containsKey(tmpParent) && !newCache.containsKey(tmpParent)) {
+                            newCache.put(tmpParent, new ArrayList<>());
                         }
                     }
-                } else if (!parentObjectMap.containsKey(forParent) && !objectCache.containsKey(forParent)) {
-                    objectCache.put(forParent, new ArrayList<>());
+                } else if (!parentObjectMap.containsKey(forParent) && !newCache.containsKey(forParent)) {
+                    newCache.put(forParent, new ArrayList<>());
                 }
+                objectCache = newCache;
             }
             // Cache children lists (we do it in the end because children caching may operate with other model objects)
             for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
@@ -0,0 +1,353 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCRemoteInstance;
+import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+
+/**
+ * Metadata prefetch pipeline.
+ *
+ * Runs cache loading tasks in stages. Tasks of the same stage are executed concurrently,
+ * each worker thread uses its own isolated metadata connection. Connections and threads are kept
+ * by the remote instance between prefetches (see {@link WorkerPool}) and closed on disconnect.
+ * All metadata sessions opened by a worker (e.g. by {@link org.jkiss.dbeaver.model.DBUtils#openMetaSession})
+ * are redirected to that connection, so caches read results directly in their usual way.
+ *
+ * Stages are executed one after another, so tasks may depend on caches loaded by previous stages
+ * (e.g. columns depend on tables, indexes depend on columns).
+ * If parallelism is less than 2 or connections can't be opened then all tasks are executed in the caller thread.
+ */
+public class JDBCMetadataPrefetcher {
+
+    private static final Log log = Log.getLog(JDBCMetadataPrefetcher.class);
+
+    private static final ThreadLocal<JDBCExecutionContext> PREFETCH_CONTEXT = new ThreadLocal<>();
+
+    @FunctionalInterface
+    public interface PrefetchTask {
+        void loadMetadata(@NotNull DBRProgressMonitor monitor) throws DBException;
+    }
+
+    private record Stage(@NotNull String name, @NotNull List<PrefetchTask> tasks) {
+    }
+
+    @NotNull
+    private final JDBCRemoteInstance instance;
+    private final int parallelism;
+    private final List<Stage> stages = new ArrayList<>();
+
+    public JDBCMetadataPrefetcher(@NotNull JDBCRemoteInstance instance, int parallelism) {
+        this.instance = instance;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns metadata context of the current prefetch worker thread, if any.
+     */
+    @Nullable
+    public static JDBCExecutionContext getPrefetchContext(@NotNull JDBCRemoteInstance instance) {
+        JDBCExecutionContext context = PREFETCH_CONTEXT.get();
+        return context != null && context.getOwnerInstance() == instance ? context : null;
+    }
+
+    /**
+     * Adds stage. Stage starts after all tasks of previous stages are finished.
+     */
+    @NotNull
+    public JDBCMetadataPrefetcher addStage(@NotNull String name, @NotNull PrefetchTask... tasks) {
+        stages.add(new Stage(name, List.of(tasks)));
+        return this;
+    }
+
+    public void run(@NotNull DBRProgressMonitor monitor) throws DBException {
+        int maxStageSize = 0;
+        for (Stage stage : stages) {
+            maxStageSize = Math.max(maxStageSize, stage.tasks.size());
+        }
+        int workerCount = Math.min(parallelism, maxStageSize);
+        if (workerCount < 2) {
+            runSequentially(monitor);
+            return;
+        }
+        WorkerPool workers = instance.getMetadataPrefetchWorkers();
+        List<JDBCExecutionContext> contexts = workers.acquireContexts(monitor, workerCount, parallelism);
+        if (contexts.size() < 2) {
+            workers.releaseContexts(contexts, false);
+            runSequentially(monitor);
+            return;
+        }
+
+        try {
+            for (Stage stage : stages) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                monitor.subTask(stage.name);
+                if (stage.tasks.size() == 1) {
+                    // Nothing to parallelize
+                    stage.tasks.get(0).loadMetadata(monitor);
+                    continue;
+                }
+                // Each worker reads metadata with its own connection and takes tasks until the stage is done
+                Queue<PrefetchTask> tasks = new ConcurrentLinkedQueue<>(stage.tasks);
+                int stageWorkers = Math.min(contexts.size(), stage.tasks.size());
+                List<Future<?>> futures = new ArrayList<>(stageWorkers);
+                for (int i = 0; i < stageWorkers; i++) {
+                    JDBCExecutionContext context = contexts.get(i);
+                    futures.add(workers.submit(() -> {
+                        PREFETCH_CONTEXT.set(context);
+                        try {
+                            WorkerMonitor workerMonitor = new WorkerMonitor(monitor);
+                            for (PrefetchTask task = tasks.poll(); task != null && !monitor.isCanceled(); task = tasks.poll()) {
+                                task.loadMetadata(workerMonitor);
+                            }
+                        } finally {
+                            PREFETCH_CONTEXT.remove();
+                        }
+                        return null;
+                    }));
+                }
+                waitForStage(futures);
+            }
+        } finally {
+            // Workers of interrupted prefetch may still use their connections, so they are not reused
+            workers.releaseContexts(contexts, Thread.currentThread().isInterrupted());
+        }
+    }
+
+    private void runSequentially(@NotNull DBRProgressMonitor monitor) throws DBException {
+        for (Stage stage : stages) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            monitor.subTask(stage.name);
+            for (PrefetchTask task : stage.tasks) {
+                task.loadMetadata(monitor);
+            }
+        }
+    }
+
+    private static void waitForStage(@NotNull List<Future<?>> futures) throws DBException {
+        Throwable error = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                for (Future<?> f : futures) {
+                    f.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new DBException("Metadata prefetch interrupted", e);
+            } catch (ExecutionException e) {
+                if (error == null) {
+                    error = e.getCause();
+                }
+            }
+        }
+        if (error instanceof DBException dbe) {
+            throw dbe;
+        } else if (error != null) {
+            throw new DBException("Error prefetching metadata", error);
+        }
+    }
+
+    /**
+     * Metadata prefetch connections and threads of a remote instance.
+     * They are reused by all prefetches of the instance and closed when the instance is shut down.
+     * Number of connections doesn't exceed prefetch parallelism, even if several prefetches run at the same time.
+     */
+    public static class WorkerPool {
+        @NotNull
+        private final JDBCRemoteInstance instance;
+        private final List<JDBCExecutionContext> freeContexts = new ArrayList<>();
+        private int usedContexts;
+        @Nullable
+        private ExecutorService executor;
+        private boolean closed;
+
+        public WorkerPool(@NotNull JDBCRemoteInstance instance) {
+            this.instance = instance;
+        }
+
+        /**
+         * Takes free connections or opens new ones. May return less connections than requested.
+         */
+        @NotNull
+        private List<JDBCExecutionContext> acquireContexts(@NotNull DBRProgressMonitor monitor, int count, int maxContexts) {
+            List<JDBCExecutionContext> contexts = new ArrayList<>(count);
+            List<JDBCExecutionContext> deadContexts = new ArrayList<>();
+            int openCount;
+            synchronized (this) {
+                if (closed) {
+                    return contexts;
+                }
+                while (contexts.size() < count && !freeContexts.isEmpty()) {
+                    JDBCExecutionContext context = freeContexts.remove(freeContexts.size() - 1);
+                    if (context.isConnected()) {
+                        contexts.add(context);
+                    } else {
+                        deadContexts.add(context);
+                    }
+                }
+                int totalContexts = usedContexts + contexts.size() + freeContexts.size();
+                openCount = Math.max(0, Math.min(count - contexts.size(), maxContexts - totalContexts));
+                usedContexts += contexts.size() + openCount;
+            }
+            for (JDBCExecutionContext context : deadContexts) {
+                context.close();
+            }
+            if (openCount > 0) {
+                int opened = openContexts(monitor, openCount, contexts);
+                if (opened < openCount) {
+                    synchronized (this) {
+                        usedContexts -= openCount - opened;
+                    }
+                }
+            }
+            return contexts;
+        }
+
+        private int openContexts(@NotNull DBRProgressMonitor monitor, int count, @NotNull List<JDBCExecutionContext> contexts) {
+            DBCExecutionContext metaContext = instance.getDefaultContext(monitor, true);
+            for (int i = 0; i < count; i++) {
+                try {
+                    contexts.add((JDBCExecutionContext) instance.openIsolatedContext(monitor, "Metadata prefetch", metaContext));
+                } catch (Exception e) {
+                    log.warn("Can't open metadata prefetch connection", e);
+                    return i;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Returns connections to the pool. Discarded or disconnected connections are closed.
+         */
+        private void releaseContexts(@NotNull List<JDBCExecutionContext> contexts, boolean discard) {
+            List<JDBCExecutionContext> closeContexts = new ArrayList<>();
+            synchronized (this) {
+                usedContexts -= contexts.size();
+                for (JDBCExecutionContext context : contexts) {
+                    if (closed || discard || !context.isConnected()) {
+                        closeContexts.add(context);
+                    } else {
+                        freeContexts.add(context);
+                    }
+                }
+            }
+            for (JDBCExecutionContext context : closeContexts) {
+                context.close();
+            }
+        }
+
+        @NotNull
+        private synchronized Future<?> submit(@NotNull Callable<?> task) throws DBException {
+            if (closed) {
+                throw new DBException("Metadata prefetch connections are closed");
+            }
+            if (executor == null) {
+                // Idle threads are stopped, connections are kept
+                executor = Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "Metadata prefetch (" + instance.getName() + ")");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return executor.submit(task);
+        }
+
+        /**
+         * Stops worker threads and closes free connections. Connections in use are closed when they are released.
+         */
+        public void close() {
+            List<JDBCExecutionContext> contexts;
+            ExecutorService executorToStop;
+            synchronized (this) {
+                closed = true;
+                contexts = new ArrayList<>(freeContexts);
+                freeContexts.clear();
+                executorToStop = executor;
+                executor = null;
+            }
+            if (executorToStop != null) {
+                executorToStop.shutdownNow();
+            }
+            for (JDBCExecutionContext context : contexts) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Worker monitor. Shares cancel state with the caller monitor, but keeps its own blocks
+     * and doesn't report progress (caller monitor is not thread-safe).
+     */
+    private static class WorkerMonitor extends ProxyProgressMonitor {
+        private final List<DBRBlockingObject> blocks = new ArrayList<>();
+
+        WorkerMonitor(@NotNull DBRProgressMonitor original) {
+            super(original);
+        }
+
+        @Override
+        public void beginTask(String name, int totalWork) {
+        }
+
+        @Override
+        public void done() {
+        }
+
+        @Override
+        public void subTask(String name) {
+        }
+
+        @Override
+        public void worked(int work) {
+        }
+
+        @Override
+        public synchronized void startBlock(DBRBlockingObject object, String taskName) {
+            blocks.add(object);
+        }
+
+        @Override
+        public synchronized void endBlock() {
+            if (!blocks.isEmpty()) {
+                blocks.remove(blocks.size() - 1);
+            }
+        }
+
+        @Override
+        public synchronized List<DBRBlockingObject> getActiveBlocks() {
+            return new ArrayList<>(blocks);
+        }
+    }
+}
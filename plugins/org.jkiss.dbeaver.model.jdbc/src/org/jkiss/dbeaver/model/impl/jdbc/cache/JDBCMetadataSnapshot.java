@@ -0,0 +1,629 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.*;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Snapshot of metadata query results.
+ *
+ * Keeps raw rows of a catalog query. Rows can be saved to disk and replayed later
+ * as a read-only forward-only {@link ResultSet}, so caches fetch objects from the snapshot
+ * exactly the same way they fetch them from the database.
+ */
+public class JDBCMetadataSnapshot {
+
+    private static final Log log = Log.getLog(JDBCMetadataSnapshot.class);
+
+    private static final int FORMAT_MAGIC = 0x44424D53; // DBMS
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_LONG = 2;
+    private static final byte VALUE_DECIMAL = 3;
+    private static final byte VALUE_DOUBLE = 4;
+    private static final byte VALUE_BOOLEAN = 5;
+    private static final byte VALUE_TIMESTAMP = 6;
+    private static final byte VALUE_BYTES = 7;
+    private static final byte VALUE_ARRAY = 8;
+
+    /**
+     * Implemented by replayed result sets
+     */
+    public interface Replay {
+        /**
+         * Returns true if consumer called result set methods which are not supported by snapshot.
+         * In this case fetched objects may be incomplete and must be read from the database.
+         */
+        boolean hasUnsupportedCalls();
+    }
+
+    @NotNull
+    private final String key;
+    @NotNull
+    private final String marker;
+    @NotNull
+    private final String[] labels;
+    @NotNull
+    private final int[] types;
+    @NotNull
+    private final String[] typeNames;
+    @NotNull
+    private final List<Object[]> rows;
+    private boolean valid = true;
+
+    public JDBCMetadataSnapshot(
+        @NotNull String key,
+        @NotNull String marker,
+        @NotNull String[] labels,
+        @NotNull int[] types,
+        @NotNull String[] typeNames,
+        @NotNull List<Object[]> rows
+    ) {
+        this.key = key;
+        this.marker = marker;
+        this.labels = labels;
+        this.types = types;
+        this.typeNames = typeNames;
+        this.rows = rows;
+    }
+
+    /**
+     * Creates empty snapshot with columns of the specified result set
+     */
+    @NotNull
+    public static JDBCMetadataSnapshot create(@NotNull String key, @NotNull String marker, @NotNull ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        int[] types = new int[columnCount];
+        String[] typeNames = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            types[i] = metaData.getColumnType(i + 1);
+            typeNames[i] = metaData.getColumnTypeName(i + 1);
+        }
+        return new JDBCMetadataSnapshot(key, marker, labels, types, typeNames, new ArrayList<>());
+    }
+
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+    @NotNull
+    public String getMarker() {
+        return marker;
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    /**
+     * Whether all rows were read successfully
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Reads all columns of the current result set row, except streamed ones (see {@link #isStreamType(int)}).
+     * If some value can't be read then snapshot becomes invalid and all next rows are ignored.
+     */
+    public void addRow(@NotNull ResultSet resultSet) {
+        if (!valid) {
+            return;
+        }
+        Object[] row = new Object[labels.length];
+        try {
+            for (int i = 0; i < labels.length; i++) {
+                if (!isStreamType(types[i])) {
+                    row[i] = readValue(resultSet, i + 1, types[i]);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Can't read metadata snapshot row of '" + key + "': " + e.getMessage());
+            valid = false;
+            rows.clear();
+            return;
+        }
+        rows.add(row);
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull ResultSet resultSet, int index, int type) throws SQLException {
+        Object value;
+        switch (type) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> value = resultSet.getLong(index);
+            case Types.NUMERIC, Types.DECIMAL -> value = resultSet.getBigDecimal(index);
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> value = resultSet.getDouble(index);
+            case Types.BIT, Types.BOOLEAN -> value = resultSet.getBoolean(index);
+            case Types.DATE, Types.TIME, Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> value = resultSet.getTimestamp(index);
+            case Types.BINARY, Types.VARBINARY -> value = resultSet.getBytes(index);
+            case Types.ARRAY -> {
+                Array array = resultSet.getArray(index);
+                if (array == null) {
+                    value = null;
+                } else {
+                    Object[] elements = (Object[]) array.getArray();
+                    for (int i = 0; i < elements.length; i++) {
+                        elements[i] = normalizeValue(elements[i]);
+                    }
+                    value = elements;
+                }
+            }
+            case Types.CHAR, Types.VARCHAR, Types.NCHAR, Types.NVARCHAR -> value = resultSet.getString(index);
+            default -> value = normalizeValue(resultSet.getObject(index));
+        }
+        return resultSet.wasNull() ? null : value;
+    }
+
+    /**
+     * Values of LONG and LOB columns are streamed by some drivers (e.g. Oracle LONG) and can be read only once.
+     * They are not recorded, so the cache still reads them itself. Replay of such column is not supported.
+     */
+    private static boolean isStreamType(int type) {
+        return switch (type) {
+            case Types.LONGVARCHAR, Types.LONGNVARCHAR, Types.LONGVARBINARY, Types.CLOB, Types.NCLOB, Types.BLOB -> true;
+            default -> false;
+        };
+    }
+
+    @Nullable
+    private static Object normalizeValue(@Nullable Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Long ||
+            value instanceof BigDecimal || value instanceof Double || value instanceof Timestamp || value instanceof byte[]) {
+            return value;
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        } else if (value instanceof java.util.Date date) {
+            return new Timestamp(date.getTime());
+        } else {
+            return value.toString();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////
+    // Serialization
+
+    public void write(@NotNull OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writeString(out, key);
+        writeString(out, marker);
+        out.writeInt(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            writeString(out, labels[i]);
+            out.writeInt(types[i]);
+            writeString(out, typeNames[i]);
+        }
+        out.writeInt(rows.size());
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                writeValue(out, value);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads snapshot. Returns null if stream contains snapshot in unsupported format.
+     */
+    @Nullable
+    public static JDBCMetadataSnapshot read(@NotNull InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != FORMAT_MAGIC || in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        String key = readString(in);
+        String marker = readString(in);
+        int columnCount = in.readInt();
+        String[] labels = new String[columnCount];
+        int[] types = new int[columnCount];
+        String[] typeNames = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = readString(in);
+            types[i] = in.readInt();
+            typeNames[i] = readString(in);
+        }
+        int rowCount = in.readInt();
+        List<Object[]> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            Object[] row = new Object[columnCount];
+            for (int k = 0; k < columnCount; k++) {
+                row[k] = readValue(in);
+            }
+            rows.add(row);
+        }
+        return new JDBCMetadataSnapshot(key, marker, labels, types, typeNames, rows);
+    }
+
+    private static void writeValue(@NotNull DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof String str) {
+            out.writeByte(VALUE_STRING);
+            writeString(out, str);
+        } else if (value instanceof Long num) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong(num);
+        } else if (value instanceof BigDecimal num) {
+            out.writeByte(VALUE_DECIMAL);
+            writeString(out, num.toString());
+        } else if (value instanceof Double num) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble(num);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof Timestamp ts) {
+            out.writeByte(VALUE_TIMESTAMP);
+            out.writeLong(ts.getTime());
+            out.writeInt(ts.getNanos());
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(VALUE_BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Object[] array) {
+            out.writeByte(VALUE_ARRAY);
+            out.writeInt(array.length);
+            for (Object element : array) {
+                writeValue(out, element);
+            }
+        } else {
+            out.writeByte(VALUE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case VALUE_NULL -> null;
+            case VALUE_STRING -> readString(in);
+            case VALUE_LONG -> in.readLong();
+            case VALUE_DECIMAL -> new BigDecimal(readString(in));
+            case VALUE_DOUBLE -> in.readDouble();
+            case VALUE_BOOLEAN -> in.readBoolean();
+            case VALUE_TIMESTAMP -> {
+                Timestamp ts = new Timestamp(in.readLong());
+                ts.setNanos(in.readInt());
+                yield ts;
+            }
+            case VALUE_BYTES -> {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                yield bytes;
+            }
+            case VALUE_ARRAY -> {
+                Object[] array = new Object[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = readValue(in);
+                }
+                yield array;
+            }
+            default -> throw new IOException("Bad snapshot value type: " + tag);
+        };
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @Nullable String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    @Nullable
+    private static String readString(@NotNull DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    ///////////////////////////////////////////////////////////
+    // Replay
+
+    /**
+     * Opens result set over snapshot rows. Returned object also implements {@link Replay}.
+     */
+    @NotNull
+    public ResultSet openResultSet() {
+        return (ResultSet) Proxy.newProxyInstance(
+            JDBCMetadataSnapshot.class.getClassLoader(),
+            new Class[]{ResultSet.class, Replay.class},
+            new ReplayHandler());
+    }
+
+    private class ReplayHandler implements InvocationHandler {
+        private final Map<String, Integer> columnIndexes = new HashMap<>();
+        private int rowIndex = -1;
+        private boolean lastNull;
+        private boolean closed;
+        private boolean unsupportedCalls;
+
+        ReplayHandler() {
+            for (int i = labels.length; i > 0; i--) {
+                // First column wins in case of duplicate labels
+                columnIndexes.put(labels[i - 1].toUpperCase(Locale.ENGLISH), i);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "hasUnsupportedCalls":
+                    return unsupportedCalls;
+                case "next":
+                    if (closed || rowIndex >= rows.size()) {
+                        return false;
+                    }
+                    rowIndex++;
+                    return rowIndex < rows.size();
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "wasNull":
+                    return lastNull;
+                case "findColumn":
+                    return findColumn((String) args[0]);
+                case "getMetaData":
+                    return createMetaData();
+                case "getStatement", "getWarnings":
+                    return null;
+                case "clearWarnings", "setFetchSize", "setFetchDirection":
+                    return null;
+                case "getFetchSize":
+                    return 0;
+                case "getFetchDirection":
+                    return ResultSet.FETCH_FORWARD;
+                case "getType":
+                    return ResultSet.TYPE_FORWARD_ONLY;
+                case "getConcurrency":
+                    return ResultSet.CONCUR_READ_ONLY;
+                case "getHoldability":
+                    return ResultSet.CLOSE_CURSORS_AT_COMMIT;
+                case "unwrap":
+                    throw new SQLException("Not a wrapper");
+                case "isWrapperFor":
+                    return false;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Metadata snapshot [" + key + "]";
+            }
+            if (name.startsWith("get") && args != null && (args.length == 1 || (args.length == 2 && name.equals("getObject")))) {
+                int index = args[0] instanceof String label ? findColumn(label) : (Integer) args[0];
+                if (index >= 1 && index <= labels.length && isStreamType(types[index - 1])) {
+                    unsupportedCalls = true;
+                    throw new SQLFeatureNotSupportedException("Metadata snapshot doesn't contain column " + labels[index - 1]);
+                }
+                Object value = getValue(index);
+                lastNull = value == null;
+                try {
+                    Object result = convertValue(name, index, value, args.length == 2 && args[1] instanceof Class<?> type ? type : null);
+                    if (result != UNSUPPORTED) {
+                        return result;
+                    }
+                } catch (RuntimeException e) {
+                    throw new SQLException("Can't read snapshot value of column " + labels[index - 1], e);
+                }
+            }
+            unsupportedCalls = true;
+            throw new SQLFeatureNotSupportedException("Metadata snapshot doesn't support " + name);
+        }
+
+        private int findColumn(@NotNull String label) throws SQLException {
+            Integer index = columnIndexes.get(label.toUpperCase(Locale.ENGLISH));
+            if (index == null) {
+                throw new SQLException("Column '" + label + "' not found in snapshot");
+            }
+            return index;
+        }
+
+        @Nullable
+        private Object getValue(int index) throws SQLException {
+            if (rowIndex < 0 || rowIndex >= rows.size()) {
+                throw new SQLException("No current row in snapshot");
+            }
+            if (index < 1 || index > labels.length) {
+                throw new SQLException("Bad column index: " + index);
+            }
+            return rows.get(rowIndex)[index - 1];
+        }
+
+        @NotNull
+        private ResultSetMetaData createMetaData() {
+            return (ResultSetMetaData) Proxy.newProxyInstance(
+                JDBCMetadataSnapshot.class.getClassLoader(),
+                new Class[]{ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> labels.length;
+                    case "getColumnLabel", "getColumnName" -> labels[(Integer) args[0] - 1];
+                    case "getColumnType" -> types[(Integer) args[0] - 1];
+                    case "getColumnTypeName" -> typeNames[(Integer) args[0] - 1];
+                    case "isWrapperFor" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "Metadata snapshot meta [" + key + "]";
+                    default -> {
+                        unsupportedCalls = true;
+                        throw new SQLFeatureNotSupportedException("Metadata snapshot doesn't support " + method.getName());
+                    }
+                });
+        }
+
+        @Nullable
+        private Object convertValue(@NotNull String getter, int index, @Nullable Object value, @Nullable Class<?> type) {
+            switch (getter) {
+                case "getString", "getNString":
+                    return value == null ? null : value instanceof Object[] array ? Arrays.toString(array) : value.toString();
+                case "getObject":
+                    if (type != null) {
+                        return value == null ? null : convertToClass(value, type);
+                    }
+                    return getObject(index, value);
+                case "getLong":
+                    return value == null ? 0L : toNumber(value).longValue();
+                case "getInt":
+                    return value == null ? 0 : toNumber(value).intValue();
+                case "getShort":
+                    return value == null ? (short) 0 : toNumber(value).shortValue();
+                case "getByte":
+                    return value == null ? (byte) 0 : toNumber(value).byteValue();
+                case "getDouble":
+                    return value == null ? 0.0 : toNumber(value).doubleValue();
+                case "getFloat":
+                    return value == null ? 0.0f : toNumber(value).floatValue();
+                case "getBigDecimal":
+                    return value == null ? null : value instanceof BigDecimal dec ? dec : new BigDecimal(toNumber(value).toString());
+                case "getBoolean":
+                    return value != null && toBoolean(value);
+                case "getTimestamp":
+                    return value == null ? null : toTimestamp(value);
+                case "getDate":
+                    return value == null ? null : new java.sql.Date(toTimestamp(value).getTime());
+                case "getTime":
+                    return value == null ? null : new Time(toTimestamp(value).getTime());
+                case "getBytes":
+                    return value == null ? null : value instanceof byte[] ? value : value.toString().getBytes(StandardCharsets.UTF_8);
+                case "getArray":
+                    return value == null ? null : value instanceof Object[] array ? createArray(index, array) : UNSUPPORTED;
+                default:
+                    return UNSUPPORTED;
+            }
+        }
+
+        @Nullable
+        private Object getObject(int index, @Nullable Object value) {
+            if (value instanceof Long num) {
+                return switch (types[index - 1]) {
+                    case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> num.intValue();
+                    default -> num;
+                };
+            } else if (value instanceof Object[] array) {
+                return createArray(index, array);
+            }
+            return value;
+        }
+
+        @NotNull
+        private Object convertToClass(@NotNull Object value, @NotNull Class<?> type) {
+            if (type.isInstance(value)) {
+                return value;
+            } else if (type == String.class) {
+                return value.toString();
+            } else if (type == Long.class) {
+                return toNumber(value).longValue();
+            } else if (type == Integer.class) {
+                return toNumber(value).intValue();
+            } else if (type == Double.class) {
+                return toNumber(value).doubleValue();
+            } else if (type == BigDecimal.class) {
+                return new BigDecimal(toNumber(value).toString());
+            } else if (type == Boolean.class) {
+                return toBoolean(value);
+            } else if (type == Timestamp.class) {
+                return toTimestamp(value);
+            }
+            return UNSUPPORTED;
+        }
+
+        @NotNull
+        private Array createArray(int index, @NotNull Object[] elements) {
+            String baseTypeName = typeNames[index - 1];
+            return (Array) Proxy.newProxyInstance(
+                JDBCMetadataSnapshot.class.getClassLoader(),
+                new Class[]{Array.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getArray" -> elements.clone();
+                    case "getBaseTypeName" -> baseTypeName;
+                    case "getBaseType" -> Types.OTHER;
+                    case "free" -> null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> Arrays.toString(elements);
+                    default -> {
+                        unsupportedCalls = true;
+                        throw new SQLFeatureNotSupportedException("Metadata snapshot doesn't support " + method.getName());
+                    }
+                });
+        }
+    }
+
+    private static final Object UNSUPPORTED = new Object();
+
+    @NotNull
+    private static Number toNumber(@NotNull Object value) {
+        if (value instanceof Number num) {
+            return num;
+        } else if (value instanceof Boolean bool) {
+            return bool ? 1L : 0L;
+        } else if (value instanceof Timestamp ts) {
+            return ts.getTime();
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    private static boolean toBoolean(@NotNull Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        } else if (value instanceof Number num) {
+            return num.intValue() != 0;
+        }
+        String str = value.toString().trim();
+        return str.equals("1") || str.equalsIgnoreCase("true") || str.equalsIgnoreCase("Y") || str.equalsIgnoreCase("YES");
+    }
+
+    @NotNull
+    private static Timestamp toTimestamp(@NotNull Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts;
+        } else if (value instanceof Number num) {
+            return new Timestamp(num.longValue());
+        }
+        return Timestamp.valueOf(value.toString().trim());
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent store of metadata snapshots of a single data source.
+ *
+ * Snapshot is used only if its change marker matches the current marker of the cache owner
+ * (e.g. schema DDL time). Marker is provided by the data source and is read at most once per
+ * {@link #MARKER_TTL} for each owner. Snapshot of each cache is used once per connection,
+ * next reads (e.g. after refresh) always go to the database and update the snapshot.
+ * Snapshots are saved in a background thread.
+ */
+public class JDBCMetadataSnapshotStore {
+
+    private static final Log log = Log.getLog(JDBCMetadataSnapshotStore.class);
+
+    public static final long MARKER_TTL = 60_000;
+
+    private static final String SNAPSHOT_FILE_EXTENSION = ".snapshot";
+
+    /**
+     * Reads schema change marker. Marker changes each time any object in the owner changes.
+     */
+    @FunctionalInterface
+    public interface MarkerReader {
+        /**
+         * Returns change marker or null if owner doesn't support snapshots
+         */
+        @Nullable
+        String readChangeMarker(@NotNull JDBCSession session, @NotNull DBSObject owner) throws SQLException;
+    }
+
+    private record Marker(@Nullable String value, long readTime) {
+    }
+
+    @NotNull
+    private final Path folder;
+    @NotNull
+    private final MarkerReader markerReader;
+    private final Map<String, Marker> markers = new ConcurrentHashMap<>();
+    private final Set<String> usedSnapshots = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writer;
+
+    public JDBCMetadataSnapshotStore(@NotNull Path folder, @NotNull MarkerReader markerReader) {
+        this.folder = folder;
+        this.markerReader = markerReader;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Metadata snapshot writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns snapshot key of the cache
+     */
+    @NotNull
+    public static String getSnapshotKey(@NotNull Object cache, @NotNull DBSObject owner) {
+        return cache.getClass().getName() + "|" + DBUtils.getObjectFullId(owner);
+    }
+
+    /**
+     * Opens snapshot result set. Returns null if there is no snapshot with the specified marker
+     * or if snapshot was already used by this connection.
+     */
+    @Nullable
+    public ResultSet openSnapshot(@NotNull String key, @NotNull String marker) {
+        if (!usedSnapshots.add(key)) {
+            // Snapshot was already used, refresh from database
+            return null;
+        }
+        Path file = getSnapshotFile(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            JDBCMetadataSnapshot snapshot = JDBCMetadataSnapshot.read(in);
+            if (snapshot == null || !snapshot.getKey().equals(key) || !snapshot.getMarker().equals(marker)) {
+                return null;
+            }
+            return snapshot.openResultSet();
+        } catch (Exception e) {
+            log.debug("Error reading metadata snapshot '" + file + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Saves snapshot in background
+     */
+    public void saveSnapshot(@NotNull JDBCMetadataSnapshot snapshot) {
+        if (!snapshot.isValid()) {
+            deleteSnapshot(snapshot.getKey());
+            return;
+        }
+        writer.execute(() -> {
+            Path file = getSnapshotFile(snapshot.getKey());
+            Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                Files.createDirectories(folder);
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmpFile))) {
+                    snapshot.write(out);
+                }
+                Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                log.debug("Error saving metadata snapshot '" + file + "': " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Deletes snapshot. Called when snapshot can't be used for the cache.
+     */
+    public void deleteSnapshot(@NotNull String key) {
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(getSnapshotFile(key));
+            } catch (IOException e) {
+                log.debug("Error deleting metadata snapshot: " + e.getMessage());
+            }
+        });
+    }
+
+    public void dispose() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.debug("Metadata snapshot writer didn't finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns change marker of the owner or null if owner doesn't support snapshots.
+     * Must be called before the metadata query is executed.
+     */
+    @Nullable
+    public String getChangeMarker(@NotNull JDBCSession session, @NotNull DBSObject owner) {
+        String ownerId = DBUtils.getObjectFullId(owner);
+        long now = System.currentTimeMillis();
+        Marker marker = markers.get(ownerId);
+        if (marker == null || now - marker.readTime > MARKER_TTL) {
+            String value;
+            try {
+                value = markerReader.readChangeMarker(session, owner);
+            } catch (SQLException e) {
+                log.debug("Error reading metadata change marker: " + e.getMessage());
+                value = null;
+            }
+            marker = new Marker(value, now);
+            markers.put(ownerId, marker);
+        }
+        return marker.value;
+    }
+
+    @NotNull
+    private Path getSnapshotFile(@NotNull String key) {
+        return folder.resolve(UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + SNAPSHOT_FILE_EXTENSION);
+    }
+
+}
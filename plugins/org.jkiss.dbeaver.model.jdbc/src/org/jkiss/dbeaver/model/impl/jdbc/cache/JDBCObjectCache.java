@@ -27,6 +27,8 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
@@ -34,6 +36,7 @@ import org.jkiss.dbeaver.model.struct.cache.AbstractObjectCache;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -110,33 +113,38 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
             try {
                 try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load objects from " + owner.getName())) {
                     beforeCacheLoading(session, owner);
-                    try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
-                        monitor.subTask("Load " + getCacheName());
-                        dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
-                        dbStat.executeStatement();
-                        JDBCResultSet dbResult = dbStat.getResultSet();
-                        if (dbResult != null) {
-                            try {
-                                while (dbResult.next()) {
-                                    if (monitor.isCanceled()) {
-                                        return;
-                                    }
-
-                                    OBJECT object = fetchObject(session, owner, dbResult);
-                                    if (object == null || !isValidObject(monitor, owner, object)) {
-                                        continue;
+                    try {
+                        JDBCMetadataSnapshotStore snapshotStore = getSnapshotStore(owner);
+                        String snapshotKey = null;
+                        String snapshotMarker = null;
+                        if (snapshotStore != null) {
+                            snapshotKey = JDBCMetadataSnapshotStore.getSnapshotKey(this, owner);
+                            snapshotMarker = snapshotStore.getChangeMarker(session, owner);
+                        }
+                        if (snapshotMarker != null && readSnapshot(monitor, session, owner, snapshotStore, snapshotKey, snapshotMarker, tmpObjectList)) {
+                            // Objects were read from the persistent snapshot
+                        } else if (monitor.isCanceled()) {
+                            return;
+                        } else {
+                            try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
+                                monitor.subTask("Load " + getCacheName());
+                                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                                dbStat.executeStatement();
+                                JDBCResultSet dbResult = dbStat.getResultSet();
+                                if (dbResult != null) {
+                                    JDBCMetadataSnapshot snapshot = snapshotMarker == null ? null :
+                                        JDBCMetadataSnapshot.create(snapshotKey, snapshotMarker, dbResult.getOriginal().getMetaData());
+                                    try {
+                                        if (!fetchObjects(monitor, session, owner, dbResult, tmpObjectList, snapshot)) {
+                                            return;
+                                        }
+                                    } finally {
+                                        dbResult.close();
                                     }
-                                    tmpObjectList.add(object);
-
-                                    // Do not log every object load. This overheats UI in case of long lists
-                                    //monitor.subTask(object.getName());
-                                    if (tmpObjectList.size() == maximumCacheSize) {
-                                        log.warn("Maximum cache size exceeded (" + maximumCacheSize + ") in " + this);
-                                        break;
+                                    if (snapshot != null && tmpObjectList.size() < maximumCacheSize) {
+                                        snapshotStore.saveSnapshot(snapshot);
                                     }
                                 }
-                            } finally {
-                                dbResult.close();
                             }
                         }
                     } finally {
@@ -168,6 +176,94 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         this.invalidateObjects(monitor, owner, new CacheIterator());
     }
 
+    /**
+     * Reads objects from result set. Returns false if operation was canceled.
+     */
+    private boolean fetchObjects(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull JDBCSession session,
+        @NotNull OWNER owner,
+        @NotNull JDBCResultSet dbResult,
+        @NotNull List<OBJECT> objects,
+        @Nullable JDBCMetadataSnapshot snapshot
+    ) throws SQLException, DBException {
+        while (dbResult.next()) {
+            if (monitor.isCanceled()) {
+                return false;
+            }
+            if (snapshot != null) {
+                snapshot.addRow(dbResult);
+            }
+
+            OBJECT object = fetchObject(session, owner, dbResult);
+            if (object == null || !isValidObject(monitor, owner, object)) {
+                continue;
+            }
+            objects.add(object);
+
+            // Do not log every object load. This overheats UI in case of long lists
+            //monitor.subTask(object.getName());
+            if (objects.size() == maximumCacheSize) {
+                log.warn("Maximum cache size exceeded (" + maximumCacheSize + ") in " + this);
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads objects from the persistent metadata snapshot.
+     * Returns false if there is no actual snapshot or it can't be used by this cache.
+     */
+    private boolean readSnapshot(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull JDBCSession session,
+        @NotNull OWNER owner,
+        @NotNull JDBCMetadataSnapshotStore snapshotStore,
+        @NotNull String snapshotKey,
+        @NotNull String snapshotMarker,
+        @NotNull List<OBJECT> objects
+    ) {
+        ResultSet snapshotResult = snapshotStore.openSnapshot(snapshotKey, snapshotMarker);
+        if (snapshotResult == null) {
+            return false;
+        }
+        monitor.subTask("Load " + getCacheName() + " from snapshot");
+        try (JDBCResultSet dbResult = JDBCResultSetImpl.makeResultSet(session, null, snapshotResult, "Read " + getCacheName() + " snapshot", true)) {
+            if (fetchObjects(monitor, session, owner, dbResult, objects, null)) {
+                if (!((JDBCMetadataSnapshot.Replay) snapshotResult).hasUnsupportedCalls()) {
+                    return true;
+                }
+                log.debug(getCacheName() + " can't be read from metadata snapshot");
+                snapshotStore.deleteSnapshot(snapshotKey);
+            }
+        } catch (Exception e) {
+            log.debug("Error reading " + getCacheName() + " from metadata snapshot: " + e.getMessage());
+            snapshotStore.deleteSnapshot(snapshotKey);
+        }
+        objects.clear();
+        return false;
+    }
+
+    /**
+     * Returns persistent metadata snapshot store if this cache supports snapshots and they are enabled
+     */
+    @Nullable
+    protected JDBCMetadataSnapshotStore getSnapshotStore(@NotNull OWNER owner) {
+        if (isSnapshotSupported() && owner.getDataSource() instanceof JDBCDataSource dataSource) {
+            return dataSource.getMetadataSnapshotStore();
+        }
+        return null;
+    }
+
+    /**
+     * Whether objects of this cache may be restored from the persistent metadata snapshot.
+     * Objects must be constructed from the query result set only.
+     */
+    protected boolean isSnapshotSupported() {
+        return false;
+    }
+
     public void beforeCacheLoading(JDBCSession session, OWNER owner) throws DBException {
         // Do nothing
     }
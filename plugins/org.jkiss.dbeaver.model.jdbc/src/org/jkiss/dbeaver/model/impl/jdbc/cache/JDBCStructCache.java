@@ -28,6 +28,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
@@ -35,8 +36,10 @@ import org.jkiss.dbeaver.model.struct.cache.DBSObjectCache;
 import org.jkiss.dbeaver.model.struct.cache.DBSStructCache;
 import org.jkiss.dbeaver.model.struct.cache.SimpleObjectCache;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JDBC structured objects cache.
@@ -49,7 +52,8 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
 
     private final Object objectNameColumn;
     private volatile boolean childrenCached = false;
-    private final Map<OBJECT, SimpleObjectCache<OBJECT, CHILD>> childrenCache = new IdentityHashMap<>();
+    // Children caches by parent object identity. Lookups do not lock
+    private final Map<ObjectKey, SimpleObjectCache<OBJECT, CHILD>> childrenCache = new ConcurrentHashMap<>();
 
     abstract protected JDBCStatement prepareChildrenStatement(@NotNull JDBCSession session, @NotNull OWNER owner, @Nullable OBJECT forObject)
         throws SQLException;
@@ -91,88 +95,161 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load child objects")) {
             Map<OBJECT, List<CHILD>> objectMap = new HashMap<>();
 
-            // Load columns
-            try (JDBCStatement dbStat = prepareChildrenStatement(session, owner, forObject)) {
-                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
-                dbStat.executeStatement();
-                JDBCResultSet dbResult = dbStat.getResultSet();
-                if (dbResult != null) {
+            JDBCMetadataSnapshotStore snapshotStore = forObject == null ? getSnapshotStore(owner) : null;
+            String snapshotKey = null;
+            String snapshotMarker = null;
+            if (snapshotStore != null) {
+                snapshotKey = JDBCMetadataSnapshotStore.getSnapshotKey(this, owner) + "|children";
+                snapshotMarker = snapshotStore.getChangeMarker(session, owner);
+            }
+            if (snapshotMarker != null && readChildrenSnapshot(monitor, session, owner, snapshotStore, snapshotKey, snapshotMarker, objectMap)) {
+                // Children were read from the persistent snapshot
+            } else if (monitor.isCanceled()) {
+                return;
+            } else {
+                // Load columns
+                try (JDBCStatement dbStat = prepareChildrenStatement(session, owner, forObject)) {
+                    dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                    dbStat.executeStatement();
+                    JDBCResultSet dbResult = dbStat.getResultSet();
+                    if (dbResult == null) {
+                        return;
+                    }
+                    JDBCMetadataSnapshot snapshot = snapshotMarker == null ? null :
+                        JDBCMetadataSnapshot.create(snapshotKey, snapshotMarker, dbResult.getOriginal().getMetaData());
                     try {
-                        while (dbResult.next()) {
-                            if (monitor.isCanceled()) {
-                                return;
-                            }
-                            OBJECT object = forObject;
-                            if (object == null) {
-                                String objectName;
-                                if (objectNameColumn instanceof Number) {
-                                    objectName = JDBCUtils.safeGetString(dbResult, ((Number) objectNameColumn).intValue());
-                                } else {
-                                    objectName = JDBCUtils.safeGetStringTrimmed(dbResult, objectNameColumn.toString());
-                                }
-                                if (objectName == null) {
-                                    log.debug("NULL object name in " + this);
-                                    continue;
-                                }
-
-                                object = super.getCachedObject(objectName);
-                                if (object == null) {
-                                    log.debug("Object '" + objectName + "' not found in struct cache (" + getClass().getSimpleName() + ")");
-                                    continue;
-                                }
-                            }
-                            if (isChildrenCached(object)) {
-                                // Already read
-                                continue;
-                            }
-                            CHILD child = fetchChild(session, owner, object, dbResult);
-                            if (child == null) {
-                                continue;
-                            }
-
-                            // Add to map
-                            List<CHILD> children = objectMap.computeIfAbsent(object, k -> new ArrayList<>());
-                            children.add(child);
-                        }
-
-                        if (monitor.isCanceled()) {
+                        if (!fetchChildren(monitor, session, owner, forObject, dbResult, objectMap, snapshot)) {
                             return;
                         }
-
-                        // All children are read. Now assign them to parents
-                        for (Map.Entry<OBJECT, List<CHILD>> colEntry : objectMap.entrySet()) {
-                            if (!isChildrenCached(colEntry.getKey())) {
-                                // isChildrenCached may return true if the same cache was read in other thread
-                                // just skip
-                                cacheChildren(colEntry.getKey(), colEntry.getValue());
-                            }
-                        }
-                        if (forObject == null) {
-                            if (objectMap.isEmpty()) {
-                                // Nothing was read. May be it means empty list of children
-                                // but possibly this feature is not supported [JDBC: SQLite]
-                            } else {
-                                // Now set empty column list for other tables
-                                for (OBJECT tmpObject : getAllObjects(monitor, owner)) {
-                                    if (!isChildrenCached(tmpObject) && !objectMap.containsKey(tmpObject)) {
-                                        cacheChildren(tmpObject, new ArrayList<>());
-                                    }
-                                }
-                                this.childrenCached = true;
-                            }
-                        } else if (!objectMap.containsKey(forObject)) {
-                            cacheChildren(forObject, new ArrayList<>());
-                        }
                     } finally {
                         dbResult.close();
                     }
+                    if (snapshot != null) {
+                        snapshotStore.saveSnapshot(snapshot);
+                    }
+                }
+            }
+
+            if (monitor.isCanceled()) {
+                return;
+            }
+
+            // All children are read. Now assign them to parents
+            for (Map.Entry<OBJECT, List<CHILD>> colEntry : objectMap.entrySet()) {
+                if (!isChildrenCached(colEntry.getKey())) {
+                    // isChildrenCached may return true if the same cache was read in other thread
+                    // just skip
+                    cacheChildren(colEntry.getKey(), colEntry.getValue());
                 }
             }
+            if (forObject == null) {
+                if (objectMap.isEmpty()) {
+                    // Nothing was read. May be it means empty list of children
+                    // but possibly this feature is not supported [JDBC: SQLite]
+                } else {
+                    // Now set empty column list for other tables
+                    for (OBJECT tmpObject : getAllObjects(monitor, owner)) {
+                        if (!isChildrenCached(tmpObject) && !objectMap.containsKey(tmpObject)) {
+                            cacheChildren(tmpObject, new ArrayList<>());
+                        }
+                    }
+                    this.childrenCached = true;
+                }
+            } else if (!objectMap.containsKey(forObject)) {
+                cacheChildren(forObject, new ArrayList<>());
+            }
         } catch (SQLException ex) {
             throw new DBDatabaseException(ex, dataSource);
         }
     }
 
+    /**
+     * Reads children from result set and groups them by parent objects. Returns false if operation was canceled.
+     */
+    private boolean fetchChildren(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull JDBCSession session,
+        @NotNull OWNER owner,
+        @Nullable OBJECT forObject,
+        @NotNull JDBCResultSet dbResult,
+        @NotNull Map<OBJECT, List<CHILD>> objectMap,
+        @Nullable JDBCMetadataSnapshot snapshot
+    ) throws SQLException, DBException {
+        while (dbResult.next()) {
+            if (monitor.isCanceled()) {
+                return false;
+            }
+            if (snapshot != null) {
+                snapshot.addRow(dbResult);
+            }
+            OBJECT object = forObject;
+            if (object == null) {
+                String objectName;
+                if (objectNameColumn instanceof Number) {
+                    objectName = JDBCUtils.safeGetString(dbResult, ((Number) objectNameColumn).intValue());
+                } else {
+                    objectName = JDBCUtils.safeGetStringTrimmed(dbResult, objectNameColumn.toString());
+                }
+                if (objectName == null) {
+                    log.debug("NULL object name in " + this);
+                    continue;
+                }
+
+                object = super.getCachedObject(objectName);
+                if (object == null) {
+                    log.debug("Object '" + objectName + "' not found in struct cache (" + getClass().getSimpleName() + ")");
+                    continue;
+                }
+            }
+            if (isChildrenCached(object)) {
+                // Already read
+                continue;
+            }
+            CHILD child = fetchChild(session, owner, object, dbResult);
+            if (child == null) {
+                continue;
+            }
+
+            // Add to map
+            List<CHILD> children = objectMap.computeIfAbsent(object, k -> new ArrayList<>());
+            children.add(child);
+        }
+        return true;
+    }
+
+    /**
+     * Reads children of all objects from the persistent metadata snapshot.
+     * Returns false if there is no actual snapshot or it can't be used by this cache.
+     */
+    private boolean readChildrenSnapshot(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull JDBCSession session,
+        @NotNull OWNER owner,
+        @NotNull JDBCMetadataSnapshotStore snapshotStore,
+        @NotNull String snapshotKey,
+        @NotNull String snapshotMarker,
+        @NotNull Map<OBJECT, List<CHILD>> objectMap
+    ) {
+        ResultSet snapshotResult = snapshotStore.openSnapshot(snapshotKey, snapshotMarker);
+        if (snapshotResult == null) {
+            return false;
+        }
+        try (JDBCResultSet dbResult = JDBCResultSetImpl.makeResultSet(session, null, snapshotResult, "Read " + getCacheName() + " children snapshot", true)) {
+            if (fetchChildren(monitor, session, owner, null, dbResult, objectMap, null)) {
+                if (!((JDBCMetadataSnapshot.Replay) snapshotResult).hasUnsupportedCalls()) {
+                    return true;
+                }
+                log.debug(getCacheName() + " children can't be read from metadata snapshot");
+                snapshotStore.deleteSnapshot(snapshotKey);
+            }
+        } catch (Exception e) {
+            log.debug("Error reading " + getCacheName() + " children from metadata snapshot: " + e.getMessage());
+            snapshotStore.deleteSnapshot(snapshotKey);
+        }
+        objectMap.clear();
+        return false;
+    }
+
     @Override
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache) {
         super.removeObject(object, resetFullCache);
@@ -192,18 +269,14 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
      * @return cache
      */
     public DBSObjectCache<OBJECT, CHILD> getChildrenCache(@NotNull final OBJECT forObject) {
-        synchronized (childrenCache) {
-            SimpleObjectCache<OBJECT, CHILD> nestedCache = childrenCache.get(forObject);
-            if (nestedCache == null) {
-                // Create new empty children cache
-                // This may happen only when invoked for newly created object (e.g. when we create new column
-                // in a new created table)
-                nestedCache = this.createNestedCache();
-                nestedCache.setCache(new ArrayList<>());
-                childrenCache.put(forObject, nestedCache);
-            }
+        return childrenCache.computeIfAbsent(new ObjectKey(forObject), key -> {
+            // Create new empty children cache
+            // This may happen only when invoked for newly created object (e.g. when we create new column
+            // in a new created table)
+            SimpleObjectCache<OBJECT, CHILD> nestedCache = this.createNestedCache();
+            nestedCache.setCache(new ArrayList<>());
             return nestedCache;
-        }
+        });
     }
 
     @Nullable
@@ -211,10 +284,8 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         if (!monitor.isForceCacheUsage()) {
             loadChildren(monitor, owner, forObject);
         }
-        synchronized (childrenCache) {
-            SimpleObjectCache<OBJECT, CHILD> nestedCache = childrenCache.get(forObject);
-            return nestedCache == null ? null : nestedCache.getAllObjects(monitor, null);
-        }
+        SimpleObjectCache<OBJECT, CHILD> nestedCache = childrenCache.get(new ObjectKey(forObject));
+        return nestedCache == null ? null : nestedCache.getAllObjects(monitor, null);
     }
 
     @Nullable
@@ -222,40 +293,33 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         if (monitor != null) {
             loadChildren(monitor, owner, forObject);
         }
-        synchronized (childrenCache) {
-            SimpleObjectCache<OBJECT, CHILD> nestedCache = childrenCache.get(forObject);
-            return nestedCache == null ? null : nestedCache.getObject(monitor, forObject, objectName);
-        }
+        SimpleObjectCache<OBJECT, CHILD> nestedCache = childrenCache.get(new ObjectKey(forObject));
+        return nestedCache == null ? null : nestedCache.getObject(monitor, forObject, objectName);
     }
 
     public void clearChildrenCache(OBJECT forParent) {
-        synchronized (childrenCache) {
-            if (forParent != null) {
-                this.childrenCache.remove(forParent);
-            } else {
-                this.childrenCache.clear();
-            }
-            childrenCached = false;
+        if (forParent != null) {
+            this.childrenCache.remove(new ObjectKey(forParent));
+        } else {
+            this.childrenCache.clear();
         }
+        childrenCached = false;
     }
 
     protected boolean isChildrenCached(OBJECT parent) {
-        synchronized (childrenCache) {
-            return childrenCache.containsKey(parent);
+        return childrenCache.containsKey(new ObjectKey(parent));
 //            SimpleObjectCache<OBJECT, CHILD> chCache = childrenCache.get(parent);
 //            return chCache != null && !CommonUtils.isEmpty(chCache.getCachedObjects());
-        }
     }
 
     protected void cacheChildren(OBJECT parent, List<CHILD> children) {
-        synchronized (childrenCache) {
-            SimpleObjectCache<OBJECT, CHILD> nestedCache = childrenCache.get(parent);
+        childrenCache.compute(new ObjectKey(parent), (key, nestedCache) -> {
             if (nestedCache == null) {
                 nestedCache = this.createNestedCache();
-                childrenCache.put(parent, nestedCache);
             }
             nestedCache.setCache(children);
-        }
+            return nestedCache;
+        });
     }
 
     @NotNull
@@ -265,4 +329,19 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         return nestedCache;
     }
 
+    /**
+     * Identity map key. Cached objects are matched by reference, not by equals.
+     */
+    private record ObjectKey(@NotNull Object object) {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ObjectKey key && key.object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+
 }
\ No newline at end of file
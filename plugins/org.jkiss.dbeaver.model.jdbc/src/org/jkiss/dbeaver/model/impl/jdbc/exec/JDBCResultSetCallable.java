@@ -83,7 +83,15 @@ public class JDBCResultSetCallable extends LocalResultSet<JDBCCallableStatement>
 
     @Override
     public boolean next() throws SQLException {
-        return nextRow();
+        try {
+            return nextRow();
+        } catch (DBCException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            } else {
+                throw new SQLException(e);
+            }
+        }
     }
 
     @Override
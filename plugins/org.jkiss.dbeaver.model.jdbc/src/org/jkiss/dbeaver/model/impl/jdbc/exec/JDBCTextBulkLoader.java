@@ -0,0 +1,208 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Base bulk loader which streams rows as tab-separated text (\N for NULL, backslash escapes).
+ * Rows are accumulated in memory and sent to the server in chunks, no temporary files are used.
+ * Subclasses implement the actual load call (e.g. LOAD DATA LOCAL INFILE or INSERT ... FORMAT TabSeparated).
+ */
+public abstract class JDBCTextBulkLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(JDBCTextBulkLoader.class);
+
+    // Send data to the server once buffer exceeds this size, even if commit wasn't requested yet
+    private static final int MAX_BUFFER_SIZE = 16 * 1024 * 1024;
+
+    protected DBSDataContainer dataContainer;
+    protected DBSAttributeBase[] attributes;
+    private DBDValueHandler[] valueHandlers;
+    private final RowBuffer buffer = new RowBuffer();
+    private final StringBuilder line = new StringBuilder();
+    private int bufferedRows;
+    private long loadedRows;
+
+    @NotNull
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        if (!(session instanceof JDBCSession)) {
+            throw new DBCException("Bulk load requires JDBC session");
+        }
+        this.dataContainer = dataContainer;
+        this.attributes = attributes;
+        this.valueHandlers = new DBDValueHandler[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            DBPDataKind dataKind = attributes[i].getDataKind();
+            if (dataKind == DBPDataKind.BINARY || dataKind == DBPDataKind.CONTENT) {
+                throw new DBCException("Column '" + attributes[i].getName() + "' of type " + attributes[i].getTypeName() +
+                    " can't be loaded in text bulk load mode. Disable bulk load for this table.");
+            }
+            valueHandlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+        }
+        return this;
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        line.setLength(0);
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            Object value = attributeValues[i];
+            if (DBUtils.isNullValue(value)) {
+                line.append("\\N");
+            } else if (value instanceof BigDecimal decimal) {
+                line.append(decimal.toPlainString());
+            } else if (value instanceof Number) {
+                line.append(value);
+            } else if (value instanceof Boolean bool) {
+                line.append(bool ? '1' : '0');
+            } else {
+                appendEscaped(line, valueHandlers[i].getValueDisplayString(attributes[i], value, DBDDisplayFormat.NATIVE));
+            }
+        }
+        line.append('\n');
+        buffer.writeBytes(line.toString().getBytes(StandardCharsets.UTF_8));
+        bufferedRows++;
+        if (buffer.size() >= MAX_BUFFER_SIZE) {
+            loadBuffer((JDBCSession) session);
+        }
+    }
+
+    private static void appendEscaped(@NotNull StringBuilder line, @NotNull String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> line.append("\\\\");
+                case '\t' -> line.append("\\t");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\0' -> line.append("\\0");
+                default -> line.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        loadBuffer((JDBCSession) session);
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        loadBuffer((JDBCSession) session);
+
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            session.getProgressMonitor().subTask("Commit bulk load");
+            txnManager.commit(session);
+        }
+        log.debug("Bulk load finished (" + loadedRows + " rows)");
+    }
+
+    private void loadBuffer(@NotNull JDBCSession session) throws DBCException {
+        if (bufferedRows == 0) {
+            return;
+        }
+        session.getProgressMonitor().subTask("Load " + bufferedRows + " rows into " + dataContainer.getName());
+        try {
+            loadRows(session, buffer.toInputStream(), bufferedRows);
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        } finally {
+            loadedRows += bufferedRows;
+            bufferedRows = 0;
+            buffer.reset();
+        }
+    }
+
+    /**
+     * Sends tab-separated rows to the server. Columns follow the order of {@link #attributes}.
+     */
+    protected abstract void loadRows(@NotNull JDBCSession session, @NotNull InputStream data, int rowCount)
+        throws SQLException, DBCException;
+
+    /**
+     * Fully qualified name of the target table
+     */
+    @NotNull
+    protected String getTableName() {
+        return DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML);
+    }
+
+    /**
+     * Comma-separated quoted names of loaded columns
+     */
+    @NotNull
+    protected String getColumnList() {
+        StringBuilder columns = new StringBuilder();
+        for (DBSAttributeBase attribute : attributes) {
+            if (!columns.isEmpty()) columns.append(",");
+            columns.append(DBUtils.getQuotedIdentifier(dataContainer.getDataSource(), attribute.getName()));
+        }
+        return columns.toString();
+    }
+
+    @Override
+    public void close() {
+        buffer.reset();
+        bufferedRows = 0;
+    }
+
+    private static class RowBuffer extends ByteArrayOutputStream {
+        RowBuffer() {
+            super(64 * 1024);
+        }
+
+        InputStream toInputStream() {
+            // Read directly from the internal buffer to avoid copying
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.jkiss.dbeaver.model.impl.app.BaseProjectImpl;
 import org.jkiss.dbeaver.model.impl.app.BaseWorkspaceImpl;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.LoggingProgressMonitor;
+import org.jkiss.dbeaver.registry.DataSourceRegistry;
 import org.jkiss.dbeaver.registry.internal.RegistryMessages;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.ArrayUtils;
@@ -294,7 +295,15 @@ public abstract class EclipseWorkspaceImpl extends BaseWorkspaceImpl implements
     private class ProjectListener implements IResourceChangeListener {
         @Override
         public void resourceChanged(IResourceChangeEvent event) {
-            if (event.getType() == IResourceChangeEvent.POST_CHANGE) {
+            if (event.getType() == IResourceChangeEvent.PRE_CLOSE && event.getResource() instanceof IProject project) {
+                // Configuration journal can't be merged after the project is closed
+                DesktopProjectImpl projectMetadata = projects.get(project);
+                if (projectMetadata != null && projectMetadata.isRegistryLoaded() &&
+                    projectMetadata.getDataSourceRegistry() instanceof DataSourceRegistry<?> registry
+                ) {
+                    registry.compactConfigurationJournals();
+                }
+            } else if (event.getType() == IResourceChangeEvent.POST_CHANGE) {
                 // Process removed projects first and added projects afterwards to properly update current active project
                 // Higher delta kind is processed first. See IResourceDelta constants
                 Arrays.stream(event.getDelta().getAffectedChildren())
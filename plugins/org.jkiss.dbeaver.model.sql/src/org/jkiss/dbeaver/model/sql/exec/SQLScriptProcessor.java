@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.model.sql.exec;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
@@ -31,6 +32,7 @@ import org.jkiss.dbeaver.model.sql.data.SQLQueryDataContainer;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -40,7 +42,8 @@ public class SQLScriptProcessor {
     private static final String STAT_LOG_PREFIX = "-----------------> ";
 
     private final DBCExecutionContext executionContext;
-    private final List<SQLScriptElement> queries;
+    private final Iterator<? extends SQLScriptElement> queries;
+    private final int queryCount;
     private final SQLScriptContext scriptContext;
     private final DBDDataReceiver dataReceiver;
     private final Log log;
@@ -61,8 +64,22 @@ public class SQLScriptProcessor {
         @NotNull SQLScriptContext scriptContext,
         @NotNull DBDDataReceiver dataReceiver,
         @NotNull Log log) {
+        this(executionContext, queries.iterator(), queries.size(), scriptContext, dataReceiver, log);
+    }
+
+    /**
+     * Creates processor of lazily parsed script. Query count may be unknown (-1).
+     */
+    public SQLScriptProcessor(
+        @NotNull DBCExecutionContext executionContext,
+        @NotNull Iterator<? extends SQLScriptElement> queries,
+        int queryCount,
+        @NotNull SQLScriptContext scriptContext,
+        @NotNull DBDDataReceiver dataReceiver,
+        @NotNull Log log) {
         this.executionContext = executionContext;
         this.queries = queries;
+        this.queryCount = queryCount;
         this.scriptContext = scriptContext;
         this.dataReceiver = dataReceiver;
         this.log = log;
@@ -109,12 +126,17 @@ public class SQLScriptProcessor {
                     txnManager.setAutoCommit(monitor, newAutoCommit);
                 }
 
-                monitor.beginTask("Execute queries (" + queries.size() + ")", queries.size());
+                if (queryCount >= 0) {
+                    monitor.beginTask("Execute queries (" + queryCount + ")", queryCount);
+                } else {
+                    monitor.beginTask("Execute queries", IProgressMonitor.UNKNOWN);
+                }
 
-                for (SQLScriptElement query : queries) {
+                while (queries.hasNext()) {
                     if (monitor.isCanceled()) {
                         break;
                     }
+                    SQLScriptElement query = queries.next();
                     // Execute query
                     boolean runNext = executeSingleQuery(session, query);
                     if (!runNext) {
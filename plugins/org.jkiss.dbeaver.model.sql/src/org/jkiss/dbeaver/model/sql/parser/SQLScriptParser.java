@@ -965,14 +965,7 @@ public class SQLScriptParser {
 
         parserContext.startScriptEvaluation();
         try {
-            for (int queryOffset = startOffset; ; ) {
-                SQLScriptElement query = parseQueryImpl(parserContext, queryOffset, startOffset + length, queryOffset, scriptMode, keepDelimiters);
-                if (query == null) {
-                    break;
-                }
-                queryList.add(query);
-                queryOffset = query.getOffset() + query.getLength();
-            }
+            parseScriptQueries(parserContext, startOffset, length, scriptMode, keepDelimiters, queryList);
         } finally {
             parserContext.endScriptEvaluation();
         }
@@ -982,17 +975,41 @@ public class SQLScriptParser {
         }
 
         if (parseParameters) {
-            // Parse parameters
-            for (SQLScriptElement element : queryList) {
-                if (element instanceof SQLQuery query) {
-                    query.setParameters(parseParametersAndVariables(parserContext, query.getOffset(), query.getLength()));
-                }
-            }
+            parseQueriesParameters(parserContext, queryList);
         }
         return queryList;
     }
 
-    private static void expandQueries(@NotNull SQLParserContext parserContext, @NotNull List<SQLScriptElement> queryList) {
+    /**
+     * Parses all queries of the document range. Must be called between script evaluation start and end.
+     */
+    static void parseScriptQueries(
+        @NotNull SQLParserContext parserContext,
+        int startOffset,
+        int length,
+        boolean scriptMode,
+        boolean keepDelimiters,
+        @NotNull List<SQLScriptElement> queryList
+    ) {
+        for (int queryOffset = startOffset; ; ) {
+            SQLScriptElement query = parseQueryImpl(parserContext, queryOffset, startOffset + length, queryOffset, scriptMode, keepDelimiters);
+            if (query == null) {
+                break;
+            }
+            queryList.add(query);
+            queryOffset = query.getOffset() + query.getLength();
+        }
+    }
+
+    static void parseQueriesParameters(@NotNull SQLParserContext parserContext, @NotNull List<SQLScriptElement> queryList) {
+        for (SQLScriptElement element : queryList) {
+            if (element instanceof SQLQuery query) {
+                query.setParameters(parseParametersAndVariables(parserContext, query.getOffset(), query.getLength()));
+            }
+        }
+    }
+
+    static void expandQueries(@NotNull SQLParserContext parserContext, @NotNull List<SQLScriptElement> queryList) {
         var continuationDetector = new ScriptElementContinuationDetector(parserContext);
         var it = queryList.listIterator();
         while (it.hasNext()) {
@@ -0,0 +1,288 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.Document;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Streaming SQL script parser.
+ *
+ * Script text is read into a sliding window which is parsed with the same rules as a whole script
+ * (statement delimiters, blocks, delimiter redefinition). Queries are returned one by one and the parsed
+ * part of the window is dropped, so memory usage doesn't depend on the script size.
+ * The last query of the window may be truncated by the window end, so it is parsed again after the window is refilled.
+ * Window grows if a single query doesn't fit into it.
+ *
+ * Offsets of returned elements are relative to the window, use {@link #getPosition()} to get the script offset.
+ */
+public class SQLScriptStreamParser implements Iterator<SQLScriptElement>, Closeable {
+
+    public static final int DEFAULT_WINDOW_SIZE = 1024 * 1024;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    @NotNull
+    private final SQLParserContext context;
+    @NotNull
+    private final Document document;
+    @NotNull
+    private final Reader reader;
+    private final int windowSize;
+    private final char[] readBuffer = new char[READ_BUFFER_SIZE];
+    private final StringBuilder window = new StringBuilder();
+    private final Deque<SQLScriptElement> parsedQueries = new ArrayDeque<>();
+
+    private int windowLimit;
+    // Script offset of the window start
+    private long windowOffset;
+    // Window offset where the next query starts
+    private int parseStart;
+    // Script offset of the window which was parsed last
+    private long parsedWindowOffset;
+    private long position = -1;
+    private boolean endOfScript;
+
+    public SQLScriptStreamParser(@NotNull DBPDataSource dataSource, @NotNull Reader reader) {
+        this(dataSource, reader, DEFAULT_WINDOW_SIZE);
+    }
+
+    public SQLScriptStreamParser(@NotNull DBPDataSource dataSource, @NotNull Reader reader, int windowSize) {
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(dataSource.getSQLDialect(), dataSource.getContainer().getPreferenceStore());
+        SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
+        ruleManager.loadRules(dataSource, false);
+
+        this.document = new Document();
+        this.context = new SQLParserContext(dataSource, syntaxManager, ruleManager, document);
+        this.reader = reader;
+        this.windowSize = windowSize;
+        this.windowLimit = windowSize;
+        // Delimiter redefinitions must be kept between windows
+        this.context.startScriptEvaluation();
+    }
+
+    /**
+     * Opens memory-mapped script file. File is decoded region by region.
+     */
+    @NotNull
+    public static SQLScriptStreamParser openFile(
+        @NotNull DBPDataSource dataSource,
+        @NotNull Path file,
+        @NotNull Charset charset
+    ) throws IOException {
+        return new SQLScriptStreamParser(dataSource, new MappedFileReader(file, charset));
+    }
+
+    /**
+     * Returns script offset of the last returned element or -1
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (parsedQueries.isEmpty()) {
+            try {
+                parseNextQueries();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading SQL script", e);
+            }
+        }
+        return !parsedQueries.isEmpty();
+    }
+
+    @Override
+    public SQLScriptElement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        SQLScriptElement element = parsedQueries.removeFirst();
+        position = parsedWindowOffset + element.getOffset();
+        return element;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.endScriptEvaluation();
+        reader.close();
+    }
+
+    private void parseNextQueries() throws IOException {
+        while (parsedQueries.isEmpty()) {
+            fillWindow();
+            if (window.length() <= parseStart) {
+                return;
+            }
+            document.set(window.toString());
+            int parseLength = window.length();
+            if (!endOfScript) {
+                // Do not split lines, delimiter redefinition takes the whole line
+                int lastLineEnd = window.lastIndexOf("\n");
+                if (lastLineEnd > parseStart) {
+                    parseLength = lastLineEnd + 1;
+                }
+            }
+
+            LinkedList<SQLScriptElement> queries = new LinkedList<>();
+            SQLScriptParser.parseScriptQueries(context, parseStart, parseLength - parseStart, true, false, queries);
+            if (context.getSyntaxManager().getStatementDelimiterMode().useSmart) {
+                SQLScriptParser.expandQueries(context, queries);
+            }
+            if (!endOfScript) {
+                if (!queries.isEmpty()) {
+                    queries.removeLast();
+                }
+                if (queries.isEmpty()) {
+                    // Query doesn't fit into the window
+                    windowLimit = (int) Math.min(Integer.MAX_VALUE - 8, windowLimit * 2L);
+                    continue;
+                }
+            }
+            SQLScriptParser.parseQueriesParameters(context, queries);
+            parsedQueries.addAll(queries);
+
+            parsedWindowOffset = windowOffset;
+            if (endOfScript) {
+                window.setLength(0);
+                parseStart = 0;
+            } else {
+                SQLScriptElement lastQuery = queries.getLast();
+                int parsedLength = lastQuery.getOffset() + lastQuery.getLength();
+                // Keep the last parsed char, rules check the previous char (e.g. line start)
+                window.delete(0, parsedLength - 1);
+                windowOffset += parsedLength - 1;
+                parseStart = 1;
+            }
+            windowLimit = windowSize;
+        }
+    }
+
+    private void fillWindow() throws IOException {
+        while (!endOfScript && window.length() < windowLimit) {
+            int count = reader.read(readBuffer, 0, Math.min(readBuffer.length, windowLimit - window.length()));
+            if (count < 0) {
+                endOfScript = true;
+            } else {
+                window.append(readBuffer, 0, count);
+            }
+        }
+    }
+
+    /**
+     * Reads file mapped into memory by regions
+     */
+    private static class MappedFileReader extends Reader {
+
+        private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+        @NotNull
+        private final FileChannel channel;
+        @NotNull
+        private final CharsetDecoder decoder;
+        private final long fileSize;
+        private final int maxCharBytes;
+        @Nullable
+        private MappedByteBuffer region;
+        private long regionOffset;
+        private boolean endOfFile;
+        // Low surrogate which didn't fit into the read buffer
+        private int pendingChar = -1;
+
+        MappedFileReader(@NotNull Path file, @NotNull Charset charset) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.fileSize = channel.size();
+            this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.maxCharBytes = Math.max(4, (int) Math.ceil(charset.newEncoder().maxBytesPerChar()));
+        }
+
+        @Override
+        public int read(@NotNull char[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (pendingChar >= 0) {
+                buffer[offset] = (char) pendingChar;
+                pendingChar = -1;
+                return 1;
+            }
+            if (endOfFile) {
+                return -1;
+            }
+            CharBuffer out = CharBuffer.wrap(buffer, offset, length);
+            while (out.position() == offset) {
+                long regionEnd = region == null ? 0 : regionOffset + region.limit();
+                if (region == null || (region.remaining() < maxCharBytes && regionEnd < fileSize)) {
+                    // Next region starts from the first not decoded byte
+                    long nextOffset = region == null ? 0 : regionOffset + region.position();
+                    region = channel.map(FileChannel.MapMode.READ_ONLY, nextOffset, Math.min(REGION_SIZE, fileSize - nextOffset));
+                    regionOffset = nextOffset;
+                    regionEnd = regionOffset + region.limit();
+                }
+                boolean lastRegion = regionEnd >= fileSize;
+                CoderResult result = decoder.decode(region, out, lastRegion);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (result.isOverflow() && out.position() == offset) {
+                    // Surrogate pair doesn't fit into one char buffer
+                    CharBuffer pair = CharBuffer.allocate(2);
+                    decoder.decode(region, pair, lastRegion);
+                    pair.flip();
+                    out.put(pair.get());
+                    if (pair.hasRemaining()) {
+                        pendingChar = pair.get();
+                    }
+                }
+                if (lastRegion && !region.hasRemaining()) {
+                    decoder.flush(out);
+                    endOfFile = true;
+                    break;
+                }
+            }
+            int count = out.position() - offset;
+            return count == 0 && endOfFile ? -1 : count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
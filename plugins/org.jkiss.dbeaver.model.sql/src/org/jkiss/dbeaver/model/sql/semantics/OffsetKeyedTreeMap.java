@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.model.sql.semantics;
 
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.utils.ListNode;
 
 import java.util.Iterator;
 import java.util.Set;
@@ -944,41 +945,85 @@ public class OffsetKeyedTreeMap<T> {
     
     */
 
+    /**
+     * Shift positions of all the entries at or after the given position by delta.
+     * For the negative delta entries in the range [position, position - delta) are removed first.
+     * <p>
+     * Offset of the right child is relative to its parent, so shifting a node implicitly shifts its whole right subtree.
+     * Only the nodes on the search path are updated, so it takes O(log n) time regardless of the tail size.
+     */
     public void applyOffset(int position, int delta) {
         if (delta == 0) {
             return;
         }
         if (delta < 0) {
-            throw new UnsupportedOperationException("Negative delta not supported at the moment");
+            this.removeRange(position, position - delta);
         }
         if (this.size == 0) {
             return;
         }
 
-        NodeAndParentAtOffset<T> location = this.findImpl(position);
-        if (location.node.isSentinel() && location.isLeft) {
-            location.parent.offset += delta;
-        }
-        if (location.node.isNotSentinel()) {
-            location.node.offset += delta;
+        int relPos = position;
+        Node<T> node = this.root;
+        while (node.isNotSentinel()) {
+            if (relPos <= node.offset) {
+                // node and its right subtree are shifted, left subtree keeps the same base
+                node.offset += delta;
+                node = node.left;
+            } else {
+                relPos -= node.offset;
+                node = node.right;
+            }
         }
+    }
 
-        Node<T> node = location.node.isSentinel() ? location.parent : location.node;
-        while (node != null && node.parent != null) {
-            Node<T> parent = node.parent;
-            while (parent != null) {
-                if (node == parent.left) {
-                    parent.offset += delta;
-                    node = parent;
-                    parent = node.parent;
-                } else {
-                    while (parent != null && node == parent.right) {
-                        node = parent;
-                        parent = node.parent;
-                    }
+    private void removeRange(int from, int to) {
+        ListNode<Integer> keysToRemove = null;
+        NodesIterator<T> it = this.nodesIteratorAt(from);
+        if (it.getCurrValue() != null || it.next()) {
+            do {
+                int offset = it.getCurrOffset();
+                if (offset >= to) {
+                    break;
+                }
+                if (offset >= from) {
+                    keysToRemove = ListNode.push(keysToRemove, offset);
                 }
+            } while (it.next());
+        }
+        for (ListNode<Integer> kn = keysToRemove; kn != null; kn = kn.next) {
+            this.removeAt(kn.data);
+        }
+        if (this.tombstonesCount > 0 && this.hasNodesInRange(this.root, 0, from, to)) {
+            // tombstones in the removed range would break the keys order after the shift
+            this.dropTombstones();
+        }
+    }
+
+    private boolean hasNodesInRange(Node<T> node, int base, int from, int to) {
+        while (node.isNotSentinel()) {
+            int position = base + node.offset;
+            if (position < from) {
+                base = position;
+                node = node.right;
+            } else if (position >= to) {
+                node = node.left;
+            } else {
+                return true;
             }
         }
+        return false;
+    }
+
+    private void dropTombstones() {
+        var t = new OffsetKeyedTreeMap<T>();
+        NodesIterator<T> it = this.nodesIteratorAt(Integer.MAX_VALUE);
+        while (it.prev()) {
+            t.put(it.getCurrOffset(), it.getCurrValue());
+        }
+        this.root = t.root;
+        this.size = t.size;
+        this.tombstonesCount = 0;
     }
 
     public void forEach(BiConsumer<Integer, T> action) {
@@ -1088,14 +1133,7 @@ public class OffsetKeyedTreeMap<T> {
                 z.content = null;
                 this.tombstonesCount++;
                 if (this.tombstonesCount > this.size / 2) {
-                    var t = new OffsetKeyedTreeMap<T>();
-                    NodesIterator<T> it = this.nodesIteratorAt(Integer.MAX_VALUE);
-                    while (it.prev()) {
-                        t.put(it.getCurrOffset(), it.getCurrValue());
-                    }
-                    this.root = t.root;
-                    this.size = t.size;
-                    this.tombstonesCount = 0;
+                    this.dropTombstones();
                 }
                 return;
             }
@@ -192,6 +192,18 @@ public class SQLDocumentSyntaxContext {
         return scriptItem;
     }
 
+    /**
+     * Check if the script item at the given offset was recognized from the same text and was not modified since then,
+     * so its query model is still valid
+     */
+    public boolean hasActualScriptItem(int offset, @NotNull String originalText, int length, boolean hasContextBoundaryAtLength) {
+        SQLDocumentScriptItemSyntaxContext scriptItem = this.scriptItems.find(offset);
+        return scriptItem != null && !scriptItem.isDirty() &&
+            scriptItem.length() == length &&
+            scriptItem.hasContextBoundaryAtLength() == hasContextBoundaryAtLength &&
+            scriptItem.getOriginalText().equals(originalText);
+    }
+
     /**
      * Update script items according to the document text changes
      */
@@ -199,15 +211,9 @@ public class SQLDocumentSyntaxContext {
     public IRegion applyDelta(int offset, int oldLength, int newLength) {
         IRegion affectedRegion;
         if (oldLength > 0) {
-            // TODO:
-            //   if oldLength fits in one scriptItem, them remove some part of it using split-join operation
-            //   otherwise, drop all the scriptItems in oldLength range and apply newLength-oldLength as offset for all the tailing
-
+            // drop the script items affected by the modified fragment and shift the tailing ones
             int delta = newLength - oldLength;
-
-            // temporary solution - just explicitly drop what was invalidated starting at the current position
             {
-                // otherwise just drop the whole tail being affected
                 ListNode<Integer> keyOffsetsToRemove = null;
                 NodesIterator<SQLDocumentScriptItemSyntaxContext> it = this.scriptItems.nodesIteratorAt(offset);
                 SQLDocumentScriptItemSyntaxContext currItem = it.getCurrValue();
@@ -228,7 +234,7 @@ public class SQLDocumentSyntaxContext {
                 } else {
                     lastAffectedOffset = offset + oldLength;
                 }
-                while (it.next() && it.getCurrValue() != null && (delta < 0 || lastAffectedOffset <= (offset + oldLength))) {
+                while (it.next() && it.getCurrValue() != null && lastAffectedOffset <= (offset + oldLength)) {
                     currOffset = it.getCurrOffset();
                     SQLDocumentScriptItemSyntaxContext currItem3 = it.getCurrValue();
                     keyOffsetsToRemove = ListNode.push(keyOffsetsToRemove, currOffset);
@@ -240,9 +246,8 @@ public class SQLDocumentSyntaxContext {
                     firstAffectedOffset = kn.data;
                     this.scriptItems.removeAt(kn.data);
                 }
-                if (delta > 0) { // when delta is non-negative, we are dropping only the affected region and applying offset for the rest
-                    this.scriptItems.applyOffset(offset, delta);
-                }
+                // items following the modified fragment keep their parsed state and just move along with the text
+                this.scriptItems.applyOffset(offset, delta);
 
                 if (keyOffsetsToRemove != null) {
                     affectedRegion = new Region(firstAffectedOffset, lastAffectedOffset - firstAffectedOffset - oldLength + newLength);
@@ -250,8 +255,6 @@ public class SQLDocumentSyntaxContext {
                     affectedRegion = null;
                 }
             }
-            // TODO removeAtRange(..) is needed either way
-
         } else { // simple insertion
             SQLScriptItemAtOffset scriptItem = this.findScriptItem(offset);
             if (scriptItem != null) {
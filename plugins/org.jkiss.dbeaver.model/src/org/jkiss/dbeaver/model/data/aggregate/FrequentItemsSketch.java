@@ -0,0 +1,113 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Heavy hitters sketch (Misra-Gries with batch purge).
+ *
+ * Keeps counters for at most maxItems values. When there are more values all counters are decreased by
+ * the median counter and values with non-positive counters are removed, so purge runs once per about maxItems/2
+ * new values. Counters underestimate frequencies by at most {@link #getMaxError()}, which is below 2 * count / maxItems.
+ */
+public class FrequentItemsSketch {
+
+    private final int maxItems;
+    private final Map<Object, long[]> counters = new LinkedHashMap<>();
+    private long maxError;
+
+    public FrequentItemsSketch(int maxItems) {
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Returns true if counters are exact (no values were purged)
+     */
+    public boolean isExact() {
+        return maxError == 0;
+    }
+
+    public long getMaxError() {
+        return maxError;
+    }
+
+    public void update(@NotNull Object value) {
+        long[] counter = counters.get(value);
+        if (counter != null) {
+            counter[0]++;
+            return;
+        }
+        counters.put(value, new long[] {1});
+        if (counters.size() > maxItems) {
+            purge();
+        }
+    }
+
+    /**
+     * Adds counters of another sketch. Values of this sketch go first in the first occurrence order.
+     */
+    public void merge(@NotNull FrequentItemsSketch other) {
+        for (Map.Entry<Object, long[]> entry : other.counters.entrySet()) {
+            counters.computeIfAbsent(entry.getKey(), k -> new long[1])[0] += entry.getValue()[0];
+        }
+        maxError += other.maxError;
+        while (counters.size() > maxItems) {
+            purge();
+        }
+    }
+
+    /**
+     * Returns the most frequent value. Values with equal counters are ordered by first occurrence.
+     */
+    @Nullable
+    public Object getMostFrequent() {
+        Object result = null;
+        long maxCount = 0;
+        for (Map.Entry<Object, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] > maxCount) {
+                maxCount = entry.getValue()[0];
+                result = entry.getKey();
+            }
+        }
+        return result;
+    }
+
+    private void purge() {
+        long[] counts = new long[counters.size()];
+        int index = 0;
+        for (long[] counter : counters.values()) {
+            counts[index++] = counter[0];
+        }
+        Arrays.sort(counts);
+        long median = counts[counts.length / 2];
+        for (Iterator<long[]> iter = counters.values().iterator(); iter.hasNext(); ) {
+            long[] counter = iter.next();
+            counter[0] -= median;
+            if (counter[0] <= 0) {
+                iter.remove();
+            }
+        }
+        maxError += median;
+    }
+}
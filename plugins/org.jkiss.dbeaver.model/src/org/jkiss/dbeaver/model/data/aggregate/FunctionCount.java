@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
+
 /**
  * FunctionCount
  */
@@ -29,6 +31,16 @@ public class FunctionCount implements IAggregateFunction {
         return true;
     }
 
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction partial) {
+        count += ((FunctionCount) partial).count;
+    }
+
     @Override
     public Object getResult(int valueCount) {
         return count;
@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -37,6 +39,17 @@ public class FunctionCountDistinct implements IAggregateFunction {
         return false;
     }
 
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction partial) {
+        cache.addAll(((FunctionCountDistinct) partial).cache);
+        count = cache.size();
+    }
+
     @Override
     public Object getResult(int valueCount) {
         return count;
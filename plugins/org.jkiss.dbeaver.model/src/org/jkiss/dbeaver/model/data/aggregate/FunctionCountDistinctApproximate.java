@@ -0,0 +1,88 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Approximate count of distinct values.
+ * Values are counted exactly until there are too many of them, then HyperLogLog estimate is used.
+ */
+public class FunctionCountDistinctApproximate implements IAggregateFunctionApproximate {
+
+    private static final int EXACT_LIMIT = 1024;
+    // 16K registers, 0.8% standard error
+    private static final int PRECISION = 14;
+
+    private Set<Object> cache = new HashSet<>();
+    private HyperLogLog counter;
+
+    @Override
+    public boolean accumulate(Object value, boolean aggregateAsStrings) {
+        if (counter != null) {
+            return counter.add(value);
+        }
+        if (!cache.add(value)) {
+            return false;
+        }
+        if (cache.size() > EXACT_LIMIT) {
+            switchToCounter();
+        }
+        return true;
+    }
+
+    private void switchToCounter() {
+        counter = new HyperLogLog(PRECISION);
+        for (Object cachedValue : cache) {
+            counter.add(cachedValue);
+        }
+        cache = null;
+    }
+
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction partial) {
+        FunctionCountDistinctApproximate other = (FunctionCountDistinctApproximate) partial;
+        if (other.counter == null) {
+            for (Object value : other.cache) {
+                accumulate(value, false);
+            }
+        } else {
+            if (counter == null) {
+                switchToCounter();
+            }
+            counter.merge(other.counter);
+        }
+    }
+
+    @Override
+    public Object getResult(int valueCount) {
+        return counter != null ? counter.estimate() : (long) cache.size();
+    }
+
+    @Override
+    public boolean isApproximateResult() {
+        return counter != null;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.DBUtils;
 
 public class FunctionCountNulls implements IAggregateFunction {
@@ -29,6 +30,16 @@ public class FunctionCountNulls implements IAggregateFunction {
         return true;
     }
 
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction partial) {
+        count += ((FunctionCountNulls) partial).count;
+    }
+
     @Override
     public Object getResult(int valueCount) {
         return count;
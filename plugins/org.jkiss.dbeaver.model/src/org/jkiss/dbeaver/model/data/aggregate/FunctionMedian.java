@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 
 import java.util.ArrayList;
@@ -40,8 +41,22 @@ public class FunctionMedian implements IAggregateFunction {
         return false;
     }
 
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction partial) {
+        cache.addAll(((FunctionMedian) partial).cache);
+    }
+
     @Override
     public Object getResult(int valueCount) {
+        return getMedian(cache);
+    }
+
+    static Object getMedian(List<? extends Comparable<?>> cache) {
         try {
             cache.sort(AggregateUtils::compareValues);
         } catch (Exception e) {
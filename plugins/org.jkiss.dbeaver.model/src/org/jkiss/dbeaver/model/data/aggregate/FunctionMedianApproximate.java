@@ -0,0 +1,90 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Approximate median. Keeps bounded number of values in a quantiles sketch.
+ * Result is exact while the selection fits into the sketch.
+ */
+public class FunctionMedianApproximate implements IAggregateFunctionApproximate {
+
+    private static final Log log = Log.getLog(FunctionMedianApproximate.class);
+
+    private static final int SKETCH_SIZE = 256;
+
+    @SuppressWarnings("unchecked")
+    private final QuantileSketch sketch = new QuantileSketch(
+        SKETCH_SIZE, (o1, o2) -> AggregateUtils.compareValues((Comparable<Object>) o1, (Comparable<Object>) o2));
+
+    @Override
+    public boolean accumulate(Object value, boolean aggregateAsStrings) {
+        value = FunctionNumeric.getComparable(value, aggregateAsStrings);
+        if (value != null) {
+            try {
+                sketch.update(value);
+            } catch (Exception e) {
+                // Values can't be ordered (sketch sorts values on compaction)
+                log.debug("Can't sort value collection: " + e.getMessage());
+                return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction partial) {
+        try {
+            sketch.merge(((FunctionMedianApproximate) partial).sketch);
+        } catch (Exception e) {
+            log.debug("Can't sort value collection: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Object getResult(int valueCount) {
+        if (sketch.isExact()) {
+            List<Comparable<?>> values = new ArrayList<>();
+            for (Object value : sketch.getValues()) {
+                values.add((Comparable<?>) value);
+            }
+            return FunctionMedian.getMedian(values);
+        }
+        try {
+            return sketch.getQuantile(0.5);
+        } catch (Exception e) {
+            log.debug("Can't sort value collection: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public boolean isApproximateResult() {
+        return !sketch.isExact();
+    }
+}
@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
+
 /**
  * FunctionSum
  */
@@ -35,6 +37,19 @@ public class FunctionMin implements IAggregateFunction {
         return false;
     }
 
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction partial) {
+        Comparable<?> partialResult = ((FunctionMin) partial).result;
+        if (partialResult != null && (result == null || AggregateUtils.compareValues(partialResult, result) < 0)) {
+            result = partialResult;
+        }
+    }
+
     @Override
     public Object getResult(int valueCount) {
         return result;
@@ -0,0 +1,63 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Approximate mode. Keeps counters of the most frequent values only.
+ * Result is exact while the number of distinct values fits into the sketch.
+ */
+public class FunctionModeApproximate implements IAggregateFunctionApproximate {
+
+    private static final int MAX_ITEMS = 1024;
+
+    private final FrequentItemsSketch sketch = new FrequentItemsSketch(MAX_ITEMS);
+
+    @Override
+    public boolean accumulate(Object value, boolean aggregateAsStrings) {
+        Number num = FunctionNumeric.getNumeric(value);
+        if (num != null) {
+            value = num;
+        }
+        if (value != null) {
+            sketch.update(value);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction partial) {
+        sketch.merge(((FunctionModeApproximate) partial).sketch);
+    }
+
+    @Override
+    public Object getResult(int valueCount) {
+        return sketch.getMostFrequent();
+    }
+
+    @Override
+    public boolean isApproximateResult() {
+        return !sketch.isExact();
+    }
+}
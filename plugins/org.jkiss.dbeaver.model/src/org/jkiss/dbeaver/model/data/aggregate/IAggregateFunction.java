@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
+
 /**
  * Aggregate function
  */
@@ -25,4 +27,21 @@ public interface IAggregateFunction {
 
     Object getResult(int valueCount);
 
+    /**
+     * Returns true if partial states of the function can be combined with {@link #merge(IAggregateFunction)}.
+     * Values of mergeable functions may be accumulated in chunks (in parallel), each chunk by its own function instance.
+     */
+    default boolean isMergeable() {
+        return false;
+    }
+
+    /**
+     * Merges partial state of another instance of the same function into this one.
+     * Partial state must be accumulated from values which follow values of this instance.
+     * Partial function must not be used after merge.
+     */
+    default void merge(@NotNull IAggregateFunction partial) {
+        throw new UnsupportedOperationException("Function " + getClass().getName() + " doesn't support partial states");
+    }
+
 }
@@ -0,0 +1,188 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * KLL quantiles sketch (Karnin, Lang, Liberty. Optimal Quantile Approximation in Streams).
+ *
+ * Values are kept in a hierarchy of compactors. Compactor of level h keeps values of weight 2^h, when it is full
+ * its values are sorted and every second value goes to the next level. Capacities of lower levels decrease
+ * geometrically, so the sketch keeps about 3k values regardless of stream length.
+ * Rank error is about 1.7/k. While no compaction happened the sketch keeps all values.
+ *
+ * Works with any values ordered by the comparator (numbers, strings, dates).
+ */
+public class QuantileSketch {
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+    // Fixed seed makes results reproducible for the same input
+    private static final long RANDOM_SEED = 0x5DEECE66DL;
+
+    private record WeightedValue(@NotNull Object value, long weight) {
+    }
+
+    private final int k;
+    @NotNull
+    private final Comparator<Object> comparator;
+    @NotNull
+    private final Random random = new Random(RANDOM_SEED);
+    private final List<List<Object>> compactors = new ArrayList<>();
+    private int size;
+    private int maxSize;
+    private long count;
+    private boolean compacted;
+
+    public QuantileSketch(int k, @NotNull Comparator<Object> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        grow();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns true if sketch keeps all values
+     */
+    public boolean isExact() {
+        return !compacted;
+    }
+
+    /**
+     * Returns all values. Valid only for exact sketch.
+     */
+    @NotNull
+    public List<Object> getValues() {
+        return compactors.get(0);
+    }
+
+    public void update(@NotNull Object value) {
+        compactors.get(0).add(value);
+        count++;
+        size++;
+        if (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Adds values of another sketch. Values keep their weights (levels).
+     */
+    public void merge(@NotNull QuantileSketch other) {
+        while (compactors.size() < other.compactors.size()) {
+            grow();
+        }
+        for (int h = 0; h < other.compactors.size(); h++) {
+            compactors.get(h).addAll(other.compactors.get(h));
+        }
+        count += other.count;
+        compacted |= other.compacted;
+        size = 0;
+        for (List<Object> compactor : compactors) {
+            size += compactor.size();
+        }
+        while (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Returns value of the specified normalized rank (0 - minimum, 0.5 - median, 1 - maximum)
+     */
+    @Nullable
+    public Object getQuantile(double rank) {
+        List<WeightedValue> values = new ArrayList<>(size);
+        long totalWeight = 0;
+        for (int h = 0; h < compactors.size(); h++) {
+            for (Object value : compactors.get(h)) {
+                values.add(new WeightedValue(value, 1L << h));
+                totalWeight += 1L << h;
+            }
+        }
+        if (values.isEmpty()) {
+            return null;
+        }
+        values.sort((v1, v2) -> comparator.compare(v1.value(), v2.value()));
+
+        double targetWeight = rank * totalWeight;
+        long weight = 0;
+        for (WeightedValue value : values) {
+            weight += value.weight();
+            if (weight >= targetWeight) {
+                return value.value();
+            }
+        }
+        return values.get(values.size() - 1).value();
+    }
+
+    private void grow() {
+        compactors.add(new ArrayList<>());
+        maxSize = 0;
+        for (int h = 0; h < compactors.size(); h++) {
+            maxSize += getCapacity(h);
+        }
+    }
+
+    private int getCapacity(int level) {
+        int depth = compactors.size() - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)) + 1);
+    }
+
+    /**
+     * Compacts the lowest full level
+     */
+    private void compress() {
+        for (int h = 0; h < compactors.size(); h++) {
+            List<Object> compactor = compactors.get(h);
+            if (compactor.size() >= getCapacity(h)) {
+                if (h + 1 >= compactors.size()) {
+                    grow();
+                }
+                compact(compactor, compactors.get(h + 1));
+                compacted = true;
+                break;
+            }
+        }
+        size = 0;
+        for (List<Object> compactor : compactors) {
+            size += compactor.size();
+        }
+    }
+
+    private void compact(@NotNull List<Object> compactor, @NotNull List<Object> target) {
+        compactor.sort(comparator);
+        // Odd value stays at the current level
+        Object odd = compactor.size() % 2 == 1 ? compactor.remove(compactor.size() - 1) : null;
+        for (int i = random.nextBoolean() ? 1 : 0; i < compactor.size(); i += 2) {
+            target.add(compactor.get(i));
+        }
+        compactor.clear();
+        if (odd != null) {
+            compactor.add(odd);
+        }
+    }
+}
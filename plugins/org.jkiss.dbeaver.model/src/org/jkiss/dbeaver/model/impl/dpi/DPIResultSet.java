@@ -17,6 +17,8 @@
 package org.jkiss.dbeaver.model.impl.dpi;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBCStatement;
 import org.jkiss.dbeaver.model.impl.local.LocalResultSet;
@@ -27,6 +29,11 @@ import java.util.List;
 
 public class DPIResultSet extends LocalResultSet<DBCStatement> {
     private final List<DPIResultSetColumn> meta = new ArrayList<>();
+    // Reads rows which were not transferred yet
+    @Nullable
+    private DPIResultSetPager pager;
+    // Position of the first row of the current page
+    private int pageOffset;
 
     public DPIResultSet(
         DBCSession session,
@@ -61,12 +68,48 @@ public class DPIResultSet extends LocalResultSet<DBCStatement> {
         return meta;
     }
 
+    /**
+     * Returns all rows or rows of the current page if rows are read by pages
+     */
     public List<Object[]> getAllRows() {
         return rows;
     }
 
+    public void setPager(@Nullable DPIResultSetPager pager) {
+        this.pager = pager;
+    }
+
+    @Override
+    public boolean nextRow() throws DBCException {
+        while (!super.nextRow()) {
+            if (pager == null) {
+                return false;
+            }
+            List<Object[]> page = pager.nextPage();
+            if (page == null) {
+                pager = null;
+                return false;
+            }
+            // Previous page is not needed anymore
+            pageOffset += rows.size();
+            rows.clear();
+            rows.addAll(page);
+            curPosition = -1;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean moveTo(int position) throws DBCException {
+        return super.moveTo(position - pageOffset);
+    }
+
     @Override
     public void close() {
+        if (pager != null) {
+            pager.close();
+            pager = null;
+        }
         curPosition = -1;
         rows.clear();
         meta.clear();
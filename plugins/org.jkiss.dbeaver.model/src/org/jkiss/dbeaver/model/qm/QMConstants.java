@@ -34,6 +34,10 @@ public class QMConstants {
     public static final String PROP_HISTORY_DAYS = PROP_PREFIX + "historyDays";
     public static final String PROP_STORE_LOG_FILE = PROP_PREFIX + "storeLogs";
     public static final String PROP_LOG_DIRECTORY = PROP_PREFIX + "logDirectory";
+    public static final String PROP_LOG_ASYNC = PROP_PREFIX + "logAsync";
+    // Max log file size in megabytes. 0 means no rotation
+    public static final String PROP_LOG_MAX_FILE_SIZE = PROP_PREFIX + "logMaxFileSize";
+    public static final String PROP_LOG_COMPRESS_ROTATED = PROP_PREFIX + "logCompressRotated";
 
     public static final int EVENT_TYPE_SESSION = 1;
     public static final int EVENT_TYPE_TXN = 2;
@@ -55,7 +55,11 @@ public class QMMConnectionInfo extends QMMObject {
     }
 
     private QMMConnectionInfo(Builder builder) {
-        super(QMMetaObjectType.CONNECTION_INFO, builder.openTime, builder.closeTime);
+        super(
+            QMMetaObjectType.CONNECTION_INFO,
+            builder.objectId > 0 ? builder.objectId : generateObjectId(),
+            builder.openTime,
+            builder.closeTime);
         projectInfo = builder.projectInfo;
         containerId = builder.containerId;
         driverId = builder.driverId;
@@ -363,6 +367,7 @@ public class QMMConnectionInfo extends QMMObject {
     }
 
     public static final class Builder {
+        private long objectId;
         private QMMProjectInfo projectInfo;
         private String containerId;
         private String driverId;
@@ -381,6 +386,14 @@ public class QMMConnectionInfo extends QMMObject {
         public Builder() {
         }
 
+        /**
+         * Original object id. New id is generated if not set.
+         */
+        public Builder setObjectId(long objectId) {
+            this.objectId = objectId;
+            return this;
+        }
+
         public Builder setProjectInfo(QMMProjectInfo projectInfo) {
             this.projectInfo = projectInfo;
             return this;
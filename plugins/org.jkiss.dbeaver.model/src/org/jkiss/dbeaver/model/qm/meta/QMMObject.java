@@ -43,8 +43,15 @@ public abstract class QMMObject {
     }
 
     protected QMMObject(QMMetaObjectType type, long openTime, long closeTime) {
+        this(type, generateObjectId(), openTime, closeTime);
+    }
+
+    /**
+     * Restores object with the original id
+     */
+    protected QMMObject(QMMetaObjectType type, long objectId, long openTime, long closeTime) {
         this.type = type;
-        this.objectId = generateObjectId();
+        this.objectId = objectId;
         this.openTime = openTime;
         this.closeTime = closeTime;
     }
@@ -90,7 +97,7 @@ public abstract class QMMObject {
         this.updated = true;
     }
 
-    private static synchronized long generateObjectId() {
+    static synchronized long generateObjectId() {
         globalObjectId++;
         return globalObjectId;
     }
@@ -89,7 +89,26 @@ public class QMMStatementExecuteInfo extends QMMObject {
         @Nullable String schema,
         @Nullable String catalog
     ) {
-        super(QMMetaObjectType.STATEMENT_EXECUTE_INFO, openTime, closeTime);
+        this(generateObjectId(), openTime, closeTime, stmt, queryString, rowCount, errorCode, errorMessage,
+            fetchBeginTime, fetchEndTime, transactional, schema, catalog);
+    }
+
+    public QMMStatementExecuteInfo(
+        long objectId,
+        long openTime,
+        long closeTime,
+        QMMStatementInfo stmt,
+        String queryString,
+        long rowCount,
+        int errorCode,
+        String errorMessage,
+        long fetchBeginTime,
+        long fetchEndTime,
+        boolean transactional,
+        @Nullable String schema,
+        @Nullable String catalog
+    ) {
+        super(QMMetaObjectType.STATEMENT_EXECUTE_INFO, objectId, openTime, closeTime);
         this.statement = stmt;
         this.queryString = queryString;
         this.fetchRowCount = rowCount;
@@ -39,7 +39,11 @@ public class QMMStatementInfo extends QMMObject {
     }
 
     public QMMStatementInfo(long openTime, long closeTime, QMMConnectionInfo session, DBCExecutionPurpose purpose) {
-        super(QMMetaObjectType.STATEMENT_INFO, openTime, closeTime);
+        this(generateObjectId(), openTime, closeTime, session, purpose);
+    }
+
+    public QMMStatementInfo(long objectId, long openTime, long closeTime, QMMConnectionInfo session, DBCExecutionPurpose purpose) {
+        super(QMMetaObjectType.STATEMENT_INFO, objectId, openTime, closeTime);
         this.connection = session;
         this.purpose = purpose;
         this.previous = null;
@@ -36,7 +36,11 @@ public class QMMTransactionInfo extends QMMObject {
     }
 
     public QMMTransactionInfo(QMMConnectionInfo connection, long openTime) {
-        super(QMMetaObjectType.TRANSACTION_INFO, openTime, openTime);
+        this(generateObjectId(), connection, openTime);
+    }
+
+    public QMMTransactionInfo(long objectId, QMMConnectionInfo connection, long openTime) {
+        super(QMMetaObjectType.TRANSACTION_INFO, objectId, openTime, openTime);
         this.connection = connection;
         this.previous = null;
     }
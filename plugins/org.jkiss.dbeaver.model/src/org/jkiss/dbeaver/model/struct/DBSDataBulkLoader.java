@@ -18,6 +18,7 @@
 package org.jkiss.dbeaver.model.struct;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -39,7 +40,11 @@ public interface DBSDataBulkLoader {
         void close();
     }
 
-    @NotNull
+    /**
+     * Creates bulk load for the specified target attributes.
+     * Returns null if bulk load can't be used for these attributes, caller then inserts data with regular INSERTs.
+     */
+    @Nullable
     BulkLoadManager createBulkLoad(
         @NotNull DBCSession session,
         @NotNull DBSDataContainer dataContainer,
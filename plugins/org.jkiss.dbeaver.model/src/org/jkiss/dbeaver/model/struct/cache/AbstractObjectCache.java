@@ -25,29 +25,49 @@ import org.jkiss.dbeaver.model.meta.PropertyGroup;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.utils.BeanUtils;
-import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Various objects cache
+ * Various objects cache.
+ *
+ * Cached objects are kept in an immutable snapshot (object list and lazily built name map)
+ * which is replaced on each modification. Readers never take the cache lock, they just read the current snapshot.
+ * Modifications are serialized by cache monitor.
  */
 public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extends DBSObject>
     implements DBSObjectCache<OWNER, OBJECT> {
     private static final Log log = Log.getLog(AbstractObjectCache.class);
 
-    private List<OBJECT> objectList;
-    private Map<String, OBJECT> objectMap;
+    // Null means that objects were not cached yet
+    private volatile CacheState<OBJECT> cacheState;
     protected volatile boolean fullCache = false;
     protected volatile boolean caseSensitive = true;
 
     private Comparator<OBJECT> listOrderComparator;
-    // Use this monitor to void entire cache object locking
+    // Use this monitor to void entire cache object locking. Guards cache state modifications
     private final Object cacheSync = new Object();
 
+    /**
+     * Cache snapshot. Object list is never modified after publication, name map is
+     * built on the first lookup and then updated in place by cache modifications.
+     */
+    private static final class CacheState<OBJECT> {
+        @NotNull
+        final List<OBJECT> objectList;
+        @Nullable
+        volatile Map<String, OBJECT> objectMap;
+
+        CacheState(@NotNull List<OBJECT> objectList, @Nullable Map<String, OBJECT> objectMap) {
+            this.objectList = objectList;
+            this.objectMap = objectMap;
+        }
+    }
+
     protected AbstractObjectCache() {
     }
 
@@ -70,9 +90,8 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @NotNull
     @Override
     public List<OBJECT> getCachedObjects() {
-        synchronized (cacheSync) {
-            return objectList == null ? Collections.emptyList() : objectList;
-        }
+        CacheState<OBJECT> state = cacheState;
+        return state == null ? Collections.emptyList() : state.objectList;
     }
 
     public <SUB_TYPE> List<SUB_TYPE> getTypedObjects(@NotNull DBRProgressMonitor monitor, OWNER owner, Class<SUB_TYPE> type)
@@ -89,43 +108,52 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Nullable
     @Override
     public OBJECT getCachedObject(@Nullable String name) {
-        synchronized (cacheSync) {
-            return objectList == null || name == null ? null : getObjectMap().get(caseSensitive ? name : name.toUpperCase());
-        }
+        CacheState<OBJECT> state = cacheState;
+        return state == null || name == null ? null : getObjectMap(state).get(caseSensitive ? name : name.toUpperCase());
     }
 
     public int getCacheSize() {
-        synchronized (cacheSync) {
-            return objectList == null ? 0 : objectList.size();
-        }
+        CacheState<OBJECT> state = cacheState;
+        return state == null ? 0 : state.objectList.size();
     }
 
     @Override
     public void cacheObject(@NotNull OBJECT object) {
         synchronized (cacheSync) {
-            if (this.objectList == null) {
-                this.objectList = new ArrayList<>();
+            CacheState<OBJECT> state = cacheState;
+            List<OBJECT> newList;
+            if (state == null) {
+                newList = new ArrayList<>();
+            } else {
+                newList = new ArrayList<>(state.objectList.size() + 1);
+                newList.addAll(state.objectList);
             }
             detectCaseSensitivity(object);
-            this.objectList.add(object);
-            if (this.objectMap != null) {
+            newList.add(object);
+            Map<String, OBJECT> objectMap = state == null ? null : state.objectMap;
+            if (objectMap != null) {
                 String name = getObjectName(object);
-                if (checkDuplicateName(name, object)) {
-                    this.objectMap.put(name, object);
+                if (name != null && checkDuplicateName(objectMap, name, object)) {
+                    objectMap.put(name, object);
                 }
             }
+            cacheState = new CacheState<>(newList, objectMap);
         }
     }
 
     @Override
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache) {
         synchronized (cacheSync) {
-            if (this.objectList != null) {
+            CacheState<OBJECT> state = cacheState;
+            if (state != null) {
                 detectCaseSensitivity(object);
-                this.objectList.remove(object);
-                if (this.objectMap != null) {
-                    this.objectMap.remove(getObjectName(object));
+                List<OBJECT> newList = new ArrayList<>(state.objectList);
+                newList.remove(object);
+                Map<String, OBJECT> objectMap = state.objectMap;
+                if (objectMap != null) {
+                    removeFromMap(objectMap, object);
                 }
+                cacheState = new CacheState<>(newList, objectMap);
             }
             if (resetFullCache) {
                 fullCache = false;
@@ -136,13 +164,15 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public void renameObject(@NotNull OBJECT object, @NotNull String oldName, @NotNull String newName) {
         synchronized (cacheSync) {
-            if (this.objectMap != null) {
+            CacheState<OBJECT> state = cacheState;
+            Map<String, OBJECT> objectMap = state == null ? null : state.objectMap;
+            if (objectMap != null) {
                 if (!caseSensitive) {
                     oldName = oldName.toUpperCase(Locale.ENGLISH);
                     newName = newName.toUpperCase(Locale.ENGLISH);
                 }
-                if (this.objectMap.remove(oldName) == object) {
-                    this.objectMap.put(newName, object);
+                if (objectMap.remove(oldName, object)) {
+                    objectMap.put(newName, object);
                 }
             }
         }
@@ -156,7 +186,8 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     }
 
     public boolean isEmpty() {
-        return CommonUtils.isEmpty(objectList);
+        CacheState<OBJECT> state = cacheState;
+        return state == null || state.objectList.isEmpty();
     }
 
     public boolean isFullyCached() {
@@ -170,16 +201,15 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public void clearCache() {
         synchronized (cacheSync) {
-            this.objectList = null;
-            this.objectMap = null;
+            this.cacheState = null;
             this.fullCache = false;
         }
     }
 
     public void setCache(@NotNull List<OBJECT> objects) {
         synchronized (cacheSync) {
-            this.objectList = objects;
-            this.objectMap = null;
+            // List is published as is and must not be modified after this call
+            this.cacheState = new CacheState<>(objects, null);
             this.fullCache = true;
         }
     }
@@ -205,48 +235,63 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
      * (because they might be referenced somewhere).
      */
     protected void mergeCache(List<OBJECT> objects) {
-        synchronized (cacheSync) {
-            if (this.objectList != null) {
-                // Merge lists
-                objects = new ArrayList<>(objects);
-                for (int i = 0; i < objects.size(); i++) {
-                    OBJECT newObject = objects.get(i);
-                    String newObjectName = newObject.getName();
-                    for (int k = 0; k < objectList.size(); k++) {
-                        OBJECT oldObject = objectList.get(k);
-                        String oldObjectName = oldObject.getName();
-                        if (newObjectName.equals(oldObjectName)) {
-                            objects.set(i, oldObject);
-                            break;
-                        }
-                    }
+        CacheState<OBJECT> state = cacheState;
+        if (state != null && !state.objectList.isEmpty()) {
+            // Merge lists. First cached object with the same name wins
+            Map<String, OBJECT> oldObjects = new HashMap<>(state.objectList.size() * 2);
+            for (OBJECT oldObject : state.objectList) {
+                String oldObjectName = oldObject.getName();
+                if (oldObjectName != null) {
+                    oldObjects.putIfAbsent(oldObjectName, oldObject);
+                }
+            }
+            objects = new ArrayList<>(objects);
+            for (int i = 0; i < objects.size(); i++) {
+                OBJECT oldObject = oldObjects.get(objects.get(i).getName());
+                if (oldObject != null) {
+                    objects.set(i, oldObject);
                 }
             }
         }
         setCache(objects);
     }
 
-    private Map<String, OBJECT> getObjectMap() {
+    @NotNull
+    private Map<String, OBJECT> getObjectMap(@NotNull CacheState<OBJECT> state) {
+        Map<String, OBJECT> objectMap = state.objectMap;
+        if (objectMap != null) {
+            return objectMap;
+        }
         synchronized (cacheSync) {
-            if (this.objectMap == null) {
-                this.objectMap = new HashMap<>();
-                if (objectList.size() > 0) {
+            // Map is built once per snapshot
+            objectMap = state.objectMap;
+            if (objectMap == null) {
+                List<OBJECT> objectList = state.objectList;
+                if (!objectList.isEmpty()) {
                     detectCaseSensitivity(objectList.get(0));
                 }
-
+                objectMap = new ConcurrentHashMap<>(Math.max(16, objectList.size() * 2));
                 for (OBJECT object : objectList) {
                     String name = getObjectName(object);
-                    if (checkDuplicateName(name, object)) {
-                        this.objectMap.put(name, object);
+                    if (name != null && checkDuplicateName(objectMap, name, object)) {
+                        objectMap.put(name, object);
                     }
                 }
+                state.objectMap = objectMap;
             }
-            return this.objectMap;
+            return objectMap;
         }
     }
 
-    private boolean checkDuplicateName(String name, OBJECT object) {
-        if (this.objectMap.containsKey(name)) {
+    private void removeFromMap(@NotNull Map<String, OBJECT> objectMap, @NotNull OBJECT object) {
+        String name = getObjectName(object);
+        if (name != null) {
+            objectMap.remove(name);
+        }
+    }
+
+    private boolean checkDuplicateName(@NotNull Map<String, OBJECT> objectMap, @NotNull String name, @NotNull OBJECT object) {
+        if (objectMap.containsKey(name)) {
             log.debug("Duplicate object name '" + name + "' in cache " + this.getClass().getSimpleName() + ". Last value: " + DBUtils.getObjectFullName(object, DBPEvaluationContext.DDL));
             return isValidDuplicateObject(object);
         }
@@ -277,21 +322,25 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
 
     public void clearChildrenOf(DBSObject parent) {
         synchronized (cacheSync) {
-            if (objectList == null) {
+            CacheState<OBJECT> state = cacheState;
+            if (state == null) {
                 return;
             }
-            for (int i = 0; i < objectList.size(); ) {
-                OBJECT object = objectList.get(i);
+            List<OBJECT> newList = new ArrayList<>(state.objectList.size());
+            Map<String, OBJECT> objectMap = state.objectMap;
+            for (OBJECT object : state.objectList) {
                 if (object.getParentObject() == parent) {
-                    this.objectList.remove(object);
-                    if (this.objectMap != null) {
-                        this.objectMap.remove(getObjectName(object));
+                    if (objectMap != null) {
+                        removeFromMap(objectMap, object);
                     }
                     fullCache = false;
                 } else {
-                    i++;
+                    newList.add(object);
                 }
             }
+            if (newList.size() != state.objectList.size()) {
+                cacheState = new CacheState<>(newList, objectMap);
+            }
         }
     }
 
@@ -362,8 +411,11 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         }
     }
 
+    /**
+     * Iterates over current cache snapshot. Removal removes object from the cache.
+     */
     protected class CacheIterator implements Iterator<OBJECT> {
-        private final Iterator<OBJECT> listIterator = objectList.iterator();
+        private final Iterator<OBJECT> listIterator = getCachedObjects().iterator();
         private OBJECT curObject;
 
         public CacheIterator() {
@@ -381,10 +433,28 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
 
         @Override
         public void remove() {
-            listIterator.remove();
-            if (objectMap != null) {
-                objectMap.remove(getObjectName(curObject));
+            if (curObject == null) {
+                throw new IllegalStateException();
+            }
+            synchronized (cacheSync) {
+                CacheState<OBJECT> state = cacheState;
+                if (state != null) {
+                    List<OBJECT> newList = new ArrayList<>(state.objectList);
+                    // Identity removal: iterator already points to the exact object
+                    for (int i = 0; i < newList.size(); i++) {
+                        if (newList.get(i) == curObject) {
+                            newList.remove(i);
+                            break;
+                        }
+                    }
+                    Map<String, OBJECT> objectMap = state.objectMap;
+                    if (objectMap != null) {
+                        removeFromMap(objectMap, curObject);
+                    }
+                    cacheState = new CacheState<>(newList, objectMap);
+                }
             }
+            curObject = null;
         }
     }
 
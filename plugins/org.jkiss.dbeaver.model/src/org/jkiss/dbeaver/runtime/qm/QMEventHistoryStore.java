@@ -0,0 +1,787 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.*;
+import org.jkiss.dbeaver.model.qm.filters.QMCursorFilter;
+import org.jkiss.dbeaver.model.qm.filters.QMDateRange;
+import org.jkiss.dbeaver.model.qm.filters.QMEventCriteria;
+import org.jkiss.dbeaver.model.qm.meta.*;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.ArrayUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Query manager events history.
+ *
+ * Events are appended to a ring of memory-mapped segments, so heap usage doesn't depend on history size.
+ * Each segment consists of a data file (serialized events) and an index file with fixed-size entries
+ * (record offset, event time, object type/action/purpose flags, data source hash).
+ * Cursors scan index entries from the newest to the oldest one and decode only records which passed index checks.
+ *
+ * The most recent events are also kept in memory as is, so the query log shows live objects for them.
+ * Records keep original object ids. A cursor restores each object once and returns it for all its events,
+ * so the query log merges BEGIN/UPDATE/END events of an object into a single item.
+ * Events are appended by the QM event dispatcher only, cursors may be read from any thread.
+ */
+public class QMEventHistoryStore {
+
+    private static final Log log = Log.getLog(QMEventHistoryStore.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+    public static final int DEFAULT_SEGMENT_COUNT = 16;
+    private static final int RECENT_EVENTS_COUNT = 1000;
+
+    // Data record: length (int), record bytes
+    // Index entry: data offset (int), flags (int), time (long), event id (long), container hash (int)
+    private static final int INDEX_ENTRY_SIZE = 28;
+    // Average record is much bigger, so index is never filled before data
+    private static final int MIN_RECORD_SIZE = 64;
+    private static final int MAX_STRING_LENGTH = 32 * 1024;
+    // Restored objects kept by a cursor. Events of one object are close to each other
+    private static final int MAX_CURSOR_OBJECTS = 10000;
+
+    private static final int FLAG_ERROR = 1 << 16;
+
+    @Nullable
+    private final Path folder;
+    private final int segmentSize;
+    private final Segment[] segments;
+    private final int recentEventsCount;
+    private int currentSegment;
+    private long nextEventId = 1;
+
+    // Recent events (live objects)
+    private final ArrayDeque<StoredEvent> recentEvents = new ArrayDeque<>();
+
+    // Encoding buffer (writer only)
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(4096);
+
+    public QMEventHistoryStore(@Nullable Path folder, int segmentSize, int segmentCount) {
+        this(folder, segmentSize, segmentCount, RECENT_EVENTS_COUNT);
+    }
+
+    /**
+     * @param folder segments folder. If null or not writable then only recent events are kept.
+     * @param recentEventsCount number of the most recent events kept in memory
+     */
+    public QMEventHistoryStore(@Nullable Path folder, int segmentSize, int segmentCount, int recentEventsCount) {
+        this.segmentSize = segmentSize;
+        this.recentEventsCount = recentEventsCount;
+        this.segments = new Segment[segmentCount];
+        Path storeFolder = folder;
+        if (storeFolder != null) {
+            try {
+                Files.createDirectories(storeFolder);
+                for (int i = 0; i < segmentCount; i++) {
+                    segments[i] = new Segment(storeFolder, i, segmentSize);
+                }
+            } catch (IOException e) {
+                log.warn("Can't create QM history store in '" + storeFolder + "'. Only recent events will be kept.", e);
+                storeFolder = null;
+            }
+        }
+        this.folder = storeFolder;
+    }
+
+    @Nullable
+    Path getFolder() {
+        return folder;
+    }
+
+    /**
+     * Appends events to the history. Must be called from the single (dispatcher) thread.
+     */
+    public void addEvents(@NotNull List<QMMetaEvent> events) {
+        for (QMMetaEvent event : events) {
+            long eventId;
+            synchronized (recentEvents) {
+                eventId = nextEventId++;
+                recentEvents.addFirst(new StoredEvent(eventId, event));
+                if (recentEvents.size() > recentEventsCount) {
+                    recentEvents.removeLast();
+                }
+            }
+            if (folder != null) {
+                try {
+                    appendRecord(eventId, event);
+                } catch (Exception e) {
+                    log.debug("Error saving QM event in history", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the most recent events (newest first)
+     */
+    @NotNull
+    public List<QMMetaEvent> getRecentEvents() {
+        synchronized (recentEvents) {
+            List<QMMetaEvent> result = new ArrayList<>(recentEvents.size());
+            for (StoredEvent event : recentEvents) {
+                result.add(event.event);
+            }
+            return result;
+        }
+    }
+
+    @NotNull
+    public QMEventCursor openCursor(@NotNull QMCursorFilter cursorFilter) {
+        return new HistoryCursor(cursorFilter);
+    }
+
+    public void dispose() {
+        synchronized (recentEvents) {
+            recentEvents.clear();
+        }
+        for (Segment segment : segments) {
+            if (segment != null) {
+                segment.delete();
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////
+    // Writer
+
+    private void appendRecord(long eventId, @NotNull QMMetaEvent event) throws IOException {
+        QMMObject object = event.getObject();
+        QMMConnectionInfo connection = object.getConnection();
+        if (connection == null) {
+            return;
+        }
+        int recordSize = encodeRecord(event, connection);
+
+        Segment segment = segments[currentSegment];
+        if (segment.count > 0 && (segment.dataSize + 4 + recordSize > segmentSize || segment.count >= segment.indexCapacity)) {
+            currentSegment = (currentSegment + 1) % segments.length;
+            segment = segments[currentSegment];
+            segment.reset();
+        }
+        if (segment.count == 0) {
+            segment.firstEventId = eventId;
+        }
+        segment.map();
+        int offset = segment.dataSize;
+        segment.data.putInt(offset, recordSize);
+        segment.data.put(offset + 4, writeBuffer.array(), 0, recordSize);
+
+        int indexPos = segment.count * INDEX_ENTRY_SIZE;
+        segment.index.putInt(indexPos, offset);
+        segment.index.putInt(indexPos + 4, getIndexFlags(object, event.getAction()));
+        segment.index.putLong(indexPos + 8, object.getOpenTime());
+        segment.index.putLong(indexPos + 16, eventId);
+        segment.index.putInt(indexPos + 24, CommonUtils.notEmpty(connection.getContainerId()).hashCode());
+
+        segment.dataSize = offset + 4 + recordSize;
+        // Publish record
+        segment.count = segment.count + 1;
+    }
+
+    private int encodeRecord(@NotNull QMMetaEvent event, @NotNull QMMConnectionInfo connection) {
+        for (;;) {
+            try {
+                writeBuffer.clear();
+                writeRecord(writeBuffer, event, connection);
+                return writeBuffer.position();
+            } catch (BufferOverflowException e) {
+                // Record size is limited by string length limit
+                writeBuffer = ByteBuffer.allocate(writeBuffer.capacity() * 2);
+            }
+        }
+    }
+
+    private static void writeRecord(@NotNull ByteBuffer buffer, @NotNull QMMetaEvent event, @NotNull QMMConnectionInfo connection) {
+        QMMObject object = event.getObject();
+        buffer.put((byte) object.getObjectType().ordinal());
+        buffer.put((byte) event.getAction().ordinal());
+        writeString(buffer, event.getSessionId());
+        buffer.putLong(object.getObjectId());
+        buffer.putLong(object.getOpenTime());
+        buffer.putLong(object.getCloseTime());
+
+        buffer.putLong(connection.getObjectId());
+        buffer.putLong(connection.getOpenTime());
+        buffer.putLong(connection.getCloseTime());
+        writeString(buffer, connection.getContainerId());
+        writeString(buffer, connection.getContainerName());
+        writeString(buffer, connection.getDriverId());
+        writeString(buffer, connection.getInstanceId());
+        writeString(buffer, connection.getContextName());
+        writeString(buffer, connection.getConnectionUserName());
+        writeString(buffer, connection.getConnectionUrl());
+        buffer.put((byte) (connection.isTransactional() ? 1 : 0));
+        QMMProjectInfo projectInfo = connection.getProjectInfo();
+        buffer.put((byte) (projectInfo == null ? 0 : 1));
+        if (projectInfo != null) {
+            writeString(buffer, projectInfo.getId());
+            writeString(buffer, projectInfo.getName());
+            writeString(buffer, projectInfo.getPath());
+            buffer.put((byte) (projectInfo.isAnonymous() ? 1 : 0));
+        }
+
+        if (object instanceof QMMStatementInfo statement) {
+            buffer.put((byte) statement.getPurpose().ordinal());
+        } else if (object instanceof QMMStatementExecuteInfo execute) {
+            QMMStatementInfo statement = execute.getStatement();
+            buffer.put((byte) statement.getPurpose().ordinal());
+            buffer.putLong(statement.getObjectId());
+            buffer.putLong(statement.getOpenTime());
+            buffer.putLong(statement.getCloseTime());
+            writeString(buffer, execute.getQueryString());
+            buffer.putLong(execute.getFetchRowCount());
+            buffer.putInt(execute.getErrorCode());
+            writeString(buffer, execute.getErrorMessage());
+            buffer.putLong(execute.getFetchBeginTime());
+            buffer.putLong(execute.getFetchEndTime());
+            buffer.put((byte) (execute.isTransactional() ? 1 : 0));
+            writeString(buffer, execute.getSchema());
+            writeString(buffer, execute.getCatalog());
+        }
+    }
+
+    private static void writeString(@NotNull ByteBuffer buffer, @Nullable String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        if (value.length() > MAX_STRING_LENGTH) {
+            value = value.substring(0, MAX_STRING_LENGTH);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static int getIndexFlags(@NotNull QMMObject object, @NotNull QMEventAction action) {
+        int flags = object.getObjectType().ordinal() | (action.ordinal() << 4);
+        DBCExecutionPurpose purpose = null;
+        if (object instanceof QMMStatementInfo statement) {
+            purpose = statement.getPurpose();
+        } else if (object instanceof QMMStatementExecuteInfo execute) {
+            purpose = execute.getStatement().getPurpose();
+            if (execute.hasError()) {
+                flags |= FLAG_ERROR;
+            }
+        }
+        if (purpose != null) {
+            flags |= (purpose.ordinal() + 1) << 8;
+        }
+        return flags;
+    }
+
+    ////////////////////////////////////////////////////////
+    // Reader
+
+    /**
+     * Reads record and restores meta objects. Objects are shared between records of the same cursor:
+     * records are read from the newest to the oldest one, so an object keeps the state of its latest event.
+     */
+    @NotNull
+    private static QMMetaEventEntity readRecord(
+        @NotNull ByteBuffer buffer,
+        long eventId,
+        @NotNull Map<Long, QMMConnectionInfo> connections,
+        @NotNull Map<Long, QMMObject> objects
+    ) {
+        QMMetaObjectType objectType = QMMetaObjectType.values()[buffer.get()];
+        QMEventAction action = QMEventAction.values()[buffer.get()];
+        String sessionId = readString(buffer);
+        long objectId = buffer.getLong();
+        long openTime = buffer.getLong();
+        long closeTime = buffer.getLong();
+
+        long connectionId = buffer.getLong();
+        QMMConnectionInfo.Builder connectionBuilder = QMMConnectionInfo.builder()
+            .setObjectId(connectionId)
+            .setOpenTime(buffer.getLong())
+            .setCloseTime(buffer.getLong())
+            .setContainerId(readString(buffer))
+            .setContainerName(readString(buffer))
+            .setDriverId(readString(buffer))
+            .setInstanceId(readString(buffer))
+            .setContextName(readString(buffer))
+            .setConnectionUserName(readString(buffer))
+            .setConnectionUrl(readString(buffer))
+            .setTransactional(buffer.get() != 0);
+        if (buffer.get() != 0) {
+            connectionBuilder.setProjectInfo(QMMProjectInfo.builder()
+                .setId(readString(buffer))
+                .setName(readString(buffer))
+                .setPath(readString(buffer))
+                .setAnonymous(buffer.get() != 0)
+                .build());
+        }
+        QMMConnectionInfo connection = connections.get(connectionId);
+        if (connection == null) {
+            connection = connectionBuilder.build();
+            connections.put(connectionId, connection);
+        }
+        if (objectType == QMMetaObjectType.CONNECTION_INFO) {
+            return new QMMetaEventEntity(connection, action, eventId, sessionId, null);
+        }
+        QMMObject restored = objects.get(objectId);
+        if (restored != null) {
+            // Newer event of the same object was already read
+            return new QMMetaEventEntity(restored, action, eventId, sessionId, null);
+        }
+
+        QMMObject object = switch (objectType) {
+            case CONNECTION_INFO -> connection;
+            // Savepoints can't be restored, they are shown as transactions
+            case TRANSACTION_INFO, TRANSACTION_SAVEPOINT_INFO -> {
+                QMMTransactionInfo transaction = new QMMTransactionInfo(objectId, connection, openTime);
+                transaction.setCloseTime(closeTime);
+                yield transaction;
+            }
+            case STATEMENT_INFO -> new QMMStatementInfo(
+                objectId, openTime, closeTime, connection, DBCExecutionPurpose.values()[buffer.get()]);
+            case STATEMENT_EXECUTE_INFO -> {
+                DBCExecutionPurpose purpose = DBCExecutionPurpose.values()[buffer.get()];
+                long statementId = buffer.getLong();
+                long statementOpenTime = buffer.getLong();
+                long statementCloseTime = buffer.getLong();
+                QMMStatementInfo statement = objects.get(statementId) instanceof QMMStatementInfo info ? info :
+                    new QMMStatementInfo(statementId, statementOpenTime, statementCloseTime, connection, purpose);
+                objects.put(statementId, statement);
+                yield new QMMStatementExecuteInfo(
+                    objectId,
+                    openTime,
+                    closeTime,
+                    statement,
+                    readString(buffer),
+                    buffer.getLong(),
+                    buffer.getInt(),
+                    readString(buffer),
+                    buffer.getLong(),
+                    buffer.getLong(),
+                    buffer.get() != 0,
+                    readString(buffer),
+                    readString(buffer));
+            }
+        };
+        objects.put(objectId, object);
+        return new QMMetaEventEntity(object, action, eventId, sessionId, null);
+    }
+
+    @Nullable
+    private static String readString(@NotNull ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    ////////////////////////////////////////////////////////
+    // Structures
+
+    private record StoredEvent(long eventId, QMMetaEvent event) {
+    }
+
+    private static class Segment {
+        private final Path dataFile;
+        private final Path indexFile;
+        private final int dataCapacity;
+        private final int indexCapacity;
+        private volatile MappedByteBuffer data;
+        private volatile MappedByteBuffer index;
+
+        // Incremented each time segment is overwritten
+        private volatile int generation;
+        private volatile long firstEventId;
+        // Number of published records
+        private volatile int count;
+        // Writer only
+        private int dataSize;
+
+        Segment(@NotNull Path folder, int number, int dataCapacity) {
+            this.dataFile = folder.resolve("qm-history-" + number + ".dat");
+            this.indexFile = folder.resolve("qm-history-" + number + ".idx");
+            this.dataCapacity = dataCapacity;
+            this.indexCapacity = dataCapacity / MIN_RECORD_SIZE;
+        }
+
+        void map() throws IOException {
+            if (data == null) {
+                index = mapFile(indexFile, indexCapacity * INDEX_ENTRY_SIZE);
+                data = mapFile(dataFile, dataCapacity);
+            }
+        }
+
+        private static MappedByteBuffer mapFile(@NotNull Path file, int size) throws IOException {
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(size);
+                // Mapping remains valid after channel close
+                return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        }
+
+        void reset() {
+            // Readers check generation after each record read and stop if segment was overwritten
+            generation = generation + 1;
+            count = 0;
+            dataSize = 0;
+        }
+
+        void delete() {
+            data = null;
+            index = null;
+            try {
+                Files.deleteIfExists(dataFile);
+                Files.deleteIfExists(indexFile);
+            } catch (IOException e) {
+                // File may be still mapped (Windows)
+                dataFile.toFile().deleteOnExit();
+                indexFile.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    private class HistoryCursor implements QMEventCursor {
+
+        @NotNull
+        private final QMEventCriteria criteria;
+        @Nullable
+        private final QMEventFilter filter;
+        @Nullable
+        private final String searchString;
+        @Nullable
+        private final Set<Integer> containerHashes;
+        private final long timeFrom;
+        private final long timeTo;
+
+        private final Map<Long, QMMConnectionInfo> connections = new HashMap<>();
+        private final Map<Long, QMMObject> objects = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, QMMObject> eldest) {
+                return size() > MAX_CURSOR_OBJECTS;
+            }
+        };
+
+        private List<StoredEvent> recent;
+        private int recentPos;
+        private long storeLimitId;
+        private List<SegmentView> segmentViews;
+        private int segmentPos;
+
+        @Nullable
+        private QMMetaEventEntity nextEvent;
+        private long totalSize = -1;
+
+        HistoryCursor(@NotNull QMCursorFilter cursorFilter) {
+            this.criteria = cursorFilter.getCriteria();
+            this.filter = cursorFilter.getFilter();
+            this.searchString = CommonUtils.isEmpty(criteria.getSearchString()) ? null : criteria.getSearchString().toLowerCase();
+
+            Set<String> containerIds = new HashSet<>(criteria.getDataSourceIds());
+            if (criteria.getContainerId() != null) {
+                containerIds.add(criteria.getContainerId());
+            }
+            if (containerIds.isEmpty()) {
+                containerHashes = null;
+            } else {
+                containerHashes = new HashSet<>();
+                for (String id : containerIds) {
+                    containerHashes.add(id.hashCode());
+                }
+            }
+            QMDateRange dateRange = criteria.getDateRange();
+            timeFrom = dateRange == null || dateRange.getFrom() == null ?
+                Long.MIN_VALUE : dateRange.getFrom().toInstant(ZoneOffset.UTC).toEpochMilli();
+            timeTo = dateRange == null || dateRange.getTo() == null ?
+                Long.MAX_VALUE : dateRange.getTo().toInstant(ZoneOffset.UTC).toEpochMilli();
+            restart();
+        }
+
+        private void restart() {
+            synchronized (recentEvents) {
+                recent = new ArrayList<>(recentEvents);
+                storeLimitId = recent.isEmpty() ? nextEventId : recent.get(recent.size() - 1).eventId;
+            }
+            recentPos = 0;
+            segmentViews = new ArrayList<>();
+            for (Segment segment : segments) {
+                if (segment == null) {
+                    continue;
+                }
+                int generation = segment.generation;
+                long firstEventId = segment.firstEventId;
+                int count = segment.count;
+                if (count > 0 && segment.data != null && generation == segment.generation) {
+                    segmentViews.add(new SegmentView(segment, generation, firstEventId, count));
+                }
+            }
+            // Newest segments first
+            segmentViews.sort(Comparator.comparingLong((SegmentView view) -> view.firstEventId).reversed());
+            segmentPos = 0;
+            nextEvent = null;
+            connections.clear();
+            objects.clear();
+        }
+
+        @Override
+        public long getTotalSize() {
+            if (totalSize < 0) {
+                // Full scan. Cursor state is preserved
+                HistoryCursor counter = new HistoryCursor(new QMCursorFilter(null, criteria, filter));
+                long size = 0;
+                while (counter.fetchNext() != null) {
+                    size++;
+                }
+                totalSize = size;
+            }
+            return totalSize;
+        }
+
+        @Override
+        public void scroll(int position, DBRProgressMonitor monitor) throws DBException {
+            restart();
+            for (int i = 0; i < position; i++) {
+                if (!hasNextEvent(monitor)) {
+                    throw new DBException("Position is out of range (" + i + ")");
+                }
+                nextEvent = null;
+            }
+        }
+
+        @Override
+        public boolean hasNextEvent(DBRProgressMonitor monitor) throws DBException {
+            if (nextEvent == null) {
+                nextEvent = fetchNext();
+            }
+            return nextEvent != null;
+        }
+
+        @Override
+        public QMMetaEventEntity nextEvent(DBRProgressMonitor monitor) throws DBException {
+            if (!hasNextEvent(monitor)) {
+                throw new DBException("No more events");
+            }
+            QMMetaEventEntity event = nextEvent;
+            nextEvent = null;
+            return event;
+        }
+
+        @Override
+        public void close() {
+            recent = null;
+            segmentViews = null;
+            connections.clear();
+            objects.clear();
+        }
+
+        @Nullable
+        private QMMetaEventEntity fetchNext() {
+            while (recentPos < recent.size()) {
+                StoredEvent stored = recent.get(recentPos++);
+                QMMetaEvent event = stored.event;
+                registerLiveObject(event.getObject());
+                if (matchesEvent(event)) {
+                    return new QMMetaEventEntity(event.getObject(), event.getAction(), stored.eventId, event.getSessionId(), null);
+                }
+            }
+            while (segmentPos < segmentViews.size()) {
+                SegmentView view = segmentViews.get(segmentPos);
+                QMMetaEventEntity event = view.fetchNext();
+                if (event != null) {
+                    return event;
+                }
+                segmentPos++;
+            }
+            return null;
+        }
+
+        /**
+         * Older stored events of live objects refer to the live objects themselves
+         */
+        private void registerLiveObject(@NotNull QMMObject object) {
+            QMMConnectionInfo connection = object.getConnection();
+            if (connection != null) {
+                connections.putIfAbsent(connection.getObjectId(), connection);
+            }
+            if (object instanceof QMMStatementExecuteInfo execute) {
+                objects.putIfAbsent(execute.getStatement().getObjectId(), execute.getStatement());
+            }
+            if (!(object instanceof QMMConnectionInfo)) {
+                objects.putIfAbsent(object.getObjectId(), object);
+            }
+        }
+
+        private boolean matchesIndex(int flags, long time, int containerHash) {
+            if (time < timeFrom || time > timeTo) {
+                return false;
+            }
+            if (containerHashes != null && !containerHashes.contains(containerHash)) {
+                return false;
+            }
+            QMMetaObjectType objectType = QMMetaObjectType.values()[flags & 0xF];
+            if (!matchesObjectType(objectType)) {
+                return false;
+            }
+            int purposeId = (flags >> 8) & 0xFF;
+            return purposeId == 0 || matchesPurpose(DBCExecutionPurpose.values()[purposeId - 1]);
+        }
+
+        private boolean matchesEvent(@NotNull QMEvent event) {
+            QMMObject object = event.getObject();
+            if (object.getOpenTime() < timeFrom || object.getOpenTime() > timeTo) {
+                return false;
+            }
+            if (!matchesObjectType(object.getObjectType())) {
+                return false;
+            }
+            QMMStatementInfo statementInfo = null;
+            if (object instanceof QMMStatementInfo statement) {
+                statementInfo = statement;
+            } else if (object instanceof QMMStatementExecuteInfo execute) {
+                statementInfo = execute.getStatement();
+            }
+            if (statementInfo != null && !matchesPurpose(statementInfo.getPurpose())) {
+                return false;
+            }
+            QMMConnectionInfo connection = object.getConnection();
+            if (connection != null) {
+                if (criteria.getContainerId() != null && !criteria.getContainerId().equals(connection.getContainerId())) {
+                    return false;
+                }
+                if (!criteria.getDataSourceIds().isEmpty() && !criteria.getDataSourceIds().contains(connection.getContainerId())) {
+                    return false;
+                }
+                if (criteria.hasDriverIds() && !criteria.getDriverIds().contains(connection.getDriverId())) {
+                    return false;
+                }
+            }
+            if (searchString != null) {
+                String text = object.getText();
+                if (text == null || !text.toLowerCase().contains(searchString)) {
+                    return false;
+                }
+            }
+            return filter == null || filter.accept(event);
+        }
+
+        private boolean matchesObjectType(@NotNull QMMetaObjectType objectType) {
+            QMObjectType[] objectTypes = criteria.getObjectTypes();
+            if (ArrayUtils.isEmpty(objectTypes)) {
+                return true;
+            }
+            return switch (objectType) {
+                case CONNECTION_INFO -> ArrayUtils.contains(objectTypes, QMObjectType.session);
+                case TRANSACTION_INFO, TRANSACTION_SAVEPOINT_INFO -> ArrayUtils.contains(objectTypes, QMObjectType.txn);
+                default -> ArrayUtils.contains(objectTypes, QMObjectType.query);
+            };
+        }
+
+        private boolean matchesPurpose(@NotNull DBCExecutionPurpose purpose) {
+            DBCExecutionPurpose[] queryTypes = criteria.getQueryTypes();
+            return ArrayUtils.isEmpty(queryTypes) || ArrayUtils.contains(queryTypes, purpose);
+        }
+
+        /**
+         * Segment snapshot. Reads records from the newest to the oldest.
+         */
+        private class SegmentView {
+            private final Segment segment;
+            private final int generation;
+            private final long firstEventId;
+            private int position;
+            private byte[] recordBuffer = new byte[1024];
+
+            SegmentView(@NotNull Segment segment, int generation, long firstEventId, int count) {
+                this.segment = segment;
+                this.generation = generation;
+                this.firstEventId = firstEventId;
+                this.position = count - 1;
+            }
+
+            @Nullable
+            QMMetaEventEntity fetchNext() {
+                ByteBuffer index = segment.index;
+                ByteBuffer data = segment.data;
+                for (; position >= 0; position--) {
+                    int indexPos = position * INDEX_ENTRY_SIZE;
+                    int offset = index.getInt(indexPos);
+                    int flags = index.getInt(indexPos + 4);
+                    long time = index.getLong(indexPos + 8);
+                    long eventId = index.getLong(indexPos + 16);
+                    int containerHash = index.getInt(indexPos + 24);
+                    if (!isValid()) {
+                        return null;
+                    }
+                    if (eventId >= storeLimitId) {
+                        // Already returned from recent events
+                        continue;
+                    }
+                    if (!matchesIndex(flags, time, containerHash)) {
+                        continue;
+                    }
+                    int length = data.getInt(offset);
+                    if (length <= 0 || offset + 4 + length > segment.dataCapacity) {
+                        // Segment is being overwritten
+                        return null;
+                    }
+                    if (recordBuffer.length < length) {
+                        recordBuffer = new byte[length];
+                    }
+                    data.get(offset + 4, recordBuffer, 0, length);
+                    if (!isValid()) {
+                        return null;
+                    }
+                    QMMetaEventEntity event;
+                    try {
+                        event = readRecord(ByteBuffer.wrap(recordBuffer, 0, length), eventId, connections, objects);
+                    } catch (Exception e) {
+                        log.debug("Corrupted QM history record " + eventId, e);
+                        continue;
+                    }
+                    if (matchesEvent(event)) {
+                        position--;
+                        return event;
+                    }
+                }
+                return null;
+            }
+
+            private boolean isValid() {
+                VarHandle.loadLoadFence();
+                return segment.generation == generation;
+            }
+        }
+    }
+}
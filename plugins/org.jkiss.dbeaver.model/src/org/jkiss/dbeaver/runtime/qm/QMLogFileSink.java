@@ -0,0 +1,343 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.utils.ContentUtils;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Query manager log file output.
+ *
+ * In synchronous mode entries are written and flushed at the end of each event batch.
+ * In asynchronous mode entries are appended to a bounded in-memory buffer and written by a background thread
+ * when buffer reaches flush threshold or flush interval expires. If buffer is full then new entries are dropped
+ * and the number of dropped entries is written to the log on the next flush.
+ *
+ * When log file exceeds max file size it is renamed to {@code <file>.<N>} (and optionally compressed with gzip)
+ * and a new file is started. Log file name is resolved on each write, so daily log files switch at midnight.
+ */
+public class QMLogFileSink {
+
+    private static final Log log = Log.getLog(QMLogFileSink.class);
+
+    public static final int DEFAULT_BUFFER_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_FLUSH_THRESHOLD = 64 * 1024;
+    public static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+    public static final String GZIP_EXTENSION = ".gz";
+
+    @NotNull
+    private final Path folder;
+    @NotNull
+    private final Function<LocalDate, String> fileNameProvider;
+    private final long maxFileSize;
+    private final boolean compressRotated;
+    private final boolean async;
+    private final int bufferSize;
+    private final int flushThreshold;
+    private final long flushInterval;
+    @NotNull
+    private final String lineSeparator;
+
+    // Guarded by bufferLock
+    private final Object bufferLock = new Object();
+    private StringBuilder pendingBuffer;
+    private StringBuilder writeBuffer;
+    private int pendingDropped;
+    private boolean closed;
+
+    // Writer (owned by the flushing thread)
+    private final Object writerLock = new Object();
+    @Nullable
+    private Writer fileWriter;
+    @Nullable
+    private Path currentFile;
+    private long currentFileSize;
+    private boolean failed;
+
+    @Nullable
+    private Thread writerThread;
+    private final AtomicLong droppedEntries = new AtomicLong();
+    private final AtomicLong writtenEntries = new AtomicLong();
+    private int pendingEntries;
+
+    public QMLogFileSink(
+        @NotNull Path folder,
+        @NotNull Function<LocalDate, String> fileNameProvider,
+        long maxFileSize,
+        boolean compressRotated,
+        boolean async,
+        @NotNull String lineSeparator
+    ) {
+        this(folder, fileNameProvider, maxFileSize, compressRotated, async, lineSeparator,
+            DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_THRESHOLD, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public QMLogFileSink(
+        @NotNull Path folder,
+        @NotNull Function<LocalDate, String> fileNameProvider,
+        long maxFileSize,
+        boolean compressRotated,
+        boolean async,
+        @NotNull String lineSeparator,
+        int bufferSize,
+        int flushThreshold,
+        long flushInterval
+    ) {
+        this.folder = folder;
+        this.fileNameProvider = fileNameProvider;
+        this.maxFileSize = maxFileSize;
+        this.compressRotated = compressRotated;
+        this.async = async;
+        this.lineSeparator = lineSeparator;
+        this.bufferSize = bufferSize;
+        this.flushThreshold = Math.min(flushThreshold, bufferSize);
+        this.flushInterval = flushInterval;
+        this.pendingBuffer = new StringBuilder(async ? this.flushThreshold * 2 : 4000);
+        this.writeBuffer = new StringBuilder(pendingBuffer.capacity());
+        if (async) {
+            writerThread = new Thread(this::runWriter, "QM log writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Number of entries dropped because of buffer overflow
+     */
+    public long getDroppedEntries() {
+        return droppedEntries.get();
+    }
+
+    public long getWrittenEntries() {
+        return writtenEntries.get();
+    }
+
+    /**
+     * Appends log entry. Returns false if entry was dropped.
+     */
+    public boolean append(@NotNull CharSequence entry) {
+        synchronized (bufferLock) {
+            if (closed) {
+                return false;
+            }
+            if (async && pendingBuffer.length() + entry.length() > bufferSize) {
+                pendingDropped++;
+                droppedEntries.incrementAndGet();
+                return false;
+            }
+            pendingBuffer.append(entry);
+            pendingEntries++;
+            return true;
+        }
+    }
+
+    /**
+     * Called after each events batch. Writes pending entries in synchronous mode or wakes up writer thread
+     * if flush threshold was reached.
+     */
+    public void endBatch() {
+        if (!async) {
+            flush();
+            return;
+        }
+        synchronized (bufferLock) {
+            if (pendingBuffer.length() >= flushThreshold) {
+                bufferLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes all pending entries to the file
+     */
+    public void flush() {
+        synchronized (writerLock) {
+            int dropped;
+            int entries;
+            synchronized (bufferLock) {
+                if (pendingBuffer.isEmpty() && pendingDropped == 0) {
+                    return;
+                }
+                // Swap buffers, so producers are not blocked by IO
+                StringBuilder buffer = pendingBuffer;
+                pendingBuffer = writeBuffer;
+                writeBuffer = buffer;
+                dropped = pendingDropped;
+                entries = pendingEntries;
+                pendingDropped = 0;
+                pendingEntries = 0;
+            }
+            if (dropped > 0) {
+                log.warn("QM log buffer overflow: " + dropped + " entries dropped");
+                writeBuffer.append("!DROPPED ").append(dropped).append(lineSeparator).append(lineSeparator);
+            }
+            try {
+                writeChunk(writeBuffer);
+                writtenEntries.addAndGet(entries);
+            } finally {
+                writeBuffer.setLength(0);
+                if (writeBuffer.capacity() > bufferSize) {
+                    // Do not keep huge buffer after bursts
+                    writeBuffer = new StringBuilder(flushThreshold * 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flushes pending entries and closes log file
+     */
+    public void close() {
+        synchronized (bufferLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            bufferLock.notifyAll();
+        }
+        if (writerThread != null) {
+            try {
+                writerThread.join(flushInterval * 5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+        flush();
+        synchronized (writerLock) {
+            closeFile();
+        }
+    }
+
+    private void runWriter() {
+        for (;;) {
+            boolean stop;
+            synchronized (bufferLock) {
+                if (!closed && pendingBuffer.length() < flushThreshold) {
+                    try {
+                        bufferLock.wait(flushInterval);
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                stop = closed;
+            }
+            try {
+                flush();
+            } catch (Throwable e) {
+                log.debug("Error flushing QM log", e);
+            }
+            if (stop) {
+                break;
+            }
+        }
+    }
+
+    private void writeChunk(@NotNull CharSequence chunk) {
+        if (failed || chunk.isEmpty()) {
+            return;
+        }
+        try {
+            Path file = folder.resolve(fileNameProvider.apply(LocalDate.now()));
+            if (fileWriter == null || !file.equals(currentFile)) {
+                openFile(file);
+            }
+            fileWriter.append(chunk);
+            fileWriter.flush();
+            currentFileSize = Files.size(file);
+            if (maxFileSize > 0 && currentFileSize >= maxFileSize) {
+                rotateFile(file);
+            }
+        } catch (IOException e) {
+            log.warn("IO error writing QM log. Disable log file writer", e);
+            closeFile();
+            failed = true;
+        }
+    }
+
+    private void openFile(@NotNull Path file) throws IOException {
+        closeFile();
+        if (!Files.exists(folder)) {
+            Files.createDirectories(folder);
+        }
+        fileWriter = new BufferedWriter(new FileWriter(file.toFile(), true), flushThreshold);
+        currentFile = file;
+        currentFileSize = Files.exists(file) ? Files.size(file) : 0;
+    }
+
+    private void closeFile() {
+        if (fileWriter != null) {
+            ContentUtils.close(fileWriter);
+            fileWriter = null;
+        }
+        currentFile = null;
+        currentFileSize = 0;
+    }
+
+    private void rotateFile(@NotNull Path file) throws IOException {
+        closeFile();
+        String fileName = file.getFileName().toString();
+        Path rotatedFile;
+        for (int index = 1; ; index++) {
+            rotatedFile = file.resolveSibling(fileName + "." + index);
+            if (!Files.exists(rotatedFile) && !Files.exists(rotatedFile.resolveSibling(rotatedFile.getFileName() + GZIP_EXTENSION))) {
+                break;
+            }
+        }
+        Files.move(file, rotatedFile);
+        if (compressRotated) {
+            compressFile(rotatedFile);
+        }
+    }
+
+    private static void compressFile(@NotNull Path file) {
+        Path targetFile = file.resolveSibling(file.getFileName() + GZIP_EXTENSION);
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(targetFile), 64 * 1024))
+        {
+            in.transferTo(out);
+        } catch (IOException e) {
+            log.debug("Error compressing QM log file '" + file + "'", e);
+            try {
+                Files.deleteIfExists(targetFile);
+            } catch (IOException ignored) {
+                // ignore
+            }
+            return;
+        }
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            log.debug("Can't delete rotated QM log file '" + file + "'", e);
+        }
+    }
+}
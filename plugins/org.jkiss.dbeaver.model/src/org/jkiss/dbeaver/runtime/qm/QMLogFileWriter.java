@@ -26,14 +26,10 @@ import org.jkiss.dbeaver.model.qm.*;
 import org.jkiss.dbeaver.model.qm.meta.*;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
-import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
@@ -50,13 +46,11 @@ import java.util.stream.Stream;
 public class QMLogFileWriter implements QMMetaListener, DBPPreferenceListener {
 
     private static final Log log = Log.getLog(QMLogFileWriter.class);
+    private static final String LOG_FILE_EXTENSION = ".log";
     private static final DateTimeFormatter LOG_FILENAME_FORMATTER = DateTimeFormatter
-        .ofPattern("'dbeaver_sql_'" + GeneralUtils.DEFAULT_DATE_PATTERN + "'.log'", Locale.ENGLISH);
+        .ofPattern("'dbeaver_sql_'" + GeneralUtils.DEFAULT_DATE_PATTERN + "'" + LOG_FILE_EXTENSION + "'", Locale.ENGLISH);
 
-    private File logFile;
-    private boolean enabled;
-
-    private Writer logWriter;
+    private volatile QMLogFileSink logSink;
     private QMEventFilter eventFilter;
     private final String lineSeparator;
 
@@ -70,13 +64,21 @@ public class QMLogFileWriter implements QMMetaListener, DBPPreferenceListener {
     public void dispose()
     {
         DBWorkbench.getPlatform().getPreferenceStore().removePropertyChangeListener(this);
+        closeLogSink();
+    }
+
+    private synchronized void closeLogSink() {
+        if (logSink != null) {
+            logSink.close();
+            logSink = null;
+        }
     }
 
     private synchronized void initLogFile()
     {
         final DBPPreferenceStore preferences = DBWorkbench.getPlatform().getPreferenceStore();
-        enabled = preferences.getBoolean(QMConstants.PROP_STORE_LOG_FILE);
-        if (enabled) {
+        closeLogSink();
+        if (preferences.getBoolean(QMConstants.PROP_STORE_LOG_FILE)) {
             final int daysToKeepLogs = preferences.getInt(QMConstants.PROP_HISTORY_DAYS);
             String logFolderPath = preferences.getString(QMConstants.PROP_LOG_DIRECTORY);
             if (CommonUtils.isEmpty(logFolderPath)) {
@@ -88,23 +90,19 @@ public class QMLogFileWriter implements QMMetaListener, DBPPreferenceListener {
                 log.debug("Error purging old logs: " + e.getMessage());
             }
 
-            File logFolder = new File(logFolderPath);
-            if (!logFolder.exists()) {
-                if (!logFolder.mkdirs()) {
-                    log.error("Can't create log folder '" + logFolderPath + "'");
-                }
-            }
-            logFile = new File(logFolder, LOG_FILENAME_FORMATTER.format(LocalDate.now()));
+            Path logFolder = Path.of(logFolderPath);
             try {
-                logWriter = new FileWriter(logFile, true);
+                Files.createDirectories(logFolder);
             } catch (IOException e) {
-                log.error("Can't open log writer", e);
-            }
-        } else {
-            if (logWriter != null) {
-                ContentUtils.close(logWriter);
-                logWriter = null;
+                log.error("Can't create log folder '" + logFolderPath + "'", e);
             }
+            logSink = new QMLogFileSink(
+                logFolder,
+                LOG_FILENAME_FORMATTER::format,
+                preferences.getLong(QMConstants.PROP_LOG_MAX_FILE_SIZE) * 1024 * 1024,
+                preferences.getBoolean(QMConstants.PROP_LOG_COMPRESS_ROTATED),
+                preferences.getBoolean(QMConstants.PROP_LOG_ASYNC),
+                lineSeparator);
         }
         eventFilter = new DefaultEventFilter();
     }
@@ -117,7 +115,13 @@ public class QMLogFileWriter implements QMMetaListener, DBPPreferenceListener {
             list
                 .filter(file -> {
                     try {
-                        final LocalDate date = LOG_FILENAME_FORMATTER.parse(file.getFileName().toString(), LocalDate::from);
+                        // Rotated files have extra suffixes (dbeaver_sql_<date>.log.1.gz)
+                        String fileName = file.getFileName().toString();
+                        int logExtPos = fileName.indexOf(LOG_FILE_EXTENSION);
+                        if (logExtPos > 0) {
+                            fileName = fileName.substring(0, logExtPos + LOG_FILE_EXTENSION.length());
+                        }
+                        final LocalDate date = LOG_FILENAME_FORMATTER.parse(fileName, LocalDate::from);
                         return judgementDay.isAfter(date);
                     } catch (DateTimeParseException e) {
                         return false;
@@ -134,27 +138,25 @@ public class QMLogFileWriter implements QMMetaListener, DBPPreferenceListener {
     }
 
     @Override
-    public synchronized void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events)
+    public void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events)
     {
-        if (!enabled || logWriter == null) {
+        QMLogFileSink sink = logSink;
+        if (sink == null) {
             return;
         }
 
-        StringBuilder logBuffer = new StringBuilder(4000);
+        // Events are formatted in the dispatcher thread, IO is done by the sink
+        StringBuilder entryBuffer = new StringBuilder(1000);
         for (QMMetaEvent event : events) {
             if (eventFilter.accept(event)) {
-                writeEvent(logBuffer, event);
+                entryBuffer.setLength(0);
+                writeEvent(entryBuffer, event);
+                if (!entryBuffer.isEmpty()) {
+                    sink.append(entryBuffer);
+                }
             }
         }
-
-        try {
-            logWriter.write(logBuffer.toString());
-            logWriter.flush();
-        } catch (IOException e) {
-            log.warn("IO error writing QM log. Disable log file writer", e);
-            ContentUtils.close(logWriter);
-            logWriter = null;
-        }
+        sink.endBatch();
     }
 
     @Override
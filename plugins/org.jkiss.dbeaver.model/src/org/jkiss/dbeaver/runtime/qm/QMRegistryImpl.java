@@ -21,18 +21,13 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.qm.*;
 import org.jkiss.dbeaver.model.qm.filters.QMCursorFilter;
-import org.jkiss.dbeaver.model.qm.meta.*;
 import org.jkiss.dbeaver.utils.GeneralUtils;
-import org.jkiss.utils.ArrayUtils;
-import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -178,62 +173,10 @@ public class QMRegistryImpl implements QMRegistry {
             @NotNull QMCursorFilter cursorFilter)
             throws DBException
         {
-            List<QMMetaEvent> pastEvents = metaHandler.getPastEvents();
-            Collections.reverse(pastEvents);
-            var criteria = cursorFilter.getCriteria();
-            var filter = cursorFilter.getFilter();
-            if (criteria.getObjectTypes() != null || criteria.getQueryTypes() != null) {
-                // Filter by query type and object type
-                for (Iterator<QMMetaEvent> iter = pastEvents.iterator(); iter.hasNext(); ) {
-                    QMMetaEvent event = iter.next();
-                    if (criteria.getObjectTypes() != null) {
-                        if (!matchesObjectType(event.getObject(), criteria.getObjectTypes())) {
-                            iter.remove();
-                            continue;
-                        }
-                    }
-                    if (filter != null && !filter.accept(event)) {
-                        iter.remove();
-                        continue;
-                    }
-                    if (criteria.getQueryTypes() != null) {
-                        QMMStatementInfo statementInfo = null;
-                        if (event.getObject() instanceof QMMStatementInfo) {
-                            statementInfo = (QMMStatementInfo) event.getObject();
-                        } else if (event.getObject() instanceof QMMStatementExecuteInfo) {
-                            statementInfo = ((QMMStatementExecuteInfo) event.getObject()).getStatement();
-                        }
-                        if (statementInfo != null &&
-                            !ArrayUtils.contains(criteria.getQueryTypes(), statementInfo.getPurpose()))
-                        {
-                            iter.remove();
-                        }
-                    }
-                }
-            }
-            if (CommonUtils.isEmpty(criteria.getSearchString())) {
-                return new QMUtils.ListCursorImpl(pastEvents);
-            } else {
-                String searchString = criteria.getSearchString().toLowerCase();
-                List<QMMetaEvent> filtered = new ArrayList<>();
-                for (QMMetaEvent event : pastEvents) {
-                    if (event.getObject().getText().toLowerCase().contains(searchString) &&
-                        (filter == null || filter.accept(event)))
-                    {
-                        filtered.add(event);
-                    }
-                }
-                return new QMUtils.ListCursorImpl(filtered);
+            if (metaHandler == null) {
+                return new QMUtils.EmptyCursorImpl();
             }
-        }
-
-        private boolean matchesObjectType(QMMObject object, QMObjectType[] objectTypes) {
-            if (object instanceof QMMConnectionInfo)
-                return ArrayUtils.contains(objectTypes, QMObjectType.session);
-            else if (object instanceof QMMTransactionInfo || object instanceof QMMTransactionSavepointInfo)
-                return ArrayUtils.contains(objectTypes, QMObjectType.txn);
-            else
-                return ArrayUtils.contains(objectTypes, QMObjectType.query);
+            return metaHandler.getHistory().openCursor(cursorFilter);
         }
     }
 }
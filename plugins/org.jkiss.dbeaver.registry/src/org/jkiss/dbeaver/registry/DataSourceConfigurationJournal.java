@@ -0,0 +1,152 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSourceConfigurationStorage;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only journal of data source configuration changes.
+ *
+ * Journal is stored next to the configuration file (snapshot). Each line is a JSON object which contains changed
+ * connections (and objects they refer to) or ids of deleted connections. Entries are applied on top of the snapshot
+ * in the order they were written. Snapshot and its journal are linked by the journal id: each full save generates
+ * a new id, so entries written before the snapshot are ignored even if the journal file wasn't deleted.
+ */
+public class DataSourceConfigurationJournal {
+
+    public static final String JOURNAL_FILE_EXT = ".journal"; //$NON-NLS-1$
+
+    static final String ATTR_JOURNAL_ID = "journal-id"; //$NON-NLS-1$
+    static final String ATTR_DELETED = "deleted"; //$NON-NLS-1$
+
+    static final String SECTION_CONNECTIONS = "connections"; //$NON-NLS-1$
+    static final String SECTION_VIRTUAL_MODELS = "virtual-models"; //$NON-NLS-1$
+    static final String SECTION_CONNECTION_TYPES = "connection-types"; //$NON-NLS-1$
+    static final String SECTION_DRIVERS = "drivers"; //$NON-NLS-1$
+    static final String SECTION_EXTERNAL_CONFIGURATIONS = "external-configurations"; //$NON-NLS-1$
+
+    // Journal is compacted into the snapshot when it becomes too big
+    public static final int MAX_JOURNAL_ENTRIES = 500;
+    private static final long MAX_JOURNAL_SIZE = 4 * 1024 * 1024;
+
+    @NotNull
+    private final DBPDataSourceConfigurationStorage storage;
+    @Nullable
+    private volatile String journalId;
+    private int entryCount;
+    private long journalSize;
+
+    DataSourceConfigurationJournal(@NotNull DBPDataSourceConfigurationStorage storage) {
+        this.storage = storage;
+    }
+
+    @NotNull
+    public String getJournalName() {
+        return storage.getStorageName() + JOURNAL_FILE_EXT;
+    }
+
+    /**
+     * Id of the current snapshot. Null if snapshot wasn't read or written yet (or was written by older version).
+     */
+    @Nullable
+    public String getJournalId() {
+        return journalId;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Returns true if journal should be merged into the snapshot
+     */
+    public boolean needsCompaction() {
+        return entryCount >= MAX_JOURNAL_ENTRIES || journalSize >= MAX_JOURNAL_SIZE;
+    }
+
+    @NotNull
+    String generateJournalId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Resets journal state after the snapshot was read or written
+     */
+    void setSnapshot(@Nullable String journalId) {
+        this.journalId = journalId;
+        this.entryCount = 0;
+        this.journalSize = 0;
+    }
+
+    void addEntry(long entrySize) {
+        entryCount++;
+        journalSize += entrySize;
+    }
+
+    /**
+     * Applies journal entry to the parsed configuration
+     */
+    static void applyEntry(@NotNull Map<String, Object> configuration, @NotNull Map<String, Object> entry) {
+        for (String id : JSONUtils.deserializeStringList(entry, ATTR_DELETED)) {
+            getSection(configuration, SECTION_CONNECTIONS).remove(id);
+            getSection(configuration, SECTION_VIRTUAL_MODELS).remove(id);
+        }
+        Map<String, Object> connections = JSONUtils.getObject(entry, SECTION_CONNECTIONS);
+        for (String id : connections.keySet()) {
+            // Virtual model is saved only if it has valuable data
+            getSection(configuration, SECTION_VIRTUAL_MODELS).remove(id);
+        }
+        mergeSection(configuration, entry, SECTION_CONNECTIONS);
+        mergeSection(configuration, entry, SECTION_VIRTUAL_MODELS);
+        mergeSection(configuration, entry, SECTION_CONNECTION_TYPES);
+        mergeSection(configuration, entry, SECTION_EXTERNAL_CONFIGURATIONS);
+        // Drivers are grouped by provider
+        Map<String, Object> drivers = getSection(configuration, SECTION_DRIVERS);
+        for (Map.Entry<String, Map<String, Object>> provider : JSONUtils.getNestedObjects(entry, SECTION_DRIVERS)) {
+            getSection(drivers, provider.getKey()).putAll(provider.getValue());
+        }
+    }
+
+    private static void mergeSection(
+        @NotNull Map<String, Object> configuration,
+        @NotNull Map<String, Object> entry,
+        @NotNull String name
+    ) {
+        Map<String, Object> values = JSONUtils.getObject(entry, name);
+        if (!values.isEmpty()) {
+            getSection(configuration, name).putAll(values);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    private static Map<String, Object> getSection(@NotNull Map<String, Object> configuration, @NotNull String name) {
+        Object section = configuration.get(name);
+        if (!(section instanceof Map)) {
+            section = new LinkedHashMap<String, Object>();
+            configuration.put(name, section);
+        }
+        return (Map<String, Object>) section;
+    }
+}
@@ -47,4 +47,12 @@ public interface DataSourceConfigurationManager {
 
     void writeConfiguration(@NotNull String name, @Nullable byte[] data) throws DBException, IOException;
 
+    /**
+     * Appends data to the end of configuration file (creates file if it doesn't exist).
+     * Returns false if appends are not supported. In this case whole configuration must be rewritten.
+     */
+    default boolean appendConfiguration(@NotNull String name, @NotNull byte[] data) throws DBException, IOException {
+        return false;
+    }
+
 }
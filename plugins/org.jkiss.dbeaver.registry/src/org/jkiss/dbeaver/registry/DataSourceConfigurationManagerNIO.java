@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -140,4 +141,11 @@ public class DataSourceConfigurationManagerNIO implements DataSourceConfiguratio
             Files.write(configFile, data);
         }
     }
+
+    @Override
+    public boolean appendConfiguration(@NotNull String name, @NotNull byte[] data) throws IOException {
+        Path configFile = getConfigurationPath(true).resolve(name);
+        Files.write(configFile, data, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return true;
+    }
 }
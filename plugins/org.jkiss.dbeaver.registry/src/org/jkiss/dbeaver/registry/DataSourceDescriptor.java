@@ -187,6 +187,50 @@ public class DataSourceDescriptor
 
     private transient final DBPExclusiveResource exclusiveLock = new SimpleExclusiveLock();
 
+    // Connection settings which are not parsed yet (lazy configuration load)
+    @Nullable
+    private transient volatile DeferredConfiguration deferredConfiguration;
+    private transient boolean deferredConfigurationLoading;
+    // Deferred settings couldn't be parsed. They are kept to save the original configuration as is.
+    private transient volatile boolean deferredConfigurationFailed;
+    private transient final Object deferredConfigurationLock = new Object();
+
+    /**
+     * Connection settings which are parsed on first access.
+     * Registry creates descriptors with name, folder, driver and connection type only,
+     * everything else (connection configuration, network handlers, credentials, filters, etc) is loaded on demand.
+     */
+    public interface DeferredConfiguration {
+        /**
+         * Source connection configuration
+         */
+        @NotNull
+        Map<String, Object> getSource();
+
+        /**
+         * Secure credentials of the connection and its network handlers
+         */
+        @Nullable
+        Map<String, Map<String, String>> getSecureCredentials();
+
+        /**
+         * Connection type from the source configuration
+         */
+        @NotNull
+        DBPConnectionType getConnectionType();
+
+        /**
+         * Virtual model which will be assigned to the data source
+         */
+        @Nullable
+        DBVModel getVirtualModel();
+
+        /**
+         * Parses settings into the data source descriptor
+         */
+        void load();
+    }
+
     public DataSourceDescriptor(
         @NotNull DBPDataSourceRegistry registry,
         @NotNull String id,
@@ -242,6 +286,7 @@ public class DataSourceDescriptor
      * @param setDefaultStorage sets storage to default (in order to allow connection copy-paste with following save in default configuration)
      */
     public DataSourceDescriptor(@NotNull DataSourceDescriptor source, @NotNull DBPDataSourceRegistry registry, boolean setDefaultStorage) {
+        source.loadDeferredConfiguration();
         this.registry = registry;
         this.storage = setDefaultStorage ? ((DataSourceRegistry) registry).getDefaultStorage() : source.storage;
         this.origin = source.origin;
@@ -302,6 +347,7 @@ public class DataSourceDescriptor
         synchronized (users) {
             users.clear();
         }
+        this.deferredConfiguration = null;
         this.virtualModel.dispose();
         disposed = true;
     }
@@ -378,19 +424,61 @@ public class DataSourceDescriptor
         this.forceUseSingleConnection = driver.isSingleConnection();
     }
 
+    @Nullable
+    public DeferredConfiguration getDeferredConfiguration() {
+        return deferredConfiguration;
+    }
+
+    public void setDeferredConfiguration(@Nullable DeferredConfiguration deferredConfiguration) {
+        synchronized (deferredConfigurationLock) {
+            this.deferredConfiguration = deferredConfiguration;
+            this.deferredConfigurationFailed = false;
+        }
+    }
+
+    /**
+     * Loads connection settings if they were deferred
+     */
+    public void loadDeferredConfiguration() {
+        if (deferredConfiguration == null || deferredConfigurationFailed) {
+            return;
+        }
+        synchronized (deferredConfigurationLock) {
+            DeferredConfiguration configuration = deferredConfiguration;
+            if (configuration == null || deferredConfigurationLoading || deferredConfigurationFailed) {
+                // Already loaded, failed or called by the loader itself
+                return;
+            }
+            deferredConfigurationLoading = true;
+            try {
+                configuration.load();
+                deferredConfiguration = null;
+            } catch (Exception e) {
+                // Keep the source configuration, otherwise the next save overwrites stored settings
+                log.error("Error loading configuration of data source '" + id + "'", e);
+                deferredConfigurationFailed = true;
+            } finally {
+                deferredConfigurationLoading = false;
+            }
+        }
+    }
+
     @NotNull
     @Override
     public DBPConnectionConfiguration getConnectionConfiguration() {
+        loadDeferredConfiguration();
         return connectionInfo;
     }
 
     public void setConnectionInfo(@NotNull DBPConnectionConfiguration connectionInfo) {
+        loadDeferredConfiguration();
         this.connectionInfo = connectionInfo;
     }
 
     @NotNull
     @Override
     public DBPConnectionConfiguration getActualConnectionConfiguration() {
+        loadDeferredConfiguration();
         return this.resolvedConnectionInfo != null ? this.resolvedConnectionInfo : this.connectionInfo;
     }
 
@@ -481,6 +569,7 @@ public class DataSourceDescriptor
 
     @Override
     public boolean hasModifyPermission(DBPDataSourcePermission permission) {
+        loadDeferredConfiguration();
         if ((permission == DBPDataSourcePermission.PERMISSION_EDIT_DATA ||
             permission == DBPDataSourcePermission.PERMISSION_EDIT_METADATA) && connectionReadOnly) {
             return false;
@@ -494,6 +583,7 @@ public class DataSourceDescriptor
 
     @Override
     public List<DBPDataSourcePermission> getModifyPermission() {
+        loadDeferredConfiguration();
         if (CommonUtils.isEmpty(this.connectionModifyRestrictions)) {
             return Collections.emptyList();
         } else {
@@ -503,6 +593,7 @@ public class DataSourceDescriptor
 
     @Override
     public void setModifyPermissions(@Nullable Collection<DBPDataSourcePermission> permissions) {
+        loadDeferredConfiguration();
         if (CommonUtils.isEmpty(permissions)) {
             this.connectionModifyRestrictions = null;
         } else {
@@ -512,6 +603,7 @@ public class DataSourceDescriptor
 
     @Override
     public boolean isDefaultAutoCommit() {
+        loadDeferredConfiguration();
         if (connectionInfo.getBootstrap().getDefaultAutoCommit() != null) {
             return connectionInfo.getBootstrap().getDefaultAutoCommit();
         } else {
@@ -521,6 +613,7 @@ public class DataSourceDescriptor
 
     @Override
     public void setDefaultAutoCommit(final boolean autoCommit) {
+        loadDeferredConfiguration();
         // Save in preferences
         if (autoCommit == getConnectionConfiguration().getConnectionType().isAutocommit()) {
             connectionInfo.getBootstrap().setDefaultAutoCommit(null);
@@ -563,11 +656,13 @@ public class DataSourceDescriptor
 
     @Override
     public Integer getDefaultTransactionsIsolation() {
+        loadDeferredConfiguration();
         return connectionInfo.getBootstrap().getDefaultTransactionIsolation();
     }
 
     @Override
     public void setDefaultTransactionsIsolation(@Nullable final DBPTransactionIsolation isolationLevel) {
+        loadDeferredConfiguration();
         if (isolationLevel == null) {
             connectionInfo.getBootstrap().setDefaultTransactionIsolation(null);
         } else {
@@ -577,16 +672,19 @@ public class DataSourceDescriptor
 
     @Override
     public boolean isExtraMetadataReadEnabled() {
+        loadDeferredConfiguration();
         return !preferenceStore.getBoolean(ModelPreferences.META_DISABLE_EXTRA_READ);
     }
 
     public Collection<FilterMapping> getObjectFilters() {
+        loadDeferredConfiguration();
         return filterMap.values();
     }
 
     @Nullable
     @Override
     public DBSObjectFilter getObjectFilter(Class<?> type, @Nullable DBSObject parentObject, boolean firstMatch) {
+        loadDeferredConfiguration();
         FilterMapping filterMapping = getFilterMapping(type, parentObject, firstMatch);
         if (filterMapping != null) {
             return filterMapping.getFilter(parentObject, firstMatch);
@@ -641,6 +739,7 @@ public class DataSourceDescriptor
 
     @Override
     public void setObjectFilter(Class<?> type, DBSObject parentObject, DBSObjectFilter filter) {
+        loadDeferredConfiguration();
         FilterMapping filterMapping = getFilterMapping(type, parentObject, true);
         if (filterMapping != null) {
             // Update filter
@@ -685,14 +784,17 @@ public class DataSourceDescriptor
     @Override
     @NotNull
     public DBVModel getVirtualModel() {
+        loadDeferredConfiguration();
         return virtualModel;
     }
 
     public boolean hasSharedVirtualModel() {
+        loadDeferredConfiguration();
         return !CommonUtils.equalObjects(virtualModel.getId(), getId());
     }
 
     public void setVirtualModel(@NotNull DBVModel virtualModel) {
+        loadDeferredConfiguration();
         this.virtualModel.dispose();
 
         if (virtualModel.getId().equals(getId())) {
@@ -708,6 +810,7 @@ public class DataSourceDescriptor
 
     @Override
     public DBPNativeClientLocation getClientHome() {
+        loadDeferredConfiguration();
         if (clientHome == null && !CommonUtils.isEmpty(connectionInfo.getClientHomeId())) {
             this.clientHome = DBUtils.findObject(driver.getNativeClientLocations(), connectionInfo.getClientHomeId());
         }
@@ -917,6 +1020,7 @@ public class DataSourceDescriptor
 
     @Override
     public void persistSecrets(DBSSecretController secretController) throws DBException {
+        loadDeferredConfiguration();
         persistSecrets(secretController, false);
     }
 
@@ -1007,6 +1111,7 @@ public class DataSourceDescriptor
 
     @Override
     public void resolveSecrets(DBSSecretController secretController) throws DBException {
+        loadDeferredConfiguration();
         if (!isSharedCredentials()) {
             // try to load private user credentials
             String secretValue = secretController.getPrivateSecretValue(getSecretValueId());
@@ -1042,6 +1147,7 @@ public class DataSourceDescriptor
     }
 
     public boolean connect(DBRProgressMonitor monitor, boolean initialize, boolean reflect) throws DBException {
+        loadDeferredConfiguration();
         if (connecting) {
             log.debug("Can't connect - connect/disconnect is in progress");
             return false;
@@ -1711,11 +1817,13 @@ public class DataSourceDescriptor
     @Nullable
     @Override
     public String getExtension(@NotNull String name) {
+        loadDeferredConfiguration();
         return extensions.get(name);
     }
 
     @Override
     public void setExtension(@NotNull String name, @Nullable String value) {
+        loadDeferredConfiguration();
         if (value == null) {
             this.extensions.remove(name);
         } else {
@@ -1725,16 +1833,19 @@ public class DataSourceDescriptor
 
     @NotNull
     public Map<String, String> getExtensions() {
+        loadDeferredConfiguration();
         return extensions;
     }
 
     public void setExtensions(Map<String, String> extensions) {
+        loadDeferredConfiguration();
         this.extensions.clear();
         this.extensions.putAll(extensions);
     }
 
     @Override
     public DBDDataFormatterProfile getDataFormatterProfile() {
+        loadDeferredConfiguration();
         if (this.formatterProfile == null) {
             this.formatterProfile = new DataFormatterProfile(getId(), preferenceStore);
         }
@@ -1768,11 +1879,13 @@ public class DataSourceDescriptor
     @NotNull
     @Override
     public DataSourcePreferenceStore getPreferenceStore() {
+        loadDeferredConfiguration();
         return preferenceStore;
     }
 
     @Override
     public void resetPassword() {
+        loadDeferredConfiguration();
         connectionInfo.setUserPassword(null);
         ObjectPropertyDescriptor.extractAnnotations(
                 null,
@@ -1853,6 +1966,7 @@ public class DataSourceDescriptor
 
     @Property(order = 30, category = CATEGORY_SERVER)
     public String getPropertyAddress() {
+        loadDeferredConfiguration();
         StringBuilder addr = new StringBuilder();
         if (!CommonUtils.isEmpty(connectionInfo.getHostName())) {
             addr.append(connectionInfo.getHostName());
@@ -1865,11 +1979,13 @@ public class DataSourceDescriptor
 
     @Property(order = 31, category = CATEGORY_SERVER)
     public String getPropertyDatabase() {
+        loadDeferredConfiguration();
         return connectionInfo.getDatabaseName();
     }
 
     @Property(order = 32, category = CATEGORY_SERVER)
     public String getPropertyURL() {
+        loadDeferredConfiguration();
         return connectionInfo.getUrl();
     }
 
@@ -1919,6 +2035,7 @@ public class DataSourceDescriptor
 
     @Property(order = 9)
     public String getPropertyConnectType() {
+        loadDeferredConfiguration();
         return connectionInfo.getConnectionType().getName();
     }
 
@@ -1929,6 +2046,8 @@ public class DataSourceDescriptor
     }
 
     public void copyFrom(DataSourceDescriptor descriptor) {
+        loadDeferredConfiguration();
+        descriptor.loadDeferredConfiguration();
         this.origin = descriptor.origin;
         this.filterMap.clear();
         for (FilterMapping mapping : descriptor.getObjectFilters()) {
@@ -1964,6 +2083,8 @@ public class DataSourceDescriptor
     }
 
     public boolean equalConfiguration(DataSourceDescriptor source) {
+        loadDeferredConfiguration();
+        source.loadDeferredConfiguration();
         return
             CommonUtils.equalObjects(this.savePassword, source.savePassword) &&
                 CommonUtils.equalObjects(this.sharedCredentials, source.sharedCredentials) &&
@@ -2177,6 +2298,7 @@ public class DataSourceDescriptor
     @Nullable
     //TODO move out?
     public String saveToSecret() {
+        loadDeferredConfiguration();
         Map<String, Object> props = new LinkedHashMap<>();
 
         if (isSavePassword()) {
@@ -2237,6 +2359,7 @@ public class DataSourceDescriptor
     }
 
     public void loadFromSecret(@Nullable String secretValue) {
+        loadDeferredConfiguration();
         if (secretValue == null) {
             if (DBWorkbench.isDistributed()) {
                 // In distributed mode we reset saved password in case of null secret
@@ -24,6 +24,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.access.DBAAuthProfile;
 import org.jkiss.dbeaver.model.access.DBACredentialsProvider;
@@ -74,6 +75,7 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     private final List<DBSObjectFilter> savedFilters = new ArrayList<>();
     private final List<DBWNetworkProfile> networkProfiles = new ArrayList<>();
     private final Map<String, DBAAuthProfile> authProfiles = new LinkedHashMap<>();
+    private final Map<DBPDataSourceConfigurationStorage, DataSourceConfigurationJournal> configurationJournals = new HashMap<>();
     private volatile boolean saveInProgress = false;
 
     private final DBVModel.ModelChangeListener modelChangeListener = new DBVModel.ModelChangeListener();
@@ -107,6 +109,14 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         return DBWorkbench.getPlatform().getApplication().isMultiuser();
     }
 
+    /**
+     * Lazy configuration load: only connections index (name, folder, driver, connection type) is parsed
+     * at startup. Other connection settings are parsed on first access.
+     */
+    public boolean isLazyConfigurationLoad() {
+        return !isMultiUser() && preferenceStore.getBoolean(ModelPreferences.CONNECT_LAZY_CONFIGURATION_LOAD);
+    }
+
     @Override
     public void dispose() {
         if (!isMultiUser()) {
@@ -129,6 +139,8 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
 //        if (getProjectNode().isOpen()) {
 //            flushConfig();
 //        }
+        // Changes which are already in the configuration journal are merged into the snapshot though
+        compactConfigurationJournals();
         // Dispose and clear all descriptors
         synchronized (dataSources) {
             for (DataSourceDescriptor dataSourceDescriptor : this.dataSources.values()) {
@@ -646,7 +658,9 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     }
 
     protected void persistDataSourceUpdate(@NotNull DBPDataSourceContainer container) {
-        saveDataSources();
+        if (!saveDataSourceChanges(container, false)) {
+            saveDataSources();
+        }
     }
 
     protected void persistDataFolderDelete(@NotNull String folderPath, boolean dropContents) {
@@ -654,7 +668,81 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     }
 
     protected void persistDataSourceDelete(@NotNull DBPDataSourceContainer container) {
-        saveDataSources();
+        if (!saveDataSourceChanges(container, true)) {
+            saveDataSources();
+        }
+    }
+
+    /**
+     * Appends data source change to the configuration journal.
+     * Returns false if change wasn't saved and the whole configuration must be saved.
+     */
+    protected boolean saveDataSourceChanges(@NotNull DBPDataSourceContainer container, boolean deleted) {
+        if (project.isInMemory()) {
+            return true;
+        }
+        DBPDataSourceConfigurationStorage storage = container.getStorage();
+        if (storage instanceof DataSourceFileStorage && ((DataSourceFileStorage) storage).isLegacy()) {
+            return false;
+        }
+        updateProjectNature();
+        DataSourceConfigurationJournal journal = getConfigurationJournal(storage);
+        saveInProgress = true;
+        try {
+            synchronized (journal) {
+                DataSourceSerializer<T> serializer = createModernSerializer();
+                if (!serializer.saveDataSourceChanges(
+                    new VoidProgressMonitor(),
+                    configurationManager,
+                    storage,
+                    deleted ? List.of() : List.of((T) container),
+                    deleted ? List.of(container.getId()) : List.of()))
+                {
+                    return false;
+                }
+            }
+            try {
+                if (project.isUseSecretStorage() && !configurationManager.isSecure()) {
+                    DBSSecretController
+                        .getProjectSecretController(project)
+                        .flushChanges();
+                }
+                lastError = null;
+            } catch (Throwable e) {
+                log.error("Error saving secured preferences", e);
+                lastError = e;
+            }
+        } catch (Exception ex) {
+            log.error("Error saving datasource configuration changes", ex);
+            return false;
+        } finally {
+            saveInProgress = false;
+        }
+        if (journal.needsCompaction()) {
+            flushConfig();
+        }
+        return true;
+    }
+
+    /**
+     * Merges configuration journals into the snapshots. Called when registry or its project is closed.
+     * Configuration is saved only if some changes were written to the journal.
+     */
+    public void compactConfigurationJournals() {
+        boolean hasEntries;
+        synchronized (configurationJournals) {
+            hasEntries = configurationJournals.values().stream().anyMatch(journal -> journal.getEntryCount() > 0);
+        }
+        if (hasEntries && project.isOpen()) {
+            saveDataSources();
+        }
+    }
+
+    @NotNull
+    DataSourceConfigurationJournal getConfigurationJournal(@NotNull DBPDataSourceConfigurationStorage storage) {
+        synchronized (configurationJournals) {
+            return configurationJournals.computeIfAbsent(storage, DataSourceConfigurationJournal::new);
+        }
     }
 
     @Override
@@ -924,11 +1012,13 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
 
                 try {
                     DataSourceSerializer<T> serializer = createModernSerializer();
-                    serializer.saveDataSources(
-                        monitor,
-                        configurationManager,
-                        storage,
-                        localDataSources);
+                    synchronized (getConfigurationJournal(storage)) {
+                        serializer.saveDataSources(
+                            monitor,
+                            configurationManager,
+                            storage,
+                            localDataSources);
+                    }
                     try {
                         if (project.isUseSecretStorage() && !configurationManager.isSecure()) {
                             DBSSecretController
@@ -45,4 +45,18 @@ public interface DataSourceSerializer<T extends DataSourceDescriptor> {
         @NotNull DataSourceRegistry.ParseResults parseResults,
         @Nullable Collection<String> dataSourceIds
     ) throws DBException, IOException;
+
+    /**
+     * Saves only changed and deleted data sources.
+     * Returns false if changes can't be saved incrementally. In this case whole configuration must be saved.
+     */
+    default boolean saveDataSourceChanges(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @NotNull List<T> changedDataSources,
+        @NotNull Collection<String> deletedDataSourceIds
+    ) throws DBException, IOException {
+        return false;
+    }
 }
@@ -18,6 +18,10 @@ package org.jkiss.dbeaver.registry;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
 import com.google.gson.Strictness;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonWriter;
@@ -80,11 +84,45 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
     private static final String CONFIGURATION_FOLDERS = "folders"; //$NON-NLS-1$
     private static final String ENCRYPTED_CONFIGURATION = "secureProject"; //$NON-NLS-1$
 
+    // Connection attributes which are parsed at startup in lazy configuration load mode
+    private static final Set<String> INDEX_ATTRIBUTES = Set.of(
+        RegistryConstants.ATTR_PROVIDER,
+        RegistryConstants.ATTR_DRIVER,
+        ATTR_ORIGINAL_PROVIDER,
+        ATTR_ORIGINAL_DRIVER,
+        ATTR_DRIVER_SUBSTITUTION,
+        TAG_ORIGIN,
+        RegistryConstants.ATTR_NAME,
+        RegistryConstants.TAG_DESCRIPTION,
+        RegistryConstants.ATTR_SAVE_PASSWORD,
+        RegistryConstants.ATTR_SHARED_CREDENTIALS,
+        RegistryConstants.ATTR_TEMPLATE,
+        ATTR_NAVIGATOR_SHOW_SYSTEM_OBJECTS,
+        ATTR_NAVIGATOR_SHOW_UTIL_OBJECTS,
+        ATTR_NAVIGATOR_SHOW_ONLY_ENTITIES,
+        ATTR_NAVIGATOR_HIDE_FOLDERS,
+        ATTR_NAVIGATOR_HIDE_SCHEMAS,
+        ATTR_NAVIGATOR_HIDE_VIRTUAL,
+        ATTR_NAVIGATOR_MERGE_ENTITIES,
+        RegistryConstants.ATTR_READ_ONLY,
+        RegistryConstants.ATTR_FOLDER,
+        RegistryConstants.ATTR_LOCK_PASSWORD,
+        ATTR_DPI_ENABLED,
+        RegistryConstants.TAG_TAGS
+    );
+
     protected static final Gson CONFIG_GSON = new GsonBuilder()
         .setStrictness(Strictness.LENIENT)
         .serializeNulls()
         .create();
 
+    // Numbers of parsed configuration are doubles. Deferred settings are saved as is, so integers are written back as integers.
+    private static final Gson DEFERRED_CONFIG_GSON = CONFIG_GSON.newBuilder()
+        .registerTypeAdapter(Double.class, (JsonSerializer<Double>) (value, type, context) ->
+            value == Math.rint(value) && Math.abs(value) <= (1L << 53) ?
+                new JsonPrimitive(value.longValue()) : new JsonPrimitive(value))
+        .create();
+
     @NotNull
     private final DataSourceRegistry<T> registry;
     // Secure props.
@@ -92,6 +130,9 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
     //  1 level: object type (connection or handler id)
     //  2 level: map of secured properties
     private final Map<String, Map<String, Map<String, String>>> secureProperties = new LinkedHashMap<>();
+    // Lazy configuration load: credentials file is read on first access
+    private DBPDataSourceConfigurationStorage deferredCredentialsStorage;
+    private DataSourceConfigurationManager deferredCredentialsManager;
     private final boolean isDetachedProcess = DBWorkbench.getPlatform().getApplication().isDetachedProcess();
 
    protected DataSourceSerializerModern(@NotNull DataSourceRegistry<T> registry) {
@@ -105,12 +146,19 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         DBPDataSourceConfigurationStorage configurationStorage,
         List<T> localDataSources
     ) throws DBException, IOException {
+        DataSourceConfigurationJournal journal = getConfigurationJournal(configurationManager, configurationStorage);
+        String journalId = journal == null ? null : journal.generateJournalId();
+
         ByteArrayOutputStream dsConfigBuffer = new ByteArrayOutputStream(10000);
         try (OutputStreamWriter osw = new OutputStreamWriter(dsConfigBuffer, StandardCharsets.UTF_8)) {
             try (JsonWriter jsonWriter = CONFIG_GSON.newJsonWriter(osw)) {
                 jsonWriter.setIndent(JSONUtils.DEFAULT_INDENT);
                 jsonWriter.beginObject();
 
+                if (journalId != null) {
+                    JSONUtils.field(jsonWriter, DataSourceConfigurationJournal.ATTR_JOURNAL_ID, journalId);
+                }
+
                 // Save folders
                 if (configurationStorage.isDefault()) {
                     jsonWriter.name(CONFIGURATION_FOLDERS);
@@ -137,35 +185,14 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
                         // Skip temporary
                         if (!dataSource.isDetached()) {
                             saveDataSource(configurationManager, jsonWriter, dataSource, externalConfigurations);
-                            if (dataSource.getVirtualModel().hasValuableData()) {
-                                virtualModels.put(dataSource.getVirtualModel().getId(), dataSource.getVirtualModel());
-                            }
-                            DBPConnectionType connectionType = dataSource.getConnectionConfiguration().getConnectionType();
-                            /*if (!connectionType.isPredefined()) */{
-                                connectionTypes.put(connectionType.getId(), connectionType);
-                            }
-                            DBPDriver driver = dataSource.getDriver();
-                            if (driver.isCustom() && !driver.getProviderDescriptor().isTemporary()) {
-                                Map<String, DBPDriver> driverMap = drivers.computeIfAbsent(driver.getProviderId(), s -> new LinkedHashMap<>());
-                                driverMap.put(driver.getId(), driver);
-                            }
+                            collectDataSourceReferences(dataSource, virtualModels, connectionTypes, drivers);
                         }
                     }
                     jsonWriter.endObject();
                 }
 
                 if (configurationStorage.isDefault()) {
-                    if (!virtualModels.isEmpty()) {
-                        // Save virtual models
-                        jsonWriter.name("virtual-models");
-                        jsonWriter.beginObject();
-                        jsonWriter.setIndent(JSONUtils.EMPTY_INDENT);
-                        for (DBVModel model : virtualModels.values()) {
-                            model.serialize(monitor, jsonWriter);
-                        }
-                        jsonWriter.endObject();
-                        jsonWriter.setIndent(JSONUtils.DEFAULT_INDENT);
-                    }
+                    saveVirtualModels(monitor, jsonWriter, virtualModels);
                     // Network profiles
                     List<DBWNetworkProfile> profiles = registry.getNetworkProfiles();
                     if (!CommonUtils.isEmpty(profiles)) {
@@ -188,57 +215,9 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
                         }
                         jsonWriter.endArray();
                     }
-                    // Connection types
-                    if (!CommonUtils.isEmpty(connectionTypes)) {
-                        jsonWriter.name("connection-types");
-                        jsonWriter.beginObject();
-                        for (DBPConnectionType ct : connectionTypes.values()) {
-                            jsonWriter.name(ct.getId());
-                            jsonWriter.beginObject();
-                            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_NAME, ct.getName());
-                            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_COLOR, ct.getColor());
-                            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_DESCRIPTION, ct.getDescription());
-                            JSONUtils.field(jsonWriter, "auto-commit", ct.isAutocommit());
-                            JSONUtils.field(jsonWriter, "confirm-execute", ct.isConfirmExecute());
-                            JSONUtils.field(jsonWriter, "confirm-data-change", ct.isConfirmDataChange());
-                            JSONUtils.field(jsonWriter, "smart-commit", ct.isSmartCommit());
-                            JSONUtils.field(jsonWriter, "smart-commit-recover", ct.isSmartCommitRecover());
-                            JSONUtils.field(jsonWriter, "auto-close-transactions", ct.isAutoCloseTransactions());
-                            JSONUtils.field(jsonWriter, "close-transactions-period", ct.getCloseIdleTransactionPeriod());
-                            JSONUtils.field(jsonWriter, "auto-close-connections", ct.isAutoCloseConnections());
-                            JSONUtils.field(jsonWriter, "close-connections-period", ct.getCloseIdleConnectionPeriod());
-                            serializeModifyPermissions(jsonWriter, ct);
-                            jsonWriter.endObject();
-                        }
-                        jsonWriter.endObject();
-                    }
-
-                    // Drivers
-                    if (!CommonUtils.isEmpty(drivers)) {
-                        jsonWriter.name("drivers");
-                        jsonWriter.beginObject();
-                        for (Map.Entry<String, Map<String, DBPDriver>> dmap : drivers.entrySet()) {
-                            jsonWriter.name(dmap.getKey());
-                            jsonWriter.beginObject();
-                            for (DBPDriver driver : dmap.getValue().values()) {
-                                new DriverDescriptorSerializerModern().serializeDriver(
-                                    jsonWriter, (DriverDescriptor) driver, true);
-                            }
-                            jsonWriter.endObject();
-                        }
-                        jsonWriter.endObject();
-                    }
-
-                    // External configurations
-                    if (!DBWorkbench.isDistributed() && !DBWorkbench.getPlatform().getApplication().isMultiuser() && !CommonUtils.isEmpty(externalConfigurations)) {
-                        jsonWriter.name("external-configurations");
-                        jsonWriter.beginObject();
-                        for (Map.Entry<String, DBPExternalConfiguration> ecfg : externalConfigurations.entrySet()) {
-                            jsonWriter.name(ecfg.getKey());
-                            JSONUtils.serializeMap(jsonWriter, ecfg.getValue().getProperties());
-                        }
-                        jsonWriter.endObject();
-                    }
+                    saveConnectionTypes(jsonWriter, connectionTypes);
+                    saveDrivers(jsonWriter, drivers);
+                    saveExternalConfigurations(jsonWriter, externalConfigurations);
                 }
 
                 jsonWriter.endObject();
@@ -258,6 +237,236 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         if (!configurationManager.isSecure()) {
             saveSecureCredentialsFile(configurationManager, configurationStorage);
         }
+
+        if (journal != null) {
+            if (journal.getEntryCount() > 0) {
+                // All journal entries are in the snapshot now
+                configurationManager.writeConfiguration(journal.getJournalName(), null);
+            }
+            journal.setSnapshot(journalId);
+        }
+    }
+
+    @Override
+    public boolean saveDataSourceChanges(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @NotNull List<T> changedDataSources,
+        @NotNull Collection<String> deletedDataSourceIds
+    ) throws DBException, IOException {
+        DataSourceConfigurationJournal journal = getConfigurationJournal(configurationManager, configurationStorage);
+        if (journal == null || journal.getJournalId() == null || journal.needsCompaction()) {
+            // Snapshot must be (re)written first
+            return false;
+        }
+
+        StringWriter entryBuffer = new StringWriter();
+        try (JsonWriter jsonWriter = CONFIG_GSON.newJsonWriter(entryBuffer)) {
+            jsonWriter.setIndent(JSONUtils.DEFAULT_INDENT);
+            jsonWriter.beginObject();
+            JSONUtils.field(jsonWriter, DataSourceConfigurationJournal.ATTR_JOURNAL_ID, journal.getJournalId());
+
+            Map<String, DBVModel> virtualModels = new LinkedHashMap<>();
+            Map<String, DBPConnectionType> connectionTypes = new LinkedHashMap<>();
+            Map<String, Map<String, DBPDriver>> drivers = new LinkedHashMap<>();
+            Map<String, DBPExternalConfiguration> externalConfigurations = new LinkedHashMap<>();
+            jsonWriter.name(DataSourceConfigurationJournal.SECTION_CONNECTIONS);
+            jsonWriter.beginObject();
+            for (T dataSource : changedDataSources) {
+                saveDataSource(configurationManager, jsonWriter, dataSource, externalConfigurations);
+                collectDataSourceReferences(dataSource, virtualModels, connectionTypes, drivers);
+            }
+            jsonWriter.endObject();
+            if (configurationStorage.isDefault()) {
+                saveVirtualModels(monitor, jsonWriter, virtualModels);
+                saveConnectionTypes(jsonWriter, connectionTypes);
+                saveDrivers(jsonWriter, drivers);
+                saveExternalConfigurations(jsonWriter, externalConfigurations);
+            }
+            if (!deletedDataSourceIds.isEmpty()) {
+                JSONUtils.serializeStringList(jsonWriter, DataSourceConfigurationJournal.ATTR_DELETED, deletedDataSourceIds);
+            }
+            jsonWriter.endObject();
+        }
+
+        // Each entry takes a single line. Serializers change indent on their own, so compact it afterwards.
+        String entryLine = CONFIG_GSON.toJson(JsonParser.parseString(entryBuffer.toString()));
+        byte[] entry = (entryLine + "\n").getBytes(StandardCharsets.UTF_8);
+        if (!configurationManager.appendConfiguration(journal.getJournalName(), entry)) {
+            return false;
+        }
+        journal.addEntry(entry.length);
+
+        if (!configurationManager.isSecure() && !registry.getProject().isUseSecretStorage()) {
+            // Credentials are never written to the journal
+            saveSecureCredentialsChanges(configurationManager, configurationStorage, changedDataSources, deletedDataSourceIds);
+        }
+        return true;
+    }
+
+    /**
+     * Updates credentials of changed data sources in the credentials file.
+     * Serializer knows only credentials of the changed data sources, so the rest is read from the file.
+     * File is rewritten only if credentials were actually changed.
+     */
+    private void saveSecureCredentialsChanges(
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @NotNull List<T> changedDataSources,
+        @NotNull Collection<String> deletedDataSourceIds
+    ) throws DBException {
+        Map<String, Map<String, Map<String, String>>> savedCredentials =
+            readSecureCredentials(configurationStorage, configurationManager, null);
+        if (savedCredentials == null) {
+            savedCredentials = new LinkedHashMap<>();
+        }
+        Map<String, Map<String, Map<String, String>>> credentials = new LinkedHashMap<>(savedCredentials);
+        for (T dataSource : changedDataSources) {
+            Map<String, Map<String, String>> dsCredentials = secureProperties.get(dataSource.getId());
+            if (CommonUtils.isEmpty(dsCredentials)) {
+                credentials.remove(dataSource.getId());
+            } else {
+                credentials.put(dataSource.getId(), dsCredentials);
+            }
+        }
+        for (String id : deletedDataSourceIds) {
+            credentials.remove(id);
+        }
+        if (!credentials.equals(savedCredentials)) {
+            secureProperties.clear();
+            secureProperties.putAll(credentials);
+            saveSecureCredentialsFile(configurationManager, configurationStorage);
+        }
+    }
+
+    /**
+     * Journal is used only for the registry's own configuration files.
+     * Other configuration managers (e.g. export buffers) always get the whole configuration.
+     * Journal entries are not encrypted, so encrypted projects do not use journal.
+     */
+    @Nullable
+    private DataSourceConfigurationJournal getConfigurationJournal(
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage
+    ) {
+        if (configurationManager != registry.getConfigurationManager() ||
+            configurationStorage instanceof DataSourceMemoryStorage ||
+            registry.getProject().isEncryptedProject()
+        ) {
+            return null;
+        }
+        return registry.getConfigurationJournal(configurationStorage);
+    }
+
+    private static void collectDataSourceReferences(
+        @NotNull DataSourceDescriptor dataSource,
+        @NotNull Map<String, DBVModel> virtualModels,
+        @NotNull Map<String, DBPConnectionType> connectionTypes,
+        @NotNull Map<String, Map<String, DBPDriver>> drivers
+    ) {
+        // Do not load deferred settings just to save them back
+        DataSourceDescriptor.DeferredConfiguration deferredConfiguration = dataSource.getDeferredConfiguration();
+        DBVModel virtualModel = deferredConfiguration != null ?
+            deferredConfiguration.getVirtualModel() : dataSource.getVirtualModel();
+        if (virtualModel != null && virtualModel.hasValuableData()) {
+            virtualModels.put(virtualModel.getId(), virtualModel);
+        }
+        DBPConnectionType connectionType = deferredConfiguration != null ?
+            deferredConfiguration.getConnectionType() : dataSource.getConnectionConfiguration().getConnectionType();
+        /*if (!connectionType.isPredefined()) */{
+            connectionTypes.put(connectionType.getId(), connectionType);
+        }
+        DBPDriver driver = dataSource.getDriver();
+        if (driver.isCustom() && !driver.getProviderDescriptor().isTemporary()) {
+            Map<String, DBPDriver> driverMap = drivers.computeIfAbsent(driver.getProviderId(), s -> new LinkedHashMap<>());
+            driverMap.put(driver.getId(), driver);
+        }
+    }
+
+    private static void saveVirtualModels(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull JsonWriter jsonWriter,
+        @NotNull Map<String, DBVModel> virtualModels
+    ) throws IOException {
+        if (virtualModels.isEmpty()) {
+            return;
+        }
+        jsonWriter.name(DataSourceConfigurationJournal.SECTION_VIRTUAL_MODELS);
+        jsonWriter.beginObject();
+        jsonWriter.setIndent(JSONUtils.EMPTY_INDENT);
+        for (DBVModel model : virtualModels.values()) {
+            model.serialize(monitor, jsonWriter);
+        }
+        jsonWriter.endObject();
+        jsonWriter.setIndent(JSONUtils.DEFAULT_INDENT);
+    }
+
+    private void saveConnectionTypes(
+        @NotNull JsonWriter jsonWriter,
+        @NotNull Map<String, DBPConnectionType> connectionTypes
+    ) throws IOException {
+        if (CommonUtils.isEmpty(connectionTypes)) {
+            return;
+        }
+        jsonWriter.name(DataSourceConfigurationJournal.SECTION_CONNECTION_TYPES);
+        jsonWriter.beginObject();
+        for (DBPConnectionType ct : connectionTypes.values()) {
+            jsonWriter.name(ct.getId());
+            jsonWriter.beginObject();
+            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_NAME, ct.getName());
+            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_COLOR, ct.getColor());
+            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_DESCRIPTION, ct.getDescription());
+            JSONUtils.field(jsonWriter, "auto-commit", ct.isAutocommit());
+            JSONUtils.field(jsonWriter, "confirm-execute", ct.isConfirmExecute());
+            JSONUtils.field(jsonWriter, "confirm-data-change", ct.isConfirmDataChange());
+            JSONUtils.field(jsonWriter, "smart-commit", ct.isSmartCommit());
+            JSONUtils.field(jsonWriter, "smart-commit-recover", ct.isSmartCommitRecover());
+            JSONUtils.field(jsonWriter, "auto-close-transactions", ct.isAutoCloseTransactions());
+            JSONUtils.field(jsonWriter, "close-transactions-period", ct.getCloseIdleTransactionPeriod());
+            JSONUtils.field(jsonWriter, "auto-close-connections", ct.isAutoCloseConnections());
+            JSONUtils.field(jsonWriter, "close-connections-period", ct.getCloseIdleConnectionPeriod());
+            serializeModifyPermissions(jsonWriter, ct);
+            jsonWriter.endObject();
+        }
+        jsonWriter.endObject();
+    }
+
+    private static void saveDrivers(
+        @NotNull JsonWriter jsonWriter,
+        @NotNull Map<String, Map<String, DBPDriver>> drivers
+    ) throws IOException {
+        if (CommonUtils.isEmpty(drivers)) {
+            return;
+        }
+        jsonWriter.name(DataSourceConfigurationJournal.SECTION_DRIVERS);
+        jsonWriter.beginObject();
+        for (Map.Entry<String, Map<String, DBPDriver>> dmap : drivers.entrySet()) {
+            jsonWriter.name(dmap.getKey());
+            jsonWriter.beginObject();
+            for (DBPDriver driver : dmap.getValue().values()) {
+                new DriverDescriptorSerializerModern().serializeDriver(
+                    jsonWriter, (DriverDescriptor) driver, true);
+            }
+            jsonWriter.endObject();
+        }
+        jsonWriter.endObject();
+    }
+
+    private static void saveExternalConfigurations(
+        @NotNull JsonWriter jsonWriter,
+        @NotNull Map<String, DBPExternalConfiguration> externalConfigurations
+    ) throws IOException {
+        if (DBWorkbench.isDistributed() || DBWorkbench.getPlatform().getApplication().isMultiuser() || CommonUtils.isEmpty(externalConfigurations)) {
+            return;
+        }
+        jsonWriter.name(DataSourceConfigurationJournal.SECTION_EXTERNAL_CONFIGURATIONS);
+        jsonWriter.beginObject();
+        for (Map.Entry<String, DBPExternalConfiguration> ecfg : externalConfigurations.entrySet()) {
+            jsonWriter.name(ecfg.getKey());
+            JSONUtils.serializeMap(jsonWriter, ecfg.getValue().getProperties());
+        }
+        jsonWriter.endObject();
     }
 
     private void saveNetworkProfiles(DataSourceConfigurationManager configurationManager, JsonWriter jsonWriter, List<DBWNetworkProfile> profiles) throws IOException {
@@ -373,6 +582,7 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         @Nullable Collection<String> dataSourceIds
     ) throws DBException, IOException {
         var connectionConfigurationChanged = false;
+        boolean lazyLoad = registry.isLazyConfigurationLoad() && dataSourceIds == null;
 
         // Read in this particular order to handle configuration reading errors first, but process in reverse order later
         Map<String, Map<String, Map<String, String>>> secureCredentialsMap = null;
@@ -419,15 +629,22 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
                 throw new DBInterruptedException("Project secure credentials read canceled by user.");
             }
         }
-        try {
-            secureCredentialsMap = readSecureCredentials(configurationStorage, configurationManager, dataSourceIds);
-        } catch (DBInterruptedException e) {
-            throw e;
-        } catch (DBException e) {
-            log.error(e);
-        }
-        if (secureCredentialsMap != null) {
-            secureProperties.putAll(secureCredentialsMap);
+        // Apply changes saved after the snapshot
+        readConfigurationJournal(configurationStorage, configurationManager, dataSourceIds, configurationMap);
+        if (lazyLoad) {
+            deferredCredentialsStorage = configurationStorage;
+            deferredCredentialsManager = configurationManager;
+        } else {
+            try {
+                secureCredentialsMap = readSecureCredentials(configurationStorage, configurationManager, dataSourceIds);
+            } catch (DBInterruptedException e) {
+                throw e;
+            } catch (DBException e) {
+                log.error(e);
+            }
+            if (secureCredentialsMap != null) {
+                secureProperties.putAll(secureCredentialsMap);
+            }
         }
 
         if (configurationMap != null) {
@@ -584,6 +801,7 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
                 T dataSource = registry.getDataSource(id);
                 boolean newDataSource = (dataSource == null);
                 T oldDataSource = null;
+                Map<String, Object> oldConfiguration = null;
                 if (newDataSource) {
                     DBPDataSourceOrigin origin;
                     Map<String, Object> originProperties = JSONUtils.deserializeProperties(conObject, TAG_ORIGIN);
@@ -605,6 +823,10 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
                         originalDriver,
                         substitutedDriver,
                         new DBPConnectionConfiguration());
+                } else if (lazyLoad && dataSource.getDeferredConfiguration() != null) {
+                    // Settings were not loaded yet, compare source configurations
+                    oldConfiguration = dataSource.getDeferredConfiguration().getSource();
+                    dataSource.setDeferredConfiguration(null);
                 } else {
                     oldDataSource = (T) registry.createDataSource(dataSource);
                     oldDataSource.setId(id);
@@ -639,207 +861,241 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
                 final String folderPath = JSONUtils.getString(conObject, RegistryConstants.ATTR_FOLDER);
                 dataSource.setFolder(folderPath == null ? null : registry.findFolderByPath(folderPath, true, parseResults));
                 dataSource.setLockPasswordHash(CommonUtils.toString(conObject.get(RegistryConstants.ATTR_LOCK_PASSWORD)));
+                dataSource.setTags(
+                    JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_TAGS));
 
-                // Connection settings
-                {
+                // In lazy mode other settings are parsed on first access
+                boolean deferLoad = lazyLoad && oldDataSource == null;
+
+                if (deferLoad) {
+                    // Connection type and color are shown in the navigator
                     Map<String, Object> cfgObject = JSONUtils.getObject(conObject, "configuration");
                     DBPConnectionConfiguration config = dataSource.getConnectionConfiguration();
-                    config.setHostName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_HOST));
-                    config.setHostPort(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_PORT));
-                    config.setServerName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_SERVER));
-                    config.setDatabaseName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_DATABASE));
-                    config.setUrl(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_URL));
-                    {
-                        final SecureCredentials creds = configurationManager.isSecure() ?
-                            readPlainCredentials(cfgObject) :
-                            readSecuredCredentials(dataSource, null, null);
-                        config.setUserName(creds.getUserName());
-                        if (dataSource.isSavePassword() || !CommonUtils.isEmpty(creds.getUserPassword())) {
-                            config.setUserPassword(creds.getUserPassword());
-                        } else {
-                            config.setUserPassword(null);
-                        }
-                        boolean savePasswordApplicable = (!dataSource.getProject()
-                            .isUseSecretStorage() || dataSource.isSharedCredentials());
-                        if (savePasswordApplicable && !CommonUtils.isEmpty(creds.getUserPassword())) {
-                            dataSource.setSavePassword(true);
-                        }
-                        dataSource.getConnectionConfiguration().setAuthProperties(creds.getProperties());
-                        dataSource.resetAllSecrets();
-                    }
-                    {
-                        // Still try to read credentials directly from configuration (#6564)
-                        String userName = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_USER);
-                        if (!CommonUtils.isEmpty(userName)) config.setUserName(userName);
-                        String userPassword = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_PASSWORD);
-                        if (!CommonUtils.isEmpty(userPassword)) config.setUserPassword(userPassword);
-                    }
-
-                    config.setClientHomeId(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_HOME));
-                    config.setConfigProfileSource(JSONUtils.getString(cfgObject, "config-profile-source"));
-                    config.setConfigProfileName(JSONUtils.getString(cfgObject, "config-profile"));
                     config.setConnectionType(
                         DataSourceProviderRegistry.getInstance().getConnectionType(
                             JSONUtils.getString(cfgObject, RegistryConstants.ATTR_TYPE), DBPConnectionType.DEFAULT_TYPE));
-                    String configurationType = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_CONFIGURATION_TYPE);
-                    if (!CommonUtils.isEmpty(configurationType)) {
-                        config.setConfigurationType(CommonUtils.valueOf(DBPDriverConfigurationType.class, configurationType, DBPDriverConfigurationType.MANUAL));
-                    }
                     String colorValue = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_COLOR);
                     if (!CommonUtils.isEmpty(colorValue)) {
                         config.setConnectionColor(colorValue);
                     }
-                    int keepAlive = JSONUtils.getInteger(cfgObject, RegistryConstants.ATTR_KEEP_ALIVE);
-                    if (keepAlive > 0) {
-                        config.setKeepAliveInterval(keepAlive);
-                    }
-                    boolean closeIdleEnabled = JSONUtils.getBoolean(cfgObject, RegistryConstants.ATTR_CLOSE_IDLE_ENABLED);
-                    config.setCloseIdleConnection(closeIdleEnabled);
-                    int closeIdle = JSONUtils.getInteger(cfgObject, RegistryConstants.ATTR_CLOSE_IDLE);
-                    if (closeIdle > 0) {
-                        config.setCloseIdleInterval(closeIdle);
+                    dataSource.setDeferredConfiguration(new DeferredDataSourceConfiguration(
+                        configurationManager, dataSource, conObject, modelMap, originalDriver, substitutedDriver));
+                } else {
+                    parseDataSourceConfiguration(
+                        configurationManager, dataSource, conObject, modelMap, originalDriver, substitutedDriver);
+                }
+                // Add to the list
+                if (newDataSource) {
+                    parseResults.addedDataSources.add(dataSource);
+                    connectionConfigurationChanged = true;
+                } else {
+                    parseResults.updatedDataSources.add(dataSource);
+                    if (oldDataSource == null ? !conObject.equals(oldConfiguration) : !dataSource.equalSettings(oldDataSource)) {
+                        connectionConfigurationChanged = true;
                     }
+                }
+            }
 
-                    config.setProperties(JSONUtils.deserializeStringMap(cfgObject, RegistryConstants.TAG_PROPERTIES));
-                    config.setProviderProperties(JSONUtils.deserializeStringMap(cfgObject, RegistryConstants.TAG_PROVIDER_PROPERTIES));
-                    config.setAuthModelId(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_AUTH_MODEL));
-                    //backward compatibility
-                    //in the current version the configuration should not contain auth-properties, they should be in secrets
-                    if (cfgObject.containsKey(RegistryConstants.TAG_AUTH_PROPERTIES)) {
-                        config.setAuthProperties(JSONUtils.deserializeStringMapOrNull(cfgObject, RegistryConstants.TAG_AUTH_PROPERTIES));
-                    }
+            // Saved filters
+            for (Map<String, Object> ctMap : JSONUtils.getObjectList(configurationMap, "saved-filters")) {
+                DBSObjectFilter filter = readObjectFiler(ctMap);
+                registry.addSavedFilter(filter);
+            }
+        }
+        return connectionConfigurationChanged;
 
-                    // Events
-                    for (Map.Entry<String, Map<String, Object>> eventObject : JSONUtils.getNestedObjects(cfgObject, RegistryConstants.TAG_EVENTS)) {
-                        DBPConnectionEventType eventType = CommonUtils.valueOf(DBPConnectionEventType.class, eventObject.getKey(), DBPConnectionEventType.BEFORE_CONNECT);
-                        Map<String, Object> eventCfg = eventObject.getValue();
-                        DBRShellCommand command = new DBRShellCommand("");
-                        command.setEnabled(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_ENABLED));
-                        command.setShowProcessPanel(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_SHOW_PANEL));
-                        command.setWaitProcessFinish(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_WAIT_PROCESS));
-                        if (command.isWaitProcessFinish()) {
-                            command.setWaitProcessTimeoutMs(JSONUtils.getInteger(eventCfg, RegistryConstants.ATTR_WAIT_PROCESS_TIMEOUT));
-                        }
-                        command.setTerminateAtDisconnect(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_TERMINATE_AT_DISCONNECT));
-                        command.setPauseAfterExecute(JSONUtils.getInteger(eventCfg, RegistryConstants.ATTR_PAUSE_AFTER_EXECUTE));
-                        command.setWorkingDirectory(JSONUtils.getString(eventCfg, RegistryConstants.ATTR_WORKING_DIRECTORY));
-                        command.setCommand(JSONUtils.getString(eventCfg, RegistryConstants.ATTR_COMMAND));
+    }
 
-                        config.setEvent(eventType, command);
-                    }
+    /**
+     * Parses connection settings. Connection index attributes (name, folder, driver, etc) are parsed separately.
+     */
+    private void parseDataSourceConfiguration(
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull T dataSource,
+        @NotNull Map<String, Object> conObject,
+        @NotNull Map<String, DBVModel> modelMap,
+        @NotNull DriverDescriptor originalDriver,
+        @NotNull DriverDescriptor substitutedDriver
+    ) {
+        String id = dataSource.getId();
+        // Connection settings
+        {
+            Map<String, Object> cfgObject = JSONUtils.getObject(conObject, "configuration");
+            DBPConnectionConfiguration config = dataSource.getConnectionConfiguration();
+            config.setHostName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_HOST));
+            config.setHostPort(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_PORT));
+            config.setServerName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_SERVER));
+            config.setDatabaseName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_DATABASE));
+            config.setUrl(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_URL));
+            {
+                final SecureCredentials creds = configurationManager.isSecure() ?
+                    readPlainCredentials(cfgObject) :
+                    readSecuredCredentials(dataSource, null, null);
+                config.setUserName(creds.getUserName());
+                if (dataSource.isSavePassword() || !CommonUtils.isEmpty(creds.getUserPassword())) {
+                    config.setUserPassword(creds.getUserPassword());
+                } else {
+                    config.setUserPassword(null);
+                }
+                boolean savePasswordApplicable = (!dataSource.getProject()
+                    .isUseSecretStorage() || dataSource.isSharedCredentials());
+                if (savePasswordApplicable && !CommonUtils.isEmpty(creds.getUserPassword())) {
+                    dataSource.setSavePassword(true);
+                }
+                dataSource.getConnectionConfiguration().setAuthProperties(creds.getProperties());
+                dataSource.resetAllSecrets();
+            }
+            {
+                // Still try to read credentials directly from configuration (#6564)
+                String userName = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_USER);
+                if (!CommonUtils.isEmpty(userName)) config.setUserName(userName);
+                String userPassword = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_PASSWORD);
+                if (!CommonUtils.isEmpty(userPassword)) config.setUserPassword(userPassword);
+            }
 
-                    // Handlers
-                    for (Map.Entry<String, Map<String, Object>> handlerObject : JSONUtils.getNestedObjects(cfgObject, RegistryConstants.TAG_HANDLERS)) {
-                        DBWHandlerConfiguration configuration = parseNetworkHandlerConfig(configurationManager, dataSource, null, handlerObject);
-                        if (configuration != null) {
-                            dataSource.getConnectionConfiguration().updateHandler(configuration);
-                        }
-                    }
+            config.setClientHomeId(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_HOME));
+            config.setConfigProfileSource(JSONUtils.getString(cfgObject, "config-profile-source"));
+            config.setConfigProfileName(JSONUtils.getString(cfgObject, "config-profile"));
+            config.setConnectionType(
+                DataSourceProviderRegistry.getInstance().getConnectionType(
+                    JSONUtils.getString(cfgObject, RegistryConstants.ATTR_TYPE), DBPConnectionType.DEFAULT_TYPE));
+            String configurationType = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_CONFIGURATION_TYPE);
+            if (!CommonUtils.isEmpty(configurationType)) {
+                config.setConfigurationType(CommonUtils.valueOf(DBPDriverConfigurationType.class, configurationType, DBPDriverConfigurationType.MANUAL));
+            }
+            String colorValue = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_COLOR);
+            if (!CommonUtils.isEmpty(colorValue)) {
+                config.setConnectionColor(colorValue);
+            }
+            int keepAlive = JSONUtils.getInteger(cfgObject, RegistryConstants.ATTR_KEEP_ALIVE);
+            if (keepAlive > 0) {
+                config.setKeepAliveInterval(keepAlive);
+            }
+            boolean closeIdleEnabled = JSONUtils.getBoolean(cfgObject, RegistryConstants.ATTR_CLOSE_IDLE_ENABLED);
+            config.setCloseIdleConnection(closeIdleEnabled);
+            int closeIdle = JSONUtils.getInteger(cfgObject, RegistryConstants.ATTR_CLOSE_IDLE);
+            if (closeIdle > 0) {
+                config.setCloseIdleInterval(closeIdle);
+            }
 
-                    // Bootstrap
-                    Map<String, Object> bootstrapCfg = JSONUtils.getObject(cfgObject, RegistryConstants.TAG_BOOTSTRAP);
-                    DBPConnectionBootstrap bootstrap = config.getBootstrap();
-                    if (bootstrapCfg.containsKey(RegistryConstants.ATTR_AUTOCOMMIT)) {
-                        bootstrap.setDefaultAutoCommit(JSONUtils.getBoolean(bootstrapCfg, RegistryConstants.ATTR_AUTOCOMMIT));
-                    }
-                    if (bootstrapCfg.containsKey(RegistryConstants.ATTR_TXN_ISOLATION)) {
-                        bootstrap.setDefaultTransactionIsolation(JSONUtils.getInteger(bootstrapCfg, RegistryConstants.ATTR_TXN_ISOLATION));
-                    }
-                    bootstrap.setDefaultCatalogName(JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_CATALOG));
-                    bootstrap.setDefaultSchemaName(JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_SCHEMA));
-                    String defObjectName = JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_OBJECT);
-                    if (!CommonUtils.isEmpty(defObjectName) && CommonUtils.isEmpty(bootstrap.getDefaultSchemaName())) {
-                        bootstrap.setDefaultSchemaName(JSONUtils.getString(bootstrapCfg, defObjectName));
-                    }
+            config.setProperties(JSONUtils.deserializeStringMap(cfgObject, RegistryConstants.TAG_PROPERTIES));
+            config.setProviderProperties(JSONUtils.deserializeStringMap(cfgObject, RegistryConstants.TAG_PROVIDER_PROPERTIES));
+            config.setAuthModelId(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_AUTH_MODEL));
+            //backward compatibility
+            //in the current version the configuration should not contain auth-properties, they should be in secrets
+            if (cfgObject.containsKey(RegistryConstants.TAG_AUTH_PROPERTIES)) {
+                config.setAuthProperties(JSONUtils.deserializeStringMapOrNull(cfgObject, RegistryConstants.TAG_AUTH_PROPERTIES));
+            }
 
-                    if (bootstrapCfg.containsKey(RegistryConstants.ATTR_IGNORE_ERRORS)) {
-                        bootstrap.setIgnoreErrors(JSONUtils.getBoolean(bootstrapCfg, RegistryConstants.ATTR_IGNORE_ERRORS));
-                    }
-                    bootstrap.setInitQueries(JSONUtils.deserializeStringList(bootstrapCfg, RegistryConstants.TAG_QUERY));
-
-                    if (originalDriver != substitutedDriver) {
-                        if (substitutedDriver.getProviderDescriptor().supportsDriverMigration()) {
-                            final DBPDataSourceProvider dataSourceProvider = substitutedDriver.getDataSourceProvider();
-                            if (dataSourceProvider instanceof DBPConnectionConfigurationMigrator migrator) {
-                                if (migrator.migrationRequired(config)) {
-                                    final DBPConnectionConfiguration migrated = new DBPConnectionConfiguration(config);
-                                    try {
-                                        migrator.migrateConfiguration(config, migrated);
-                                        dataSource.setConnectionInfo(migrated);
-                                        log.debug("Connection configuration for data source '" + id + "' was migrated successfully");
-                                    } catch (DBException e) {
-                                        log.error("Unable to migrate connection configuration for data source '" + id + "'", e);
-                                    }
-                                }
-                            }
-                        }
-                    }
+            // Events
+            for (Map.Entry<String, Map<String, Object>> eventObject : JSONUtils.getNestedObjects(cfgObject, RegistryConstants.TAG_EVENTS)) {
+                DBPConnectionEventType eventType = CommonUtils.valueOf(DBPConnectionEventType.class, eventObject.getKey(), DBPConnectionEventType.BEFORE_CONNECT);
+                Map<String, Object> eventCfg = eventObject.getValue();
+                DBRShellCommand command = new DBRShellCommand("");
+                command.setEnabled(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_ENABLED));
+                command.setShowProcessPanel(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_SHOW_PANEL));
+                command.setWaitProcessFinish(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_WAIT_PROCESS));
+                if (command.isWaitProcessFinish()) {
+                    command.setWaitProcessTimeoutMs(JSONUtils.getInteger(eventCfg, RegistryConstants.ATTR_WAIT_PROCESS_TIMEOUT));
                 }
+                command.setTerminateAtDisconnect(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_TERMINATE_AT_DISCONNECT));
+                command.setPauseAfterExecute(JSONUtils.getInteger(eventCfg, RegistryConstants.ATTR_PAUSE_AFTER_EXECUTE));
+                command.setWorkingDirectory(JSONUtils.getString(eventCfg, RegistryConstants.ATTR_WORKING_DIRECTORY));
+                command.setCommand(JSONUtils.getString(eventCfg, RegistryConstants.ATTR_COMMAND));
 
-                // Permissions
-                {
-                    deserializeModifyPermissions(conObject, dataSource);
-                }
+                config.setEvent(eventType, command);
+            }
 
-                // Filters
-                for (Map<String, Object> filterCfg : JSONUtils.getObjectList(conObject, RegistryConstants.TAG_FILTERS)) {
-                    String typeName = JSONUtils.getString(filterCfg, RegistryConstants.ATTR_TYPE);
-                    String objectID = JSONUtils.getString(filterCfg, RegistryConstants.ATTR_ID);
-                    if (!CommonUtils.isEmpty(typeName)) {
-                        DBSObjectFilter filter = readObjectFiler(filterCfg);
-                        dataSource.updateObjectFilter(typeName, objectID, filter);
-                    }
+            // Handlers
+            for (Map.Entry<String, Map<String, Object>> handlerObject : JSONUtils.getNestedObjects(cfgObject, RegistryConstants.TAG_HANDLERS)) {
+                DBWHandlerConfiguration configuration = parseNetworkHandlerConfig(configurationManager, dataSource, null, handlerObject);
+                if (configuration != null) {
+                    dataSource.getConnectionConfiguration().updateHandler(configuration);
                 }
+            }
 
-                {
-                    // Extensions
-                    if (conObject.containsKey(RegistryConstants.TAG_PROPERTIES)) {
-                        // Backward compatibility
-                        dataSource.setExtensions(
-                            JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_PROPERTIES));
-                    } else {
-                        dataSource.setExtensions(
-                            JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_EXTENSIONS));
+            // Bootstrap
+            Map<String, Object> bootstrapCfg = JSONUtils.getObject(cfgObject, RegistryConstants.TAG_BOOTSTRAP);
+            DBPConnectionBootstrap bootstrap = config.getBootstrap();
+            if (bootstrapCfg.containsKey(RegistryConstants.ATTR_AUTOCOMMIT)) {
+                bootstrap.setDefaultAutoCommit(JSONUtils.getBoolean(bootstrapCfg, RegistryConstants.ATTR_AUTOCOMMIT));
+            }
+            if (bootstrapCfg.containsKey(RegistryConstants.ATTR_TXN_ISOLATION)) {
+                bootstrap.setDefaultTransactionIsolation(JSONUtils.getInteger(bootstrapCfg, RegistryConstants.ATTR_TXN_ISOLATION));
+            }
+            bootstrap.setDefaultCatalogName(JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_CATALOG));
+            bootstrap.setDefaultSchemaName(JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_SCHEMA));
+            String defObjectName = JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_OBJECT);
+            if (!CommonUtils.isEmpty(defObjectName) && CommonUtils.isEmpty(bootstrap.getDefaultSchemaName())) {
+                bootstrap.setDefaultSchemaName(JSONUtils.getString(bootstrapCfg, defObjectName));
+            }
+
+            if (bootstrapCfg.containsKey(RegistryConstants.ATTR_IGNORE_ERRORS)) {
+                bootstrap.setIgnoreErrors(JSONUtils.getBoolean(bootstrapCfg, RegistryConstants.ATTR_IGNORE_ERRORS));
+            }
+            bootstrap.setInitQueries(JSONUtils.deserializeStringList(bootstrapCfg, RegistryConstants.TAG_QUERY));
+
+            if (originalDriver != substitutedDriver) {
+                if (substitutedDriver.getProviderDescriptor().supportsDriverMigration()) {
+                    final DBPDataSourceProvider dataSourceProvider = substitutedDriver.getDataSourceProvider();
+                    if (dataSourceProvider instanceof DBPConnectionConfigurationMigrator migrator) {
+                        if (migrator.migrationRequired(config)) {
+                            final DBPConnectionConfiguration migrated = new DBPConnectionConfiguration(config);
+                            try {
+                                migrator.migrateConfiguration(config, migrated);
+                                dataSource.setConnectionInfo(migrated);
+                                log.debug("Connection configuration for data source '" + id + "' was migrated successfully");
+                            } catch (DBException e) {
+                                log.error("Unable to migrate connection configuration for data source '" + id + "'", e);
+                            }
+                        }
                     }
                 }
-                dataSource.setTags(
-                    JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_TAGS));
+            }
+        }
 
-                // Preferences
-                Map<String, String> preferenceProperties = dataSource.getPreferenceStore().getProperties();
-                preferenceProperties.clear();
-                preferenceProperties.putAll(
-                    JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_CUSTOM_PROPERTIES)
-                );
-
-                // Virtual model
-                String vmID = CommonUtils.toString(conObject.get("virtual-model-id"), id);
-                DBVModel dbvModel = modelMap.get(vmID);
-                if (dbvModel != null) {
-                    dataSource.setVirtualModel(dbvModel);
-                }
+        // Permissions
+        {
+            deserializeModifyPermissions(conObject, dataSource);
+        }
 
-                deserializeAdditionalProperties(dataSource, conObject);
-                // Add to the list
-                if (newDataSource) {
-                    parseResults.addedDataSources.add(dataSource);
-                    connectionConfigurationChanged = true;
-                } else {
-                    parseResults.updatedDataSources.add(dataSource);
-                    if (!dataSource.equalSettings(oldDataSource)) {
-                        connectionConfigurationChanged = true;
-                    }
-                }
+        // Filters
+        for (Map<String, Object> filterCfg : JSONUtils.getObjectList(conObject, RegistryConstants.TAG_FILTERS)) {
+            String typeName = JSONUtils.getString(filterCfg, RegistryConstants.ATTR_TYPE);
+            String objectID = JSONUtils.getString(filterCfg, RegistryConstants.ATTR_ID);
+            if (!CommonUtils.isEmpty(typeName)) {
+                DBSObjectFilter filter = readObjectFiler(filterCfg);
+                dataSource.updateObjectFilter(typeName, objectID, filter);
             }
+        }
 
-            // Saved filters
-            for (Map<String, Object> ctMap : JSONUtils.getObjectList(configurationMap, "saved-filters")) {
-                DBSObjectFilter filter = readObjectFiler(ctMap);
-                registry.addSavedFilter(filter);
+        {
+            // Extensions
+            if (conObject.containsKey(RegistryConstants.TAG_PROPERTIES)) {
+                // Backward compatibility
+                dataSource.setExtensions(
+                    JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_PROPERTIES));
+            } else {
+                dataSource.setExtensions(
+                    JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_EXTENSIONS));
             }
         }
-        return connectionConfigurationChanged;
 
+        // Preferences
+        Map<String, String> preferenceProperties = dataSource.getPreferenceStore().getProperties();
+        preferenceProperties.clear();
+        preferenceProperties.putAll(
+            JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_CUSTOM_PROPERTIES)
+        );
+
+        // Virtual model
+        String vmID = CommonUtils.toString(conObject.get("virtual-model-id"), id);
+        DBVModel dbvModel = modelMap.get(vmID);
+        if (dbvModel != null) {
+            dataSource.setVirtualModel(dbvModel);
+        }
+
+        deserializeAdditionalProperties(dataSource, conObject);
     }
 
     /**
@@ -876,6 +1132,74 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         }
     }
 
+    private void readConfigurationJournal(
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @Nullable Collection<String> dataSourceIds,
+        @Nullable Map<String, Object> configurationMap
+    ) throws DBException, IOException {
+        DataSourceConfigurationJournal journal = getConfigurationJournal(configurationManager, configurationStorage);
+        if (journal == null) {
+            return;
+        }
+        String journalId = configurationMap == null ?
+            null : JSONUtils.getString(configurationMap, DataSourceConfigurationJournal.ATTR_JOURNAL_ID);
+        journal.setSnapshot(journalId);
+        if (journalId == null) {
+            // Snapshot was written without journal
+            return;
+        }
+        try (InputStream is = configurationManager.readConfiguration(journal.getJournalName(), dataSourceIds)) {
+            if (is == null) {
+                return;
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> entry;
+                try {
+                    entry = JSONUtils.parseMap(CONFIG_GSON, new StringReader(line));
+                } catch (JsonParseException e) {
+                    // The last entry may be incomplete if write was interrupted
+                    log.warn("Skip broken entry of configuration journal " + journal.getJournalName(), e);
+                    continue;
+                }
+                if (!journalId.equals(JSONUtils.getString(entry, DataSourceConfigurationJournal.ATTR_JOURNAL_ID))) {
+                    // Entry was written before the current snapshot
+                    continue;
+                }
+                DataSourceConfigurationJournal.applyEntry(configurationMap, entry);
+                journal.addEntry(line.length() + 1);
+            }
+        }
+    }
+
+    /**
+     * Reads credentials file if it was deferred by lazy configuration load
+     */
+    private void loadDeferredCredentials() {
+        synchronized (secureProperties) {
+            if (deferredCredentialsStorage == null) {
+                return;
+            }
+            DBPDataSourceConfigurationStorage configurationStorage = deferredCredentialsStorage;
+            DataSourceConfigurationManager configurationManager = deferredCredentialsManager;
+            deferredCredentialsStorage = null;
+            deferredCredentialsManager = null;
+            Map<String, Map<String, Map<String, String>>> secureCredentialsMap = null;
+            try {
+                secureCredentialsMap = readSecureCredentials(configurationStorage, configurationManager, null);
+            } catch (DBException e) {
+                log.error(e);
+            }
+            if (secureCredentialsMap != null) {
+                secureProperties.putAll(secureCredentialsMap);
+            }
+        }
+    }
+
     @Nullable
     private Map<String, Object> readConfiguration(
         @NotNull DBPDataSourceConfigurationStorage configurationStorage,
@@ -1117,6 +1441,13 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         }
         if (dataSource.isDetachedProcessEnabled()) JSONUtils.field(json, ATTR_DPI_ENABLED, true);
 
+        DataSourceDescriptor.DeferredConfiguration deferredConfiguration = dataSource.getDeferredConfiguration();
+        if (deferredConfiguration != null) {
+            // Settings were not loaded yet (lazy configuration load), save them as is
+            saveDeferredConfiguration(configurationManager, json, dataSource, deferredConfiguration);
+            return;
+        }
+
         if (dataSource.hasSharedVirtualModel()) {
             JSONUtils.field(json, "virtual-model-id", dataSource.getVirtualModel().getId());
         }
@@ -1300,6 +1631,35 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         }
     }
 
+    private void saveDeferredConfiguration(
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull JsonWriter json,
+        @NotNull T dataSource,
+        @NotNull DataSourceDescriptor.DeferredConfiguration configuration
+    ) throws IOException {
+        boolean tagsSaved = false;
+        for (Map.Entry<String, Object> attr : configuration.getSource().entrySet()) {
+            if (attr.getKey().equals(RegistryConstants.TAG_TAGS)) {
+                // Tags are parsed eagerly and may be changed, keep their position
+                JSONUtils.serializeProperties(json, RegistryConstants.TAG_TAGS, dataSource.getTags(), true);
+                tagsSaved = true;
+            } else if (!INDEX_ATTRIBUTES.contains(attr.getKey())) {
+                json.name(attr.getKey());
+                DEFERRED_CONFIG_GSON.toJson(attr.getValue(), Object.class, json);
+            }
+        }
+        if (!tagsSaved) {
+            JSONUtils.serializeProperties(json, RegistryConstants.TAG_TAGS, dataSource.getTags(), true);
+        }
+
+        if (!dataSource.getProject().isUseSecretStorage() && !configurationManager.isSecure()) {
+            Map<String, Map<String, String>> credentials = configuration.getSecureCredentials();
+            if (!CommonUtils.isEmpty(credentials)) {
+                secureProperties.put(dataSource.getId(), credentials);
+            }
+        }
+    }
+
     private void saveNetworkHandlerConfiguration(
         @NotNull DataSourceConfigurationManager configurationManager,
         @NotNull JsonWriter json,
@@ -1426,6 +1786,7 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         @Nullable String subNode)
     {
         assert dataSource != null || profile != null;
+        loadDeferredCredentials();
 
         SecureCredentials creds = new SecureCredentials();
 
@@ -1455,6 +1816,75 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         return creds;
     }
 
+    /**
+     * Connection settings which are parsed on first access (lazy configuration load)
+     */
+    private class DeferredDataSourceConfiguration implements DataSourceDescriptor.DeferredConfiguration {
+        @NotNull
+        private final DataSourceConfigurationManager configurationManager;
+        @NotNull
+        private final T dataSource;
+        @NotNull
+        private final Map<String, Object> conObject;
+        @NotNull
+        private final Map<String, DBVModel> modelMap;
+        @NotNull
+        private final DriverDescriptor originalDriver;
+        @NotNull
+        private final DriverDescriptor substitutedDriver;
+
+        DeferredDataSourceConfiguration(
+            @NotNull DataSourceConfigurationManager configurationManager,
+            @NotNull T dataSource,
+            @NotNull Map<String, Object> conObject,
+            @NotNull Map<String, DBVModel> modelMap,
+            @NotNull DriverDescriptor originalDriver,
+            @NotNull DriverDescriptor substitutedDriver
+        ) {
+            this.configurationManager = configurationManager;
+            this.dataSource = dataSource;
+            this.conObject = conObject;
+            this.modelMap = modelMap;
+            this.originalDriver = originalDriver;
+            this.substitutedDriver = substitutedDriver;
+        }
+
+        @NotNull
+        @Override
+        public Map<String, Object> getSource() {
+            return conObject;
+        }
+
+        @Nullable
+        @Override
+        public Map<String, Map<String, String>> getSecureCredentials() {
+            loadDeferredCredentials();
+            synchronized (secureProperties) {
+                return secureProperties.get(dataSource.getId());
+            }
+        }
+
+        @NotNull
+        @Override
+        public DBPConnectionType getConnectionType() {
+            return DataSourceProviderRegistry.getInstance().getConnectionType(
+                JSONUtils.getString(JSONUtils.getObject(conObject, "configuration"), RegistryConstants.ATTR_TYPE),
+                DBPConnectionType.DEFAULT_TYPE);
+        }
+
+        @Nullable
+        @Override
+        public DBVModel getVirtualModel() {
+            return modelMap.get(CommonUtils.toString(conObject.get("virtual-model-id"), dataSource.getId()));
+        }
+
+        @Override
+        public void load() {
+            parseDataSourceConfiguration(
+                configurationManager, dataSource, conObject, modelMap, originalDriver, substitutedDriver);
+        }
+    }
+
     @NotNull
     private static DriverDescriptor getReplacementDriver(@NotNull DriverDescriptor driver) {
         DriverDescriptor replacement = driver;
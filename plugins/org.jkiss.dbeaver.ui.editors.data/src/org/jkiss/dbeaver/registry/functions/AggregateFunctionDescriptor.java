@@ -35,6 +35,7 @@ public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
     private final String label;
     private final String description;
     private final ObjectType implClass;
+    private final ObjectType approximateImplClass;
     private final DBPImage icon;
     private final String type;
     private final boolean isDefault;
@@ -46,6 +47,8 @@ public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
         this.label = config.getAttribute("label");
         this.description = config.getAttribute("description");
         this.implClass = new ObjectType(config.getAttribute("class"));
+        String approximateClass = config.getAttribute("approximateClass");
+        this.approximateImplClass = CommonUtils.isEmpty(approximateClass) ? null : new ObjectType(approximateClass);
         this.icon = iconToImage(config.getAttribute("icon"));
         this.type = config.getAttribute("type");
         this.isDefault = CommonUtils.toBoolean(config.getAttribute("default"));
@@ -81,4 +84,23 @@ public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
         return implClass.createInstance(IAggregateFunction.class);
     }
 
+    /**
+     * Function has bounded memory implementation which may return estimated results
+     */
+    public boolean hasApproximateFunction() {
+        return approximateImplClass != null;
+    }
+
+    /**
+     * Creates approximate implementation if requested and available, exact implementation otherwise
+     */
+    public IAggregateFunction createFunction(boolean approximate)
+        throws DBException
+    {
+        if (approximate && approximateImplClass != null) {
+            return approximateImplClass.createInstance(IAggregateFunction.class);
+        }
+        return createFunction();
+    }
+
 }
@@ -0,0 +1,616 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Columnar storage of result set rows.
+ *
+ * Each column keeps values in arrays of primitives chosen by the class of the column values:
+ * integers, floating point and small decimals are kept in long/double arrays, date/time values as epoch offsets,
+ * strings are dictionary-encoded. NULLs are tracked in a bitmap.
+ * Values are boxed back to the original class on read, so readers can't tell the difference from plain rows.
+ * If a column gets a value which can't be kept in its primitive form then the column falls back to plain object array.
+ *
+ * Store is append-only. Row modifications are kept in rows (see {@link ResultSetRow}).
+ * Not thread-safe, rows are appended and read in the same way as model rows list.
+ */
+final class ResultSetColumnStore implements ResultSetRowStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Column[] columns;
+    private int rowCount;
+    private int capacity;
+
+    ResultSetColumnStore(int columnCount) {
+        this.columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = new NullColumn();
+        }
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns approximate heap size of stored values in bytes
+     */
+    long getMemorySize() {
+        long size = 0;
+        for (Column column : columns) {
+            size += column.getMemorySize();
+        }
+        return size;
+    }
+
+    /**
+     * Appends row values. Returns index of the row in the store.
+     */
+    int appendRow(@NotNull Object[] values) {
+        if (rowCount == capacity) {
+            grow(rowCount + 1);
+        }
+        int row = rowCount++;
+        for (int i = 0; i < columns.length; i++) {
+            setValue(row, i, i < values.length ? values[i] : null);
+        }
+        return row;
+    }
+
+    @Nullable
+    @Override
+    public Object getValue(int row, int column) {
+        return columns[column].get(row);
+    }
+
+    /**
+     * Materializes row values. Returns a copy: each call allocates a new array and new boxed/date/timestamp objects.
+     * Use {@link #getValue(int, int)} to read separate values.
+     */
+    @NotNull
+    @Override
+    public Object[] getRow(int row) {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].get(row);
+        }
+        return values;
+    }
+
+    @Override
+    public void releaseRow(int row) {
+        for (Column column : columns) {
+            if (column instanceof ObjectColumn) {
+                DBUtils.releaseValue(column.get(row));
+            }
+        }
+    }
+
+    private void setValue(int row, int column, @Nullable Object value) {
+        Column storage = columns[column];
+        if (value == null) {
+            storage.setNull(row);
+            return;
+        }
+        if (!storage.set(row, value)) {
+            // Column type doesn't fit, switch to a new storage
+            Column newStorage = storage instanceof NullColumn ? createColumn(value) : new ObjectColumn();
+            newStorage.ensureCapacity(capacity);
+            for (int i = 0; i < row; i++) {
+                Object oldValue = storage.get(i);
+                if (oldValue == null) {
+                    newStorage.setNull(i);
+                } else if (!newStorage.set(i, oldValue)) {
+                    throw new IllegalStateException("Can't convert column storage");
+                }
+            }
+            if (!newStorage.set(row, value)) {
+                // First value doesn't fit primitive form (e.g. huge decimal). All previous values are NULLs.
+                newStorage = new ObjectColumn();
+                newStorage.ensureCapacity(capacity);
+                newStorage.set(row, value);
+            }
+            columns[column] = newStorage;
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, capacity < INITIAL_CAPACITY ? INITIAL_CAPACITY : capacity + (capacity >> 1));
+        for (Column column : columns) {
+            column.ensureCapacity(newCapacity);
+        }
+        capacity = newCapacity;
+    }
+
+    @NotNull
+    private static Column createColumn(@NotNull Object value) {
+        Class<?> type = value.getClass();
+        for (byte kind = 0; kind < LongColumn.KIND_CLASSES.length; kind++) {
+            if (type == LongColumn.KIND_CLASSES[kind]) {
+                return new LongColumn(kind);
+            }
+        }
+        if (type == Double.class || type == Float.class) {
+            return new DoubleColumn(type == Float.class);
+        } else if (type == BigDecimal.class) {
+            return new DecimalColumn();
+        } else if (type == Boolean.class) {
+            return new BooleanColumn();
+        } else if (type == String.class) {
+            return new StringColumn();
+        } else if (type == java.sql.Timestamp.class || type == LocalDateTime.class) {
+            return new TimestampColumn(type == LocalDateTime.class);
+        }
+        return new ObjectColumn();
+    }
+
+    private static long estimateObjectSize(@NotNull Object value) {
+        if (value instanceof String str) {
+            return 40 + 2L * str.length();
+        } else if (value instanceof byte[] bytes) {
+            return 16 + bytes.length;
+        }
+        return 32;
+    }
+
+    private abstract static class Column {
+        abstract void ensureCapacity(int capacity);
+
+        abstract long getMemorySize();
+
+        @Nullable
+        abstract Object get(int row);
+
+        /**
+         * Returns false if value can't be stored in this column
+         */
+        abstract boolean set(int row, @NotNull Object value);
+
+        abstract void setNull(int row);
+    }
+
+    /**
+     * Column with no values yet
+     */
+    private static class NullColumn extends Column {
+        @Override
+        void ensureCapacity(int capacity) {
+        }
+
+        @Override
+        long getMemorySize() {
+            return 0;
+        }
+
+        @Override
+        Object get(int row) {
+            return null;
+        }
+
+        @Override
+        boolean set(int row, @NotNull Object value) {
+            return false;
+        }
+
+        @Override
+        void setNull(int row) {
+        }
+    }
+
+    private static class ObjectColumn extends Column {
+        private Object[] values = new Object[0];
+        private long objectsSize;
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        long getMemorySize() {
+            return 8L * values.length + objectsSize;
+        }
+
+        @Override
+        boolean set(int row, @NotNull Object value) {
+            values[row] = value;
+            objectsSize += estimateObjectSize(value);
+            return true;
+        }
+
+        @Override
+        void setNull(int row) {
+            values[row] = null;
+        }
+    }
+
+    /**
+     * Column of primitive values. Keeps NULLs bitmap.
+     */
+    private abstract static class PrimitiveColumn extends Column {
+        private long[] nulls = new long[0];
+
+        @Override
+        void ensureCapacity(int capacity) {
+            int words = (capacity + 63) >> 6;
+            if (nulls.length < words) {
+                nulls = Arrays.copyOf(nulls, words);
+            }
+        }
+
+        @Override
+        long getMemorySize() {
+            return 8L * nulls.length;
+        }
+
+        @Override
+        final Object get(int row) {
+            return isNull(row) ? null : getValue(row);
+        }
+
+        @Override
+        final boolean set(int row, @NotNull Object value) {
+            if (!setValue(row, value)) {
+                return false;
+            }
+            nulls[row >> 6] &= ~(1L << row);
+            return true;
+        }
+
+        @Override
+        final void setNull(int row) {
+            nulls[row >> 6] |= 1L << row;
+        }
+
+        private boolean isNull(int row) {
+            return (nulls[row >> 6] & (1L << row)) != 0;
+        }
+
+        @NotNull
+        abstract Object getValue(int row);
+
+        abstract boolean setValue(int row, @NotNull Object value);
+    }
+
+    private static class LongColumn extends PrimitiveColumn {
+        static final byte LONG = 0;
+        static final byte INTEGER = 1;
+        static final byte SHORT = 2;
+        static final byte BYTE = 3;
+        static final byte DATE = 4;
+        static final byte SQL_DATE = 5;
+        static final byte SQL_TIME = 6;
+        static final byte LOCAL_DATE = 7;
+        static final byte LOCAL_TIME = 8;
+
+        private static final Class<?>[] KIND_CLASSES = {
+            Long.class, Integer.class, Short.class, Byte.class,
+            java.util.Date.class, java.sql.Date.class, java.sql.Time.class, LocalDate.class, LocalTime.class
+        };
+
+        private final byte kind;
+        private long[] values = new long[0];
+
+        LongColumn(byte kind) {
+            this.kind = kind;
+        }
+
+        @Override
+        long getMemorySize() {
+            return super.getMemorySize() + 8L * values.length;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            super.ensureCapacity(capacity);
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+
+        @NotNull
+        @Override
+        Object getValue(int row) {
+            long value = values[row];
+            return switch (kind) {
+                case INTEGER -> (int) value;
+                case SHORT -> (short) value;
+                case BYTE -> (byte) value;
+                case DATE -> new java.util.Date(value);
+                case SQL_DATE -> new java.sql.Date(value);
+                case SQL_TIME -> new java.sql.Time(value);
+                case LOCAL_DATE -> LocalDate.ofEpochDay(value);
+                case LOCAL_TIME -> LocalTime.ofNanoOfDay(value);
+                default -> value;
+            };
+        }
+
+        @Override
+        boolean setValue(int row, @NotNull Object value) {
+            if (value.getClass() != KIND_CLASSES[kind]) {
+                return false;
+            }
+            values[row] = switch (kind) {
+                case DATE, SQL_DATE, SQL_TIME -> ((java.util.Date) value).getTime();
+                case LOCAL_DATE -> ((LocalDate) value).toEpochDay();
+                case LOCAL_TIME -> ((LocalTime) value).toNanoOfDay();
+                default -> ((Number) value).longValue();
+            };
+            return true;
+        }
+    }
+
+    private static class DoubleColumn extends PrimitiveColumn {
+        private final boolean isFloat;
+        private double[] values = new double[0];
+
+        DoubleColumn(boolean isFloat) {
+            this.isFloat = isFloat;
+        }
+
+        @Override
+        long getMemorySize() {
+            return super.getMemorySize() + 8L * values.length;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            super.ensureCapacity(capacity);
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+
+        @NotNull
+        @Override
+        Object getValue(int row) {
+            return isFloat ? (Object) (float) values[row] : (Object) values[row];
+        }
+
+        @Override
+        boolean setValue(int row, @NotNull Object value) {
+            if (value.getClass() != (isFloat ? Float.class : Double.class)) {
+                return false;
+            }
+            values[row] = ((Number) value).doubleValue();
+            return true;
+        }
+    }
+
+    /**
+     * Decimals with unscaled value which fits into long
+     */
+    private static class DecimalColumn extends PrimitiveColumn {
+        private long[] unscaledValues = new long[0];
+        private short[] scales = new short[0];
+
+        @Override
+        long getMemorySize() {
+            return super.getMemorySize() + 10L * unscaledValues.length;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            super.ensureCapacity(capacity);
+            if (unscaledValues.length < capacity) {
+                unscaledValues = Arrays.copyOf(unscaledValues, capacity);
+                scales = Arrays.copyOf(scales, capacity);
+            }
+        }
+
+        @NotNull
+        @Override
+        Object getValue(int row) {
+            return BigDecimal.valueOf(unscaledValues[row], scales[row]);
+        }
+
+        @Override
+        boolean setValue(int row, @NotNull Object value) {
+            if (value.getClass() != BigDecimal.class) {
+                return false;
+            }
+            BigDecimal decimal = (BigDecimal) value;
+            BigInteger unscaled = decimal.unscaledValue();
+            int scale = decimal.scale();
+            if (unscaled.bitLength() > 63 || scale < Short.MIN_VALUE || scale > Short.MAX_VALUE) {
+                return false;
+            }
+            unscaledValues[row] = unscaled.longValue();
+            scales[row] = (short) scale;
+            return true;
+        }
+    }
+
+    private static class BooleanColumn extends PrimitiveColumn {
+        private long[] bits = new long[0];
+
+        @Override
+        long getMemorySize() {
+            return super.getMemorySize() + 8L * bits.length;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            super.ensureCapacity(capacity);
+            int words = (capacity + 63) >> 6;
+            if (bits.length < words) {
+                bits = Arrays.copyOf(bits, words);
+            }
+        }
+
+        @NotNull
+        @Override
+        Object getValue(int row) {
+            return (bits[row >> 6] & (1L << row)) != 0;
+        }
+
+        @Override
+        boolean setValue(int row, @NotNull Object value) {
+            if (value.getClass() != Boolean.class) {
+                return false;
+            }
+            if ((Boolean) value) {
+                bits[row >> 6] |= 1L << row;
+            } else {
+                bits[row >> 6] &= ~(1L << row);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Timestamps with nanoseconds (java.sql.Timestamp or LocalDateTime)
+     */
+    private static class TimestampColumn extends PrimitiveColumn {
+        private final boolean local;
+        private long[] seconds = new long[0];
+        private int[] nanos = new int[0];
+
+        TimestampColumn(boolean local) {
+            this.local = local;
+        }
+
+        @Override
+        long getMemorySize() {
+            return super.getMemorySize() + 12L * seconds.length;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            super.ensureCapacity(capacity);
+            if (seconds.length < capacity) {
+                seconds = Arrays.copyOf(seconds, capacity);
+                nanos = Arrays.copyOf(nanos, capacity);
+            }
+        }
+
+        @NotNull
+        @Override
+        Object getValue(int row) {
+            if (local) {
+                return LocalDateTime.ofEpochSecond(seconds[row], nanos[row], ZoneOffset.UTC);
+            }
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(seconds[row] * 1000);
+            timestamp.setNanos(nanos[row]);
+            return timestamp;
+        }
+
+        @Override
+        boolean setValue(int row, @NotNull Object value) {
+            if (local) {
+                if (value.getClass() != LocalDateTime.class) {
+                    return false;
+                }
+                LocalDateTime dateTime = (LocalDateTime) value;
+                seconds[row] = dateTime.toEpochSecond(ZoneOffset.UTC);
+                nanos[row] = dateTime.getNano();
+            } else {
+                if (value.getClass() != java.sql.Timestamp.class) {
+                    return false;
+                }
+                java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+                // getTime() includes milliseconds which are also a part of nanos
+                seconds[row] = Math.floorDiv(timestamp.getTime(), 1000);
+                nanos[row] = timestamp.getNanos();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Dictionary-encoded strings. Falls back to object column if strings are mostly unique.
+     */
+    private static class StringColumn extends PrimitiveColumn {
+        private static final int MIN_DICTIONARY_CHECK_SIZE = 4096;
+
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+        private int[] codes = new int[0];
+        private int valueCount;
+        private int nextDictionaryCheck = MIN_DICTIONARY_CHECK_SIZE;
+        private long dictionarySize;
+
+        @Override
+        long getMemorySize() {
+            return super.getMemorySize() + 4L * codes.length + dictionarySize;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            super.ensureCapacity(capacity);
+            if (codes.length < capacity) {
+                codes = Arrays.copyOf(codes, capacity);
+            }
+        }
+
+        @NotNull
+        @Override
+        Object getValue(int row) {
+            return dictionary.get(codes[row]);
+        }
+
+        @Override
+        boolean setValue(int row, @NotNull Object value) {
+            if (value.getClass() != String.class) {
+                return false;
+            }
+            Integer code = dictionaryIndex.get(value);
+            if (code == null) {
+                if (dictionary.size() >= nextDictionaryCheck) {
+                    if (dictionary.size() * 2 > valueCount) {
+                        // Mostly unique values, dictionary doesn't save anything
+                        return false;
+                    }
+                    nextDictionaryCheck *= 2;
+                }
+                code = dictionary.size();
+                dictionary.add((String) value);
+                dictionaryIndex.put((String) value, code);
+                // Value is referenced by both list and map
+                dictionarySize += estimateObjectSize(value) + 48;
+            }
+            codes[row] = code;
+            valueCount++;
+            return true;
+        }
+    }
+}
@@ -43,10 +43,15 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
 
     private static final Log log = Log.getLog(ResultSetDataReceiver.class);
 
+    // Number of rows after which next segment rows are pushed into the model while fetch is still in progress
+    private static final int APPEND_CHUNK_SIZE = 10000;
+
     private ResultSetViewer resultSetViewer;
     private int columnsCount;
     private DBDAttributeBinding[] metaColumns;
     private List<Object[]> rows = new ArrayList<>();
+    // Number of rows already pushed into the model during current fetch
+    private long appendedRowCount;
     private boolean hasMoreData;
     private boolean nextSegmentRead;
     private long offset;
@@ -150,6 +155,19 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
             }
         }
         rows.add(row);
+
+        if (nextSegmentRead && rows.size() >= APPEND_CHUNK_SIZE && resultSetViewer.getModel().isSpillEnabled()) {
+            // Do not keep all fetched rows in memory, model may spill them to disk
+            appendRows(session.getProgressMonitor(), rows);
+            rows = new ArrayList<>();
+        }
+    }
+
+    private void appendRows(@NotNull DBRProgressMonitor monitor, @NotNull List<Object[]> newRows) {
+        boolean resetOldRows = appendedRowCount == 0 &&
+            getDataContainer().getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
+        resultSetViewer.appendData(monitor, newRows, resetOldRows);
+        appendedRowCount += newRows.size();
     }
 
     @Override
@@ -184,11 +202,11 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
             resultSetViewer.setData(monitor, tmpRows, focusRow);
         } else {
             monitor.subTask("Append data");
-            boolean resetOldRows = getDataContainer().getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
-            resultSetViewer.appendData(monitor, tmpRows, resetOldRows);
+            appendRows(monitor, tmpRows);
         }
         // Check for more data
-        hasMoreData = maxRows > 0 && tmpRows.size() >= maxRows;
+        long fetchedRowCount = nextSegmentRead ? appendedRowCount : tmpRows.size();
+        hasMoreData = maxRows > 0 && fetchedRowCount >= maxRows;
         monitor.done();
 
         UIUtils.syncExec(() -> {
@@ -214,6 +232,7 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
     @Override
     public void close() {
         nextSegmentRead = false;
+        appendedRowCount = 0;
 
         attrErrors.clear();
         rows = new ArrayList<>();
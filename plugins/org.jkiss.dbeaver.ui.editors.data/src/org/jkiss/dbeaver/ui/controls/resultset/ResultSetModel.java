@@ -34,12 +34,14 @@ import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.model.virtual.DBVColorOverride;
 import org.jkiss.dbeaver.model.virtual.DBVEntity;
 import org.jkiss.dbeaver.model.virtual.DBVUtils;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.jobs.DataSourceJob;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -49,6 +51,10 @@ public class ResultSetModel implements DBDResultSetModel {
 
     private static final Log log = Log.getLog(ResultSetModel.class);
 
+    private static final String SPILL_FOLDER = "result-sets"; //$NON-NLS-1$
+    // Number of appended rows between memory budget checks
+    private static final int SPILL_CHECK_INTERVAL = 4096;
+
     // Attributes
     private DBDAttributeBinding[] attributes = new DBDAttributeBinding[0];
     private List<DBDAttributeBinding> visibleAttributes = new ArrayList<>();
@@ -61,6 +67,11 @@ public class ResultSetModel implements DBDResultSetModel {
 
     // Data
     private List<ResultSetRow> curRows = new ArrayList<>();
+    // Columnar storage of fetched rows. Rows added or modified by user keep their own values.
+    private ResultSetColumnStore columnStore;
+    private boolean columnarStorage;
+    private ResultSetSpillStore spillStore;
+    private long spillMemoryBudget;
     private Long totalRowCount = null;
     private int changesCount = 0;
     private volatile boolean hasData = false;
@@ -389,6 +400,45 @@ public class ResultSetModel implements DBDResultSetModel {
         return curRows.size();
     }
 
+    public boolean isColumnarStorage() {
+        return columnarStorage;
+    }
+
+    /**
+     * Enables columnar storage of fetched rows. Applied to the data set next time.
+     */
+    public void setColumnarStorage(boolean columnarStorage) {
+        this.columnarStorage = columnarStorage;
+    }
+
+    /**
+     * Returns true if rows are spilled to disk after memory budget exceeds
+     */
+    public boolean isSpillEnabled() {
+        return columnarStorage && spillMemoryBudget > 0;
+    }
+
+    /**
+     * Sets heap size (in bytes) of columnar storage after which new rows are spilled to a temporary file.
+     * Zero disables spilling. Works only with columnar storage.
+     */
+    public void setSpillMemoryBudget(long spillMemoryBudget) {
+        this.spillMemoryBudget = spillMemoryBudget;
+    }
+
+    /**
+     * Returns number of rows kept in the spill file
+     */
+    public int getSpilledRowCount() {
+        ResultSetSpillStore store = spillStore;
+        return store == null ? 0 : store.getRowCount();
+    }
+
+    @Nullable
+    ResultSetSpillStore getSpillStore() {
+        return spillStore;
+    }
+
     @Override
     @NotNull
     public List<ResultSetRow> getAllRows() {
@@ -397,7 +447,7 @@ public class ResultSetModel implements DBDResultSetModel {
 
     @NotNull
     public Object[] getRowData(int index) {
-        return curRows.get(index).values;
+        return curRows.get(index).getValues();
     }
 
     @NotNull
@@ -430,6 +480,12 @@ public class ResultSetModel implements DBDResultSetModel {
         @Nullable int[] rowIndexes,
         boolean retrieveDeepestCollectionElement
     ) {
+        if (row instanceof ResultSetRow rsRow && rowIndexes == null && !retrieveDeepestCollectionElement &&
+            isPlainAttribute(attribute)
+        ) {
+            // Read it directly to avoid materialization of columnar rows
+            return getPlainCellValue(attribute, rsRow);
+        }
         return DBUtils.getAttributeValue(
             attribute,
             attributes,
@@ -439,6 +495,24 @@ public class ResultSetModel implements DBDResultSetModel {
         );
     }
 
+    /**
+     * Returns true if attribute is a plain top-level column (not a custom, virtual or nested attribute).
+     * Values of such attributes can be read with {@link #getPlainCellValue(DBDAttributeBinding, ResultSetRow)}
+     * which doesn't use the model state, so it may be called from worker threads.
+     */
+    public static boolean isPlainAttribute(@NotNull DBDAttributeBinding attribute) {
+        return attribute.getLevel() == 0 && !attribute.isCustom() && attribute == attribute.getTopParent();
+    }
+
+    /**
+     * Reads value of a plain attribute (see {@link #isPlainAttribute(DBDAttributeBinding)}) directly from the row
+     */
+    @Nullable
+    public static Object getPlainCellValue(@NotNull DBDAttributeBinding attribute, @NotNull ResultSetRow row) {
+        int index = attribute.getOrdinalPosition();
+        return index < row.getValueCount() ? row.getValue(index) : null;
+    }
+
     /**
      * Updates cell value. Saves previous value.
      *
@@ -475,7 +549,7 @@ public class ResultSetModel implements DBDResultSetModel {
         }
 
         Object oldHistoricValue = updateChanges ? row.changes.get(topAttribute) : null;
-        Object currentValue = row.values[rootIndex];
+        Object currentValue = row.getValue(rootIndex);
         Object valueToEdit = currentValue;
 
         // Check for changes
@@ -524,7 +598,7 @@ public class ResultSetModel implements DBDResultSetModel {
         } else {
             valueToEdit = value;
         }
-        row.values[rootIndex] = valueToEdit;
+        row.setValue(rootIndex, valueToEdit);
 
         if (updateChanges && row.getState() == ResultSetRow.STATE_NORMAL) {
             changesCount++;
@@ -885,13 +959,36 @@ public class ResultSetModel implements DBDResultSetModel {
     void appendData(@NotNull DBRProgressMonitor monitor, @NotNull List<Object[]> rows, boolean resetOldRows) {
         if (resetOldRows) {
             curRows.clear();
+            columnStore = null;
+            if (spillStore != null) {
+                spillStore.close();
+                spillStore = null;
+            }
         }
         int rowCount = rows.size();
         int firstRowNum = curRows.size();
+        if (columnarStorage && columnStore == null && rowCount > 0) {
+            columnStore = new ResultSetColumnStore(rows.get(0).length);
+        }
         List<ResultSetRow> newRows = new ArrayList<>(rowCount);
         for (int i = 0; i < rowCount; i++) {
-            newRows.add(
-                new ResultSetRow(firstRowNum + i, rows.get(i)));
+            Object[] values = rows.get(i);
+            if (columnStore != null && values.length == columnStore.getColumnCount()) {
+                if (i % SPILL_CHECK_INTERVAL == 0) {
+                    checkSpillBudget(monitor);
+                }
+                int spillIndex = spillRow(values);
+                if (spillIndex >= 0) {
+                    newRows.add(
+                        new ResultSetRow(firstRowNum + i, spillStore, spillIndex));
+                } else {
+                    newRows.add(
+                        new ResultSetRow(firstRowNum + i, columnStore, columnStore.appendRow(values)));
+                }
+            } else {
+                newRows.add(
+                    new ResultSetRow(firstRowNum + i, values));
+            }
         }
         curRows.addAll(newRows);
 
@@ -900,6 +997,40 @@ public class ResultSetModel implements DBDResultSetModel {
         refreshHintsInfo(monitor, newRows, resetOldRows);
     }
 
+    private void checkSpillBudget(@NotNull DBRProgressMonitor monitor) {
+        if (spillStore != null || spillMemoryBudget <= 0 || columnStore.getMemorySize() <= spillMemoryBudget) {
+            return;
+        }
+        try {
+            spillStore = new ResultSetSpillStore(
+                columnStore.getColumnCount(),
+                DBWorkbench.getPlatform().getTempFolder(monitor, SPILL_FOLDER));
+            log.debug("Result set memory budget exceeded (" + columnStore.getRowCount() + " rows), spill rows to disk");
+        } catch (IOException e) {
+            log.warn("Can't create result set spill file. Keep all rows in memory.", e);
+            spillMemoryBudget = 0;
+        }
+    }
+
+    /**
+     * Appends row to the spill file. Returns -1 if spilling isn't active or row can't be spilled.
+     */
+    private int spillRow(@NotNull Object[] values) {
+        if (spillStore == null) {
+            return -1;
+        }
+        try {
+            return spillStore.appendRow(values);
+        } catch (IOException e) {
+            // Already spilled rows are still readable, keep the rest in memory
+            log.warn("Error writing result set spill file. Keep the rest of rows in memory.", e);
+            spillStore.close();
+            spillStore = null;
+            spillMemoryBudget = 0;
+            return -1;
+        }
+    }
+
     void refreshHintsInfo(@NotNull DBRProgressMonitor monitor, List<? extends DBDValueRow> newRows, boolean cleanupOldCache) {
         try {
             if (cleanupOldCache) {
@@ -915,6 +1046,11 @@ public class ResultSetModel implements DBDResultSetModel {
     void clearData() {
         // Refresh all rows
         this.curRows = new ArrayList<>();
+        this.columnStore = null;
+        if (this.spillStore != null) {
+            this.spillStore.close();
+            this.spillStore = null;
+        }
         this.totalRowCount = null;
         this.singleSourceEntity = null;
 
@@ -1009,6 +1145,7 @@ public class ResultSetModel implements DBDResultSetModel {
 
     void releaseAllData() {
         final List<ResultSetRow> oldRows = curRows;
+        final ResultSetSpillStore oldSpillStore = spillStore;
         // Cleanup in separate job.
         // Sometimes model cleanup takes much time (e.g. freeing LOB values)
         // So let's do it in separate job to avoid UI locking
@@ -1016,6 +1153,9 @@ public class ResultSetModel implements DBDResultSetModel {
             for (ResultSetRow row : oldRows) {
                 row.release();
             }
+            if (oldSpillStore != null) {
+                oldSpillStore.close();
+            }
         }, "Release values", 5000);
     }
 
@@ -1145,40 +1285,17 @@ public class ResultSetModel implements DBDResultSetModel {
     public void resetOrdering(@NotNull DBDAttributeBinding columnElement) {
         final boolean hasOrdering = dataFilter.hasOrdering();
 
-        // First sort in original order to reset multi-column orderings
-        curRows.sort(Comparator.comparingInt(ResultSetRow::getRowNumber));
-
+        // Sort locally. Rows are put in original order first to reset multi-column orderings.
+        final List<ResultSetSortEngine.SortColumn> sortColumns = new ArrayList<>();
         if (hasOrdering) {
-            // Sort locally
-            final List<DBDAttributeConstraint> orderConstraints = dataFilter.getOrderConstraints();
-            curRows.sort((row1, row2) -> {
-                int result = 0;
-                for (DBDAttributeConstraint co : orderConstraints) {
-                    final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
-                    if (binding == null) {
-                        continue;
-                    }
-                    Object cell1 = getCellValue(new ResultSetCellLocation(binding, row1));
-                    Object cell2 = getCellValue(new ResultSetCellLocation(binding, row2));
-                    Comparator<Object> comparator = columnElement.getValueHandler().getComparator();
-                    if (comparator != null) {
-                        result = comparator.compare(cell1, cell2);
-                    } else if (cell1 instanceof String && cell2 instanceof String) {
-                    	result = (cell1.toString()).compareToIgnoreCase(cell2.toString());
-                    } else {
-                    	result = DBUtils.compareDataValues(cell1, cell2);
-                    }
-
-                    if (co.isOrderDescending()) {
-                        result = -result;
-                    }
-                    if (result != 0) {
-                        break;
-                    }
+            for (DBDAttributeConstraint co : dataFilter.getOrderConstraints()) {
+                final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
+                if (binding != null) {
+                    sortColumns.add(new ResultSetSortEngine.SortColumn(binding, co.isOrderDescending()));
                 }
-                return result;
-            });
+            }
         }
+        ResultSetSortEngine.sort(curRows, sortColumns, this::getCellValue);
         for (int i = 0; i < curRows.size(); i++) {
             curRows.get(i).setVisualNumber(i);
         }
@@ -80,6 +80,9 @@ public final class ResultSetPreferences {
     public static final String RESULT_SET_CONFIRM_BEFORE_SAVE = "resultset.confirm.beforeSave"; //$NON-NLS-1$
     public static final String RESULT_SET_SHOW_ERRORS_IN_DIALOG = "resultset.show.errorDialog"; //$NON-NLS-1$
     public static final String RESULT_SET_MARK_CELL_VALUE_OCCURRENCES = "resultset.mark.cell.value.occurrences"; //$NON-NLS-1$
+    public static final String RESULT_SET_COLUMNAR_STORAGE = "resultset.storage.columnar"; //$NON-NLS-1$
+    // Heap size of columnar storage (in megabytes) after which rows are spilled to disk. Zero disables spilling.
+    public static final String RESULT_SET_SPILL_MEMORY_BUDGET = "resultset.storage.spill.budget"; //$NON-NLS-1$
 
     public static final String RESULT_GRID_VALUE_FORMAT = "resultset.grid.value.format"; //$NON-NLS-1$
 
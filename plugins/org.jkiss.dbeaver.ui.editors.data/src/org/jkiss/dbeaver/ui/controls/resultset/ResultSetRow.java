@@ -50,9 +50,13 @@ public class ResultSetRow implements DBDValueRow {
     private int rowNumber;
     // Row number in grid
     private int visualNumber;
-    // Column values
-    @NotNull
-    public Object[] values;
+    // Shared storage of row values: columnar or spill file (null if row keeps its own values)
+    @Nullable
+    private ResultSetRowStore store;
+    private int storeIndex;
+    // Own column values. Overrides storage values once row is modified.
+    @Nullable
+    private Object[] values;
     @Nullable
     public Map<DBDAttributeBinding, Object> changes;
     // Row state
@@ -67,9 +71,65 @@ public class ResultSetRow implements DBDValueRow {
         this.state = STATE_NORMAL;
     }
 
+    ResultSetRow(int rowNumber, @NotNull ResultSetRowStore store, int storeIndex) {
+        this.rowNumber = rowNumber;
+        this.visualNumber = rowNumber;
+        this.store = store;
+        this.storeIndex = storeIndex;
+        this.state = STATE_NORMAL;
+    }
+
+    /**
+     * Returns row values. For rows kept in shared storage returns a copy: each call allocates a new array
+     * and new date/timestamp objects, so prefer {@link #getValue(int)} in loops over rows.
+     * The result must not be modified. Use {@link #setValue(int, Object)} to change values.
+     */
     @Override
     @NotNull
     public Object[] getValues() {
+        if (values != null) {
+            return values;
+        }
+        assert store != null;
+        return store.getRow(storeIndex);
+    }
+
+    @Nullable
+    public Object getValue(int index) {
+        if (values != null) {
+            return values[index];
+        }
+        assert store != null;
+        return store.getValue(storeIndex, index);
+    }
+
+    public int getValueCount() {
+        if (values != null) {
+            return values.length;
+        }
+        assert store != null;
+        return store.getColumnCount();
+    }
+
+    void setValue(int index, @Nullable Object value) {
+        detachValues()[index] = value;
+    }
+
+    void setValues(@NotNull Object[] values) {
+        this.values = values;
+        this.store = null;
+    }
+
+    /**
+     * Copies values from storage into the row. Modified rows keep their own values, storage is never changed.
+     */
+    @NotNull
+    private Object[] detachValues() {
+        if (values == null) {
+            assert store != null;
+            values = store.getRow(storeIndex);
+            store = null;
+        }
         return values;
     }
 
@@ -122,8 +182,12 @@ public class ResultSetRow implements DBDValueRow {
     }
 
     void release() {
-        for (Object value : values) {
-            DBUtils.releaseValue(value);
+        if (values != null) {
+            for (Object value : values) {
+                DBUtils.releaseValue(value);
+            }
+        } else if (store != null) {
+            store.releaseRow(storeIndex);
         }
         if (changes != null) {
             for (Object oldValue : changes.values()) {
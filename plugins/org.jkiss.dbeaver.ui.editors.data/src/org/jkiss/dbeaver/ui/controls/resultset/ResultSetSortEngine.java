@@ -0,0 +1,530 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+
+/**
+ * Local (client-side) sort of result set rows.
+ *
+ * Sort keys are extracted once per row and column before sorting. Values of plain columns are read from rows
+ * in parallel, values of other attributes are read with the given value reader in the calling thread.
+ * Depending on column values keys are kept as primitive longs (integers, dates), doubles (other numbers),
+ * seconds and nanos (timestamps) or case-folded strings.
+ * Columns with custom value handler comparators or with values of mixed types keep original values and are compared
+ * in the same way as {@link DBUtils#compareDataValues(Object, Object)} does.
+ * NULLs go last in ascending order.
+ *
+ * Rows are sorted by a stable merge sort of row indexes on the fork-join pool, so rows with equal keys keep
+ * original (physical) order.
+ */
+final class ResultSetSortEngine {
+
+    // Ranges smaller than this are sorted in the current thread
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    record SortColumn(@NotNull DBDAttributeBinding attribute, boolean descending) {
+    }
+
+    private ResultSetSortEngine() {
+    }
+
+    /**
+     * Sorts rows in place. Rows with equal keys (or all rows if there are no sort columns) are ordered by row number.
+     */
+    static void sort(
+        @NotNull List<ResultSetRow> rows,
+        @NotNull List<SortColumn> sortColumns,
+        @NotNull BiFunction<DBDAttributeBinding, ResultSetRow, Object> valueReader
+    ) {
+        ResultSetRow[] sorted = orderByRowNumber(rows);
+        if (!sortColumns.isEmpty() && sorted.length > 1) {
+            SortKey[] keys = new SortKey[sortColumns.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = extractKeys(sorted, sortColumns.get(i), valueReader);
+            }
+            int[] order = new int[sorted.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            sortIndexes(order, new KeyComparator(keys));
+
+            ResultSetRow[] source = sorted;
+            sorted = new ResultSetRow[source.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = source[order[i]];
+            }
+        }
+        for (int i = 0; i < sorted.length; i++) {
+            rows.set(i, sorted[i]);
+        }
+    }
+
+    /**
+     * Puts rows in physical order. Row numbers are normally unique and dense, so rows are just placed by number.
+     */
+    @NotNull
+    private static ResultSetRow[] orderByRowNumber(@NotNull List<ResultSetRow> rows) {
+        ResultSetRow[] result = new ResultSetRow[rows.size()];
+        for (ResultSetRow row : rows) {
+            int rowNumber = row.getRowNumber();
+            if (rowNumber < 0 || rowNumber >= result.length || result[rowNumber] != null) {
+                result = rows.toArray(new ResultSetRow[0]);
+                Arrays.sort(result, Comparator.comparingInt(ResultSetRow::getRowNumber));
+                return result;
+            }
+            result[rowNumber] = row;
+        }
+        return result;
+    }
+
+    ////////////////////////////////////////////////////////////
+    // Keys extraction
+
+    @NotNull
+    private static SortKey extractKeys(
+        @NotNull ResultSetRow[] rows,
+        @NotNull SortColumn column,
+        @NotNull BiFunction<DBDAttributeBinding, ResultSetRow, Object> valueReader
+    ) {
+        DBDAttributeBinding attribute = column.attribute();
+        Object[] values = new Object[rows.length];
+        if (ResultSetModel.isPlainAttribute(attribute)) {
+            new ParallelRangeAction(0, rows.length, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    values[i] = ResultSetModel.getPlainCellValue(attribute, rows[i]);
+                }
+            }).invokeInPool();
+        } else {
+            // Custom, virtual and nested values are resolved by the model, it is not safe to do it in worker threads
+            for (int i = 0; i < rows.length; i++) {
+                values[i] = valueReader.apply(attribute, rows[i]);
+            }
+        }
+
+        Comparator<Object> comparator = attribute.getValueHandler().getComparator();
+        if (comparator != null) {
+            return new ObjectKey(values, column.descending(), comparator);
+        }
+        return switch (detectKeyType(values)) {
+            case LONG, DATE -> new LongKey(values, column.descending());
+            case DOUBLE -> new DoubleKey(values, column.descending());
+            case TIMESTAMP -> new TimestampKey(values, column.descending());
+            case STRING -> new StringKey(values, column.descending());
+            default -> new ObjectKey(values, column.descending(), null);
+        };
+    }
+
+    private enum KeyType {
+        NONE,
+        LONG,
+        DOUBLE,
+        DATE,
+        TIMESTAMP,
+        STRING,
+        OBJECT
+    }
+
+    @NotNull
+    private static KeyType detectKeyType(@NotNull Object[] values) {
+        KeyType result = KeyType.NONE;
+        Class<?> dateClass = null;
+        for (Object value : values) {
+            if (DBUtils.isNullValue(value)) {
+                continue;
+            }
+            KeyType type;
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                type = KeyType.LONG;
+            } else if (value instanceof Number) {
+                type = KeyType.DOUBLE;
+            } else if (value instanceof String) {
+                type = KeyType.STRING;
+            } else if (value instanceof java.util.Date || value instanceof LocalDate || value instanceof LocalDateTime) {
+                // Date values are compared with compareTo, so they must be of the same class
+                if (dateClass == null) {
+                    dateClass = value.getClass();
+                } else if (dateClass != value.getClass()) {
+                    return KeyType.OBJECT;
+                }
+                type = value instanceof java.sql.Timestamp || value instanceof LocalDateTime ? KeyType.TIMESTAMP : KeyType.DATE;
+            } else {
+                return KeyType.OBJECT;
+            }
+            if (result == KeyType.NONE || result == type) {
+                result = type;
+            } else if (isNumeric(result) && isNumeric(type)) {
+                // Numbers of different types are compared as doubles
+                result = KeyType.DOUBLE;
+            } else {
+                return KeyType.OBJECT;
+            }
+        }
+        return result == KeyType.NONE ? KeyType.LONG : result;
+    }
+
+    private static boolean isNumeric(@NotNull KeyType type) {
+        return type == KeyType.LONG || type == KeyType.DOUBLE;
+    }
+
+    /**
+     * Sort keys of a single column
+     */
+    private abstract static class SortKey {
+        private final long[] nulls;
+        private final boolean descending;
+
+        SortKey(@NotNull Object[] values, boolean descending) {
+            this.nulls = new long[(values.length + 63) >> 6];
+            this.descending = descending;
+            for (int i = 0; i < values.length; i++) {
+                if (DBUtils.isNullValue(values[i])) {
+                    nulls[i >> 6] |= 1L << i;
+                }
+            }
+        }
+
+        final boolean isDescending() {
+            return descending;
+        }
+
+        final boolean isNull(int row) {
+            return (nulls[row >> 6] & (1L << row)) != 0;
+        }
+
+        int compare(int row1, int row2) {
+            boolean null1 = isNull(row1), null2 = isNull(row2);
+            int result;
+            if (null1 || null2) {
+                result = null1 == null2 ? 0 : (null1 ? 1 : -1);
+            } else {
+                result = compareValues(row1, row2);
+            }
+            return descending ? -result : result;
+        }
+
+        abstract int compareValues(int row1, int row2);
+    }
+
+    /**
+     * Integers, dates (epoch millis) and local dates (epoch days)
+     */
+    private static class LongKey extends SortKey {
+        private final long[] keys;
+
+        LongKey(@NotNull Object[] values, boolean descending) {
+            super(values, descending);
+            keys = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value instanceof Number number) {
+                    keys[i] = number.longValue();
+                } else if (value instanceof java.util.Date date) {
+                    keys[i] = date.getTime();
+                } else if (value instanceof LocalDate date) {
+                    keys[i] = date.toEpochDay();
+                }
+            }
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+            return Long.compare(keys[row1], keys[row2]);
+        }
+    }
+
+    private static class DoubleKey extends SortKey {
+        private final double[] keys;
+
+        DoubleKey(@NotNull Object[] values, boolean descending) {
+            super(values, descending);
+            keys = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] instanceof Number number) {
+                    keys[i] = number.doubleValue();
+                }
+            }
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+            return Double.compare(keys[row1], keys[row2]);
+        }
+    }
+
+    /**
+     * Timestamps and local date times with nanoseconds
+     */
+    private static class TimestampKey extends SortKey {
+        private final long[] seconds;
+        private final int[] nanos;
+
+        TimestampKey(@NotNull Object[] values, boolean descending) {
+            super(values, descending);
+            seconds = new long[values.length];
+            nanos = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value instanceof java.sql.Timestamp timestamp) {
+                    seconds[i] = Math.floorDiv(timestamp.getTime(), 1000);
+                    nanos[i] = timestamp.getNanos();
+                } else if (value instanceof LocalDateTime dateTime) {
+                    seconds[i] = dateTime.toEpochSecond(ZoneOffset.UTC);
+                    nanos[i] = dateTime.getNano();
+                }
+            }
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+            int result = Long.compare(seconds[row1], seconds[row2]);
+            return result != 0 ? result : Integer.compare(nanos[row1], nanos[row2]);
+        }
+    }
+
+    /**
+     * Strings are compared case-insensitively (as {@link String#compareToIgnoreCase(String)} does).
+     * Keys are strings with case folded once, so comparison is a plain {@link String#compareTo(String)}.
+     */
+    private static class StringKey extends SortKey {
+        private final String[] keys;
+
+        StringKey(@NotNull Object[] values, boolean descending) {
+            super(values, descending);
+            keys = new String[values.length];
+            new ParallelRangeAction(0, values.length, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    if (values[i] instanceof String str) {
+                        keys[i] = foldCase(str);
+                    }
+                }
+            }).invokeInPool();
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+            return keys[row1].compareTo(keys[row2]);
+        }
+
+        @NotNull
+        static String foldCase(@NotNull String str) {
+            int length = str.length();
+            for (int i = 0; i < length; i++) {
+                char c = str.charAt(i);
+                if (Character.toLowerCase(Character.toUpperCase(c)) != c || Character.isSurrogate(c)) {
+                    StringBuilder result = new StringBuilder(length).append(str, 0, i);
+                    str.substring(i).codePoints().forEach(
+                        cp -> result.appendCodePoint(Character.toLowerCase(Character.toUpperCase(cp))));
+                    return result.toString();
+                }
+            }
+            // Already folded, keep the same instance
+            return str;
+        }
+    }
+
+    /**
+     * Original values compared with value handler comparator or generic data values comparison
+     */
+    private static class ObjectKey extends SortKey {
+        private final Object[] values;
+        @Nullable
+        private final Comparator<Object> comparator;
+
+        ObjectKey(@NotNull Object[] values, boolean descending, @Nullable Comparator<Object> comparator) {
+            super(values, descending);
+            this.values = values;
+            this.comparator = comparator;
+        }
+
+        @Override
+        int compare(int row1, int row2) {
+            if (comparator == null) {
+                return super.compare(row1, row2);
+            }
+            // Custom comparator handles NULLs itself
+            int result = comparator.compare(values[row1], values[row2]);
+            return isDescending() ? -result : result;
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+            Object value1 = values[row1], value2 = values[row2];
+            if (value1 instanceof String str1 && value2 instanceof String str2) {
+                return str1.compareToIgnoreCase(str2);
+            }
+            return DBUtils.compareDataValues(value1, value2);
+        }
+    }
+
+    private static class KeyComparator {
+        private final SortKey[] keys;
+
+        KeyComparator(@NotNull SortKey[] keys) {
+            this.keys = keys;
+        }
+
+        int compare(int row1, int row2) {
+            for (SortKey key : keys) {
+                int result = key.compare(row1, row2);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////
+    // Parallel merge sort
+
+    /**
+     * Stable sort of row indexes
+     */
+    private static void sortIndexes(@NotNull int[] indexes, @NotNull KeyComparator comparator) {
+        int[] buffer = new int[indexes.length];
+        new MergeSortAction(indexes, buffer, 0, indexes.length, comparator).invokeInPool();
+    }
+
+    private static class MergeSortAction extends RecursiveAction {
+        private final int[] indexes;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final KeyComparator comparator;
+
+        MergeSortAction(@NotNull int[] indexes, @NotNull int[] buffer, int from, int to, @NotNull KeyComparator comparator) {
+            this.indexes = indexes;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        void invokeInPool() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                compute();
+            } else {
+                ForkJoinPool.commonPool().invoke(this);
+            }
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                mergeSort(indexes, buffer, from, to, comparator);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new MergeSortAction(indexes, buffer, from, middle, comparator),
+                new MergeSortAction(indexes, buffer, middle, to, comparator));
+            merge(indexes, buffer, from, middle, to, comparator);
+        }
+    }
+
+    private static void mergeSort(@NotNull int[] indexes, @NotNull int[] buffer, int from, int to, @NotNull KeyComparator comparator) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int index = indexes[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(indexes[j], index) > 0) {
+                    indexes[j + 1] = indexes[j];
+                    j--;
+                }
+                indexes[j + 1] = index;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(indexes, buffer, from, middle, comparator);
+        mergeSort(indexes, buffer, middle, to, comparator);
+        merge(indexes, buffer, from, middle, to, comparator);
+    }
+
+    /**
+     * Merges two sorted adjacent ranges. Left range wins on equal keys, that makes sort stable.
+     */
+    private static void merge(@NotNull int[] indexes, @NotNull int[] buffer, int from, int middle, int to, @NotNull KeyComparator comparator) {
+        if (comparator.compare(indexes[middle - 1], indexes[middle]) <= 0) {
+            // Already ordered
+            return;
+        }
+        System.arraycopy(indexes, from, buffer, from, middle - from);
+        int left = from, right = middle, target = from;
+        while (left < middle && right < to) {
+            if (comparator.compare(buffer[left], indexes[right]) <= 0) {
+                indexes[target++] = buffer[left++];
+            } else {
+                indexes[target++] = indexes[right++];
+            }
+        }
+        System.arraycopy(buffer, left, indexes, target, middle - left);
+    }
+
+    @FunctionalInterface
+    private interface RangeTask {
+        void run(int from, int to);
+    }
+
+    /**
+     * Runs a task over a range of rows split into chunks
+     */
+    private static class ParallelRangeAction extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final RangeTask task;
+
+        ParallelRangeAction(int from, int to, @NotNull RangeTask task) {
+            this.from = from;
+            this.to = to;
+            this.task = task;
+        }
+
+        void invokeInPool() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                compute();
+            } else {
+                ForkJoinPool.commonPool().invoke(this);
+            }
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                task.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParallelRangeAction(from, middle, task), new ParallelRangeAction(middle, to, task));
+        }
+    }
+}
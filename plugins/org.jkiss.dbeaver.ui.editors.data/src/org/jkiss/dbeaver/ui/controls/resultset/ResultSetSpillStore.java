@@ -0,0 +1,359 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rows storage in a memory-mapped temporary file.
+ *
+ * Rows are serialized one after another into fixed size segments of the file. Heap keeps only offsets of rows,
+ * values are decoded from mapped segments on each read, so the OS pages them in and out as grid scrolls.
+ * Only values of simple types (numbers, strings, date/time, booleans, byte arrays) can be spilled,
+ * {@link #appendRow(Object[])} rejects rows with other values (e.g. LOBs), such rows must be kept in memory.
+ *
+ * Store is append-only. File is deleted on {@link #close()}, already mapped segments stay readable until
+ * the store is garbage collected.
+ */
+final class ResultSetSpillStore implements ResultSetRowStore {
+
+    private static final Log log = Log.getLog(ResultSetSpillStore.class);
+
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_LONG = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_SHORT = 3;
+    private static final byte TYPE_BYTE = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_FLOAT = 6;
+    private static final byte TYPE_FALSE = 7;
+    private static final byte TYPE_TRUE = 8;
+    private static final byte TYPE_STRING = 9;
+    private static final byte TYPE_DECIMAL = 10;
+    private static final byte TYPE_BIG_INTEGER = 11;
+    private static final byte TYPE_DATE = 12;
+    private static final byte TYPE_SQL_DATE = 13;
+    private static final byte TYPE_SQL_TIME = 14;
+    private static final byte TYPE_TIMESTAMP = 15;
+    private static final byte TYPE_LOCAL_DATE = 16;
+    private static final byte TYPE_LOCAL_TIME = 17;
+    private static final byte TYPE_LOCAL_DATE_TIME = 18;
+    private static final byte TYPE_BYTES = 19;
+
+    private final int columnCount;
+    @NotNull
+    private final Path file;
+    @NotNull
+    private final FileChannel channel;
+    @NotNull
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    // Segment index (high 32 bits) and offset in segment (low 32 bits) of each row
+    private long[] rowOffsets = new long[1024];
+    private int rowCount;
+    private int segmentPosition;
+    // Row serialization buffer
+    private ByteBuffer rowBuffer = ByteBuffer.allocate(4096);
+    private boolean closed;
+
+    ResultSetSpillStore(int columnCount, @NotNull Path folder) throws IOException {
+        this.columnCount = columnCount;
+        this.file = Files.createTempFile(folder, "resultset-", ".spill");
+        this.channel = FileChannel.open(
+            file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Size of spilled data in bytes
+     */
+    long getFileSize() {
+        return segments.isEmpty() ? 0 : (long) (segments.size() - 1) * SEGMENT_SIZE + segmentPosition;
+    }
+
+    /**
+     * Appends row values. Returns index of the row in the store or -1 if row can't be spilled.
+     */
+    int appendRow(@NotNull Object[] values) throws IOException {
+        if (closed || values.length != columnCount) {
+            return -1;
+        }
+        rowBuffer.clear();
+        for (Object value : values) {
+            if (!writeValue(value)) {
+                return -1;
+            }
+        }
+        rowBuffer.flip();
+        int length = rowBuffer.remaining();
+        if (length > SEGMENT_SIZE) {
+            return -1;
+        }
+        if (segments.isEmpty() || SEGMENT_SIZE - segmentPosition < length) {
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * SEGMENT_SIZE, SEGMENT_SIZE));
+            segmentPosition = 0;
+        }
+        MappedByteBuffer segment = segments.get(segments.size() - 1);
+        segment.put(segmentPosition, rowBuffer, 0, length);
+
+        if (rowCount == rowOffsets.length) {
+            rowOffsets = Arrays.copyOf(rowOffsets, rowCount + (rowCount >> 1));
+        }
+        rowOffsets[rowCount] = ((long) (segments.size() - 1) << 32) | segmentPosition;
+        segmentPosition += length;
+        return rowCount++;
+    }
+
+    @Nullable
+    @Override
+    public Object getValue(int row, int column) {
+        RowReader reader = new RowReader(row);
+        for (int i = 0; i < column; i++) {
+            reader.skipValue();
+        }
+        return reader.readValue();
+    }
+
+    @NotNull
+    @Override
+    public Object[] getRow(int row) {
+        RowReader reader = new RowReader(row);
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = reader.readValue();
+        }
+        return values;
+    }
+
+    @Override
+    public void releaseRow(int row) {
+        // Spilled values are plain values, nothing to release
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes and deletes spill file
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Error closing result set spill file " + file, e);
+        }
+    }
+
+    private boolean writeValue(@Nullable Object value) {
+        if (value == null) {
+            ensureCapacity(1).put(TYPE_NULL);
+            return true;
+        }
+        Class<?> type = value.getClass();
+        if (type == Long.class) {
+            ensureCapacity(9).put(TYPE_LONG).putLong((Long) value);
+        } else if (type == Integer.class) {
+            ensureCapacity(5).put(TYPE_INTEGER).putInt((Integer) value);
+        } else if (type == Short.class) {
+            ensureCapacity(3).put(TYPE_SHORT).putShort((Short) value);
+        } else if (type == Byte.class) {
+            ensureCapacity(2).put(TYPE_BYTE).put((Byte) value);
+        } else if (type == Double.class) {
+            ensureCapacity(9).put(TYPE_DOUBLE).putDouble((Double) value);
+        } else if (type == Float.class) {
+            ensureCapacity(5).put(TYPE_FLOAT).putFloat((Float) value);
+        } else if (type == Boolean.class) {
+            ensureCapacity(1).put((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+        } else if (type == String.class) {
+            writeBytes(TYPE_STRING, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (type == BigDecimal.class) {
+            BigDecimal decimal = (BigDecimal) value;
+            ensureCapacity(5).put(TYPE_DECIMAL).putInt(decimal.scale());
+            writeBytes(decimal.unscaledValue().toByteArray());
+        } else if (type == BigInteger.class) {
+            writeBytes(TYPE_BIG_INTEGER, ((BigInteger) value).toByteArray());
+        } else if (type == java.util.Date.class) {
+            ensureCapacity(9).put(TYPE_DATE).putLong(((java.util.Date) value).getTime());
+        } else if (type == java.sql.Date.class) {
+            ensureCapacity(9).put(TYPE_SQL_DATE).putLong(((java.sql.Date) value).getTime());
+        } else if (type == java.sql.Time.class) {
+            ensureCapacity(9).put(TYPE_SQL_TIME).putLong(((java.sql.Time) value).getTime());
+        } else if (type == java.sql.Timestamp.class) {
+            java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+            ensureCapacity(13).put(TYPE_TIMESTAMP).putLong(timestamp.getTime()).putInt(timestamp.getNanos());
+        } else if (type == LocalDate.class) {
+            ensureCapacity(9).put(TYPE_LOCAL_DATE).putLong(((LocalDate) value).toEpochDay());
+        } else if (type == LocalTime.class) {
+            ensureCapacity(9).put(TYPE_LOCAL_TIME).putLong(((LocalTime) value).toNanoOfDay());
+        } else if (type == LocalDateTime.class) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            ensureCapacity(13).put(TYPE_LOCAL_DATE_TIME).putLong(dateTime.toEpochSecond(ZoneOffset.UTC)).putInt(dateTime.getNano());
+        } else if (type == byte[].class) {
+            writeBytes(TYPE_BYTES, (byte[]) value);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void writeBytes(byte type, @NotNull byte[] bytes) {
+        ensureCapacity(1).put(type);
+        writeBytes(bytes);
+    }
+
+    private void writeBytes(@NotNull byte[] bytes) {
+        ensureCapacity(4 + bytes.length).putInt(bytes.length).put(bytes);
+    }
+
+    @NotNull
+    private ByteBuffer ensureCapacity(int size) {
+        if (rowBuffer.remaining() < size) {
+            ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(rowBuffer.capacity() * 2, rowBuffer.position() + size));
+            rowBuffer.flip();
+            newBuffer.put(rowBuffer);
+            rowBuffer = newBuffer;
+        }
+        return rowBuffer;
+    }
+
+    /**
+     * Sequential reader of row values. Uses absolute reads, so segments may be read concurrently.
+     */
+    private class RowReader {
+        private final ByteBuffer segment;
+        private int position;
+
+        RowReader(int row) {
+            if (row < 0 || row >= rowCount) {
+                throw new IndexOutOfBoundsException("Spilled row " + row + " is out of range (" + rowCount + ")");
+            }
+            long offset = rowOffsets[row];
+            this.segment = segments.get((int) (offset >>> 32));
+            this.position = (int) offset;
+        }
+
+        void skipValue() {
+            byte type = segment.get(position++);
+            position += switch (type) {
+                case TYPE_NULL, TYPE_FALSE, TYPE_TRUE -> 0;
+                case TYPE_BYTE -> 1;
+                case TYPE_SHORT -> 2;
+                case TYPE_INTEGER, TYPE_FLOAT -> 4;
+                case TYPE_TIMESTAMP, TYPE_LOCAL_DATE_TIME -> 12;
+                case TYPE_STRING, TYPE_BIG_INTEGER, TYPE_BYTES -> 4 + segment.getInt(position);
+                case TYPE_DECIMAL -> 8 + segment.getInt(position + 4);
+                default -> 8;
+            };
+        }
+
+        @Nullable
+        Object readValue() {
+            byte type = segment.get(position++);
+            return switch (type) {
+                case TYPE_NULL -> null;
+                case TYPE_LONG -> readLong();
+                case TYPE_INTEGER -> readInt();
+                case TYPE_SHORT -> {
+                    short value = segment.getShort(position);
+                    position += 2;
+                    yield value;
+                }
+                case TYPE_BYTE -> segment.get(position++);
+                case TYPE_DOUBLE -> Double.longBitsToDouble(readLong());
+                case TYPE_FLOAT -> Float.intBitsToFloat(readInt());
+                case TYPE_FALSE -> Boolean.FALSE;
+                case TYPE_TRUE -> Boolean.TRUE;
+                case TYPE_STRING -> new String(readBytes(), StandardCharsets.UTF_8);
+                case TYPE_DECIMAL -> {
+                    int scale = readInt();
+                    yield new BigDecimal(new BigInteger(readBytes()), scale);
+                }
+                case TYPE_BIG_INTEGER -> new BigInteger(readBytes());
+                case TYPE_DATE -> new java.util.Date(readLong());
+                case TYPE_SQL_DATE -> new java.sql.Date(readLong());
+                case TYPE_SQL_TIME -> new java.sql.Time(readLong());
+                case TYPE_TIMESTAMP -> {
+                    java.sql.Timestamp timestamp = new java.sql.Timestamp(readLong());
+                    timestamp.setNanos(readInt());
+                    yield timestamp;
+                }
+                case TYPE_LOCAL_DATE -> LocalDate.ofEpochDay(readLong());
+                case TYPE_LOCAL_TIME -> LocalTime.ofNanoOfDay(readLong());
+                case TYPE_LOCAL_DATE_TIME -> {
+                    long seconds = readLong();
+                    yield LocalDateTime.ofEpochSecond(seconds, readInt(), ZoneOffset.UTC);
+                }
+                case TYPE_BYTES -> readBytes();
+                default -> throw new IllegalStateException("Corrupted spill file " + file + ": unknown value type " + type);
+            };
+        }
+
+        private long readLong() {
+            long value = segment.getLong(position);
+            position += 8;
+            return value;
+        }
+
+        private int readInt() {
+            int value = segment.getInt(position);
+            position += 4;
+            return value;
+        }
+
+        @NotNull
+        private byte[] readBytes() {
+            byte[] bytes = new byte[readInt()];
+            segment.get(position, bytes);
+            position += bytes.length;
+            return bytes;
+        }
+    }
+}
@@ -2488,6 +2488,8 @@ public class ResultSetViewer extends Viewer
             return;
         }
         this.curRow = null;
+        this.model.setColumnarStorage(getPreferenceStore().getBoolean(ResultSetPreferences.RESULT_SET_COLUMNAR_STORAGE));
+        this.model.setSpillMemoryBudget(getPreferenceStore().getLong(ResultSetPreferences.RESULT_SET_SPILL_MEMORY_BUDGET) * 1024 * 1024);
         this.model.setData(monitor, rows);
         this.curRow = (this.model.getRowCount() > 0 ? this.model.getRow(0) : null);
         if (focusRow > 0 && focusRow < model.getRowCount()) {
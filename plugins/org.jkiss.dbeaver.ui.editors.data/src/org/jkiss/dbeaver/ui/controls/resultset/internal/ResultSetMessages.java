@@ -448,6 +448,7 @@ public class ResultSetMessages extends NLS {
     public static String aggregate_columns_value_text;
     public static String aggreagate_columns_group_by_column_text;
     public static String aggreagate_columns_toggle_aggregation_text;
+    public static String aggregate_columns_approximate_text;
     public static String aggregate_columns_add_function_text;
     public static String aggregate_columns_remove_function_text;
     public static String aggregate_columns_reset_text;
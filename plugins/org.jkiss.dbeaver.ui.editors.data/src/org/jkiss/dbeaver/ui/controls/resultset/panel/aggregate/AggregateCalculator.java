@@ -0,0 +1,330 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.panel.aggregate;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunction;
+import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunctionApproximate;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.registry.functions.AggregateFunctionDescriptor;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Calculates aggregate functions of selected cells.
+ *
+ * Cells are split into chunks which are aggregated in parallel on the common fork-join pool,
+ * each chunk by its own instances of mergeable functions. Chunk states are merged in selection order,
+ * so results are the same as results of sequential aggregation.
+ * Functions which don't support merge are accumulated by the calling thread.
+ * Workers read values of plain columns directly from rows. Values of other attributes (custom, virtual, nested)
+ * of big selections are resolved by the model when calculator is created, so the model is accessed only
+ * by the thread which owns it.
+ */
+class AggregateCalculator {
+
+    private static final Log log = Log.getLog(AggregateCalculator.class);
+
+    static final int CHUNK_SIZE = 16 * 1024;
+    private static final long PROGRESS_INTERVAL = 200;
+
+    // Prefix of estimated values
+    private static final String APPROXIMATE_PREFIX = "~";
+
+    /**
+     * Formatted results of a single values group.
+     * Attribute is null if values are not grouped by columns, values are null for failed or empty functions.
+     */
+    record Result(@Nullable DBDAttributeBinding attribute, @NotNull String[] values) {
+    }
+
+    @NotNull
+    private final ResultSetModel model;
+    @NotNull
+    private final DBDAttributeBinding[] attributes;
+    @NotNull
+    private final ResultSetRow[] rows;
+    @NotNull
+    private final AggregateFunctionDescriptor[] functions;
+    private final boolean groupByColumns;
+    private final boolean aggregateAsStrings;
+    private final boolean approximate;
+    // Values of non-plain attributes of big selections
+    @Nullable
+    private final Object[] modelValues;
+
+    // Formats are not thread-safe, so each calculation has its own
+    private final DecimalFormat doubleFormat = new DecimalFormat("###,###,###,###,###,##0.###");
+    private final DecimalFormat integerFormat = new DecimalFormat("###,###,###,###,###,##0");
+
+    private volatile boolean canceled;
+
+    AggregateCalculator(
+        @NotNull ResultSetModel model,
+        @NotNull DBDAttributeBinding[] attributes,
+        @NotNull ResultSetRow[] rows,
+        @NotNull List<AggregateFunctionDescriptor> functions,
+        boolean groupByColumns,
+        boolean aggregateAsStrings,
+        boolean approximate
+    ) {
+        this.model = model;
+        this.attributes = attributes;
+        this.rows = rows;
+        this.functions = functions.toArray(new AggregateFunctionDescriptor[0]);
+        this.groupByColumns = groupByColumns;
+        this.aggregateAsStrings = aggregateAsStrings;
+        this.approximate = approximate;
+        this.modelValues = rows.length > CHUNK_SIZE ? resolveModelValues() : null;
+    }
+
+    int getCellCount() {
+        return rows.length;
+    }
+
+    /**
+     * Calculates all functions.
+     *
+     * @param progressListener receives intermediate results while chunks are merged (from the calling thread)
+     * @return final results or null if calculation was canceled
+     */
+    @Nullable
+    List<Result> calculate(@NotNull DBRProgressMonitor monitor, @Nullable Consumer<List<Result>> progressListener) {
+        if (rows.length <= CHUNK_SIZE) {
+            return calculateSequentially();
+        }
+
+        Map<DBDAttributeBinding, AggregateState> states = new LinkedHashMap<>();
+        int chunkCount = (rows.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<ForkJoinTask<Map<DBDAttributeBinding, AggregateState>>> chunks = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            int from = i * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, rows.length);
+            chunks.add(ForkJoinPool.commonPool().submit(() -> {
+                Map<DBDAttributeBinding, AggregateState> chunkStates = new LinkedHashMap<>();
+                accumulate(chunkStates, from, to, true, false);
+                return chunkStates;
+            }));
+        }
+
+        monitor.beginTask("Calculate aggregates", chunkCount);
+        try {
+            long lastProgressTime = System.currentTimeMillis();
+            for (int i = 0; i < chunkCount; i++) {
+                if (monitor.isCanceled()) {
+                    cancel(chunks);
+                    return null;
+                }
+                Map<DBDAttributeBinding, AggregateState> chunkStates;
+                try {
+                    chunkStates = chunks.get(i).join();
+                } catch (CancellationException e) {
+                    return null;
+                }
+                for (Map.Entry<DBDAttributeBinding, AggregateState> entry : chunkStates.entrySet()) {
+                    states.computeIfAbsent(entry.getKey(), k -> new AggregateState(false)).merge(entry.getValue());
+                }
+                // Chunk states contain mergeable functions only, the rest are accumulated here
+                if (!states.isEmpty() && states.values().iterator().next().hasUnmergeableFunctions()) {
+                    int from = i * CHUNK_SIZE;
+                    accumulate(states, from, Math.min(from + CHUNK_SIZE, rows.length), false, true);
+                }
+                chunks.set(i, null);
+                monitor.worked(1);
+
+                long currentTime = System.currentTimeMillis();
+                if (progressListener != null && i < chunkCount - 1 && currentTime - lastProgressTime >= PROGRESS_INTERVAL) {
+                    progressListener.accept(makeResults(states));
+                    lastProgressTime = currentTime;
+                }
+            }
+        } catch (RuntimeException e) {
+            cancel(chunks);
+            throw e;
+        } finally {
+            monitor.done();
+        }
+        return makeResults(states);
+    }
+
+    /**
+     * Calculates all functions in the calling thread
+     */
+    @NotNull
+    List<Result> calculateSequentially() {
+        Map<DBDAttributeBinding, AggregateState> states = new LinkedHashMap<>();
+        accumulate(states, 0, rows.length, false, false);
+        return makeResults(states);
+    }
+
+    @Nullable
+    private Object[] resolveModelValues() {
+        Object[] values = null;
+        for (int i = 0; i < rows.length; i++) {
+            if (!ResultSetModel.isPlainAttribute(attributes[i])) {
+                if (values == null) {
+                    values = new Object[rows.length];
+                }
+                values[i] = model.getCellValue(attributes[i], rows[i]);
+            }
+        }
+        return values;
+    }
+
+    @Nullable
+    private Object getCellValue(int index) {
+        DBDAttributeBinding attribute = attributes[index];
+        if (ResultSetModel.isPlainAttribute(attribute)) {
+            return ResultSetModel.getPlainCellValue(attribute, rows[index]);
+        }
+        return modelValues != null ? modelValues[index] : model.getCellValue(attribute, rows[index]);
+    }
+
+    private void cancel(@NotNull List<ForkJoinTask<Map<DBDAttributeBinding, AggregateState>>> chunks) {
+        canceled = true;
+        for (ForkJoinTask<?> chunk : chunks) {
+            if (chunk != null) {
+                chunk.cancel(false);
+            }
+        }
+    }
+
+    private void accumulate(
+        @NotNull Map<DBDAttributeBinding, AggregateState> states,
+        int from,
+        int to,
+        boolean partial,
+        boolean unmergeableOnly
+    ) {
+        AggregateState lastState = null;
+        DBDAttributeBinding lastKey = null;
+        for (int i = from; i < to && !canceled; i++) {
+            DBDAttributeBinding key = groupByColumns ? attributes[i] : null;
+            if (lastState == null || key != lastKey) {
+                lastState = states.computeIfAbsent(key, k -> new AggregateState(partial));
+                lastKey = key;
+            }
+            lastState.accumulate(getCellValue(i), unmergeableOnly);
+        }
+    }
+
+    @NotNull
+    private List<Result> makeResults(@NotNull Map<DBDAttributeBinding, AggregateState> states) {
+        List<Result> results = new ArrayList<>(states.size());
+        for (Map.Entry<DBDAttributeBinding, AggregateState> entry : states.entrySet()) {
+            results.add(new Result(entry.getKey(), entry.getValue().formatResults()));
+        }
+        return results;
+    }
+
+    /**
+     * Aggregate functions of a single values group
+     */
+    private class AggregateState {
+        private final IAggregateFunction[] funcs;
+        private final int[] funcCount;
+
+        /**
+         * @param partial chunk state, contains only functions which support merge
+         */
+        AggregateState(boolean partial) {
+            funcs = new IAggregateFunction[functions.length];
+            for (int i = 0; i < functions.length; i++) {
+                IAggregateFunction func;
+                try {
+                    func = functions[i].createFunction(approximate);
+                } catch (DBException e) {
+                    log.error(e);
+                    func = null;
+                }
+                if (partial && func != null && !func.isMergeable()) {
+                    func = null;
+                }
+                funcs[i] = func;
+            }
+            funcCount = new int[funcs.length];
+        }
+
+        boolean hasUnmergeableFunctions() {
+            for (IAggregateFunction func : funcs) {
+                if (func != null && !func.isMergeable()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void accumulate(@Nullable Object value, boolean unmergeableOnly) {
+            for (int i = 0; i < funcs.length; i++) {
+                IAggregateFunction func = funcs[i];
+                if (func != null && (!unmergeableOnly || !func.isMergeable()) && func.accumulate(value, aggregateAsStrings)) {
+                    funcCount[i]++;
+                }
+            }
+        }
+
+        void merge(@NotNull AggregateState partial) {
+            for (int i = 0; i < funcs.length; i++) {
+                if (funcs[i] != null && partial.funcs[i] != null) {
+                    funcs[i].merge(partial.funcs[i]);
+                    funcCount[i] += partial.funcCount[i];
+                }
+            }
+        }
+
+        @NotNull
+        String[] formatResults() {
+            String[] values = new String[funcs.length];
+            for (int i = 0; i < funcs.length; i++) {
+                IAggregateFunction func = funcs[i];
+                if (func == null || funcCount[i] <= 0) {
+                    continue;
+                }
+                Object result = func.getResult(funcCount[i]);
+                if (result == null) {
+                    continue;
+                }
+                String strValue;
+                if (result instanceof Double || result instanceof Float || result instanceof BigDecimal) {
+                    strValue = doubleFormat.format(result);
+                } else if (result instanceof Integer || result instanceof Long || result instanceof Short) {
+                    strValue = integerFormat.format(result);
+                } else {
+                    strValue = result.toString();
+                }
+                if (strValue != null && func instanceof IAggregateFunctionApproximate af && af.isApproximateResult()) {
+                    strValue = APPROXIMATE_PREFIX + strValue;
+                }
+                values[i] = strValue;
+            }
+            return values;
+        }
+    }
+
+}
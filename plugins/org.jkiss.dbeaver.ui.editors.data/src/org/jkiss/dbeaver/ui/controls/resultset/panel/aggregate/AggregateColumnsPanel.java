@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.ui.controls.resultset.panel.aggregate;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.action.*;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.viewers.ISelection;
@@ -27,13 +29,15 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.*;
 import org.jkiss.code.NotNull;
-import org.jkiss.dbeaver.DBException;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBIcon;
 import org.jkiss.dbeaver.model.DBPImage;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
-import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunction;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.registry.functions.AggregateFunctionDescriptor;
 import org.jkiss.dbeaver.registry.functions.FunctionsRegistry;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -43,8 +47,6 @@ import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.resultset.*;
 import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
 
-import java.math.BigDecimal;
-import java.text.DecimalFormat;
 import java.util.List;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -61,21 +63,21 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     public static final String SETTINGS_SECTION_AGGREGATE = "panel-" + PANEL_ID;
     public static final String PARAM_GROUP_BY_COLUMNS = "groupByColumns";
     public static final String PARAM_GROUP_AS_STRINGS = "groupAsStrings";
-
-    private static final DecimalFormat DOUBLE_FORMAT = new DecimalFormat("###,###,###,###,###,##0.###");
-    private static final DecimalFormat INTEGER_FORMAT = new DecimalFormat("###,###,###,###,###,##0");
+    public static final String PARAM_APPROXIMATE = "approximate";
 
     private IResultSetPresentation presentation;
     private Tree aggregateTable;
 
     private boolean groupByColumns;
     private boolean aggregateAsStrings;
+    private boolean approximate;
     //private boolean runServerQueries;
 
     private IDialogSettings panelSettings;
 
     private final List<AggregateFunctionDescriptor> enabledFunctions = new ArrayList<>();
     private boolean featureTracked;
+    private volatile CalculateJob calculateJob;
 
     public AggregateColumnsPanel() {
     }
@@ -111,7 +113,10 @@ public class AggregateColumnsPanel implements IResultSetPanel {
 
         menuMgr.setRemoveAllWhenShown(true);
         this.aggregateTable.setMenu(menuMgr.createContextMenu(this.aggregateTable));
-        this.aggregateTable.addDisposeListener(e -> menuMgr.dispose());
+        this.aggregateTable.addDisposeListener(e -> {
+            menuMgr.dispose();
+            cancelCalculation();
+        });
 
         aggregateTable.addSelectionListener(new SelectionAdapter() {
             @Override
@@ -131,6 +136,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     private void loadSettings() {
         aggregateAsStrings = panelSettings.getBoolean(PARAM_GROUP_AS_STRINGS);
         groupByColumns = panelSettings.getBoolean(PARAM_GROUP_BY_COLUMNS);
+        approximate = panelSettings.getBoolean(PARAM_APPROXIMATE);
         IDialogSettings functionsSection = panelSettings.getSection("functions");
         if (functionsSection != null) {
             final Map<AggregateFunctionDescriptor, Integer> funcIndexes = new HashMap<>();
@@ -168,6 +174,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     private void saveSettings() {
         panelSettings.put(PARAM_GROUP_BY_COLUMNS, groupByColumns);
         panelSettings.put(PARAM_GROUP_AS_STRINGS, aggregateAsStrings);
+        panelSettings.put(PARAM_APPROXIMATE, approximate);
         IDialogSettings functionsSection = UIUtils.getSettingsSection(panelSettings, "functions");
 
         for (AggregateFunctionDescriptor func : FunctionsRegistry.getInstance().getAggregateFunctions()) {
@@ -199,6 +206,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
 
     @Override
     public void refresh(boolean force) {
+        cancelCalculation();
         aggregateTable.setRedraw(false);
         try {
             aggregateTable.removeAll();
@@ -230,43 +238,62 @@ public class AggregateColumnsPanel implements IResultSetPanel {
             featureTracked = true;
         }
         ResultSetModel model = presentation.getController().getModel();
-        if (groupByColumns) {
-            Map<DBDAttributeBinding, List<Object>> attrValues = new LinkedHashMap<>();
-            for (Object element : selection.toList()) {
-                DBDAttributeBinding attr = selection.getElementAttribute(element);
-                ResultSetRow row = selection.getElementRow(element);
-                if (row != null) {
-                    Object cellValue = model.getCellValue(attr, row);
-                    List<Object> values = attrValues.computeIfAbsent(attr, k -> new ArrayList<>());
-                    values.add(cellValue);
-                }
+        List<DBDAttributeBinding> attributes = new ArrayList<>();
+        List<ResultSetRow> rows = new ArrayList<>();
+        for (Object element : selection.toList()) {
+            ResultSetRow row = selection.getElementRow(element);
+            if (row != null) {
+                attributes.add(selection.getElementAttribute(element));
+                rows.add(row);
             }
+        }
+        AggregateCalculator calculator = new AggregateCalculator(
+            model,
+            attributes.toArray(new DBDAttributeBinding[0]),
+            rows.toArray(new ResultSetRow[0]),
+            enabledFunctions,
+            groupByColumns,
+            aggregateAsStrings,
+            approximate);
+        if (calculator.getCellCount() <= AggregateCalculator.CHUNK_SIZE) {
+            showResults(calculator.calculate(new VoidProgressMonitor(), null));
+        } else {
+            // Big selection. Aggregate chunks in background and show results as chunks are merged.
+            CalculateJob job = new CalculateJob(calculator);
+            calculateJob = job;
+            job.schedule();
+        }
+    }
+
+    private void cancelCalculation() {
+        CalculateJob job = calculateJob;
+        if (job != null) {
+            calculateJob = null;
+            job.cancel();
+        }
+    }
 
-            for (Map.Entry<DBDAttributeBinding, List<Object>> entry : attrValues.entrySet()) {
+    private void showResults(@Nullable List<AggregateCalculator.Result> results) {
+        if (results == null) {
+            return;
+        }
+        for (AggregateCalculator.Result result : results) {
+            DBDAttributeBinding attr = result.attribute();
+            if (attr != null) {
                 TreeItem attrItem = new TreeItem(aggregateTable, SWT.NONE);
-                attrItem.setText(entry.getKey().getName());
-                attrItem.setImage(DBeaverIcons.getImage(DBValueFormatting.getObjectImage(entry.getKey())));
-                aggregateValues(attrItem, entry.getValue());
+                attrItem.setText(attr.getName());
+                attrItem.setImage(DBeaverIcons.getImage(DBValueFormatting.getObjectImage(attr)));
+                showResults(attrItem, result.values());
                 attrItem.setExpanded(true);
+            } else {
+                showResults(null, result.values());
             }
-        } else {
-            List<Object> allValues = new ArrayList<>(selection.size());
-            for (Object element : selection.toList()) {
-                DBDAttributeBinding attr = selection.getElementAttribute(element);
-                ResultSetRow row = selection.getElementRow(element);
-                if (row != null) {
-                    Object cellValue = model.getCellValue(attr, row);
-                    allValues.add(cellValue);
-                }
-            }
-            aggregateValues(null, allValues);
         }
     }
 
-    private void aggregateValues(TreeItem parentItem, Collection<Object> values) {
-        List<AggregateFunctionDescriptor> functions = enabledFunctions;
-        Map<IAggregateFunction, TreeItem> funcMap = new IdentityHashMap<>();
-        for (AggregateFunctionDescriptor funcDesc : functions) {
+    private void showResults(@Nullable TreeItem parentItem, @NotNull String[] values) {
+        for (int i = 0; i < values.length && i < enabledFunctions.size(); i++) {
+            AggregateFunctionDescriptor funcDesc = enabledFunctions.get(i);
             TreeItem funcItem = (parentItem == null) ?
                 new TreeItem(aggregateTable, SWT.NONE) :
                 new TreeItem(parentItem, SWT.NONE);
@@ -276,43 +303,50 @@ public class AggregateColumnsPanel implements IResultSetPanel {
             if (icon != null) {
                 funcItem.setImage(0, DBeaverIcons.getImage(icon));
             }
-            try {
-                IAggregateFunction func = funcDesc.createFunction();
-                funcMap.put(func, funcItem);
-            } catch (DBException e) {
-                log.error(e);
+            if (values[i] != null) {
+                funcItem.setText(1, values[i]);
             }
         }
+    }
 
-        IAggregateFunction[] funcs = funcMap.keySet().toArray(new IAggregateFunction[funcMap.size()]);
-        int[] funcCount = new int[funcs.length];
-        for (Object element : values) {
-            for (int i = 0; i < funcs.length; i++) {
-                if (funcs[i].accumulate(element, aggregateAsStrings)) {
-                    funcCount[i]++;
-                }
-            }
+    private void updateResults(@NotNull CalculateJob job, @NotNull List<AggregateCalculator.Result> results) {
+        if (calculateJob != job || aggregateTable.isDisposed()) {
+            // Obsolete results
+            return;
         }
-        for (int i = 0; i < funcs.length; i++) {
-            if (funcCount[i] <= 0) {
-                continue;
-            }
-            IAggregateFunction func = funcs[i];
-            Object result = func.getResult(funcCount[i]);
-            if (result != null) {
-                TreeItem treeItem = funcMap.get(func);
-                String strValue;
-                if (result instanceof Double || result instanceof Float || result instanceof BigDecimal) {
-                    strValue = DOUBLE_FORMAT.format(result);
-                } else if (result instanceof Integer || result instanceof Long || result instanceof Short) {
-                    strValue = INTEGER_FORMAT.format(result);
-                } else {
-                    strValue = result.toString();
-                }
-                if (strValue != null) {
-                    treeItem.setText(1, strValue);
-                }
+        aggregateTable.setRedraw(false);
+        try {
+            aggregateTable.removeAll();
+            showResults(results);
+            UIUtils.packColumns(aggregateTable, false, null);
+        } finally {
+            aggregateTable.setRedraw(true);
+        }
+    }
+
+    private class CalculateJob extends AbstractJob {
+        private final AggregateCalculator calculator;
+
+        CalculateJob(@NotNull AggregateCalculator calculator) {
+            super("Calculate aggregate functions");
+            this.calculator = calculator;
+            setSystem(true);
+            setUser(false);
+        }
+
+        @NotNull
+        @Override
+        protected IStatus run(@NotNull DBRProgressMonitor monitor) {
+            List<AggregateCalculator.Result> results = calculator.calculate(monitor, this::publishResults);
+            if (results == null) {
+                return Status.CANCEL_STATUS;
             }
+            publishResults(results);
+            return Status.OK_STATUS;
+        }
+
+        private void publishResults(@NotNull List<AggregateCalculator.Result> results) {
+            UIUtils.asyncExec(() -> updateResults(this, results));
         }
     }
 
@@ -329,6 +363,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         contributionManager.add(new Separator());
         contributionManager.add(new GroupByColumnsAction());
         contributionManager.add(new ValueTypeToggleAction());
+        contributionManager.add(new ApproximateToggleAction());
     }
 
     private class GroupByColumnsAction extends Action {
@@ -363,6 +398,21 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         }
     }
 
+    private class ApproximateToggleAction extends Action {
+        public ApproximateToggleAction() {
+            super(ResultSetMessages.aggregate_columns_approximate_text, IAction.AS_CHECK_BOX);
+            setImageDescriptor(DBeaverIcons.getImageDescriptor(UIIcon.CHART_CURVE));
+            setChecked(approximate);
+        }
+
+        @Override
+        public void run() {
+            approximate = !approximate;
+            setChecked(approximate);
+            refresh(false);
+        }
+    }
+
     private class AddFunctionAction extends Action {
         public AddFunctionAction() {
             super(ResultSetMessages.aggregate_columns_add_function_text, DBeaverIcons.getImageDescriptor(UIIcon.ADD));
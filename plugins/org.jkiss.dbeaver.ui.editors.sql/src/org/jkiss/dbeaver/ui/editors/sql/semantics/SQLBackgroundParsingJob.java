@@ -302,43 +302,42 @@ public class SQLBackgroundParsingJob {
 
         // TODO if these further actions are heavy, maybe use background thread for them too
         synchronized (this.syncRoot) {
+            int offset = event.getOffset();
+            int replacedEnd = offset + event.getLength();
             int delta = insertedLength - event.getLength();
-            if (delta > 0) { // just expand the region to reparse
-                this.queuedForReparse.applyOffset(event.getOffset(), delta);
-                if (DEBUG) {
-                    log.debug("beforeDocumentModification, delta > 0: queuedForReparse count is " + queuedForReparse);
-                }
-                this.enqueueToReparse(reparseStart, reparseLength);
-            } else {
-                // TODO remove just the affected fragment and enqueue regionToReparse
-                
-                // for now removing the whole tail as its offsets are being invalidated
-                ListNode<Integer> keyOffsetsToRemove = null;
-                NodesIterator<QueuedRegionInfo> it = this.queuedForReparse.nodesIteratorAt(reparseStart);
-                int firstAffectedReparseOffset;
-                if (it.getCurrValue() != null || it.prev()) {
-                    firstAffectedReparseOffset = it.getCurrOffset();
-                    if (firstAffectedReparseOffset < reparseStart &&
-                        firstAffectedReparseOffset + it.getCurrValue().length > reparseStart + insertedLength
-                    ) {
-                        return; // modified region is a subrange of already queued for reparse 
-                    }
-                    keyOffsetsToRemove = ListNode.push(keyOffsetsToRemove, firstAffectedReparseOffset);
-                }
-                while (it.next()) {
-                    keyOffsetsToRemove = ListNode.push(keyOffsetsToRemove, it.getCurrOffset());
-                }
-                for (ListNode<Integer> kn = keyOffsetsToRemove; kn != null; kn = kn.next) {
-                    if (DEBUG) {
-                        log.debug("remove " + kn.data + "+" + this.queuedForReparse.find(kn.data).length);
-                    }
-                    this.queuedForReparse.removeAt(kn.data);
-                    if (DEBUG) {
-                        log.debug("beforeDocumentModification, delta <= 0: queuedForReparse count is " + queuedForReparse.size());
+            int reparseEnd = reparseStart + reparseLength;
+
+            // region covering the modification start just follows the text
+            NodesIterator<QueuedRegionInfo> it = this.queuedForReparse.nodesIteratorAt(offset);
+            if (it.prev() && it.getCurrValue() != null && it.getCurrOffset() + it.getCurrValue().length > offset) {
+                QueuedRegionInfo region = it.getCurrValue();
+                int regionEnd = it.getCurrOffset() + region.length;
+                region.length = Math.max(regionEnd, replacedEnd) + delta - it.getCurrOffset();
+            }
+
+            // regions starting inside the modified fragment are merged into the region to reparse
+            ListNode<Integer> keyOffsetsToRemove = null;
+            it = this.queuedForReparse.nodesIteratorAt(offset);
+            if (it.getCurrValue() != null || it.next()) {
+                do {
+                    int regionOffset = it.getCurrOffset();
+                    if (regionOffset >= replacedEnd) {
+                        break;
                     }
-                }
-                this.enqueueToReparse(reparseStart, Integer.MAX_VALUE);
+                    keyOffsetsToRemove = ListNode.push(keyOffsetsToRemove, regionOffset);
+                    reparseEnd = Math.max(reparseEnd, Math.max(regionOffset + it.getCurrValue().length, replacedEnd) + delta);
+                } while (it.next());
+            }
+            for (ListNode<Integer> kn = keyOffsetsToRemove; kn != null; kn = kn.next) {
+                this.queuedForReparse.removeAt(kn.data);
             }
+
+            // the rest are shifted along with the text tail, so nothing below the modification is reparsed
+            this.queuedForReparse.applyOffset(offset, delta);
+            if (DEBUG) {
+                log.debug("beforeDocumentModification, delta " + delta + ": queuedForReparse count is " + queuedForReparse.size());
+            }
+            this.enqueueToReparse(reparseStart, reparseEnd - reparseStart);
             this.resetLastParsingFinishTime();
         }
     }
@@ -502,8 +501,7 @@ public class SQLBackgroundParsingJob {
                     log.debug("queued ranges total: " + this.queuedForReparse.size());
                 }
                 
-                // TODO reparse only changed elements
-                // for now just cover the region of interest
+                // cover the region of interest, elements which are not changed are not analyzed again (see below)
                 {
                     NodesIterator<QueuedRegionInfo> it = this.queuedForReparse.nodesIteratorAt(0);
                     workOffset = (it.getCurrValue() != null || it.next()) ? it.getCurrOffset() : 0;
@@ -636,6 +634,15 @@ public class SQLBackgroundParsingJob {
                 if (monitor.isCanceled()) {
                     break;
                 }
+                boolean endsWithDelimiter = element instanceof SQLQuery queryElement && Boolean.TRUE.equals(queryElement.isEndsWithDelimiter());
+                if (!(element instanceof SQLControlCommand) && this.context.hasActualScriptItem(
+                    element.getOffset(), element.getOriginalText(), element.getLength(), endsWithDelimiter
+                )) {
+                    // the same text at the same position, so the existing model is still valid
+                    monitor.worked(1);
+                    i++;
+                    continue;
+                }
                 try {
                     recognitionContext.reset();
                     SQLQueryModel queryModel = element instanceof SQLControlCommand
@@ -655,7 +662,7 @@ public class SQLBackgroundParsingJob {
                             queryModel,
                             element.getOffset(),
                             element.getLength(),
-                            element instanceof SQLQuery queryElement && Boolean.TRUE.equals(queryElement.isEndsWithDelimiter())
+                            endsWithDelimiter
                         );
                         itemContext.clear();
                         List<SQLQueryRecognitionProblemInfo> problems = recognitionContext.getProblems();
@@ -0,0 +1,222 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.StreamExporterAbstract;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class StreamTransferPipelineTest extends DBeaverUnitTest {
+
+    private static final int FORMATTER_THREADS = 4;
+
+    private final DBCSession session = Mockito.mock(DBCSession.class);
+    private final DBCResultSet resultSet = Mockito.mock(DBCResultSet.class);
+    private final IStreamDataExporterSite site = Mockito.mock(IStreamDataExporterSite.class);
+
+    @Test
+    public void shouldWriteFormattedRowsInInputOrder() throws DBException {
+        int rowCount = 10_123;
+        TestRowWriter rowWriter = new TestRowWriter(-1);
+        StreamTransferPipeline pipeline = createPipeline(rowWriter, new TestExporter(-1));
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < rowCount; i++) {
+            pipeline.addRow(new Object[]{i});
+            expected.append("row ").append(i).append('\n');
+        }
+        pipeline.finish();
+
+        Assert.assertEquals(expected.toString(), rowWriter.text.toString());
+        Assert.assertEquals(rowCount, rowWriter.startedRows);
+        Assert.assertTrue(rowWriter.exportedRows.isEmpty());
+    }
+
+    @Test
+    public void shouldExportRowsInWriterThreadInInputOrder() throws DBException {
+        int rowCount = 1234;
+        TestRowWriter rowWriter = new TestRowWriter(-1);
+        StreamTransferPipeline pipeline = createPipeline(rowWriter, null);
+        for (int i = 0; i < rowCount; i++) {
+            pipeline.addRow(new Object[]{i});
+        }
+        pipeline.finish();
+
+        Assert.assertEquals(rowCount, rowWriter.exportedRows.size());
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals(i, rowWriter.exportedRows.get(i));
+        }
+        Assert.assertNotSame(Thread.currentThread(), rowWriter.writerThread);
+        Assert.assertEquals(0, rowWriter.text.length());
+    }
+
+    @Test
+    public void shouldAbortOnFormatterError() {
+        TestRowWriter rowWriter = new TestRowWriter(-1);
+        TestExporter exporter = new TestExporter(1234);
+        DBCException error = Assert.assertThrows(DBCException.class, () -> {
+            StreamTransferPipeline pipeline = createPipeline(rowWriter, exporter);
+            try {
+                for (int i = 0; i < 1_000_000; i++) {
+                    pipeline.addRow(new Object[]{i});
+                }
+                pipeline.finish();
+            } finally {
+                pipeline.abort();
+            }
+        });
+        Assert.assertSame(exporter.error, error);
+        // Batches before the failed one are written, the rest are discarded
+        Assert.assertEquals(1000, rowWriter.startedRows);
+    }
+
+    @Test
+    public void shouldAbortOnWriterError() {
+        TestRowWriter rowWriter = new TestRowWriter(700);
+        DBCException error = Assert.assertThrows(DBCException.class, () -> {
+            StreamTransferPipeline pipeline = createPipeline(rowWriter, new TestExporter(-1));
+            try {
+                for (int i = 0; i < 1_000_000; i++) {
+                    pipeline.addRow(new Object[]{i});
+                }
+                pipeline.finish();
+            } finally {
+                pipeline.abort();
+            }
+        });
+        Assert.assertSame(rowWriter.error, error.getCause());
+        Assert.assertEquals(701, rowWriter.startedRows);
+    }
+
+    @Test
+    public void shouldExportLobRowsSequentially() {
+        DBDAttributeBinding number = createAttribute(DBPDataKind.NUMERIC);
+        DBDAttributeBinding string = createAttribute(DBPDataKind.STRING);
+        DBDAttributeBinding lob = createAttribute(DBPDataKind.CONTENT);
+
+        Assert.assertTrue(StreamTransferPipeline.isSupported(new DBDAttributeBinding[0]));
+        Assert.assertTrue(StreamTransferPipeline.isSupported(new DBDAttributeBinding[]{number, string}));
+        Assert.assertFalse(StreamTransferPipeline.isSupported(new DBDAttributeBinding[]{number, lob, string}));
+    }
+
+    @NotNull
+    private StreamTransferPipeline createPipeline(@NotNull TestRowWriter rowWriter, TestExporter exporter) throws DBException {
+        return new StreamTransferPipeline("Test", session, resultSet, rowWriter, site, exporter, FORMATTER_THREADS);
+    }
+
+    @NotNull
+    private static DBDAttributeBinding createAttribute(@NotNull DBPDataKind dataKind) {
+        DBDAttributeBinding attribute = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(attribute.getDataKind()).thenReturn(dataKind);
+        return attribute;
+    }
+
+    /**
+     * Collects pipeline output. Invoked in the writer thread only.
+     */
+    private static class TestRowWriter implements StreamTransferPipeline.RowWriter {
+        private final int failRow;
+        private final IOException error = new IOException("Test write error");
+        private final StringBuilder text = new StringBuilder();
+        private final List<Object> exportedRows = new ArrayList<>();
+        private volatile int startedRows;
+        private volatile Thread writerThread;
+
+        TestRowWriter(int failRow) {
+            this.failRow = failRow;
+        }
+
+        @Override
+        public void startRow() throws IOException {
+            writerThread = Thread.currentThread();
+            if (startedRows++ == failRow) {
+                throw error;
+            }
+        }
+
+        @Override
+        public void exportRow(@NotNull Object[] row) {
+            exportedRows.add(row[0]);
+        }
+
+        @Override
+        public void writeRow(@NotNull char[] text, int offset, int length) {
+            this.text.append(text, offset, length);
+        }
+    }
+
+    /**
+     * Exporter which writes row number. Formatters finish batches in random order.
+     */
+    private static class TestExporter extends StreamExporterAbstract implements IParallelDataExporter {
+        private final int failRow;
+        private final DBCException error;
+
+        TestExporter(int failRow) {
+            this(failRow, new DBCException("Test format error"));
+        }
+
+        private TestExporter(int failRow, @NotNull DBCException error) {
+            this.failRow = failRow;
+            this.error = error;
+        }
+
+        @NotNull
+        @Override
+        public IStreamDataExporter createRowFormatter() {
+            return new TestExporter(failRow, error);
+        }
+
+        @Override
+        public void exportHeader(DBCSession session) {
+        }
+
+        @Override
+        public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException {
+            int rowNumber = (Integer) row[0];
+            if (rowNumber == failRow) {
+                throw error;
+            }
+            if (rowNumber % 500 == 0 && ThreadLocalRandom.current().nextBoolean()) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    throw new DBException("Interrupted", e);
+                }
+            }
+            getExportWriter().writeText("row " + rowNumber + "\n");
+        }
+
+        @Override
+        public void exportFooter(DBRProgressMonitor monitor) {
+        }
+    }
+}
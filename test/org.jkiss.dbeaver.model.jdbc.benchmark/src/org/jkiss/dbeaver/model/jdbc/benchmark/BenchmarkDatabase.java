@@ -0,0 +1,54 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.jdbc.benchmark;
+
+import org.jkiss.code.NotNull;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Embedded databases used by benchmarks. All of them work in memory.
+ */
+public enum BenchmarkDatabase {
+
+    H2("org.h2.Driver", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"),
+    SQLITE("org.sqlite.JDBC", "jdbc:sqlite::memory:"),
+    DUCKDB("org.duckdb.DuckDBDriver", "jdbc:duckdb:");
+
+    @NotNull
+    private final String driverClass;
+    @NotNull
+    private final String url;
+
+    BenchmarkDatabase(@NotNull String driverClass, @NotNull String url) {
+        this.driverClass = driverClass;
+        this.url = url;
+    }
+
+    @NotNull
+    public Connection openConnection() throws SQLException {
+        try {
+            // Drivers are on the bundle class path, register them explicitly
+            Class.forName(driverClass);
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Driver '" + driverClass + "' not found", e);
+        }
+        return DriverManager.getConnection(url);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.jdbc.benchmark;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.data.DBDValueHandlerProvider;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCRemoteInstance;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCStandardValueHandlerProvider;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCConnectionImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCFactoryDefault;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * JDBC session over a plain JDBC connection.
+ *
+ * Data source and its container are mocks, they are used only while result set metadata and
+ * value handlers are resolved. Per-row calls (nextRow, fetchValueObject) go through the real
+ * session, execution context and result set implementations.
+ */
+public class BenchmarkSession implements AutoCloseable {
+
+    @NotNull
+    private final Connection connection;
+    @NotNull
+    private final JDBCConnectionImpl session;
+
+    public BenchmarkSession(@NotNull String name, @NotNull Connection connection) {
+        this.connection = connection;
+
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        JDBCDataSource dataSource = Mockito.mock(JDBCDataSource.class);
+        Mockito.when(dataSource.getName()).thenReturn(name);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+        Mockito.when(dataSource.getJdbcFactory()).thenReturn(new JDBCFactoryDefault());
+        Mockito.when(dataSource.getSQLDialect()).thenReturn(BasicSQLDialect.INSTANCE);
+        Mockito.when(dataSource.getAdapter(DBDValueHandlerProvider.class)).thenReturn(new JDBCStandardValueHandlerProvider());
+        Mockito.when(dataSource.resolveDataKind(Mockito.anyString(), Mockito.anyInt())).thenAnswer(
+            invocation -> JDBCUtils.resolveDataKind(null, invocation.getArgument(0), invocation.getArgument(1)));
+
+        JDBCRemoteInstance instance = new JDBCRemoteInstance(dataSource) {
+        };
+        JDBCExecutionContext context = new JDBCExecutionContext(instance, true) {
+            @Override
+            public Connection getConnection(DBRProgressMonitor monitor, boolean openIfNeeded) {
+                return BenchmarkSession.this.connection;
+            }
+        };
+        this.session = new JDBCConnectionImpl(context, new VoidProgressMonitor(), DBCExecutionPurpose.UTIL, "Fetch benchmark");
+        this.session.enableLogging(false);
+    }
+
+    @NotNull
+    public JDBCSession getSession() {
+        return session;
+    }
+
+    @NotNull
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Wraps driver result set in the same way as statements of data source do
+     */
+    @NotNull
+    public JDBCResultSet wrapResultSet(@NotNull ResultSet resultSet) throws SQLException {
+        return JDBCResultSetImpl.makeResultSet(session, null, resultSet, "Fetch benchmark", true);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        session.close();
+        connection.close();
+    }
+}
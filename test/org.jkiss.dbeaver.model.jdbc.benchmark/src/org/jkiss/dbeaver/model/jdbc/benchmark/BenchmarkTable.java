@@ -0,0 +1,149 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.jdbc.benchmark;
+
+import org.jkiss.code.NotNull;
+
+import java.math.BigDecimal;
+import java.sql.*;
+
+/**
+ * Benchmark table generator.
+ * Column types are taken from the type mix round-robin, every tenth value is NULL.
+ */
+public class BenchmarkTable {
+
+    public static final String TABLE_NAME = "fetch_benchmark";
+
+    private static final int NULL_FREQUENCY = 10;
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final long BASE_TIME = Timestamp.valueOf("2024-01-01 00:00:00").getTime();
+
+    public enum ColumnType {
+        INTEGER("INTEGER"),
+        BIGINT("BIGINT"),
+        DOUBLE("DOUBLE"),
+        DECIMAL("DECIMAL(18,4)"),
+        VARCHAR("VARCHAR(64)"),
+        BOOLEAN("BOOLEAN"),
+        DATE("DATE"),
+        TIMESTAMP("TIMESTAMP");
+
+        @NotNull
+        private final String sqlType;
+
+        ColumnType(@NotNull String sqlType) {
+            this.sqlType = sqlType;
+        }
+    }
+
+    public enum TypeMix {
+        NUMERIC(ColumnType.INTEGER, ColumnType.BIGINT, ColumnType.DOUBLE, ColumnType.DECIMAL),
+        STRING(ColumnType.VARCHAR),
+        MIXED(ColumnType.INTEGER, ColumnType.VARCHAR, ColumnType.DOUBLE, ColumnType.TIMESTAMP,
+            ColumnType.BOOLEAN, ColumnType.DECIMAL, ColumnType.DATE, ColumnType.BIGINT);
+
+        @NotNull
+        private final ColumnType[] types;
+
+        TypeMix(@NotNull ColumnType... types) {
+            this.types = types;
+        }
+
+        @NotNull
+        ColumnType getColumnType(int column) {
+            return types[column % types.length];
+        }
+    }
+
+    private BenchmarkTable() {
+    }
+
+    public static void create(@NotNull Connection connection, @NotNull TypeMix typeMix, int columnCount, int rowCount) throws SQLException {
+        StringBuilder ddl = new StringBuilder("CREATE TABLE ").append(TABLE_NAME).append(" (");
+        StringBuilder insert = new StringBuilder("INSERT INTO ").append(TABLE_NAME).append(" VALUES (");
+        for (int i = 0; i < columnCount; i++) {
+            if (i > 0) {
+                ddl.append(", ");
+                insert.append(", ");
+            }
+            ddl.append("c").append(i).append(' ').append(typeMix.getColumnType(i).sqlType);
+            insert.append('?');
+        }
+        ddl.append(')');
+        insert.append(')');
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE_NAME);
+            statement.execute(ddl.toString());
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(insert.toString())) {
+            for (int row = 0; row < rowCount; row++) {
+                for (int i = 0; i < columnCount; i++) {
+                    bindValue(statement, typeMix.getColumnType(i), i + 1, row, i);
+                }
+                statement.addBatch();
+                if ((row + 1) % INSERT_BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    @NotNull
+    public static String getSelectQuery() {
+        return "SELECT * FROM " + TABLE_NAME;
+    }
+
+    private static void bindValue(@NotNull PreparedStatement statement, @NotNull ColumnType type, int index, int row, int column)
+        throws SQLException {
+        if ((row + column) % NULL_FREQUENCY == 0) {
+            statement.setNull(index, getSqlType(type));
+            return;
+        }
+        long seed = (long) row * 31 + column;
+        switch (type) {
+            case INTEGER -> statement.setInt(index, (int) seed);
+            case BIGINT -> statement.setLong(index, seed * 1_000_003L);
+            case DOUBLE -> statement.setDouble(index, seed / 7.0);
+            case DECIMAL -> statement.setBigDecimal(index, BigDecimal.valueOf(seed * 10_000 + column, 4));
+            case VARCHAR -> statement.setString(index, "value " + row + " of column " + column);
+            case BOOLEAN -> statement.setBoolean(index, (seed & 1) == 0);
+            case DATE -> statement.setDate(index, new Date(BASE_TIME + (seed % 3650) * 86_400_000L));
+            case TIMESTAMP -> statement.setTimestamp(index, new Timestamp(BASE_TIME + seed * 1_000L));
+        }
+    }
+
+    private static int getSqlType(@NotNull ColumnType type) {
+        return switch (type) {
+            case INTEGER -> Types.INTEGER;
+            case BIGINT -> Types.BIGINT;
+            case DOUBLE -> Types.DOUBLE;
+            case DECIMAL -> Types.DECIMAL;
+            case VARCHAR -> Types.VARCHAR;
+            case BOOLEAN -> Types.BOOLEAN;
+            case DATE -> Types.DATE;
+            case TIMESTAMP -> Types.TIMESTAMP;
+        };
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.jdbc.benchmark;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeBindingMeta;
+import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result set fetch path benchmarks.
+ *
+ * Fetch benchmarks read the whole benchmark table per invocation and report rows per second.
+ * Run with GC profiler ({@code -prof gc}) to get bytes allocated per row ({@code gc.alloc.rate.norm}).
+ *
+ * Benchmarks run in the test application JVM (no forks), because the bundle class path
+ * can't be reproduced in a forked JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(0)
+public class JDBCFetchBenchmark {
+
+    public static final int ROW_COUNT = 20_000;
+
+    @Param({"H2", "SQLITE", "DUCKDB"})
+    public BenchmarkDatabase database;
+
+    @Param({"4", "16", "64"})
+    public int columnCount;
+
+    @Param({"NUMERIC", "STRING", "MIXED"})
+    public BenchmarkTable.TypeMix typeMix;
+
+    private BenchmarkSession benchmarkSession;
+    private DBDAttributeBinding[] bindings;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        benchmarkSession = new BenchmarkSession(database.name(), database.openConnection());
+        BenchmarkTable.create(benchmarkSession.getConnection(), typeMix, columnCount, ROW_COUNT);
+        try (Statement statement = benchmarkSession.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(BenchmarkTable.getSelectQuery())) {
+            bindings = resolveBindings(benchmarkSession.getSession(), benchmarkSession.wrapResultSet(resultSet));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        benchmarkSession.close();
+    }
+
+    /**
+     * Baseline: plain driver result set, no DBeaver wrappers
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void fetchDriverRows(@NotNull Blackhole blackhole) throws SQLException {
+        try (Statement statement = benchmarkSession.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(BenchmarkTable.getSelectQuery())) {
+            int count = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                for (int i = 1; i <= count; i++) {
+                    blackhole.consume(resultSet.getObject(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * JDBCResultSetImpl.nextRow plus value handlers, bindings are resolved once
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void fetchRows(@NotNull Blackhole blackhole) throws SQLException, DBCException {
+        JDBCSession session = benchmarkSession.getSession();
+        try (Statement statement = benchmarkSession.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(BenchmarkTable.getSelectQuery())) {
+            fetchAll(session, benchmarkSession.wrapResultSet(resultSet), bindings, blackhole);
+        }
+    }
+
+    /**
+     * Full fetch path of the data viewer: metadata read, bindings resolution and fetch of all rows
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void fetchRowsWithBindings(@NotNull Blackhole blackhole) throws SQLException, DBCException {
+        JDBCSession session = benchmarkSession.getSession();
+        try (Statement statement = benchmarkSession.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(BenchmarkTable.getSelectQuery())) {
+            JDBCResultSet dbResult = benchmarkSession.wrapResultSet(resultSet);
+            fetchAll(session, dbResult, resolveBindings(session, dbResult), blackhole);
+        }
+    }
+
+    /**
+     * Result set metadata read and attribute bindings resolution, one query per operation
+     */
+    @Benchmark
+    public DBDAttributeBinding[] resolveBindings() throws SQLException, DBCException {
+        try (Statement statement = benchmarkSession.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(BenchmarkTable.getSelectQuery())) {
+            return resolveBindings(benchmarkSession.getSession(), benchmarkSession.wrapResultSet(resultSet));
+        }
+    }
+
+    @NotNull
+    private static DBDAttributeBinding[] resolveBindings(@NotNull JDBCSession session, @NotNull JDBCResultSet resultSet) throws DBCException {
+        List<? extends DBCAttributeMetaData> attributes = resultSet.getMeta().getAttributes();
+        DBDAttributeBinding[] result = new DBDAttributeBinding[attributes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = new DBDAttributeBindingMeta(null, session, attributes.get(i));
+        }
+        return result;
+    }
+
+    private static void fetchAll(
+        @NotNull JDBCSession session,
+        @NotNull JDBCResultSet resultSet,
+        @NotNull DBDAttributeBinding[] bindings,
+        @NotNull Blackhole blackhole
+    ) throws DBCException {
+        // The same loop as in ResultSetDataReceiver.fetchRow
+        while (resultSet.nextRow()) {
+            Object[] row = new Object[bindings.length];
+            for (int i = 0; i < bindings.length; i++) {
+                DBDAttributeBinding binding = bindings[i];
+                row[i] = binding.getValueHandler().fetchValueObject(
+                    session,
+                    resultSet,
+                    binding.getAttribute(),
+                    binding.getOrdinalPosition());
+            }
+            blackhole.consume(row);
+        }
+    }
+}
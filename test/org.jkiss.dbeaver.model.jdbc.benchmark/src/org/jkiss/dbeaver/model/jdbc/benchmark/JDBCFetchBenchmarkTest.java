@@ -0,0 +1,66 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.jdbc.benchmark;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.utils.CommonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+/**
+ * Runs JMH benchmarks inside the test application.
+ *
+ * System properties:
+ * benchmark.include - benchmark name regexp (default: all benchmarks)
+ * benchmark.database, benchmark.columns, benchmark.typeMix - comma-separated parameter values
+ * benchmark.result - JSON result file
+ */
+public class JDBCFetchBenchmarkTest extends DBeaverUnitTest {
+
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(System.getProperty("benchmark.include", JDBCFetchBenchmark.class.getSimpleName()))
+            .addProfiler(GCProfiler.class)
+            .shouldFailOnError(true);
+        setParameter(options, "database", "benchmark.database");
+        setParameter(options, "columnCount", "benchmark.columns");
+        setParameter(options, "typeMix", "benchmark.typeMix");
+        String resultFile = System.getProperty("benchmark.result");
+        if (!CommonUtils.isEmpty(resultFile)) {
+            options.result(resultFile).resultFormat(ResultFormatType.JSON);
+        }
+        Collection<RunResult> results = new Runner(options.build()).run();
+        Assert.assertFalse(results.isEmpty());
+    }
+
+    private static void setParameter(ChainedOptionsBuilder options, String name, String property) {
+        String value = System.getProperty(property);
+        if (!CommonUtils.isEmpty(value)) {
+            options.param(name, value.split(","));
+        }
+    }
+}
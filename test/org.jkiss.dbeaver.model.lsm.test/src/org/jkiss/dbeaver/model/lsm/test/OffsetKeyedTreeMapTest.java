@@ -42,6 +42,7 @@ import java.util.stream.*;
  *  - intermixed insertions and remove (different series proportions n,m)
  *  - all insertions, then apply offset at existing key
  *  - all insertions, then apply offset at missing key
+ *  - all insertions, then some removals, then apply negative offset dropping the covered keys
  *  - intermixed insertions, remove, apply offset (different series proportions n,m,p)
  *  - all insertions, then removeAtRange at existing key
  *  - all insertions, then removeAtRange offset at missing key
@@ -96,6 +97,16 @@ public class OffsetKeyedTreeMapTest extends DBeaverUnitTest {
             sb.appendRemovalsRandom(0, uniqueCount, count < 10 ? count : uniqueCount / 2);
             sb.complete().run();
         }
+
+        public void doInsertionsRemovalsNegativeOffsets(Supplier<Stream<TestEntry>> insertions) {
+            int uniqueCount = (int) insertions.get().map(e -> e.offset).distinct().count();
+            sb.appendInsertions(insertions);
+            sb.appendRemovalsRandom(0, uniqueCount, uniqueCount / 3);
+            sb.appendApplyNegativeOffsetRandom(Math.max(1, uniqueCount / 3), 20);
+            sb.appendCheckIteratorEverywhere(true);
+            sb.appendCheckIteratorEverywhere(false);
+            sb.complete().run();
+        }
     }
 
     @Test
@@ -130,6 +141,16 @@ public class OffsetKeyedTreeMapTest extends DBeaverUnitTest {
         }
     }
 
+    @Test
+    public void testInsertionsThenRemovalsThenNegativeOffsets() {
+        for (int i : SERIES.get().toArray()) {
+            var t = new Tester();
+            t.doInsertionsRemovalsNegativeOffsets(t.sb.makeEntriesGeneratorAscending(i, 1, 5));
+            t.doInsertionsRemovalsNegativeOffsets(t.sb.makeEntriesGeneratorDescending(i, 1500, 5));
+            t.doInsertionsRemovalsNegativeOffsets(t.sb.makeEntriesGeneratorRandom(i, 1, 500));
+        }
+    }
+
     @Test
     public void testIntermixedInsertionsAndRemovals() {
         for (int count : INTERMIXED_SERIES.get().toArray()) {
@@ -638,6 +659,22 @@ public class OffsetKeyedTreeMapTest extends DBeaverUnitTest {
             };
         }
 
+        public void appendApplyNegativeOffsetRandom(int amount, int deltaLimit) {
+            int seed = staticRandom.nextInt();
+            this.append(() -> {
+                Random rnd = new Random(seed);
+                return IntStream.range(0, amount).mapToObj(n -> this.makeOperation("apply negative offset at random position", true, s -> {
+                    var entries = s.arrayBacked.toListOfEntries();
+                    int offsetLimit = entries.isEmpty() ? 1 : entries.get(entries.size() - 1).offset + deltaLimit;
+                    int offset = rnd.nextInt(0, offsetLimit);
+                    int delta = -rnd.nextInt(1, deltaLimit);
+
+                    s.arrayBacked.applyOffset(offset, delta);
+                    s.treeBacked.applyOffset(offset, delta);
+                }));
+            });
+        }
+
         public Supplier<Stream<TestOperation>> makeOpsAtRandomOffsets(
             OffsetGeneratorParameters offsetParams,
             String description,
@@ -0,0 +1,160 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.adapters;
+
+import com.google.gson.Gson;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.impl.data.DBDValueError;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class DPIRowBatchTest extends DBeaverUnitTest {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void shouldDecodeEveryValueType() throws IOException {
+        Timestamp timestamp = Timestamp.valueOf("2024-05-01 10:20:30.123456789");
+        Object[] values = {
+            Boolean.TRUE,
+            (byte) -5,
+            (short) 300,
+            100_000,
+            10_000_000_000L,
+            1.25f,
+            -2.5d,
+            new BigDecimal("-12345.678900"),
+            new BigInteger("123456789012345678901234567890"),
+            "text \u00e4\u00f6\u00fc",
+            new byte[]{1, 2, 3},
+            new java.util.Date(1000L),
+            new java.sql.Date(2000L),
+            new java.sql.Time(3000L),
+            timestamp,
+            LocalDate.of(2024, 5, 1),
+            LocalTime.of(10, 20, 30, 400),
+            LocalDateTime.of(2024, 5, 1, 10, 20, 30, 500),
+            new ArrayList<>(List.of("a", "b"))
+        };
+        // Second row has NULLs in all columns, third one has the same values again
+        List<Object[]> rows = List.of(values, new Object[values.length], values);
+
+        DPIRowBatch batch = roundTrip(rows, values.length, false);
+        Assert.assertFalse(batch.isLast());
+        Assert.assertEquals(3, batch.getRows().size());
+        for (int column = 0; column < values.length; column++) {
+            Object expected = values[column];
+            for (int row : new int[]{0, 2}) {
+                Object actual = batch.getRows().get(row)[column];
+                Assert.assertNotNull("Column " + column, actual);
+                Assert.assertSame("Column " + column, expected.getClass(), actual.getClass());
+                if (expected instanceof byte[] bytes) {
+                    Assert.assertArrayEquals(bytes, (byte[]) actual);
+                } else {
+                    Assert.assertEquals("Column " + column, expected, actual);
+                }
+            }
+            Assert.assertNull(batch.getRows().get(1)[column]);
+        }
+        Assert.assertEquals(timestamp.getNanos(), ((Timestamp) batch.getRows().get(0)[14]).getNanos());
+    }
+
+    @Test
+    public void shouldDecodeErrorsAndUnknownClasses() throws IOException {
+        List<Object[]> rows = List.<Object[]>of(new Object[]{new DBDValueError(new DBException("Bad value"))});
+        DPIRowBatch batch = roundTrip(rows, 1, true);
+        Object value = batch.getRows().get(0)[0];
+        Assert.assertTrue(value instanceof DBDValueError);
+        Assert.assertEquals("Bad value", ((DBDValueError) value).getErrorTitle());
+
+        // Class which can't be loaded on the client side is kept as JSON
+        ClassLoader emptyLoader = new ClassLoader(null) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                throw new ClassNotFoundException(name);
+            }
+        };
+        byte[] data = DPIRowBatch.encode(gson, List.<Object[]>of(new Object[]{new ArrayList<>(List.of(1))}), 1, true);
+        Assert.assertEquals("[1]", DPIRowBatch.decode(gson, emptyLoader, data).getRows().get(0)[0]);
+    }
+
+    @Test
+    public void shouldDecodeMixedAndNullColumns() throws IOException {
+        List<Object[]> rows = List.of(
+            new Object[]{1, null, "a"},
+            new Object[]{"two", null, null},
+            new Object[]{null, null, "c"},
+            new Object[]{3L},
+            new Object[]{LocalDate.of(2024, 1, 1), null, "e"}
+        );
+        DPIRowBatch batch = roundTrip(rows, 3, true);
+        Assert.assertTrue(batch.isLast());
+        List<Object[]> expected = List.of(
+            new Object[]{1, null, "a"},
+            new Object[]{"two", null, null},
+            new Object[]{null, null, "c"},
+            // Missing values of short rows are NULLs
+            new Object[]{3L, null, null},
+            new Object[]{LocalDate.of(2024, 1, 1), null, "e"}
+        );
+        Assert.assertEquals(expected.size(), batch.getRows().size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals(expected.get(i), batch.getRows().get(i));
+        }
+        Assert.assertSame(Long.class, batch.getRows().get(3)[0].getClass());
+    }
+
+    @Test
+    public void shouldDecodeEmptyBatch() throws IOException {
+        DPIRowBatch batch = roundTrip(List.of(), 3, true);
+        Assert.assertTrue(batch.isLast());
+        Assert.assertTrue(batch.getRows().isEmpty());
+
+        batch = roundTrip(List.of(), 0, false);
+        Assert.assertFalse(batch.isLast());
+        Assert.assertTrue(batch.getRows().isEmpty());
+
+        // Rows without columns
+        batch = roundTrip(List.of(new Object[0], new Object[0]), 0, true);
+        Assert.assertEquals(2, batch.getRows().size());
+        Assert.assertEquals(0, batch.getRows().get(1).length);
+    }
+
+    @Test
+    public void shouldRejectTruncatedBatch() throws IOException {
+        byte[] data = DPIRowBatch.encode(gson, List.<Object[]>of(new Object[]{"value"}), 1, true);
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        Assert.assertThrows(IOException.class, () -> DPIRowBatch.decode(gson, getClass().getClassLoader(), truncated));
+    }
+
+    private DPIRowBatch roundTrip(List<Object[]> rows, int columnCount, boolean last) throws IOException {
+        byte[] data = DPIRowBatch.encode(gson, rows, columnCount, last);
+        return DPIRowBatch.decode(gson, getClass().getClassLoader(), data);
+    }
+}
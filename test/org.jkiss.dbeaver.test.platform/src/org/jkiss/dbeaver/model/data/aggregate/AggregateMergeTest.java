@@ -0,0 +1,114 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+public class AggregateMergeTest extends DBeaverUnitTest {
+
+    private static final int CHUNK_COUNT = 7;
+
+    @Test
+    public void mergedResultsAreEqualToSequential() {
+        List<Object> values = new ArrayList<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            values.add(i % 50 == 0 ? null : random.nextInt(500));
+        }
+        List<Supplier<IAggregateFunction>> functions = List.of(
+            FunctionCount::new,
+            FunctionCountNulls::new,
+            FunctionCountDistinct::new,
+            FunctionSum::new,
+            FunctionAvg::new,
+            FunctionMin::new,
+            FunctionMax::new,
+            FunctionMedian::new,
+            FunctionMode::new,
+            FunctionMedianApproximate::new,
+            FunctionCountDistinctApproximate::new
+        );
+        for (Supplier<IAggregateFunction> supplier : functions) {
+            IAggregateFunction sequential = supplier.get();
+            int sequentialCount = accumulate(sequential, values, 0, values.size());
+            IAggregateFunction merged = supplier.get();
+            Assert.assertTrue(merged.isMergeable());
+            int mergedCount = accumulateChunks(merged, supplier, values);
+            Assert.assertEquals(
+                merged.getClass().getSimpleName(),
+                sequential.getResult(sequentialCount),
+                merged.getResult(mergedCount));
+        }
+    }
+
+    @Test
+    public void mergedSketchesKeepAccuracy() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 300_000; i++) {
+            values.add(i % 3 == 0 ? "frequent" : "value " + i);
+        }
+        var countDistinct = new FunctionCountDistinctApproximate();
+        accumulateChunks(countDistinct, FunctionCountDistinctApproximate::new, values);
+        Assert.assertTrue(countDistinct.isApproximateResult());
+        Assert.assertEquals(200_001, (Long) countDistinct.getResult(0), 200_001 * 0.03);
+
+        var mode = new FunctionModeApproximate();
+        accumulateChunks(mode, FunctionModeApproximate::new, values);
+        Assert.assertEquals("frequent", mode.getResult(0));
+
+        List<Object> numbers = new ArrayList<>();
+        for (int i = 0; i < 300_000; i++) {
+            numbers.add((int) ((long) i * 7919 % 300_000));
+        }
+        var median = new FunctionMedianApproximate();
+        accumulateChunks(median, FunctionMedianApproximate::new, numbers);
+        Assert.assertTrue(median.isApproximateResult());
+        Assert.assertEquals(150_000, ((Number) median.getResult(0)).doubleValue(), 300_000 * 0.02);
+    }
+
+    private static int accumulateChunks(
+        IAggregateFunction target,
+        Supplier<? extends IAggregateFunction> supplier,
+        List<Object> values
+    ) {
+        int chunkSize = (values.size() + CHUNK_COUNT - 1) / CHUNK_COUNT;
+        int count = accumulate(target, values, 0, chunkSize);
+        for (int from = chunkSize; from < values.size(); from += chunkSize) {
+            IAggregateFunction partial = supplier.get();
+            count += accumulate(partial, values, from, Math.min(from + chunkSize, values.size()));
+            target.merge(partial);
+        }
+        return count;
+    }
+
+    private static int accumulate(IAggregateFunction func, List<Object> values, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (func.accumulate(values.get(i), false)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class ApproximateFunctionsTest extends DBeaverUnitTest {
+
+    @Test
+    public void countDistinctIsExactForSmallSets() {
+        var func = new FunctionCountDistinctApproximate();
+        for (int i = 0; i < 3000; i++) {
+            func.accumulate(i % 1000, false);
+        }
+        func.accumulate(null, false);
+        Assert.assertFalse(func.isApproximateResult());
+        Assert.assertEquals(1001L, func.getResult(0));
+    }
+
+    @Test
+    public void countDistinctEstimatesLargeSets() {
+        var func = new FunctionCountDistinctApproximate();
+        int distinct = 1_000_000;
+        for (int i = 0; i < distinct; i++) {
+            func.accumulate("value " + i, false);
+            func.accumulate("value " + (i / 2), false);
+        }
+        Assert.assertTrue(func.isApproximateResult());
+        long estimate = (Long) func.getResult(0);
+        Assert.assertEquals(distinct, estimate, distinct * 0.03);
+    }
+
+    @Test
+    public void medianIsExactForSmallSets() {
+        var exact = new FunctionMedian();
+        var approximate = new FunctionMedianApproximate();
+        for (int i = 1; i <= 100; i++) {
+            exact.accumulate(i, false);
+            approximate.accumulate(i, false);
+        }
+        Assert.assertFalse(approximate.isApproximateResult());
+        Assert.assertEquals(exact.getResult(100), approximate.getResult(100));
+        Assert.assertEquals(50.5, approximate.getResult(100));
+    }
+
+    @Test
+    public void medianEstimatesLargeSets() {
+        int count = 200_000;
+        List<Integer> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(1));
+        var func = new FunctionMedianApproximate();
+        values.forEach(value -> func.accumulate(value, false));
+        Assert.assertTrue(func.isApproximateResult());
+        // Rank error must be within a couple of percents
+        Assert.assertEquals(count / 2.0, ((Number) func.getResult(count)).doubleValue(), count * 0.02);
+    }
+
+    @Test
+    public void medianOfStrings() {
+        var func = new FunctionMedianApproximate();
+        for (int i = 0; i < 50_000; i++) {
+            func.accumulate(String.valueOf((char) ('a' + i % 26)), true);
+        }
+        String median = (String) func.getResult(50_000);
+        Assert.assertTrue(median.compareTo("l") >= 0 && median.compareTo("n") <= 0);
+    }
+
+    @Test
+    public void modeFindsHeavyHitter() {
+        var exact = new FunctionMode();
+        var approximate = new FunctionModeApproximate();
+        Random random = new Random(1);
+        for (int i = 0; i < 500_000; i++) {
+            Object value = i % 10 == 0 ? "frequent" : "noise " + random.nextInt(100_000);
+            exact.accumulate(value, false);
+            approximate.accumulate(value, false);
+        }
+        Assert.assertTrue(approximate.isApproximateResult());
+        Assert.assertEquals("frequent", exact.getResult(0));
+        Assert.assertEquals("frequent", approximate.getResult(0));
+    }
+
+    @Test
+    public void modeIsExactForSmallSets() {
+        var exact = new FunctionMode();
+        var approximate = new FunctionModeApproximate();
+        Object[] values = {3, "3", 1, 2, 2, 1, null, 5};
+        for (Object value : values) {
+            exact.accumulate(value, false);
+            approximate.accumulate(value, false);
+        }
+        Assert.assertFalse(approximate.isApproximateResult());
+        Assert.assertEquals(exact.getResult(0), approximate.getResult(0));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JDBCMetadataSnapshotTest extends DBeaverUnitTest {
+
+    private static final Timestamp DDL_TIME = Timestamp.valueOf("2024-05-01 10:20:30.5");
+
+    @Test
+    public void shouldReplayRowsAfterSerialization() throws IOException, SQLException {
+        JDBCMetadataSnapshot snapshot = readBack(createSnapshot());
+        Assert.assertNotNull(snapshot);
+        Assert.assertEquals("marker-1", snapshot.getMarker());
+        Assert.assertEquals(2, snapshot.getRowCount());
+
+        ResultSet resultSet = snapshot.openResultSet();
+        Assert.assertTrue(resultSet.next());
+        Assert.assertEquals("TABLE_A", resultSet.getString("table_name"));
+        Assert.assertEquals(10, resultSet.getInt("ROW_COUNT"));
+        Assert.assertEquals(10L, resultSet.getObject(2));
+        Assert.assertTrue(resultSet.getBoolean("TEMPORARY"));
+        Assert.assertEquals(DDL_TIME, resultSet.getTimestamp("LAST_DDL_TIME"));
+        Assert.assertEquals(new BigDecimal("1.50"), resultSet.getBigDecimal(5));
+
+        Assert.assertTrue(resultSet.next());
+        Assert.assertEquals("TABLE_B", resultSet.getString(1));
+        Assert.assertEquals(0, resultSet.getInt("ROW_COUNT"));
+        Assert.assertTrue(resultSet.wasNull());
+        Assert.assertFalse(resultSet.next());
+        Assert.assertFalse(((JDBCMetadataSnapshot.Replay) resultSet).hasUnsupportedCalls());
+    }
+
+    @Test
+    public void shouldReportUnsupportedCalls() throws SQLException {
+        ResultSet resultSet = createSnapshot().openResultSet();
+        Assert.assertTrue(resultSet.next());
+        Assert.assertThrows(SQLFeatureNotSupportedException.class, () -> resultSet.getClob(1));
+        Assert.assertTrue(((JDBCMetadataSnapshot.Replay) resultSet).hasUnsupportedCalls());
+    }
+
+    @Test
+    public void shouldNotRecordStreamedColumns() throws SQLException {
+        // Streamed value (e.g. Oracle LONG) can be read only once, so it must be left to the cache
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class[]{ResultSetMetaData.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getColumnCount" -> 2;
+                case "getColumnLabel" -> (Integer) args[0] == 1 ? "COLUMN_NAME" : "DATA_DEFAULT";
+                case "getColumnType" -> (Integer) args[0] == 1 ? Types.VARCHAR : Types.LONGVARCHAR;
+                case "getColumnTypeName" -> (Integer) args[0] == 1 ? "VARCHAR2" : "LONG";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        ResultSet source = (ResultSet) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class[]{ResultSet.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("wasNull")) {
+                    return false;
+                }
+                if (method.getName().equals("getString") && Integer.valueOf(1).equals(args[0])) {
+                    return "ID";
+                }
+                throw new SQLException("Stream has already been closed");
+            });
+        JDBCMetadataSnapshot snapshot = JDBCMetadataSnapshot.create("test-columns", "marker-1", metaData);
+        snapshot.addRow(source);
+        Assert.assertTrue(snapshot.isValid());
+        Assert.assertEquals(1, snapshot.getRowCount());
+
+        ResultSet resultSet = snapshot.openResultSet();
+        Assert.assertTrue(resultSet.next());
+        Assert.assertEquals("ID", resultSet.getString("COLUMN_NAME"));
+        Assert.assertFalse(((JDBCMetadataSnapshot.Replay) resultSet).hasUnsupportedCalls());
+        Assert.assertThrows(SQLFeatureNotSupportedException.class, () -> resultSet.getString("DATA_DEFAULT"));
+        Assert.assertTrue(((JDBCMetadataSnapshot.Replay) resultSet).hasUnsupportedCalls());
+    }
+
+    @Test
+    public void shouldRejectUnknownFormat() throws IOException {
+        Assert.assertNull(JDBCMetadataSnapshot.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})));
+    }
+
+    private static JDBCMetadataSnapshot createSnapshot() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"TABLE_A", 10L, true, DDL_TIME, new BigDecimal("1.50")});
+        rows.add(new Object[]{"TABLE_B", null, false, null, null});
+        return new JDBCMetadataSnapshot(
+            "test-cache",
+            "marker-1",
+            new String[]{"TABLE_NAME", "ROW_COUNT", "TEMPORARY", "LAST_DDL_TIME", "RATIO"},
+            new int[]{Types.VARCHAR, Types.BIGINT, Types.BOOLEAN, Types.TIMESTAMP, Types.NUMERIC},
+            new String[]{"VARCHAR", "BIGINT", "BOOLEAN", "TIMESTAMP", "NUMERIC"},
+            rows);
+    }
+
+    private static JDBCMetadataSnapshot readBack(JDBCMetadataSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        snapshot.write(buffer);
+        return JDBCMetadataSnapshot.read(new ByteArrayInputStream(buffer.toByteArray()));
+    }
+}
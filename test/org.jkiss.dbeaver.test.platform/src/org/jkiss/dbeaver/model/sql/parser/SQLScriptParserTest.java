@@ -41,6 +41,8 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -758,6 +760,32 @@ public class SQLScriptParserTest extends DBeaverUnitTest {
             WHERE 1=1""", element.getText());
     }
 
+    @Test
+    public void parseScriptStreamWithSmallWindow() throws DBException, IOException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            script.append("SELECT ").append(i).append(" FROM dual WHERE name = 'a;b';\n");
+            script.append("CREATE FUNCTION f").append(i).append("() RETURNS int AS $$\n")
+                .append("BEGIN\n    RETURN ").append(i).append(";\nEND;\n$$ LANGUAGE plpgsql;\n");
+            script.append("-- comment;\n\n");
+        }
+        SQLParserContext context = createParserContext(setDialect("postgresql"), script.toString());
+        List<SQLScriptElement> expected = SQLScriptParser.extractScriptQueries(context, 0, script.length(), true, false, false);
+        Assert.assertFalse(expected.isEmpty());
+
+        List<SQLScriptElement> actual = new ArrayList<>();
+        try (SQLScriptStreamParser parser = new SQLScriptStreamParser(dataSource, new StringReader(script.toString()), 64)) {
+            while (parser.hasNext()) {
+                SQLScriptElement element = parser.next();
+                Assert.assertEquals(expected.get(actual.size()).getOffset(), parser.getPosition());
+                actual.add(element);
+            }
+        }
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int index = 0; index < expected.size(); index++) {
+            Assert.assertEquals(expected.get(index).getText(), actual.get(index).getText());
+        }
+    }
 
     private void assertParse(String dialectName, String[] expected) throws DBException {
         String source = Arrays.stream(expected).filter(Objects::nonNull).collect(Collectors.joining());
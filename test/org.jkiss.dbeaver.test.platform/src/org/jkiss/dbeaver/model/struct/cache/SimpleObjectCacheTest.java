@@ -0,0 +1,92 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct.cache;
+
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SimpleObjectCacheTest extends DBeaverUnitTest {
+
+    private static class TestCache extends SimpleObjectCache<DBSObject, DBSObject> {
+        void merge(List<DBSObject> objects) {
+            mergeCache(objects);
+        }
+    }
+
+    @Test
+    public void shouldFindObjectsAfterModifications() {
+        TestCache cache = new TestCache();
+        cache.setCache(new ArrayList<>(List.of(createObject("a"), createObject("b"))));
+        Assert.assertNotNull(cache.getCachedObject("a"));
+
+        DBSObject c = createObject("c");
+        cache.cacheObject(c);
+        Assert.assertSame(c, cache.getCachedObject("c"));
+
+        cache.renameObject(c, "c", "d");
+        Assert.assertNull(cache.getCachedObject("c"));
+        Assert.assertSame(c, cache.getCachedObject("d"));
+
+        cache.removeObject(c, false);
+        Assert.assertNull(cache.getCachedObject("d"));
+        Assert.assertEquals(2, cache.getCacheSize());
+    }
+
+    @Test
+    public void shouldKeepReturnedListsUnchanged() {
+        TestCache cache = new TestCache();
+        cache.setCache(new ArrayList<>(List.of(createObject("a"))));
+        List<DBSObject> snapshot = cache.getCachedObjects();
+
+        cache.cacheObject(createObject("b"));
+        cache.removeObject(snapshot.get(0), false);
+
+        Assert.assertEquals(1, snapshot.size());
+        Assert.assertEquals("a", snapshot.get(0).getName());
+        Assert.assertEquals(1, cache.getCachedObjects().size());
+        Assert.assertEquals("b", cache.getCachedObjects().get(0).getName());
+    }
+
+    @Test
+    public void shouldReuseCachedObjectsOnMerge() {
+        TestCache cache = new TestCache();
+        DBSObject oldA = createObject("a");
+        cache.setCache(new ArrayList<>(List.of(oldA, createObject("b"))));
+
+        DBSObject newC = createObject("c");
+        cache.merge(List.of(createObject("a"), newC));
+
+        List<DBSObject> objects = cache.getCachedObjects();
+        Assert.assertEquals(2, objects.size());
+        Assert.assertSame(oldA, objects.get(0));
+        Assert.assertSame(newC, objects.get(1));
+        Assert.assertSame(oldA, cache.getCachedObject("a"));
+        Assert.assertNull(cache.getCachedObject("b"));
+    }
+
+    private static DBSObject createObject(String name) {
+        DBSObject object = Mockito.mock(DBSObject.class);
+        Mockito.lenient().when(object.getName()).thenReturn(name);
+        return object;
+    }
+}
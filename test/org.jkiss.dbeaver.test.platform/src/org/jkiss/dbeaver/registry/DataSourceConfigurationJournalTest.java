@@ -0,0 +1,297 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class DataSourceConfigurationJournalTest extends DBeaverUnitTest {
+
+    private static final String MAIN_ID = "postgres-main";
+    private static final String OTHER_ID = "postgres-other";
+
+    private RegistryTestProject project;
+    private String savedConfig;
+
+    @Before
+    public void setUp() throws Exception {
+        project = new RegistryTestProject(Files.createTempDirectory("dbeaver-registry"));
+        DataSourceRegistry<DataSourceDescriptor> registry = project.openRegistry();
+        try {
+            registry.addDataSource(createDataSource(registry, MAIN_ID, "main.example.com", "scott", "tiger"));
+            registry.addDataSource(createDataSource(registry, OTHER_ID, "other.example.com", "postgres", "secret"));
+            registry.saveDataSources();
+        } finally {
+            registry.dispose();
+        }
+        savedConfig = project.readConfig();
+        Assert.assertFalse(Files.exists(project.getJournalFile()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        project.delete();
+    }
+
+    @Test
+    public void testReplayUpdateDeleteAndCreate() throws Exception {
+        DataSourceRegistry<DataSourceDescriptor> registry = project.openRegistry();
+        try {
+            DataSourceDescriptor main = getDataSource(registry, MAIN_ID);
+            main.getConnectionConfiguration().setHostName("main2.example.com");
+            registry.updateDataSource(main);
+            registry.removeDataSource(getDataSource(registry, OTHER_ID));
+            registry.addDataSource(createDataSource(registry, OTHER_ID, "recreated.example.com", "admin", "admin"));
+
+            // Changes are appended to the journal, snapshot stays the same
+            Assert.assertEquals(3, readJournal().size());
+            Assert.assertEquals(savedConfig, project.readConfig());
+        } finally {
+            disposeWithoutCompaction(registry);
+        }
+
+        registry = project.openRegistry();
+        try {
+            Assert.assertEquals(2, registry.getDataSources().size());
+            assertConnection(getDataSource(registry, MAIN_ID), "main2.example.com", "scott", "tiger");
+            assertConnection(getDataSource(registry, OTHER_ID), "recreated.example.com", "admin", "admin");
+        } finally {
+            registry.dispose();
+        }
+    }
+
+    @Test
+    public void testJournalCredentials() throws Exception {
+        DataSourceRegistry<DataSourceDescriptor> registry = project.openRegistry();
+        try {
+            DataSourceDescriptor main = getDataSource(registry, MAIN_ID);
+            main.getConnectionConfiguration().setUserPassword("lion");
+            registry.updateDataSource(main);
+            DataSourceDescriptor other = getDataSource(registry, OTHER_ID);
+            other.getConnectionConfiguration().setUserName(null);
+            other.getConnectionConfiguration().setUserPassword(null);
+            other.setSavePassword(false);
+            registry.updateDataSource(other);
+
+            // Credentials are never written to the journal, credentials file is updated instead
+            List<String> journal = readJournal();
+            Assert.assertEquals(2, journal.size());
+            for (String entry : journal) {
+                Assert.assertFalse(entry.contains("secure-credentials"));
+                Assert.assertFalse(entry.contains("lion"));
+            }
+            String credentials = project.readCredentials();
+            Assert.assertTrue(credentials.contains("lion"));
+            Assert.assertFalse(credentials.contains("tiger"));
+            Assert.assertFalse(credentials.contains(OTHER_ID));
+            Assert.assertEquals(savedConfig, project.readConfig());
+        } finally {
+            disposeWithoutCompaction(registry);
+        }
+
+        registry = project.openRegistry();
+        try {
+            assertConnection(getDataSource(registry, MAIN_ID), "main.example.com", "scott", "lion");
+            DBPConnectionConfiguration otherConfig = getDataSource(registry, OTHER_ID).getConnectionConfiguration();
+            Assert.assertNull(otherConfig.getUserName());
+            Assert.assertNull(otherConfig.getUserPassword());
+
+            // Credentials file stays the same if credentials weren't changed
+            byte[] encryptedCredentials = Files.readAllBytes(project.getCredentialsFile());
+            DataSourceDescriptor main = getDataSource(registry, MAIN_ID);
+            main.getConnectionConfiguration().setHostName("main2.example.com");
+            registry.updateDataSource(main);
+            Assert.assertArrayEquals(encryptedCredentials, Files.readAllBytes(project.getCredentialsFile()));
+        } finally {
+            registry.dispose();
+        }
+    }
+
+    @Test
+    public void testCompactionOnDispose() throws Exception {
+        DataSourceRegistry<DataSourceDescriptor> registry = project.openRegistry();
+        try {
+            DataSourceDescriptor main = getDataSource(registry, MAIN_ID);
+            main.getConnectionConfiguration().setHostName("main2.example.com");
+            registry.updateDataSource(main);
+            Assert.assertEquals(1, readJournal().size());
+        } finally {
+            registry.dispose();
+        }
+        Assert.assertFalse(Files.exists(project.getJournalFile()));
+        Assert.assertTrue(project.readConfig().contains("main2.example.com"));
+
+        // Registry without journal entries doesn't rewrite the snapshot
+        String compactedConfig = Files.readString(project.getConfigFile());
+        project.openRegistry().dispose();
+        Assert.assertEquals(compactedConfig, Files.readString(project.getConfigFile()));
+
+        registry = project.openRegistry();
+        try {
+            assertConnection(getDataSource(registry, MAIN_ID), "main2.example.com", "scott", "tiger");
+        } finally {
+            registry.dispose();
+        }
+    }
+
+    @Test
+    public void testStaleJournalIgnored() throws Exception {
+        Path staleJournal = project.getAbsolutePath().resolve("stale.journal");
+        DataSourceRegistry<DataSourceDescriptor> registry = project.openRegistry();
+        try {
+            DataSourceDescriptor main = getDataSource(registry, MAIN_ID);
+            main.getConnectionConfiguration().setHostName("stale.example.com");
+            registry.updateDataSource(main);
+            registry.removeDataSource(getDataSource(registry, OTHER_ID));
+            Files.copy(project.getJournalFile(), staleJournal);
+
+            // New snapshot gets a new journal id. Journal is left as if the save was interrupted before its removal.
+            main.getConnectionConfiguration().setHostName("main2.example.com");
+            registry.saveDataSources();
+            Assert.assertFalse(Files.exists(project.getJournalFile()));
+            Files.move(staleJournal, project.getJournalFile());
+        } finally {
+            registry.dispose();
+        }
+
+        registry = project.openRegistry();
+        try {
+            Assert.assertEquals(1, registry.getDataSources().size());
+            assertConnection(getDataSource(registry, MAIN_ID), "main2.example.com", "scott", "tiger");
+
+            // New changes go on top of the snapshot, stale entries are still ignored
+            DataSourceDescriptor main = getDataSource(registry, MAIN_ID);
+            main.getConnectionConfiguration().setHostName("main3.example.com");
+            registry.updateDataSource(main);
+        } finally {
+            registry.dispose();
+        }
+
+        registry = project.openRegistry();
+        try {
+            Assert.assertEquals(1, registry.getDataSources().size());
+            assertConnection(getDataSource(registry, MAIN_ID), "main3.example.com", "scott", "tiger");
+        } finally {
+            registry.dispose();
+        }
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        DataSourceRegistry<DataSourceDescriptor> registry = project.openRegistry();
+        try {
+            DataSourceDescriptor main = getDataSource(registry, MAIN_ID);
+            for (int i = 1; i < DataSourceConfigurationJournal.MAX_JOURNAL_ENTRIES; i++) {
+                main.getConnectionConfiguration().setHostPort(String.valueOf(i));
+                registry.updateDataSource(main);
+            }
+            Assert.assertEquals(DataSourceConfigurationJournal.MAX_JOURNAL_ENTRIES - 1, readJournal().size());
+            Assert.assertEquals(savedConfig, project.readConfig());
+
+            // The last entry fills the journal and it is merged into the snapshot
+            main.getConnectionConfiguration().setHostPort("compacted");
+            registry.updateDataSource(main);
+            Assert.assertFalse(Files.exists(project.getJournalFile()));
+            Assert.assertTrue(project.readConfig().contains("compacted"));
+
+            main.getConnectionConfiguration().setHostPort("after");
+            registry.updateDataSource(main);
+            Assert.assertEquals(1, readJournal().size());
+        } finally {
+            registry.dispose();
+        }
+
+        registry = project.openRegistry();
+        try {
+            DataSourceDescriptor main = getDataSource(registry, MAIN_ID);
+            Assert.assertEquals("after", main.getConnectionConfiguration().getHostPort());
+            assertConnection(main, "main.example.com", "scott", "tiger");
+        } finally {
+            registry.dispose();
+        }
+    }
+
+    @NotNull
+    private static DataSourceDescriptor createDataSource(
+        @NotNull DataSourceRegistry<DataSourceDescriptor> registry,
+        @NotNull String id,
+        @NotNull String host,
+        @NotNull String user,
+        @NotNull String password
+    ) {
+        DBPDriver driver = DBWorkbench.getPlatform().getDataSourceProviderRegistry().findDriver("postgresql");
+        Assert.assertNotNull(driver);
+        DBPConnectionConfiguration config = new DBPConnectionConfiguration();
+        config.setHostName(host);
+        config.setDatabaseName("postgres");
+        config.setUserName(user);
+        config.setUserPassword(password);
+        DataSourceDescriptor dataSource = (DataSourceDescriptor) registry.createDataSource(id, driver, config);
+        dataSource.setName(id);
+        dataSource.setSavePassword(true);
+        return dataSource;
+    }
+
+    @NotNull
+    private static DataSourceDescriptor getDataSource(@NotNull DataSourceRegistry<DataSourceDescriptor> registry, @NotNull String id) {
+        DataSourceDescriptor dataSource = registry.getDataSource(id);
+        Assert.assertNotNull(id, dataSource);
+        return dataSource;
+    }
+
+    private static void assertConnection(
+        @NotNull DataSourceDescriptor dataSource,
+        @NotNull String host,
+        @Nullable String user,
+        @Nullable String password
+    ) {
+        DBPConnectionConfiguration config = dataSource.getConnectionConfiguration();
+        Assert.assertEquals(host, config.getHostName());
+        Assert.assertEquals(user, config.getUserName());
+        Assert.assertEquals(password, config.getUserPassword());
+    }
+
+    /**
+     * Disposes registry leaving configuration files as they were before dispose, as if the application was killed.
+     */
+    private void disposeWithoutCompaction(@NotNull DataSourceRegistry<DataSourceDescriptor> registry) throws Exception {
+        byte[] config = Files.readAllBytes(project.getConfigFile());
+        byte[] journal = Files.readAllBytes(project.getJournalFile());
+        registry.dispose();
+        Files.write(project.getConfigFile(), config);
+        Files.write(project.getJournalFile(), journal);
+    }
+
+    @NotNull
+    private List<String> readJournal() throws Exception {
+        return Files.readAllLines(project.getJournalFile()).stream()
+            .filter(line -> !line.isBlank())
+            .toList();
+    }
+}
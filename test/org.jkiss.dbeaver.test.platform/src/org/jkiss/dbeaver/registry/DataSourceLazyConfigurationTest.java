@@ -0,0 +1,196 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPConnectionType;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.virtual.DBVModel;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.util.Map;
+
+public class DataSourceLazyConfigurationTest extends DBeaverUnitTest {
+
+    private static final String MAIN_ID = "postgres-main";
+    private static final String OTHER_ID = "postgres-other";
+
+    private RegistryTestProject project;
+    private String savedConfig;
+    private String savedCredentials;
+
+    @Before
+    public void setUp() throws Exception {
+        project = new RegistryTestProject(Files.createTempDirectory("dbeaver-registry"));
+
+        DataSourceRegistry<DataSourceDescriptor> registry = project.openRegistry();
+        DBPDriver driver = DBWorkbench.getPlatform().getDataSourceProviderRegistry().findDriver("postgresql");
+        Assert.assertNotNull(driver);
+
+        DBPConnectionConfiguration mainConfig = new DBPConnectionConfiguration();
+        mainConfig.setHostName("db.example.com");
+        mainConfig.setHostPort("5433");
+        mainConfig.setDatabaseName("sales");
+        mainConfig.setUserName("scott");
+        mainConfig.setUserPassword("tiger");
+        mainConfig.setKeepAliveInterval(30);
+        mainConfig.setProperty("ssl", "true");
+        mainConfig.setConnectionType(DBPConnectionType.PROD);
+        DataSourceDescriptor main = (DataSourceDescriptor) registry.createDataSource(MAIN_ID, driver, mainConfig);
+        main.setName("Main");
+        main.setSavePassword(true);
+        main.setTags(Map.of("env", "production"));
+        main.getPreferenceStore().setValue(ModelPreferences.RESULT_SET_MAX_ROWS, 500);
+        registry.addDataSource(main);
+
+        DBPConnectionConfiguration otherConfig = new DBPConnectionConfiguration();
+        otherConfig.setHostName("localhost");
+        otherConfig.setDatabaseName("postgres");
+        otherConfig.setUserName("postgres");
+        DataSourceDescriptor other = (DataSourceDescriptor) registry.createDataSource(OTHER_ID, driver, otherConfig);
+        other.setName("Other");
+        registry.addDataSource(other);
+
+        registry.saveDataSources();
+        registry.dispose();
+
+        savedConfig = project.readConfig();
+        savedCredentials = project.readCredentials();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        project.delete();
+    }
+
+    @Test
+    public void testSaveWithoutLoadingKeepsConfiguration() throws Exception {
+        project.setLazyConfigurationLoad(true);
+        DataSourceRegistry<DataSourceDescriptor> registry = project.openRegistry();
+        try {
+            DataSourceDescriptor main = registry.getDataSource(MAIN_ID);
+            DataSourceDescriptor other = registry.getDataSource(OTHER_ID);
+            Assert.assertNotNull(main);
+            Assert.assertNotNull(other);
+            Assert.assertNotNull(main.getDeferredConfiguration());
+            Assert.assertNotNull(other.getDeferredConfiguration());
+
+            registry.saveDataSources();
+            Assert.assertEquals(savedConfig, project.readConfig());
+            Assert.assertEquals(savedCredentials, project.readCredentials());
+            Assert.assertNotNull(main.getDeferredConfiguration());
+
+            assertMainSettings(main);
+            Assert.assertNull(main.getDeferredConfiguration());
+            Assert.assertNotNull(other.getDeferredConfiguration());
+        } finally {
+            registry.dispose();
+        }
+    }
+
+    @Test
+    public void testSaveAfterFailedLoadKeepsConfiguration() throws Exception {
+        project.setLazyConfigurationLoad(true);
+        DataSourceRegistry<DataSourceDescriptor> registry = project.openRegistry();
+        try {
+            DataSourceDescriptor main = registry.getDataSource(MAIN_ID);
+            Assert.assertNotNull(main);
+            DataSourceDescriptor.DeferredConfiguration broken = new BrokenConfiguration(main.getDeferredConfiguration());
+            main.setDeferredConfiguration(broken);
+
+            main.getConnectionConfiguration();
+            Assert.assertSame(broken, main.getDeferredConfiguration());
+
+            registry.saveDataSources();
+            Assert.assertEquals(savedConfig, project.readConfig());
+            Assert.assertEquals(savedCredentials, project.readCredentials());
+        } finally {
+            registry.dispose();
+        }
+
+        project.setLazyConfigurationLoad(false);
+        registry = project.openRegistry();
+        try {
+            assertMainSettings(registry.getDataSource(MAIN_ID));
+        } finally {
+            registry.dispose();
+        }
+    }
+
+    private static void assertMainSettings(@Nullable DataSourceDescriptor dataSource) {
+        Assert.assertNotNull(dataSource);
+        DBPConnectionConfiguration config = dataSource.getConnectionConfiguration();
+        Assert.assertEquals("db.example.com", config.getHostName());
+        Assert.assertEquals("5433", config.getHostPort());
+        Assert.assertEquals("sales", config.getDatabaseName());
+        Assert.assertEquals("scott", config.getUserName());
+        Assert.assertEquals("tiger", config.getUserPassword());
+        Assert.assertEquals(30, config.getKeepAliveInterval());
+        Assert.assertEquals("true", config.getProperty("ssl"));
+        Assert.assertEquals(DBPConnectionType.PROD.getId(), config.getConnectionType().getId());
+        Assert.assertTrue(dataSource.isSavePassword());
+        Assert.assertEquals(Map.of("env", "production"), dataSource.getTags());
+        Assert.assertEquals(500, dataSource.getPreferenceStore().getInt(ModelPreferences.RESULT_SET_MAX_ROWS));
+    }
+
+    private static class BrokenConfiguration implements DataSourceDescriptor.DeferredConfiguration {
+        private final DataSourceDescriptor.DeferredConfiguration source;
+
+        BrokenConfiguration(@Nullable DataSourceDescriptor.DeferredConfiguration source) {
+            Assert.assertNotNull(source);
+            this.source = source;
+        }
+
+        @NotNull
+        @Override
+        public Map<String, Object> getSource() {
+            return source.getSource();
+        }
+
+        @Nullable
+        @Override
+        public Map<String, Map<String, String>> getSecureCredentials() {
+            return source.getSecureCredentials();
+        }
+
+        @NotNull
+        @Override
+        public DBPConnectionType getConnectionType() {
+            return source.getConnectionType();
+        }
+
+        @Nullable
+        @Override
+        public DBVModel getVirtualModel() {
+            return source.getVirtualModel();
+        }
+
+        @Override
+        public void load() {
+            throw new IllegalStateException("Broken connection configuration");
+        }
+    }
+}
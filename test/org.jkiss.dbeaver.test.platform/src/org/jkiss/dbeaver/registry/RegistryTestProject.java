@@ -0,0 +1,144 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.impl.app.BaseProjectImpl;
+import org.jkiss.dbeaver.model.impl.preferences.SimplePreferenceStore;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Project over a temporary folder. Each registry opened by it reads data sources from the folder files.
+ */
+public class RegistryTestProject extends BaseProjectImpl {
+
+    private final Path projectPath;
+    private final SimplePreferenceStore preferenceStore;
+
+    public RegistryTestProject(@NotNull Path projectPath) {
+        super(DBWorkbench.getPlatform().getWorkspace(), null);
+        this.projectPath = projectPath;
+        this.preferenceStore = new SimplePreferenceStore(DBWorkbench.getPlatform().getPreferenceStore()) {
+            @Override
+            public void save() {
+                // Settings live in memory only
+            }
+        };
+    }
+
+    public void setLazyConfigurationLoad(boolean lazyLoad) {
+        preferenceStore.setValue(ModelPreferences.CONNECT_LAZY_CONFIGURATION_LOAD, lazyLoad);
+    }
+
+    @NotNull
+    public DataSourceRegistry<DataSourceDescriptor> openRegistry() {
+        return new DataSourceRegistry<>(this, new DataSourceConfigurationManagerNIO(this), preferenceStore) {
+            @Override
+            public void flushConfig() {
+                // Save at once instead of the delayed job, so tests see the configuration files it writes
+                saveDataSources();
+            }
+        };
+    }
+
+    @NotNull
+    public Path getConfigFile() {
+        return getMetadataFolder(false).resolve(DBPDataSourceRegistry.MODERN_CONFIG_FILE_NAME);
+    }
+
+    @NotNull
+    public Path getCredentialsFile() {
+        return getMetadataFolder(false).resolve(DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_NAME);
+    }
+
+    @NotNull
+    public Path getJournalFile() {
+        return getMetadataFolder(false).resolve(
+            DBPDataSourceRegistry.MODERN_CONFIG_FILE_NAME + DataSourceConfigurationJournal.JOURNAL_FILE_EXT);
+    }
+
+    /**
+     * Data sources configuration with the snapshot journal id removed, it changes on each save.
+     */
+    @NotNull
+    public String readConfig() throws IOException {
+        return Files.readString(getConfigFile(), StandardCharsets.UTF_8)
+            .replaceAll("\"journal-id\": \"[^\"]*\"", "\"journal-id\": \"\"");
+    }
+
+    @NotNull
+    public String readCredentials() throws IOException, DBException {
+        byte[] encrypted = Files.readAllBytes(getCredentialsFile());
+        return new String(getValueEncryptor().decryptValue(encrypted), StandardCharsets.UTF_8);
+    }
+
+    public void delete() throws IOException {
+        try (Stream<Path> files = Files.walk(projectPath)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Override
+    public boolean isVirtual() {
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return projectPath.getFileName().toString();
+    }
+
+    @NotNull
+    @Override
+    public Path getAbsolutePath() {
+        return projectPath;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public void ensureOpen() {
+
+    }
+
+    @Override
+    public boolean isUseSecretStorage() {
+        return false;
+    }
+
+    @NotNull
+    @Override
+    protected DBPDataSourceRegistry createDataSourceRegistry() {
+        return openRegistry();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.QMEventAction;
+import org.jkiss.dbeaver.model.qm.QMEventCursor;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.QMMetaEventEntity;
+import org.jkiss.dbeaver.model.qm.filters.QMCursorFilter;
+import org.jkiss.dbeaver.model.qm.filters.QMEventCriteria;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementInfo;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class QMEventHistoryStoreTest extends DBeaverUnitTest {
+
+    private Path folder;
+    private QMEventHistoryStore store;
+    private QMMConnectionInfo connection;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("qm-history-test");
+        // Small segments and tiny in-memory tail, so most reads go through mapped segments
+        store = new QMEventHistoryStore(folder, 4096, 4, 2);
+        connection = QMMConnectionInfo.builder()
+            .setContainerId("ds-1")
+            .setContainerName("Test connection")
+            .setDriverId("test:driver")
+            .setContextName("Main")
+            .setOpenTime(1000)
+            .build();
+    }
+
+    @After
+    public void tearDown() {
+        store.dispose();
+        folder.toFile().delete();
+    }
+
+    @Test
+    public void shouldReturnEventsNewestFirst() throws DBException {
+        addQueries(0, 10);
+
+        List<QMMetaEventEntity> events = readAll(new QMEventCriteria());
+        Assert.assertEquals(10, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            QMMStatementExecuteInfo execute = (QMMStatementExecuteInfo) events.get(i).getObject();
+            Assert.assertEquals("select " + (9 - i), execute.getQueryString());
+            Assert.assertEquals("ds-1", execute.getConnection().getContainerId());
+        }
+        // Stored records of one cursor share restored connection
+        Assert.assertSame(events.get(5).getObject().getConnection(), events.get(9).getObject().getConnection());
+    }
+
+    @Test
+    public void shouldFilterBySearchStringAndContainer() throws DBException {
+        addQueries(0, 20);
+
+        QMEventCriteria criteria = new QMEventCriteria();
+        criteria.setSearchString("SELECT 1");
+        // select 1, select 10 .. select 19
+        Assert.assertEquals(11, readAll(criteria).size());
+
+        criteria = new QMEventCriteria();
+        criteria.setContainerId("ds-2");
+        Assert.assertEquals(0, readAll(criteria).size());
+    }
+
+    @Test
+    public void shouldOverwriteOldestSegments() throws DBException {
+        addQueries(0, 2000);
+
+        List<QMMetaEventEntity> events = readAll(new QMEventCriteria());
+        Assert.assertTrue(events.size() > 10);
+        Assert.assertTrue(events.size() < 2000);
+        Assert.assertEquals("select 1999", ((QMMStatementExecuteInfo) events.get(0).getObject()).getQueryString());
+        long prevId = Long.MAX_VALUE;
+        for (QMMetaEventEntity event : events) {
+            Assert.assertTrue(event.getId() < prevId);
+            prevId = event.getId();
+        }
+    }
+
+    @Test
+    public void shouldRestoreQueryLifecycleAsSingleObject() throws DBException {
+        QMMStatementInfo statement = new QMMStatementInfo(1000, 0, connection, DBCExecutionPurpose.USER);
+        QMMStatementExecuteInfo execute = new QMMStatementExecuteInfo(
+            1000, 0, statement, "select lifecycle", -1, 0, null, 0, 0, false, null, null);
+        addEvent(execute, QMEventAction.BEGIN);
+        execute.setCloseTime(1500);
+        addEvent(execute, QMEventAction.UPDATE);
+        statement.setCloseTime(2000);
+        execute.setCloseTime(2000);
+        addEvent(execute, QMEventAction.END);
+        // Push the whole lifecycle out of the in-memory tail
+        addQueries(0, 5);
+
+        List<QMMetaEventEntity> events = readQuery("select lifecycle");
+        Assert.assertEquals(3, events.size());
+        Assert.assertEquals(QMEventAction.END, events.get(0).getAction());
+        Assert.assertEquals(QMEventAction.BEGIN, events.get(2).getAction());
+        QMMStatementExecuteInfo restored = (QMMStatementExecuteInfo) events.get(0).getObject();
+        Assert.assertNotSame(execute, restored);
+        Assert.assertEquals(execute.getObjectId(), restored.getObjectId());
+        Assert.assertEquals(statement.getObjectId(), restored.getStatement().getObjectId());
+        Assert.assertEquals(connection.getObjectId(), restored.getConnection().getObjectId());
+        // All events refer to the same object with the latest state, so the query log shows a single item
+        for (QMMetaEventEntity event : events) {
+            Assert.assertSame(restored, event.getObject());
+        }
+        Assert.assertEquals(2000, restored.getCloseTime());
+        Assert.assertEquals(1, countItems(events));
+    }
+
+    @Test
+    public void shouldMergeStoredEventsWithLiveObject() throws DBException {
+        QMMStatementInfo statement = new QMMStatementInfo(1000, 0, connection, DBCExecutionPurpose.USER);
+        QMMStatementExecuteInfo execute = new QMMStatementExecuteInfo(
+            1000, 0, statement, "select lifecycle", -1, 0, null, 0, 0, false, null, null);
+        addEvent(execute, QMEventAction.BEGIN);
+        // BEGIN goes to the mapped segments, END stays in the in-memory tail
+        addQueries(0, 5);
+        execute.setCloseTime(2000);
+        addEvent(execute, QMEventAction.END);
+
+        List<QMMetaEventEntity> events = readQuery("select lifecycle");
+        Assert.assertEquals(2, events.size());
+        Assert.assertSame(execute, events.get(0).getObject());
+        Assert.assertSame(execute, events.get(1).getObject());
+        Assert.assertEquals(1, countItems(events));
+    }
+
+    private void addEvent(QMMStatementExecuteInfo execute, QMEventAction action) {
+        store.addEvents(List.of(new QMMetaEvent(execute, action, "session")));
+    }
+
+    private List<QMMetaEventEntity> readQuery(String query) throws DBException {
+        QMEventCriteria criteria = new QMEventCriteria();
+        criteria.setSearchString(query);
+        return readAll(criteria);
+    }
+
+    /**
+     * Number of query log items, the log merges events by object id
+     */
+    private static int countItems(List<QMMetaEventEntity> events) {
+        Set<Long> objectIds = new HashSet<>();
+        for (QMMetaEventEntity event : events) {
+            objectIds.add(event.getObject().getObjectId());
+        }
+        return objectIds.size();
+    }
+
+    private void addQueries(int from, int to) {
+        List<QMMetaEvent> events = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            QMMStatementInfo statement = new QMMStatementInfo(1000 + i, 1001 + i, connection, DBCExecutionPurpose.USER);
+            QMMStatementExecuteInfo execute = new QMMStatementExecuteInfo(
+                1000 + i, 1001 + i, statement, "select " + i, 1, 0, null, 0, 0, false, null, null);
+            events.add(new QMMetaEvent(execute, QMEventAction.END, "session"));
+        }
+        store.addEvents(events);
+    }
+
+    private List<QMMetaEventEntity> readAll(QMEventCriteria criteria) throws DBException {
+        List<QMMetaEventEntity> result = new ArrayList<>();
+        VoidProgressMonitor monitor = new VoidProgressMonitor();
+        try (QMEventCursor cursor = store.openCursor(new QMCursorFilter(null, criteria, null))) {
+            while (cursor.hasNextEvent(monitor)) {
+                result.add(cursor.nextEvent(monitor));
+            }
+        }
+        return result;
+    }
+}
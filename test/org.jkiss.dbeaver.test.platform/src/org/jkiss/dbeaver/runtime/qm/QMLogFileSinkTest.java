@@ -0,0 +1,106 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+public class QMLogFileSinkTest extends DBeaverUnitTest {
+
+    private static final String LOG_FILE_NAME = "qm_test.log";
+
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("qm-log-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    public void shouldWriteAllEntriesOnClose() throws IOException {
+        QMLogFileSink sink = new QMLogFileSink(folder, date -> LOG_FILE_NAME, 0, false, true, "\n");
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(sink.append("entry " + i + "\n"));
+        }
+        sink.endBatch();
+        sink.close();
+
+        List<String> lines = Files.readAllLines(folder.resolve(LOG_FILE_NAME));
+        Assert.assertEquals(1000, lines.size());
+        Assert.assertEquals("entry 999", lines.get(999));
+        Assert.assertEquals(1000, sink.getWrittenEntries());
+        Assert.assertEquals(0, sink.getDroppedEntries());
+    }
+
+    @Test
+    public void shouldCountDroppedEntries() throws IOException {
+        // Long flush interval: nothing is written until close
+        QMLogFileSink sink = new QMLogFileSink(folder, date -> LOG_FILE_NAME, 0, false, true, "\n", 100, 1000, 60000);
+        int accepted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (sink.append("entry " + i + "\n")) {
+                accepted++;
+            }
+        }
+        sink.close();
+
+        Assert.assertTrue(accepted > 0 && accepted < 20);
+        Assert.assertEquals(20 - accepted, sink.getDroppedEntries());
+        String content = Files.readString(folder.resolve(LOG_FILE_NAME));
+        Assert.assertTrue(content.contains("!DROPPED " + (20 - accepted)));
+    }
+
+    @Test
+    public void shouldRotateAndCompressFiles() throws IOException {
+        QMLogFileSink sink = new QMLogFileSink(folder, date -> LOG_FILE_NAME, 100, true, false, "\n");
+        for (int i = 0; i < 10; i++) {
+            sink.append("0123456789012345678901234567890123456789 " + i + "\n");
+            sink.endBatch();
+        }
+        sink.close();
+
+        Path rotatedFile = folder.resolve(LOG_FILE_NAME + ".1" + QMLogFileSink.GZIP_EXTENSION);
+        Assert.assertTrue(Files.exists(rotatedFile));
+        Assert.assertFalse(Files.exists(folder.resolve(LOG_FILE_NAME + ".1")));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(rotatedFile))) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            Assert.assertTrue(content.startsWith("0123456789012345678901234567890123456789 0\n"));
+        }
+    }
+}
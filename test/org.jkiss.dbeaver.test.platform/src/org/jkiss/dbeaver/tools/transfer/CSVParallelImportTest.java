@@ -0,0 +1,269 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamProducerSettings;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.DataImporterCSV;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports the same CSV files sequentially and in parallel with small chunks, so chunk boundaries
+ * fall on every kind of record. Both imports must produce the same rows.
+ */
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class CSVParallelImportTest extends DBeaverUnitTest {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final String HEADER = "id,name,note\r\n";
+    private static final String[] RECORDS = {
+        "%d,plain,value\n",
+        "%d,\"quoted, with delimiter\",\"line one\nline two\"\n",
+        "%d,\"doubled \"\"quotes\"\"\",\\\"escaped at start\n",
+        "%d,\"escaped \\\" quote\",\"crlf\r\ninside\"\r\n",
+        "%d,  padded  ,\n",
+        "%d,NULL,\n",
+        "%d,short\n",
+        "%d,\"\u00e9t\u00e9\",\"gr\u00fc\u00dfe\"\n",
+        "%d,\"multi\n\nline\",\"\"\n",
+        "\n",
+    };
+    private static final int RECORD_GROUPS = 30;
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("dbeaver-csv-import", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testParallelImportMatchesSequential() throws Exception {
+        writeFile(StandardCharsets.UTF_8, true);
+        List<Object[]> expected = importRows(getProperties(0, 0), 0);
+        assertRowValues(expected);
+
+        for (int chunkSize : new int[] {1, 7, 64, 1000, 1_000_000}) {
+            assertRowsEqual("chunk size " + chunkSize, expected, importRows(getProperties(3, chunkSize), 0));
+        }
+        assertRowsEqual("single thread", expected, importRows(getProperties(1, 1), 0));
+    }
+
+    @Test
+    public void testParallelImportMaxRows() throws Exception {
+        writeFile(StandardCharsets.UTF_8, true);
+        for (int maxRows : new int[] {1, 5, RECORDS.length * 3}) {
+            List<Object[]> expected = importRows(getProperties(0, 0), maxRows);
+            Assert.assertEquals(maxRows, expected.size());
+            Assert.assertEquals("1", expected.get(0)[0]);
+            assertRowsEqual("max rows " + maxRows, expected, importRows(getProperties(3, 1), maxRows));
+        }
+    }
+
+    @Test
+    public void testParallelImportWithoutHeader() throws Exception {
+        writeFile(StandardCharsets.UTF_8, false);
+        Map<String, Object> sequential = getProperties(0, 0);
+        Map<String, Object> parallel = getProperties(3, 1);
+        sequential.put("header", DataImporterCSV.HeaderPosition.none.name());
+        parallel.put("header", DataImporterCSV.HeaderPosition.none.name());
+
+        List<Object[]> expected = importRows(sequential, 0);
+        // Header line is imported as a data row
+        Assert.assertArrayEquals(new Object[] {"id", "name", "note"}, expected.get(0));
+        Assert.assertEquals("1", expected.get(1)[0]);
+        assertRowsEqual("no header", expected, importRows(parallel, 0));
+    }
+
+    @Test
+    public void testSingleByteCharset() throws Exception {
+        Charset charset = Charset.forName("ISO-8859-1");
+        writeFile(charset, false);
+        Map<String, Object> sequential = getProperties(0, 0);
+        Map<String, Object> parallel = getProperties(3, 1);
+        sequential.put("encoding", charset.name());
+        parallel.put("encoding", charset.name());
+
+        List<Object[]> expected = importRows(sequential, 0);
+        assertRowValues(expected);
+        assertRowsEqual("single byte charset", expected, importRows(parallel, 0));
+    }
+
+    @Test
+    public void testUnsupportedCharsetFallsBackToSequential() throws Exception {
+        writeFile(StandardCharsets.UTF_16, false);
+        Map<String, Object> sequential = getProperties(0, 0);
+        Map<String, Object> parallel = getProperties(3, 1);
+        sequential.put("encoding", StandardCharsets.UTF_16.name());
+        parallel.put("encoding", StandardCharsets.UTF_16.name());
+
+        List<Object[]> expected = importRows(sequential, 0);
+        assertRowValues(expected);
+        assertRowsEqual("UTF-16", expected, importRows(parallel, 0));
+    }
+
+    @Test
+    public void testParallelImportReportsProgress() throws Exception {
+        writeFile(StandardCharsets.UTF_8, true);
+        List<String> messages = new ArrayList<>();
+        VoidProgressMonitor monitor = new VoidProgressMonitor() {
+            @Override
+            public void subTask(String name) {
+                messages.add(name);
+            }
+        };
+        List<Object[]> rows = importRows(getProperties(3, 64), 0, monitor);
+
+        // Progress is updated after each chunk
+        Assert.assertTrue(messages.size() > 1);
+        String lastMessage = messages.get(messages.size() - 1);
+        Assert.assertTrue(lastMessage, lastMessage.startsWith(rows.size() + " rows processed, "));
+        Assert.assertTrue(lastMessage, lastMessage.contains(" read ("));
+        // Short records and blank lines have fewer values than the header
+        Assert.assertTrue(lastMessage, lastMessage.endsWith(", " + RECORD_GROUPS * 2 + " malformed rows"));
+    }
+
+    private void writeFile(Charset charset, boolean bom) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        if (bom) {
+            content.write(UTF8_BOM);
+        }
+        StringBuilder text = new StringBuilder(HEADER);
+        int id = 1;
+        for (int group = 0; group < RECORD_GROUPS; group++) {
+            for (String record : RECORDS) {
+                if (record.contains("%d")) {
+                    text.append(String.format(record, id++));
+                } else {
+                    text.append(record);
+                }
+            }
+        }
+        text.append(id).append(",last,\"no line feed\"");
+        content.write(text.toString().getBytes(charset));
+        Files.write(file, content.toByteArray());
+    }
+
+    private static Map<String, Object> getProperties(int threads, int chunkSize) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("header", DataImporterCSV.HeaderPosition.top.name());
+        properties.put("delimiter", ",");
+        properties.put("quoteChar", "\"");
+        properties.put("escapeChar", "\\");
+        properties.put("trimWhitespaces", true);
+        properties.put("emptyStringNull", true);
+        properties.put("nullString", "NULL");
+        properties.put("importThreads", threads);
+        if (chunkSize > 0) {
+            properties.put("importChunkSize", chunkSize);
+        }
+        return properties;
+    }
+
+    private List<Object[]> importRows(Map<String, Object> properties, int maxRows) throws DBException, IOException {
+        return importRows(properties, maxRows, new VoidProgressMonitor());
+    }
+
+    private List<Object[]> importRows(
+        Map<String, Object> properties,
+        int maxRows,
+        DBRProgressMonitor monitor
+    ) throws DBException, IOException {
+        StreamEntityMapping mapping = new StreamEntityMapping(file);
+        StreamProducerSettings settings = new StreamProducerSettings();
+        settings.setMaxRows(maxRows);
+
+        IStreamDataImporterSite site = Mockito.mock(IStreamDataImporterSite.class);
+        Mockito.when(site.getProcessorProperties()).thenReturn(properties);
+        Mockito.when(site.getSourceObject()).thenReturn(mapping);
+        Mockito.when(site.getSettings()).thenReturn(settings);
+        DataImporterCSV importer = new DataImporterCSV();
+        importer.init(site);
+        try (InputStream stream = Files.newInputStream(file)) {
+            mapping.getStreamColumns().addAll(importer.readColumnsInfo(mapping, stream));
+        }
+        Assert.assertEquals(3, mapping.getStreamColumns().size());
+
+        List<Object[]> rows = new ArrayList<>();
+        IDataTransferConsumer<?, ?> consumer = Mockito.mock(IDataTransferConsumer.class);
+        Mockito.doAnswer(invocation -> {
+            DBCResultSet resultSet = invocation.getArgument(1);
+            rows.add(new Object[] {resultSet.getAttributeValue(0), resultSet.getAttributeValue(1), resultSet.getAttributeValue(2)});
+            return null;
+        }).when(consumer).fetchRow(Mockito.any(), Mockito.any());
+
+        try (InputStream stream = Files.newInputStream(file)) {
+            importer.runImport(monitor, mapping.getDataSource(), stream, consumer);
+        }
+        Mockito.verify(consumer).fetchEnd(Mockito.any(), Mockito.any());
+        Mockito.verify(consumer).close();
+        return rows;
+    }
+
+    private static void assertRowValues(List<Object[]> rows) {
+        Assert.assertArrayEquals(new Object[] {"1", "plain", "value"}, rows.get(0));
+        Assert.assertArrayEquals(new Object[] {"2", "quoted, with delimiter", "line one\nline two"}, rows.get(1));
+        Assert.assertArrayEquals(new Object[] {"3", "doubled \"quotes\"", "\"escaped at start"}, rows.get(2));
+        Assert.assertEquals("4", rows.get(3)[0]);
+        Assert.assertEquals("escaped \" quote", rows.get(3)[1]);
+        // Trimmed value, empty string is null
+        Assert.assertArrayEquals(new Object[] {"5", "padded", null}, rows.get(4));
+        Assert.assertArrayEquals(new Object[] {"6", null, null}, rows.get(5));
+        // Short row is padded
+        Assert.assertArrayEquals(new Object[] {"7", "short", null}, rows.get(6));
+        Assert.assertArrayEquals(new Object[] {"8", "\u00e9t\u00e9", "gr\u00fc\u00dfe"}, rows.get(7));
+        Assert.assertArrayEquals(new Object[] {"9", "multi\n\nline", null}, rows.get(8));
+        Assert.assertEquals(RECORD_GROUPS * 9 + 1, rows.stream().filter(row -> row[0] != null).count());
+        Assert.assertArrayEquals(new Object[] {String.valueOf(RECORD_GROUPS * 9 + 1), "last", "no line feed"}, rows.get(rows.size() - 1));
+    }
+
+    private static void assertRowsEqual(String message, List<Object[]> expected, List<Object[]> actual) {
+        Assert.assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals(message + ", row " + i, expected.get(i), actual.get(i));
+        }
+    }
+}
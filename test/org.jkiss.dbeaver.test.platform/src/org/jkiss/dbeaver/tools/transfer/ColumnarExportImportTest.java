@@ -0,0 +1,371 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamProducerSettings;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnType;
+import org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarTestUtils;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.ColumnarExporterAbstract;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterArrow;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterParquet;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.ColumnarImporterAbstract;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.DataImporterArrow;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.DataImporterParquet;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exports rows with the Parquet and Arrow exporters and imports them back with the matching importers.
+ */
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class ColumnarExportImportTest extends DBeaverUnitTest {
+
+    // Two rows per row group / record batch, so five rows are split into three of them
+    private static final String BATCH_SIZE = "2";
+
+    private static final OffsetDateTime UPDATED_EAST = OffsetDateTime.of(2024, 6, 15, 10, 0, 0, 0, ZoneOffset.ofHours(5));
+    private static final OffsetDateTime UPDATED_WEST = OffsetDateTime.of(2038, 1, 19, 3, 14, 8, 0, ZoneOffset.ofHoursMinutes(-3, -30));
+    private static final OffsetDateTime UPDATED_UTC = OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final String[] EXPECTED_NAMES = {
+        "ID", "FLAG", "RATIO", "PRICE", "AMOUNT", "COUNTER", "NUMBER", "NAME", "NOTES", "DATA",
+        "BIRTH_DATE", "START_TIME", "CREATED", "UPDATED", "NAME_2"
+    };
+    private static final ColumnType[] EXPECTED_TYPES = {
+        ColumnType.INTEGER, ColumnType.BOOLEAN, ColumnType.DOUBLE, ColumnType.DECIMAL, ColumnType.DECIMAL, ColumnType.INTEGER,
+        ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.BINARY,
+        ColumnType.DATE, ColumnType.TIME, ColumnType.TIMESTAMP, ColumnType.TIMESTAMP, ColumnType.STRING
+    };
+
+    private static final Object[][] ROWS = {
+        {1, true, 1.5, new BigDecimal("1.005"), new BigDecimal("1234567890123456789012345678.0123456789"), 42L,
+            new BigDecimal("1E+30"), "red", "long text", new byte[] {1, 2, 3}, Date.valueOf("2024-02-29"),
+            Time.valueOf("12:34:56"), Timestamp.valueOf("2024-02-29 12:34:56.123456"), UPDATED_EAST, "a"},
+        {2, false, -0.25, new BigDecimal("-0.01"), BigDecimal.ZERO, -1, new BigDecimal("-0.000001"), "green", "",
+            new byte[0], Date.valueOf("1969-07-20"), Time.valueOf("00:00:00"), Timestamp.valueOf("1969-12-31 23:59:59.999"),
+            null, "b"},
+        new Object[15],
+        {4, true, Double.NaN, new BigDecimal("99999999.99"), new BigDecimal("-9999999999999999999999999999.9999999999"),
+            999999999999999999L, new BigDecimal("12345678901234567890.12345678901234567890"), "red", "\u4e2d\u6587",
+            ColumnarTestUtils.sequence(300), Date.valueOf("1900-01-01"), Time.valueOf("23:59:59"),
+            Timestamp.valueOf("2000-01-01 00:00:00"), UPDATED_UTC, "a"},
+        {5, false, Double.NEGATIVE_INFINITY, new BigDecimal("-99999999.99"), new BigDecimal("0.0000000001"), 0,
+            BigDecimal.ZERO, "blue", null, new byte[] {(byte) 0xFF}, Date.valueOf("2038-01-19"), Time.valueOf("01:00:00"),
+            Timestamp.valueOf("2038-01-19 03:14:08"), UPDATED_WEST, "c"},
+    };
+
+    private Path tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("dbeaver-columnar-transfer-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        ColumnarTestUtils.deleteDirectory(tempDir);
+    }
+
+    @Test
+    public void testParquetRoundTrip() throws DBException, IOException {
+        for (String compression : new String[] {"none", "gzip"}) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("rowGroupSize", BATCH_SIZE);
+            properties.put("compression", compression);
+            Path file = exportFile(new DataExporterParquet(), properties, "export-" + compression + ".parquet");
+
+            DataImporterParquet importer = new DataImporterParquet();
+            StreamEntityMapping mapping = openMapping(importer, file, 0);
+            assertColumnsInfo(mapping.getStreamColumns());
+            assertRows(compression, getExpectedRows(), importRows(importer, mapping));
+        }
+    }
+
+    @Test
+    public void testArrowRoundTrip() throws DBException, IOException {
+        for (boolean dictionaryEncoding : new boolean[] {true, false}) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("batchSize", BATCH_SIZE);
+            properties.put("dictionaryEncoding", dictionaryEncoding);
+            Path file = exportFile(new DataExporterArrow(), properties, "export-" + dictionaryEncoding + ".arrow");
+
+            DataImporterArrow importer = new DataImporterArrow();
+            StreamEntityMapping mapping = openMapping(importer, file, 0);
+            assertColumnsInfo(mapping.getStreamColumns());
+            assertRows("dictionary " + dictionaryEncoding, getExpectedRows(), importRows(importer, mapping));
+        }
+    }
+
+    @Test
+    public void testImportMaxRows() throws DBException, IOException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("rowGroupSize", BATCH_SIZE);
+        properties.put("batchSize", BATCH_SIZE);
+        List<Object[]> expected = getExpectedRows().subList(0, 3);
+
+        Path parquetFile = exportFile(new DataExporterParquet(), properties, "max-rows.parquet");
+        DataImporterParquet parquetImporter = new DataImporterParquet();
+        assertRows("parquet", expected, importRows(parquetImporter, openMapping(parquetImporter, parquetFile, 3)));
+
+        Path arrowFile = exportFile(new DataExporterArrow(), properties, "max-rows.arrow");
+        DataImporterArrow arrowImporter = new DataImporterArrow();
+        assertRows("arrow", expected, importRows(arrowImporter, openMapping(arrowImporter, arrowFile, 3)));
+    }
+
+    @Test
+    public void testImportParquetReferenceFile() throws DBException, IOException {
+        // Two row groups, Snappy compressed pages, see ParquetFileTest for the full content
+        Path file = ColumnarTestUtils.copyResource(tempDir, "reference.parquet");
+        DataImporterParquet importer = new DataImporterParquet();
+        StreamEntityMapping mapping = openMapping(importer, file, 0);
+        List<StreamDataImporterColumnInfo> columnsInfo = mapping.getStreamColumns();
+        Assert.assertEquals(22, columnsInfo.size());
+        assertColumnInfo(columnsInfo.get(0), "id", ColumnType.INTEGER);
+        assertColumnInfo(columnsInfo.get(6), "name", ColumnType.STRING);
+        assertColumnInfo(columnsInfo.get(10), "dec38", ColumnType.DECIMAL);
+        Assert.assertEquals(Integer.valueOf(38), columnsInfo.get(10).getPrecision());
+        Assert.assertEquals(Integer.valueOf(10), columnsInfo.get(10).getScale());
+        assertColumnInfo(columnsInfo.get(19), "payload", ColumnType.BINARY);
+
+        List<Object[]> rows = importRows(importer, mapping);
+        Assert.assertEquals(9, rows.size());
+        String[] names = {"red", "green", null, "red", "\u00fcber", "blue", "red", null, "blue"};
+        for (int i = 0; i < rows.size(); i++) {
+            Assert.assertEquals(i + 1, rows.get(i)[0]);
+            Assert.assertEquals(names[i], rows.get(i)[6]);
+        }
+        Assert.assertEquals(new BigDecimal("1234567890123456789012345678.9012345678"), rows.get(0)[10]);
+
+        // Row limit spans both row groups
+        importer = new DataImporterParquet();
+        rows = importRows(importer, openMapping(importer, file, 6));
+        Assert.assertEquals(6, rows.size());
+        Assert.assertEquals(6, rows.get(5)[0]);
+    }
+
+    @Test
+    public void testImportArrowReferenceFile() throws DBException, IOException {
+        // Three record batches with a delta dictionary, see ArrowFileTest for the full content
+        Path file = ColumnarTestUtils.copyResource(tempDir, "reference.arrow");
+        DataImporterArrow importer = new DataImporterArrow();
+        StreamEntityMapping mapping = openMapping(importer, file, 0);
+        List<StreamDataImporterColumnInfo> columnsInfo = mapping.getStreamColumns();
+        Assert.assertEquals(29, columnsInfo.size());
+        assertColumnInfo(columnsInfo.get(0), "id", ColumnType.INTEGER);
+        assertColumnInfo(columnsInfo.get(10), "name", ColumnType.STRING);
+        assertColumnInfo(columnsInfo.get(19), "dec256", ColumnType.DECIMAL);
+        Assert.assertEquals(Integer.valueOf(50), columnsInfo.get(19).getPrecision());
+        Assert.assertEquals(Integer.valueOf(5), columnsInfo.get(19).getScale());
+        assertColumnInfo(columnsInfo.get(28), "nothing", ColumnType.STRING);
+
+        List<Object[]> rows = importRows(importer, mapping);
+        Assert.assertEquals(5, rows.size());
+        String[] names = {"red", null, "green", "blue", "red"};
+        for (int i = 0; i < rows.size(); i++) {
+            Assert.assertEquals(i + 1, rows.get(i)[0]);
+            Assert.assertEquals(names[i], rows.get(i)[10]);
+            Assert.assertNull(rows.get(i)[28]);
+        }
+    }
+
+    private Path exportFile(
+        ColumnarExporterAbstract exporter,
+        Map<String, Object> properties,
+        String fileName
+    ) throws DBException, IOException {
+        Path file = tempDir.resolve(fileName);
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            IStreamDataExporterSite site = Mockito.mock(IStreamDataExporterSite.class);
+            Mockito.when(site.getProperties()).thenReturn(properties);
+            Mockito.when(site.getAttributes()).thenReturn(createAttributes());
+            Mockito.when(site.getOutputStream()).thenReturn(outputStream);
+            exporter.init(site);
+
+            DBCSession session = Mockito.mock(DBCSession.class);
+            DBCResultSet resultSet = Mockito.mock(DBCResultSet.class);
+            exporter.exportHeader(session);
+            for (Object[] row : ROWS) {
+                exporter.exportRow(session, resultSet, row);
+            }
+            exporter.exportFooter(new VoidProgressMonitor());
+        }
+        return file;
+    }
+
+    private static DBDAttributeBinding[] createAttributes() {
+        return new DBDAttributeBinding[] {
+            // Empty label, name is used
+            createAttribute("ID", "", DBPDataKind.NUMERIC, Types.INTEGER, null, null),
+            createAttribute("FLAG", "FLAG", DBPDataKind.BOOLEAN, Types.BOOLEAN, null, null),
+            createAttribute("RATIO", "RATIO", DBPDataKind.NUMERIC, Types.DOUBLE, null, null),
+            createAttribute("PRICE", "PRICE", DBPDataKind.NUMERIC, Types.DECIMAL, 10, 2),
+            createAttribute("AMOUNT", "AMOUNT", DBPDataKind.NUMERIC, Types.NUMERIC, 38, 10),
+            createAttribute("COUNTER", "COUNTER", DBPDataKind.NUMERIC, Types.NUMERIC, 18, 0),
+            // Unbounded number is stored as string
+            createAttribute("NUMBER", "NUMBER", DBPDataKind.NUMERIC, Types.NUMERIC, null, null),
+            createAttribute("NAME", "NAME", DBPDataKind.STRING, Types.VARCHAR, null, null),
+            createAttribute("NOTES", "NOTES", DBPDataKind.CONTENT, Types.CLOB, null, null),
+            createAttribute("DATA", "DATA", DBPDataKind.BINARY, Types.VARBINARY, null, null),
+            createAttribute("BIRTH_DATE", "BIRTH_DATE", DBPDataKind.DATETIME, Types.DATE, null, null),
+            createAttribute("START_TIME", "START_TIME", DBPDataKind.DATETIME, Types.TIME, null, null),
+            createAttribute("CREATED", "CREATED", DBPDataKind.DATETIME, Types.TIMESTAMP, null, null),
+            createAttribute("UPDATED", "UPDATED", DBPDataKind.DATETIME, Types.TIMESTAMP_WITH_TIMEZONE, null, null),
+            // Duplicate label gets a suffix
+            createAttribute("ALIAS", "NAME", DBPDataKind.STRING, Types.VARCHAR, null, null),
+        };
+    }
+
+    private static DBDAttributeBinding createAttribute(
+        String name,
+        String label,
+        DBPDataKind dataKind,
+        int typeId,
+        Integer precision,
+        Integer scale
+    ) {
+        DBDAttributeBinding attribute = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(attribute.getName()).thenReturn(name);
+        Mockito.when(attribute.getLabel()).thenReturn(label);
+        Mockito.when(attribute.getDataKind()).thenReturn(dataKind);
+        Mockito.when(attribute.getTypeID()).thenReturn(typeId);
+        Mockito.when(attribute.getPrecision()).thenReturn(precision);
+        Mockito.when(attribute.getScale()).thenReturn(scale);
+        return attribute;
+    }
+
+    private static StreamEntityMapping openMapping(ColumnarImporterAbstract importer, Path file, int maxRows) throws DBException {
+        StreamEntityMapping mapping = new StreamEntityMapping(file);
+        StreamProducerSettings settings = new StreamProducerSettings();
+        settings.setMaxRows(maxRows);
+
+        IStreamDataImporterSite site = Mockito.mock(IStreamDataImporterSite.class);
+        Mockito.when(site.getProcessorProperties()).thenReturn(new HashMap<>());
+        Mockito.when(site.getSourceObject()).thenReturn(mapping);
+        Mockito.when(site.getSettings()).thenReturn(settings);
+        importer.init(site);
+
+        // Columnar importers read the input file, the stream is not used
+        mapping.getStreamColumns().addAll(importer.readColumnsInfo(mapping, InputStream.nullInputStream()));
+        return mapping;
+    }
+
+    private static List<Object[]> importRows(ColumnarImporterAbstract importer, StreamEntityMapping mapping) throws DBException {
+        int columnCount = mapping.getStreamColumns().size();
+        List<Object[]> rows = new ArrayList<>();
+        IDataTransferConsumer<?, ?> consumer = Mockito.mock(IDataTransferConsumer.class);
+        Mockito.doAnswer(invocation -> {
+            DBCResultSet resultSet = invocation.getArgument(1);
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = resultSet.getAttributeValue(i);
+            }
+            rows.add(row);
+            return null;
+        }).when(consumer).fetchRow(Mockito.any(), Mockito.any());
+
+        importer.runImport(new VoidProgressMonitor(), mapping.getDataSource(), InputStream.nullInputStream(), consumer);
+
+        Mockito.verify(consumer).fetchStart(Mockito.any(), Mockito.any(), Mockito.anyLong(), Mockito.anyLong());
+        Mockito.verify(consumer).fetchEnd(Mockito.any(), Mockito.any());
+        Mockito.verify(consumer).close();
+        return rows;
+    }
+
+    private static List<Object[]> getExpectedRows() {
+        return Arrays.asList(
+            new Object[] {1L, true, 1.5, new BigDecimal("1.01"), new BigDecimal("1234567890123456789012345678.0123456789"), 42L,
+                "1000000000000000000000000000000", "red", "long text", new byte[] {1, 2, 3}, Date.valueOf("2024-02-29"),
+                Time.valueOf("12:34:56"), Timestamp.valueOf("2024-02-29 12:34:56.123456"), toLocalTimestamp(UPDATED_EAST), "a"},
+            new Object[] {2L, false, -0.25, new BigDecimal("-0.01"), new BigDecimal("0E-10"), -1L, "-0.000001", "green", "",
+                new byte[0], Date.valueOf("1969-07-20"), Time.valueOf("00:00:00"), Timestamp.valueOf("1969-12-31 23:59:59.999"),
+                null, "b"},
+            new Object[15],
+            new Object[] {4L, true, Double.NaN, new BigDecimal("99999999.99"), new BigDecimal("-9999999999999999999999999999.9999999999"),
+                999999999999999999L, "12345678901234567890.12345678901234567890", "red", "\u4e2d\u6587",
+                ColumnarTestUtils.sequence(300), Date.valueOf("1900-01-01"), Time.valueOf("23:59:59"),
+                Timestamp.valueOf("2000-01-01 00:00:00"), toLocalTimestamp(UPDATED_UTC), "a"},
+            new Object[] {5L, false, Double.NEGATIVE_INFINITY, new BigDecimal("-99999999.99"), new BigDecimal("0.0000000001"), 0L,
+                "0", "blue", null, new byte[] {(byte) 0xFF}, Date.valueOf("2038-01-19"), Time.valueOf("01:00:00"),
+                Timestamp.valueOf("2038-01-19 03:14:08"), toLocalTimestamp(UPDATED_WEST), "c"}
+        );
+    }
+
+    private static Timestamp toLocalTimestamp(OffsetDateTime dateTime) {
+        // Timestamps with time zone are exported as local date/time of the client
+        return Timestamp.valueOf(dateTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+    }
+
+    private static void assertColumnsInfo(List<StreamDataImporterColumnInfo> columnsInfo) {
+        Assert.assertEquals(EXPECTED_NAMES.length, columnsInfo.size());
+        for (int i = 0; i < columnsInfo.size(); i++) {
+            assertColumnInfo(columnsInfo.get(i), EXPECTED_NAMES[i], EXPECTED_TYPES[i]);
+        }
+        Assert.assertEquals(Integer.valueOf(10), columnsInfo.get(3).getPrecision());
+        Assert.assertEquals(Integer.valueOf(2), columnsInfo.get(3).getScale());
+        Assert.assertEquals(Integer.valueOf(38), columnsInfo.get(4).getPrecision());
+        Assert.assertEquals(Integer.valueOf(10), columnsInfo.get(4).getScale());
+    }
+
+    private static void assertColumnInfo(StreamDataImporterColumnInfo columnInfo, String name, ColumnType type) {
+        Assert.assertEquals(name, columnInfo.getName());
+        Assert.assertEquals(name, type.getTypeName(), columnInfo.getTypeName());
+        Assert.assertEquals(name, type.getDataKind(), columnInfo.getDataKind());
+        Assert.assertTrue(name, columnInfo.isMappingMetadataPresent());
+    }
+
+    private static void assertRows(String message, List<Object[]> expected, List<Object[]> actual) {
+        Assert.assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals(message + " row " + i, expected.get(i), actual.get(i));
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.tools.transfer;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamExportWriter;
 import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterCSV;
 import org.jkiss.junit.DBeaverUnitTest;
 import org.jkiss.junit.osgi.annotation.RunnerProxy;
@@ -28,24 +29,22 @@ import org.junit.Test;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.HashMap;
 
 @RunnerProxy(MockitoJUnitRunner.Silent.class)
 public class DataExporterCSVTest extends DBeaverUnitTest {
 
     private DataExporterCSV dataExporterCSV;
-    private StringWriter stringWriter;
+    private StreamExportWriter writer;
     private IStreamDataExporterSite site;
 
     @Before
     public void setUp() {
-        stringWriter = new StringWriter();
-        PrintWriter printWriter = new PrintWriter(stringWriter);
+        writer = new StreamExportWriter();
 
         site = Mockito.mock(IStreamDataExporterSite.class);
-        Mockito.when(site.getWriter()).thenReturn(printWriter);
+        Mockito.when(site.getWriter()).thenReturn(writer);
+        Mockito.when(site.getExportWriter()).thenReturn(writer);
 
         dataExporterCSV = new DataExporterCSV();
         try {
@@ -78,7 +77,7 @@ public class DataExporterCSVTest extends DBeaverUnitTest {
             dataExporterCSV.exportHeader(Mockito.mock(DBCSession.class));
 
             String expectedHeader = "\"IDENTIFIER\",\"NAME\",\"AGE\",";
-            Assert.assertEquals(expectedHeader, stringWriter.toString());
+            Assert.assertEquals(expectedHeader, writer.getText());
         } catch (Exception e) {
             e.printStackTrace();
             Assert.fail("Exception occurred: " + e.getMessage());
@@ -0,0 +1,140 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.tools.transfer.stream.StreamExportWriter;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+public class StreamExportWriterTest extends DBeaverUnitTest {
+
+    // Larger than the writer output buffer
+    private static final int LONG_TEXT_LENGTH = 200_000;
+
+    @Test
+    public void shouldEncodeLongTextInChunks() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < LONG_TEXT_LENGTH; i++) {
+            text.append("row ").append(i).append(" \u00e9\u4e2d;");
+        }
+        String expected = text.toString();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        StreamExportWriter writer = new StreamExportWriter(stream, StandardCharsets.UTF_8);
+        // Mix all write methods
+        writer.writeText(expected, 0, 1000);
+        for (int i = 1000; i < 50_000; i++) {
+            writer.writeChar(expected.charAt(i));
+        }
+        writer.writeText(expected.toCharArray(), 50_000, 50_000);
+        writer.write(expected.substring(100_000));
+        writer.finish();
+
+        Assert.assertEquals(expected, stream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldKeepSurrogatePairsSplitByBuffer() throws IOException {
+        // Pairs are shifted by one char in each iteration, so some of them cross the buffer boundary
+        String pair = new String(Character.toChars(0x1F600));
+        StringBuilder text = new StringBuilder();
+        while (text.length() < LONG_TEXT_LENGTH) {
+            text.append(pair).append('x').append(pair).append(pair);
+        }
+        String expected = text.toString();
+
+        for (Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.UTF_16LE }) {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            StreamExportWriter writer = new StreamExportWriter(stream, charset);
+            for (int i = 0; i < expected.length(); i++) {
+                writer.writeChar(expected.charAt(i));
+            }
+            writer.finish();
+            Assert.assertArrayEquals(expected.getBytes(charset), stream.toByteArray());
+        }
+    }
+
+    @Test
+    public void shouldKeepSurrogatePairSplitByFlush() throws IOException {
+        String pair = new String(Character.toChars(0x1F600));
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        StreamExportWriter writer = new StreamExportWriter(stream, StandardCharsets.UTF_8);
+        writer.writeText("a");
+        writer.writeChar(pair.charAt(0));
+        writer.flush();
+        Assert.assertEquals("a", stream.toString(StandardCharsets.UTF_8));
+        writer.writeChar(pair.charAt(1));
+        writer.finish();
+        Assert.assertEquals("a" + pair, stream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldReplaceTrailingHighSurrogateOnFinish() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        StreamExportWriter writer = new StreamExportWriter(stream, StandardCharsets.UTF_8);
+        writer.writeText("abc");
+        writer.writeChar('\uD83D');
+        writer.finish();
+        Assert.assertEquals("abc?", stream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldReplaceTrailingHighSurrogateOnClose() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        StreamExportWriter writer = new StreamExportWriter(stream, StandardCharsets.UTF_8);
+        writer.writeText("abc\uD83D");
+        writer.close();
+        Assert.assertEquals("abc?", stream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldWriteNumbers() {
+        long[] values = {
+            0, 1, -1, 9, 10, -10, 99, 100, 12345, -12345,
+            999_999_999_999_999_999L, 1_000_000_000_000_000_000L, -1_000_000_000_000_000_000L,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1
+        };
+        StreamExportWriter writer = new StreamExportWriter();
+        StringBuilder expected = new StringBuilder();
+        for (long value : values) {
+            writer.writeNumber(value);
+            writer.writeChar(',');
+            expected.append(value).append(',');
+        }
+        Assert.assertEquals(expected.toString(), writer.getText());
+    }
+
+    @Test
+    public void shouldWriteNumbersAcrossBuffer() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        StreamExportWriter writer = new StreamExportWriter(stream, StandardCharsets.US_ASCII);
+        StringBuilder expected = new StringBuilder();
+        for (long value = -50_000; value < 50_000; value += 7) {
+            writer.writeNumber(value * 1_000_003L);
+            writer.writeChar(' ');
+            expected.append(value * 1_000_003L).append(' ');
+        }
+        writer.finish();
+        Assert.assertEquals(expected.toString(), stream.toString(StandardCharsets.US_ASCII));
+    }
+}
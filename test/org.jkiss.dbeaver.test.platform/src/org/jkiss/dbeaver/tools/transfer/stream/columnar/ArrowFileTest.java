@@ -0,0 +1,387 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarTestUtils.*;
+
+public class ArrowFileTest extends DBeaverUnitTest {
+
+    // Magic with padding and end of stream marker
+    private static final int FILE_HEADER_LENGTH = 8;
+    // Footer length and magic
+    private static final int FILE_TAIL_LENGTH = 10;
+
+    private Path tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("arrow-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        deleteDirectory(tempDir);
+    }
+
+    /**
+     * reference.arrow was written from the format specification, independently of ArrowFileWriter.
+     * It has three record batches (the second one is empty), dictionary encoded columns with
+     * signed 32-bit and unsigned 8-bit indexes and a delta dictionary batch before the last record batch.
+     */
+    @Test
+    public void testReadReferenceFile() throws IOException {
+        assertReferenceData(copyResource(tempDir, "reference.arrow"));
+    }
+
+    @Test
+    public void testReadReferenceStream() throws IOException {
+        // Stream format is the file format without magic and footer
+        byte[] file = readResource("reference.arrow");
+        int footerLength = ByteBuffer.wrap(file, file.length - FILE_TAIL_LENGTH, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        Path stream = tempDir.resolve("reference.arrows");
+        Files.write(stream, Arrays.copyOfRange(file, FILE_HEADER_LENGTH, file.length - FILE_TAIL_LENGTH - footerLength));
+        assertReferenceData(stream);
+    }
+
+    private static void assertReferenceData(Path file) throws IOException {
+        Object[][] expected = {
+            {1, 2, 3, 4, 5},
+            {-128, null, 127, 0, -1},
+            {65535, 0, 1, 32768, null},
+            {4294967295L, 0L, 2147483648L, 1L, 2L},
+            {new BigInteger("18446744073709551615"), 1L, null, new BigInteger("9223372036854775808"), 0L},
+            {Long.MIN_VALUE, Long.MAX_VALUE, 0L, null, -42L},
+            {1.5, -2.0, null, 65504.0, 0.0009765625},
+            {0.25, -3.5, 1e10, null, (double) 0.1f},
+            {3.141592653589793, null, -0.0, 1e-300, 2.5},
+            {true, null, false, true, false},
+            {"red", null, "green", "blue", "red"},
+            {"z", "x", "x", "y", null},
+            {"h\u00e9llo", "", null, "\u4e2d\u6587", "a"},
+            {"large", null, "", "xxx", "end"},
+            {new byte[] {0, (byte) 0xFF}, null, new byte[0], new byte[] {1, 2, 3}, new byte[] {(byte) 0x80}},
+            {"big".getBytes(StandardCharsets.US_ASCII), new byte[0], null, new byte[] {(byte) 0xDE, (byte) 0xAD},
+                new byte[] {(byte) 0xBE, (byte) 0xEF}},
+            {"abc".getBytes(StandardCharsets.US_ASCII), null, new byte[3], new byte[] {(byte) 0xFF, (byte) 0xFE, (byte) 0xFD},
+                "xyz".getBytes(StandardCharsets.US_ASCII)},
+            decimals("123.45", "-0.01", null, "0.00", "99999999.99"),
+            decimals("9999999999999999999999999999.9999999999", "-9999999999999999999999999999.9999999999",
+                "0.0000000001", null, "-1234567890.1234567890"),
+            decimals("100000000000000000000000000000000000000000000.00007", "-0.00003", null, "0.00000",
+                "-100000000000000000000000000000000000000000000.00000"),
+            dates("2024-02-29", "1969-07-20", null, "1970-01-01", "2000-01-01"),
+            dates("2024-02-29", null, "1900-01-01", "1970-01-02", "2038-01-19"),
+            times("12:34:56.789", "00:00", null, "23:59:59.999", "00:00:00.001"),
+            times("12:34:56.789", null, "00:00", "23:59:59.999", "00:00:00.001"),
+            // Timestamps with any time zone are instants
+            instants("2024-02-29T12:34:56.123456Z", null, "1969-12-31T23:59:59.999999Z", "1970-01-01T00:00:00Z", "2038-01-19T03:14:08Z"),
+            localTimestamps("2024-01-15T08:00:00.123", "1969-12-31T23:59:59.999", null, "2000-02-29T23:59:59", "1950-06-01T10:10:10"),
+            instants("2001-09-09T01:46:40Z", null, "1970-01-01T00:00:00Z", "1960-01-01T00:00:00Z", "2100-01-01T00:00:00Z"),
+            instants("2024-02-29T23:59:59.123456789Z", "1677-09-21T00:12:43.145224192Z", null,
+                "2262-04-11T23:47:16.854775807Z", "1970-01-01T00:00:00.000000001Z"),
+            {null, null, null, null, null},
+        };
+        try (ArrowFileReader reader = new ArrowFileReader(Files.newByteChannel(file))) {
+            List<ColumnDescriptor> columns = reader.getColumns();
+            Assert.assertEquals(expected.length, columns.size());
+            ColumnType[] types = {
+                ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
+                ColumnType.DOUBLE, ColumnType.DOUBLE, ColumnType.DOUBLE, ColumnType.BOOLEAN,
+                ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                ColumnType.BINARY, ColumnType.BINARY, ColumnType.BINARY,
+                ColumnType.DECIMAL, ColumnType.DECIMAL, ColumnType.DECIMAL,
+                ColumnType.DATE, ColumnType.DATE, ColumnType.TIME, ColumnType.TIME,
+                ColumnType.TIMESTAMP, ColumnType.TIMESTAMP, ColumnType.TIMESTAMP, ColumnType.TIMESTAMP,
+                ColumnType.STRING
+            };
+            String[] names = {
+                "id", "small", "u16", "u32", "u64", "i64", "half", "single", "dbl", "flag", "name", "label", "text", "ltext",
+                "bin", "lbin", "fsb", "dec", "dec38", "dec256", "d32", "d64", "t32", "t64", "tsu", "tsl", "tss", "tsn", "nothing"
+            };
+            for (int i = 0; i < columns.size(); i++) {
+                assertColumn(columns.get(i), names[i], types[i]);
+            }
+            assertDecimalColumn(columns.get(17), "dec", 10, 2);
+            assertDecimalColumn(columns.get(18), "dec38", 38, 10);
+            assertDecimalColumn(columns.get(19), "dec256", 50, 5);
+
+            // Empty record batch is skipped
+            Object[][] first = reader.readBatch();
+            Object[][] last = reader.readBatch();
+            Assert.assertNull(reader.readBatch());
+            Assert.assertNotNull(first);
+            Assert.assertNotNull(last);
+            for (int i = 0; i < expected.length; i++) {
+                Assert.assertArrayEquals(names[i], Arrays.copyOfRange(expected[i], 0, 3), first[i]);
+                Assert.assertArrayEquals(names[i], Arrays.copyOfRange(expected[i], 3, 5), last[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteAllTypes() throws IOException {
+        for (boolean dictionaryEnabled : new boolean[] {true, false}) {
+            List<ColumnDescriptor> columns = List.of(
+                new ColumnDescriptor("bool", ColumnType.BOOLEAN),
+                new ColumnDescriptor("int", ColumnType.INTEGER),
+                new ColumnDescriptor("double", ColumnType.DOUBLE),
+                new ColumnDescriptor("decimal", ColumnType.DECIMAL, 10, 2),
+                new ColumnDescriptor("string", ColumnType.STRING),
+                new ColumnDescriptor("binary", ColumnType.BINARY),
+                new ColumnDescriptor("date", ColumnType.DATE),
+                new ColumnDescriptor("time", ColumnType.TIME),
+                new ColumnDescriptor("timestamp", ColumnType.TIMESTAMP)
+            );
+            ZonedDateTime zonedDateTime = ZonedDateTime.of(2024, 6, 15, 10, 0, 0, 0, ZoneId.of("America/New_York"));
+            Object[][] rows = {
+                {true, 1, 1.5, new BigDecimal("-1.005"), "a", new byte[] {1, 2}, Date.valueOf("2024-02-29"),
+                    LocalTime.of(12, 34, 56, 789_000_000), LocalDateTime.of(2024, 2, 29, 12, 34, 56, 123_456_789)},
+                {false, Long.MIN_VALUE, 2.5f, "12345678.99", "\u4e2d\u6587", "abc", LocalDate.of(1969, 7, 20),
+                    Time.valueOf("23:59:59"), Timestamp.valueOf("1969-12-31 23:59:59.999")},
+                {null, null, null, null, null, null, null, null, null},
+                {"true", (short) -7, Double.NaN, 7L, "a", new byte[0], LocalDateTime.of(1900, 1, 1, 23, 59),
+                    LocalTime.MIDNIGHT, zonedDateTime},
+                {null, 0L, Double.NEGATIVE_INFINITY, BigDecimal.ZERO, "a", null, null, null, null},
+            };
+            Object[][] expected = {
+                {true, false, null, true, null},
+                {1L, Long.MIN_VALUE, null, -7L, 0L},
+                {1.5, 2.5, null, Double.NaN, Double.NEGATIVE_INFINITY},
+                decimals("-1.01", "12345678.99", null, "7.00", "0.00"),
+                {"a", "\u4e2d\u6587", null, "a", "a"},
+                {new byte[] {1, 2}, "abc".getBytes(StandardCharsets.US_ASCII), null, new byte[0], null},
+                dates("2024-02-29", "1969-07-20", null, "1900-01-01", null),
+                times("12:34:56.789", "23:59:59", null, "00:00", null),
+                localTimestamps("2024-02-29T12:34:56.123456", "1969-12-31T23:59:59.999", null,
+                    zonedDateTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime().toString(), null),
+            };
+            ColumnBatch batch = new ColumnBatch(columns, 2, true);
+            for (Object[] row : rows) {
+                addRow(batch, row);
+            }
+            Path file = write(columns, dictionaryEnabled, batch);
+            try (ArrowFileReader reader = new ArrowFileReader(Files.newByteChannel(file))) {
+                for (int i = 0; i < columns.size(); i++) {
+                    assertColumn(reader.getColumns().get(i), columns.get(i).getName(), columns.get(i).getType());
+                }
+                assertDecimalColumn(reader.getColumns().get(3), "decimal", 10, 2);
+                Object[][] values = reader.readBatch();
+                Assert.assertNotNull(values);
+                for (int i = 0; i < expected.length; i++) {
+                    Assert.assertArrayEquals(columns.get(i).getName(), expected[i], values[i]);
+                }
+                Assert.assertNull(reader.readBatch());
+            }
+        }
+    }
+
+    @Test
+    public void testWriteDecimalsOfDifferentPrecision() throws IOException {
+        List<ColumnDescriptor> columns = List.of(
+            new ColumnDescriptor("small", ColumnType.DECIMAL, 5, 2),
+            new ColumnDescriptor("long", ColumnType.DECIMAL, 18, 6),
+            new ColumnDescriptor("wide", ColumnType.DECIMAL, 38, 0),
+            new ColumnDescriptor("fraction", ColumnType.DECIMAL, 38, 38)
+        );
+        Object[][] expected = {
+            decimals("999.99", "-999.99", "0.00", "0.01", null),
+            decimals("999999999999.999999", "-999999999999.999999", "0.000000", "-0.000001", null),
+            decimals("99999999999999999999999999999999999999", "-99999999999999999999999999999999999999", "0", "-1", null),
+            decimals("0." + "9".repeat(38), "-0." + "9".repeat(38), "0E-38", "-0." + "0".repeat(37) + "1", null),
+        };
+        ColumnBatch batch = new ColumnBatch(columns, 16, true);
+        for (int row = 0; row < expected[0].length; row++) {
+            for (int i = 0; i < columns.size(); i++) {
+                batch.getVector(i).add(expected[i][row]);
+            }
+            batch.endRow();
+        }
+        Path file = write(columns, true, batch);
+        try (ArrowFileReader reader = new ArrowFileReader(Files.newByteChannel(file))) {
+            assertDecimalColumn(reader.getColumns().get(0), "small", 5, 2);
+            assertDecimalColumn(reader.getColumns().get(1), "long", 18, 6);
+            assertDecimalColumn(reader.getColumns().get(2), "wide", 38, 0);
+            assertDecimalColumn(reader.getColumns().get(3), "fraction", 38, 38);
+            Object[][] values = reader.readBatch();
+            Assert.assertNotNull(values);
+            for (int i = 0; i < expected.length; i++) {
+                Assert.assertArrayEquals(columns.get(i).getName(), expected[i], values[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteDeltaDictionary() throws IOException {
+        List<ColumnDescriptor> columns = List.of(
+            new ColumnDescriptor("id", ColumnType.INTEGER),
+            new ColumnDescriptor("color", ColumnType.STRING)
+        );
+        String[][] batches = {
+            {"color red", "color green", "color red", null, "color green", "color red"},
+            {"color blue", "color red", "color blue", "color yellow"},
+            {null, null},
+            {"color green", "color yellow"},
+        };
+        for (boolean dictionaryEnabled : new boolean[] {true, false}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ArrowFileWriter writer = new ArrowFileWriter(out, columns, dictionaryEnabled);
+            ColumnBatch batch = new ColumnBatch(columns, 4, true);
+            int id = 0;
+            for (String[] values : batches) {
+                for (String value : values) {
+                    addRow(batch, id++, value);
+                }
+                writer.writeBatch(batch);
+                batch.reset();
+            }
+            writer.finish();
+
+            byte[] bytes = out.toByteArray();
+            if (dictionaryEnabled) {
+                // Values are written once: in the initial dictionary or in a delta
+                Assert.assertEquals(1, countOccurrences(bytes, "color red"));
+                Assert.assertEquals(1, countOccurrences(bytes, "color green"));
+                Assert.assertEquals(1, countOccurrences(bytes, "color blue"));
+                Assert.assertEquals(1, countOccurrences(bytes, "color yellow"));
+            } else {
+                Assert.assertEquals(4, countOccurrences(bytes, "color red"));
+                Assert.assertEquals(2, countOccurrences(bytes, "color yellow"));
+            }
+
+            Path file = tempDir.resolve("delta.arrow");
+            Files.write(file, bytes);
+            try (ArrowFileReader reader = new ArrowFileReader(Files.newByteChannel(file))) {
+                id = 0;
+                for (String[] values : batches) {
+                    Object[][] batchValues = reader.readBatch();
+                    Assert.assertNotNull(batchValues);
+                    Object[] ids = new Object[values.length];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = (long) id++;
+                    }
+                    Assert.assertArrayEquals(ids, batchValues[0]);
+                    Assert.assertArrayEquals(values, batchValues[1]);
+                }
+                Assert.assertNull(reader.readBatch());
+            }
+        }
+    }
+
+    @Test
+    public void testWriteManyDistinctStrings() throws IOException {
+        // The first batch has too many distinct values for dictionary encoding
+        List<ColumnDescriptor> columns = List.of(new ColumnDescriptor("text", ColumnType.STRING));
+        List<Object[]> batches = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArrowFileWriter writer = new ArrowFileWriter(out, columns, true);
+        ColumnBatch batch = new ColumnBatch(columns, 16, true);
+        for (int batchIndex = 0; batchIndex < 3; batchIndex++) {
+            Object[] values = new Object[100];
+            for (int row = 0; row < values.length; row++) {
+                values[row] = batchIndex == 0 ? "value " + row : "value " + row % 3;
+                addRow(batch, values[row]);
+            }
+            batches.add(values);
+            writer.writeBatch(batch);
+            batch.reset();
+        }
+        writer.finish();
+        Path file = tempDir.resolve("strings.arrow");
+        Files.write(file, out.toByteArray());
+        try (ArrowFileReader reader = new ArrowFileReader(Files.newByteChannel(file))) {
+            for (Object[] values : batches) {
+                Object[][] batchValues = reader.readBatch();
+                Assert.assertNotNull(batchValues);
+                Assert.assertArrayEquals(values, batchValues[0]);
+            }
+            Assert.assertNull(reader.readBatch());
+        }
+    }
+
+    @Test
+    public void testWriteEmptyFile() throws IOException {
+        List<ColumnDescriptor> columns = List.of(new ColumnDescriptor("id", ColumnType.INTEGER));
+        Path file = write(columns, true, new ColumnBatch(columns, 1, true));
+        try (ArrowFileReader reader = new ArrowFileReader(Files.newByteChannel(file))) {
+            assertColumn(reader.getColumns().get(0), "id", ColumnType.INTEGER);
+            Assert.assertNull(reader.readBatch());
+        }
+    }
+
+    @Test
+    public void testReadBadFile() throws IOException {
+        Path file = tempDir.resolve("bad.arrow");
+        Files.write(file, "ARROW1 this is not an arrow file".getBytes(StandardCharsets.US_ASCII));
+        assertBadFile(file);
+
+        // Truncated file
+        byte[] reference = readResource("reference.arrow");
+        Files.write(file, Arrays.copyOf(reference, reference.length - 1));
+        assertBadFile(file);
+
+        // Truncated stream
+        int footerLength = ByteBuffer.wrap(reference, reference.length - FILE_TAIL_LENGTH, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        Files.write(file, Arrays.copyOfRange(reference, FILE_HEADER_LENGTH, reference.length - FILE_TAIL_LENGTH - footerLength - 100));
+        try (ArrowFileReader reader = new ArrowFileReader(Files.newByteChannel(file))) {
+            Assert.assertThrows(IOException.class, () -> {
+                while (reader.readBatch() != null) {
+                    // Read to the end
+                }
+            });
+        }
+    }
+
+    private static void assertBadFile(Path file) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            Assert.assertThrows(IOException.class, () -> new ArrowFileReader(channel));
+        }
+    }
+
+    private Path write(List<ColumnDescriptor> columns, boolean dictionaryEnabled, ColumnBatch batch) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArrowFileWriter writer = new ArrowFileWriter(out, columns, dictionaryEnabled);
+        writer.writeBatch(batch);
+        writer.finish();
+        Path file = Files.createTempFile(tempDir, "test", ".arrow");
+        Files.write(file, out.toByteArray());
+        return file;
+    }
+}
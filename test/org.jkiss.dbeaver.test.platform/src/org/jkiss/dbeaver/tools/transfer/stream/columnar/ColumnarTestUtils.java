@@ -0,0 +1,149 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.junit.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Expected values and helpers of columnar file tests
+ */
+public final class ColumnarTestUtils {
+
+    private ColumnarTestUtils() {
+    }
+
+    public static byte[] readResource(String name) throws IOException {
+        try (InputStream in = ColumnarTestUtils.class.getResourceAsStream(name)) {
+            Assert.assertNotNull(name, in);
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Columnar readers need random access, so resources are copied to files
+     */
+    public static Path copyResource(Path dir, String name) throws IOException {
+        Path file = dir.resolve(name);
+        try (InputStream in = ColumnarTestUtils.class.getResourceAsStream(name)) {
+            Assert.assertNotNull(name, in);
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    public static void deleteDirectory(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    public static void addRow(ColumnBatch batch, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            batch.getVector(i).add(values[i]);
+        }
+        batch.endRow();
+    }
+
+    public static int countOccurrences(byte[] bytes, String value) {
+        byte[] pattern = value.getBytes(StandardCharsets.UTF_8);
+        int count = 0;
+        for (int i = 0; i <= bytes.length - pattern.length; i++) {
+            if (Arrays.equals(bytes, i, i + pattern.length, pattern, 0, pattern.length)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static void assertColumn(ColumnDescriptor column, String name, ColumnType type) {
+        Assert.assertEquals(name, column.getName());
+        Assert.assertEquals(name, type, column.getType());
+    }
+
+    public static void assertDecimalColumn(ColumnDescriptor column, String name, int precision, int scale) {
+        assertColumn(column, name, ColumnType.DECIMAL);
+        Assert.assertEquals(name, precision, column.getPrecision());
+        Assert.assertEquals(name, scale, column.getScale());
+    }
+
+    public static Object[] decimals(String... values) {
+        return Arrays.stream(values).map(value -> value == null ? null : new BigDecimal(value)).toArray();
+    }
+
+    public static Object[] dates(String... values) {
+        return Arrays.stream(values).map(value -> value == null ? null : Date.valueOf(value)).toArray();
+    }
+
+    public static Object[] times(String... values) {
+        return Arrays.stream(values).map(value -> {
+            if (value == null) {
+                return null;
+            }
+            LocalTime time = LocalTime.parse(value);
+            // Time keeps milliseconds
+            Time result = Time.valueOf(time);
+            result.setTime(result.getTime() + time.getNano() / 1_000_000);
+            return result;
+        }).toArray();
+    }
+
+    /**
+     * Timestamps adjusted to UTC
+     */
+    public static Object[] instants(String... values) {
+        return Arrays.stream(values).map(value -> value == null ? null : Timestamp.from(Instant.parse(value))).toArray();
+    }
+
+    /**
+     * Timestamps without time zone
+     */
+    public static Object[] localTimestamps(String... values) {
+        return Arrays.stream(values).map(value -> value == null ? null : Timestamp.valueOf(LocalDateTime.parse(value))).toArray();
+    }
+
+    public static byte[] sequence(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    public static byte[] repeat(byte value, int length) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, value);
+        return bytes;
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.columnar;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.jkiss.dbeaver.tools.transfer.stream.columnar.ColumnarTestUtils.*;
+
+public class ParquetFileTest extends DBeaverUnitTest {
+
+    private Path tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("parquet-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        deleteDirectory(tempDir);
+    }
+
+    /**
+     * reference.parquet was written from the format specification, independently of ParquetFileWriter.
+     * The first row group has data pages V2 with bit-packed levels and RLE_DICTIONARY encoding,
+     * the second one has data pages V1 with RLE levels and PLAIN_DICTIONARY encoding.
+     * Most column chunks are Snappy compressed, one is GZIP compressed and one is not compressed.
+     */
+    @Test
+    public void testReadReferenceFile() throws IOException {
+        Object[][] expected = {
+            {1, 2, 3, 4, 5, 6, 7, 8, 9},
+            {9007199254740993L, null, -5L, 0L, null, 42L, Long.MIN_VALUE, Long.MAX_VALUE, 7L},
+            {4000000000L, 0L, null, 1L, 2147483648L, 5L, null, 4294967295L, 10L},
+            {true, false, null, true, true, false, null, false, true},
+            {1.5, -0.25, null, 1e300, 0.0, null, 3.141592653589793, -1e-300, 2.0},
+            {0.5f, 1.25f, -2.75f, 3.0f, 100.0f, -0.125f, 7.5f, 8.0f, 9.25f},
+            {"red", "green", null, "red", "\u00fcber", "blue", "red", null, "blue"},
+            {"a", "bb", "", "dddd", "e", "f\u4e2d", "g", "hh", "iii"},
+            decimals("123.45", "-0.01", null, "999.99", "0.00", "-999.99", "0.50", null, "0.01"),
+            decimals("12345678901.2345", "-0.0001", "0.0000", "1.0000", "-99999999999.9999", "0.0005", "1.2345", "0.0001", "31.4159"),
+            decimals("1234567890123456789012345678.9012345678", "-0.0000000001", null, "0.0000000000",
+                "-9999999999999999999999999999.9999999999", "1.0000000000", null, "0.0000000005", "-0.0000012345"),
+            decimals("12345678901234567.890", "-0.005", null, "0.000", "0.127", "0.128", "-0.128", "-0.129", null),
+            dates("2024-02-29", "1969-07-20", null, "1970-01-01", "1900-01-01", "2038-01-19", null, "9999-12-31", "2000-01-01"),
+            times("00:00", "12:34:56.789", "23:59:59.999", "00:00:01", "01:00", "00:01", "00:00:00.500", "12:00", "00:00:00.001"),
+            times("12:34:56.789", null, "00:00", "23:59:59.999", "00:00", "00:00:00.001", null, "01:00", "00:00"),
+            instants("2024-02-29T12:34:56.123456Z", null, "1969-12-31T23:59:59.999999Z", "1970-01-01T00:00:00Z",
+                "2038-01-19T03:14:08Z", null, "1900-01-01T00:00:00Z", "2000-01-01T00:00:00.000001Z", "2021-06-30T23:59:59.5Z"),
+            localTimestamps("2024-01-15T08:00:00.123", "1969-12-31T23:59:59.999", null, "2000-02-29T23:59:59",
+                "1970-01-01T00:00:00", "2099-12-31T12:00:00.500", null, "1950-06-01T10:10:10", "2024-07-01T00:00:00.001"),
+            instants("2024-02-29T23:59:59.123456789Z", "1970-01-01T00:00:00.000000001Z", "1969-12-31T23:59:59.999999999Z",
+                "2001-09-09T01:46:40Z", "2262-04-11T23:47:16.854775807Z", "1677-09-21T00:12:43.145224192Z",
+                "2020-01-01T00:00:00.5Z", "2000-01-01T00:00:00Z", "1999-12-31T23:59:59.999999999Z"),
+            instants("2001-09-09T01:46:40.5Z", null, "1970-01-01T00:00:00Z", "1960-01-01T12:00:00.000000001Z",
+                "2024-02-29T23:59:59.999999999Z", "1999-12-31T00:00:00Z", null, "2010-10-10T10:10:10.101010101Z", "1900-03-01T00:00:00Z"),
+            {new byte[] {0, 1, 2}, new byte[0], null, sequence(256), repeat((byte) 0xFF, 20), null,
+                "abc".getBytes(StandardCharsets.US_ASCII), new byte[] {(byte) 0x80}, repeat((byte) 'x', 100)},
+            fixedBinaries(),
+            instants("2020-05-05T05:05:05.005Z", null, "1970-01-01T00:00:00.001Z", "1969-12-31T23:59:59.999Z",
+                "2030-12-31T23:59:59Z", "2000-01-01T00:00:00Z", null, "2015-07-04T12:00:00Z", "1999-01-01T00:00:00Z"),
+        };
+        try (ParquetFileReader reader = new ParquetFileReader(Files.newByteChannel(copyResource(tempDir, "reference.parquet")))) {
+            List<ColumnDescriptor> columns = reader.getColumns();
+            Assert.assertEquals(expected.length, columns.size());
+            assertColumn(columns.get(0), "id", ColumnType.INTEGER);
+            assertColumn(columns.get(1), "big", ColumnType.INTEGER);
+            assertColumn(columns.get(2), "uint", ColumnType.INTEGER);
+            assertColumn(columns.get(3), "flag", ColumnType.BOOLEAN);
+            assertColumn(columns.get(4), "ratio", ColumnType.DOUBLE);
+            assertColumn(columns.get(5), "f", ColumnType.DOUBLE);
+            assertColumn(columns.get(6), "name", ColumnType.STRING);
+            assertColumn(columns.get(7), "code", ColumnType.STRING);
+            assertDecimalColumn(columns.get(8), "dec5", 5, 2);
+            assertDecimalColumn(columns.get(9), "dec15", 15, 4);
+            assertDecimalColumn(columns.get(10), "dec38", 38, 10);
+            assertDecimalColumn(columns.get(11), "dec20", 20, 3);
+            assertColumn(columns.get(12), "day", ColumnType.DATE);
+            assertColumn(columns.get(13), "t_ms", ColumnType.TIME);
+            assertColumn(columns.get(14), "t_us", ColumnType.TIME);
+            assertColumn(columns.get(15), "ts_utc", ColumnType.TIMESTAMP);
+            assertColumn(columns.get(16), "ts_local", ColumnType.TIMESTAMP);
+            assertColumn(columns.get(17), "ts_ns", ColumnType.TIMESTAMP);
+            assertColumn(columns.get(18), "ts96", ColumnType.TIMESTAMP);
+            assertColumn(columns.get(19), "payload", ColumnType.BINARY);
+            assertColumn(columns.get(20), "fixed", ColumnType.BINARY);
+            assertColumn(columns.get(21), "ts_conv", ColumnType.TIMESTAMP);
+
+            Object[][] firstGroup = reader.readBatch();
+            Object[][] secondGroup = reader.readBatch();
+            Assert.assertNull(reader.readBatch());
+            Assert.assertNotNull(firstGroup);
+            Assert.assertNotNull(secondGroup);
+            for (int i = 0; i < expected.length; i++) {
+                String name = columns.get(i).getName();
+                Assert.assertArrayEquals(name, Arrays.copyOfRange(expected[i], 0, 5), firstGroup[i]);
+                Assert.assertArrayEquals(name, Arrays.copyOfRange(expected[i], 5, 9), secondGroup[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteAllTypes() throws IOException {
+        for (ParquetFileWriter.Compression compression : ParquetFileWriter.Compression.values()) {
+            List<ColumnDescriptor> columns = List.of(
+                new ColumnDescriptor("bool", ColumnType.BOOLEAN),
+                new ColumnDescriptor("int", ColumnType.INTEGER),
+                new ColumnDescriptor("double", ColumnType.DOUBLE),
+                new ColumnDescriptor("decimal", ColumnType.DECIMAL, 10, 2),
+                new ColumnDescriptor("string", ColumnType.STRING),
+                new ColumnDescriptor("binary", ColumnType.BINARY),
+                new ColumnDescriptor("date", ColumnType.DATE),
+                new ColumnDescriptor("time", ColumnType.TIME),
+                new ColumnDescriptor("timestamp", ColumnType.TIMESTAMP)
+            );
+            OffsetDateTime offsetDateTime = OffsetDateTime.of(2024, 6, 15, 10, 0, 0, 0, ZoneOffset.ofHours(5));
+            Object[][] rows = {
+                {true, 1, 1.5, new BigDecimal("1.005"), "a", new byte[] {1, 2}, Date.valueOf("2024-02-29"),
+                    LocalTime.of(12, 34, 56, 789_000_000), LocalDateTime.of(2024, 2, 29, 12, 34, 56, 123_456_789)},
+                {false, Long.MAX_VALUE, 2.5f, "12345678.99", "\u4e2d\u6587", "abc", LocalDate.of(1969, 7, 20),
+                    Time.valueOf("23:59:59"), Timestamp.valueOf("1969-12-31 23:59:59.999")},
+                {null, null, null, null, null, null, null, null, null},
+                {1, -7L, -0.0, 7L, "", new byte[0], LocalDateTime.of(1900, 1, 1, 23, 59),
+                    LocalTime.MIDNIGHT, offsetDateTime},
+            };
+            Object[][] expected = {
+                {true, false, null, true},
+                {1L, Long.MAX_VALUE, null, -7L},
+                {1.5, 2.5, null, -0.0},
+                decimals("1.01", "12345678.99", null, "7.00"),
+                {"a", "\u4e2d\u6587", null, ""},
+                {new byte[] {1, 2}, "abc".getBytes(StandardCharsets.US_ASCII), null, new byte[0]},
+                dates("2024-02-29", "1969-07-20", null, "1900-01-01"),
+                times("12:34:56.789", "23:59:59", null, "00:00"),
+                localTimestamps("2024-02-29T12:34:56.123456", "1969-12-31T23:59:59.999", null,
+                    offsetDateTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime().toString()),
+            };
+            ColumnBatch batch = new ColumnBatch(columns, 2, true);
+            for (Object[] row : rows) {
+                addRow(batch, row);
+            }
+            Path file = write(columns, compression, batch);
+            try (ParquetFileReader reader = new ParquetFileReader(Files.newByteChannel(file))) {
+                for (int i = 0; i < columns.size(); i++) {
+                    assertColumn(reader.getColumns().get(i), columns.get(i).getName(), columns.get(i).getType());
+                }
+                assertDecimalColumn(reader.getColumns().get(3), "decimal", 10, 2);
+                Object[][] values = reader.readBatch();
+                Assert.assertNotNull(values);
+                for (int i = 0; i < expected.length; i++) {
+                    Assert.assertArrayEquals(compression + " " + columns.get(i).getName(), expected[i], values[i]);
+                }
+                Assert.assertNull(reader.readBatch());
+            }
+        }
+    }
+
+    @Test
+    public void testWriteDecimalsOfDifferentPrecision() throws IOException {
+        List<ColumnDescriptor> columns = List.of(
+            new ColumnDescriptor("small", ColumnType.DECIMAL, 5, 2),
+            new ColumnDescriptor("long", ColumnType.DECIMAL, 18, 6),
+            new ColumnDescriptor("wide", ColumnType.DECIMAL, 38, 0),
+            new ColumnDescriptor("fraction", ColumnType.DECIMAL, 38, 38)
+        );
+        Object[][] expected = {
+            decimals("999.99", "-999.99", "0.00", "0.01", null),
+            decimals("999999999999.999999", "-999999999999.999999", "0.000000", "-0.000001", null),
+            decimals("99999999999999999999999999999999999999", "-99999999999999999999999999999999999999", "0", "-1", null),
+            decimals("0." + "9".repeat(38), "-0." + "9".repeat(38), "0E-38", "-0." + "0".repeat(37) + "1", null),
+        };
+        ColumnBatch batch = new ColumnBatch(columns, 16, true);
+        for (int row = 0; row < expected[0].length; row++) {
+            for (int i = 0; i < columns.size(); i++) {
+                batch.getVector(i).add(expected[i][row]);
+            }
+            batch.endRow();
+        }
+        Path file = write(columns, ParquetFileWriter.Compression.NONE, batch);
+        try (ParquetFileReader reader = new ParquetFileReader(Files.newByteChannel(file))) {
+            assertDecimalColumn(reader.getColumns().get(0), "small", 5, 2);
+            assertDecimalColumn(reader.getColumns().get(1), "long", 18, 6);
+            assertDecimalColumn(reader.getColumns().get(2), "wide", 38, 0);
+            assertDecimalColumn(reader.getColumns().get(3), "fraction", 38, 38);
+            Object[][] values = reader.readBatch();
+            Assert.assertNotNull(values);
+            for (int i = 0; i < expected.length; i++) {
+                Assert.assertArrayEquals(columns.get(i).getName(), expected[i], values[i]);
+            }
+        }
+
+        // Values which don't fit into the column precision are rejected
+        ColumnVector vector = new ColumnVector(columns.get(0), 1, false);
+        Assert.assertThrows(ArithmeticException.class, () -> vector.add(new BigDecimal("1000")));
+        Assert.assertThrows(ArithmeticException.class, () -> vector.add(new BigDecimal("999.995")));
+        Assert.assertEquals(0, vector.size());
+    }
+
+    @Test
+    public void testWriteMultipleRowGroups() throws IOException {
+        List<ColumnDescriptor> columns = List.of(
+            new ColumnDescriptor("id", ColumnType.INTEGER),
+            new ColumnDescriptor("category", ColumnType.STRING),
+            new ColumnDescriptor("value", ColumnType.DOUBLE)
+        );
+        int groupSize = 1000;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ParquetFileWriter writer = new ParquetFileWriter(out, columns, ParquetFileWriter.Compression.NONE);
+        ColumnBatch batch = new ColumnBatch(columns, 16, true);
+        for (int group = 0; group < 3; group++) {
+            for (int row = 0; row < groupSize; row++) {
+                int id = group * groupSize + row;
+                addRow(batch, id, getCategory(group, row), id % 7 == 0 ? null : id * 0.5);
+            }
+            Assert.assertTrue(batch.getVector(1).isDictionaryEncoded());
+            writer.writeBatch(batch);
+            batch.reset();
+        }
+        // Empty batches don't produce row groups
+        writer.writeBatch(batch);
+        writer.finish();
+
+        byte[] bytes = out.toByteArray();
+        // Each row group has its own dictionary
+        Assert.assertEquals(2, countOccurrences(bytes, getCategory(0, 0)));
+        Assert.assertEquals(1, countOccurrences(bytes, getCategory(2, 0)));
+
+        Path file = tempDir.resolve("groups.parquet");
+        Files.write(file, bytes);
+        try (ParquetFileReader reader = new ParquetFileReader(Files.newByteChannel(file))) {
+            for (int group = 0; group < 3; group++) {
+                Object[][] values = reader.readBatch();
+                Assert.assertNotNull(values);
+                Assert.assertEquals(groupSize, values[0].length);
+                for (int row = 0; row < groupSize; row++) {
+                    long id = (long) group * groupSize + row;
+                    Assert.assertEquals(id, values[0][row]);
+                    Assert.assertEquals(getCategory(group, row), values[1][row]);
+                    Assert.assertEquals(id % 7 == 0 ? null : id * 0.5, values[2][row]);
+                }
+            }
+            Assert.assertNull(reader.readBatch());
+        }
+    }
+
+    @Test
+    public void testWriteLargeDictionary() throws IOException {
+        List<ColumnDescriptor> columns = List.of(new ColumnDescriptor("text", ColumnType.STRING));
+        List<String> expected = new ArrayList<>();
+        ColumnBatch batch = new ColumnBatch(columns, 16, true);
+        // Two megabytes of distinct values, dictionary is dropped in the middle of the batch
+        for (int row = 0; row < 4096; row++) {
+            String value = row % 2 == 0 ? "even" : String.format("%04d", row).repeat(256);
+            expected.add(value);
+            addRow(batch, value);
+        }
+        Assert.assertFalse(batch.getVector(0).isDictionaryEncoded());
+        Path file = write(columns, ParquetFileWriter.Compression.GZIP, batch);
+        try (ParquetFileReader reader = new ParquetFileReader(Files.newByteChannel(file))) {
+            Object[][] values = reader.readBatch();
+            Assert.assertNotNull(values);
+            Assert.assertArrayEquals(expected.toArray(), values[0]);
+        }
+    }
+
+    @Test
+    public void testWriteEmptyFile() throws IOException {
+        List<ColumnDescriptor> columns = List.of(new ColumnDescriptor("id", ColumnType.INTEGER));
+        Path file = write(columns, ParquetFileWriter.Compression.GZIP, new ColumnBatch(columns, 1, true));
+        try (ParquetFileReader reader = new ParquetFileReader(Files.newByteChannel(file))) {
+            assertColumn(reader.getColumns().get(0), "id", ColumnType.INTEGER);
+            Assert.assertNull(reader.readBatch());
+        }
+    }
+
+    @Test
+    public void testReadBadFile() throws IOException {
+        Path file = tempDir.resolve("bad.parquet");
+        Files.write(file, "PAR1 this is not a parquet file".getBytes(StandardCharsets.US_ASCII));
+        assertBadFile(file);
+
+        // Truncated file
+        byte[] reference = readResource("reference.parquet");
+        Files.write(file, Arrays.copyOf(reference, reference.length - 1));
+        assertBadFile(file);
+    }
+
+    private static void assertBadFile(Path file) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            Assert.assertThrows(IOException.class, () -> new ParquetFileReader(channel));
+        }
+    }
+
+    private Path write(List<ColumnDescriptor> columns, ParquetFileWriter.Compression compression, ColumnBatch batch) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ParquetFileWriter writer = new ParquetFileWriter(out, columns, compression);
+        writer.writeBatch(batch);
+        writer.finish();
+        Path file = Files.createTempFile(tempDir, "test", ".parquet");
+        Files.write(file, out.toByteArray());
+        return file;
+    }
+
+    private static String getCategory(int group, int row) {
+        // The last row group has other categories
+        return (group == 2 ? "new category " : "old category ") + row % 10;
+    }
+
+    private static Object[] fixedBinaries() {
+        Object[] values = new Object[9];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new byte[] {(byte) i, (byte) (i * 2), (byte) 0xDE, (byte) 0xAD};
+        }
+        return values;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+public class BgzfBlockCompressorTest extends DBeaverUnitTest {
+
+    private static final int MAX_BLOCK_SIZE = 0x10000;
+    private static final int EOF_BLOCK_SIZE = 28;
+
+    @Test
+    public void shouldWriteEmptyFile() throws IOException {
+        byte[] compressed = compress(new byte[0]);
+        Assert.assertEquals(EOF_BLOCK_SIZE, compressed.length);
+        Assert.assertArrayEquals(new byte[0], readGzip(compressed));
+    }
+
+    @Test
+    public void shouldBeReadableByGzipReader() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < 3_000_000; i++) {
+            text.append(i).append(";value ").append(i % 100).append('\n');
+        }
+        assertReadable(text.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void shouldStoreIncompressibleData() throws IOException {
+        byte[] data = new byte[2 * 1024 * 1024 + 3];
+        new Random(3).nextBytes(data);
+        assertReadable(data);
+    }
+
+    @Test
+    public void shouldCompressRepetitiveData() throws IOException {
+        byte[] data = new byte[5 * 1024 * 1024];
+        byte[] compressed = assertReadable(data);
+        Assert.assertTrue(compressed.length < data.length / 100);
+    }
+
+    @Test
+    public void shouldReadThroughDecompressingStream() throws IOException {
+        byte[] data = "a,b,c\n1,2,3\n".repeat(100000).getBytes(StandardCharsets.US_ASCII);
+        try (InputStream in = CompressionUtils.openDecompressingStream(new ByteArrayInputStream(compress(data)))) {
+            Assert.assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    private static byte[] assertReadable(byte[] data) throws IOException {
+        byte[] compressed = compress(data);
+        Assert.assertArrayEquals(data, readGzip(compressed));
+        assertBlockStructure(compressed);
+        return compressed;
+    }
+
+    /**
+     * Each gzip member is a BGZF block with the BC extra subfield, the last one is the EOF marker
+     */
+    private static void assertBlockStructure(byte[] compressed) {
+        int offset = 0;
+        int blockSize = 0;
+        while (offset < compressed.length) {
+            Assert.assertEquals(0x1f, compressed[offset] & 0xff);
+            Assert.assertEquals(0x8b, compressed[offset + 1] & 0xff);
+            Assert.assertEquals(0x04, compressed[offset + 3] & 0x04);
+            Assert.assertEquals(6, readShort(compressed, offset + 10));
+            Assert.assertEquals('B', compressed[offset + 12]);
+            Assert.assertEquals('C', compressed[offset + 13]);
+            blockSize = readShort(compressed, offset + 16) + 1;
+            Assert.assertTrue(blockSize <= MAX_BLOCK_SIZE);
+            offset += blockSize;
+        }
+        Assert.assertEquals(compressed.length, offset);
+        Assert.assertEquals(EOF_BLOCK_SIZE, blockSize);
+    }
+
+    private static int readShort(byte[] data, int offset) {
+        return (data[offset] & 0xff) | (data[offset + 1] & 0xff) << 8;
+    }
+
+    private static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ParallelCompressorOutputStream out = new ParallelCompressorOutputStream(buffer, new BgzfBlockCompressor(), 4)) {
+            out.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] readGzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
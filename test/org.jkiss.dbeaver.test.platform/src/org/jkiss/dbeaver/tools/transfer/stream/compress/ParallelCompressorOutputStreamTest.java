@@ -0,0 +1,148 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ParallelCompressorOutputStreamTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldWriteBlocksInOrder() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        StringBuilder expected = new StringBuilder();
+        try (ParallelCompressorOutputStream out = new ParallelCompressorOutputStream(buffer, new TestCompressor(), 8)) {
+            for (int i = 0; i < 1000; i++) {
+                String text = "value " + i + ";";
+                expected.append(text);
+                out.write(text.getBytes(StandardCharsets.US_ASCII));
+                if (i % 100 == 0) {
+                    out.flush();
+                }
+            }
+            out.write('!');
+            expected.append('!');
+        }
+        Assert.assertEquals(toBlocks(expected.toString()) + "[end]", buffer.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void shouldWriteSingleEmptyBlock() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        new ParallelCompressorOutputStream(buffer, new TestCompressor(), 2).close();
+        Assert.assertEquals("<>[end]", buffer.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void shouldPassCompressorErrors() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ParallelCompressorOutputStream out = new ParallelCompressorOutputStream(buffer, new TestCompressor(), 4);
+        IOException error = Assert.assertThrows(IOException.class, () -> {
+            for (int i = 0; i < 10000; i++) {
+                // The fourth block fails
+                out.write(i / TestCompressor.BLOCK_SIZE == 3 ? TestCompressor.FAILURE : 'a');
+            }
+            out.finish();
+        });
+        Assert.assertEquals("Block compression failed: xxxxxxxxxxxxxxxx", error.getMessage());
+        // Blocks before the failed one are written, blocks after it are not
+        String a = "a".repeat(TestCompressor.BLOCK_SIZE);
+        Assert.assertEquals("<" + a + "><" + a + "><" + a + ">", buffer.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void shouldWrapRuntimeErrors() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ParallelCompressorOutputStream out = new ParallelCompressorOutputStream(buffer, new BlockCompressor() {
+            @Override
+            public int getBlockSize() {
+                return 4;
+            }
+
+            @NotNull
+            @Override
+            public byte[] compressBlock(@NotNull byte[] data, int length) {
+                throw new IllegalStateException("Broken compressor");
+            }
+
+            @Nullable
+            @Override
+            public byte[] getTrailer() {
+                return null;
+            }
+        }, 1);
+        out.write(new byte[3]);
+        IOException error = Assert.assertThrows(IOException.class, out::close);
+        Assert.assertTrue(error.getCause() instanceof IllegalStateException);
+        // Stream can't be used after failure
+        Assert.assertThrows(IOException.class, () -> out.write(1));
+    }
+
+    private static String toBlocks(String text) {
+        StringBuilder blocks = new StringBuilder();
+        for (int i = 0; i < text.length(); i += TestCompressor.BLOCK_SIZE) {
+            blocks.append('<').append(text, i, Math.min(text.length(), i + TestCompressor.BLOCK_SIZE)).append('>');
+        }
+        return blocks.toString();
+    }
+
+    /**
+     * Encloses block in angle brackets. Blocks are "compressed" with random delays, so they complete out of order.
+     * Blocks which start with the failure char fail.
+     */
+    private static class TestCompressor implements BlockCompressor {
+        static final int BLOCK_SIZE = 16;
+        static final char FAILURE = 'x';
+
+        @Override
+        public int getBlockSize() {
+            return BLOCK_SIZE;
+        }
+
+        @NotNull
+        @Override
+        public byte[] compressBlock(@NotNull byte[] data, int length) throws IOException {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (length > 0 && data[0] == FAILURE) {
+                throw new IOException("Block compression failed: " + new String(data, 0, length, StandardCharsets.US_ASCII));
+            }
+            byte[] result = new byte[length + 2];
+            result[0] = '<';
+            System.arraycopy(data, 0, result, 1, length);
+            result[length + 1] = '>';
+            return result;
+        }
+
+        @Nullable
+        @Override
+        public byte[] getTrailer() {
+            return "[end]".getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class XXHash64Test extends DBeaverUnitTest {
+
+    @Test
+    public void shouldMatchReferenceValues() {
+        Assert.assertEquals(0xEF46DB3751D8E999L, hash(new byte[0]));
+        Assert.assertEquals(0x44BC2CF5AD770999L, hash("abc".getBytes(StandardCharsets.US_ASCII)));
+        // Longer than a stripe
+        Assert.assertEquals(0x6AC1E58032166597L, hash(createData(100, 1)));
+        Assert.assertEquals(0x25275608A9CFC168L, hash(createData(1000, 7)));
+    }
+
+    @Test
+    public void shouldHashIncrementally() {
+        byte[] data = createData(1000, 7);
+        for (int step : new int[] {1, 3, 8, 31, 32, 33, 500}) {
+            XXHash64 hash = new XXHash64();
+            for (int i = 0; i < data.length; i += step) {
+                hash.update(data, i, Math.min(step, data.length - i));
+            }
+            Assert.assertEquals(0x25275608A9CFC168L, hash.digest());
+            hash.reset();
+            Assert.assertEquals(0xEF46DB3751D8E999L, hash.digest());
+        }
+    }
+
+    private static long hash(byte[] data) {
+        return XXHash64.hash(data, 0, data.length);
+    }
+
+    private static byte[] createData(int length, int multiplier) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * multiplier);
+        }
+        return data;
+    }
+}
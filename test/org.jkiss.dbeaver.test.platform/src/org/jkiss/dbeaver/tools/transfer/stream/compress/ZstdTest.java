@@ -0,0 +1,151 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.compress;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ZstdTest extends DBeaverUnitTest {
+
+    // 0xFD2FB528, little endian
+    private static final byte[] FRAME_MAGIC = {0x28, (byte) 0xB5, 0x2F, (byte) 0xFD};
+
+    @Test
+    public void shouldRoundTripEmptyData() throws IOException {
+        assertRoundTrip(new byte[0]);
+    }
+
+    @Test
+    public void shouldRoundTripIncompressibleData() throws IOException {
+        byte[] data = new byte[3 * 1024 * 1024 + 17];
+        new Random(1).nextBytes(data);
+        byte[] compressed = compress(data);
+        // Raw blocks, only frame headers are added
+        Assert.assertTrue(compressed.length < data.length + 1024);
+        Assert.assertArrayEquals(data, decompress(compressed));
+    }
+
+    @Test
+    public void shouldRoundTripRepetitiveData() throws IOException {
+        byte[] zeros = new byte[2 * 1024 * 1024 + 5];
+        byte[] compressed = compress(zeros);
+        Assert.assertTrue(compressed.length < zeros.length / 100);
+        Assert.assertArrayEquals(zeros, decompress(compressed));
+
+        byte[] text = "abcabcabd".repeat(100000).getBytes(StandardCharsets.US_ASCII);
+        compressed = compress(text);
+        Assert.assertTrue(compressed.length < text.length / 20);
+        Assert.assertArrayEquals(text, decompress(compressed));
+    }
+
+    @Test
+    public void shouldRoundTripMultipleBlocksAndFrames() throws IOException {
+        // Several 128Kb blocks in each 1Mb frame
+        byte[] data = createText(2_500_000);
+        byte[] compressed = compress(data);
+        Assert.assertTrue(compressed.length < data.length / 2);
+        Assert.assertArrayEquals(data, decompress(compressed));
+    }
+
+    @Test
+    public void shouldRoundTripSingleFrame() throws IOException {
+        byte[] data = createText(300_000);
+        byte[] frame = new ZstdBlockCompressor().compressBlock(data, data.length);
+        Assert.assertArrayEquals(FRAME_MAGIC, Arrays.copyOf(frame, FRAME_MAGIC.length));
+
+        // Byte by byte read
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(frame))) {
+            for (int b = in.read(); b >= 0; b = in.read()) {
+                out.write(b);
+            }
+        }
+        Assert.assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    public void shouldDecodeReferenceFrames() throws IOException {
+        // Frame compressed with level 19, skippable frame, frame compressed with level 1. Both frames have checksums
+        byte[] reference;
+        try (InputStream in = ZstdTest.class.getResourceAsStream("reference.zst")) {
+            Assert.assertNotNull(in);
+            reference = in.readAllBytes();
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            text.append("row ").append(i).append(";name ").append(i % 7).append(";value ").append(i * 31 % 1000).append('\n');
+        }
+        byte[] expected = text.toString().repeat(2).getBytes(StandardCharsets.US_ASCII);
+        Assert.assertArrayEquals(expected, decompress(reference));
+        try (InputStream in = CompressionUtils.openDecompressingStream(new ByteArrayInputStream(reference))) {
+            Assert.assertArrayEquals(expected, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void shouldDetectCorruptedData() throws IOException {
+        byte[] data = createText(10_000);
+        byte[] frame = new ZstdBlockCompressor().compressBlock(data, data.length);
+        // Checksum
+        frame[frame.length - 1] ^= 1;
+        Assert.assertThrows(IOException.class, () -> decompress(frame));
+        // Truncated frame
+        byte[] truncated = new byte[frame.length / 2];
+        System.arraycopy(frame, 0, truncated, 0, truncated.length);
+        Assert.assertThrows(IOException.class, () -> decompress(truncated));
+    }
+
+    private static byte[] createText(int length) {
+        Random random = new Random(2);
+        StringBuilder text = new StringBuilder(length + 100);
+        while (text.length() < length) {
+            text.append(random.nextInt(100000)).append(",\"name ").append(random.nextInt(50)).append("\",")
+                .append(random.nextBoolean()).append('\n');
+        }
+        return text.substring(0, length).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void assertRoundTrip(byte[] data) throws IOException {
+        Assert.assertArrayEquals(data, decompress(compress(data)));
+    }
+
+    static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ParallelCompressorOutputStream out = new ParallelCompressorOutputStream(buffer, new ZstdBlockCompressor(), 4)) {
+            // Writes don't match block boundaries
+            for (int i = 0; i < data.length; i += 10000) {
+                out.write(data, i, Math.min(10000, data.length - i));
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] data) throws IOException {
+        try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}
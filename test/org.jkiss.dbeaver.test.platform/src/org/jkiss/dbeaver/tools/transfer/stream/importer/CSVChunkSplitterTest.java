@@ -0,0 +1,141 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CSVChunkSplitterTest {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("dbeaver-chunks", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testUnquotedRecords() throws IOException {
+        assertChunks(1, "a,b\n", "c,d\n", "e,f");
+        assertChunks(3, "a\nb\n", "c\n");
+        assertChunks(100, "a\nb\nc\n");
+    }
+
+    @Test
+    public void testQuotedLineFeeds() throws IOException {
+        assertChunks(1, "a,\"x\ny\"\n", "b,c\n");
+        assertChunks(1, "\"x\n,\ny\",a\n", "b\n");
+        assertChunks(1, "a, \"x\ny\"\n", "b\n");
+        // Quote inside unquoted value doesn't open quoted value
+        assertChunks(1, "a\"b\n", "\"c\nd\"\n");
+    }
+
+    @Test
+    public void testDoubledQuotes() throws IOException {
+        assertChunks(1, "\"a\"\"\nb\"\n", "c\n");
+        assertChunks(1, "\"\"\n", "\"\"\"\"\n", "a\n");
+    }
+
+    @Test
+    public void testEscapes() throws IOException {
+        assertChunks(1, "\"a\\\"\nb\"\n", "c\n");
+        assertChunks(1, "\"a\\\\\"\n", "b\n");
+        assertChunks(1, "a\\\"b\n", "c,\"d\ne\"\n");
+        // Escaped quote at the beginning of a value is not an opening quote
+        assertChunks(1, "\\\"a\n", "b,\"c\nd\"\n");
+        assertChunks(1, "a,\\\"b\n", "\"c\nd\"\n");
+        assertChunks(1, " \\\"a\n", "\"b\nc\"\n");
+        assertChunks(1, "\\\\\n", "\"a\nb\"\n");
+    }
+
+    @Test
+    public void testQuoteAsEscape() throws IOException {
+        assertChunks('"', 1, "\"a\"\"\nb\"\n", "c\n");
+    }
+
+    @Test
+    public void testCarriageReturns() throws IOException {
+        assertChunks(1, "a,\"x\r\ny\"\r\n", "b\r\n", "c");
+        assertChunks(1, "a\r\n", "\r\n", "\"b\r\nc\"\r\n");
+    }
+
+    @Test
+    public void testChunksAcrossCalls() throws IOException {
+        // Quoted value which starts in one chunk and ends in the next one
+        String content = "\"a\nb\nc\"\nd\n";
+        Files.writeString(file, content);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CSVChunkSplitter splitter = new CSVChunkSplitter(channel, 0, channel.size(), ',', '"', '\\');
+            Assert.assertEquals(content.indexOf("d"), splitter.nextChunkEnd(2));
+            Assert.assertTrue(splitter.hasMoreData());
+            Assert.assertEquals(content.length(), splitter.nextChunkEnd(1));
+            Assert.assertFalse(splitter.hasMoreData());
+        }
+    }
+
+    @Test
+    public void testByteOrderMark() throws IOException {
+        byte[] data = "\"a\nb\"\nc\n".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[UTF8_BOM.length + data.length];
+        System.arraycopy(UTF8_BOM, 0, content, 0, UTF8_BOM.length);
+        System.arraycopy(data, 0, content, UTF8_BOM.length, data.length);
+        Files.write(file, content);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CSVChunkSplitter splitter = new CSVChunkSplitter(channel, UTF8_BOM.length, channel.size(), ',', '"', '\\');
+            Assert.assertEquals(UTF8_BOM.length, splitter.getPosition());
+            Assert.assertEquals(UTF8_BOM.length + 6, splitter.nextChunkEnd(1));
+            Assert.assertEquals(content.length, splitter.nextChunkEnd(1));
+        }
+    }
+
+    private void assertChunks(int minChunkSize, String... chunks) throws IOException {
+        assertChunks('\\', minChunkSize, chunks);
+    }
+
+    private void assertChunks(char escapeChar, int minChunkSize, String... chunks) throws IOException {
+        Files.writeString(file, String.join("", chunks));
+        List<String> actual = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CSVChunkSplitter splitter = new CSVChunkSplitter(channel, 0, channel.size(), ',', '"', escapeChar);
+            byte[] content = Files.readAllBytes(file);
+            while (splitter.hasMoreData()) {
+                int start = (int) splitter.getPosition();
+                int end = (int) splitter.nextChunkEnd(minChunkSize);
+                actual.add(new String(content, start, end - start, StandardCharsets.UTF_8));
+            }
+        }
+        Assert.assertEquals(List.of(chunks), actual);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultSetColumnStoreTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldKeepValueClassForEachColumnType() {
+        Object[] values = {
+            10L,
+            20,
+            (short) 30,
+            (byte) 40,
+            new java.util.Date(1000L),
+            new java.sql.Date(2000L),
+            new java.sql.Time(3000L),
+            LocalDate.of(2024, 5, 1),
+            LocalTime.of(10, 20, 30, 400),
+            1.5d,
+            2.5f,
+            new BigDecimal("-12345.678900"),
+            Boolean.TRUE,
+            "text \u00e4\u00f6\u00fc",
+            Timestamp.valueOf("2024-05-01 10:20:30.123456789"),
+            LocalDateTime.of(2024, 5, 1, 10, 20, 30, 500),
+            new BigInteger("123456789012345678901234567890")
+        };
+        ResultSetColumnStore store = new ResultSetColumnStore(values.length);
+        Assert.assertEquals(0, store.appendRow(values));
+        Assert.assertEquals(1, store.getRowCount());
+        Assert.assertEquals(values.length, store.getColumnCount());
+
+        Object[] row = store.getRow(0);
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals("Column " + i, values[i], row[i]);
+            Assert.assertSame("Column " + i, values[i].getClass(), row[i].getClass());
+            Assert.assertEquals("Column " + i, values[i], store.getValue(0, i));
+        }
+        Assert.assertEquals(123456789, ((Timestamp) row[14]).getNanos());
+    }
+
+    @Test
+    public void shouldKeepTimestampsBeforeEpoch() {
+        Timestamp timestamp = Timestamp.valueOf("1960-01-02 03:04:05.987654321");
+        LocalDateTime dateTime = LocalDateTime.of(1900, 1, 1, 0, 0, 0, 1);
+        ResultSetColumnStore store = new ResultSetColumnStore(2);
+        store.appendRow(new Object[]{timestamp, dateTime});
+
+        Timestamp stored = (Timestamp) store.getValue(0, 0);
+        Assert.assertEquals(timestamp, stored);
+        Assert.assertEquals(timestamp.getNanos(), stored.getNanos());
+        Assert.assertEquals(dateTime, store.getValue(0, 1));
+    }
+
+    @Test
+    public void shouldKeepNulls() {
+        ResultSetColumnStore store = new ResultSetColumnStore(4);
+        store.appendRow(new Object[]{null, null, null, null});
+        store.appendRow(new Object[]{1L, null, "a", Boolean.FALSE});
+        store.appendRow(new Object[]{null, null, null, null});
+        store.appendRow(new Object[]{2L, null, "a", Boolean.TRUE});
+
+        Assert.assertArrayEquals(new Object[]{null, null, null, null}, store.getRow(0));
+        Assert.assertArrayEquals(new Object[]{1L, null, "a", Boolean.FALSE}, store.getRow(1));
+        Assert.assertArrayEquals(new Object[]{null, null, null, null}, store.getRow(2));
+        Assert.assertArrayEquals(new Object[]{2L, null, "a", Boolean.TRUE}, store.getRow(3));
+    }
+
+    @Test
+    public void shouldPadShortRowsWithNulls() {
+        ResultSetColumnStore store = new ResultSetColumnStore(3);
+        store.appendRow(new Object[]{1, 2, 3});
+        store.appendRow(new Object[]{4});
+
+        Assert.assertArrayEquals(new Object[]{4, null, null}, store.getRow(1));
+    }
+
+    @Test
+    public void shouldFallBackToObjectsOnTypeMismatch() {
+        BigDecimal hugeDecimal = new BigDecimal("12345678901234567890123.45");
+        ResultSetColumnStore store = new ResultSetColumnStore(3);
+        store.appendRow(new Object[]{1L, null, new BigDecimal("1.5")});
+        store.appendRow(new Object[]{null, hugeDecimal, null});
+        store.appendRow(new Object[]{"text", new BigDecimal("2.5"), hugeDecimal});
+        store.appendRow(new Object[]{3, null, 4L});
+
+        Assert.assertArrayEquals(new Object[]{1L, null, new BigDecimal("1.5")}, store.getRow(0));
+        Assert.assertArrayEquals(new Object[]{null, hugeDecimal, null}, store.getRow(1));
+        Assert.assertArrayEquals(new Object[]{"text", new BigDecimal("2.5"), hugeDecimal}, store.getRow(2));
+        Assert.assertArrayEquals(new Object[]{3, null, 4L}, store.getRow(3));
+        Assert.assertSame(Integer.class, store.getValue(3, 0).getClass());
+    }
+
+    @Test
+    public void shouldGrowOnAppend() {
+        int rowCount = 10000;
+        ResultSetColumnStore store = new ResultSetColumnStore(4);
+        long emptySize = store.getMemorySize();
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals(i, store.appendRow(new Object[]{
+                (long) i,
+                i % 3 == 0 ? null : i * 0.5d,
+                "value " + (i % 10),
+                i % 2 == 0
+            }));
+        }
+        Assert.assertEquals(rowCount, store.getRowCount());
+        Assert.assertTrue(store.getMemorySize() > emptySize);
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals((long) i, store.getValue(i, 0));
+            Assert.assertEquals(i % 3 == 0 ? null : i * 0.5d, store.getValue(i, 1));
+            Assert.assertEquals("value " + (i % 10), store.getValue(i, 2));
+            Assert.assertEquals(i % 2 == 0, store.getValue(i, 3));
+        }
+    }
+
+    @Test
+    public void shouldKeepMostlyUniqueStrings() {
+        int rowCount = 10000;
+        ResultSetColumnStore store = new ResultSetColumnStore(2);
+        for (int i = 0; i < rowCount; i++) {
+            store.appendRow(new Object[]{"unique " + i, "repeated " + (i % 5)});
+        }
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals("unique " + i, store.getValue(i, 0));
+            Assert.assertEquals("repeated " + (i % 5), store.getValue(i, 1));
+        }
+    }
+
+    @Test
+    public void shouldReadStoredRowsThroughResultSetRow() {
+        ResultSetColumnStore store = new ResultSetColumnStore(3);
+        List<ResultSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int index = store.appendRow(new Object[]{i, "row " + i, new byte[]{(byte) i}});
+            rows.add(new ResultSetRow(i, store, index));
+        }
+
+        ResultSetRow row = rows.get(2);
+        Assert.assertEquals(3, row.getValueCount());
+        Assert.assertEquals(2, row.getValue(0));
+        Assert.assertEquals("row 2", row.getValue(1));
+        Assert.assertArrayEquals(new byte[]{2}, (byte[]) row.getValue(2));
+    }
+
+    @Test
+    public void shouldKeepOtherRowsOnRowRemoval() {
+        ResultSetColumnStore store = new ResultSetColumnStore(2);
+        List<ResultSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int index = store.appendRow(new Object[]{i, "row " + i});
+            rows.add(new ResultSetRow(i, store, index));
+        }
+
+        // Removed rows are released and dropped from the model rows list, store is append-only
+        ResultSetRow removed = rows.remove(1);
+        removed.release();
+        rows.remove(2).release();
+
+        Assert.assertEquals(5, store.getRowCount());
+        Assert.assertEquals(3, rows.size());
+        Assert.assertArrayEquals(new Object[]{0, "row 0"}, rows.get(0).getValues());
+        Assert.assertArrayEquals(new Object[]{2, "row 2"}, rows.get(1).getValues());
+        Assert.assertArrayEquals(new Object[]{4, "row 4"}, rows.get(2).getValues());
+    }
+
+    @Test
+    public void shouldDetachModifiedRowFromStore() {
+        ResultSetColumnStore store = new ResultSetColumnStore(2);
+        ResultSetRow first = new ResultSetRow(0, store, store.appendRow(new Object[]{1, "a"}));
+        ResultSetRow second = new ResultSetRow(1, store, store.appendRow(new Object[]{2, "b"}));
+
+        first.setValue(1, "changed");
+
+        Assert.assertArrayEquals(new Object[]{1, "changed"}, first.getValues());
+        Assert.assertSame(first.getValues(), first.getValues());
+        Assert.assertArrayEquals(new Object[]{1, "a"}, store.getRow(0));
+        Assert.assertArrayEquals(new Object[]{2, "b"}, second.getValues());
+    }
+
+    @Test
+    public void shouldMaterializeCopyOfValues() {
+        Timestamp timestamp = Timestamp.valueOf("2024-05-01 10:20:30.5");
+        ResultSetColumnStore store = new ResultSetColumnStore(3);
+        ResultSetRow row = new ResultSetRow(0, store, store.appendRow(new Object[]{new java.util.Date(1000L), timestamp, 1L}));
+
+        Object[] values = row.getValues();
+        Object[] otherValues = row.getValues();
+        Assert.assertNotSame(values, otherValues);
+        Assert.assertArrayEquals(values, otherValues);
+        Assert.assertNotSame(values[0], otherValues[0]);
+        Assert.assertNotSame(values[1], otherValues[1]);
+        Assert.assertNotSame(timestamp, values[1]);
+
+        // Changes of the materialized copy don't affect the store
+        values[2] = 100L;
+        ((Timestamp) values[1]).setNanos(0);
+        Assert.assertEquals(1L, row.getValue(2));
+        Assert.assertEquals(timestamp, row.getValue(1));
+    }
+}
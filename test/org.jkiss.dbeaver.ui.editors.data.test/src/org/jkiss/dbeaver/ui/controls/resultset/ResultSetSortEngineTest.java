@@ -0,0 +1,204 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+public class ResultSetSortEngineTest extends DBeaverUnitTest {
+
+    private static final BiFunction<DBDAttributeBinding, ResultSetRow, Object> VALUE_READER =
+        (attribute, row) -> row.getValue(attribute.getOrdinalPosition());
+
+    @Test
+    public void shouldSortNullsLastInAscendingOrder() {
+        DBDAttributeBinding column = createAttribute(0, false);
+        List<ResultSetRow> rows = createRows(new Object[][]{{3L}, {null}, {1L}, {null}, {2L}});
+
+        ResultSetSortEngine.sort(rows, List.of(new ResultSetSortEngine.SortColumn(column, false)), VALUE_READER);
+        Assert.assertArrayEquals(new int[]{2, 4, 0, 1, 3}, getRowNumbers(rows));
+
+        ResultSetSortEngine.sort(rows, List.of(new ResultSetSortEngine.SortColumn(column, true)), VALUE_READER);
+        Assert.assertArrayEquals(new int[]{1, 3, 0, 4, 2}, getRowNumbers(rows));
+    }
+
+    @Test
+    public void shouldCompareMixedNumbers() {
+        DBDAttributeBinding column = createAttribute(0, false);
+        List<ResultSetRow> rows = createRows(new Object[][]{{5L}, {2.5d}, {3}, {(short) -1}, {null}});
+
+        ResultSetSortEngine.sort(rows, List.of(new ResultSetSortEngine.SortColumn(column, false)), VALUE_READER);
+        Assert.assertArrayEquals(new int[]{3, 1, 2, 0, 4}, getRowNumbers(rows));
+    }
+
+    @Test
+    public void shouldCompareMixedTypesAsDataValues() {
+        DBDAttributeBinding column = createAttribute(0, false);
+        // Strings are converted to numbers, so "9" goes between 2 and 10
+        List<ResultSetRow> rows = createRows(new Object[][]{{10L}, {"9"}, {2L}, {null}});
+
+        ResultSetSortEngine.sort(rows, List.of(new ResultSetSortEngine.SortColumn(column, false)), VALUE_READER);
+        Assert.assertArrayEquals(new int[]{2, 1, 0, 3}, getRowNumbers(rows));
+    }
+
+    @Test
+    public void shouldCompareStringsIgnoringCase() {
+        DBDAttributeBinding column = createAttribute(0, false);
+        List<ResultSetRow> rows = createRows(new Object[][]{{"b"}, {"A"}, {"c"}, {"a"}, {null}});
+
+        ResultSetSortEngine.sort(rows, List.of(new ResultSetSortEngine.SortColumn(column, false)), VALUE_READER);
+        // Equal keys keep original order
+        Assert.assertArrayEquals(new int[]{1, 3, 0, 2, 4}, getRowNumbers(rows));
+    }
+
+    @Test
+    public void shouldCompareTimestampNanos() {
+        DBDAttributeBinding column = createAttribute(0, false);
+        List<ResultSetRow> rows = createRows(new Object[][]{
+            {Timestamp.valueOf("2024-05-01 10:00:00.000000300")},
+            {Timestamp.valueOf("2024-05-01 10:00:00.000000100")},
+            {Timestamp.valueOf("1969-12-31 23:59:59.5")},
+            {Timestamp.valueOf("2024-05-01 10:00:00.000000200")}
+        });
+
+        ResultSetSortEngine.sort(rows, List.of(new ResultSetSortEngine.SortColumn(column, false)), VALUE_READER);
+        Assert.assertArrayEquals(new int[]{2, 1, 3, 0}, getRowNumbers(rows));
+    }
+
+    @Test
+    public void shouldSortByMultipleColumns() {
+        DBDAttributeBinding name = createAttribute(0, false);
+        DBDAttributeBinding amount = createAttribute(1, false);
+        List<ResultSetRow> rows = createRows(new Object[][]{
+            {"x", 1L},
+            {"y", 5L},
+            {"x", 3L},
+            {"y", null},
+            {"X", 3L}
+        });
+
+        ResultSetSortEngine.sort(
+            rows,
+            List.of(new ResultSetSortEngine.SortColumn(name, false), new ResultSetSortEngine.SortColumn(amount, true)),
+            VALUE_READER);
+        Assert.assertArrayEquals(new int[]{2, 4, 0, 3, 1}, getRowNumbers(rows));
+
+        // No sort columns restores physical order
+        ResultSetSortEngine.sort(rows, List.of(), VALUE_READER);
+        Assert.assertArrayEquals(new int[]{0, 1, 2, 3, 4}, getRowNumbers(rows));
+    }
+
+    @Test
+    public void shouldMatchSequentialSortOfLargeResultSet() {
+        DBDAttributeBinding group = createAttribute(0, false);
+        DBDAttributeBinding value = createAttribute(1, false);
+        Random random = new Random(1);
+        Object[][] data = new Object[100_000][];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new Object[]{(long) random.nextInt(10), random.nextInt(20) == 0 ? null : random.nextDouble()};
+        }
+        List<ResultSetRow> rows = createRows(data);
+        List<ResultSetRow> expected = new ArrayList<>(rows);
+        expected.sort(
+            Comparator.comparing((ResultSetRow row) -> (Long) row.getValue(0))
+                .thenComparing(row -> (Double) row.getValue(1), Comparator.nullsFirst(Comparator.reverseOrder())));
+        shuffle(rows, random);
+
+        ResultSetSortEngine.sort(
+            rows,
+            List.of(new ResultSetSortEngine.SortColumn(group, false), new ResultSetSortEngine.SortColumn(value, true)),
+            VALUE_READER);
+        Assert.assertArrayEquals(getRowNumbers(expected), getRowNumbers(rows));
+    }
+
+    @Test
+    public void shouldReadCustomAttributesInCallingThread() {
+        DBDAttributeBinding custom = createAttribute(0, true);
+        Object[][] data = new Object[50_000][];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new Object[]{(long) (data.length - i)};
+        }
+        List<ResultSetRow> rows = createRows(data);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        ResultSetSortEngine.sort(rows, List.of(new ResultSetSortEngine.SortColumn(custom, false)), (attribute, row) -> {
+            threads.add(Thread.currentThread());
+            return VALUE_READER.apply(attribute, row);
+        });
+        Assert.assertEquals(Set.of(Thread.currentThread()), threads);
+        Assert.assertEquals(data.length - 1, rows.get(0).getRowNumber());
+        Assert.assertEquals(0, rows.get(data.length - 1).getRowNumber());
+    }
+
+    @Test
+    public void shouldNotUseValueReaderForPlainColumns() {
+        DBDAttributeBinding column = createAttribute(0, false);
+        List<ResultSetRow> rows = createRows(new Object[][]{{2L}, {1L}});
+
+        ResultSetSortEngine.sort(rows, List.of(new ResultSetSortEngine.SortColumn(column, false)), (attribute, row) -> {
+            throw new IllegalStateException("Plain values must be read directly");
+        });
+        Assert.assertArrayEquals(new int[]{1, 0}, getRowNumbers(rows));
+    }
+
+    private static DBDAttributeBinding createAttribute(int index, boolean custom) {
+        DBDAttributeBinding attribute = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(attribute.getOrdinalPosition()).thenReturn(index);
+        Mockito.when(attribute.isCustom()).thenReturn(custom);
+        Mockito.when(attribute.getTopParent()).thenReturn(attribute);
+        Mockito.when(attribute.getValueHandler()).thenReturn(Mockito.mock(DBDValueHandler.class));
+        return attribute;
+    }
+
+    private static List<ResultSetRow> createRows(Object[][] data) {
+        List<ResultSetRow> rows = new ArrayList<>(data.length);
+        for (int i = 0; i < data.length; i++) {
+            rows.add(new ResultSetRow(i, data[i]));
+        }
+        return rows;
+    }
+
+    private static int[] getRowNumbers(List<ResultSetRow> rows) {
+        return rows.stream().mapToInt(ResultSetRow::getRowNumber).toArray();
+    }
+
+    private static void shuffle(List<ResultSetRow> rows, Random random) {
+        ResultSetRow[] array = rows.toArray(new ResultSetRow[0]);
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            ResultSetRow tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+        rows.clear();
+        rows.addAll(Arrays.asList(array));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ResultSetSpillStoreTest extends DBeaverUnitTest {
+
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("resultset-spill-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadBackSpilledValues() throws IOException {
+        Timestamp timestamp = Timestamp.valueOf("2024-05-01 10:20:30.123456789");
+        Object[] values = {
+            null,
+            10L,
+            20,
+            (short) 30,
+            (byte) 40,
+            1.5d,
+            2.5f,
+            Boolean.TRUE,
+            Boolean.FALSE,
+            "text \u00e4\u00f6\u00fc",
+            new BigDecimal("-12345.678900"),
+            new BigInteger("123456789012345678901234567890"),
+            new java.util.Date(1000L),
+            new java.sql.Date(2000L),
+            new java.sql.Time(3000L),
+            timestamp,
+            LocalDate.of(2024, 5, 1),
+            LocalTime.of(10, 20, 30, 400),
+            LocalDateTime.of(2024, 5, 1, 10, 20, 30, 500),
+            new byte[]{1, 2, 3}
+        };
+        ResultSetSpillStore store = new ResultSetSpillStore(values.length, folder);
+        try {
+            Assert.assertEquals(0, store.appendRow(values));
+            Assert.assertEquals(1, store.appendRow(new Object[values.length]));
+            Assert.assertEquals(2, store.getRowCount());
+            Assert.assertTrue(store.getFileSize() > 0);
+
+            Object[] row = store.getRow(0);
+            Assert.assertEquals(values.length, row.length);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] instanceof byte[] bytes) {
+                    Assert.assertArrayEquals(bytes, (byte[]) row[i]);
+                    Assert.assertArrayEquals(bytes, (byte[]) store.getValue(0, i));
+                } else {
+                    Assert.assertEquals("Column " + i, values[i], row[i]);
+                    Assert.assertEquals("Column " + i, values[i], store.getValue(0, i));
+                }
+            }
+            Assert.assertEquals(timestamp.getNanos(), ((Timestamp) row[15]).getNanos());
+            Assert.assertSame(java.sql.Date.class, row[13].getClass());
+
+            for (Object value : store.getRow(1)) {
+                Assert.assertNull(value);
+            }
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    public void shouldRejectUnsupportedRows() throws IOException {
+        ResultSetSpillStore store = new ResultSetSpillStore(2, folder);
+        try {
+            Assert.assertEquals(-1, store.appendRow(new Object[]{1L, new Object()}));
+            Assert.assertEquals(-1, store.appendRow(new Object[]{1L}));
+            Assert.assertEquals(0, store.appendRow(new Object[]{1L, "a"}));
+            Assert.assertEquals(1, store.getRowCount());
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> store.getRow(1));
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    public void shouldDeleteFileOnClose() throws IOException {
+        ResultSetSpillStore store = new ResultSetSpillStore(1, folder);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, store.appendRow(new Object[]{"row " + i}));
+        }
+
+        store.close();
+        store.close();
+        Assert.assertTrue(store.isClosed());
+        Assert.assertTrue(listSpillFiles(folder).isEmpty());
+        // Mapped rows stay readable, new rows are rejected
+        Assert.assertEquals("row 999", store.getValue(999, 0));
+        Assert.assertEquals(-1, store.appendRow(new Object[]{"row"}));
+    }
+
+    @Test
+    public void shouldSpillModelRowsAndCloseStoreOnClear() {
+        ResultSetModel model = new ResultSetModel();
+        model.setColumnarStorage(true);
+        model.setSpillMemoryBudget(1);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            rows.add(new Object[]{(long) i, "row " + i});
+        }
+        model.appendData(new VoidProgressMonitor(), rows, true);
+
+        ResultSetSpillStore spillStore = model.getSpillStore();
+        Assert.assertNotNull(spillStore);
+        Assert.assertEquals(rows.size(), model.getRowCount());
+        Assert.assertTrue(model.getSpilledRowCount() > 0);
+        for (int i = 0; i < rows.size(); i++) {
+            Assert.assertArrayEquals(rows.get(i), model.getRowData(i));
+        }
+
+        model.clearData();
+        Assert.assertNull(model.getSpillStore());
+        Assert.assertEquals(0, model.getSpilledRowCount());
+        Assert.assertTrue(spillStore.isClosed());
+    }
+
+    private static List<Path> listSpillFiles(Path folder) throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return new ArrayList<>(files.filter(file -> file.getFileName().toString().endsWith(".spill")).toList());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.panel.aggregate;
+
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.registry.functions.AggregateFunctionDescriptor;
+import org.jkiss.dbeaver.registry.functions.FunctionsRegistry;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetTestUtils;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class AggregateCalculatorTest extends DBeaverUnitTest {
+
+    private static final int ROW_COUNT = 20_000;
+
+    @Test
+    public void mergedResultsAreEqualToSequential() {
+        List<AggregateFunctionDescriptor> functions = FunctionsRegistry.getInstance().getAggregateFunctions();
+        Assert.assertFalse(functions.isEmpty());
+
+        Set<Thread> modelThreads = ConcurrentHashMap.newKeySet();
+        ResultSetModel model = new ResultSetModel() {
+            @Override
+            public Object getCellValue(DBDAttributeBinding attribute, ResultSetRow row) {
+                modelThreads.add(Thread.currentThread());
+                return row.getValue(attribute.getOrdinalPosition());
+            }
+        };
+        DBDAttributeBinding[] columns = {
+            createAttribute(0, false),
+            createAttribute(1, false),
+            createAttribute(2, true)
+        };
+
+        Random random = new Random(1);
+        DBDAttributeBinding[] attributes = new DBDAttributeBinding[ROW_COUNT * columns.length];
+        ResultSetRow[] cells = new ResultSetRow[attributes.length];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            ResultSetRow row = ResultSetTestUtils.createRow(i, new Object[]{
+                i % 50 == 0 ? null : random.nextInt(1000),
+                "value " + random.nextInt(100),
+                (long) random.nextInt(10)
+            });
+            for (int k = 0; k < columns.length; k++) {
+                attributes[i * columns.length + k] = columns[k];
+                cells[i * columns.length + k] = row;
+            }
+        }
+        Assert.assertTrue(cells.length > AggregateCalculator.CHUNK_SIZE * 2);
+
+        for (boolean groupByColumns : new boolean[]{true, false}) {
+            AggregateCalculator calculator = new AggregateCalculator(
+                model, attributes, cells, functions, groupByColumns, false, false);
+            List<AggregateCalculator.Result> merged = calculator.calculate(new VoidProgressMonitor(), null);
+            Assert.assertNotNull(merged);
+            List<AggregateCalculator.Result> sequential = calculator.calculateSequentially();
+
+            Assert.assertEquals(groupByColumns ? columns.length : 1, merged.size());
+            Assert.assertEquals(sequential.size(), merged.size());
+            for (int i = 0; i < sequential.size(); i++) {
+                Assert.assertSame(sequential.get(i).attribute(), merged.get(i).attribute());
+                Assert.assertEquals(
+                    Arrays.toString(sequential.get(i).values()),
+                    Arrays.toString(merged.get(i).values()));
+            }
+        }
+        // Custom attribute values are resolved by the model in the thread which created calculator
+        Assert.assertEquals(Set.of(Thread.currentThread()), modelThreads);
+    }
+
+    private static DBDAttributeBinding createAttribute(int index, boolean custom) {
+        DBDAttributeBinding attribute = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(attribute.getOrdinalPosition()).thenReturn(index);
+        Mockito.when(attribute.isCustom()).thenReturn(custom);
+        Mockito.when(attribute.getTopParent()).thenReturn(attribute);
+        return attribute;
+    }
+}